@@ -0,0 +1,163 @@
+/*
+ * Licensed to The OpenNMS Group, Inc (TOG) under one or more
+ * contributor license agreements.  See the LICENSE.md file
+ * distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * TOG licenses this file to You under the GNU Affero General
+ * Public License Version 3 (the "License") or (at your option)
+ * any later version.  You may not use this file except in
+ * compliance with the License.  You may obtain a copy of the
+ * License at:
+ *
+ *      https://www.gnu.org/licenses/agpl-3.0.txt
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied.  See the License for the specific
+ * language governing permissions and limitations under the
+ * License.
+ */
+package org.opennms.benchmarks;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Compares two JMH result files written with <code>-rf json</code>, i.e. the results
+ * of a baseline release and of a candidate build.
+ * <p>
+ * Benchmarks are matched by name, mode and parameters. For each of them, the scores and the
+ * relative change are printed. A change is flagged as a regression when it is worse than
+ * the given threshold (in percent, 5 by default) and larger than the combined score
+ * errors of both runs. The process exits with a non-zero status if any regression was
+ * found, so that the comparison can be used to gate a build.
+ * <p>
+ * Usage: <code>java -cp benchmarks.jar org.opennms.benchmarks.BenchmarkComparison baseline.json candidate.json [threshold]</code>
+ */
+public class BenchmarkComparison {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private static class Result {
+        private final String name;
+        private final String mode;
+        private final double score;
+        private final double error;
+        private final String unit;
+
+        private Result(final JsonNode node) {
+            name = name(node);
+            mode = node.get("mode").asText();
+            final JsonNode primaryMetric = node.get("primaryMetric");
+            score = primaryMetric.get("score").asDouble();
+            // The error is NaN when there were not enough iterations to compute it
+            final double scoreError = primaryMetric.get("scoreError").asDouble();
+            error = Double.isNaN(scoreError) ? 0.0 : scoreError;
+            unit = primaryMetric.get("scoreUnit").asText();
+        }
+
+        /**
+         * Throughput is better when higher, all the other modes measure time.
+         */
+        private boolean isHigherBetter() {
+            return "thrpt".equals(mode);
+        }
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2 || args.length > 3) {
+            System.err.println("Usage: BenchmarkComparison <baseline.json> <candidate.json> [threshold-percent]");
+            System.exit(2);
+        }
+        final double threshold = args.length == 3 ? Double.parseDouble(args[2]) : 5.0;
+
+        final int regressions = compare(read(new File(args[0])), read(new File(args[1])), threshold, System.out);
+        System.exit(regressions > 0 ? 1 : 0);
+    }
+
+    private static Map<String, Result> read(final File file) throws IOException {
+        final Map<String, Result> results = new TreeMap<>();
+        for (final JsonNode node : MAPPER.readTree(file)) {
+            final Result result = new Result(node);
+            // The same benchmark can be run in several modes, e.g. throughput and average time
+            results.put(result.name + ' ' + result.mode, result);
+        }
+        return results;
+    }
+
+    private static String name(final JsonNode node) {
+        final StringBuilder key = new StringBuilder(node.get("benchmark").asText());
+        final JsonNode params = node.get("params");
+        if (params != null) {
+            // Sort the parameters, JMH does not guarantee their order
+            final Map<String, String> sorted = new TreeMap<>();
+            for (final Iterator<Map.Entry<String, JsonNode>> it = params.fields(); it.hasNext(); ) {
+                final Map.Entry<String, JsonNode> param = it.next();
+                sorted.put(param.getKey(), param.getValue().asText());
+            }
+            final StringBuilder sb = new StringBuilder();
+            sorted.forEach((k, v) -> sb.append(sb.length() == 0 ? "" : ",").append(k).append('=').append(v));
+            key.append(':').append(sb);
+        }
+        return key.toString();
+    }
+
+    private static int compare(final Map<String, Result> baseline, final Map<String, Result> candidate,
+                                final double threshold, final PrintStream out) {
+        final Map<String, String> rows = new LinkedHashMap<>();
+        int compared = 0;
+        int regressions = 0;
+
+        out.printf("%-100s %6s %24s %24s %10s%n", "Benchmark", "Mode", "Baseline", "Candidate", "Change");
+        for (final Map.Entry<String, Result> entry : candidate.entrySet()) {
+            final Result b = baseline.get(entry.getKey());
+            final Result c = entry.getValue();
+            if (b == null) {
+                rows.put(entry.getKey(), row(c, "-", format(c), "new"));
+                continue;
+            }
+            if (!b.unit.equals(c.unit)) {
+                rows.put(entry.getKey(), row(c, format(b), format(c), "unit"));
+                continue;
+            }
+            compared++;
+
+            final double change = (c.score - b.score) / b.score * 100.0;
+            final double worse = b.isHigherBetter() ? -change : change;
+            final boolean significant = Math.abs(c.score - b.score) > b.error + c.error;
+            final boolean regression = worse > threshold && significant;
+            if (regression) {
+                regressions++;
+            }
+            rows.put(entry.getKey(), row(c, format(b), format(c), String.format("%+9.2f%%%s", change,
+                    regression ? " REGRESSION" : "")));
+        }
+        for (final Map.Entry<String, Result> entry : baseline.entrySet()) {
+            if (!candidate.containsKey(entry.getKey())) {
+                rows.put(entry.getKey(), row(entry.getValue(), format(entry.getValue()), "-", "removed"));
+            }
+        }
+
+        rows.values().forEach(out::println);
+        out.printf("%n%d benchmark(s) compared, %d regression(s) above %.1f%%%n", compared, regressions, threshold);
+        return regressions;
+    }
+
+    private static String row(final Result result, final String baseline, final String candidate, final String change) {
+        return String.format("%-100s %6s %24s %24s %10s", result.name, result.mode, baseline, candidate, change);
+    }
+
+    private static String format(final Result result) {
+        return String.format("%.3f +/- %.3f %s", result.score, result.error, result.unit);
+    }
+}
@@ -0,0 +1,78 @@
+/*
+ * Licensed to The OpenNMS Group, Inc (TOG) under one or more
+ * contributor license agreements.  See the LICENSE.md file
+ * distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * TOG licenses this file to You under the GNU Affero General
+ * Public License Version 3 (the "License") or (at your option)
+ * any later version.  You may not use this file except in
+ * compliance with the License.  You may obtain a copy of the
+ * License at:
+ *
+ *      https://www.gnu.org/licenses/agpl-3.0.txt
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied.  See the License for the specific
+ * language governing permissions and limitations under the
+ * License.
+ */
+package org.opennms.benchmarks;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Loads the captured payloads the benchmarks replay from the classpath.
+ */
+public final class Corpus {
+
+    private Corpus() {
+    }
+
+    /**
+     * Returns the raw content of the given resource.
+     */
+    public static byte[] bytes(final String resource) {
+        try (InputStream is = open(resource)) {
+            return is.readAllBytes();
+        } catch (final IOException e) {
+            throw new UncheckedIOException("Failed to read " + resource, e);
+        }
+    }
+
+    /**
+     * Returns the non-empty lines of the given resource, skipping lines starting with a '#'.
+     * <p>
+     * The null character and byte order mark escapes used by the syslog corpus are replaced with the
+     * characters they stand for, which allows the corpora to be stored as text.
+     */
+    public static List<String> lines(final String resource) {
+        final List<String> lines = new ArrayList<>();
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(open(resource), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.trim().isEmpty() || line.trim().startsWith("#")) {
+                    continue;
+                }
+                lines.add(line.replace("\\u0000", "\u0000").replace("\\uFEFF", "\uFEFF"));
+            }
+        } catch (final IOException e) {
+            throw new UncheckedIOException("Failed to read " + resource, e);
+        }
+        return lines;
+    }
+
+    private static InputStream open(final String resource) {
+        return Objects.requireNonNull(Corpus.class.getResourceAsStream(resource), "No such resource: " + resource);
+    }
+}
@@ -0,0 +1,129 @@
+/*
+ * Licensed to The OpenNMS Group, Inc (TOG) under one or more
+ * contributor license agreements.  See the LICENSE.md file
+ * distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * TOG licenses this file to You under the GNU Affero General
+ * Public License Version 3 (the "License") or (at your option)
+ * any later version.  You may not use this file except in
+ * compliance with the License.  You may obtain a copy of the
+ * License at:
+ *
+ *      https://www.gnu.org/licenses/agpl-3.0.txt
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied.  See the License for the specific
+ * language governing permissions and limitations under the
+ * License.
+ */
+package org.opennms.benchmarks.bsm;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.opennms.netmgt.bsm.mock.MockAlarmWrapper;
+import org.opennms.netmgt.bsm.mock.MockBusinessService;
+import org.opennms.netmgt.bsm.mock.MockChildEdge;
+import org.opennms.netmgt.bsm.mock.MockReductionKeyEdge;
+import org.opennms.netmgt.bsm.service.BusinessServiceStateMachine;
+import org.opennms.netmgt.bsm.service.internal.DefaultBusinessServiceStateMachine;
+import org.opennms.netmgt.bsm.service.internal.IncrementalBusinessServiceStateMachine;
+import org.opennms.netmgt.bsm.service.model.AlarmWrapper;
+import org.opennms.netmgt.bsm.service.model.BusinessService;
+import org.opennms.netmgt.bsm.service.model.Status;
+
+/**
+ * Use the Java Microbenchmarking Harness (JMH) to compare the throughput of the
+ * {@link DefaultBusinessServiceStateMachine} and of the {@link IncrementalBusinessServiceStateMachine}
+ * when handling alarms.
+ * <p>
+ * The hierarchy has 5 levels: the services of the lowest level depend on a few reduction keys
+ * each, and every service depends on a few random services of the level below it.
+ */
+public class BusinessServiceStateMachineBenchmark {
+
+    private static final Status[] STATUSES = new Status[] {
+            Status.NORMAL, Status.WARNING, Status.MINOR, Status.MAJOR, Status.CRITICAL
+    };
+
+    private static final int NUM_LEVELS = 5;
+
+    public static void main(String[] args) throws Exception {
+        org.openjdk.jmh.Main.main(args);
+    }
+
+    @State(Scope.Benchmark)
+    public static class BState {
+
+        @Param({"1000", "20000"})
+        public int numBusinessServices;
+
+        @Param({"default", "incremental"})
+        public String stateMachineType;
+
+        private BusinessServiceStateMachine stateMachine;
+        private AlarmWrapper[] alarms;
+        private int next = 0;
+
+        @Setup
+        public void setUp() {
+            final Random random = new Random(42);
+            final int numReductionKeys = numBusinessServices * 2;
+            final int servicesPerLevel = numBusinessServices / NUM_LEVELS;
+
+            final List<BusinessService> businessServices = new ArrayList<>(numBusinessServices);
+            long edgeId = 1;
+            for (int level = 0; level < NUM_LEVELS; level++) {
+                for (int i = 0; i < servicesPerLevel; i++) {
+                    final MockBusinessService businessService = new MockBusinessService(businessServices.size());
+                    if (level == 0) {
+                        for (int k = 0; k < 3; k++) {
+                            businessService.addEdge(new MockReductionKeyEdge(edgeId++, "rk" + random.nextInt(numReductionKeys), null));
+                        }
+                    } else {
+                        final int offset = (level - 1) * servicesPerLevel;
+                        for (int k = 0; k < 4; k++) {
+                            businessService.addEdge(new MockChildEdge(edgeId++, businessServices.get(offset + random.nextInt(servicesPerLevel))));
+                        }
+                    }
+                    businessServices.add(businessService);
+                }
+            }
+
+            stateMachine = "incremental".equals(stateMachineType) ? new IncrementalBusinessServiceStateMachine(0) : new DefaultBusinessServiceStateMachine();
+            stateMachine.setBusinessServices(businessServices);
+
+            alarms = new AlarmWrapper[1024];
+            for (int i = 0; i < alarms.length; i++) {
+                alarms[i] = new MockAlarmWrapper("rk" + random.nextInt(numReductionKeys), STATUSES[random.nextInt(STATUSES.length)]);
+            }
+        }
+
+        private AlarmWrapper nextAlarm() {
+            next = (next + 1) & (alarms.length - 1);
+            return alarms[next];
+        }
+    }
+
+    @Benchmark
+    @Fork(value = 1, warmups = 1)
+    @Threads(1)
+    @Warmup(iterations = 2, time = 5)
+    @Measurement(iterations = 3, time = 10)
+    public void handleNewOrUpdatedAlarm(BState state) {
+        state.stateMachine.handleNewOrUpdatedAlarm(state.nextAlarm());
+    }
+}
@@ -0,0 +1,185 @@
+/*
+ * Licensed to The OpenNMS Group, Inc (TOG) under one or more
+ * contributor license agreements.  See the LICENSE.md file
+ * distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * TOG licenses this file to You under the GNU Affero General
+ * Public License Version 3 (the "License") or (at your option)
+ * any later version.  You may not use this file except in
+ * compliance with the License.  You may obtain a copy of the
+ * License at:
+ *
+ *      https://www.gnu.org/licenses/agpl-3.0.txt
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied.  See the License for the specific
+ * language governing permissions and limitations under the
+ * License.
+ */
+package org.opennms.benchmarks.collection;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.net.InetAddress;
+import java.util.Collections;
+import java.util.Date;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.opennms.core.collection.test.MockCollectionAgent;
+import org.opennms.core.rpc.mock.MockEntityScopeProvider;
+import org.opennms.core.utils.InetAddressUtils;
+import org.opennms.core.xml.JaxbUtils;
+import org.opennms.features.distributed.kvstore.api.BlobStore;
+import org.opennms.features.distributed.kvstore.blob.inmemory.InMemoryMapBlobStore;
+import org.opennms.netmgt.collection.api.AttributeType;
+import org.opennms.netmgt.collection.api.CollectionSet;
+import org.opennms.netmgt.collection.api.ServiceParameters;
+import org.opennms.netmgt.collection.support.builder.CollectionSetBuilder;
+import org.opennms.netmgt.collection.support.builder.NodeLevelResource;
+import org.opennms.netmgt.config.dao.outages.api.ReadablePollOutagesDao;
+import org.opennms.netmgt.config.dao.thresholding.api.ReadableThreshdDao;
+import org.opennms.netmgt.config.dao.thresholding.api.ReadableThresholdingDao;
+import org.opennms.netmgt.config.threshd.ThreshdConfiguration;
+import org.opennms.netmgt.config.threshd.ThresholdingConfig;
+import org.opennms.netmgt.dao.api.IfLabel;
+import org.opennms.netmgt.events.api.EventForwarder;
+import org.opennms.netmgt.threshd.BlobStoreAwareMonitor;
+import org.opennms.netmgt.threshd.DefaultThresholdingSetPersister;
+import org.opennms.netmgt.threshd.ThresholdingServiceImpl;
+import org.opennms.netmgt.threshd.api.ThresholdInitializationException;
+import org.opennms.netmgt.threshd.api.ThresholdingSession;
+import org.opennms.netmgt.xml.event.Event;
+import org.opennms.netmgt.xml.event.Log;
+import org.springframework.core.io.ClassPathResource;
+
+/**
+ * Use the Java Microbenchmarking Harness (JMH) to measure the throughput of
+ * {@link ThresholdingSession#accept(CollectionSet)}.
+ * <p>
+ * Each node has a thresholding session for the SNMP service, which is matched by three packages
+ * containing plain thresholds as well as expressions. Each benchmark operation hands a node-level
+ * collection set to the session of the next node. The values are drawn at random so that the
+ * thresholds are regularly triggered and rearmed.
+ */
+public class ThresholdingBenchmark {
+
+    private static final String[] METRICS = new String[] {
+            "tcpInErrors", "tcpOutRsts", "tcpActiveOpens", "tcpCurrEstab",
+            "avgBusy1", "avgBusy5",
+            "juniSPUMonCurrFlow", "juniSPUMonMaxFlow", "juniSPUMonCPUUsage"
+    };
+
+    public static void main(String[] args) throws Exception {
+        org.openjdk.jmh.Main.main(args);
+    }
+
+    @State(Scope.Benchmark)
+    public static class BState {
+
+        @Param({"1", "1000"})
+        public int numNodes;
+
+        private final AtomicLong eventsSent = new AtomicLong();
+
+        private ThresholdingSession[] sessions;
+        private CollectionSet[][] collectionSets;
+        private int next = 0;
+
+        @Setup
+        public void setUp() throws Exception {
+            final ThreshdConfiguration threshdConfig = JaxbUtils.unmarshal(ThreshdConfiguration.class,
+                    new ClassPathResource("thresholding/threshd-configuration.xml"));
+            final ReadableThreshdDao threshdDao = mock(ReadableThreshdDao.class);
+            when(threshdDao.getReadOnlyConfig()).thenReturn(threshdConfig);
+            when(threshdDao.interfaceInPackage(anyString(), any())).thenReturn(true);
+
+            final ThresholdingConfig thresholdingConfig = JaxbUtils.unmarshal(ThresholdingConfig.class,
+                    new ClassPathResource("thresholding/thresholds.xml"));
+            final ReadableThresholdingDao thresholdingDao = mock(ReadableThresholdingDao.class);
+            when(thresholdingDao.getReadOnlyConfig()).thenReturn(thresholdingConfig);
+
+            final DefaultThresholdingSetPersister persister = new DefaultThresholdingSetPersister();
+            persister.setThreshdDao(threshdDao);
+            persister.setThresholdingDao(thresholdingDao);
+            persister.setPollOutagesDao(mock(ReadablePollOutagesDao.class));
+            persister.setIfLabelDao(mock(IfLabel.class));
+            persister.setEntityScopeProvider(new MockEntityScopeProvider());
+
+            final BlobStore blobStore = InMemoryMapBlobStore.withDefaultTicks();
+            final ThresholdingServiceImpl service = new ThresholdingServiceImpl();
+            service.setThresholdingSetPersister(persister);
+            service.setEventProxy(new EventForwarder() {
+                @Override
+                public void sendNow(Event event) {
+                    eventsSent.incrementAndGet();
+                }
+
+                @Override
+                public void sendNow(Log eventLog) {
+                    eventsSent.addAndGet(eventLog.getEvents().getEventCount());
+                }
+
+                @Override
+                public void sendNowSync(Event event) {
+                    sendNow(event);
+                }
+
+                @Override
+                public void sendNowSync(Log eventLog) {
+                    sendNow(eventLog);
+                }
+            });
+            service.setKvStore(blobStore);
+            service.setThresholdStateMonitor(new BlobStoreAwareMonitor(blobStore));
+
+            final Random random = new Random(42);
+            final ServiceParameters serviceParameters = new ServiceParameters(Collections.emptyMap());
+            sessions = new ThresholdingSession[numNodes];
+            collectionSets = new CollectionSet[numNodes][];
+            for (int i = 0; i < numNodes; i++) {
+                final int nodeId = i + 1;
+                final InetAddress address = InetAddressUtils.addr("10.0." + (nodeId >> 8) + "." + (nodeId & 0xff));
+                sessions[i] = service.createSession(nodeId, InetAddressUtils.str(address), "SNMP", serviceParameters);
+
+                final MockCollectionAgent agent = new MockCollectionAgent(nodeId, "node" + nodeId, address);
+                final NodeLevelResource resource = new NodeLevelResource(nodeId);
+                collectionSets[i] = new CollectionSet[16];
+                for (int k = 0; k < collectionSets[i].length; k++) {
+                    final CollectionSetBuilder builder = new CollectionSetBuilder(agent).withTimestamp(new Date());
+                    for (final String metric : METRICS) {
+                        builder.withNumericAttribute(resource, "benchmark", metric, random.nextInt(120), AttributeType.GAUGE);
+                    }
+                    collectionSets[i][k] = builder.build();
+                }
+            }
+        }
+    }
+
+    @Benchmark
+    @Fork(value = 1, warmups = 1)
+    @Threads(1)
+    @Warmup(iterations = 2, time = 5)
+    @Measurement(iterations = 3, time = 10)
+    public void accept(BState state) throws ThresholdInitializationException {
+        final int node = state.next % state.numNodes;
+        final CollectionSet[] collectionSets = state.collectionSets[node];
+        state.sessions[node].accept(collectionSets[(state.next / state.numNodes) % collectionSets.length]);
+        state.next++;
+    }
+}
@@ -0,0 +1,151 @@
+/*
+ * Licensed to The OpenNMS Group, Inc (TOG) under one or more
+ * contributor license agreements.  See the LICENSE.md file
+ * distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * TOG licenses this file to You under the GNU Affero General
+ * Public License Version 3 (the "License") or (at your option)
+ * any later version.  You may not use this file except in
+ * compliance with the License.  You may obtain a copy of the
+ * License at:
+ *
+ *      https://www.gnu.org/licenses/agpl-3.0.txt
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied.  See the License for the specific
+ * language governing permissions and limitations under the
+ * License.
+ */
+package org.opennms.benchmarks.collection;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.withSettings;
+
+import java.io.File;
+import java.util.Collections;
+import java.util.Date;
+import java.util.Random;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.opennms.core.cache.CacheConfig;
+import org.opennms.core.collection.test.MockCollectionAgent;
+import org.opennms.core.utils.InetAddressUtils;
+import org.opennms.integration.api.v1.timeseries.TimeSeriesStorage;
+import org.opennms.netmgt.collection.api.AttributeType;
+import org.opennms.netmgt.collection.api.CollectionSet;
+import org.opennms.netmgt.collection.api.Persister;
+import org.opennms.netmgt.collection.api.ServiceParameters;
+import org.opennms.netmgt.collection.support.builder.CollectionSetBuilder;
+import org.opennms.netmgt.collection.support.builder.InterfaceLevelResource;
+import org.opennms.netmgt.collection.support.builder.NodeLevelResource;
+import org.opennms.netmgt.rrd.RrdRepository;
+import org.opennms.netmgt.timeseries.samplewrite.MetaTagDataLoader;
+import org.opennms.netmgt.timeseries.samplewrite.TimeseriesPersisterFactory;
+import org.opennms.netmgt.timeseries.samplewrite.TimeseriesWriterConfig;
+import org.opennms.netmgt.timeseries.stats.StatisticsCollectorImpl;
+
+import com.codahale.metrics.MetricRegistry;
+
+/**
+ * Use the Java Microbenchmarking Harness (JMH) to measure the throughput of the
+ * {@link org.opennms.netmgt.timeseries.samplewrite.TimeseriesPersister}.
+ * <p>
+ * Each benchmark operation creates a persister, as the collectors do for every collection,
+ * and visits a collection set with the interface statistics of a node. The samples are
+ * handed over to the ring buffer and written to a storage that discards them.
+ */
+public class TimeseriesPersisterBenchmark {
+
+    private static final String[] IF_METRICS = new String[] {
+            "ifHCInOctets", "ifHCOutOctets", "ifHCInUcastPkts", "ifHCOutUcastPkts",
+            "ifInErrors", "ifOutErrors", "ifInDiscards", "ifOutDiscards"
+    };
+
+    private static final int NUM_WRITER_THREADS = 4;
+
+    public static void main(String[] args) throws Exception {
+        org.openjdk.jmh.Main.main(args);
+    }
+
+    @State(Scope.Benchmark)
+    public static class BState {
+
+        @Param({"1", "48"})
+        public int numInterfaces;
+
+        private TimeseriesPersisterFactory persisterFactory;
+        private ServiceParameters params;
+        private RrdRepository repository;
+        private CollectionSet[] collectionSets;
+        private int next = 0;
+
+        @Setup
+        public void setUp() {
+            final TimeseriesWriterConfig writerConfig = new TimeseriesWriterConfig();
+            writerConfig.setBufferSize(8192);
+            writerConfig.setNumWriterThreads(NUM_WRITER_THREADS);
+
+            final CacheConfig cacheConfig = new CacheConfig("timeseriesPersisterMetaTagCache");
+            cacheConfig.setMaximumSize(8192L);
+            cacheConfig.setExpireAfterWrite(300L);
+
+            // Stub-only mocks, so that the invocations are not recorded
+            final TimeSeriesStorage storage = mock(TimeSeriesStorage.class, withSettings().stubOnly());
+            persisterFactory = new TimeseriesPersisterFactory(
+                    mock(MetaTagDataLoader.class, withSettings().stubOnly()),
+                    new StatisticsCollectorImpl(NUM_WRITER_THREADS),
+                    () -> storage,
+                    cacheConfig,
+                    new MetricRegistry(),
+                    writerConfig);
+
+            params = new ServiceParameters(Collections.emptyMap());
+            repository = new RrdRepository();
+            repository.setRrdBaseDir(new File("snmp"));
+
+            final Random random = new Random(42);
+            final MockCollectionAgent agent = new MockCollectionAgent(1, "node1", InetAddressUtils.ONE_TWENTY_SEVEN);
+            final NodeLevelResource nodeResource = new NodeLevelResource(1);
+            collectionSets = new CollectionSet[16];
+            for (int i = 0; i < collectionSets.length; i++) {
+                final CollectionSetBuilder builder = new CollectionSetBuilder(agent).withTimestamp(new Date());
+                builder.withNumericAttribute(nodeResource, "mib2-tcp", "tcpCurrEstab", random.nextInt(1000), AttributeType.GAUGE);
+                for (int k = 0; k < numInterfaces; k++) {
+                    final InterfaceLevelResource ifResource = new InterfaceLevelResource(nodeResource, "ge-0_0_" + k);
+                    builder.withStringAttribute(ifResource, "mib2-X-interfaces", "ifName", "ge-0/0/" + k);
+                    for (final String metric : IF_METRICS) {
+                        builder.withNumericAttribute(ifResource, "mib2-X-interfaces", metric, random.nextInt(Integer.MAX_VALUE), AttributeType.COUNTER);
+                    }
+                }
+                collectionSets[i] = builder.build();
+            }
+        }
+
+        @TearDown
+        public void tearDown() {
+            persisterFactory.destroy();
+        }
+    }
+
+    @Benchmark
+    @Fork(value = 1, warmups = 1)
+    @Threads(1)
+    @Warmup(iterations = 2, time = 5)
+    @Measurement(iterations = 3, time = 10)
+    public void persist(BState state) {
+        final Persister persister = state.persisterFactory.createPersister(state.params, state.repository);
+        state.collectionSets[state.next++ & (state.collectionSets.length - 1)].visit(persister);
+    }
+}
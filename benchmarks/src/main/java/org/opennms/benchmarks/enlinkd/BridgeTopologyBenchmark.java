@@ -0,0 +1,193 @@
+/*
+ * Licensed to The OpenNMS Group, Inc (TOG) under one or more
+ * contributor license agreements.  See the LICENSE.md file
+ * distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * TOG licenses this file to You under the GNU Affero General
+ * Public License Version 3 (the "License") or (at your option)
+ * any later version.  You may not use this file except in
+ * compliance with the License.  You may obtain a copy of the
+ * License at:
+ *
+ *      https://www.gnu.org/licenses/agpl-3.0.txt
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied.  See the License for the specific
+ * language governing permissions and limitations under the
+ * License.
+ */
+package org.opennms.benchmarks.enlinkd;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.opennms.netmgt.enlinkd.service.api.BridgeForwardingTableEntry;
+import org.opennms.netmgt.enlinkd.service.api.BridgeForwardingTableEntry.BridgeDot1qTpFdbStatus;
+import org.opennms.netmgt.enlinkd.service.api.BroadcastDomain;
+import org.opennms.netmgt.enlinkd.service.api.DiscoveryBridgeTopology;
+
+/**
+ * Use the Java Microbenchmarking Harness (JMH) to measure the calculation of the topology of a
+ * broadcast domain by {@link DiscoveryBridgeTopology}.
+ * <p>
+ * The domain is a generated tree of bridges, the first one being the root. Every bridge has a
+ * few host ports with the given number of macs behind each of them, and learns every mac of the
+ * domain on the port leading to it, as a fully populated forwarding table would.
+ * <p>
+ * {@link #calculate} discovers the domain from scratch, {@link #recalculate} updates an already
+ * calculated domain with the forwarding tables of a quarter of the bridges, as it happens on
+ * every following discovery.
+ */
+public class BridgeTopologyBenchmark {
+
+    public static void main(String[] args) throws Exception {
+        final Options options = new OptionsBuilder()
+                .parent(new CommandLineOptions(args))
+                .include(BridgeTopologyBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build();
+        new Runner(options).run();
+    }
+
+    @State(Scope.Benchmark)
+    public static class BState {
+
+        @Param({"10", "50"})
+        public int bridges;
+
+        @Param({"20", "200"})
+        public int macsPerPort;
+
+        private final Map<Integer, Set<BridgeForwardingTableEntry>> bfts = new HashMap<>();
+        private final Map<Integer, Set<BridgeForwardingTableEntry>> updates = new HashMap<>();
+        private BroadcastDomain domain;
+
+        @Setup
+        public void setUp() {
+            final Random random = new Random(bridges * 31L + macsPerPort);
+
+            // bridge port 1 is the root port, the ports to the children and hosts follow
+            final int[] parent = new int[bridges];
+            final int[] parentPort = new int[bridges];
+            final int[] nextPort = new int[bridges];
+            parent[0] = -1;
+            nextPort[0] = 2;
+            for (int i = 1; i < bridges; i++) {
+                parent[i] = random.nextInt(i);
+                parentPort[i] = nextPort[parent[i]]++;
+                nextPort[i] = 2;
+            }
+
+            // hosts as {bridge, port, mac}, the macs are random as the hosts come from many vendors
+            final List<long[]> hosts = new ArrayList<>();
+            final Set<Long> macs = new HashSet<>();
+            for (int i = 0; i < bridges; i++) {
+                for (int p = random.nextInt(4); p >= 0; p--) {
+                    final int port = nextPort[i]++;
+                    for (int m = 0; m < macsPerPort; m++) {
+                        long mac;
+                        do {
+                            mac = random.nextLong() & 0xffffffffffL;
+                        } while (!macs.add(mac));
+                        hosts.add(new long[] { i, port, mac });
+                    }
+                }
+            }
+
+            for (int b = 0; b < bridges; b++) {
+                final Set<BridgeForwardingTableEntry> bft = new HashSet<>();
+                bft.add(entry(b, 0, identifier(b), BridgeDot1qTpFdbStatus.DOT1D_TP_FDB_STATUS_SELF));
+                for (final long[] host : hosts) {
+                    bft.add(entry(b, portTowards(b, (int) host[0], (int) host[1], parent, parentPort),
+                                  String.format("%012x", host[2]), BridgeDot1qTpFdbStatus.DOT1D_TP_FDB_STATUS_LEARNED));
+                }
+                for (int o = 0; o < bridges; o++) {
+                    if (o != b) {
+                        bft.add(entry(b, portTowards(b, o, -1, parent, parentPort), identifier(o),
+                                      BridgeDot1qTpFdbStatus.DOT1D_TP_FDB_STATUS_LEARNED));
+                    }
+                }
+                bfts.put(b + 1, bft);
+                if (b % 4 == 0) {
+                    updates.put(b + 1, bft);
+                }
+            }
+
+            domain = new BroadcastDomain();
+            calculate(domain, bfts);
+        }
+
+        private static String identifier(final int bridge) {
+            return String.format("%012x", 0x10000000000L + bridge);
+        }
+
+        private static int portTowards(final int bridge, final int target, final int hostPort, final int[] parent, final int[] parentPort) {
+            if (bridge == target) {
+                return hostPort;
+            }
+            int child = target;
+            while (parent[child] != -1 && parent[child] != bridge) {
+                child = parent[child];
+            }
+            return parent[child] == bridge ? parentPort[child] : 1;
+        }
+
+        private static BridgeForwardingTableEntry entry(final int bridge, final int port, final String mac, final BridgeDot1qTpFdbStatus status) {
+            final BridgeForwardingTableEntry entry = new BridgeForwardingTableEntry();
+            entry.setNodeId(bridge + 1);
+            entry.setBridgePort(port);
+            entry.setBridgePortIfIndex(port);
+            entry.setVlan(1);
+            entry.setMacAddress(mac);
+            entry.setBridgeDot1qTpFdbStatus(status);
+            return entry;
+        }
+    }
+
+    private static BroadcastDomain calculate(final BroadcastDomain domain, final Map<Integer, Set<BridgeForwardingTableEntry>> bfts) {
+        final DiscoveryBridgeTopology topology = new DiscoveryBridgeTopology(domain);
+        bfts.forEach(topology::addUpdatedBFT);
+        topology.calculate();
+        return domain;
+    }
+
+    @Benchmark
+    @Fork(value = 1, warmups = 1)
+    @Threads(1)
+    @Warmup(iterations = 2, time = 5)
+    @Measurement(iterations = 3, time = 10)
+    public BroadcastDomain calculate(BState state) {
+        return calculate(new BroadcastDomain(), state.bfts);
+    }
+
+    @Benchmark
+    @Fork(value = 1, warmups = 1)
+    @Threads(1)
+    @Warmup(iterations = 2, time = 5)
+    @Measurement(iterations = 3, time = 10)
+    public BroadcastDomain recalculate(BState state) {
+        return calculate(state.domain, state.updates);
+    }
+}
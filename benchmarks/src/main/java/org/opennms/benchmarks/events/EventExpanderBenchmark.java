@@ -0,0 +1,197 @@
+/*
+ * Licensed to The OpenNMS Group, Inc (TOG) under one or more
+ * contributor license agreements.  See the LICENSE.md file
+ * distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * TOG licenses this file to You under the GNU Affero General
+ * Public License Version 3 (the "License") or (at your option)
+ * any later version.  You may not use this file except in
+ * compliance with the License.  You may obtain a copy of the
+ * License at:
+ *
+ *      https://www.gnu.org/licenses/agpl-3.0.txt
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied.  See the License for the specific
+ * language governing permissions and limitations under the
+ * License.
+ */
+package org.opennms.benchmarks.events;
+
+import java.util.List;
+import java.util.function.IntFunction;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.opennms.core.utils.InetAddressUtils;
+import org.opennms.netmgt.config.DefaultEventConfDao;
+import org.opennms.netmgt.eventd.AbstractEventUtil;
+import org.opennms.netmgt.eventd.EventExpander;
+import org.opennms.netmgt.model.events.EventBuilder;
+import org.opennms.netmgt.xml.event.Event;
+import org.springframework.core.io.ClassPathResource;
+
+import com.codahale.metrics.MetricRegistry;
+
+/**
+ * Use the Java Microbenchmarking Harness (JMH) to measure the throughput of
+ * {@link EventExpander#expandEvent(Event)} against the stock event configuration.
+ * <p>
+ * The mix contains internal events, which are matched by UEI, as well as SNMP traps
+ * which are matched by their enterprise, generic and specific identifiers, and traps
+ * that do not match any event definition. Expansion modifies the events in place,
+ * so each benchmark operation builds and expands a new event.
+ */
+public class EventExpanderBenchmark {
+
+    private static final List<IntFunction<Event>> EVENTS = List.of(
+            i -> new EventBuilder("uei.opennms.org/nodes/nodeDown", "poller")
+                    .setNodeid(i)
+                    .getEvent(),
+            i -> new EventBuilder("uei.opennms.org/nodes/nodeLostService", "poller")
+                    .setNodeid(i)
+                    .setInterface(InetAddressUtils.addr("10.0.0." + (i & 0xff)))
+                    .setService("ICMP")
+                    .addParam("eventReason", "Timeout")
+                    .getEvent(),
+            i -> new EventBuilder("uei.opennms.org/nodes/interfaceDown", "poller")
+                    .setNodeid(i)
+                    .setInterface(InetAddressUtils.addr("10.0.1." + (i & 0xff)))
+                    .getEvent(),
+            i -> new EventBuilder(null, "trapd")
+                    .setNodeid(i)
+                    .setInterface(InetAddressUtils.addr("10.0.2." + (i & 0xff)))
+                    .setSnmpVersion("v2c")
+                    .setCommunity("public")
+                    .setEnterpriseId(".1.3.6.1.4.1.9.9.43.2")
+                    .setGeneric(6)
+                    .setSpecific(1)
+                    .addParam(".1.3.6.1.4.1.9.9.43.1.1.6.1.3.1", 1)
+                    .addParam(".1.3.6.1.4.1.9.9.43.1.1.6.1.4.1", 2)
+                    .addParam(".1.3.6.1.4.1.9.9.43.1.1.6.1.5.1", 3)
+                    .getEvent(),
+            i -> new EventBuilder(null, "trapd")
+                    .setNodeid(i)
+                    .setInterface(InetAddressUtils.addr("10.0.3." + (i & 0xff)))
+                    .setSnmpVersion("v2c")
+                    .setCommunity("public")
+                    .setEnterpriseId(".1.3.6.1.4.1.9.1.1745")
+                    .setGeneric(2)
+                    .setSpecific(0)
+                    .addParam(".1.3.6.1.2.1.2.2.1.1.12", 12)
+                    .addParam(".1.3.6.1.2.1.2.2.1.2.12", "GigabitEthernet0/12")
+                    .getEvent(),
+            i -> new EventBuilder(null, "trapd")
+                    .setInterface(InetAddressUtils.addr("10.0.4." + (i & 0xff)))
+                    .setSnmpVersion("v2c")
+                    .setCommunity("public")
+                    .setEnterpriseId(".1.3.6.1.4.1.99999.1")
+                    .setGeneric(6)
+                    .setSpecific(42)
+                    .getEvent()
+    );
+
+    public static void main(String[] args) throws Exception {
+        org.openjdk.jmh.Main.main(args);
+    }
+
+    @State(Scope.Benchmark)
+    public static class BState {
+
+        private EventExpander expander;
+        private int next = 0;
+
+        @Setup
+        public void setUp() throws Exception {
+            final DefaultEventConfDao eventConfDao = new DefaultEventConfDao();
+            eventConfDao.setConfigResource(new ClassPathResource("etc/eventconf.xml"));
+            eventConfDao.afterPropertiesSet();
+
+            final MetricRegistry registry = new MetricRegistry();
+            expander = new EventExpander(registry);
+            expander.setEventConfDao(eventConfDao);
+            expander.setEventUtil(new BenchmarkEventUtil(registry));
+            expander.afterPropertiesSet();
+        }
+
+        private Event nextEvent() {
+            next++;
+            return EVENTS.get(next % EVENTS.size()).apply(next);
+        }
+    }
+
+    /**
+     * Answers the node and asset lookups with constants rather than going to the database.
+     */
+    private static class BenchmarkEventUtil extends AbstractEventUtil {
+
+        private BenchmarkEventUtil(final MetricRegistry registry) {
+            super(registry);
+        }
+
+        @Override
+        public String getNodeLabel(long nodeId) {
+            return "node" + nodeId;
+        }
+
+        @Override
+        public String getNodeLocation(long nodeId) {
+            return "Default";
+        }
+
+        @Override
+        public String getPrimaryInterface(long nodeId) {
+            return "127.0.0.1";
+        }
+
+        @Override
+        public String getForeignSource(long nodeId) {
+            return "benchmark";
+        }
+
+        @Override
+        public String getForeignId(long nodeId) {
+            return Long.toString(nodeId);
+        }
+
+        @Override
+        public String getIfAlias(long nodeId, String ipAddr) {
+            return null;
+        }
+
+        @Override
+        public String getAssetFieldValue(String parm, long nodeId) {
+            return null;
+        }
+
+        @Override
+        public String getHardwareFieldValue(String parm, long nodeId) {
+            return null;
+        }
+
+        @Override
+        public String getHostName(int nodeId, String hostip) {
+            return hostip;
+        }
+    }
+
+    @Benchmark
+    @Fork(value = 1, warmups = 1)
+    @Threads(1)
+    @Warmup(iterations = 2, time = 5)
+    @Measurement(iterations = 3, time = 10)
+    public Event expandEvent(BState state) {
+        final Event event = state.nextEvent();
+        state.expander.expandEvent(event);
+        return event;
+    }
+}
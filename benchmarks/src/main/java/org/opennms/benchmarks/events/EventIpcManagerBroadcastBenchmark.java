@@ -0,0 +1,158 @@
+/*
+ * Licensed to The OpenNMS Group, Inc (TOG) under one or more
+ * contributor license agreements.  See the LICENSE.md file
+ * distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * TOG licenses this file to You under the GNU Affero General
+ * Public License Version 3 (the "License") or (at your option)
+ * any later version.  You may not use this file except in
+ * compliance with the License.  You may obtain a copy of the
+ * License at:
+ *
+ *      https://www.gnu.org/licenses/agpl-3.0.txt
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied.  See the License for the specific
+ * language governing permissions and limitations under the
+ * License.
+ */
+package org.opennms.benchmarks.events;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.opennms.netmgt.eventd.DefaultEventHandlerImpl;
+import org.opennms.netmgt.eventd.EventIpcManagerDefaultImpl;
+import org.opennms.netmgt.events.api.BatchEventListener;
+import org.opennms.netmgt.events.api.EventListener;
+import org.opennms.netmgt.events.api.model.IEvent;
+import org.opennms.netmgt.model.events.EventBuilder;
+import org.opennms.netmgt.xml.event.Event;
+
+import com.codahale.metrics.MetricRegistry;
+
+/**
+ * Use the Java Microbenchmarking Harness (JMH) to measure the throughput of
+ * {@link EventIpcManagerDefaultImpl#broadcastNow(Event, boolean)}.
+ * <p>
+ * A mix of match-all, exact UEI and wildcard UEI listeners is registered, similar to
+ * what the daemons register at runtime, and trap-like events are broadcast from several
+ * threads. Each benchmark operation broadcasts a single event.
+ */
+public class EventIpcManagerBroadcastBenchmark {
+
+    private static final String[] UEIS = new String[] {
+            "uei.opennms.org/generic/traps/SNMP_Link_Down",
+            "uei.opennms.org/generic/traps/SNMP_Link_Up",
+            "uei.opennms.org/vendor/Cisco/traps/ciscoConfigManEvent",
+            "uei.opennms.org/nodes/nodeLostService",
+            "uei.opennms.org/syslogd/system/Notice",
+    };
+
+    public static void main(String[] args) throws Exception {
+        org.openjdk.jmh.Main.main(args);
+    }
+
+    @State(Scope.Benchmark)
+    public static class BState {
+
+        @Param({"10", "50"})
+        public int numListeners;
+
+        @Param({"false", "true"})
+        public boolean batchListeners;
+
+        private EventIpcManagerDefaultImpl manager;
+        private Event[] events;
+        private final AtomicLong received = new AtomicLong();
+
+        @Setup
+        public void setup() {
+            manager = new EventIpcManagerDefaultImpl(new MetricRegistry());
+            manager.setHandlerPoolSize(1);
+            manager.setEventHandler(new DefaultEventHandlerImpl(new MetricRegistry()));
+            manager.afterPropertiesSet();
+
+            for (int i = 0; i < numListeners; i++) {
+                final EventListener listener = createListener("listener-" + i);
+                switch (i % 3) {
+                case 0:
+                    manager.addEventListener(listener);
+                    break;
+                case 1:
+                    manager.addEventListener(listener, Arrays.asList(UEIS[i % UEIS.length], UEIS[(i + 1) % UEIS.length]));
+                    break;
+                default:
+                    manager.addEventListener(listener, "uei.opennms.org/generic/");
+                }
+            }
+
+            final List<Event> eventList = new ArrayList<>();
+            for (int i = 0; i < 1024; i++) {
+                eventList.add(new EventBuilder(UEIS[i % UEIS.length], "benchmark").setNodeid(i).getEvent());
+            }
+            events = eventList.toArray(new Event[0]);
+        }
+
+        private EventListener createListener(final String name) {
+            if (batchListeners) {
+                return new BatchEventListener() {
+                    @Override
+                    public String getName() {
+                        return name;
+                    }
+
+                    @Override
+                    public void onEvent(IEvent event) {
+                        received.incrementAndGet();
+                    }
+
+                    @Override
+                    public void onEvents(List<IEvent> batch) {
+                        received.addAndGet(batch.size());
+                    }
+                };
+            }
+            return new EventListener() {
+                @Override
+                public String getName() {
+                    return name;
+                }
+
+                @Override
+                public void onEvent(IEvent event) {
+                    received.incrementAndGet();
+                }
+            };
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class TState {
+        private int next;
+    }
+
+    @Benchmark
+    @Fork(value = 1)
+    @Warmup(iterations = 2)
+    @Measurement(iterations = 3)
+    @Threads(4)
+    public void broadcast(BState state, TState tstate) {
+        final Event event = state.events[tstate.next++ & (state.events.length - 1)];
+        state.manager.broadcastNow(event, false);
+    }
+}
@@ -0,0 +1,176 @@
+/*
+ * Licensed to The OpenNMS Group, Inc (TOG) under one or more
+ * contributor license agreements.  See the LICENSE.md file
+ * distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * TOG licenses this file to You under the GNU Affero General
+ * Public License Version 3 (the "License") or (at your option)
+ * any later version.  You may not use this file except in
+ * compliance with the License.  You may obtain a copy of the
+ * License at:
+ *
+ *      https://www.gnu.org/licenses/agpl-3.0.txt
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied.  See the License for the specific
+ * language governing permissions and limitations under the
+ * License.
+ */
+package org.opennms.benchmarks.events;
+
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import org.mockito.Mockito;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.opennms.benchmarks.Corpus;
+import org.opennms.core.ipc.sink.xml.AbstractXmlSinkModule;
+import org.opennms.netmgt.dao.api.DistPollerDao;
+import org.opennms.netmgt.model.OnmsDistPoller;
+import org.opennms.netmgt.snmp.SnmpObjId;
+import org.opennms.netmgt.snmp.SnmpResult;
+import org.opennms.netmgt.snmp.SnmpUtils;
+import org.opennms.netmgt.syslogd.SyslogConfigBean;
+import org.opennms.netmgt.syslogd.SyslogSinkModule;
+import org.opennms.netmgt.syslogd.api.SyslogMessageDTO;
+import org.opennms.netmgt.syslogd.api.SyslogMessageLogDTO;
+import org.opennms.netmgt.trapd.TrapDTO;
+import org.opennms.netmgt.trapd.TrapIdentityDTO;
+import org.opennms.netmgt.trapd.TrapLogDTO;
+import org.opennms.netmgt.trapd.TrapSinkModule;
+import org.opennms.netmgt.trapd.TrapdConfigBean;
+
+/**
+ * Use the Java Microbenchmarking Harness (JMH) to compare the XML and the binary encoding of the
+ * trap and syslog sink messages.
+ * <p>
+ * The encoded size of the batches is printed during the setup, since JMH only reports timings.
+ */
+public class SinkCodecBenchmark {
+
+    public static void main(String[] args) throws Exception {
+        org.openjdk.jmh.Main.main(args);
+    }
+
+    @State(Scope.Benchmark)
+    public static class BState {
+
+        @Param({AbstractXmlSinkModule.FORMAT_XML, AbstractXmlSinkModule.FORMAT_BINARY})
+        public String format;
+
+        @Param({"1", "100"})
+        public int batchSize;
+
+        private TrapSinkModule trapModule;
+        private TrapLogDTO trapLog;
+        private byte[] trapBytes;
+
+        private SyslogSinkModule syslogModule;
+        private SyslogMessageLogDTO syslogLog;
+        private byte[] syslogBytes;
+
+        @Setup
+        public void setUp() throws Exception {
+            final TrapdConfigBean trapdConfig = new TrapdConfigBean();
+            trapdConfig.setSinkFormat(format);
+            trapModule = new TrapSinkModule(trapdConfig, Mockito.mock(OnmsDistPoller.class));
+            final SyslogConfigBean syslogConfig = new SyslogConfigBean();
+            syslogConfig.setSinkFormat(format);
+            syslogModule = new SyslogSinkModule(syslogConfig, Mockito.mock(DistPollerDao.class));
+
+            trapLog = new TrapLogDTO("00000000-0000-0000-0000-000000000000", "Default", InetAddress.getByName("10.0.0.1"));
+            for (int i = 0; i < batchSize; i++) {
+                trapLog.addMessage(createTrap(i));
+            }
+
+            final List<String> lines = Corpus.lines("/syslog/syslogMessages.txt");
+            syslogLog = new SyslogMessageLogDTO("Default", "00000000-0000-0000-0000-000000000000",
+                    new InetSocketAddress(InetAddress.getByName("10.0.0.1"), 514));
+            for (int i = 0; i < batchSize; i++) {
+                syslogLog.getMessages().add(new SyslogMessageDTO(ByteBuffer.wrap(
+                        lines.get(i % lines.size()).getBytes(StandardCharsets.UTF_8))));
+            }
+
+            trapBytes = trapModule.marshal(trapLog);
+            syslogBytes = syslogModule.marshal(syslogLog);
+            System.out.printf("%n%s: %d traps encoded to %d bytes, %d syslog messages encoded to %d bytes%n",
+                    format, batchSize, trapBytes.length, batchSize, syslogBytes.length);
+        }
+
+        private static TrapDTO createTrap(final int i) throws Exception {
+            final TrapIdentityDTO identity = new TrapIdentityDTO();
+            identity.setGeneric(6);
+            identity.setSpecific(i);
+            identity.setEnterpriseId(".1.3.6.1.4.1.5813");
+            identity.setTrapOID(".1.3.6.1.4.1.5813.0." + i);
+
+            final TrapDTO trap = new TrapDTO();
+            trap.setAgentAddress(InetAddress.getByName("192.168.0." + (i % 254 + 1)));
+            trap.setCommunity("public");
+            trap.setVersion("v2");
+            trap.setTimestamp(123456L + i);
+            trap.setCreationTime(System.currentTimeMillis());
+            trap.setTrapIdentity(identity);
+            trap.getResults().add(new SnmpResult(SnmpObjId.get(".1.3.6.1.2.1.1.3.0"), null,
+                    SnmpUtils.getValueFactory().getTimeTicks(123456L + i)));
+            trap.getResults().add(new SnmpResult(SnmpObjId.get(".1.3.6.1.6.3.1.1.4.1.0"), null,
+                    SnmpUtils.getValueFactory().getObjectId(SnmpObjId.get(".1.3.6.1.4.1.5813.0." + i))));
+            trap.getResults().add(new SnmpResult(SnmpObjId.get(".1.3.6.1.2.1.2.2.1.1." + i), null,
+                    SnmpUtils.getValueFactory().getInt32(i)));
+            trap.getResults().add(new SnmpResult(SnmpObjId.get(".1.3.6.1.2.1.2.2.1.2." + i), null,
+                    SnmpUtils.getValueFactory().getOctetString(("GigabitEthernet0/" + i).getBytes(StandardCharsets.US_ASCII))));
+            trap.setPduLength(trap.getResults().size());
+            return trap;
+        }
+    }
+
+    @Benchmark
+    @Fork(value = 1, warmups = 1)
+    @Threads(1)
+    @Warmup(iterations = 2, time = 5)
+    @Measurement(iterations = 3, time = 10)
+    public byte[] marshalTraps(BState state) {
+        return state.trapModule.marshal(state.trapLog);
+    }
+
+    @Benchmark
+    @Fork(value = 1, warmups = 1)
+    @Threads(1)
+    @Warmup(iterations = 2, time = 5)
+    @Measurement(iterations = 3, time = 10)
+    public TrapLogDTO unmarshalTraps(BState state) {
+        return state.trapModule.unmarshal(state.trapBytes);
+    }
+
+    @Benchmark
+    @Fork(value = 1, warmups = 1)
+    @Threads(1)
+    @Warmup(iterations = 2, time = 5)
+    @Measurement(iterations = 3, time = 10)
+    public byte[] marshalSyslog(BState state) {
+        return state.syslogModule.marshal(state.syslogLog);
+    }
+
+    @Benchmark
+    @Fork(value = 1, warmups = 1)
+    @Threads(1)
+    @Warmup(iterations = 2, time = 5)
+    @Measurement(iterations = 3, time = 10)
+    public SyslogMessageLogDTO unmarshalSyslog(BState state) {
+        return state.syslogModule.unmarshal(state.syslogBytes);
+    }
+}
@@ -0,0 +1,166 @@
+/*
+ * Licensed to The OpenNMS Group, Inc (TOG) under one or more
+ * contributor license agreements.  See the LICENSE.md file
+ * distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * TOG licenses this file to You under the GNU Affero General
+ * Public License Version 3 (the "License") or (at your option)
+ * any later version.  You may not use this file except in
+ * compliance with the License.  You may obtain a copy of the
+ * License at:
+ *
+ *      https://www.gnu.org/licenses/agpl-3.0.txt
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied.  See the License for the specific
+ * language governing permissions and limitations under the
+ * License.
+ */
+package org.opennms.benchmarks.events;
+
+import java.net.InetAddress;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.opennms.benchmarks.Corpus;
+import org.opennms.netmgt.config.syslogd.HideMatch;
+import org.opennms.netmgt.config.syslogd.Match;
+import org.opennms.netmgt.config.syslogd.ProcessMatch;
+import org.opennms.netmgt.config.syslogd.UeiMatch;
+import org.opennms.netmgt.syslogd.ConvertToEvent;
+import org.opennms.netmgt.syslogd.MessageDiscardedException;
+import org.opennms.netmgt.syslogd.SyslogConfigBean;
+import org.opennms.netmgt.xml.event.Event;
+
+/**
+ * Use the Java Microbenchmarking Harness (JMH) to measure the throughput of {@link ConvertToEvent}
+ * when the Syslogd configuration contains many UEI matches.
+ * <p>
+ * The UEI matches are generated: a mix of substring and regular expression matches, some of them
+ * restricted to severities or processes, modeled after those shipped in <code>etc/syslog</code>.
+ * Only the last of them matches the captured messages, so that every message is checked against
+ * all of them, and a few hide matches are added as well.
+ */
+public class SyslogMatchBenchmark {
+
+    private static final String LOCATION = "Benchmark";
+
+    public static void main(String[] args) throws Exception {
+        org.openjdk.jmh.Main.main(args);
+    }
+
+    @State(Scope.Benchmark)
+    public static class BState {
+
+        @Param({"100", "900"})
+        public int numUeiMatches;
+
+        private SyslogConfigBean config;
+        private byte[][] messages;
+        private int next = 0;
+
+        @Setup
+        public void setUp() {
+            config = new SyslogConfigBean();
+            config.setParser("org.opennms.netmgt.syslogd.RadixTreeSyslogParser");
+            config.setDiscardUei("DISCARD-MATCHING-MESSAGES");
+
+            final String[] severities = {"Emergency", "Alert", "Critical", "Error"};
+            final String[] processes = {"sshd", "postfix/smtpd", "kernel", "sudo"};
+            final List<UeiMatch> ueiMatches = new ArrayList<>();
+            for (int i = 0; i < numUeiMatches - 1; i++) {
+                final UeiMatch ueiMatch;
+                switch (i % 4) {
+                case 0:
+                    ueiMatch = ueiMatch(i, "substr", "%SYS-" + i + "-CONFIG_I: Configured from");
+                    break;
+                case 1:
+                    ueiMatch = ueiMatch(i, "regex", "^%LINK-" + i + "-UPDOWN: Interface (\\S+), changed state to (\\w+)$");
+                    break;
+                case 2:
+                    ueiMatch = ueiMatch(i, "regex", "Failed (\\w+) for user (\\S+) from (\\S+) port " + i);
+                    ueiMatch.addSeverity(severities[i % severities.length]);
+                    break;
+                default:
+                    ueiMatch = ueiMatch(i, "regex", "(\\d+) messages? (queued|deferred) for job " + i);
+                    final ProcessMatch processMatch = new ProcessMatch();
+                    processMatch.setExpression("^" + processes[i % processes.length] + "$");
+                    ueiMatch.setProcessMatch(processMatch);
+                }
+                ueiMatches.add(ueiMatch);
+            }
+            ueiMatches.add(ueiMatch(numUeiMatches, "regex", "(.*)"));
+            config.setUeiList(ueiMatches);
+
+            final List<HideMatch> hideMatches = new ArrayList<>();
+            hideMatches.add(hideMatch("substr", "password="));
+            hideMatches.add(hideMatch("regex", "community (\\S+) RO"));
+            config.setHideMessages(hideMatches);
+
+            final List<byte[]> parsed = new ArrayList<>();
+            for (final String line : Corpus.lines("/syslog/syslogMessages.txt")) {
+                final byte[] message = line.getBytes(StandardCharsets.US_ASCII);
+                try {
+                    convert(config, message);
+                    parsed.add(message);
+                } catch (final MessageDiscardedException e) {
+                    // Not understood by the parser
+                }
+            }
+            messages = parsed.toArray(new byte[0][]);
+        }
+
+        private byte[] nextMessage() {
+            next = (next + 1) % messages.length;
+            return messages[next];
+        }
+    }
+
+    private static UeiMatch ueiMatch(final int i, final String type, final String expression) {
+        final UeiMatch ueiMatch = new UeiMatch();
+        ueiMatch.setUei("uei.opennms.org/benchmark/" + i);
+        ueiMatch.setMatch(match(type, expression));
+        return ueiMatch;
+    }
+
+    private static HideMatch hideMatch(final String type, final String expression) {
+        final HideMatch hideMatch = new HideMatch();
+        hideMatch.setMatch(match(type, expression));
+        return hideMatch;
+    }
+
+    private static Match match(final String type, final String expression) {
+        final Match match = new Match();
+        match.setType(type);
+        match.setExpression(expression);
+        return match;
+    }
+
+    private static Event convert(final SyslogConfigBean config, final byte[] message) throws MessageDiscardedException {
+        return new ConvertToEvent("00000000-0000-0000-0000-000000000000", LOCATION, InetAddress.getLoopbackAddress(), 514,
+                ByteBuffer.wrap(message), null, config, null, null).getEvent();
+    }
+
+    @Benchmark
+    @Fork(value = 1, warmups = 1)
+    @Threads(1)
+    @Warmup(iterations = 2, time = 5)
+    @Measurement(iterations = 3, time = 10)
+    public Event convertToEvent(BState state) throws MessageDiscardedException {
+        return convert(state.config, state.nextMessage());
+    }
+}
@@ -0,0 +1,123 @@
+/*
+ * Licensed to The OpenNMS Group, Inc (TOG) under one or more
+ * contributor license agreements.  See the LICENSE.md file
+ * distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * TOG licenses this file to You under the GNU Affero General
+ * Public License Version 3 (the "License") or (at your option)
+ * any later version.  You may not use this file except in
+ * compliance with the License.  You may obtain a copy of the
+ * License at:
+ *
+ *      https://www.gnu.org/licenses/agpl-3.0.txt
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied.  See the License for the specific
+ * language governing permissions and limitations under the
+ * License.
+ */
+package org.opennms.benchmarks.events;
+
+import java.net.InetAddress;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.opennms.benchmarks.Corpus;
+import org.opennms.netmgt.syslogd.ConvertToEvent;
+import org.opennms.netmgt.syslogd.MessageDiscardedException;
+import org.opennms.netmgt.syslogd.SyslogConfigBean;
+import org.opennms.netmgt.xml.event.Event;
+
+/**
+ * Use the Java Microbenchmarking Harness (JMH) to measure the throughput of the syslog parsers,
+ * by converting captured syslog messages to events with {@link ConvertToEvent}.
+ * <p>
+ * The messages are converted for a non-default location without a DNS client, so that the
+ * hostnames found in the messages are never resolved. Messages the parser does not understand
+ * are dropped from the corpus during the setup.
+ * <p>
+ * The messages are converted on a single thread, so the score is the throughput of one core.
+ * The GC profiler is always enabled, its <code>gc.alloc.rate.norm</code> result is the number
+ * of bytes allocated per converted message.
+ */
+public class SyslogParserBenchmark {
+
+    private static final String LOCATION = "Benchmark";
+
+    public static void main(String[] args) throws Exception {
+        final Options options = new OptionsBuilder()
+                .parent(new CommandLineOptions(args))
+                .include(SyslogParserBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build();
+        new Runner(options).run();
+    }
+
+    @State(Scope.Benchmark)
+    public static class BState {
+
+        @Param({"RadixTreeSyslogParser", "Rfc5424SyslogParser"})
+        public String parser;
+
+        private SyslogConfigBean config;
+        private byte[][] messages;
+        private int next = 0;
+
+        @Setup
+        public void setUp() {
+            config = new SyslogConfigBean();
+            config.setParser("org.opennms.netmgt.syslogd." + parser);
+            config.setDiscardUei("DISCARD-MATCHING-MESSAGES");
+
+            final List<byte[]> parsed = new ArrayList<>();
+            for (final String line : Corpus.lines("/syslog/syslogMessages.txt")) {
+                final byte[] message = line.getBytes(StandardCharsets.US_ASCII);
+                try {
+                    convert(config, message);
+                    parsed.add(message);
+                } catch (final MessageDiscardedException e) {
+                    // Not understood by this parser
+                }
+            }
+            messages = parsed.toArray(new byte[0][]);
+        }
+
+        private byte[] nextMessage() {
+            next = (next + 1) % messages.length;
+            return messages[next];
+        }
+    }
+
+    private static Event convert(final SyslogConfigBean config, final byte[] message) throws MessageDiscardedException {
+        return new ConvertToEvent("00000000-0000-0000-0000-000000000000", LOCATION, InetAddress.getLoopbackAddress(), 514,
+                ByteBuffer.wrap(message), null, config, null, null).getEvent();
+    }
+
+    @Benchmark
+    @Fork(value = 1, warmups = 1)
+    @Threads(1)
+    @Warmup(iterations = 2, time = 5)
+    @Measurement(iterations = 3, time = 10)
+    public Event convertToEvent(BState state) throws MessageDiscardedException {
+        return convert(state.config, state.nextMessage());
+    }
+}
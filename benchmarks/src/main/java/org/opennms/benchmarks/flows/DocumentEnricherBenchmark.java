@@ -0,0 +1,113 @@
+/*
+ * Licensed to The OpenNMS Group, Inc (TOG) under one or more
+ * contributor license agreements.  See the LICENSE.md file
+ * distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * TOG licenses this file to You under the GNU Affero General
+ * Public License Version 3 (the "License") or (at your option)
+ * any later version.  You may not use this file except in
+ * compliance with the License.  You may obtain a copy of the
+ * License at:
+ *
+ *      https://www.gnu.org/licenses/agpl-3.0.txt
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied.  See the License for the specific
+ * language governing permissions and limitations under the
+ * License.
+ */
+package org.opennms.benchmarks.flows;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Random;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.opennms.core.utils.InetAddressUtils;
+import org.opennms.netmgt.flows.api.Flow;
+import org.opennms.netmgt.flows.api.FlowSource;
+import org.opennms.netmgt.flows.processing.FlowBuilder;
+import org.opennms.netmgt.flows.processing.enrichment.EnrichedFlow;
+import org.opennms.netmgt.flows.processing.enrichment.MockDocumentEnricherFactory;
+import org.opennms.netmgt.flows.processing.impl.DocumentEnricherImpl;
+import org.opennms.netmgt.model.OnmsNode;
+
+/**
+ * Use the Java Microbenchmarking Harness (JMH) to measure the throughput of
+ * {@link DocumentEnricherImpl#enrich(java.util.Collection, FlowSource)}.
+ * <p>
+ * Each benchmark operation enriches a batch of flows exchanged between a set of known nodes
+ * and a larger set of external hosts, on a mix of classified and unclassified ports.
+ */
+public class DocumentEnricherBenchmark {
+
+    private static final int NUM_NODES = 250;
+
+    private static final int[] PORTS = new int[] { 80, 443, 22, 53, 8080, 51234 };
+
+    private static final FlowSource SOURCE = new FlowSource("Default", "127.0.0.1", null);
+
+    public static void main(String[] args) throws Exception {
+        org.openjdk.jmh.Main.main(args);
+    }
+
+    @State(Scope.Benchmark)
+    public static class BState {
+
+        @Param({"100", "1000"})
+        public int batchSize;
+
+        private DocumentEnricherImpl enricher;
+        private List<Flow> flows;
+
+        @Setup
+        public void setUp() throws Exception {
+            final MockDocumentEnricherFactory factory = new MockDocumentEnricherFactory();
+            for (int i = 1; i <= NUM_NODES; i++) {
+                factory.getInterfaceToNodeCache().setNodeId("Default", InetAddressUtils.addr("10.0.0." + i), i);
+
+                final OnmsNode node = new OnmsNode();
+                node.setId(i);
+                node.setForeignSource("benchmark");
+                node.setForeignId(Integer.toString(i));
+                factory.getNodeDao().save(node);
+            }
+            enricher = factory.getEnricher();
+
+            final Random random = new Random(42);
+            final Instant now = Instant.now();
+            final FlowBuilder builder = new FlowBuilder();
+            for (int i = 0; i < batchSize; i++) {
+                final String srcAddr = "10.0.0." + (1 + random.nextInt(NUM_NODES));
+                final String dstAddr = random.nextBoolean()
+                        ? "192.168." + random.nextInt(256) + "." + random.nextInt(256)
+                        : "8.8." + random.nextInt(256) + "." + random.nextInt(256);
+                builder.withFlow(now.minusSeconds(20), now.minusSeconds(5),
+                        srcAddr, 1024 + random.nextInt(60000),
+                        dstAddr, PORTS[random.nextInt(PORTS.length)],
+                        random.nextInt(1_000_000));
+            }
+            flows = builder.build();
+        }
+    }
+
+    @Benchmark
+    @Fork(value = 1, warmups = 1)
+    @Threads(1)
+    @Warmup(iterations = 2, time = 5)
+    @Measurement(iterations = 3, time = 10)
+    public List<EnrichedFlow> enrich(BState state) {
+        return state.enricher.enrich(state.flows, SOURCE);
+    }
+}
@@ -0,0 +1,270 @@
+/*
+ * Licensed to The OpenNMS Group, Inc (TOG) under one or more
+ * contributor license agreements.  See the LICENSE.md file
+ * distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * TOG licenses this file to You under the GNU Affero General
+ * Public License Version 3 (the "License") or (at your option)
+ * any later version.  You may not use this file except in
+ * compliance with the License.  You may obtain a copy of the
+ * License at:
+ *
+ *      https://www.gnu.org/licenses/agpl-3.0.txt
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied.  See the License for the specific
+ * language governing permissions and limitations under the
+ * License.
+ */
+package org.opennms.benchmarks.flows;
+
+import static org.mockito.Mockito.mock;
+import static org.opennms.netmgt.telemetry.listeners.utils.BufferUtils.slice;
+
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Predicate;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.opennms.benchmarks.Corpus;
+import org.opennms.core.ipc.sink.api.AsyncDispatcher;
+import org.opennms.distributed.core.api.Identity;
+import org.opennms.netmgt.dnsresolver.api.DnsResolver;
+import org.opennms.netmgt.events.api.EventForwarder;
+import org.opennms.netmgt.telemetry.api.receiver.TelemetryMessage;
+import org.opennms.netmgt.telemetry.protocols.netflow.parser.IpfixUdpParser;
+import org.opennms.netmgt.telemetry.protocols.netflow.parser.Netflow9UdpParser;
+import org.opennms.netmgt.telemetry.protocols.netflow.parser.RecordEnrichment;
+import org.opennms.netmgt.telemetry.protocols.netflow.parser.UdpParserBase;
+import org.opennms.netmgt.telemetry.protocols.netflow.parser.ie.RecordProvider;
+import org.opennms.netmgt.telemetry.protocols.netflow.parser.ie.Value;
+import org.opennms.netmgt.telemetry.protocols.netflow.parser.session.SequenceNumberTracker;
+import org.opennms.netmgt.telemetry.protocols.netflow.parser.session.Session;
+import org.opennms.netmgt.telemetry.protocols.netflow.parser.session.TcpSession;
+import org.opennms.netmgt.telemetry.protocols.netflow.parser.transport.IpFixMessageBuilder;
+import org.opennms.netmgt.telemetry.protocols.netflow.parser.transport.MessageBuilder;
+import org.opennms.netmgt.telemetry.protocols.netflow.parser.transport.Netflow9MessageBuilder;
+import org.opennms.netmgt.xml.event.Event;
+import org.opennms.netmgt.xml.event.Log;
+
+import com.codahale.metrics.MetricRegistry;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+
+/**
+ * Use the Java Microbenchmarking Harness (JMH) to measure the throughput of the Netflow v9 and
+ * IPFIX parsers.
+ * <p>
+ * The template packets of the exporter are parsed once during the setup, and each benchmark
+ * operation parses a captured data packet, enriches and serializes the contained records and
+ * hands them over to the dispatcher.
+ * <p>
+ * The decode benchmarks only parse the data packet and build the messages of its records,
+ * either from the values consumed by the message builder or from all values of the records.
+ */
+public class FlowParserBenchmark {
+
+    private enum Exporter {
+        cisco_asa(false, "netflow9_test_cisco_asa_1_tpl.dat", "netflow9_test_cisco_asa_1_data.dat"),
+        cisco_asr9k(false, "netflow9_test_cisco_asr9k_tpl260.dat", "netflow9_test_cisco_asr9k_data260.dat"),
+        paloalto_panos(false, "netflow9_test_paloalto_panos_tpl.dat", "netflow9_test_paloalto_panos_data.dat"),
+        mikrotik(true, "ipfix_test_mikrotik_tpl.dat", "ipfix_test_mikrotik_data258.dat"),
+        openbsd_pflow(true, "ipfix_test_openbsd_pflow_tpl.dat", "ipfix_test_openbsd_pflow_data.dat"),
+        vmware_vds(true, "ipfix_test_vmware_vds_tpl.dat", "ipfix_test_vmware_vds_data266.dat");
+
+        private final boolean ipfix;
+        private final String template;
+        private final String data;
+
+        Exporter(final boolean ipfix, final String template, final String data) {
+            this.ipfix = ipfix;
+            this.template = template;
+            this.data = data;
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        org.openjdk.jmh.Main.main(args);
+    }
+
+    @State(Scope.Benchmark)
+    public static class BState {
+
+        @Param({"cisco_asa", "cisco_asr9k", "paloalto_panos", "mikrotik", "openbsd_pflow", "vmware_vds"})
+        public String exporter;
+
+        private final InetSocketAddress remoteAddress = new InetSocketAddress(InetAddress.getLoopbackAddress(), 2055);
+        private final InetSocketAddress localAddress = new InetSocketAddress(InetAddress.getLoopbackAddress(), 4738);
+        private final AtomicLong dispatched = new AtomicLong();
+
+        private ScheduledExecutorService executor;
+        private UdpParserBase parser;
+        private byte[] data;
+
+        @Setup
+        public void setUp() throws Exception {
+            final Exporter e = Exporter.valueOf(exporter);
+            final AsyncDispatcher<TelemetryMessage> dispatcher = new AsyncDispatcher<TelemetryMessage>() {
+                @Override
+                public CompletableFuture<DispatchStatus> send(TelemetryMessage message) {
+                    dispatched.incrementAndGet();
+                    return CompletableFuture.completedFuture(DispatchStatus.DISPATCHED);
+                }
+
+                @Override
+                public int getQueueSize() {
+                    return 0;
+                }
+
+                @Override
+                public void close() {
+                }
+            };
+            final EventForwarder eventForwarder = new EventForwarder() {
+                @Override
+                public void sendNow(Event event) {
+                }
+
+                @Override
+                public void sendNow(Log eventLog) {
+                }
+
+                @Override
+                public void sendNowSync(Event event) {
+                }
+
+                @Override
+                public void sendNowSync(Log eventLog) {
+                }
+            };
+            final DnsResolver dnsResolver = new DnsResolver() {
+                @Override
+                public CompletableFuture<Optional<InetAddress>> lookup(String hostname) {
+                    return CompletableFuture.completedFuture(Optional.empty());
+                }
+
+                @Override
+                public CompletableFuture<Optional<String>> reverseLookup(InetAddress inetAddress) {
+                    return CompletableFuture.completedFuture(Optional.empty());
+                }
+            };
+
+            parser = e.ipfix
+                    ? new IpfixUdpParser("IPFIX", dispatcher, eventForwarder, mock(Identity.class), dnsResolver, new MetricRegistry())
+                    : new Netflow9UdpParser("Netflow-9", dispatcher, eventForwarder, mock(Identity.class), dnsResolver, new MetricRegistry());
+            parser.setDnsLookupsEnabled(false);
+
+            executor = Executors.newSingleThreadScheduledExecutor();
+            parser.start(executor);
+            parser.parse(Unpooled.wrappedBuffer(Corpus.bytes("/flows/" + e.template)), remoteAddress, localAddress).get();
+
+            data = Corpus.bytes("/flows/" + e.data);
+        }
+
+        @TearDown
+        public void tearDown() {
+            parser.stop();
+            executor.shutdown();
+        }
+    }
+
+    @Benchmark
+    @Fork(value = 1, warmups = 1)
+    @Threads(1)
+    @Warmup(iterations = 2, time = 5)
+    @Measurement(iterations = 3, time = 10)
+    public Object parse(BState state) throws Exception {
+        return state.parser.parse(Unpooled.wrappedBuffer(state.data), state.remoteAddress, state.localAddress).get();
+    }
+
+    @State(Scope.Benchmark)
+    public static class DState {
+
+        @Param({"cisco_asa", "cisco_asr9k", "paloalto_panos", "mikrotik", "openbsd_pflow", "vmware_vds"})
+        public String exporter;
+
+        private final RecordEnrichment enrichment = address -> Optional.empty();
+
+        private Session session;
+        private MessageBuilder builder;
+        private boolean ipfix;
+        private byte[] data;
+
+        @Setup
+        public void setUp() throws Exception {
+            final Exporter e = Exporter.valueOf(exporter);
+
+            ipfix = e.ipfix;
+            builder = e.ipfix ? new IpFixMessageBuilder() : new Netflow9MessageBuilder();
+            session = new TcpSession(InetAddress.getLoopbackAddress(), () -> new SequenceNumberTracker(32));
+
+            packets(Unpooled.wrappedBuffer(Corpus.bytes("/flows/" + e.template)));
+
+            data = Corpus.bytes("/flows/" + e.data);
+        }
+
+        private List<RecordProvider> packets(final ByteBuf buffer) throws Exception {
+            final List<RecordProvider> packets = new ArrayList<>();
+            while (buffer.isReadable()) {
+                if (ipfix) {
+                    final org.opennms.netmgt.telemetry.protocols.netflow.parser.ipfix.proto.Header header =
+                            new org.opennms.netmgt.telemetry.protocols.netflow.parser.ipfix.proto.Header(slice(buffer, org.opennms.netmgt.telemetry.protocols.netflow.parser.ipfix.proto.Header.SIZE));
+                    packets.add(new org.opennms.netmgt.telemetry.protocols.netflow.parser.ipfix.proto.Packet(session, header, slice(buffer, header.length - org.opennms.netmgt.telemetry.protocols.netflow.parser.ipfix.proto.Header.SIZE)));
+                } else {
+                    final org.opennms.netmgt.telemetry.protocols.netflow.parser.netflow9.proto.Header header =
+                            new org.opennms.netmgt.telemetry.protocols.netflow.parser.netflow9.proto.Header(slice(buffer, org.opennms.netmgt.telemetry.protocols.netflow.parser.netflow9.proto.Header.SIZE));
+                    packets.add(new org.opennms.netmgt.telemetry.protocols.netflow.parser.netflow9.proto.Packet(session, header, buffer));
+                }
+            }
+            return packets;
+        }
+
+        private long decode(final Predicate<String> names) throws Exception {
+            long count = 0;
+            for (final RecordProvider packet : packets(Unpooled.wrappedBuffer(data))) {
+                for (final Iterable<Value<?>> record : (Iterable<Iterable<Value<?>>>) packet.getRecords(names)::iterator) {
+                    count += builder.buildMessage(record, enrichment).build().getSerializedSize();
+                }
+            }
+            return count;
+        }
+    }
+
+    @Benchmark
+    @Fork(value = 1, warmups = 1)
+    @Threads(1)
+    @Warmup(iterations = 2, time = 5)
+    @Measurement(iterations = 3, time = 10)
+    public long decodeConsumed(DState state) throws Exception {
+        return state.decode(state.builder::consumes);
+    }
+
+    @Benchmark
+    @Fork(value = 1, warmups = 1)
+    @Threads(1)
+    @Warmup(iterations = 2, time = 5)
+    @Measurement(iterations = 3, time = 10)
+    public long decodeAll(DState state) throws Exception {
+        return state.decode(name -> true);
+    }
+}
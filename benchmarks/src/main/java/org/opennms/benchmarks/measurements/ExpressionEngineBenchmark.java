@@ -0,0 +1,121 @@
+/*
+ * Licensed to The OpenNMS Group, Inc (TOG) under one or more
+ * contributor license agreements.  See the LICENSE.md file
+ * distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * TOG licenses this file to You under the GNU Affero General
+ * Public License Version 3 (the "License") or (at your option)
+ * any later version.  You may not use this file except in
+ * compliance with the License.  You may obtain a copy of the
+ * License at:
+ *
+ *      https://www.gnu.org/licenses/agpl-3.0.txt
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied.  See the License for the specific
+ * language governing permissions and limitations under the
+ * License.
+ */
+package org.opennms.benchmarks.measurements;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.opennms.netmgt.measurements.api.ExpressionEngine;
+import org.opennms.netmgt.measurements.api.FetchResults;
+import org.opennms.netmgt.measurements.api.exceptions.ExpressionException;
+import org.opennms.netmgt.measurements.impl.JEXLExpressionEngine;
+import org.opennms.netmgt.measurements.model.Expression;
+import org.opennms.netmgt.measurements.model.QueryRequest;
+
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+
+/**
+ * Use the Java Microbenchmarking Harness (JMH) to measure the time taken by
+ * {@link ExpressionEngine#applyExpressions(QueryRequest, FetchResults)} for the
+ * expressions of a typical interface traffic graph.
+ * <p>
+ * The expressions are evaluated either row by row, or over complete columns,
+ * in order to compare both modes of the {@link JEXLExpressionEngine}.
+ */
+public class ExpressionEngineBenchmark {
+
+    public static void main(String[] args) throws Exception {
+        org.openjdk.jmh.Main.main(args);
+    }
+
+    @State(Scope.Benchmark)
+    public static class BState {
+
+        @Param({"false", "true"})
+        public boolean vectorize;
+
+        @Param({"300", "10000"})
+        public int numRows;
+
+        private ExpressionEngine engine;
+        private QueryRequest request;
+        private long[] timestamps;
+        private double[] inOctets;
+        private double[] outOctets;
+
+        @Setup
+        public void setUp() {
+            engine = new JEXLExpressionEngine(vectorize);
+
+            final List<Expression> expressions = Lists.newArrayList(
+                    new Expression("octIn", "ifHCInOctets * 8", false),
+                    new Expression("octOut", "-1.0 * ifHCOutOctets * 8", false),
+                    new Expression("octTotal", "octIn - octOut", false),
+                    new Expression("octPeak", "math:max(ifHCInOctets, ifHCOutOctets) * 8", false),
+                    new Expression("octInPrev", "fn:arrayNaN(\"ifHCInOctets\", 1) * 8", false),
+                    new Expression("percentIn", "octIn / (ifHighSpeed * 1000000.0) * 100.0", false));
+            request = new QueryRequest();
+            request.setExpressions(expressions);
+
+            final Random random = new Random(42);
+            timestamps = new long[numRows];
+            inOctets = new double[numRows];
+            outOctets = new double[numRows];
+            for (int i = 0; i < numRows; i++) {
+                timestamps[i] = 1500000000000L + i * 300000L;
+                inOctets[i] = random.nextDouble() * 1.25e8;
+                outOctets[i] = random.nextDouble() * 1.25e8;
+            }
+        }
+
+        private FetchResults fetch() {
+            final Map<String, double[]> columns = Maps.newHashMap();
+            columns.put("ifHCInOctets", inOctets);
+            columns.put("ifHCOutOctets", outOctets);
+            final Map<String, Object> constants = Maps.newHashMap();
+            constants.put("ifHighSpeed", 1000);
+            return new FetchResults(timestamps, columns, 300000L, constants, null);
+        }
+    }
+
+    @Benchmark
+    @Fork(value = 1, warmups = 1)
+    @Threads(1)
+    @Warmup(iterations = 2, time = 5)
+    @Measurement(iterations = 3, time = 10)
+    public FetchResults applyExpressions(BState state) throws ExpressionException {
+        final FetchResults results = state.fetch();
+        state.engine.applyExpressions(state.request, results);
+        return results;
+    }
+}
@@ -0,0 +1,146 @@
+/*
+ * Licensed to The OpenNMS Group, Inc (TOG) under one or more
+ * contributor license agreements.  See the LICENSE.md file
+ * distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * TOG licenses this file to You under the GNU Affero General
+ * Public License Version 3 (the "License") or (at your option)
+ * any later version.  You may not use this file except in
+ * compliance with the License.  You may obtain a copy of the
+ * License at:
+ *
+ *      https://www.gnu.org/licenses/agpl-3.0.txt
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied.  See the License for the specific
+ * language governing permissions and limitations under the
+ * License.
+ */
+package org.opennms.netmgt.eventd;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Use the Java Microbenchmarking Harness (JMH) to compare the ways events are handed over
+ * to the thread of a listener by {@link EventIpcManagerDefaultImpl}:
+ * <ul>
+ * <li><code>executor</code>: a single threaded {@link ThreadPoolExecutor} backed by a
+ * {@link LinkedBlockingQueue}, with a future per event, as before the listener queues</li>
+ * <li><code>ring</code>: the {@link BoundedEventQueue} used when a queue length is configured</li>
+ * <li><code>linked</code>: the {@link LinkedEventQueue} used when it is not</li>
+ * </ul>
+ * Several threads broadcast events to a single listener thread. Producers back off while
+ * more than {@link #MAX_IN_FLIGHT} events are pending, so that the sustained throughput of
+ * the hand-off is measured rather than the rate at which an unbounded queue can grow.
+ * <p>
+ * Lives in the package of the queues since they are not part of the API of the daemon.
+ */
+public class ListenerEventQueueBenchmark {
+
+    private static final int MAX_IN_FLIGHT = 10000;
+
+    public static void main(String[] args) throws Exception {
+        org.openjdk.jmh.Main.main(args);
+    }
+
+    @State(Scope.Benchmark)
+    public static class BState {
+
+        @Param({"executor", "ring", "linked"})
+        public String handOff;
+
+        private final AtomicLong offered = new AtomicLong();
+        private final AtomicLong consumed = new AtomicLong();
+
+        private ThreadPoolExecutor executor;
+        private ListenerEventQueue<Object> queue;
+        private Thread consumer;
+        private volatile boolean running;
+
+        @Setup
+        public void setup() {
+            running = true;
+            switch (handOff) {
+            case "executor":
+                executor = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<>());
+                return;
+            case "ring":
+                queue = new BoundedEventQueue<>(100000);
+                break;
+            default:
+                queue = new LinkedEventQueue<>();
+            }
+            consumer = new Thread(this::consume, "listener");
+            consumer.setDaemon(true);
+            consumer.start();
+        }
+
+        private void consume() {
+            final List<Object> batch = new ArrayList<>(1);
+            while (running) {
+                if (queue.drainTo(batch, 1) == 0) {
+                    try {
+                        queue.awaitNotEmpty(1, TimeUnit.SECONDS);
+                    } catch (InterruptedException e) {
+                        return;
+                    }
+                    continue;
+                }
+                consumed.addAndGet(batch.size());
+                batch.clear();
+            }
+        }
+
+        private void broadcast(final Object event) {
+            while (offered.get() - consumed.get() > MAX_IN_FLIGHT) {
+                Thread.onSpinWait();
+            }
+            offered.incrementAndGet();
+            if (executor != null) {
+                CompletableFuture.runAsync(consumed::incrementAndGet, executor);
+            } else if (!queue.offer(event)) {
+                offered.decrementAndGet();
+            }
+        }
+
+        @TearDown
+        public void tearDown() throws InterruptedException {
+            running = false;
+            if (executor != null) {
+                executor.shutdownNow();
+            } else {
+                queue.wakeUpAll();
+                consumer.join();
+            }
+        }
+    }
+
+    @Benchmark
+    @Fork(value = 1)
+    @Warmup(iterations = 2)
+    @Measurement(iterations = 3)
+    @Threads(4)
+    public void broadcast(BState state) {
+        state.broadcast(state);
+    }
+}
@@ -0,0 +1,140 @@
+/*
+ * Licensed to The OpenNMS Group, Inc (TOG) under one or more
+ * contributor license agreements.  See the LICENSE.md file
+ * distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * TOG licenses this file to You under the GNU Affero General
+ * Public License Version 3 (the "License") or (at your option)
+ * any later version.  You may not use this file except in
+ * compliance with the License.  You may obtain a copy of the
+ * License at:
+ *
+ *      https://www.gnu.org/licenses/agpl-3.0.txt
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied.  See the License for the specific
+ * language governing permissions and limitations under the
+ * License.
+ */
+package org.opennms.netmgt.xml.eventconf;
+
+import java.util.Random;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.opennms.netmgt.xml.event.Parm;
+import org.opennms.netmgt.xml.event.Snmp;
+
+/**
+ * Use the Java Microbenchmarking Harness (JMH) to compare the lookups done with
+ * the {@link EventMatchIndex} against a scan through the partitions.
+ * <p>
+ * The definitions mimic vendor trap definitions: most of them are keyed on an enterprise id
+ * and distinguished by their generic/specific numbers or varbinds, while a few match on
+ * prefixes and regular expressions and end up in the null partition.
+ */
+public class EventMatchIndexBenchmark {
+
+    public static void main(String[] args) throws Exception {
+        org.openjdk.jmh.Main.main(args);
+    }
+
+    @State(Scope.Benchmark)
+    public static class BState {
+
+        @Param({"1000", "12000"})
+        public int numDefinitions;
+
+        @Param({"true", "false"})
+        public boolean useIndex;
+
+        private Events events;
+        private org.opennms.netmgt.xml.event.Event[] traps;
+        private int next = 0;
+
+        @Setup
+        public void setUp() {
+            final Random random = new Random(42);
+            final int numEnterprises = numDefinitions / 20;
+
+            events = new Events();
+            for (int i = 0; i < numDefinitions; i++) {
+                final Mask mask = new Mask();
+                switch (i % 50) {
+                case 0:
+                    mask.addMaskelement(maskelement("id", enterpriseId(random.nextInt(numEnterprises)).substring(0, 16) + "%"));
+                    break;
+                case 1:
+                    mask.addMaskelement(maskelement("id", "~^" + enterpriseId(random.nextInt(numEnterprises)).replace(".", "\\.") + "\\..*"));
+                    break;
+                default:
+                    mask.addMaskelement(maskelement("id", enterpriseId(random.nextInt(numEnterprises))));
+                    break;
+                }
+                mask.addMaskelement(maskelement("generic", "6"));
+                mask.addMaskelement(maskelement("specific", Integer.toString(random.nextInt(20))));
+                if (i % 5 == 0) {
+                    final Varbind varbind = new Varbind();
+                    varbind.setVbnumber(1);
+                    varbind.addVbvalue(Integer.toString(random.nextInt(3)));
+                    mask.addVarbind(varbind);
+                }
+
+                final Event event = new Event();
+                event.setUei("uei.opennms.org/vendor/benchmark/" + i);
+                event.setMask(mask);
+                events.addEvent(event);
+            }
+            events.initialize(new EnterpriseIdPartition(), new EventOrdering());
+
+            traps = new org.opennms.netmgt.xml.event.Event[1024];
+            for (int i = 0; i < traps.length; i++) {
+                final Snmp snmp = new Snmp();
+                // Some of the traps are not covered by any definition
+                snmp.setId(enterpriseId(random.nextInt(numEnterprises + numEnterprises / 10)));
+                snmp.setGeneric(6);
+                snmp.setSpecific(random.nextInt(25));
+                final org.opennms.netmgt.xml.event.Event trap = new org.opennms.netmgt.xml.event.Event();
+                trap.setSnmp(snmp);
+                trap.addParm(new Parm("vb1", Integer.toString(random.nextInt(3))));
+                traps[i] = trap;
+            }
+        }
+
+        private org.opennms.netmgt.xml.event.Event nextTrap() {
+            next = (next + 1) & (traps.length - 1);
+            return traps[next];
+        }
+    }
+
+    @Benchmark
+    @Fork(value = 1, warmups = 1)
+    @Threads(1)
+    @Warmup(iterations = 2, time = 5)
+    @Measurement(iterations = 3, time = 10)
+    public Event findFirstMatchingEvent(BState state) {
+        final org.opennms.netmgt.xml.event.Event trap = state.nextTrap();
+        return state.useIndex ? state.events.findFirstMatchingEventInPartitions(trap) : state.events.scanPartitions(trap);
+    }
+
+    private static String enterpriseId(final int n) {
+        return ".1.3.6.1.4.1." + (1000 + n / 4) + ".1." + (n % 4);
+    }
+
+    private static Maskelement maskelement(final String name, final String value) {
+        final Maskelement element = new Maskelement();
+        element.setMename(name);
+        element.addMevalue(value);
+        return element;
+    }
+}
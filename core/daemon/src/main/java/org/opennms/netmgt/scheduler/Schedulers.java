@@ -0,0 +1,94 @@
+/*
+ * Licensed to The OpenNMS Group, Inc (TOG) under one or more
+ * contributor license agreements.  See the LICENSE.md file
+ * distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * TOG licenses this file to You under the GNU Affero General
+ * Public License Version 3 (the "License") or (at your option)
+ * any later version.  You may not use this file except in
+ * compliance with the License.  You may obtain a copy of the
+ * License at:
+ *
+ *      https://www.gnu.org/licenses/agpl-3.0.txt
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied.  See the License for the specific
+ * language governing permissions and limitations under the
+ * License.
+ */
+package org.opennms.netmgt.scheduler;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.stream.Collectors;
+
+/**
+ * Creates the {@link Scheduler} used by the daemons.
+ *
+ * The implementation is selected with the {@value #SCHEDULER_TYPE_SYS_PROP}
+ * system property, which can either be set globally or for a single daemon by
+ * appending its name, i.e. <code>org.opennms.netmgt.scheduler.type.Poller</code>.
+ * Supported values are <code>legacy</code> (default) and <code>timingwheel</code>.
+ */
+public abstract class Schedulers {
+
+    public static final String SCHEDULER_TYPE_SYS_PROP = "org.opennms.netmgt.scheduler.type";
+
+    public static final String TYPE_LEGACY = "legacy";
+
+    public static final String TYPE_TIMING_WHEEL = "timingwheel";
+
+    /**
+     * Creates a new scheduler of the configured type.
+     *
+     * @param parent
+     *            String prepended to "Scheduler" to create fiber name
+     * @param maxSize
+     *            The maximum size of the thread pool.
+     * @return a new, not yet started, scheduler
+     */
+    public static Scheduler newScheduler(final String parent, final int maxSize) {
+        final String type = System.getProperty(SCHEDULER_TYPE_SYS_PROP + "." + parent, System.getProperty(SCHEDULER_TYPE_SYS_PROP, TYPE_LEGACY));
+        if (TYPE_TIMING_WHEEL.equalsIgnoreCase(type.trim())) {
+            return new TimingWheelScheduler(parent, maxSize);
+        }
+        return new LegacyScheduler(parent, maxSize);
+    }
+
+    /**
+     * Returns the thread pool used by the given scheduler, or null if the
+     * scheduler is not one of the known implementations.
+     */
+    public static ExecutorService getRunner(final Scheduler scheduler) {
+        if (scheduler instanceof LegacyScheduler) {
+            return ((LegacyScheduler) scheduler).getRunner();
+        } else if (scheduler instanceof TimingWheelScheduler) {
+            return ((TimingWheelScheduler) scheduler).getRunner();
+        }
+        return null;
+    }
+
+    /**
+     * Returns the entries currently waiting in the given scheduler.
+     */
+    public static List<LegacyScheduler.TimeKeeper> getTimeKeepers(final Scheduler scheduler) {
+        if (scheduler instanceof LegacyScheduler) {
+            final Map<Long, BlockingQueue<ReadyRunnable>> queues = ((LegacyScheduler) scheduler).getQueue();
+            synchronized (queues) {
+                return queues.values().stream()
+                        .flatMap(BlockingQueue::stream)
+                        .map(r -> (LegacyScheduler.TimeKeeper) r)
+                        .collect(Collectors.toList());
+            }
+        } else if (scheduler instanceof TimingWheelScheduler) {
+            return ((TimingWheelScheduler) scheduler).getTimeKeepers();
+        }
+        return Collections.emptyList();
+    }
+}
@@ -0,0 +1,677 @@
+/*
+ * Licensed to The OpenNMS Group, Inc (TOG) under one or more
+ * contributor license agreements.  See the LICENSE.md file
+ * distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * TOG licenses this file to You under the GNU Affero General
+ * Public License Version 3 (the "License") or (at your option)
+ * any later version.  You may not use this file except in
+ * compliance with the License.  You may obtain a copy of the
+ * License at:
+ *
+ *      https://www.gnu.org/licenses/agpl-3.0.txt
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied.  See the License for the specific
+ * language governing permissions and limitations under the
+ * License.
+ */
+package org.opennms.netmgt.scheduler;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.opennms.core.concurrent.LogPreservingThreadFactory;
+import org.opennms.core.fiber.PausableFiber;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.util.Assert;
+
+/**
+ * A {@link Scheduler} built on a hierarchical timing wheel.
+ *
+ * Unlike the {@link LegacyScheduler}, scheduling a runnable never takes a
+ * lock: new entries are handed to the worker thread through a lock-free
+ * queue and placed into a wheel slot in constant time. On every tick the
+ * worker expires a single slot of the lowest wheel and cascades the slots of
+ * the upper wheels as the lower ones wrap around, so the cost of a tick
+ * depends on the number of due entries and not on the total number of
+ * scheduled entries.
+ *
+ * All entries that become due on the same tick are handed to the executor in
+ * one pass. A small random jitter can be applied to each delay so that
+ * entries which were scheduled at the same time with the same interval are
+ * spread across several ticks instead of all firing together.
+ */
+public class TimingWheelScheduler implements Runnable, PausableFiber, Scheduler {
+
+    private static final Logger LOG = LoggerFactory.getLogger(TimingWheelScheduler.class);
+
+    /** System property used to override the default tick duration (in ms) */
+    public static final String TICK_MS_SYS_PROP = "org.opennms.netmgt.scheduler.timingWheel.tickMs";
+
+    /** System property used to override the default jitter ratio of the interval */
+    public static final String JITTER_RATIO_SYS_PROP = "org.opennms.netmgt.scheduler.timingWheel.jitterRatio";
+
+    /** System property used to override the maximum jitter (in ms) */
+    public static final String MAX_JITTER_MS_SYS_PROP = "org.opennms.netmgt.scheduler.timingWheel.maxJitterMs";
+
+    public static final long DEFAULT_TICK_MS = 100;
+
+    public static final double DEFAULT_JITTER_RATIO = 0.02;
+
+    public static final long DEFAULT_MAX_JITTER_MS = 2000;
+
+    private static final int WHEEL_BITS = 9;
+
+    private static final int WHEEL_SIZE = 1 << WHEEL_BITS;
+
+    private static final int WHEEL_MASK = WHEEL_SIZE - 1;
+
+    private static final int LEVELS = 4;
+
+    /**
+     * A handle to an entry that was scheduled on the wheel.
+     */
+    public interface Timeout {
+        /**
+         * Cancels the entry. Returns false if the entry was already
+         * dispatched or cancelled.
+         */
+        boolean cancel();
+
+        boolean isCancelled();
+    }
+
+    private static final int ST_PENDING = 0;
+    private static final int ST_CANCELLED = 1;
+    private static final int ST_DISPATCHED = 2;
+
+    private final class WheelEntry implements LegacyScheduler.TimeKeeper, Timeout {
+        private final ReadyRunnable m_runnable;
+        private volatile long m_timeToRun;
+        private final AtomicInteger m_state = new AtomicInteger(ST_PENDING);
+
+        // Only accessed by the worker thread
+        private WheelEntry m_prev;
+        private WheelEntry m_next;
+        private Slot m_slot;
+
+        private WheelEntry(final ReadyRunnable runnable, final long timeToRun) {
+            m_runnable = runnable;
+            m_timeToRun = timeToRun;
+        }
+
+        @Override
+        public long getTimeToRun() {
+            return m_timeToRun;
+        }
+
+        @Override
+        public ReadyRunnable getRunnable() {
+            return m_runnable;
+        }
+
+        @Override
+        public boolean isReady() {
+            return getCurrentTime() >= m_timeToRun && m_runnable.isReady();
+        }
+
+        @Override
+        public void run() {
+            m_runnable.run();
+        }
+
+        @Override
+        public boolean cancel() {
+            if (!m_state.compareAndSet(ST_PENDING, ST_CANCELLED)) {
+                return false;
+            }
+            m_scheduled.decrementAndGet();
+            m_cancelled.add(this);
+            return true;
+        }
+
+        @Override
+        public boolean isCancelled() {
+            return m_state.get() == ST_CANCELLED;
+        }
+
+        @Override
+        public String toString() {
+            return m_runnable.toString() + " (ready in " + Math.max(0, m_timeToRun - getCurrentTime()) + "ms)";
+        }
+    }
+
+    /**
+     * A doubly linked list of entries, allowing entries to be removed in
+     * constant time when cancelled.
+     */
+    private static final class Slot {
+        private WheelEntry m_head;
+        private WheelEntry m_tail;
+
+        private void add(final WheelEntry entry) {
+            entry.m_slot = this;
+            entry.m_prev = m_tail;
+            entry.m_next = null;
+            if (m_tail == null) {
+                m_head = entry;
+            } else {
+                m_tail.m_next = entry;
+            }
+            m_tail = entry;
+        }
+
+        private void remove(final WheelEntry entry) {
+            if (entry.m_prev == null) {
+                m_head = entry.m_next;
+            } else {
+                entry.m_prev.m_next = entry.m_next;
+            }
+            if (entry.m_next == null) {
+                m_tail = entry.m_prev;
+            } else {
+                entry.m_next.m_prev = entry.m_prev;
+            }
+            entry.m_prev = null;
+            entry.m_next = null;
+            entry.m_slot = null;
+        }
+
+        /**
+         * Removes all the entries from this slot and returns the former head.
+         */
+        private WheelEntry drain() {
+            final WheelEntry head = m_head;
+            m_head = null;
+            m_tail = null;
+            return head;
+        }
+    }
+
+    private final Slot[][] m_wheels = new Slot[LEVELS][WHEEL_SIZE];
+
+    private final Queue<WheelEntry> m_pending = new ConcurrentLinkedQueue<>();
+
+    private final Queue<WheelEntry> m_cancelled = new ConcurrentLinkedQueue<>();
+
+    private final long m_tickMs;
+
+    private final double m_jitterRatio;
+
+    private final long m_maxJitterMs;
+
+    /**
+     * The pool of threads that are used to executed the runnable instances
+     * scheduled by the class' instance.
+     */
+    private final ExecutorService m_runner;
+
+    /**
+     * The total number of entries that are scheduled but were not yet dispatched.
+     */
+    private final AtomicInteger m_scheduled = new AtomicInteger(0);
+
+    private final AtomicLong m_numTasksExecuted = new AtomicLong(0);
+
+    private final AtomicLong m_numTicks = new AtomicLong(0);
+
+    private volatile int m_status;
+
+    private volatile Thread m_worker;
+
+    /**
+     * The time at which tick zero starts. Set when the worker starts running.
+     */
+    private volatile long m_startTime;
+
+    /**
+     * The next tick to be processed. Only accessed by the worker thread.
+     */
+    private long m_tick;
+
+    /**
+     * Constructs a new instance of the scheduler using the tick duration and
+     * jitter settings from the system properties.
+     *
+     * @param parent
+     *            String prepended to "Scheduler" to create fiber name
+     * @param maxSize
+     *            The maximum size of the thread pool.
+     */
+    public TimingWheelScheduler(final String parent, final int maxSize) {
+        this(parent, maxSize,
+                Long.getLong(TICK_MS_SYS_PROP, DEFAULT_TICK_MS),
+                getDoubleProperty(JITTER_RATIO_SYS_PROP, DEFAULT_JITTER_RATIO),
+                Long.getLong(MAX_JITTER_MS_SYS_PROP, DEFAULT_MAX_JITTER_MS));
+    }
+
+    /**
+     * Constructs a new instance of the scheduler.
+     *
+     * @param parent
+     *            String prepended to "Scheduler" to create fiber name
+     * @param maxSize
+     *            The maximum size of the thread pool.
+     * @param tickMs
+     *            The resolution of the lowest wheel in milliseconds.
+     * @param jitterRatio
+     *            The ratio of the interval used as jitter, 0 disables jitter.
+     * @param maxJitterMs
+     *            The upper bound of the jitter in milliseconds.
+     */
+    public TimingWheelScheduler(final String parent, final int maxSize, final long tickMs, final double jitterRatio, final long maxJitterMs) {
+        this(Executors.newFixedThreadPool(maxSize, new LogPreservingThreadFactory(parent, maxSize)), tickMs, jitterRatio, maxJitterMs);
+    }
+
+    /**
+     * Constructs a new instance of the scheduler that hands the runnables to
+     * the given runner.
+     */
+    TimingWheelScheduler(final ExecutorService runner, final long tickMs, final double jitterRatio, final long maxJitterMs) {
+        Assert.isTrue(tickMs > 0, "tickMs must be positive");
+        Assert.isTrue(jitterRatio >= 0 && jitterRatio < 1, "jitterRatio must be in [0, 1)");
+        m_status = START_PENDING;
+        m_runner = runner;
+        m_tickMs = tickMs;
+        m_jitterRatio = jitterRatio;
+        m_maxJitterMs = Math.max(0, maxJitterMs);
+        for (int level = 0; level < LEVELS; level++) {
+            for (int i = 0; i < WHEEL_SIZE; i++) {
+                m_wheels[level][i] = new Slot();
+            }
+        }
+        m_startTime = getCurrentTime();
+    }
+
+    private static double getDoubleProperty(final String name, final double defaultValue) {
+        final String value = System.getProperty(name);
+        if (value == null) {
+            return defaultValue;
+        }
+        try {
+            return Double.parseDouble(value);
+        } catch (final NumberFormatException e) {
+            LOG.warn("Invalid value '{}' for {}, using {}", value, name, defaultValue);
+            return defaultValue;
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void schedule(final long interval, final ReadyRunnable runnable) {
+        newTimeout(interval, runnable);
+    }
+
+    /**
+     * Schedules the given runnable to run after the given interval and
+     * returns a handle that can be used to cancel it.
+     *
+     * @param interval
+     *            the delay in milliseconds
+     * @param runnable
+     *            the runnable to execute once the delay has expired
+     * @return the handle to the scheduled entry
+     */
+    public Timeout newTimeout(final long interval, final ReadyRunnable runnable) {
+        final WheelEntry entry = new WheelEntry(runnable, getCurrentTime() + Math.max(0, interval + getJitter(interval)));
+        LOG.debug("schedule: Adding ready runnable {} at interval {}", runnable, interval);
+        m_scheduled.incrementAndGet();
+        m_pending.add(entry);
+        return entry;
+    }
+
+    private long getJitter(final long interval) {
+        if (m_jitterRatio <= 0 || interval <= 0) {
+            return 0;
+        }
+        final long maxJitter = Math.min((long)(interval * m_jitterRatio), m_maxJitterMs);
+        if (maxJitter <= 0) {
+            return 0;
+        }
+        // Centered around zero so that entries don't drift over many intervals
+        return ThreadLocalRandom.current().nextLong(-maxJitter / 2, maxJitter / 2 + 1);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public long getCurrentTime() {
+        return System.currentTimeMillis();
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public synchronized void start() {
+        Assert.state(m_worker == null, "The fiber has already run or is running");
+
+        m_worker = new Thread(this, getName());
+        m_worker.start();
+        m_status = STARTING;
+
+        LOG.info("start: scheduler started");
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public synchronized void stop() {
+        Assert.state(m_worker != null, "The fiber has never been started");
+
+        m_status = STOP_PENDING;
+        m_worker.interrupt();
+        m_runner.shutdown();
+
+        LOG.info("stop: scheduler stopped");
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public synchronized void pause() {
+        Assert.state(m_worker != null, "The fiber has never been started");
+        Assert.state(m_status != STOPPED && m_status != STOP_PENDING, "The fiber is not running or a stop is pending");
+
+        if (m_status == PAUSED) {
+            return;
+        }
+
+        m_status = PAUSE_PENDING;
+        notifyAll();
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public synchronized void resume() {
+        Assert.state(m_worker != null, "The fiber has never been started");
+        Assert.state(m_status != STOPPED && m_status != STOP_PENDING, "The fiber is not running or a stop is pending");
+
+        if (m_status == RUNNING) {
+            return;
+        }
+
+        m_status = RESUME_PENDING;
+        notifyAll();
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public synchronized int getStatus() {
+        if (m_worker != null && m_worker.isAlive() == false) {
+            m_status = STOPPED;
+        }
+        return m_status;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public String getName() {
+        return m_runner.toString();
+    }
+
+    /**
+     * Returns total number of entries that are currently scheduled.
+     *
+     * @return the number of entries waiting on the wheel
+     */
+    public int getScheduled() {
+        return m_scheduled.get();
+    }
+
+    /**
+     * Returns the pool of threads that are used to executed the runnable
+     * instances scheduled by the class' instance.
+     *
+     * @return thread pool
+     */
+    public ExecutorService getRunner() {
+        return m_runner;
+    }
+
+    /**
+     * Returns the number of ticks processed since the scheduler was started.
+     *
+     * @return the number of ticks
+     */
+    public long getNumTicks() {
+        return m_numTicks.get();
+    }
+
+    public long getTickMs() {
+        return m_tickMs;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public long getNumTasksExecuted() {
+        return m_numTasksExecuted.get();
+    }
+
+    /**
+     * Returns a snapshot of the entries currently placed on the wheel.
+     *
+     * This walks every slot and is intended for diagnostics only. Since the
+     * slots are owned by the worker thread, the result may be slightly stale
+     * or incomplete while the scheduler is running.
+     *
+     * @return the scheduled entries
+     */
+    public List<LegacyScheduler.TimeKeeper> getTimeKeepers() {
+        final List<LegacyScheduler.TimeKeeper> timeKeepers = new ArrayList<>(Math.max(0, m_scheduled.get()));
+        synchronized (m_wheels) {
+            for (final Slot[] wheel : m_wheels) {
+                for (final Slot slot : wheel) {
+                    for (WheelEntry e = slot.m_head; e != null; e = e.m_next) {
+                        if (e.m_state.get() == ST_PENDING) {
+                            timeKeepers.add(e);
+                        }
+                    }
+                }
+            }
+        }
+        for (final WheelEntry e : m_pending) {
+            if (e.m_state.get() == ST_PENDING) {
+                timeKeepers.add(e);
+            }
+        }
+        return timeKeepers;
+    }
+
+    /**
+     * The main method of the scheduler. This method advances the wheel one
+     * tick at a time and hands the due entries to the thread pool.
+     */
+    @Override
+    public void run() {
+        synchronized (this) {
+            m_status = RUNNING;
+            m_startTime = getCurrentTime();
+            m_tick = 0;
+        }
+
+        LOG.debug("run: scheduler running");
+
+        final List<WheelEntry> due = new ArrayList<>();
+        for (;;) {
+            synchronized (this) {
+                if (m_status != RUNNING && m_status != PAUSED && m_status != PAUSE_PENDING && m_status != RESUME_PENDING) {
+                    LOG.debug("run: status = {}, time to exit", m_status);
+                    break;
+                }
+
+                // if paused or pause pending then block
+                boolean interrupted = false;
+                while (m_status == PAUSE_PENDING || m_status == PAUSED) {
+                    if (m_status == PAUSE_PENDING) {
+                        LOG.debug("run: pausing.");
+                    }
+                    m_status = PAUSED;
+                    try {
+                        wait();
+                    } catch (InterruptedException ex) {
+                        interrupted = true;
+                        break;
+                    }
+                }
+                if (interrupted) {
+                    break;
+                }
+
+                if (m_status == RESUME_PENDING) {
+                    LOG.debug("run: resuming.");
+                    m_status = RUNNING;
+                }
+            }
+
+            // Advance the wheel up to the current time, catching up on any
+            // ticks that were missed while paused or busy
+            final long targetTick = (getCurrentTime() - m_startTime) / m_tickMs;
+            synchronized (m_wheels) {
+                while (m_tick <= targetTick) {
+                    processTick(m_tick, due);
+                    m_tick++;
+                    m_numTicks.incrementAndGet();
+                }
+            }
+
+            if (!due.isEmpty()) {
+                try {
+                    dispatch(due);
+                } finally {
+                    due.clear();
+                }
+            }
+
+            // Sleep until the start of the next tick
+            final long sleepMs = m_startTime + m_tick * m_tickMs - getCurrentTime();
+            if (sleepMs > 0) {
+                synchronized (this) {
+                    try {
+                        wait(sleepMs);
+                    } catch (InterruptedException ex) {
+                        break;
+                    }
+                }
+            }
+        }
+
+        LOG.debug("run: scheduler exiting, state = STOPPED");
+        synchronized (this) {
+            m_status = STOPPED;
+        }
+    }
+
+    private void processTick(final long tick, final List<WheelEntry> due) {
+        // Cascade the upper wheels, highest first, when the lower wheel wraps
+        for (int level = LEVELS - 1; level > 0; level--) {
+            final int shift = level * WHEEL_BITS;
+            if ((tick & ((1L << shift) - 1)) == 0) {
+                final int idx = (int)((tick >>> shift) & WHEEL_MASK);
+                WheelEntry e = m_wheels[level][idx].drain();
+                while (e != null) {
+                    final WheelEntry next = e.m_next;
+                    e.m_prev = null;
+                    e.m_next = null;
+                    e.m_slot = null;
+                    place(e);
+                    e = next;
+                }
+            }
+        }
+
+        // Unlink cancelled entries
+        WheelEntry cancelled;
+        while ((cancelled = m_cancelled.poll()) != null) {
+            if (cancelled.m_slot != null) {
+                cancelled.m_slot.remove(cancelled);
+            }
+        }
+
+        // Place the newly scheduled entries
+        WheelEntry pending;
+        while ((pending = m_pending.poll()) != null) {
+            if (pending.m_state.get() == ST_PENDING) {
+                place(pending);
+            }
+        }
+
+        // Expire the current slot of the lowest wheel
+        WheelEntry e = m_wheels[0][(int)(tick & WHEEL_MASK)].drain();
+        while (e != null) {
+            final WheelEntry next = e.m_next;
+            e.m_prev = null;
+            e.m_next = null;
+            e.m_slot = null;
+            if (e.m_state.get() == ST_PENDING) {
+                due.add(e);
+            }
+            e = next;
+        }
+    }
+
+    /**
+     * Places the entry on the lowest wheel that can hold its deadline. Must
+     * only be called by the worker thread.
+     */
+    private void place(final WheelEntry entry) {
+        // Round up so that an entry never runs before its time
+        final long deadlineTick = Math.max(m_tick, (entry.m_timeToRun - m_startTime + m_tickMs - 1) / m_tickMs);
+        for (int level = 0; level < LEVELS; level++) {
+            final int shift = level * WHEEL_BITS;
+            long block = deadlineTick >>> shift;
+            final long currentBlock = m_tick >>> shift;
+            if (block - currentBlock < WHEEL_SIZE || level == LEVELS - 1) {
+                if (block - currentBlock >= WHEEL_SIZE) {
+                    // Beyond the range of the wheels, park it in the last slot and let it cascade
+                    block = currentBlock + WHEEL_SIZE - 1;
+                }
+                m_wheels[level][(int)(block & WHEEL_MASK)].add(entry);
+                return;
+            }
+        }
+    }
+
+    private void dispatch(final List<WheelEntry> due) {
+        for (final WheelEntry entry : due) {
+            if (!entry.m_runnable.isReady()) {
+                // Due, but not ready: try again on the next tick
+                entry.m_timeToRun = getCurrentTime() + m_tickMs;
+                m_pending.add(entry);
+                continue;
+            }
+            if (!entry.m_state.compareAndSet(ST_PENDING, ST_DISPATCHED)) {
+                // Cancelled in the mean time
+                continue;
+            }
+            m_scheduled.decrementAndGet();
+            LOG.debug("run: found ready runnable {}", entry);
+            // Counted before it is handed off, so that the count is up to date once the runnable ran
+            m_numTasksExecuted.incrementAndGet();
+            try {
+                m_runner.execute(entry);
+            } catch (RejectedExecutionException e) {
+                m_numTasksExecuted.decrementAndGet();
+                if (m_runner.isShutdown()) {
+                    // Stopping, the worker exits once it notices
+                    LOG.warn("dispatch: runner is shut down, dropping runnable {}", entry);
+                    continue;
+                }
+                // Keep the wheel turning, and hand it off again on the next tick
+                LOG.warn("dispatch: runner rejected runnable {}, retrying on the next tick", entry, e);
+                entry.m_state.set(ST_PENDING);
+                m_scheduled.incrementAndGet();
+                entry.m_timeToRun = getCurrentTime() + m_tickMs;
+                m_pending.add(entry);
+            }
+        }
+    }
+}
@@ -0,0 +1,263 @@
+/*
+ * Licensed to The OpenNMS Group, Inc (TOG) under one or more
+ * contributor license agreements.  See the LICENSE.md file
+ * distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * TOG licenses this file to You under the GNU Affero General
+ * Public License Version 3 (the "License") or (at your option)
+ * any later version.  You may not use this file except in
+ * compliance with the License.  You may obtain a copy of the
+ * License at:
+ *
+ *      https://www.gnu.org/licenses/agpl-3.0.txt
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied.  See the License for the specific
+ * language governing permissions and limitations under the
+ * License.
+ */
+package org.opennms.netmgt.scheduler;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.opennms.core.fiber.PausableFiber;
+import org.opennms.core.test.MockLogAppender;
+
+public class TimingWheelSchedulerTest {
+
+    private TimingWheelScheduler m_scheduler;
+
+    @Before
+    public void setUp() {
+        Properties p = new Properties();
+        p.setProperty("log4j.logger.org.opennms.netmgt.scheduler", "DEBUG");
+        MockLogAppender.setupLogging(p);
+
+        m_scheduler = new TimingWheelScheduler("TimingWheelSchedulerTest", 4, 10, 0.0, 0);
+        m_scheduler.start();
+    }
+
+    @After
+    public void tearDown() {
+        if (m_scheduler.getStatus() != PausableFiber.STOPPED) {
+            m_scheduler.stop();
+        }
+    }
+
+    private static ReadyRunnable countDown(final CountDownLatch latch) {
+        return new ReadyRunnable() {
+            @Override
+            public boolean isReady() {
+                return true;
+            }
+
+            @Override
+            public void run() {
+                latch.countDown();
+            }
+        };
+    }
+
+    @Test
+    public void testRunsAfterInterval() throws InterruptedException {
+        final AtomicLong ranAt = new AtomicLong();
+        final CountDownLatch latch = new CountDownLatch(1);
+        final long scheduledAt = System.currentTimeMillis();
+        m_scheduler.schedule(200, new ReadyRunnable() {
+            @Override
+            public boolean isReady() {
+                return true;
+            }
+
+            @Override
+            public void run() {
+                ranAt.set(System.currentTimeMillis());
+                latch.countDown();
+            }
+        });
+
+        assertTrue(latch.await(5, TimeUnit.SECONDS));
+        assertTrue("ran too early", ranAt.get() - scheduledAt >= 200);
+        assertEquals(1, m_scheduler.getNumTasksExecuted());
+        assertEquals(0, m_scheduler.getScheduled());
+    }
+
+    @Test
+    public void testManyEntriesAcrossWheels() throws InterruptedException {
+        // With a 10ms tick the lowest wheel spans ~5s, so the larger intervals
+        // land on the second wheel and must be cascaded down
+        final int count = 1000;
+        final CountDownLatch latch = new CountDownLatch(count);
+        for (int i = 0; i < count; i++) {
+            m_scheduler.schedule(i * 7, countDown(latch));
+        }
+        assertTrue(latch.await(20, TimeUnit.SECONDS));
+        assertEquals(count, m_scheduler.getNumTasksExecuted());
+    }
+
+    @Test
+    public void testCancel() throws InterruptedException {
+        final AtomicBoolean ran = new AtomicBoolean(false);
+        final TimingWheelScheduler.Timeout timeout = m_scheduler.newTimeout(100, new ReadyRunnable() {
+            @Override
+            public boolean isReady() {
+                return true;
+            }
+
+            @Override
+            public void run() {
+                ran.set(true);
+            }
+        });
+        assertEquals(1, m_scheduler.getScheduled());
+        assertTrue(timeout.cancel());
+        assertFalse(timeout.cancel());
+        assertEquals(0, m_scheduler.getScheduled());
+
+        Thread.sleep(300);
+        assertFalse(ran.get());
+        assertEquals(0, m_scheduler.getNumTasksExecuted());
+    }
+
+    @Test
+    public void testNotReadyIsRetried() throws InterruptedException {
+        final AtomicInteger checks = new AtomicInteger(0);
+        final CountDownLatch latch = new CountDownLatch(1);
+        m_scheduler.schedule(0, new ReadyRunnable() {
+            @Override
+            public boolean isReady() {
+                return checks.incrementAndGet() > 3;
+            }
+
+            @Override
+            public void run() {
+                latch.countDown();
+            }
+        });
+        assertTrue(latch.await(5, TimeUnit.SECONDS));
+        assertTrue(checks.get() > 3);
+    }
+
+    @Test
+    public void testJitterSpreadsEntries() throws InterruptedException {
+        m_scheduler.stop();
+        m_scheduler = new TimingWheelScheduler("TimingWheelSchedulerTest", 4, 10, 0.5, 1000);
+        m_scheduler.start();
+
+        final int count = 50;
+        final CountDownLatch latch = new CountDownLatch(count);
+        for (int i = 0; i < count; i++) {
+            m_scheduler.schedule(400, countDown(latch));
+        }
+
+        long minTimeToRun = Long.MAX_VALUE;
+        long maxTimeToRun = Long.MIN_VALUE;
+        for (LegacyScheduler.TimeKeeper timeKeeper : m_scheduler.getTimeKeepers()) {
+            minTimeToRun = Math.min(minTimeToRun, timeKeeper.getTimeToRun());
+            maxTimeToRun = Math.max(maxTimeToRun, timeKeeper.getTimeToRun());
+        }
+        assertTrue("entries were not spread", maxTimeToRun - minTimeToRun > 10);
+        assertTrue(latch.await(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void testPauseAndResume() throws InterruptedException {
+        m_scheduler.pause();
+        Thread.sleep(100);
+        assertEquals(PausableFiber.PAUSED, m_scheduler.getStatus());
+
+        final CountDownLatch latch = new CountDownLatch(1);
+        m_scheduler.schedule(0, countDown(latch));
+        assertFalse(latch.await(200, TimeUnit.MILLISECONDS));
+
+        m_scheduler.resume();
+        assertTrue(latch.await(5, TimeUnit.SECONDS));
+        assertEquals(PausableFiber.RUNNING, m_scheduler.getStatus());
+    }
+
+    @Test
+    public void testRejectedRunnableIsRetried() throws InterruptedException {
+        final AtomicInteger rejections = new AtomicInteger(1);
+        final ExecutorService delegate = Executors.newSingleThreadExecutor();
+        final ExecutorService runner = new AbstractExecutorService() {
+            @Override
+            public void execute(Runnable command) {
+                if (rejections.getAndDecrement() > 0) {
+                    throw new RejectedExecutionException("busy");
+                }
+                delegate.execute(command);
+            }
+
+            @Override
+            public void shutdown() {
+                delegate.shutdown();
+            }
+
+            @Override
+            public List<Runnable> shutdownNow() {
+                return delegate.shutdownNow();
+            }
+
+            @Override
+            public boolean isShutdown() {
+                return delegate.isShutdown();
+            }
+
+            @Override
+            public boolean isTerminated() {
+                return delegate.isTerminated();
+            }
+
+            @Override
+            public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+                return delegate.awaitTermination(timeout, unit);
+            }
+        };
+        m_scheduler.stop();
+        m_scheduler = new TimingWheelScheduler(runner, 10, 0.0, 0);
+        m_scheduler.start();
+
+        final CountDownLatch latch = new CountDownLatch(1);
+        m_scheduler.schedule(0, countDown(latch));
+        assertTrue(latch.await(5, TimeUnit.SECONDS));
+        assertEquals(1, m_scheduler.getNumTasksExecuted());
+
+        // The wheel keeps running
+        final CountDownLatch next = new CountDownLatch(1);
+        m_scheduler.schedule(20, countDown(next));
+        assertTrue(next.await(5, TimeUnit.SECONDS));
+        assertEquals(PausableFiber.RUNNING, m_scheduler.getStatus());
+    }
+
+    @Test
+    public void testRunnableIsDroppedWhenRunnerIsShutDown() throws InterruptedException {
+        m_scheduler.getRunner().shutdown();
+
+        final CountDownLatch latch = new CountDownLatch(1);
+        m_scheduler.schedule(0, countDown(latch));
+        assertFalse(latch.await(200, TimeUnit.MILLISECONDS));
+        assertEquals(0, m_scheduler.getNumTasksExecuted());
+        assertEquals(0, m_scheduler.getScheduled());
+        assertEquals(PausableFiber.RUNNING, m_scheduler.getStatus());
+    }
+}
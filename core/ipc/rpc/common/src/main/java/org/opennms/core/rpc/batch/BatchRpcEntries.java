@@ -0,0 +1,73 @@
+/*
+ * Licensed to The OpenNMS Group, Inc (TOG) under one or more
+ * contributor license agreements.  See the LICENSE.md file
+ * distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * TOG licenses this file to You under the GNU Affero General
+ * Public License Version 3 (the "License") or (at your option)
+ * any later version.  You may not use this file except in
+ * compliance with the License.  You may obtain a copy of the
+ * License at:
+ *
+ *      https://www.gnu.org/licenses/agpl-3.0.txt
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied.  See the License for the specific
+ * language governing permissions and limitations under the
+ * License.
+ */
+package org.opennms.core.rpc.batch;
+
+import java.util.Base64;
+
+import org.opennms.core.rpc.batch.model.BatchRpcProtos;
+import org.opennms.core.rpc.xml.AbstractXmlRpcModule;
+
+import com.google.protobuf.ByteString;
+
+/**
+ * Converts the {@link BatchRpcEntry} of the batch codecs from and to their protobuf messages.
+ * <p>
+ * Binary content is stored as raw bytes, rather than as its Base64 string representation,
+ * so it is not encoded twice when the batch itself is Base64 encoded.
+ */
+final class BatchRpcEntries {
+
+    private BatchRpcEntries() { }
+
+    static BatchRpcProtos.BatchRpcEntry toProto(BatchRpcEntry entry) {
+        final BatchRpcProtos.BatchRpcEntry.Builder builder = BatchRpcProtos.BatchRpcEntry.newBuilder();
+        if (entry.getModuleId() != null) {
+            builder.setModuleId(entry.getModuleId());
+        }
+        if (entry.getError() != null) {
+            builder.setError(entry.getError());
+        }
+        final String content = entry.getContent();
+        if (content != null && content.startsWith(AbstractXmlRpcModule.BINARY_PREFIX)) {
+            builder.setBinaryContent(ByteString.copyFrom(Base64.getDecoder().decode(content.substring(AbstractXmlRpcModule.BINARY_PREFIX.length()))));
+        } else if (content != null) {
+            builder.setContent(content);
+        }
+        return builder.build();
+    }
+
+    static BatchRpcEntry fromProto(BatchRpcProtos.BatchRpcEntry message) {
+        final BatchRpcEntry entry = new BatchRpcEntry();
+        if (message.hasModuleId()) {
+            entry.setModuleId(message.getModuleId());
+        }
+        if (message.hasError()) {
+            entry.setError(message.getError());
+        }
+        if (message.hasBinaryContent()) {
+            entry.setContent(AbstractXmlRpcModule.BINARY_PREFIX + Base64.getEncoder().encodeToString(message.getBinaryContent().toByteArray()));
+        } else if (message.hasContent()) {
+            entry.setContent(message.getContent());
+        }
+        return entry;
+    }
+}
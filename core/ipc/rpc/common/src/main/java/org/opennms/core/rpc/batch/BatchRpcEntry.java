@@ -0,0 +1,110 @@
+/*
+ * Licensed to The OpenNMS Group, Inc (TOG) under one or more
+ * contributor license agreements.  See the LICENSE.md file
+ * distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * TOG licenses this file to You under the GNU Affero General
+ * Public License Version 3 (the "License") or (at your option)
+ * any later version.  You may not use this file except in
+ * compliance with the License.  You may obtain a copy of the
+ * License at:
+ *
+ *      https://www.gnu.org/licenses/agpl-3.0.txt
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied.  See the License for the specific
+ * language governing permissions and limitations under the
+ * License.
+ */
+package org.opennms.core.rpc.batch;
+
+import java.util.Objects;
+
+import javax.xml.bind.annotation.XmlAccessType;
+import javax.xml.bind.annotation.XmlAccessorType;
+import javax.xml.bind.annotation.XmlAttribute;
+import javax.xml.bind.annotation.XmlValue;
+
+/**
+ * A marshalled request or response of another RPC module, carried by a batch.
+ */
+@XmlAccessorType(XmlAccessType.NONE)
+public class BatchRpcEntry {
+
+    @XmlAttribute(name="module")
+    private String moduleId;
+
+    @XmlAttribute(name="error")
+    private String error;
+
+    @XmlValue
+    private String content;
+
+    public BatchRpcEntry() { }
+
+    public BatchRpcEntry(String moduleId, String content) {
+        this.moduleId = moduleId;
+        this.content = content;
+    }
+
+    public static BatchRpcEntry withError(String moduleId, String error) {
+        final BatchRpcEntry entry = new BatchRpcEntry(moduleId, null);
+        entry.setError(error);
+        return entry;
+    }
+
+    public String getModuleId() {
+        return moduleId;
+    }
+
+    public void setModuleId(String moduleId) {
+        this.moduleId = moduleId;
+    }
+
+    /**
+     * Set if the entry could not be handed to its module, i.e. because the module is not
+     * available, in which case there is no content.
+     */
+    public String getError() {
+        return error;
+    }
+
+    public void setError(String error) {
+        this.error = error;
+    }
+
+    public String getContent() {
+        return content;
+    }
+
+    public void setContent(String content) {
+        this.content = content;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(moduleId, error, content);
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj)
+            return true;
+        if (obj == null)
+            return false;
+        if (getClass() != obj.getClass())
+            return false;
+        final BatchRpcEntry other = (BatchRpcEntry) obj;
+        return Objects.equals(this.moduleId, other.moduleId) &&
+                Objects.equals(this.error, other.error) &&
+                Objects.equals(this.content, other.content);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("BatchRpcEntry[moduleId=%s, error=%s, content=%s]", moduleId, error, content);
+    }
+}
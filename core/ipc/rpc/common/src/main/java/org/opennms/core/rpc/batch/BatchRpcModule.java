@@ -0,0 +1,127 @@
+/*
+ * Licensed to The OpenNMS Group, Inc (TOG) under one or more
+ * contributor license agreements.  See the LICENSE.md file
+ * distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * TOG licenses this file to You under the GNU Affero General
+ * Public License Version 3 (the "License") or (at your option)
+ * any later version.  You may not use this file except in
+ * compliance with the License.  You may obtain a copy of the
+ * License at:
+ *
+ *      https://www.gnu.org/licenses/agpl-3.0.txt
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied.  See the License for the specific
+ * language governing permissions and limitations under the
+ * License.
+ */
+package org.opennms.core.rpc.batch;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.opennms.core.rpc.api.RpcModule;
+import org.opennms.core.rpc.api.RpcRequest;
+import org.opennms.core.rpc.api.RpcResponse;
+import org.opennms.core.rpc.xml.AbstractXmlRpcModule;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Executes the requests of a {@link BatchRpcRequest} with their respective modules, which
+ * are tracked as they are bound and unbound.
+ * <p>
+ * Every entry of the request is answered by an entry of the response, at the same position.
+ * Failures of individual requests are returned as responses of their module, the same way the
+ * RPC servers handle failures of a single request.
+ * <p>
+ * Batches are only sent by the {@link CoalescingRpcClientFactory} when coalescing is enabled,
+ * which requires all Minions to know this module, so they use the binary encoding by default.
+ */
+public class BatchRpcModule extends AbstractXmlRpcModule<BatchRpcRequest, BatchRpcResponse> {
+
+    private static final Logger LOG = LoggerFactory.getLogger(BatchRpcModule.class);
+
+    public static final String RPC_MODULE_ID = "BATCH";
+
+    private final Map<String, RpcModule<RpcRequest, RpcResponse>> modules = new ConcurrentHashMap<>();
+
+    public BatchRpcModule() {
+        super(BatchRpcRequest.class, BatchRpcResponse.class, new BatchRpcRequestCodec(), new BatchRpcResponseCodec());
+    }
+
+    @SuppressWarnings("unchecked")
+    public void bind(RpcModule<?, ?> module) {
+        if (module != null && !RPC_MODULE_ID.equals(module.getId())) {
+            modules.put(module.getId(), (RpcModule<RpcRequest, RpcResponse>) module);
+        }
+    }
+
+    public void unbind(RpcModule<?, ?> module) {
+        if (module != null) {
+            modules.remove(module.getId(), module);
+        }
+    }
+
+    @Override
+    protected String getDefaultFormat() {
+        return FORMAT_BINARY;
+    }
+
+    @Override
+    public CompletableFuture<BatchRpcResponse> execute(BatchRpcRequest request) {
+        final List<CompletableFuture<BatchRpcEntry>> futures = new ArrayList<>(request.getEntries().size());
+        for (BatchRpcEntry entry : request.getEntries()) {
+            futures.add(execute(entry));
+        }
+        return CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).thenApply(v -> {
+            final BatchRpcResponse response = new BatchRpcResponse();
+            for (CompletableFuture<BatchRpcEntry> future : futures) {
+                response.getEntries().add(future.join());
+            }
+            return response;
+        });
+    }
+
+    private CompletableFuture<BatchRpcEntry> execute(BatchRpcEntry entry) {
+        final RpcModule<RpcRequest, RpcResponse> module = modules.get(entry.getModuleId());
+        if (module == null) {
+            return CompletableFuture.completedFuture(BatchRpcEntry.withError(entry.getModuleId(),
+                    "No RPC module with id " + entry.getModuleId() + " is available."));
+        }
+        try {
+            final RpcRequest request = module.unmarshalRequest(entry.getContent());
+            return module.execute(request).handle((res, ex) -> {
+                final RpcResponse response;
+                if (ex != null) {
+                    LOG.warn("An error occured while executing a call in {}.", module.getId(), ex);
+                    response = module.createResponseWithException(ex);
+                } else {
+                    response = res;
+                }
+                return new BatchRpcEntry(module.getId(), module.marshalResponse(response));
+            });
+        } catch (Throwable t) {
+            LOG.warn("An error occured while executing a call in {}.", module.getId(), t);
+            return CompletableFuture.completedFuture(new BatchRpcEntry(module.getId(),
+                    module.marshalResponse(module.createResponseWithException(t))));
+        }
+    }
+
+    @Override
+    public String getId() {
+        return RPC_MODULE_ID;
+    }
+
+    @Override
+    public BatchRpcResponse createResponseWithException(Throwable ex) {
+        return new BatchRpcResponse(ex);
+    }
+}
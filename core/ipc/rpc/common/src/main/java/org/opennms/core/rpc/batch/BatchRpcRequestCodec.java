@@ -0,0 +1,65 @@
+/*
+ * Licensed to The OpenNMS Group, Inc (TOG) under one or more
+ * contributor license agreements.  See the LICENSE.md file
+ * distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * TOG licenses this file to You under the GNU Affero General
+ * Public License Version 3 (the "License") or (at your option)
+ * any later version.  You may not use this file except in
+ * compliance with the License.  You may obtain a copy of the
+ * License at:
+ *
+ *      https://www.gnu.org/licenses/agpl-3.0.txt
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied.  See the License for the specific
+ * language governing permissions and limitations under the
+ * License.
+ */
+package org.opennms.core.rpc.batch;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+import org.opennms.core.rpc.batch.model.BatchRpcProtos;
+import org.opennms.core.xml.BinaryCodec;
+
+/**
+ * Encodes {@link BatchRpcRequest}s with the protobuf messages generated from <code>batch-rpc.proto</code>.
+ */
+class BatchRpcRequestCodec implements BinaryCodec<BatchRpcRequest> {
+
+    @Override
+    public void encode(BatchRpcRequest request, OutputStream out) throws IOException {
+        final BatchRpcProtos.BatchRpcRequest.Builder builder = BatchRpcProtos.BatchRpcRequest.newBuilder();
+        if (request.getLocation() != null) {
+            builder.setLocation(request.getLocation());
+        }
+        if (request.getSystemId() != null) {
+            builder.setSystemId(request.getSystemId());
+        }
+        for (BatchRpcEntry entry : request.getEntries()) {
+            builder.addEntries(BatchRpcEntries.toProto(entry));
+        }
+        builder.build().writeTo(out);
+    }
+
+    @Override
+    public BatchRpcRequest decode(byte[] bytes, int offset, int length) throws IOException {
+        final BatchRpcProtos.BatchRpcRequest message = BatchRpcProtos.BatchRpcRequest.parser().parseFrom(bytes, offset, length);
+        final BatchRpcRequest request = new BatchRpcRequest();
+        if (message.hasLocation()) {
+            request.setLocation(message.getLocation());
+        }
+        if (message.hasSystemId()) {
+            request.setSystemId(message.getSystemId());
+        }
+        for (BatchRpcProtos.BatchRpcEntry entry : message.getEntriesList()) {
+            request.getEntries().add(BatchRpcEntries.fromProto(entry));
+        }
+        return request;
+    }
+}
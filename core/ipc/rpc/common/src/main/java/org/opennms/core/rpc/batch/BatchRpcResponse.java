@@ -0,0 +1,95 @@
+/*
+ * Licensed to The OpenNMS Group, Inc (TOG) under one or more
+ * contributor license agreements.  See the LICENSE.md file
+ * distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * TOG licenses this file to You under the GNU Affero General
+ * Public License Version 3 (the "License") or (at your option)
+ * any later version.  You may not use this file except in
+ * compliance with the License.  You may obtain a copy of the
+ * License at:
+ *
+ *      https://www.gnu.org/licenses/agpl-3.0.txt
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied.  See the License for the specific
+ * language governing permissions and limitations under the
+ * License.
+ */
+package org.opennms.core.rpc.batch;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+import javax.xml.bind.annotation.XmlAccessType;
+import javax.xml.bind.annotation.XmlAccessorType;
+import javax.xml.bind.annotation.XmlAttribute;
+import javax.xml.bind.annotation.XmlElement;
+import javax.xml.bind.annotation.XmlRootElement;
+
+import org.opennms.core.rpc.api.RemoteExecutionException;
+import org.opennms.core.rpc.api.RpcResponse;
+
+/**
+ * Carries the responses to a {@link BatchRpcRequest}, in the order of its entries.
+ */
+@XmlRootElement(name="batch-response")
+@XmlAccessorType(XmlAccessType.NONE)
+public class BatchRpcResponse implements RpcResponse {
+
+    @XmlAttribute(name="error")
+    private String error;
+
+    @XmlElement(name="entry")
+    private List<BatchRpcEntry> entries = new ArrayList<>();
+
+    public BatchRpcResponse() { }
+
+    public BatchRpcResponse(Throwable t) {
+        this.error = RemoteExecutionException.toErrorMessage(t);
+    }
+
+    public List<BatchRpcEntry> getEntries() {
+        return entries;
+    }
+
+    public void setEntries(List<BatchRpcEntry> entries) {
+        this.entries = entries;
+    }
+
+    public void setErrorMessage(String error) {
+        this.error = error;
+    }
+
+    @Override
+    public String getErrorMessage() {
+        return error;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(error, entries);
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj)
+            return true;
+        if (obj == null)
+            return false;
+        if (getClass() != obj.getClass())
+            return false;
+        final BatchRpcResponse other = (BatchRpcResponse) obj;
+        return Objects.equals(this.error, other.error) &&
+                Objects.equals(this.entries, other.entries);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("BatchRpcResponse[error=%s, entries=%s]", error, entries);
+    }
+}
@@ -0,0 +1,387 @@
+/*
+ * Licensed to The OpenNMS Group, Inc (TOG) under one or more
+ * contributor license agreements.  See the LICENSE.md file
+ * distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * TOG licenses this file to You under the GNU Affero General
+ * Public License Version 3 (the "License") or (at your option)
+ * any later version.  You may not use this file except in
+ * compliance with the License.  You may obtain a copy of the
+ * License at:
+ *
+ *      https://www.gnu.org/licenses/agpl-3.0.txt
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied.  See the License for the specific
+ * language governing permissions and limitations under the
+ * License.
+ */
+package org.opennms.core.rpc.batch;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import org.opennms.core.rpc.api.RemoteExecutionException;
+import org.opennms.core.rpc.api.RequestTimedOutException;
+import org.opennms.core.rpc.api.RpcClient;
+import org.opennms.core.rpc.api.RpcClientFactory;
+import org.opennms.core.rpc.api.RpcModule;
+import org.opennms.core.rpc.api.RpcRequest;
+import org.opennms.core.rpc.api.RpcResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.codahale.metrics.MetricRegistry;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
+/**
+ * {@link RpcClientFactory} that coalesces requests of the same module to the same location
+ * and system into a single {@link BatchRpcRequest}.
+ * <p>
+ * A batch is sent when it holds <code>maxBatchSize</code> requests, or <code>lingerMs</code>
+ * after its first request was added, whichever comes first. The responses are handed back
+ * to the callers of the individual requests, and a batch that fails as a whole fails all of
+ * its requests.
+ * <p>
+ * Since a batch is answered once all of its requests were executed, only the requests of the
+ * modules listed in <code>modules</code>, which are expected to be small and quick, are
+ * coalesced, and modules are never mixed in a batch. Requests with a time to live fail with
+ * a {@link RequestTimedOutException} once it expires, even while the batch is still pending.
+ * <p>
+ * Coalescing is disabled by default, in which case, as for requests to the local location and
+ * requests made before the factory is started, all requests are passed to the delegate as they
+ * are. Requests that race with {@link #stop()} are failed. When enabled, the request count,
+ * failures and durations are tracked per module, using the same metrics as the RPC clients,
+ * along with the size of the batches.
+ */
+public class CoalescingRpcClientFactory implements RpcClientFactory {
+
+    private static final Logger LOG = LoggerFactory.getLogger(CoalescingRpcClientFactory.class);
+
+    public static final String ENABLED_SYS_PROP = "org.opennms.core.ipc.rpc.coalescing.enabled";
+    public static final String LINGER_MS_SYS_PROP = "org.opennms.core.ipc.rpc.coalescing.linger.ms";
+    public static final String MAX_BATCH_SIZE_SYS_PROP = "org.opennms.core.ipc.rpc.coalescing.max.batch.size";
+    public static final String MODULES_SYS_PROP = "org.opennms.core.ipc.rpc.coalescing.modules";
+
+    public static final long DEFAULT_LINGER_MS = 5;
+    public static final int DEFAULT_MAX_BATCH_SIZE = 100;
+    public static final String DEFAULT_MODULES = "PING,Poller";
+
+    public static final String RPC_BATCH_SIZE = "batchSize";
+
+    private final RpcClientFactory delegate;
+
+    private final BatchRpcModule batchModule = new BatchRpcModule();
+
+    private String location;
+
+    private MetricRegistry metrics = new MetricRegistry();
+
+    private boolean enabled = Boolean.getBoolean(ENABLED_SYS_PROP);
+
+    private long lingerMs = Long.getLong(LINGER_MS_SYS_PROP, DEFAULT_LINGER_MS);
+
+    private int maxBatchSize = Integer.getInteger(MAX_BATCH_SIZE_SYS_PROP, DEFAULT_MAX_BATCH_SIZE);
+
+    private Set<String> modules = parseModules(System.getProperty(MODULES_SYS_PROP, DEFAULT_MODULES));
+
+    private final Map<BatchKey, Batch> batches = new HashMap<>();
+
+    private RpcClient<BatchRpcRequest, BatchRpcResponse> batchClient;
+
+    private volatile ScheduledExecutorService scheduler;
+
+    public CoalescingRpcClientFactory(RpcClientFactory delegate) {
+        this.delegate = Objects.requireNonNull(delegate);
+    }
+
+    public void start() {
+        if (!enabled) {
+            LOG.debug("Coalescing of RPC requests is disabled.");
+            return;
+        }
+        LOG.info("Coalescing RPC requests of {} with a linger time of {}ms and at most {} requests per batch.", modules, lingerMs, maxBatchSize);
+        batchClient = delegate.getClient(batchModule);
+        scheduler = Executors.newSingleThreadScheduledExecutor(new ThreadFactoryBuilder()
+                .setNameFormat("rpc-coalescing-%d")
+                .setDaemon(true)
+                .build());
+    }
+
+    public void stop() {
+        final ScheduledExecutorService stopped;
+        final List<Batch> pending;
+        synchronized (batches) {
+            stopped = scheduler;
+            scheduler = null;
+            pending = new ArrayList<>(batches.values());
+            batches.clear();
+        }
+        if (stopped != null) {
+            // Delayed tasks still run, so that the requests sent below keep their time to live
+            stopped.shutdown();
+        }
+        // Send whatever is left, instead of leaving the callers waiting
+        pending.forEach(this::send);
+    }
+
+    @Override
+    public <R extends RpcRequest, S extends RpcResponse> RpcClient<R, S> getClient(RpcModule<R, S> module) {
+        final RpcClient<R, S> client = delegate.getClient(module);
+        if (!enabled || !modules.contains(module.getId())) {
+            return client;
+        }
+        return request -> {
+            if (scheduler == null || request.getLocation() == null || Objects.equals(location, request.getLocation())) {
+                return client.execute(request);
+            }
+            return add(module, request);
+        };
+    }
+
+    private <R extends RpcRequest, S extends RpcResponse> CompletableFuture<S> add(RpcModule<R, S> module, R request) {
+        final PendingRequest<R, S> pending;
+        try {
+            pending = new PendingRequest<>(module, request);
+        } catch (Throwable t) {
+            final CompletableFuture<S> future = new CompletableFuture<>();
+            future.completeExceptionally(t);
+            return future;
+        }
+        RpcClientFactory.markRpcCount(metrics, request.getLocation(), module.getId());
+
+        final BatchKey key = new BatchKey(request.getLocation(), request.getSystemId(), module.getId());
+        Batch full = null;
+        synchronized (batches) {
+            final ScheduledExecutorService scheduler = this.scheduler;
+            if (scheduler == null) {
+                pending.fail(new IllegalStateException("Coalescing of RPC requests was stopped."));
+                return pending.future;
+            }
+            Batch batch = batches.get(key);
+            try {
+                pending.expireAfterTimeToLive(scheduler);
+                if (batch == null) {
+                    batch = new Batch(key);
+                    final Batch scheduled = batch;
+                    scheduler.schedule(() -> flush(scheduled), lingerMs, TimeUnit.MILLISECONDS);
+                    batches.put(key, batch);
+                }
+            } catch (RejectedExecutionException e) {
+                pending.fail(e);
+                return pending.future;
+            }
+            batch.requests.add(pending);
+            if (batch.requests.size() >= maxBatchSize) {
+                batches.remove(key);
+                full = batch;
+            }
+        }
+        if (full != null) {
+            send(full);
+        }
+        return pending.future;
+    }
+
+    private void flush(Batch batch) {
+        synchronized (batches) {
+            // The batch may have been sent already, when it was full
+            if (!batches.remove(batch.key, batch)) {
+                return;
+            }
+        }
+        send(batch);
+    }
+
+    /**
+     * The batch lives as long as its longest lived request, the other requests
+     * are timed out by the client on their own.
+     */
+    private void send(Batch batch) {
+        final BatchRpcRequest request = new BatchRpcRequest(batch.key.location, batch.key.systemId);
+        Long timeToLiveMs = null;
+        for (PendingRequest<?, ?> pending : batch.requests) {
+            request.getEntries().add(new BatchRpcEntry(pending.module.getId(), pending.content));
+            final Long ttl = pending.request.getTimeToLiveMs();
+            if (ttl != null && (timeToLiveMs == null || ttl > timeToLiveMs)) {
+                timeToLiveMs = ttl;
+            }
+        }
+        request.setTimeToLiveMs(timeToLiveMs);
+        metrics.histogram(MetricRegistry.name(batch.key.location, BatchRpcModule.RPC_MODULE_ID, RPC_BATCH_SIZE))
+                .update(batch.requests.size());
+
+        final CompletableFuture<BatchRpcResponse> future;
+        try {
+            future = batchClient.execute(request);
+        } catch (Throwable t) {
+            batch.requests.forEach(pending -> pending.fail(t));
+            return;
+        }
+        future.whenComplete((response, ex) -> {
+            for (int i = 0; i < batch.requests.size(); i++) {
+                final PendingRequest<?, ?> pending = batch.requests.get(i);
+                if (ex != null) {
+                    pending.fail(ex);
+                } else if (response.getErrorMessage() != null) {
+                    pending.fail(new RemoteExecutionException(response.getErrorMessage()));
+                } else if (i >= response.getEntries().size()) {
+                    pending.fail(new RemoteExecutionException("The batch response holds no response for this request."));
+                } else {
+                    pending.complete(response.getEntries().get(i));
+                }
+            }
+        });
+    }
+
+    public void setLocation(String location) {
+        this.location = location;
+    }
+
+    public void setMetrics(MetricRegistry metrics) {
+        this.metrics = Objects.requireNonNull(metrics);
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public void setLingerMs(long lingerMs) {
+        this.lingerMs = lingerMs;
+    }
+
+    public void setMaxBatchSize(int maxBatchSize) {
+        this.maxBatchSize = maxBatchSize;
+    }
+
+    /**
+     * Sets the ids of the modules whose requests are coalesced, separated by commas.
+     */
+    public void setModules(String modules) {
+        this.modules = parseModules(modules);
+    }
+
+    private static Set<String> parseModules(String modules) {
+        return Arrays.stream(modules.split(","))
+                .map(String::trim)
+                .filter(id -> !id.isEmpty() && !BatchRpcModule.RPC_MODULE_ID.equals(id))
+                .collect(Collectors.toSet());
+    }
+
+    private static class BatchKey {
+        private final String location;
+        private final String systemId;
+        private final String moduleId;
+
+        private BatchKey(String location, String systemId, String moduleId) {
+            this.location = location;
+            this.systemId = systemId;
+            this.moduleId = moduleId;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(location, systemId, moduleId);
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj)
+                return true;
+            if (obj == null)
+                return false;
+            if (getClass() != obj.getClass())
+                return false;
+            final BatchKey other = (BatchKey) obj;
+            return Objects.equals(this.location, other.location) &&
+                    Objects.equals(this.systemId, other.systemId) &&
+                    Objects.equals(this.moduleId, other.moduleId);
+        }
+    }
+
+    private static class Batch {
+        private final BatchKey key;
+        private final List<PendingRequest<?, ?>> requests = new ArrayList<>();
+
+        private Batch(BatchKey key) {
+            this.key = key;
+        }
+    }
+
+    private class PendingRequest<R extends RpcRequest, S extends RpcResponse> {
+        private final RpcModule<R, S> module;
+        private final R request;
+        private final String content;
+        private final long startTime = System.currentTimeMillis();
+        private final CompletableFuture<S> future = new CompletableFuture<>();
+        private volatile ScheduledFuture<?> timeout;
+
+        private PendingRequest(RpcModule<R, S> module, R request) {
+            this.module = module;
+            this.request = request;
+            this.content = module.marshalRequest(request);
+        }
+
+        private void expireAfterTimeToLive(ScheduledExecutorService scheduler) {
+            final Long timeToLiveMs = request.getTimeToLiveMs();
+            if (timeToLiveMs != null && timeToLiveMs > 0) {
+                timeout = scheduler.schedule(() -> fail(new RequestTimedOutException(new Exception("No response received within "
+                        + timeToLiveMs + "ms."))), timeToLiveMs, TimeUnit.MILLISECONDS);
+            }
+        }
+
+        private void complete(BatchRpcEntry entry) {
+            if (future.isDone()) {
+                return;
+            }
+            if (entry.getError() != null) {
+                fail(new RemoteExecutionException(entry.getError()));
+                return;
+            }
+            final S response;
+            try {
+                response = module.unmarshalResponse(entry.getContent());
+            } catch (Throwable t) {
+                fail(t);
+                return;
+            }
+            if (response.getErrorMessage() != null) {
+                fail(new RemoteExecutionException(response.getErrorMessage()));
+                return;
+            }
+            if (future.complete(response)) {
+                cancelTimeout();
+                RpcClientFactory.updateDuration(metrics, request.getLocation(), module.getId(), System.currentTimeMillis() - startTime);
+            }
+        }
+
+        private void fail(Throwable t) {
+            if (future.completeExceptionally(t)) {
+                cancelTimeout();
+                RpcClientFactory.markFailed(metrics, request.getLocation(), module.getId());
+            }
+        }
+
+        private void cancelTimeout() {
+            final ScheduledFuture<?> scheduled = timeout;
+            if (scheduled != null) {
+                scheduled.cancel(false);
+            }
+        }
+    }
+}
@@ -0,0 +1,3207 @@
+/*
+ * Licensed to The OpenNMS Group, Inc (TOG) under one or more
+ * contributor license agreements.  See the LICENSE.md file
+ * distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * TOG licenses this file to You under the GNU Affero General
+ * Public License Version 3 (the "License") or (at your option)
+ * any later version.  You may not use this file except in
+ * compliance with the License.  You may obtain a copy of the
+ * License at:
+ *
+ *      https://www.gnu.org/licenses/agpl-3.0.txt
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied.  See the License for the specific
+ * language governing permissions and limitations under the
+ * License.
+ */
+// Generated by the protocol buffer compiler.  DO NOT EDIT!
+// source: batch-rpc.proto
+
+package org.opennms.core.rpc.batch.model;
+
+public final class BatchRpcProtos {
+  private BatchRpcProtos() {}
+  public static void registerAllExtensions(
+      com.google.protobuf.ExtensionRegistryLite registry) {
+  }
+
+  public static void registerAllExtensions(
+      com.google.protobuf.ExtensionRegistry registry) {
+    registerAllExtensions(
+        (com.google.protobuf.ExtensionRegistryLite) registry);
+  }
+  public interface BatchRpcEntryOrBuilder extends
+      // @@protoc_insertion_point(interface_extends:BatchRpcEntry)
+      com.google.protobuf.MessageOrBuilder {
+
+    /**
+     * <code>optional string module_id = 1;</code>
+     * @return Whether the moduleId field is set.
+     */
+    boolean hasModuleId();
+    /**
+     * <code>optional string module_id = 1;</code>
+     * @return The moduleId.
+     */
+    java.lang.String getModuleId();
+    /**
+     * <code>optional string module_id = 1;</code>
+     * @return The bytes for moduleId.
+     */
+    com.google.protobuf.ByteString
+        getModuleIdBytes();
+
+    /**
+     * <code>optional string error = 2;</code>
+     * @return Whether the error field is set.
+     */
+    boolean hasError();
+    /**
+     * <code>optional string error = 2;</code>
+     * @return The error.
+     */
+    java.lang.String getError();
+    /**
+     * <code>optional string error = 2;</code>
+     * @return The bytes for error.
+     */
+    com.google.protobuf.ByteString
+        getErrorBytes();
+
+    /**
+     * <pre>
+     * Content marshalled to XML by the module
+     * </pre>
+     *
+     * <code>optional string content = 3;</code>
+     * @return Whether the content field is set.
+     */
+    boolean hasContent();
+    /**
+     * <pre>
+     * Content marshalled to XML by the module
+     * </pre>
+     *
+     * <code>optional string content = 3;</code>
+     * @return The content.
+     */
+    java.lang.String getContent();
+    /**
+     * <pre>
+     * Content marshalled to XML by the module
+     * </pre>
+     *
+     * <code>optional string content = 3;</code>
+     * @return The bytes for content.
+     */
+    com.google.protobuf.ByteString
+        getContentBytes();
+
+    /**
+     * <pre>
+     * Content marshalled with the binary codec of the module, without the
+     * prefix and the Base64 encoding of the string representation
+     * </pre>
+     *
+     * <code>optional bytes binary_content = 4;</code>
+     * @return Whether the binaryContent field is set.
+     */
+    boolean hasBinaryContent();
+    /**
+     * <pre>
+     * Content marshalled with the binary codec of the module, without the
+     * prefix and the Base64 encoding of the string representation
+     * </pre>
+     *
+     * <code>optional bytes binary_content = 4;</code>
+     * @return The binaryContent.
+     */
+    com.google.protobuf.ByteString getBinaryContent();
+  }
+  /**
+   * Protobuf type {@code BatchRpcEntry}
+   */
+  public static final class BatchRpcEntry extends
+      com.google.protobuf.GeneratedMessageV3 implements
+      // @@protoc_insertion_point(message_implements:BatchRpcEntry)
+      BatchRpcEntryOrBuilder {
+  private static final long serialVersionUID = 0L;
+    // Use BatchRpcEntry.newBuilder() to construct.
+    private BatchRpcEntry(com.google.protobuf.GeneratedMessageV3.Builder<?> builder) {
+      super(builder);
+    }
+    private BatchRpcEntry() {
+      moduleId_ = "";
+      error_ = "";
+      content_ = "";
+      binaryContent_ = com.google.protobuf.ByteString.EMPTY;
+    }
+
+    @java.lang.Override
+    @SuppressWarnings({"unused"})
+    protected java.lang.Object newInstance(
+        UnusedPrivateParameter unused) {
+      return new BatchRpcEntry();
+    }
+
+    public static final com.google.protobuf.Descriptors.Descriptor
+        getDescriptor() {
+      return org.opennms.core.rpc.batch.model.BatchRpcProtos.internal_static_BatchRpcEntry_descriptor;
+    }
+
+    @java.lang.Override
+    protected com.google.protobuf.GeneratedMessageV3.FieldAccessorTable
+        internalGetFieldAccessorTable() {
+      return org.opennms.core.rpc.batch.model.BatchRpcProtos.internal_static_BatchRpcEntry_fieldAccessorTable
+          .ensureFieldAccessorsInitialized(
+              org.opennms.core.rpc.batch.model.BatchRpcProtos.BatchRpcEntry.class, org.opennms.core.rpc.batch.model.BatchRpcProtos.BatchRpcEntry.Builder.class);
+    }
+
+    private int bitField0_;
+    public static final int MODULE_ID_FIELD_NUMBER = 1;
+    @SuppressWarnings("serial")
+    private volatile java.lang.Object moduleId_ = "";
+    /**
+     * <code>optional string module_id = 1;</code>
+     * @return Whether the moduleId field is set.
+     */
+    @java.lang.Override
+    public boolean hasModuleId() {
+      return ((bitField0_ & 0x00000001) != 0);
+    }
+    /**
+     * <code>optional string module_id = 1;</code>
+     * @return The moduleId.
+     */
+    @java.lang.Override
+    public java.lang.String getModuleId() {
+      java.lang.Object ref = moduleId_;
+      if (ref instanceof java.lang.String) {
+        return (java.lang.String) ref;
+      } else {
+        com.google.protobuf.ByteString bs = 
+            (com.google.protobuf.ByteString) ref;
+        java.lang.String s = bs.toStringUtf8();
+        moduleId_ = s;
+        return s;
+      }
+    }
+    /**
+     * <code>optional string module_id = 1;</code>
+     * @return The bytes for moduleId.
+     */
+    @java.lang.Override
+    public com.google.protobuf.ByteString
+        getModuleIdBytes() {
+      java.lang.Object ref = moduleId_;
+      if (ref instanceof java.lang.String) {
+        com.google.protobuf.ByteString b = 
+            com.google.protobuf.ByteString.copyFromUtf8(
+                (java.lang.String) ref);
+        moduleId_ = b;
+        return b;
+      } else {
+        return (com.google.protobuf.ByteString) ref;
+      }
+    }
+
+    public static final int ERROR_FIELD_NUMBER = 2;
+    @SuppressWarnings("serial")
+    private volatile java.lang.Object error_ = "";
+    /**
+     * <code>optional string error = 2;</code>
+     * @return Whether the error field is set.
+     */
+    @java.lang.Override
+    public boolean hasError() {
+      return ((bitField0_ & 0x00000002) != 0);
+    }
+    /**
+     * <code>optional string error = 2;</code>
+     * @return The error.
+     */
+    @java.lang.Override
+    public java.lang.String getError() {
+      java.lang.Object ref = error_;
+      if (ref instanceof java.lang.String) {
+        return (java.lang.String) ref;
+      } else {
+        com.google.protobuf.ByteString bs = 
+            (com.google.protobuf.ByteString) ref;
+        java.lang.String s = bs.toStringUtf8();
+        error_ = s;
+        return s;
+      }
+    }
+    /**
+     * <code>optional string error = 2;</code>
+     * @return The bytes for error.
+     */
+    @java.lang.Override
+    public com.google.protobuf.ByteString
+        getErrorBytes() {
+      java.lang.Object ref = error_;
+      if (ref instanceof java.lang.String) {
+        com.google.protobuf.ByteString b = 
+            com.google.protobuf.ByteString.copyFromUtf8(
+                (java.lang.String) ref);
+        error_ = b;
+        return b;
+      } else {
+        return (com.google.protobuf.ByteString) ref;
+      }
+    }
+
+    public static final int CONTENT_FIELD_NUMBER = 3;
+    @SuppressWarnings("serial")
+    private volatile java.lang.Object content_ = "";
+    /**
+     * <pre>
+     * Content marshalled to XML by the module
+     * </pre>
+     *
+     * <code>optional string content = 3;</code>
+     * @return Whether the content field is set.
+     */
+    @java.lang.Override
+    public boolean hasContent() {
+      return ((bitField0_ & 0x00000004) != 0);
+    }
+    /**
+     * <pre>
+     * Content marshalled to XML by the module
+     * </pre>
+     *
+     * <code>optional string content = 3;</code>
+     * @return The content.
+     */
+    @java.lang.Override
+    public java.lang.String getContent() {
+      java.lang.Object ref = content_;
+      if (ref instanceof java.lang.String) {
+        return (java.lang.String) ref;
+      } else {
+        com.google.protobuf.ByteString bs = 
+            (com.google.protobuf.ByteString) ref;
+        java.lang.String s = bs.toStringUtf8();
+        content_ = s;
+        return s;
+      }
+    }
+    /**
+     * <pre>
+     * Content marshalled to XML by the module
+     * </pre>
+     *
+     * <code>optional string content = 3;</code>
+     * @return The bytes for content.
+     */
+    @java.lang.Override
+    public com.google.protobuf.ByteString
+        getContentBytes() {
+      java.lang.Object ref = content_;
+      if (ref instanceof java.lang.String) {
+        com.google.protobuf.ByteString b = 
+            com.google.protobuf.ByteString.copyFromUtf8(
+                (java.lang.String) ref);
+        content_ = b;
+        return b;
+      } else {
+        return (com.google.protobuf.ByteString) ref;
+      }
+    }
+
+    public static final int BINARY_CONTENT_FIELD_NUMBER = 4;
+    private com.google.protobuf.ByteString binaryContent_ = com.google.protobuf.ByteString.EMPTY;
+    /**
+     * <pre>
+     * Content marshalled with the binary codec of the module, without the
+     * prefix and the Base64 encoding of the string representation
+     * </pre>
+     *
+     * <code>optional bytes binary_content = 4;</code>
+     * @return Whether the binaryContent field is set.
+     */
+    @java.lang.Override
+    public boolean hasBinaryContent() {
+      return ((bitField0_ & 0x00000008) != 0);
+    }
+    /**
+     * <pre>
+     * Content marshalled with the binary codec of the module, without the
+     * prefix and the Base64 encoding of the string representation
+     * </pre>
+     *
+     * <code>optional bytes binary_content = 4;</code>
+     * @return The binaryContent.
+     */
+    @java.lang.Override
+    public com.google.protobuf.ByteString getBinaryContent() {
+      return binaryContent_;
+    }
+
+    private byte memoizedIsInitialized = -1;
+    @java.lang.Override
+    public final boolean isInitialized() {
+      byte isInitialized = memoizedIsInitialized;
+      if (isInitialized == 1) return true;
+      if (isInitialized == 0) return false;
+
+      memoizedIsInitialized = 1;
+      return true;
+    }
+
+    @java.lang.Override
+    public void writeTo(com.google.protobuf.CodedOutputStream output)
+                        throws java.io.IOException {
+      if (((bitField0_ & 0x00000001) != 0)) {
+        com.google.protobuf.GeneratedMessageV3.writeString(output, 1, moduleId_);
+      }
+      if (((bitField0_ & 0x00000002) != 0)) {
+        com.google.protobuf.GeneratedMessageV3.writeString(output, 2, error_);
+      }
+      if (((bitField0_ & 0x00000004) != 0)) {
+        com.google.protobuf.GeneratedMessageV3.writeString(output, 3, content_);
+      }
+      if (((bitField0_ & 0x00000008) != 0)) {
+        output.writeBytes(4, binaryContent_);
+      }
+      getUnknownFields().writeTo(output);
+    }
+
+    @java.lang.Override
+    public int getSerializedSize() {
+      int size = memoizedSize;
+      if (size != -1) return size;
+
+      size = 0;
+      if (((bitField0_ & 0x00000001) != 0)) {
+        size += com.google.protobuf.GeneratedMessageV3.computeStringSize(1, moduleId_);
+      }
+      if (((bitField0_ & 0x00000002) != 0)) {
+        size += com.google.protobuf.GeneratedMessageV3.computeStringSize(2, error_);
+      }
+      if (((bitField0_ & 0x00000004) != 0)) {
+        size += com.google.protobuf.GeneratedMessageV3.computeStringSize(3, content_);
+      }
+      if (((bitField0_ & 0x00000008) != 0)) {
+        size += com.google.protobuf.CodedOutputStream
+          .computeBytesSize(4, binaryContent_);
+      }
+      size += getUnknownFields().getSerializedSize();
+      memoizedSize = size;
+      return size;
+    }
+
+    @java.lang.Override
+    public boolean equals(final java.lang.Object obj) {
+      if (obj == this) {
+       return true;
+      }
+      if (!(obj instanceof org.opennms.core.rpc.batch.model.BatchRpcProtos.BatchRpcEntry)) {
+        return super.equals(obj);
+      }
+      org.opennms.core.rpc.batch.model.BatchRpcProtos.BatchRpcEntry other = (org.opennms.core.rpc.batch.model.BatchRpcProtos.BatchRpcEntry) obj;
+
+      if (hasModuleId() != other.hasModuleId()) return false;
+      if (hasModuleId()) {
+        if (!getModuleId()
+            .equals(other.getModuleId())) return false;
+      }
+      if (hasError() != other.hasError()) return false;
+      if (hasError()) {
+        if (!getError()
+            .equals(other.getError())) return false;
+      }
+      if (hasContent() != other.hasContent()) return false;
+      if (hasContent()) {
+        if (!getContent()
+            .equals(other.getContent())) return false;
+      }
+      if (hasBinaryContent() != other.hasBinaryContent()) return false;
+      if (hasBinaryContent()) {
+        if (!getBinaryContent()
+            .equals(other.getBinaryContent())) return false;
+      }
+      if (!getUnknownFields().equals(other.getUnknownFields())) return false;
+      return true;
+    }
+
+    @java.lang.Override
+    public int hashCode() {
+      if (memoizedHashCode != 0) {
+        return memoizedHashCode;
+      }
+      int hash = 41;
+      hash = (19 * hash) + getDescriptor().hashCode();
+      if (hasModuleId()) {
+        hash = (37 * hash) + MODULE_ID_FIELD_NUMBER;
+        hash = (53 * hash) + getModuleId().hashCode();
+      }
+      if (hasError()) {
+        hash = (37 * hash) + ERROR_FIELD_NUMBER;
+        hash = (53 * hash) + getError().hashCode();
+      }
+      if (hasContent()) {
+        hash = (37 * hash) + CONTENT_FIELD_NUMBER;
+        hash = (53 * hash) + getContent().hashCode();
+      }
+      if (hasBinaryContent()) {
+        hash = (37 * hash) + BINARY_CONTENT_FIELD_NUMBER;
+        hash = (53 * hash) + getBinaryContent().hashCode();
+      }
+      hash = (29 * hash) + getUnknownFields().hashCode();
+      memoizedHashCode = hash;
+      return hash;
+    }
+
+    public static org.opennms.core.rpc.batch.model.BatchRpcProtos.BatchRpcEntry parseFrom(
+        java.nio.ByteBuffer data)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      return PARSER.parseFrom(data);
+    }
+    public static org.opennms.core.rpc.batch.model.BatchRpcProtos.BatchRpcEntry parseFrom(
+        java.nio.ByteBuffer data,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      return PARSER.parseFrom(data, extensionRegistry);
+    }
+    public static org.opennms.core.rpc.batch.model.BatchRpcProtos.BatchRpcEntry parseFrom(
+        com.google.protobuf.ByteString data)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      return PARSER.parseFrom(data);
+    }
+    public static org.opennms.core.rpc.batch.model.BatchRpcProtos.BatchRpcEntry parseFrom(
+        com.google.protobuf.ByteString data,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      return PARSER.parseFrom(data, extensionRegistry);
+    }
+    public static org.opennms.core.rpc.batch.model.BatchRpcProtos.BatchRpcEntry parseFrom(byte[] data)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      return PARSER.parseFrom(data);
+    }
+    public static org.opennms.core.rpc.batch.model.BatchRpcProtos.BatchRpcEntry parseFrom(
+        byte[] data,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      return PARSER.parseFrom(data, extensionRegistry);
+    }
+    public static org.opennms.core.rpc.batch.model.BatchRpcProtos.BatchRpcEntry parseFrom(java.io.InputStream input)
+        throws java.io.IOException {
+      return com.google.protobuf.GeneratedMessageV3
+          .parseWithIOException(PARSER, input);
+    }
+    public static org.opennms.core.rpc.batch.model.BatchRpcProtos.BatchRpcEntry parseFrom(
+        java.io.InputStream input,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws java.io.IOException {
+      return com.google.protobuf.GeneratedMessageV3
+          .parseWithIOException(PARSER, input, extensionRegistry);
+    }
+    public static org.opennms.core.rpc.batch.model.BatchRpcProtos.BatchRpcEntry parseDelimitedFrom(java.io.InputStream input)
+        throws java.io.IOException {
+      return com.google.protobuf.GeneratedMessageV3
+          .parseDelimitedWithIOException(PARSER, input);
+    }
+    public static org.opennms.core.rpc.batch.model.BatchRpcProtos.BatchRpcEntry parseDelimitedFrom(
+        java.io.InputStream input,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws java.io.IOException {
+      return com.google.protobuf.GeneratedMessageV3
+          .parseDelimitedWithIOException(PARSER, input, extensionRegistry);
+    }
+    public static org.opennms.core.rpc.batch.model.BatchRpcProtos.BatchRpcEntry parseFrom(
+        com.google.protobuf.CodedInputStream input)
+        throws java.io.IOException {
+      return com.google.protobuf.GeneratedMessageV3
+          .parseWithIOException(PARSER, input);
+    }
+    public static org.opennms.core.rpc.batch.model.BatchRpcProtos.BatchRpcEntry parseFrom(
+        com.google.protobuf.CodedInputStream input,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws java.io.IOException {
+      return com.google.protobuf.GeneratedMessageV3
+          .parseWithIOException(PARSER, input, extensionRegistry);
+    }
+
+    @java.lang.Override
+    public Builder newBuilderForType() { return newBuilder(); }
+    public static Builder newBuilder() {
+      return DEFAULT_INSTANCE.toBuilder();
+    }
+    public static Builder newBuilder(org.opennms.core.rpc.batch.model.BatchRpcProtos.BatchRpcEntry prototype) {
+      return DEFAULT_INSTANCE.toBuilder().mergeFrom(prototype);
+    }
+    @java.lang.Override
+    public Builder toBuilder() {
+      return this == DEFAULT_INSTANCE
+          ? new Builder() : new Builder().mergeFrom(this);
+    }
+
+    @java.lang.Override
+    protected Builder newBuilderForType(
+        com.google.protobuf.GeneratedMessageV3.BuilderParent parent) {
+      Builder builder = new Builder(parent);
+      return builder;
+    }
+    /**
+     * Protobuf type {@code BatchRpcEntry}
+     */
+    public static final class Builder extends
+        com.google.protobuf.GeneratedMessageV3.Builder<Builder> implements
+        // @@protoc_insertion_point(builder_implements:BatchRpcEntry)
+        org.opennms.core.rpc.batch.model.BatchRpcProtos.BatchRpcEntryOrBuilder {
+      public static final com.google.protobuf.Descriptors.Descriptor
+          getDescriptor() {
+        return org.opennms.core.rpc.batch.model.BatchRpcProtos.internal_static_BatchRpcEntry_descriptor;
+      }
+
+      @java.lang.Override
+      protected com.google.protobuf.GeneratedMessageV3.FieldAccessorTable
+          internalGetFieldAccessorTable() {
+        return org.opennms.core.rpc.batch.model.BatchRpcProtos.internal_static_BatchRpcEntry_fieldAccessorTable
+            .ensureFieldAccessorsInitialized(
+                org.opennms.core.rpc.batch.model.BatchRpcProtos.BatchRpcEntry.class, org.opennms.core.rpc.batch.model.BatchRpcProtos.BatchRpcEntry.Builder.class);
+      }
+
+      // Construct using org.opennms.core.rpc.batch.model.BatchRpcProtos.BatchRpcEntry.newBuilder()
+      private Builder() {
+
+      }
+
+      private Builder(
+          com.google.protobuf.GeneratedMessageV3.BuilderParent parent) {
+        super(parent);
+
+      }
+      @java.lang.Override
+      public Builder clear() {
+        super.clear();
+        bitField0_ = 0;
+        moduleId_ = "";
+        error_ = "";
+        content_ = "";
+        binaryContent_ = com.google.protobuf.ByteString.EMPTY;
+        return this;
+      }
+
+      @java.lang.Override
+      public com.google.protobuf.Descriptors.Descriptor
+          getDescriptorForType() {
+        return org.opennms.core.rpc.batch.model.BatchRpcProtos.internal_static_BatchRpcEntry_descriptor;
+      }
+
+      @java.lang.Override
+      public org.opennms.core.rpc.batch.model.BatchRpcProtos.BatchRpcEntry getDefaultInstanceForType() {
+        return org.opennms.core.rpc.batch.model.BatchRpcProtos.BatchRpcEntry.getDefaultInstance();
+      }
+
+      @java.lang.Override
+      public org.opennms.core.rpc.batch.model.BatchRpcProtos.BatchRpcEntry build() {
+        org.opennms.core.rpc.batch.model.BatchRpcProtos.BatchRpcEntry result = buildPartial();
+        if (!result.isInitialized()) {
+          throw newUninitializedMessageException(result);
+        }
+        return result;
+      }
+
+      @java.lang.Override
+      public org.opennms.core.rpc.batch.model.BatchRpcProtos.BatchRpcEntry buildPartial() {
+        org.opennms.core.rpc.batch.model.BatchRpcProtos.BatchRpcEntry result = new org.opennms.core.rpc.batch.model.BatchRpcProtos.BatchRpcEntry(this);
+        if (bitField0_ != 0) { buildPartial0(result); }
+        onBuilt();
+        return result;
+      }
+
+      private void buildPartial0(org.opennms.core.rpc.batch.model.BatchRpcProtos.BatchRpcEntry result) {
+        int from_bitField0_ = bitField0_;
+        int to_bitField0_ = 0;
+        if (((from_bitField0_ & 0x00000001) != 0)) {
+          result.moduleId_ = moduleId_;
+          to_bitField0_ |= 0x00000001;
+        }
+        if (((from_bitField0_ & 0x00000002) != 0)) {
+          result.error_ = error_;
+          to_bitField0_ |= 0x00000002;
+        }
+        if (((from_bitField0_ & 0x00000004) != 0)) {
+          result.content_ = content_;
+          to_bitField0_ |= 0x00000004;
+        }
+        if (((from_bitField0_ & 0x00000008) != 0)) {
+          result.binaryContent_ = binaryContent_;
+          to_bitField0_ |= 0x00000008;
+        }
+        result.bitField0_ |= to_bitField0_;
+      }
+
+      @java.lang.Override
+      public Builder mergeFrom(com.google.protobuf.Message other) {
+        if (other instanceof org.opennms.core.rpc.batch.model.BatchRpcProtos.BatchRpcEntry) {
+          return mergeFrom((org.opennms.core.rpc.batch.model.BatchRpcProtos.BatchRpcEntry)other);
+        } else {
+          super.mergeFrom(other);
+          return this;
+        }
+      }
+
+      public Builder mergeFrom(org.opennms.core.rpc.batch.model.BatchRpcProtos.BatchRpcEntry other) {
+        if (other == org.opennms.core.rpc.batch.model.BatchRpcProtos.BatchRpcEntry.getDefaultInstance()) return this;
+        if (other.hasModuleId()) {
+          moduleId_ = other.moduleId_;
+          bitField0_ |= 0x00000001;
+          onChanged();
+        }
+        if (other.hasError()) {
+          error_ = other.error_;
+          bitField0_ |= 0x00000002;
+          onChanged();
+        }
+        if (other.hasContent()) {
+          content_ = other.content_;
+          bitField0_ |= 0x00000004;
+          onChanged();
+        }
+        if (other.hasBinaryContent()) {
+          setBinaryContent(other.getBinaryContent());
+        }
+        this.mergeUnknownFields(other.getUnknownFields());
+        onChanged();
+        return this;
+      }
+
+      @java.lang.Override
+      public final boolean isInitialized() {
+        return true;
+      }
+
+      @java.lang.Override
+      public Builder mergeFrom(
+          com.google.protobuf.CodedInputStream input,
+          com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+          throws java.io.IOException {
+        if (extensionRegistry == null) {
+          throw new java.lang.NullPointerException();
+        }
+        try {
+          boolean done = false;
+          while (!done) {
+            int tag = input.readTag();
+            switch (tag) {
+              case 0:
+                done = true;
+                break;
+              case 10: {
+                moduleId_ = input.readStringRequireUtf8();
+                bitField0_ |= 0x00000001;
+                break;
+              } // case 10
+              case 18: {
+                error_ = input.readStringRequireUtf8();
+                bitField0_ |= 0x00000002;
+                break;
+              } // case 18
+              case 26: {
+                content_ = input.readStringRequireUtf8();
+                bitField0_ |= 0x00000004;
+                break;
+              } // case 26
+              case 34: {
+                binaryContent_ = input.readBytes();
+                bitField0_ |= 0x00000008;
+                break;
+              } // case 34
+              default: {
+                if (!super.parseUnknownField(input, extensionRegistry, tag)) {
+                  done = true; // was an endgroup tag
+                }
+                break;
+              } // default:
+            } // switch (tag)
+          } // while (!done)
+        } catch (com.google.protobuf.InvalidProtocolBufferException e) {
+          throw e.unwrapIOException();
+        } finally {
+          onChanged();
+        } // finally
+        return this;
+      }
+      private int bitField0_;
+
+      private java.lang.Object moduleId_ = "";
+      /**
+       * <code>optional string module_id = 1;</code>
+       * @return Whether the moduleId field is set.
+       */
+      public boolean hasModuleId() {
+        return ((bitField0_ & 0x00000001) != 0);
+      }
+      /**
+       * <code>optional string module_id = 1;</code>
+       * @return The moduleId.
+       */
+      public java.lang.String getModuleId() {
+        java.lang.Object ref = moduleId_;
+        if (!(ref instanceof java.lang.String)) {
+          com.google.protobuf.ByteString bs =
+              (com.google.protobuf.ByteString) ref;
+          java.lang.String s = bs.toStringUtf8();
+          moduleId_ = s;
+          return s;
+        } else {
+          return (java.lang.String) ref;
+        }
+      }
+      /**
+       * <code>optional string module_id = 1;</code>
+       * @return The bytes for moduleId.
+       */
+      public com.google.protobuf.ByteString
+          getModuleIdBytes() {
+        java.lang.Object ref = moduleId_;
+        if (ref instanceof String) {
+          com.google.protobuf.ByteString b = 
+              com.google.protobuf.ByteString.copyFromUtf8(
+                  (java.lang.String) ref);
+          moduleId_ = b;
+          return b;
+        } else {
+          return (com.google.protobuf.ByteString) ref;
+        }
+      }
+      /**
+       * <code>optional string module_id = 1;</code>
+       * @param value The moduleId to set.
+       * @return This builder for chaining.
+       */
+      public Builder setModuleId(
+          java.lang.String value) {
+        if (value == null) { throw new NullPointerException(); }
+        moduleId_ = value;
+        bitField0_ |= 0x00000001;
+        onChanged();
+        return this;
+      }
+      /**
+       * <code>optional string module_id = 1;</code>
+       * @return This builder for chaining.
+       */
+      public Builder clearModuleId() {
+        moduleId_ = getDefaultInstance().getModuleId();
+        bitField0_ = (bitField0_ & ~0x00000001);
+        onChanged();
+        return this;
+      }
+      /**
+       * <code>optional string module_id = 1;</code>
+       * @param value The bytes for moduleId to set.
+       * @return This builder for chaining.
+       */
+      public Builder setModuleIdBytes(
+          com.google.protobuf.ByteString value) {
+        if (value == null) { throw new NullPointerException(); }
+        checkByteStringIsUtf8(value);
+        moduleId_ = value;
+        bitField0_ |= 0x00000001;
+        onChanged();
+        return this;
+      }
+
+      private java.lang.Object error_ = "";
+      /**
+       * <code>optional string error = 2;</code>
+       * @return Whether the error field is set.
+       */
+      public boolean hasError() {
+        return ((bitField0_ & 0x00000002) != 0);
+      }
+      /**
+       * <code>optional string error = 2;</code>
+       * @return The error.
+       */
+      public java.lang.String getError() {
+        java.lang.Object ref = error_;
+        if (!(ref instanceof java.lang.String)) {
+          com.google.protobuf.ByteString bs =
+              (com.google.protobuf.ByteString) ref;
+          java.lang.String s = bs.toStringUtf8();
+          error_ = s;
+          return s;
+        } else {
+          return (java.lang.String) ref;
+        }
+      }
+      /**
+       * <code>optional string error = 2;</code>
+       * @return The bytes for error.
+       */
+      public com.google.protobuf.ByteString
+          getErrorBytes() {
+        java.lang.Object ref = error_;
+        if (ref instanceof String) {
+          com.google.protobuf.ByteString b = 
+              com.google.protobuf.ByteString.copyFromUtf8(
+                  (java.lang.String) ref);
+          error_ = b;
+          return b;
+        } else {
+          return (com.google.protobuf.ByteString) ref;
+        }
+      }
+      /**
+       * <code>optional string error = 2;</code>
+       * @param value The error to set.
+       * @return This builder for chaining.
+       */
+      public Builder setError(
+          java.lang.String value) {
+        if (value == null) { throw new NullPointerException(); }
+        error_ = value;
+        bitField0_ |= 0x00000002;
+        onChanged();
+        return this;
+      }
+      /**
+       * <code>optional string error = 2;</code>
+       * @return This builder for chaining.
+       */
+      public Builder clearError() {
+        error_ = getDefaultInstance().getError();
+        bitField0_ = (bitField0_ & ~0x00000002);
+        onChanged();
+        return this;
+      }
+      /**
+       * <code>optional string error = 2;</code>
+       * @param value The bytes for error to set.
+       * @return This builder for chaining.
+       */
+      public Builder setErrorBytes(
+          com.google.protobuf.ByteString value) {
+        if (value == null) { throw new NullPointerException(); }
+        checkByteStringIsUtf8(value);
+        error_ = value;
+        bitField0_ |= 0x00000002;
+        onChanged();
+        return this;
+      }
+
+      private java.lang.Object content_ = "";
+      /**
+       * <pre>
+       * Content marshalled to XML by the module
+       * </pre>
+       *
+       * <code>optional string content = 3;</code>
+       * @return Whether the content field is set.
+       */
+      public boolean hasContent() {
+        return ((bitField0_ & 0x00000004) != 0);
+      }
+      /**
+       * <pre>
+       * Content marshalled to XML by the module
+       * </pre>
+       *
+       * <code>optional string content = 3;</code>
+       * @return The content.
+       */
+      public java.lang.String getContent() {
+        java.lang.Object ref = content_;
+        if (!(ref instanceof java.lang.String)) {
+          com.google.protobuf.ByteString bs =
+              (com.google.protobuf.ByteString) ref;
+          java.lang.String s = bs.toStringUtf8();
+          content_ = s;
+          return s;
+        } else {
+          return (java.lang.String) ref;
+        }
+      }
+      /**
+       * <pre>
+       * Content marshalled to XML by the module
+       * </pre>
+       *
+       * <code>optional string content = 3;</code>
+       * @return The bytes for content.
+       */
+      public com.google.protobuf.ByteString
+          getContentBytes() {
+        java.lang.Object ref = content_;
+        if (ref instanceof String) {
+          com.google.protobuf.ByteString b = 
+              com.google.protobuf.ByteString.copyFromUtf8(
+                  (java.lang.String) ref);
+          content_ = b;
+          return b;
+        } else {
+          return (com.google.protobuf.ByteString) ref;
+        }
+      }
+      /**
+       * <pre>
+       * Content marshalled to XML by the module
+       * </pre>
+       *
+       * <code>optional string content = 3;</code>
+       * @param value The content to set.
+       * @return This builder for chaining.
+       */
+      public Builder setContent(
+          java.lang.String value) {
+        if (value == null) { throw new NullPointerException(); }
+        content_ = value;
+        bitField0_ |= 0x00000004;
+        onChanged();
+        return this;
+      }
+      /**
+       * <pre>
+       * Content marshalled to XML by the module
+       * </pre>
+       *
+       * <code>optional string content = 3;</code>
+       * @return This builder for chaining.
+       */
+      public Builder clearContent() {
+        content_ = getDefaultInstance().getContent();
+        bitField0_ = (bitField0_ & ~0x00000004);
+        onChanged();
+        return this;
+      }
+      /**
+       * <pre>
+       * Content marshalled to XML by the module
+       * </pre>
+       *
+       * <code>optional string content = 3;</code>
+       * @param value The bytes for content to set.
+       * @return This builder for chaining.
+       */
+      public Builder setContentBytes(
+          com.google.protobuf.ByteString value) {
+        if (value == null) { throw new NullPointerException(); }
+        checkByteStringIsUtf8(value);
+        content_ = value;
+        bitField0_ |= 0x00000004;
+        onChanged();
+        return this;
+      }
+
+      private com.google.protobuf.ByteString binaryContent_ = com.google.protobuf.ByteString.EMPTY;
+      /**
+       * <pre>
+       * Content marshalled with the binary codec of the module, without the
+       * prefix and the Base64 encoding of the string representation
+       * </pre>
+       *
+       * <code>optional bytes binary_content = 4;</code>
+       * @return Whether the binaryContent field is set.
+       */
+      @java.lang.Override
+      public boolean hasBinaryContent() {
+        return ((bitField0_ & 0x00000008) != 0);
+      }
+      /**
+       * <pre>
+       * Content marshalled with the binary codec of the module, without the
+       * prefix and the Base64 encoding of the string representation
+       * </pre>
+       *
+       * <code>optional bytes binary_content = 4;</code>
+       * @return The binaryContent.
+       */
+      @java.lang.Override
+      public com.google.protobuf.ByteString getBinaryContent() {
+        return binaryContent_;
+      }
+      /**
+       * <pre>
+       * Content marshalled with the binary codec of the module, without the
+       * prefix and the Base64 encoding of the string representation
+       * </pre>
+       *
+       * <code>optional bytes binary_content = 4;</code>
+       * @param value The binaryContent to set.
+       * @return This builder for chaining.
+       */
+      public Builder setBinaryContent(com.google.protobuf.ByteString value) {
+        if (value == null) { throw new NullPointerException(); }
+        binaryContent_ = value;
+        bitField0_ |= 0x00000008;
+        onChanged();
+        return this;
+      }
+      /**
+       * <pre>
+       * Content marshalled with the binary codec of the module, without the
+       * prefix and the Base64 encoding of the string representation
+       * </pre>
+       *
+       * <code>optional bytes binary_content = 4;</code>
+       * @return This builder for chaining.
+       */
+      public Builder clearBinaryContent() {
+        bitField0_ = (bitField0_ & ~0x00000008);
+        binaryContent_ = getDefaultInstance().getBinaryContent();
+        onChanged();
+        return this;
+      }
+      @java.lang.Override
+      public final Builder setUnknownFields(
+          final com.google.protobuf.UnknownFieldSet unknownFields) {
+        return super.setUnknownFields(unknownFields);
+      }
+
+      @java.lang.Override
+      public final Builder mergeUnknownFields(
+          final com.google.protobuf.UnknownFieldSet unknownFields) {
+        return super.mergeUnknownFields(unknownFields);
+      }
+
+
+      // @@protoc_insertion_point(builder_scope:BatchRpcEntry)
+    }
+
+    // @@protoc_insertion_point(class_scope:BatchRpcEntry)
+    private static final org.opennms.core.rpc.batch.model.BatchRpcProtos.BatchRpcEntry DEFAULT_INSTANCE;
+    static {
+      DEFAULT_INSTANCE = new org.opennms.core.rpc.batch.model.BatchRpcProtos.BatchRpcEntry();
+    }
+
+    public static org.opennms.core.rpc.batch.model.BatchRpcProtos.BatchRpcEntry getDefaultInstance() {
+      return DEFAULT_INSTANCE;
+    }
+
+    private static final com.google.protobuf.Parser<BatchRpcEntry>
+        PARSER = new com.google.protobuf.AbstractParser<BatchRpcEntry>() {
+      @java.lang.Override
+      public BatchRpcEntry parsePartialFrom(
+          com.google.protobuf.CodedInputStream input,
+          com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+          throws com.google.protobuf.InvalidProtocolBufferException {
+        Builder builder = newBuilder();
+        try {
+          builder.mergeFrom(input, extensionRegistry);
+        } catch (com.google.protobuf.InvalidProtocolBufferException e) {
+          throw e.setUnfinishedMessage(builder.buildPartial());
+        } catch (com.google.protobuf.UninitializedMessageException e) {
+          throw e.asInvalidProtocolBufferException().setUnfinishedMessage(builder.buildPartial());
+        } catch (java.io.IOException e) {
+          throw new com.google.protobuf.InvalidProtocolBufferException(e)
+              .setUnfinishedMessage(builder.buildPartial());
+        }
+        return builder.buildPartial();
+      }
+    };
+
+    public static com.google.protobuf.Parser<BatchRpcEntry> parser() {
+      return PARSER;
+    }
+
+    @java.lang.Override
+    public com.google.protobuf.Parser<BatchRpcEntry> getParserForType() {
+      return PARSER;
+    }
+
+    @java.lang.Override
+    public org.opennms.core.rpc.batch.model.BatchRpcProtos.BatchRpcEntry getDefaultInstanceForType() {
+      return DEFAULT_INSTANCE;
+    }
+
+  }
+
+  public interface BatchRpcRequestOrBuilder extends
+      // @@protoc_insertion_point(interface_extends:BatchRpcRequest)
+      com.google.protobuf.MessageOrBuilder {
+
+    /**
+     * <code>optional string location = 1;</code>
+     * @return Whether the location field is set.
+     */
+    boolean hasLocation();
+    /**
+     * <code>optional string location = 1;</code>
+     * @return The location.
+     */
+    java.lang.String getLocation();
+    /**
+     * <code>optional string location = 1;</code>
+     * @return The bytes for location.
+     */
+    com.google.protobuf.ByteString
+        getLocationBytes();
+
+    /**
+     * <code>optional string system_id = 2;</code>
+     * @return Whether the systemId field is set.
+     */
+    boolean hasSystemId();
+    /**
+     * <code>optional string system_id = 2;</code>
+     * @return The systemId.
+     */
+    java.lang.String getSystemId();
+    /**
+     * <code>optional string system_id = 2;</code>
+     * @return The bytes for systemId.
+     */
+    com.google.protobuf.ByteString
+        getSystemIdBytes();
+
+    /**
+     * <code>repeated .BatchRpcEntry entries = 3;</code>
+     */
+    java.util.List<org.opennms.core.rpc.batch.model.BatchRpcProtos.BatchRpcEntry> 
+        getEntriesList();
+    /**
+     * <code>repeated .BatchRpcEntry entries = 3;</code>
+     */
+    org.opennms.core.rpc.batch.model.BatchRpcProtos.BatchRpcEntry getEntries(int index);
+    /**
+     * <code>repeated .BatchRpcEntry entries = 3;</code>
+     */
+    int getEntriesCount();
+    /**
+     * <code>repeated .BatchRpcEntry entries = 3;</code>
+     */
+    java.util.List<? extends org.opennms.core.rpc.batch.model.BatchRpcProtos.BatchRpcEntryOrBuilder> 
+        getEntriesOrBuilderList();
+    /**
+     * <code>repeated .BatchRpcEntry entries = 3;</code>
+     */
+    org.opennms.core.rpc.batch.model.BatchRpcProtos.BatchRpcEntryOrBuilder getEntriesOrBuilder(
+        int index);
+  }
+  /**
+   * Protobuf type {@code BatchRpcRequest}
+   */
+  public static final class BatchRpcRequest extends
+      com.google.protobuf.GeneratedMessageV3 implements
+      // @@protoc_insertion_point(message_implements:BatchRpcRequest)
+      BatchRpcRequestOrBuilder {
+  private static final long serialVersionUID = 0L;
+    // Use BatchRpcRequest.newBuilder() to construct.
+    private BatchRpcRequest(com.google.protobuf.GeneratedMessageV3.Builder<?> builder) {
+      super(builder);
+    }
+    private BatchRpcRequest() {
+      location_ = "";
+      systemId_ = "";
+      entries_ = java.util.Collections.emptyList();
+    }
+
+    @java.lang.Override
+    @SuppressWarnings({"unused"})
+    protected java.lang.Object newInstance(
+        UnusedPrivateParameter unused) {
+      return new BatchRpcRequest();
+    }
+
+    public static final com.google.protobuf.Descriptors.Descriptor
+        getDescriptor() {
+      return org.opennms.core.rpc.batch.model.BatchRpcProtos.internal_static_BatchRpcRequest_descriptor;
+    }
+
+    @java.lang.Override
+    protected com.google.protobuf.GeneratedMessageV3.FieldAccessorTable
+        internalGetFieldAccessorTable() {
+      return org.opennms.core.rpc.batch.model.BatchRpcProtos.internal_static_BatchRpcRequest_fieldAccessorTable
+          .ensureFieldAccessorsInitialized(
+              org.opennms.core.rpc.batch.model.BatchRpcProtos.BatchRpcRequest.class, org.opennms.core.rpc.batch.model.BatchRpcProtos.BatchRpcRequest.Builder.class);
+    }
+
+    private int bitField0_;
+    public static final int LOCATION_FIELD_NUMBER = 1;
+    @SuppressWarnings("serial")
+    private volatile java.lang.Object location_ = "";
+    /**
+     * <code>optional string location = 1;</code>
+     * @return Whether the location field is set.
+     */
+    @java.lang.Override
+    public boolean hasLocation() {
+      return ((bitField0_ & 0x00000001) != 0);
+    }
+    /**
+     * <code>optional string location = 1;</code>
+     * @return The location.
+     */
+    @java.lang.Override
+    public java.lang.String getLocation() {
+      java.lang.Object ref = location_;
+      if (ref instanceof java.lang.String) {
+        return (java.lang.String) ref;
+      } else {
+        com.google.protobuf.ByteString bs = 
+            (com.google.protobuf.ByteString) ref;
+        java.lang.String s = bs.toStringUtf8();
+        location_ = s;
+        return s;
+      }
+    }
+    /**
+     * <code>optional string location = 1;</code>
+     * @return The bytes for location.
+     */
+    @java.lang.Override
+    public com.google.protobuf.ByteString
+        getLocationBytes() {
+      java.lang.Object ref = location_;
+      if (ref instanceof java.lang.String) {
+        com.google.protobuf.ByteString b = 
+            com.google.protobuf.ByteString.copyFromUtf8(
+                (java.lang.String) ref);
+        location_ = b;
+        return b;
+      } else {
+        return (com.google.protobuf.ByteString) ref;
+      }
+    }
+
+    public static final int SYSTEM_ID_FIELD_NUMBER = 2;
+    @SuppressWarnings("serial")
+    private volatile java.lang.Object systemId_ = "";
+    /**
+     * <code>optional string system_id = 2;</code>
+     * @return Whether the systemId field is set.
+     */
+    @java.lang.Override
+    public boolean hasSystemId() {
+      return ((bitField0_ & 0x00000002) != 0);
+    }
+    /**
+     * <code>optional string system_id = 2;</code>
+     * @return The systemId.
+     */
+    @java.lang.Override
+    public java.lang.String getSystemId() {
+      java.lang.Object ref = systemId_;
+      if (ref instanceof java.lang.String) {
+        return (java.lang.String) ref;
+      } else {
+        com.google.protobuf.ByteString bs = 
+            (com.google.protobuf.ByteString) ref;
+        java.lang.String s = bs.toStringUtf8();
+        systemId_ = s;
+        return s;
+      }
+    }
+    /**
+     * <code>optional string system_id = 2;</code>
+     * @return The bytes for systemId.
+     */
+    @java.lang.Override
+    public com.google.protobuf.ByteString
+        getSystemIdBytes() {
+      java.lang.Object ref = systemId_;
+      if (ref instanceof java.lang.String) {
+        com.google.protobuf.ByteString b = 
+            com.google.protobuf.ByteString.copyFromUtf8(
+                (java.lang.String) ref);
+        systemId_ = b;
+        return b;
+      } else {
+        return (com.google.protobuf.ByteString) ref;
+      }
+    }
+
+    public static final int ENTRIES_FIELD_NUMBER = 3;
+    @SuppressWarnings("serial")
+    private java.util.List<org.opennms.core.rpc.batch.model.BatchRpcProtos.BatchRpcEntry> entries_;
+    /**
+     * <code>repeated .BatchRpcEntry entries = 3;</code>
+     */
+    @java.lang.Override
+    public java.util.List<org.opennms.core.rpc.batch.model.BatchRpcProtos.BatchRpcEntry> getEntriesList() {
+      return entries_;
+    }
+    /**
+     * <code>repeated .BatchRpcEntry entries = 3;</code>
+     */
+    @java.lang.Override
+    public java.util.List<? extends org.opennms.core.rpc.batch.model.BatchRpcProtos.BatchRpcEntryOrBuilder> 
+        getEntriesOrBuilderList() {
+      return entries_;
+    }
+    /**
+     * <code>repeated .BatchRpcEntry entries = 3;</code>
+     */
+    @java.lang.Override
+    public int getEntriesCount() {
+      return entries_.size();
+    }
+    /**
+     * <code>repeated .BatchRpcEntry entries = 3;</code>
+     */
+    @java.lang.Override
+    public org.opennms.core.rpc.batch.model.BatchRpcProtos.BatchRpcEntry getEntries(int index) {
+      return entries_.get(index);
+    }
+    /**
+     * <code>repeated .BatchRpcEntry entries = 3;</code>
+     */
+    @java.lang.Override
+    public org.opennms.core.rpc.batch.model.BatchRpcProtos.BatchRpcEntryOrBuilder getEntriesOrBuilder(
+        int index) {
+      return entries_.get(index);
+    }
+
+    private byte memoizedIsInitialized = -1;
+    @java.lang.Override
+    public final boolean isInitialized() {
+      byte isInitialized = memoizedIsInitialized;
+      if (isInitialized == 1) return true;
+      if (isInitialized == 0) return false;
+
+      memoizedIsInitialized = 1;
+      return true;
+    }
+
+    @java.lang.Override
+    public void writeTo(com.google.protobuf.CodedOutputStream output)
+                        throws java.io.IOException {
+      if (((bitField0_ & 0x00000001) != 0)) {
+        com.google.protobuf.GeneratedMessageV3.writeString(output, 1, location_);
+      }
+      if (((bitField0_ & 0x00000002) != 0)) {
+        com.google.protobuf.GeneratedMessageV3.writeString(output, 2, systemId_);
+      }
+      for (int i = 0; i < entries_.size(); i++) {
+        output.writeMessage(3, entries_.get(i));
+      }
+      getUnknownFields().writeTo(output);
+    }
+
+    @java.lang.Override
+    public int getSerializedSize() {
+      int size = memoizedSize;
+      if (size != -1) return size;
+
+      size = 0;
+      if (((bitField0_ & 0x00000001) != 0)) {
+        size += com.google.protobuf.GeneratedMessageV3.computeStringSize(1, location_);
+      }
+      if (((bitField0_ & 0x00000002) != 0)) {
+        size += com.google.protobuf.GeneratedMessageV3.computeStringSize(2, systemId_);
+      }
+      for (int i = 0; i < entries_.size(); i++) {
+        size += com.google.protobuf.CodedOutputStream
+          .computeMessageSize(3, entries_.get(i));
+      }
+      size += getUnknownFields().getSerializedSize();
+      memoizedSize = size;
+      return size;
+    }
+
+    @java.lang.Override
+    public boolean equals(final java.lang.Object obj) {
+      if (obj == this) {
+       return true;
+      }
+      if (!(obj instanceof org.opennms.core.rpc.batch.model.BatchRpcProtos.BatchRpcRequest)) {
+        return super.equals(obj);
+      }
+      org.opennms.core.rpc.batch.model.BatchRpcProtos.BatchRpcRequest other = (org.opennms.core.rpc.batch.model.BatchRpcProtos.BatchRpcRequest) obj;
+
+      if (hasLocation() != other.hasLocation()) return false;
+      if (hasLocation()) {
+        if (!getLocation()
+            .equals(other.getLocation())) return false;
+      }
+      if (hasSystemId() != other.hasSystemId()) return false;
+      if (hasSystemId()) {
+        if (!getSystemId()
+            .equals(other.getSystemId())) return false;
+      }
+      if (!getEntriesList()
+          .equals(other.getEntriesList())) return false;
+      if (!getUnknownFields().equals(other.getUnknownFields())) return false;
+      return true;
+    }
+
+    @java.lang.Override
+    public int hashCode() {
+      if (memoizedHashCode != 0) {
+        return memoizedHashCode;
+      }
+      int hash = 41;
+      hash = (19 * hash) + getDescriptor().hashCode();
+      if (hasLocation()) {
+        hash = (37 * hash) + LOCATION_FIELD_NUMBER;
+        hash = (53 * hash) + getLocation().hashCode();
+      }
+      if (hasSystemId()) {
+        hash = (37 * hash) + SYSTEM_ID_FIELD_NUMBER;
+        hash = (53 * hash) + getSystemId().hashCode();
+      }
+      if (getEntriesCount() > 0) {
+        hash = (37 * hash) + ENTRIES_FIELD_NUMBER;
+        hash = (53 * hash) + getEntriesList().hashCode();
+      }
+      hash = (29 * hash) + getUnknownFields().hashCode();
+      memoizedHashCode = hash;
+      return hash;
+    }
+
+    public static org.opennms.core.rpc.batch.model.BatchRpcProtos.BatchRpcRequest parseFrom(
+        java.nio.ByteBuffer data)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      return PARSER.parseFrom(data);
+    }
+    public static org.opennms.core.rpc.batch.model.BatchRpcProtos.BatchRpcRequest parseFrom(
+        java.nio.ByteBuffer data,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      return PARSER.parseFrom(data, extensionRegistry);
+    }
+    public static org.opennms.core.rpc.batch.model.BatchRpcProtos.BatchRpcRequest parseFrom(
+        com.google.protobuf.ByteString data)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      return PARSER.parseFrom(data);
+    }
+    public static org.opennms.core.rpc.batch.model.BatchRpcProtos.BatchRpcRequest parseFrom(
+        com.google.protobuf.ByteString data,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      return PARSER.parseFrom(data, extensionRegistry);
+    }
+    public static org.opennms.core.rpc.batch.model.BatchRpcProtos.BatchRpcRequest parseFrom(byte[] data)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      return PARSER.parseFrom(data);
+    }
+    public static org.opennms.core.rpc.batch.model.BatchRpcProtos.BatchRpcRequest parseFrom(
+        byte[] data,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      return PARSER.parseFrom(data, extensionRegistry);
+    }
+    public static org.opennms.core.rpc.batch.model.BatchRpcProtos.BatchRpcRequest parseFrom(java.io.InputStream input)
+        throws java.io.IOException {
+      return com.google.protobuf.GeneratedMessageV3
+          .parseWithIOException(PARSER, input);
+    }
+    public static org.opennms.core.rpc.batch.model.BatchRpcProtos.BatchRpcRequest parseFrom(
+        java.io.InputStream input,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws java.io.IOException {
+      return com.google.protobuf.GeneratedMessageV3
+          .parseWithIOException(PARSER, input, extensionRegistry);
+    }
+    public static org.opennms.core.rpc.batch.model.BatchRpcProtos.BatchRpcRequest parseDelimitedFrom(java.io.InputStream input)
+        throws java.io.IOException {
+      return com.google.protobuf.GeneratedMessageV3
+          .parseDelimitedWithIOException(PARSER, input);
+    }
+    public static org.opennms.core.rpc.batch.model.BatchRpcProtos.BatchRpcRequest parseDelimitedFrom(
+        java.io.InputStream input,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws java.io.IOException {
+      return com.google.protobuf.GeneratedMessageV3
+          .parseDelimitedWithIOException(PARSER, input, extensionRegistry);
+    }
+    public static org.opennms.core.rpc.batch.model.BatchRpcProtos.BatchRpcRequest parseFrom(
+        com.google.protobuf.CodedInputStream input)
+        throws java.io.IOException {
+      return com.google.protobuf.GeneratedMessageV3
+          .parseWithIOException(PARSER, input);
+    }
+    public static org.opennms.core.rpc.batch.model.BatchRpcProtos.BatchRpcRequest parseFrom(
+        com.google.protobuf.CodedInputStream input,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws java.io.IOException {
+      return com.google.protobuf.GeneratedMessageV3
+          .parseWithIOException(PARSER, input, extensionRegistry);
+    }
+
+    @java.lang.Override
+    public Builder newBuilderForType() { return newBuilder(); }
+    public static Builder newBuilder() {
+      return DEFAULT_INSTANCE.toBuilder();
+    }
+    public static Builder newBuilder(org.opennms.core.rpc.batch.model.BatchRpcProtos.BatchRpcRequest prototype) {
+      return DEFAULT_INSTANCE.toBuilder().mergeFrom(prototype);
+    }
+    @java.lang.Override
+    public Builder toBuilder() {
+      return this == DEFAULT_INSTANCE
+          ? new Builder() : new Builder().mergeFrom(this);
+    }
+
+    @java.lang.Override
+    protected Builder newBuilderForType(
+        com.google.protobuf.GeneratedMessageV3.BuilderParent parent) {
+      Builder builder = new Builder(parent);
+      return builder;
+    }
+    /**
+     * Protobuf type {@code BatchRpcRequest}
+     */
+    public static final class Builder extends
+        com.google.protobuf.GeneratedMessageV3.Builder<Builder> implements
+        // @@protoc_insertion_point(builder_implements:BatchRpcRequest)
+        org.opennms.core.rpc.batch.model.BatchRpcProtos.BatchRpcRequestOrBuilder {
+      public static final com.google.protobuf.Descriptors.Descriptor
+          getDescriptor() {
+        return org.opennms.core.rpc.batch.model.BatchRpcProtos.internal_static_BatchRpcRequest_descriptor;
+      }
+
+      @java.lang.Override
+      protected com.google.protobuf.GeneratedMessageV3.FieldAccessorTable
+          internalGetFieldAccessorTable() {
+        return org.opennms.core.rpc.batch.model.BatchRpcProtos.internal_static_BatchRpcRequest_fieldAccessorTable
+            .ensureFieldAccessorsInitialized(
+                org.opennms.core.rpc.batch.model.BatchRpcProtos.BatchRpcRequest.class, org.opennms.core.rpc.batch.model.BatchRpcProtos.BatchRpcRequest.Builder.class);
+      }
+
+      // Construct using org.opennms.core.rpc.batch.model.BatchRpcProtos.BatchRpcRequest.newBuilder()
+      private Builder() {
+
+      }
+
+      private Builder(
+          com.google.protobuf.GeneratedMessageV3.BuilderParent parent) {
+        super(parent);
+
+      }
+      @java.lang.Override
+      public Builder clear() {
+        super.clear();
+        bitField0_ = 0;
+        location_ = "";
+        systemId_ = "";
+        if (entriesBuilder_ == null) {
+          entries_ = java.util.Collections.emptyList();
+        } else {
+          entries_ = null;
+          entriesBuilder_.clear();
+        }
+        bitField0_ = (bitField0_ & ~0x00000004);
+        return this;
+      }
+
+      @java.lang.Override
+      public com.google.protobuf.Descriptors.Descriptor
+          getDescriptorForType() {
+        return org.opennms.core.rpc.batch.model.BatchRpcProtos.internal_static_BatchRpcRequest_descriptor;
+      }
+
+      @java.lang.Override
+      public org.opennms.core.rpc.batch.model.BatchRpcProtos.BatchRpcRequest getDefaultInstanceForType() {
+        return org.opennms.core.rpc.batch.model.BatchRpcProtos.BatchRpcRequest.getDefaultInstance();
+      }
+
+      @java.lang.Override
+      public org.opennms.core.rpc.batch.model.BatchRpcProtos.BatchRpcRequest build() {
+        org.opennms.core.rpc.batch.model.BatchRpcProtos.BatchRpcRequest result = buildPartial();
+        if (!result.isInitialized()) {
+          throw newUninitializedMessageException(result);
+        }
+        return result;
+      }
+
+      @java.lang.Override
+      public org.opennms.core.rpc.batch.model.BatchRpcProtos.BatchRpcRequest buildPartial() {
+        org.opennms.core.rpc.batch.model.BatchRpcProtos.BatchRpcRequest result = new org.opennms.core.rpc.batch.model.BatchRpcProtos.BatchRpcRequest(this);
+        buildPartialRepeatedFields(result);
+        if (bitField0_ != 0) { buildPartial0(result); }
+        onBuilt();
+        return result;
+      }
+
+      private void buildPartialRepeatedFields(org.opennms.core.rpc.batch.model.BatchRpcProtos.BatchRpcRequest result) {
+        if (entriesBuilder_ == null) {
+          if (((bitField0_ & 0x00000004) != 0)) {
+            entries_ = java.util.Collections.unmodifiableList(entries_);
+            bitField0_ = (bitField0_ & ~0x00000004);
+          }
+          result.entries_ = entries_;
+        } else {
+          result.entries_ = entriesBuilder_.build();
+        }
+      }
+
+      private void buildPartial0(org.opennms.core.rpc.batch.model.BatchRpcProtos.BatchRpcRequest result) {
+        int from_bitField0_ = bitField0_;
+        int to_bitField0_ = 0;
+        if (((from_bitField0_ & 0x00000001) != 0)) {
+          result.location_ = location_;
+          to_bitField0_ |= 0x00000001;
+        }
+        if (((from_bitField0_ & 0x00000002) != 0)) {
+          result.systemId_ = systemId_;
+          to_bitField0_ |= 0x00000002;
+        }
+        result.bitField0_ |= to_bitField0_;
+      }
+
+      @java.lang.Override
+      public Builder mergeFrom(com.google.protobuf.Message other) {
+        if (other instanceof org.opennms.core.rpc.batch.model.BatchRpcProtos.BatchRpcRequest) {
+          return mergeFrom((org.opennms.core.rpc.batch.model.BatchRpcProtos.BatchRpcRequest)other);
+        } else {
+          super.mergeFrom(other);
+          return this;
+        }
+      }
+
+      public Builder mergeFrom(org.opennms.core.rpc.batch.model.BatchRpcProtos.BatchRpcRequest other) {
+        if (other == org.opennms.core.rpc.batch.model.BatchRpcProtos.BatchRpcRequest.getDefaultInstance()) return this;
+        if (other.hasLocation()) {
+          location_ = other.location_;
+          bitField0_ |= 0x00000001;
+          onChanged();
+        }
+        if (other.hasSystemId()) {
+          systemId_ = other.systemId_;
+          bitField0_ |= 0x00000002;
+          onChanged();
+        }
+        if (entriesBuilder_ == null) {
+          if (!other.entries_.isEmpty()) {
+            if (entries_.isEmpty()) {
+              entries_ = other.entries_;
+              bitField0_ = (bitField0_ & ~0x00000004);
+            } else {
+              ensureEntriesIsMutable();
+              entries_.addAll(other.entries_);
+            }
+            onChanged();
+          }
+        } else {
+          if (!other.entries_.isEmpty()) {
+            if (entriesBuilder_.isEmpty()) {
+              entriesBuilder_.dispose();
+              entriesBuilder_ = null;
+              entries_ = other.entries_;
+              bitField0_ = (bitField0_ & ~0x00000004);
+              entriesBuilder_ = 
+                com.google.protobuf.GeneratedMessageV3.alwaysUseFieldBuilders ?
+                   getEntriesFieldBuilder() : null;
+            } else {
+              entriesBuilder_.addAllMessages(other.entries_);
+            }
+          }
+        }
+        this.mergeUnknownFields(other.getUnknownFields());
+        onChanged();
+        return this;
+      }
+
+      @java.lang.Override
+      public final boolean isInitialized() {
+        return true;
+      }
+
+      @java.lang.Override
+      public Builder mergeFrom(
+          com.google.protobuf.CodedInputStream input,
+          com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+          throws java.io.IOException {
+        if (extensionRegistry == null) {
+          throw new java.lang.NullPointerException();
+        }
+        try {
+          boolean done = false;
+          while (!done) {
+            int tag = input.readTag();
+            switch (tag) {
+              case 0:
+                done = true;
+                break;
+              case 10: {
+                location_ = input.readStringRequireUtf8();
+                bitField0_ |= 0x00000001;
+                break;
+              } // case 10
+              case 18: {
+                systemId_ = input.readStringRequireUtf8();
+                bitField0_ |= 0x00000002;
+                break;
+              } // case 18
+              case 26: {
+                org.opennms.core.rpc.batch.model.BatchRpcProtos.BatchRpcEntry m =
+                    input.readMessage(
+                        org.opennms.core.rpc.batch.model.BatchRpcProtos.BatchRpcEntry.parser(),
+                        extensionRegistry);
+                if (entriesBuilder_ == null) {
+                  ensureEntriesIsMutable();
+                  entries_.add(m);
+                } else {
+                  entriesBuilder_.addMessage(m);
+                }
+                break;
+              } // case 26
+              default: {
+                if (!super.parseUnknownField(input, extensionRegistry, tag)) {
+                  done = true; // was an endgroup tag
+                }
+                break;
+              } // default:
+            } // switch (tag)
+          } // while (!done)
+        } catch (com.google.protobuf.InvalidProtocolBufferException e) {
+          throw e.unwrapIOException();
+        } finally {
+          onChanged();
+        } // finally
+        return this;
+      }
+      private int bitField0_;
+
+      private java.lang.Object location_ = "";
+      /**
+       * <code>optional string location = 1;</code>
+       * @return Whether the location field is set.
+       */
+      public boolean hasLocation() {
+        return ((bitField0_ & 0x00000001) != 0);
+      }
+      /**
+       * <code>optional string location = 1;</code>
+       * @return The location.
+       */
+      public java.lang.String getLocation() {
+        java.lang.Object ref = location_;
+        if (!(ref instanceof java.lang.String)) {
+          com.google.protobuf.ByteString bs =
+              (com.google.protobuf.ByteString) ref;
+          java.lang.String s = bs.toStringUtf8();
+          location_ = s;
+          return s;
+        } else {
+          return (java.lang.String) ref;
+        }
+      }
+      /**
+       * <code>optional string location = 1;</code>
+       * @return The bytes for location.
+       */
+      public com.google.protobuf.ByteString
+          getLocationBytes() {
+        java.lang.Object ref = location_;
+        if (ref instanceof String) {
+          com.google.protobuf.ByteString b = 
+              com.google.protobuf.ByteString.copyFromUtf8(
+                  (java.lang.String) ref);
+          location_ = b;
+          return b;
+        } else {
+          return (com.google.protobuf.ByteString) ref;
+        }
+      }
+      /**
+       * <code>optional string location = 1;</code>
+       * @param value The location to set.
+       * @return This builder for chaining.
+       */
+      public Builder setLocation(
+          java.lang.String value) {
+        if (value == null) { throw new NullPointerException(); }
+        location_ = value;
+        bitField0_ |= 0x00000001;
+        onChanged();
+        return this;
+      }
+      /**
+       * <code>optional string location = 1;</code>
+       * @return This builder for chaining.
+       */
+      public Builder clearLocation() {
+        location_ = getDefaultInstance().getLocation();
+        bitField0_ = (bitField0_ & ~0x00000001);
+        onChanged();
+        return this;
+      }
+      /**
+       * <code>optional string location = 1;</code>
+       * @param value The bytes for location to set.
+       * @return This builder for chaining.
+       */
+      public Builder setLocationBytes(
+          com.google.protobuf.ByteString value) {
+        if (value == null) { throw new NullPointerException(); }
+        checkByteStringIsUtf8(value);
+        location_ = value;
+        bitField0_ |= 0x00000001;
+        onChanged();
+        return this;
+      }
+
+      private java.lang.Object systemId_ = "";
+      /**
+       * <code>optional string system_id = 2;</code>
+       * @return Whether the systemId field is set.
+       */
+      public boolean hasSystemId() {
+        return ((bitField0_ & 0x00000002) != 0);
+      }
+      /**
+       * <code>optional string system_id = 2;</code>
+       * @return The systemId.
+       */
+      public java.lang.String getSystemId() {
+        java.lang.Object ref = systemId_;
+        if (!(ref instanceof java.lang.String)) {
+          com.google.protobuf.ByteString bs =
+              (com.google.protobuf.ByteString) ref;
+          java.lang.String s = bs.toStringUtf8();
+          systemId_ = s;
+          return s;
+        } else {
+          return (java.lang.String) ref;
+        }
+      }
+      /**
+       * <code>optional string system_id = 2;</code>
+       * @return The bytes for systemId.
+       */
+      public com.google.protobuf.ByteString
+          getSystemIdBytes() {
+        java.lang.Object ref = systemId_;
+        if (ref instanceof String) {
+          com.google.protobuf.ByteString b = 
+              com.google.protobuf.ByteString.copyFromUtf8(
+                  (java.lang.String) ref);
+          systemId_ = b;
+          return b;
+        } else {
+          return (com.google.protobuf.ByteString) ref;
+        }
+      }
+      /**
+       * <code>optional string system_id = 2;</code>
+       * @param value The systemId to set.
+       * @return This builder for chaining.
+       */
+      public Builder setSystemId(
+          java.lang.String value) {
+        if (value == null) { throw new NullPointerException(); }
+        systemId_ = value;
+        bitField0_ |= 0x00000002;
+        onChanged();
+        return this;
+      }
+      /**
+       * <code>optional string system_id = 2;</code>
+       * @return This builder for chaining.
+       */
+      public Builder clearSystemId() {
+        systemId_ = getDefaultInstance().getSystemId();
+        bitField0_ = (bitField0_ & ~0x00000002);
+        onChanged();
+        return this;
+      }
+      /**
+       * <code>optional string system_id = 2;</code>
+       * @param value The bytes for systemId to set.
+       * @return This builder for chaining.
+       */
+      public Builder setSystemIdBytes(
+          com.google.protobuf.ByteString value) {
+        if (value == null) { throw new NullPointerException(); }
+        checkByteStringIsUtf8(value);
+        systemId_ = value;
+        bitField0_ |= 0x00000002;
+        onChanged();
+        return this;
+      }
+
+      private java.util.List<org.opennms.core.rpc.batch.model.BatchRpcProtos.BatchRpcEntry> entries_ =
+        java.util.Collections.emptyList();
+      private void ensureEntriesIsMutable() {
+        if (!((bitField0_ & 0x00000004) != 0)) {
+          entries_ = new java.util.ArrayList<org.opennms.core.rpc.batch.model.BatchRpcProtos.BatchRpcEntry>(entries_);
+          bitField0_ |= 0x00000004;
+         }
+      }
+
+      private com.google.protobuf.RepeatedFieldBuilderV3<
+          org.opennms.core.rpc.batch.model.BatchRpcProtos.BatchRpcEntry, org.opennms.core.rpc.batch.model.BatchRpcProtos.BatchRpcEntry.Builder, org.opennms.core.rpc.batch.model.BatchRpcProtos.BatchRpcEntryOrBuilder> entriesBuilder_;
+
+      /**
+       * <code>repeated .BatchRpcEntry entries = 3;</code>
+       */
+      public java.util.List<org.opennms.core.rpc.batch.model.BatchRpcProtos.BatchRpcEntry> getEntriesList() {
+        if (entriesBuilder_ == null) {
+          return java.util.Collections.unmodifiableList(entries_);
+        } else {
+          return entriesBuilder_.getMessageList();
+        }
+      }
+      /**
+       * <code>repeated .BatchRpcEntry entries = 3;</code>
+       */
+      public int getEntriesCount() {
+        if (entriesBuilder_ == null) {
+          return entries_.size();
+        } else {
+          return entriesBuilder_.getCount();
+        }
+      }
+      /**
+       * <code>repeated .BatchRpcEntry entries = 3;</code>
+       */
+      public org.opennms.core.rpc.batch.model.BatchRpcProtos.BatchRpcEntry getEntries(int index) {
+        if (entriesBuilder_ == null) {
+          return entries_.get(index);
+        } else {
+          return entriesBuilder_.getMessage(index);
+        }
+      }
+      /**
+       * <code>repeated .BatchRpcEntry entries = 3;</code>
+       */
+      public Builder setEntries(
+          int index, org.opennms.core.rpc.batch.model.BatchRpcProtos.BatchRpcEntry value) {
+        if (entriesBuilder_ == null) {
+          if (value == null) {
+            throw new NullPointerException();
+          }
+          ensureEntriesIsMutable();
+          entries_.set(index, value);
+          onChanged();
+        } else {
+          entriesBuilder_.setMessage(index, value);
+        }
+        return this;
+      }
+      /**
+       * <code>repeated .BatchRpcEntry entries = 3;</code>
+       */
+      public Builder setEntries(
+          int index, org.opennms.core.rpc.batch.model.BatchRpcProtos.BatchRpcEntry.Builder builderForValue) {
+        if (entriesBuilder_ == null) {
+          ensureEntriesIsMutable();
+          entries_.set(index, builderForValue.build());
+          onChanged();
+        } else {
+          entriesBuilder_.setMessage(index, builderForValue.build());
+        }
+        return this;
+      }
+      /**
+       * <code>repeated .BatchRpcEntry entries = 3;</code>
+       */
+      public Builder addEntries(org.opennms.core.rpc.batch.model.BatchRpcProtos.BatchRpcEntry value) {
+        if (entriesBuilder_ == null) {
+          if (value == null) {
+            throw new NullPointerException();
+          }
+          ensureEntriesIsMutable();
+          entries_.add(value);
+          onChanged();
+        } else {
+          entriesBuilder_.addMessage(value);
+        }
+        return this;
+      }
+      /**
+       * <code>repeated .BatchRpcEntry entries = 3;</code>
+       */
+      public Builder addEntries(
+          int index, org.opennms.core.rpc.batch.model.BatchRpcProtos.BatchRpcEntry value) {
+        if (entriesBuilder_ == null) {
+          if (value == null) {
+            throw new NullPointerException();
+          }
+          ensureEntriesIsMutable();
+          entries_.add(index, value);
+          onChanged();
+        } else {
+          entriesBuilder_.addMessage(index, value);
+        }
+        return this;
+      }
+      /**
+       * <code>repeated .BatchRpcEntry entries = 3;</code>
+       */
+      public Builder addEntries(
+          org.opennms.core.rpc.batch.model.BatchRpcProtos.BatchRpcEntry.Builder builderForValue) {
+        if (entriesBuilder_ == null) {
+          ensureEntriesIsMutable();
+          entries_.add(builderForValue.build());
+          onChanged();
+        } else {
+          entriesBuilder_.addMessage(builderForValue.build());
+        }
+        return this;
+      }
+      /**
+       * <code>repeated .BatchRpcEntry entries = 3;</code>
+       */
+      public Builder addEntries(
+          int index, org.opennms.core.rpc.batch.model.BatchRpcProtos.BatchRpcEntry.Builder builderForValue) {
+        if (entriesBuilder_ == null) {
+          ensureEntriesIsMutable();
+          entries_.add(index, builderForValue.build());
+          onChanged();
+        } else {
+          entriesBuilder_.addMessage(index, builderForValue.build());
+        }
+        return this;
+      }
+      /**
+       * <code>repeated .BatchRpcEntry entries = 3;</code>
+       */
+      public Builder addAllEntries(
+          java.lang.Iterable<? extends org.opennms.core.rpc.batch.model.BatchRpcProtos.BatchRpcEntry> values) {
+        if (entriesBuilder_ == null) {
+          ensureEntriesIsMutable();
+          com.google.protobuf.AbstractMessageLite.Builder.addAll(
+              values, entries_);
+          onChanged();
+        } else {
+          entriesBuilder_.addAllMessages(values);
+        }
+        return this;
+      }
+      /**
+       * <code>repeated .BatchRpcEntry entries = 3;</code>
+       */
+      public Builder clearEntries() {
+        if (entriesBuilder_ == null) {
+          entries_ = java.util.Collections.emptyList();
+          bitField0_ = (bitField0_ & ~0x00000004);
+          onChanged();
+        } else {
+          entriesBuilder_.clear();
+        }
+        return this;
+      }
+      /**
+       * <code>repeated .BatchRpcEntry entries = 3;</code>
+       */
+      public Builder removeEntries(int index) {
+        if (entriesBuilder_ == null) {
+          ensureEntriesIsMutable();
+          entries_.remove(index);
+          onChanged();
+        } else {
+          entriesBuilder_.remove(index);
+        }
+        return this;
+      }
+      /**
+       * <code>repeated .BatchRpcEntry entries = 3;</code>
+       */
+      public org.opennms.core.rpc.batch.model.BatchRpcProtos.BatchRpcEntry.Builder getEntriesBuilder(
+          int index) {
+        return getEntriesFieldBuilder().getBuilder(index);
+      }
+      /**
+       * <code>repeated .BatchRpcEntry entries = 3;</code>
+       */
+      public org.opennms.core.rpc.batch.model.BatchRpcProtos.BatchRpcEntryOrBuilder getEntriesOrBuilder(
+          int index) {
+        if (entriesBuilder_ == null) {
+          return entries_.get(index);  } else {
+          return entriesBuilder_.getMessageOrBuilder(index);
+        }
+      }
+      /**
+       * <code>repeated .BatchRpcEntry entries = 3;</code>
+       */
+      public java.util.List<? extends org.opennms.core.rpc.batch.model.BatchRpcProtos.BatchRpcEntryOrBuilder> 
+           getEntriesOrBuilderList() {
+        if (entriesBuilder_ != null) {
+          return entriesBuilder_.getMessageOrBuilderList();
+        } else {
+          return java.util.Collections.unmodifiableList(entries_);
+        }
+      }
+      /**
+       * <code>repeated .BatchRpcEntry entries = 3;</code>
+       */
+      public org.opennms.core.rpc.batch.model.BatchRpcProtos.BatchRpcEntry.Builder addEntriesBuilder() {
+        return getEntriesFieldBuilder().addBuilder(
+            org.opennms.core.rpc.batch.model.BatchRpcProtos.BatchRpcEntry.getDefaultInstance());
+      }
+      /**
+       * <code>repeated .BatchRpcEntry entries = 3;</code>
+       */
+      public org.opennms.core.rpc.batch.model.BatchRpcProtos.BatchRpcEntry.Builder addEntriesBuilder(
+          int index) {
+        return getEntriesFieldBuilder().addBuilder(
+            index, org.opennms.core.rpc.batch.model.BatchRpcProtos.BatchRpcEntry.getDefaultInstance());
+      }
+      /**
+       * <code>repeated .BatchRpcEntry entries = 3;</code>
+       */
+      public java.util.List<org.opennms.core.rpc.batch.model.BatchRpcProtos.BatchRpcEntry.Builder> 
+           getEntriesBuilderList() {
+        return getEntriesFieldBuilder().getBuilderList();
+      }
+      private com.google.protobuf.RepeatedFieldBuilderV3<
+          org.opennms.core.rpc.batch.model.BatchRpcProtos.BatchRpcEntry, org.opennms.core.rpc.batch.model.BatchRpcProtos.BatchRpcEntry.Builder, org.opennms.core.rpc.batch.model.BatchRpcProtos.BatchRpcEntryOrBuilder> 
+          getEntriesFieldBuilder() {
+        if (entriesBuilder_ == null) {
+          entriesBuilder_ = new com.google.protobuf.RepeatedFieldBuilderV3<
+              org.opennms.core.rpc.batch.model.BatchRpcProtos.BatchRpcEntry, org.opennms.core.rpc.batch.model.BatchRpcProtos.BatchRpcEntry.Builder, org.opennms.core.rpc.batch.model.BatchRpcProtos.BatchRpcEntryOrBuilder>(
+                  entries_,
+                  ((bitField0_ & 0x00000004) != 0),
+                  getParentForChildren(),
+                  isClean());
+          entries_ = null;
+        }
+        return entriesBuilder_;
+      }
+      @java.lang.Override
+      public final Builder setUnknownFields(
+          final com.google.protobuf.UnknownFieldSet unknownFields) {
+        return super.setUnknownFields(unknownFields);
+      }
+
+      @java.lang.Override
+      public final Builder mergeUnknownFields(
+          final com.google.protobuf.UnknownFieldSet unknownFields) {
+        return super.mergeUnknownFields(unknownFields);
+      }
+
+
+      // @@protoc_insertion_point(builder_scope:BatchRpcRequest)
+    }
+
+    // @@protoc_insertion_point(class_scope:BatchRpcRequest)
+    private static final org.opennms.core.rpc.batch.model.BatchRpcProtos.BatchRpcRequest DEFAULT_INSTANCE;
+    static {
+      DEFAULT_INSTANCE = new org.opennms.core.rpc.batch.model.BatchRpcProtos.BatchRpcRequest();
+    }
+
+    public static org.opennms.core.rpc.batch.model.BatchRpcProtos.BatchRpcRequest getDefaultInstance() {
+      return DEFAULT_INSTANCE;
+    }
+
+    private static final com.google.protobuf.Parser<BatchRpcRequest>
+        PARSER = new com.google.protobuf.AbstractParser<BatchRpcRequest>() {
+      @java.lang.Override
+      public BatchRpcRequest parsePartialFrom(
+          com.google.protobuf.CodedInputStream input,
+          com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+          throws com.google.protobuf.InvalidProtocolBufferException {
+        Builder builder = newBuilder();
+        try {
+          builder.mergeFrom(input, extensionRegistry);
+        } catch (com.google.protobuf.InvalidProtocolBufferException e) {
+          throw e.setUnfinishedMessage(builder.buildPartial());
+        } catch (com.google.protobuf.UninitializedMessageException e) {
+          throw e.asInvalidProtocolBufferException().setUnfinishedMessage(builder.buildPartial());
+        } catch (java.io.IOException e) {
+          throw new com.google.protobuf.InvalidProtocolBufferException(e)
+              .setUnfinishedMessage(builder.buildPartial());
+        }
+        return builder.buildPartial();
+      }
+    };
+
+    public static com.google.protobuf.Parser<BatchRpcRequest> parser() {
+      return PARSER;
+    }
+
+    @java.lang.Override
+    public com.google.protobuf.Parser<BatchRpcRequest> getParserForType() {
+      return PARSER;
+    }
+
+    @java.lang.Override
+    public org.opennms.core.rpc.batch.model.BatchRpcProtos.BatchRpcRequest getDefaultInstanceForType() {
+      return DEFAULT_INSTANCE;
+    }
+
+  }
+
+  public interface BatchRpcResponseOrBuilder extends
+      // @@protoc_insertion_point(interface_extends:BatchRpcResponse)
+      com.google.protobuf.MessageOrBuilder {
+
+    /**
+     * <code>optional string error = 1;</code>
+     * @return Whether the error field is set.
+     */
+    boolean hasError();
+    /**
+     * <code>optional string error = 1;</code>
+     * @return The error.
+     */
+    java.lang.String getError();
+    /**
+     * <code>optional string error = 1;</code>
+     * @return The bytes for error.
+     */
+    com.google.protobuf.ByteString
+        getErrorBytes();
+
+    /**
+     * <code>repeated .BatchRpcEntry entries = 2;</code>
+     */
+    java.util.List<org.opennms.core.rpc.batch.model.BatchRpcProtos.BatchRpcEntry> 
+        getEntriesList();
+    /**
+     * <code>repeated .BatchRpcEntry entries = 2;</code>
+     */
+    org.opennms.core.rpc.batch.model.BatchRpcProtos.BatchRpcEntry getEntries(int index);
+    /**
+     * <code>repeated .BatchRpcEntry entries = 2;</code>
+     */
+    int getEntriesCount();
+    /**
+     * <code>repeated .BatchRpcEntry entries = 2;</code>
+     */
+    java.util.List<? extends org.opennms.core.rpc.batch.model.BatchRpcProtos.BatchRpcEntryOrBuilder> 
+        getEntriesOrBuilderList();
+    /**
+     * <code>repeated .BatchRpcEntry entries = 2;</code>
+     */
+    org.opennms.core.rpc.batch.model.BatchRpcProtos.BatchRpcEntryOrBuilder getEntriesOrBuilder(
+        int index);
+  }
+  /**
+   * Protobuf type {@code BatchRpcResponse}
+   */
+  public static final class BatchRpcResponse extends
+      com.google.protobuf.GeneratedMessageV3 implements
+      // @@protoc_insertion_point(message_implements:BatchRpcResponse)
+      BatchRpcResponseOrBuilder {
+  private static final long serialVersionUID = 0L;
+    // Use BatchRpcResponse.newBuilder() to construct.
+    private BatchRpcResponse(com.google.protobuf.GeneratedMessageV3.Builder<?> builder) {
+      super(builder);
+    }
+    private BatchRpcResponse() {
+      error_ = "";
+      entries_ = java.util.Collections.emptyList();
+    }
+
+    @java.lang.Override
+    @SuppressWarnings({"unused"})
+    protected java.lang.Object newInstance(
+        UnusedPrivateParameter unused) {
+      return new BatchRpcResponse();
+    }
+
+    public static final com.google.protobuf.Descriptors.Descriptor
+        getDescriptor() {
+      return org.opennms.core.rpc.batch.model.BatchRpcProtos.internal_static_BatchRpcResponse_descriptor;
+    }
+
+    @java.lang.Override
+    protected com.google.protobuf.GeneratedMessageV3.FieldAccessorTable
+        internalGetFieldAccessorTable() {
+      return org.opennms.core.rpc.batch.model.BatchRpcProtos.internal_static_BatchRpcResponse_fieldAccessorTable
+          .ensureFieldAccessorsInitialized(
+              org.opennms.core.rpc.batch.model.BatchRpcProtos.BatchRpcResponse.class, org.opennms.core.rpc.batch.model.BatchRpcProtos.BatchRpcResponse.Builder.class);
+    }
+
+    private int bitField0_;
+    public static final int ERROR_FIELD_NUMBER = 1;
+    @SuppressWarnings("serial")
+    private volatile java.lang.Object error_ = "";
+    /**
+     * <code>optional string error = 1;</code>
+     * @return Whether the error field is set.
+     */
+    @java.lang.Override
+    public boolean hasError() {
+      return ((bitField0_ & 0x00000001) != 0);
+    }
+    /**
+     * <code>optional string error = 1;</code>
+     * @return The error.
+     */
+    @java.lang.Override
+    public java.lang.String getError() {
+      java.lang.Object ref = error_;
+      if (ref instanceof java.lang.String) {
+        return (java.lang.String) ref;
+      } else {
+        com.google.protobuf.ByteString bs = 
+            (com.google.protobuf.ByteString) ref;
+        java.lang.String s = bs.toStringUtf8();
+        error_ = s;
+        return s;
+      }
+    }
+    /**
+     * <code>optional string error = 1;</code>
+     * @return The bytes for error.
+     */
+    @java.lang.Override
+    public com.google.protobuf.ByteString
+        getErrorBytes() {
+      java.lang.Object ref = error_;
+      if (ref instanceof java.lang.String) {
+        com.google.protobuf.ByteString b = 
+            com.google.protobuf.ByteString.copyFromUtf8(
+                (java.lang.String) ref);
+        error_ = b;
+        return b;
+      } else {
+        return (com.google.protobuf.ByteString) ref;
+      }
+    }
+
+    public static final int ENTRIES_FIELD_NUMBER = 2;
+    @SuppressWarnings("serial")
+    private java.util.List<org.opennms.core.rpc.batch.model.BatchRpcProtos.BatchRpcEntry> entries_;
+    /**
+     * <code>repeated .BatchRpcEntry entries = 2;</code>
+     */
+    @java.lang.Override
+    public java.util.List<org.opennms.core.rpc.batch.model.BatchRpcProtos.BatchRpcEntry> getEntriesList() {
+      return entries_;
+    }
+    /**
+     * <code>repeated .BatchRpcEntry entries = 2;</code>
+     */
+    @java.lang.Override
+    public java.util.List<? extends org.opennms.core.rpc.batch.model.BatchRpcProtos.BatchRpcEntryOrBuilder> 
+        getEntriesOrBuilderList() {
+      return entries_;
+    }
+    /**
+     * <code>repeated .BatchRpcEntry entries = 2;</code>
+     */
+    @java.lang.Override
+    public int getEntriesCount() {
+      return entries_.size();
+    }
+    /**
+     * <code>repeated .BatchRpcEntry entries = 2;</code>
+     */
+    @java.lang.Override
+    public org.opennms.core.rpc.batch.model.BatchRpcProtos.BatchRpcEntry getEntries(int index) {
+      return entries_.get(index);
+    }
+    /**
+     * <code>repeated .BatchRpcEntry entries = 2;</code>
+     */
+    @java.lang.Override
+    public org.opennms.core.rpc.batch.model.BatchRpcProtos.BatchRpcEntryOrBuilder getEntriesOrBuilder(
+        int index) {
+      return entries_.get(index);
+    }
+
+    private byte memoizedIsInitialized = -1;
+    @java.lang.Override
+    public final boolean isInitialized() {
+      byte isInitialized = memoizedIsInitialized;
+      if (isInitialized == 1) return true;
+      if (isInitialized == 0) return false;
+
+      memoizedIsInitialized = 1;
+      return true;
+    }
+
+    @java.lang.Override
+    public void writeTo(com.google.protobuf.CodedOutputStream output)
+                        throws java.io.IOException {
+      if (((bitField0_ & 0x00000001) != 0)) {
+        com.google.protobuf.GeneratedMessageV3.writeString(output, 1, error_);
+      }
+      for (int i = 0; i < entries_.size(); i++) {
+        output.writeMessage(2, entries_.get(i));
+      }
+      getUnknownFields().writeTo(output);
+    }
+
+    @java.lang.Override
+    public int getSerializedSize() {
+      int size = memoizedSize;
+      if (size != -1) return size;
+
+      size = 0;
+      if (((bitField0_ & 0x00000001) != 0)) {
+        size += com.google.protobuf.GeneratedMessageV3.computeStringSize(1, error_);
+      }
+      for (int i = 0; i < entries_.size(); i++) {
+        size += com.google.protobuf.CodedOutputStream
+          .computeMessageSize(2, entries_.get(i));
+      }
+      size += getUnknownFields().getSerializedSize();
+      memoizedSize = size;
+      return size;
+    }
+
+    @java.lang.Override
+    public boolean equals(final java.lang.Object obj) {
+      if (obj == this) {
+       return true;
+      }
+      if (!(obj instanceof org.opennms.core.rpc.batch.model.BatchRpcProtos.BatchRpcResponse)) {
+        return super.equals(obj);
+      }
+      org.opennms.core.rpc.batch.model.BatchRpcProtos.BatchRpcResponse other = (org.opennms.core.rpc.batch.model.BatchRpcProtos.BatchRpcResponse) obj;
+
+      if (hasError() != other.hasError()) return false;
+      if (hasError()) {
+        if (!getError()
+            .equals(other.getError())) return false;
+      }
+      if (!getEntriesList()
+          .equals(other.getEntriesList())) return false;
+      if (!getUnknownFields().equals(other.getUnknownFields())) return false;
+      return true;
+    }
+
+    @java.lang.Override
+    public int hashCode() {
+      if (memoizedHashCode != 0) {
+        return memoizedHashCode;
+      }
+      int hash = 41;
+      hash = (19 * hash) + getDescriptor().hashCode();
+      if (hasError()) {
+        hash = (37 * hash) + ERROR_FIELD_NUMBER;
+        hash = (53 * hash) + getError().hashCode();
+      }
+      if (getEntriesCount() > 0) {
+        hash = (37 * hash) + ENTRIES_FIELD_NUMBER;
+        hash = (53 * hash) + getEntriesList().hashCode();
+      }
+      hash = (29 * hash) + getUnknownFields().hashCode();
+      memoizedHashCode = hash;
+      return hash;
+    }
+
+    public static org.opennms.core.rpc.batch.model.BatchRpcProtos.BatchRpcResponse parseFrom(
+        java.nio.ByteBuffer data)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      return PARSER.parseFrom(data);
+    }
+    public static org.opennms.core.rpc.batch.model.BatchRpcProtos.BatchRpcResponse parseFrom(
+        java.nio.ByteBuffer data,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      return PARSER.parseFrom(data, extensionRegistry);
+    }
+    public static org.opennms.core.rpc.batch.model.BatchRpcProtos.BatchRpcResponse parseFrom(
+        com.google.protobuf.ByteString data)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      return PARSER.parseFrom(data);
+    }
+    public static org.opennms.core.rpc.batch.model.BatchRpcProtos.BatchRpcResponse parseFrom(
+        com.google.protobuf.ByteString data,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      return PARSER.parseFrom(data, extensionRegistry);
+    }
+    public static org.opennms.core.rpc.batch.model.BatchRpcProtos.BatchRpcResponse parseFrom(byte[] data)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      return PARSER.parseFrom(data);
+    }
+    public static org.opennms.core.rpc.batch.model.BatchRpcProtos.BatchRpcResponse parseFrom(
+        byte[] data,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      return PARSER.parseFrom(data, extensionRegistry);
+    }
+    public static org.opennms.core.rpc.batch.model.BatchRpcProtos.BatchRpcResponse parseFrom(java.io.InputStream input)
+        throws java.io.IOException {
+      return com.google.protobuf.GeneratedMessageV3
+          .parseWithIOException(PARSER, input);
+    }
+    public static org.opennms.core.rpc.batch.model.BatchRpcProtos.BatchRpcResponse parseFrom(
+        java.io.InputStream input,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws java.io.IOException {
+      return com.google.protobuf.GeneratedMessageV3
+          .parseWithIOException(PARSER, input, extensionRegistry);
+    }
+    public static org.opennms.core.rpc.batch.model.BatchRpcProtos.BatchRpcResponse parseDelimitedFrom(java.io.InputStream input)
+        throws java.io.IOException {
+      return com.google.protobuf.GeneratedMessageV3
+          .parseDelimitedWithIOException(PARSER, input);
+    }
+    public static org.opennms.core.rpc.batch.model.BatchRpcProtos.BatchRpcResponse parseDelimitedFrom(
+        java.io.InputStream input,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws java.io.IOException {
+      return com.google.protobuf.GeneratedMessageV3
+          .parseDelimitedWithIOException(PARSER, input, extensionRegistry);
+    }
+    public static org.opennms.core.rpc.batch.model.BatchRpcProtos.BatchRpcResponse parseFrom(
+        com.google.protobuf.CodedInputStream input)
+        throws java.io.IOException {
+      return com.google.protobuf.GeneratedMessageV3
+          .parseWithIOException(PARSER, input);
+    }
+    public static org.opennms.core.rpc.batch.model.BatchRpcProtos.BatchRpcResponse parseFrom(
+        com.google.protobuf.CodedInputStream input,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws java.io.IOException {
+      return com.google.protobuf.GeneratedMessageV3
+          .parseWithIOException(PARSER, input, extensionRegistry);
+    }
+
+    @java.lang.Override
+    public Builder newBuilderForType() { return newBuilder(); }
+    public static Builder newBuilder() {
+      return DEFAULT_INSTANCE.toBuilder();
+    }
+    public static Builder newBuilder(org.opennms.core.rpc.batch.model.BatchRpcProtos.BatchRpcResponse prototype) {
+      return DEFAULT_INSTANCE.toBuilder().mergeFrom(prototype);
+    }
+    @java.lang.Override
+    public Builder toBuilder() {
+      return this == DEFAULT_INSTANCE
+          ? new Builder() : new Builder().mergeFrom(this);
+    }
+
+    @java.lang.Override
+    protected Builder newBuilderForType(
+        com.google.protobuf.GeneratedMessageV3.BuilderParent parent) {
+      Builder builder = new Builder(parent);
+      return builder;
+    }
+    /**
+     * Protobuf type {@code BatchRpcResponse}
+     */
+    public static final class Builder extends
+        com.google.protobuf.GeneratedMessageV3.Builder<Builder> implements
+        // @@protoc_insertion_point(builder_implements:BatchRpcResponse)
+        org.opennms.core.rpc.batch.model.BatchRpcProtos.BatchRpcResponseOrBuilder {
+      public static final com.google.protobuf.Descriptors.Descriptor
+          getDescriptor() {
+        return org.opennms.core.rpc.batch.model.BatchRpcProtos.internal_static_BatchRpcResponse_descriptor;
+      }
+
+      @java.lang.Override
+      protected com.google.protobuf.GeneratedMessageV3.FieldAccessorTable
+          internalGetFieldAccessorTable() {
+        return org.opennms.core.rpc.batch.model.BatchRpcProtos.internal_static_BatchRpcResponse_fieldAccessorTable
+            .ensureFieldAccessorsInitialized(
+                org.opennms.core.rpc.batch.model.BatchRpcProtos.BatchRpcResponse.class, org.opennms.core.rpc.batch.model.BatchRpcProtos.BatchRpcResponse.Builder.class);
+      }
+
+      // Construct using org.opennms.core.rpc.batch.model.BatchRpcProtos.BatchRpcResponse.newBuilder()
+      private Builder() {
+
+      }
+
+      private Builder(
+          com.google.protobuf.GeneratedMessageV3.BuilderParent parent) {
+        super(parent);
+
+      }
+      @java.lang.Override
+      public Builder clear() {
+        super.clear();
+        bitField0_ = 0;
+        error_ = "";
+        if (entriesBuilder_ == null) {
+          entries_ = java.util.Collections.emptyList();
+        } else {
+          entries_ = null;
+          entriesBuilder_.clear();
+        }
+        bitField0_ = (bitField0_ & ~0x00000002);
+        return this;
+      }
+
+      @java.lang.Override
+      public com.google.protobuf.Descriptors.Descriptor
+          getDescriptorForType() {
+        return org.opennms.core.rpc.batch.model.BatchRpcProtos.internal_static_BatchRpcResponse_descriptor;
+      }
+
+      @java.lang.Override
+      public org.opennms.core.rpc.batch.model.BatchRpcProtos.BatchRpcResponse getDefaultInstanceForType() {
+        return org.opennms.core.rpc.batch.model.BatchRpcProtos.BatchRpcResponse.getDefaultInstance();
+      }
+
+      @java.lang.Override
+      public org.opennms.core.rpc.batch.model.BatchRpcProtos.BatchRpcResponse build() {
+        org.opennms.core.rpc.batch.model.BatchRpcProtos.BatchRpcResponse result = buildPartial();
+        if (!result.isInitialized()) {
+          throw newUninitializedMessageException(result);
+        }
+        return result;
+      }
+
+      @java.lang.Override
+      public org.opennms.core.rpc.batch.model.BatchRpcProtos.BatchRpcResponse buildPartial() {
+        org.opennms.core.rpc.batch.model.BatchRpcProtos.BatchRpcResponse result = new org.opennms.core.rpc.batch.model.BatchRpcProtos.BatchRpcResponse(this);
+        buildPartialRepeatedFields(result);
+        if (bitField0_ != 0) { buildPartial0(result); }
+        onBuilt();
+        return result;
+      }
+
+      private void buildPartialRepeatedFields(org.opennms.core.rpc.batch.model.BatchRpcProtos.BatchRpcResponse result) {
+        if (entriesBuilder_ == null) {
+          if (((bitField0_ & 0x00000002) != 0)) {
+            entries_ = java.util.Collections.unmodifiableList(entries_);
+            bitField0_ = (bitField0_ & ~0x00000002);
+          }
+          result.entries_ = entries_;
+        } else {
+          result.entries_ = entriesBuilder_.build();
+        }
+      }
+
+      private void buildPartial0(org.opennms.core.rpc.batch.model.BatchRpcProtos.BatchRpcResponse result) {
+        int from_bitField0_ = bitField0_;
+        int to_bitField0_ = 0;
+        if (((from_bitField0_ & 0x00000001) != 0)) {
+          result.error_ = error_;
+          to_bitField0_ |= 0x00000001;
+        }
+        result.bitField0_ |= to_bitField0_;
+      }
+
+      @java.lang.Override
+      public Builder mergeFrom(com.google.protobuf.Message other) {
+        if (other instanceof org.opennms.core.rpc.batch.model.BatchRpcProtos.BatchRpcResponse) {
+          return mergeFrom((org.opennms.core.rpc.batch.model.BatchRpcProtos.BatchRpcResponse)other);
+        } else {
+          super.mergeFrom(other);
+          return this;
+        }
+      }
+
+      public Builder mergeFrom(org.opennms.core.rpc.batch.model.BatchRpcProtos.BatchRpcResponse other) {
+        if (other == org.opennms.core.rpc.batch.model.BatchRpcProtos.BatchRpcResponse.getDefaultInstance()) return this;
+        if (other.hasError()) {
+          error_ = other.error_;
+          bitField0_ |= 0x00000001;
+          onChanged();
+        }
+        if (entriesBuilder_ == null) {
+          if (!other.entries_.isEmpty()) {
+            if (entries_.isEmpty()) {
+              entries_ = other.entries_;
+              bitField0_ = (bitField0_ & ~0x00000002);
+            } else {
+              ensureEntriesIsMutable();
+              entries_.addAll(other.entries_);
+            }
+            onChanged();
+          }
+        } else {
+          if (!other.entries_.isEmpty()) {
+            if (entriesBuilder_.isEmpty()) {
+              entriesBuilder_.dispose();
+              entriesBuilder_ = null;
+              entries_ = other.entries_;
+              bitField0_ = (bitField0_ & ~0x00000002);
+              entriesBuilder_ = 
+                com.google.protobuf.GeneratedMessageV3.alwaysUseFieldBuilders ?
+                   getEntriesFieldBuilder() : null;
+            } else {
+              entriesBuilder_.addAllMessages(other.entries_);
+            }
+          }
+        }
+        this.mergeUnknownFields(other.getUnknownFields());
+        onChanged();
+        return this;
+      }
+
+      @java.lang.Override
+      public final boolean isInitialized() {
+        return true;
+      }
+
+      @java.lang.Override
+      public Builder mergeFrom(
+          com.google.protobuf.CodedInputStream input,
+          com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+          throws java.io.IOException {
+        if (extensionRegistry == null) {
+          throw new java.lang.NullPointerException();
+        }
+        try {
+          boolean done = false;
+          while (!done) {
+            int tag = input.readTag();
+            switch (tag) {
+              case 0:
+                done = true;
+                break;
+              case 10: {
+                error_ = input.readStringRequireUtf8();
+                bitField0_ |= 0x00000001;
+                break;
+              } // case 10
+              case 18: {
+                org.opennms.core.rpc.batch.model.BatchRpcProtos.BatchRpcEntry m =
+                    input.readMessage(
+                        org.opennms.core.rpc.batch.model.BatchRpcProtos.BatchRpcEntry.parser(),
+                        extensionRegistry);
+                if (entriesBuilder_ == null) {
+                  ensureEntriesIsMutable();
+                  entries_.add(m);
+                } else {
+                  entriesBuilder_.addMessage(m);
+                }
+                break;
+              } // case 18
+              default: {
+                if (!super.parseUnknownField(input, extensionRegistry, tag)) {
+                  done = true; // was an endgroup tag
+                }
+                break;
+              } // default:
+            } // switch (tag)
+          } // while (!done)
+        } catch (com.google.protobuf.InvalidProtocolBufferException e) {
+          throw e.unwrapIOException();
+        } finally {
+          onChanged();
+        } // finally
+        return this;
+      }
+      private int bitField0_;
+
+      private java.lang.Object error_ = "";
+      /**
+       * <code>optional string error = 1;</code>
+       * @return Whether the error field is set.
+       */
+      public boolean hasError() {
+        return ((bitField0_ & 0x00000001) != 0);
+      }
+      /**
+       * <code>optional string error = 1;</code>
+       * @return The error.
+       */
+      public java.lang.String getError() {
+        java.lang.Object ref = error_;
+        if (!(ref instanceof java.lang.String)) {
+          com.google.protobuf.ByteString bs =
+              (com.google.protobuf.ByteString) ref;
+          java.lang.String s = bs.toStringUtf8();
+          error_ = s;
+          return s;
+        } else {
+          return (java.lang.String) ref;
+        }
+      }
+      /**
+       * <code>optional string error = 1;</code>
+       * @return The bytes for error.
+       */
+      public com.google.protobuf.ByteString
+          getErrorBytes() {
+        java.lang.Object ref = error_;
+        if (ref instanceof String) {
+          com.google.protobuf.ByteString b = 
+              com.google.protobuf.ByteString.copyFromUtf8(
+                  (java.lang.String) ref);
+          error_ = b;
+          return b;
+        } else {
+          return (com.google.protobuf.ByteString) ref;
+        }
+      }
+      /**
+       * <code>optional string error = 1;</code>
+       * @param value The error to set.
+       * @return This builder for chaining.
+       */
+      public Builder setError(
+          java.lang.String value) {
+        if (value == null) { throw new NullPointerException(); }
+        error_ = value;
+        bitField0_ |= 0x00000001;
+        onChanged();
+        return this;
+      }
+      /**
+       * <code>optional string error = 1;</code>
+       * @return This builder for chaining.
+       */
+      public Builder clearError() {
+        error_ = getDefaultInstance().getError();
+        bitField0_ = (bitField0_ & ~0x00000001);
+        onChanged();
+        return this;
+      }
+      /**
+       * <code>optional string error = 1;</code>
+       * @param value The bytes for error to set.
+       * @return This builder for chaining.
+       */
+      public Builder setErrorBytes(
+          com.google.protobuf.ByteString value) {
+        if (value == null) { throw new NullPointerException(); }
+        checkByteStringIsUtf8(value);
+        error_ = value;
+        bitField0_ |= 0x00000001;
+        onChanged();
+        return this;
+      }
+
+      private java.util.List<org.opennms.core.rpc.batch.model.BatchRpcProtos.BatchRpcEntry> entries_ =
+        java.util.Collections.emptyList();
+      private void ensureEntriesIsMutable() {
+        if (!((bitField0_ & 0x00000002) != 0)) {
+          entries_ = new java.util.ArrayList<org.opennms.core.rpc.batch.model.BatchRpcProtos.BatchRpcEntry>(entries_);
+          bitField0_ |= 0x00000002;
+         }
+      }
+
+      private com.google.protobuf.RepeatedFieldBuilderV3<
+          org.opennms.core.rpc.batch.model.BatchRpcProtos.BatchRpcEntry, org.opennms.core.rpc.batch.model.BatchRpcProtos.BatchRpcEntry.Builder, org.opennms.core.rpc.batch.model.BatchRpcProtos.BatchRpcEntryOrBuilder> entriesBuilder_;
+
+      /**
+       * <code>repeated .BatchRpcEntry entries = 2;</code>
+       */
+      public java.util.List<org.opennms.core.rpc.batch.model.BatchRpcProtos.BatchRpcEntry> getEntriesList() {
+        if (entriesBuilder_ == null) {
+          return java.util.Collections.unmodifiableList(entries_);
+        } else {
+          return entriesBuilder_.getMessageList();
+        }
+      }
+      /**
+       * <code>repeated .BatchRpcEntry entries = 2;</code>
+       */
+      public int getEntriesCount() {
+        if (entriesBuilder_ == null) {
+          return entries_.size();
+        } else {
+          return entriesBuilder_.getCount();
+        }
+      }
+      /**
+       * <code>repeated .BatchRpcEntry entries = 2;</code>
+       */
+      public org.opennms.core.rpc.batch.model.BatchRpcProtos.BatchRpcEntry getEntries(int index) {
+        if (entriesBuilder_ == null) {
+          return entries_.get(index);
+        } else {
+          return entriesBuilder_.getMessage(index);
+        }
+      }
+      /**
+       * <code>repeated .BatchRpcEntry entries = 2;</code>
+       */
+      public Builder setEntries(
+          int index, org.opennms.core.rpc.batch.model.BatchRpcProtos.BatchRpcEntry value) {
+        if (entriesBuilder_ == null) {
+          if (value == null) {
+            throw new NullPointerException();
+          }
+          ensureEntriesIsMutable();
+          entries_.set(index, value);
+          onChanged();
+        } else {
+          entriesBuilder_.setMessage(index, value);
+        }
+        return this;
+      }
+      /**
+       * <code>repeated .BatchRpcEntry entries = 2;</code>
+       */
+      public Builder setEntries(
+          int index, org.opennms.core.rpc.batch.model.BatchRpcProtos.BatchRpcEntry.Builder builderForValue) {
+        if (entriesBuilder_ == null) {
+          ensureEntriesIsMutable();
+          entries_.set(index, builderForValue.build());
+          onChanged();
+        } else {
+          entriesBuilder_.setMessage(index, builderForValue.build());
+        }
+        return this;
+      }
+      /**
+       * <code>repeated .BatchRpcEntry entries = 2;</code>
+       */
+      public Builder addEntries(org.opennms.core.rpc.batch.model.BatchRpcProtos.BatchRpcEntry value) {
+        if (entriesBuilder_ == null) {
+          if (value == null) {
+            throw new NullPointerException();
+          }
+          ensureEntriesIsMutable();
+          entries_.add(value);
+          onChanged();
+        } else {
+          entriesBuilder_.addMessage(value);
+        }
+        return this;
+      }
+      /**
+       * <code>repeated .BatchRpcEntry entries = 2;</code>
+       */
+      public Builder addEntries(
+          int index, org.opennms.core.rpc.batch.model.BatchRpcProtos.BatchRpcEntry value) {
+        if (entriesBuilder_ == null) {
+          if (value == null) {
+            throw new NullPointerException();
+          }
+          ensureEntriesIsMutable();
+          entries_.add(index, value);
+          onChanged();
+        } else {
+          entriesBuilder_.addMessage(index, value);
+        }
+        return this;
+      }
+      /**
+       * <code>repeated .BatchRpcEntry entries = 2;</code>
+       */
+      public Builder addEntries(
+          org.opennms.core.rpc.batch.model.BatchRpcProtos.BatchRpcEntry.Builder builderForValue) {
+        if (entriesBuilder_ == null) {
+          ensureEntriesIsMutable();
+          entries_.add(builderForValue.build());
+          onChanged();
+        } else {
+          entriesBuilder_.addMessage(builderForValue.build());
+        }
+        return this;
+      }
+      /**
+       * <code>repeated .BatchRpcEntry entries = 2;</code>
+       */
+      public Builder addEntries(
+          int index, org.opennms.core.rpc.batch.model.BatchRpcProtos.BatchRpcEntry.Builder builderForValue) {
+        if (entriesBuilder_ == null) {
+          ensureEntriesIsMutable();
+          entries_.add(index, builderForValue.build());
+          onChanged();
+        } else {
+          entriesBuilder_.addMessage(index, builderForValue.build());
+        }
+        return this;
+      }
+      /**
+       * <code>repeated .BatchRpcEntry entries = 2;</code>
+       */
+      public Builder addAllEntries(
+          java.lang.Iterable<? extends org.opennms.core.rpc.batch.model.BatchRpcProtos.BatchRpcEntry> values) {
+        if (entriesBuilder_ == null) {
+          ensureEntriesIsMutable();
+          com.google.protobuf.AbstractMessageLite.Builder.addAll(
+              values, entries_);
+          onChanged();
+        } else {
+          entriesBuilder_.addAllMessages(values);
+        }
+        return this;
+      }
+      /**
+       * <code>repeated .BatchRpcEntry entries = 2;</code>
+       */
+      public Builder clearEntries() {
+        if (entriesBuilder_ == null) {
+          entries_ = java.util.Collections.emptyList();
+          bitField0_ = (bitField0_ & ~0x00000002);
+          onChanged();
+        } else {
+          entriesBuilder_.clear();
+        }
+        return this;
+      }
+      /**
+       * <code>repeated .BatchRpcEntry entries = 2;</code>
+       */
+      public Builder removeEntries(int index) {
+        if (entriesBuilder_ == null) {
+          ensureEntriesIsMutable();
+          entries_.remove(index);
+          onChanged();
+        } else {
+          entriesBuilder_.remove(index);
+        }
+        return this;
+      }
+      /**
+       * <code>repeated .BatchRpcEntry entries = 2;</code>
+       */
+      public org.opennms.core.rpc.batch.model.BatchRpcProtos.BatchRpcEntry.Builder getEntriesBuilder(
+          int index) {
+        return getEntriesFieldBuilder().getBuilder(index);
+      }
+      /**
+       * <code>repeated .BatchRpcEntry entries = 2;</code>
+       */
+      public org.opennms.core.rpc.batch.model.BatchRpcProtos.BatchRpcEntryOrBuilder getEntriesOrBuilder(
+          int index) {
+        if (entriesBuilder_ == null) {
+          return entries_.get(index);  } else {
+          return entriesBuilder_.getMessageOrBuilder(index);
+        }
+      }
+      /**
+       * <code>repeated .BatchRpcEntry entries = 2;</code>
+       */
+      public java.util.List<? extends org.opennms.core.rpc.batch.model.BatchRpcProtos.BatchRpcEntryOrBuilder> 
+           getEntriesOrBuilderList() {
+        if (entriesBuilder_ != null) {
+          return entriesBuilder_.getMessageOrBuilderList();
+        } else {
+          return java.util.Collections.unmodifiableList(entries_);
+        }
+      }
+      /**
+       * <code>repeated .BatchRpcEntry entries = 2;</code>
+       */
+      public org.opennms.core.rpc.batch.model.BatchRpcProtos.BatchRpcEntry.Builder addEntriesBuilder() {
+        return getEntriesFieldBuilder().addBuilder(
+            org.opennms.core.rpc.batch.model.BatchRpcProtos.BatchRpcEntry.getDefaultInstance());
+      }
+      /**
+       * <code>repeated .BatchRpcEntry entries = 2;</code>
+       */
+      public org.opennms.core.rpc.batch.model.BatchRpcProtos.BatchRpcEntry.Builder addEntriesBuilder(
+          int index) {
+        return getEntriesFieldBuilder().addBuilder(
+            index, org.opennms.core.rpc.batch.model.BatchRpcProtos.BatchRpcEntry.getDefaultInstance());
+      }
+      /**
+       * <code>repeated .BatchRpcEntry entries = 2;</code>
+       */
+      public java.util.List<org.opennms.core.rpc.batch.model.BatchRpcProtos.BatchRpcEntry.Builder> 
+           getEntriesBuilderList() {
+        return getEntriesFieldBuilder().getBuilderList();
+      }
+      private com.google.protobuf.RepeatedFieldBuilderV3<
+          org.opennms.core.rpc.batch.model.BatchRpcProtos.BatchRpcEntry, org.opennms.core.rpc.batch.model.BatchRpcProtos.BatchRpcEntry.Builder, org.opennms.core.rpc.batch.model.BatchRpcProtos.BatchRpcEntryOrBuilder> 
+          getEntriesFieldBuilder() {
+        if (entriesBuilder_ == null) {
+          entriesBuilder_ = new com.google.protobuf.RepeatedFieldBuilderV3<
+              org.opennms.core.rpc.batch.model.BatchRpcProtos.BatchRpcEntry, org.opennms.core.rpc.batch.model.BatchRpcProtos.BatchRpcEntry.Builder, org.opennms.core.rpc.batch.model.BatchRpcProtos.BatchRpcEntryOrBuilder>(
+                  entries_,
+                  ((bitField0_ & 0x00000002) != 0),
+                  getParentForChildren(),
+                  isClean());
+          entries_ = null;
+        }
+        return entriesBuilder_;
+      }
+      @java.lang.Override
+      public final Builder setUnknownFields(
+          final com.google.protobuf.UnknownFieldSet unknownFields) {
+        return super.setUnknownFields(unknownFields);
+      }
+
+      @java.lang.Override
+      public final Builder mergeUnknownFields(
+          final com.google.protobuf.UnknownFieldSet unknownFields) {
+        return super.mergeUnknownFields(unknownFields);
+      }
+
+
+      // @@protoc_insertion_point(builder_scope:BatchRpcResponse)
+    }
+
+    // @@protoc_insertion_point(class_scope:BatchRpcResponse)
+    private static final org.opennms.core.rpc.batch.model.BatchRpcProtos.BatchRpcResponse DEFAULT_INSTANCE;
+    static {
+      DEFAULT_INSTANCE = new org.opennms.core.rpc.batch.model.BatchRpcProtos.BatchRpcResponse();
+    }
+
+    public static org.opennms.core.rpc.batch.model.BatchRpcProtos.BatchRpcResponse getDefaultInstance() {
+      return DEFAULT_INSTANCE;
+    }
+
+    private static final com.google.protobuf.Parser<BatchRpcResponse>
+        PARSER = new com.google.protobuf.AbstractParser<BatchRpcResponse>() {
+      @java.lang.Override
+      public BatchRpcResponse parsePartialFrom(
+          com.google.protobuf.CodedInputStream input,
+          com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+          throws com.google.protobuf.InvalidProtocolBufferException {
+        Builder builder = newBuilder();
+        try {
+          builder.mergeFrom(input, extensionRegistry);
+        } catch (com.google.protobuf.InvalidProtocolBufferException e) {
+          throw e.setUnfinishedMessage(builder.buildPartial());
+        } catch (com.google.protobuf.UninitializedMessageException e) {
+          throw e.asInvalidProtocolBufferException().setUnfinishedMessage(builder.buildPartial());
+        } catch (java.io.IOException e) {
+          throw new com.google.protobuf.InvalidProtocolBufferException(e)
+              .setUnfinishedMessage(builder.buildPartial());
+        }
+        return builder.buildPartial();
+      }
+    };
+
+    public static com.google.protobuf.Parser<BatchRpcResponse> parser() {
+      return PARSER;
+    }
+
+    @java.lang.Override
+    public com.google.protobuf.Parser<BatchRpcResponse> getParserForType() {
+      return PARSER;
+    }
+
+    @java.lang.Override
+    public org.opennms.core.rpc.batch.model.BatchRpcProtos.BatchRpcResponse getDefaultInstanceForType() {
+      return DEFAULT_INSTANCE;
+    }
+
+  }
+
+  private static final com.google.protobuf.Descriptors.Descriptor
+    internal_static_BatchRpcEntry_descriptor;
+  private static final 
+    com.google.protobuf.GeneratedMessageV3.FieldAccessorTable
+      internal_static_BatchRpcEntry_fieldAccessorTable;
+  private static final com.google.protobuf.Descriptors.Descriptor
+    internal_static_BatchRpcRequest_descriptor;
+  private static final 
+    com.google.protobuf.GeneratedMessageV3.FieldAccessorTable
+      internal_static_BatchRpcRequest_fieldAccessorTable;
+  private static final com.google.protobuf.Descriptors.Descriptor
+    internal_static_BatchRpcResponse_descriptor;
+  private static final 
+    com.google.protobuf.GeneratedMessageV3.FieldAccessorTable
+      internal_static_BatchRpcResponse_fieldAccessorTable;
+
+  public static com.google.protobuf.Descriptors.FileDescriptor
+      getDescriptor() {
+    return descriptor;
+  }
+  private static  com.google.protobuf.Descriptors.FileDescriptor
+      descriptor;
+  static {
+    java.lang.String[] descriptorData = {
+      "\n\017batch-rpc.proto\"\245\001\n\rBatchRpcEntry\022\026\n\tm" +
+      "odule_id\030\001 \001(\tH\000\210\001\001\022\022\n\005error\030\002 \001(\tH\001\210\001\001\022" +
+      "\024\n\007content\030\003 \001(\tH\002\210\001\001\022\033\n\016binary_content\030" +
+      "\004 \001(\014H\003\210\001\001B\014\n\n_module_idB\010\n\006_errorB\n\n\010_c" +
+      "ontentB\021\n\017_binary_content\"|\n\017BatchRpcReq" +
+      "uest\022\025\n\010location\030\001 \001(\tH\000\210\001\001\022\026\n\tsystem_id" +
+      "\030\002 \001(\tH\001\210\001\001\022\037\n\007entries\030\003 \003(\0132\016.BatchRpcE" +
+      "ntryB\013\n\t_locationB\014\n\n_system_id\"Q\n\020Batch" +
+      "RpcResponse\022\022\n\005error\030\001 \001(\tH\000\210\001\001\022\037\n\007entri" +
+      "es\030\002 \003(\0132\016.BatchRpcEntryB\010\n\006_errorB2\n or" +
+      "g.opennms.core.rpc.batch.modelB\016BatchRpc" +
+      "Protosb\006proto3"
+    };
+    descriptor = com.google.protobuf.Descriptors.FileDescriptor
+      .internalBuildGeneratedFileFrom(descriptorData,
+        new com.google.protobuf.Descriptors.FileDescriptor[] {
+        });
+    internal_static_BatchRpcEntry_descriptor =
+      getDescriptor().getMessageTypes().get(0);
+    internal_static_BatchRpcEntry_fieldAccessorTable = new
+      com.google.protobuf.GeneratedMessageV3.FieldAccessorTable(
+        internal_static_BatchRpcEntry_descriptor,
+        new java.lang.String[] { "ModuleId", "Error", "Content", "BinaryContent", "ModuleId", "Error", "Content", "BinaryContent", });
+    internal_static_BatchRpcRequest_descriptor =
+      getDescriptor().getMessageTypes().get(1);
+    internal_static_BatchRpcRequest_fieldAccessorTable = new
+      com.google.protobuf.GeneratedMessageV3.FieldAccessorTable(
+        internal_static_BatchRpcRequest_descriptor,
+        new java.lang.String[] { "Location", "SystemId", "Entries", "Location", "SystemId", });
+    internal_static_BatchRpcResponse_descriptor =
+      getDescriptor().getMessageTypes().get(2);
+    internal_static_BatchRpcResponse_fieldAccessorTable = new
+      com.google.protobuf.GeneratedMessageV3.FieldAccessorTable(
+        internal_static_BatchRpcResponse_descriptor,
+        new java.lang.String[] { "Error", "Entries", "Error", });
+  }
+
+  // @@protoc_insertion_point(outer_class_scope)
+}
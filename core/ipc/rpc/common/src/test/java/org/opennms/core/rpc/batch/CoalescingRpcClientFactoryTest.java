@@ -0,0 +1,217 @@
+/*
+ * Licensed to The OpenNMS Group, Inc (TOG) under one or more
+ * contributor license agreements.  See the LICENSE.md file
+ * distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * TOG licenses this file to You under the GNU Affero General
+ * Public License Version 3 (the "License") or (at your option)
+ * any later version.  You may not use this file except in
+ * compliance with the License.  You may obtain a copy of the
+ * License at:
+ *
+ *      https://www.gnu.org/licenses/agpl-3.0.txt
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied.  See the License for the specific
+ * language governing permissions and limitations under the
+ * License.
+ */
+package org.opennms.core.rpc.batch;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.opennms.core.rpc.api.RemoteExecutionException;
+import org.opennms.core.rpc.api.RequestTimedOutException;
+import org.opennms.core.rpc.api.RpcClient;
+import org.opennms.core.rpc.api.RpcClientFactory;
+import org.opennms.core.rpc.api.RpcModule;
+import org.opennms.core.rpc.api.RpcRequest;
+import org.opennms.core.rpc.api.RpcResponse;
+import org.opennms.core.rpc.echo.EchoRequest;
+import org.opennms.core.rpc.echo.EchoResponse;
+import org.opennms.core.rpc.echo.EchoRpcModule;
+
+import com.codahale.metrics.MetricRegistry;
+
+public class CoalescingRpcClientFactoryTest {
+
+    private final BatchRpcModule serverBatchModule = new BatchRpcModule();
+
+    private final EchoRpcModule otherModule = new EchoRpcModule() {
+        @Override
+        public String getId() {
+            return "OtherEcho";
+        }
+    };
+
+    private final AtomicInteger batchesSent = new AtomicInteger();
+
+    private final AtomicInteger requestsSent = new AtomicInteger();
+
+    private final MetricRegistry metrics = new MetricRegistry();
+
+    private CoalescingRpcClientFactory factory;
+
+    @Before
+    public void setUp() {
+        serverBatchModule.bind(EchoRpcModule.INSTANCE);
+        serverBatchModule.bind(otherModule);
+
+        // Marshals and unmarshals everything, as a transport would
+        final RpcClientFactory transport = new RpcClientFactory() {
+            @Override
+            public <R extends RpcRequest, S extends RpcResponse> RpcClient<R, S> getClient(RpcModule<R, S> module) {
+                return request -> {
+                    if (BatchRpcModule.RPC_MODULE_ID.equals(module.getId())) {
+                        batchesSent.incrementAndGet();
+                        final BatchRpcRequest batch = serverBatchModule.unmarshalRequest(module.marshalRequest(request));
+                        return serverBatchModule.execute(batch)
+                                .thenApply(response -> module.unmarshalResponse(serverBatchModule.marshalResponse(response)));
+                    }
+                    requestsSent.incrementAndGet();
+                    return module.execute(module.unmarshalRequest(module.marshalRequest(request)))
+                            .thenApply(response -> module.unmarshalResponse(module.marshalResponse(response)));
+                };
+            }
+        };
+
+        factory = new CoalescingRpcClientFactory(transport);
+        factory.setEnabled(true);
+        factory.setLocation("Default");
+        factory.setMetrics(metrics);
+        factory.setLingerMs(TimeUnit.MINUTES.toMillis(1));
+        factory.setMaxBatchSize(3);
+        factory.setModules(EchoRpcModule.RPC_MODULE_ID + ", OtherEcho");
+        factory.start();
+    }
+
+    @After
+    public void tearDown() {
+        factory.stop();
+    }
+
+    @Test(timeout = 10000)
+    public void canCoalesceRequests() throws Exception {
+        final RpcClient<EchoRequest, EchoResponse> client = factory.getClient(EchoRpcModule.INSTANCE);
+        final List<CompletableFuture<EchoResponse>> futures = new ArrayList<>();
+        for (long i = 0; i < 3; i++) {
+            futures.add(client.execute(createRequest(i, "Remote")));
+        }
+
+        for (int i = 0; i < 3; i++) {
+            assertEquals(Long.valueOf(i), futures.get(i).get().getId());
+        }
+        assertEquals(1, batchesSent.get());
+        assertEquals(0, requestsSent.get());
+        assertEquals(3, metrics.histogram(MetricRegistry.name("Remote", BatchRpcModule.RPC_MODULE_ID, CoalescingRpcClientFactory.RPC_BATCH_SIZE))
+                .getSnapshot().getMax());
+        assertEquals(3, metrics.meter(MetricRegistry.name("Remote", EchoRpcModule.RPC_MODULE_ID, RpcClientFactory.RPC_REQUEST_SENT)).getCount());
+        assertEquals(3, metrics.histogram(MetricRegistry.name("Remote", EchoRpcModule.RPC_MODULE_ID, RpcClientFactory.RPC_DURATION)).getCount());
+    }
+
+    @Test(timeout = 10000)
+    public void failsRequestsIndividually() throws Exception {
+        final RpcClient<EchoRequest, EchoResponse> client = factory.getClient(EchoRpcModule.INSTANCE);
+        final CompletableFuture<EchoResponse> first = client.execute(createRequest(1L, "Remote"));
+        final EchoRequest failing = createRequest(2L, "Remote");
+        failing.shouldThrow(true);
+        final CompletableFuture<EchoResponse> second = client.execute(failing);
+        final CompletableFuture<EchoResponse> third = client.execute(createRequest(3L, "Remote"));
+
+        assertEquals(Long.valueOf(1L), first.get().getId());
+        assertEquals(Long.valueOf(3L), third.get().getId());
+        try {
+            second.get();
+            fail("The request should have failed.");
+        } catch (ExecutionException e) {
+            assertTrue(e.getCause() instanceof RemoteExecutionException);
+        }
+        assertEquals(1, metrics.meter(MetricRegistry.name("Remote", EchoRpcModule.RPC_MODULE_ID, RpcClientFactory.RPC_FAILED)).getCount());
+    }
+
+    @Test(timeout = 10000)
+    public void flushesAfterLingering() throws Exception {
+        factory.stop();
+        factory.setLingerMs(10);
+        factory.start();
+
+        final RpcClient<EchoRequest, EchoResponse> client = factory.getClient(EchoRpcModule.INSTANCE);
+        assertEquals(Long.valueOf(1L), client.execute(createRequest(1L, "Remote")).get().getId());
+        assertEquals(1, batchesSent.get());
+    }
+
+    @Test(timeout = 10000)
+    public void doesNotCoalesceLocalRequests() throws Exception {
+        final RpcClient<EchoRequest, EchoResponse> client = factory.getClient(EchoRpcModule.INSTANCE);
+        assertEquals(Long.valueOf(1L), client.execute(createRequest(1L, "Default")).get().getId());
+        assertEquals(Long.valueOf(2L), client.execute(createRequest(2L, null)).get().getId());
+        assertEquals(0, batchesSent.get());
+        assertEquals(2, requestsSent.get());
+    }
+
+    @Test(timeout = 10000)
+    public void doesNotMixModules() throws Exception {
+        factory.setMaxBatchSize(2);
+        final RpcClient<EchoRequest, EchoResponse> client = factory.getClient(EchoRpcModule.INSTANCE);
+        final RpcClient<EchoRequest, EchoResponse> otherClient = factory.getClient(otherModule);
+        final CompletableFuture<EchoResponse> first = client.execute(createRequest(1L, "Remote"));
+        final CompletableFuture<EchoResponse> other = otherClient.execute(createRequest(2L, "Remote"));
+        final CompletableFuture<EchoResponse> second = client.execute(createRequest(3L, "Remote"));
+
+        assertEquals(Long.valueOf(1L), first.get().getId());
+        assertEquals(Long.valueOf(3L), second.get().getId());
+        assertEquals(1, batchesSent.get());
+        assertFalse("The request of the other module was sent with the batch.", other.isDone());
+    }
+
+    @Test(timeout = 10000)
+    public void onlyCoalescesListedModules() throws Exception {
+        factory.setModules(EchoRpcModule.RPC_MODULE_ID);
+        final RpcClient<EchoRequest, EchoResponse> client = factory.getClient(otherModule);
+        assertEquals(Long.valueOf(1L), client.execute(createRequest(1L, "Remote")).get().getId());
+        assertEquals(0, batchesSent.get());
+        assertEquals(1, requestsSent.get());
+    }
+
+    @Test(timeout = 10000)
+    public void enforcesTheTimeToLiveOfEachRequest() throws Exception {
+        final RpcClient<EchoRequest, EchoResponse> client = factory.getClient(EchoRpcModule.INSTANCE);
+        final EchoRequest request = createRequest(1L, "Remote");
+        request.setTimeToLiveMs(50L);
+        final CompletableFuture<EchoResponse> expiring = client.execute(request);
+        // Lingers for a minute
+        final CompletableFuture<EchoResponse> lingering = client.execute(createRequest(2L, "Remote"));
+
+        try {
+            expiring.get();
+            fail("The request should have timed out.");
+        } catch (ExecutionException e) {
+            assertTrue(e.getCause() instanceof RequestTimedOutException);
+        }
+        assertFalse(lingering.isDone());
+        assertEquals(0, batchesSent.get());
+    }
+
+    private static EchoRequest createRequest(Long id, String location) {
+        final EchoRequest request = new EchoRequest("echo-" + id);
+        request.setId(id);
+        request.setLocation(location);
+        return request;
+    }
+}
@@ -21,17 +21,32 @@
  */
 package org.opennms.core.rpc.xml;
 
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Base64;
 import java.util.Objects;
 
 import org.opennms.core.rpc.api.RpcModule;
 import org.opennms.core.rpc.api.RpcRequest;
 import org.opennms.core.rpc.api.RpcResponse;
+import org.opennms.core.xml.BinaryCodec;
 import org.opennms.core.xml.XmlHandler;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 /**
  * {@link RpcModule} that uses JaxbUtils for marshaling and unmarshaling requests.
+ * <p>
+ * Modules can additionally provide {@link BinaryCodec}s for their requests and responses.
+ * Binary messages are Base64 encoded, since the transports exchange strings, and prefixed
+ * with {@link #BINARY_PREFIX}, which can never start a XML document, so both encodings are
+ * always accepted when unmarshaling.
+ * <p>
+ * Since requests may be sent to Minions which only understand XML, and responses may be sent
+ * to an older OpenNMS which only understands XML, both are only marshalled with the codec if the
+ * <code>org.opennms.core.ipc.rpc.&lt;module-id&gt;.format</code> system property is set to
+ * <code>binary</code>, or if the module defaults to it.
  *
  * @author jwhite
  */
@@ -39,9 +54,28 @@ public abstract class AbstractXmlRpcModule<S extends RpcRequest,T extends RpcRes
 
     private static final Logger LOG = LoggerFactory.getLogger(AbstractXmlRpcModule.class);
 
+    public static final String FORMAT_SYS_PROP_PREFIX = "org.opennms.core.ipc.rpc.";
+    public static final String FORMAT_SYS_PROP_SUFFIX = ".format";
+    public static final String FORMAT_XML = "xml";
+    public static final String FORMAT_BINARY = "binary";
+
+    /**
+     * Prefix of binary encoded messages, including the version of the encoding.
+     */
+    public static final String BINARY_PREFIX = "~1:";
+
     private final Class<S> requestClazz;
     private final Class<T> responseClazz;
 
+    private final BinaryCodec<S> requestCodec;
+    private final BinaryCodec<T> responseCodec;
+
+    /**
+     * The configured format, resolved on first use since the module id is not
+     * available while constructing. Empty if none is configured.
+     */
+    private volatile String format;
+
     /**
      * Store a thread-local reference to the {@link XmlHandler} because 
      * Unmarshalers are not thread-safe.
@@ -50,30 +84,95 @@ public abstract class AbstractXmlRpcModule<S extends RpcRequest,T extends RpcRes
     private final ThreadLocal<XmlHandler<T>> responseXmlHandler = new ThreadLocal<>();
 
     public AbstractXmlRpcModule(Class<S> requestClazz, Class<T> responseClazz) {
+        this(requestClazz, responseClazz, null, null);
+    }
+
+    public AbstractXmlRpcModule(Class<S> requestClazz, Class<T> responseClazz, BinaryCodec<S> requestCodec, BinaryCodec<T> responseCodec) {
         this.requestClazz = Objects.requireNonNull(requestClazz);
         this.responseClazz = Objects.requireNonNull(responseClazz);
+        this.requestCodec = requestCodec;
+        this.responseCodec = responseCodec;
     }
 
     @Override
     public String marshalRequest(S request) {
+        if (requestCodec != null && FORMAT_BINARY.equals(getMarshalFormat()) && requestCodec.canEncode(request)) {
+            return encode(requestCodec, request);
+        }
         return getRequestXmlHandler().marshal(request);
     }
 
     @Override
     public S unmarshalRequest(String requestXml) {
+        if (requestXml.startsWith(BINARY_PREFIX)) {
+            return decode(requestCodec, requestXml);
+        }
         return getRequestXmlHandler().unmarshal(requestXml);
     }
 
     @Override
     public String marshalResponse(T response) {
+        if (responseCodec != null && FORMAT_BINARY.equals(getMarshalFormat()) && responseCodec.canEncode(response)) {
+            return encode(responseCodec, response);
+        }
         return getResponseXmlHandler().marshal(response);
     }
 
     @Override
     public T unmarshalResponse(String response) {
+        if (response.startsWith(BINARY_PREFIX)) {
+            return decode(responseCodec, response);
+        }
         return getResponseXmlHandler().unmarshal(response);
     }
 
+    /**
+     * Returns the format used for requests and responses if the system property is not set.
+     */
+    protected String getDefaultFormat() {
+        return FORMAT_XML;
+    }
+
+    private String getMarshalFormat() {
+        final String configuredFormat = getFormat();
+        return configuredFormat.isEmpty() ? getDefaultFormat() : configuredFormat;
+    }
+
+    /**
+     * Returns the format configured for this module, or an empty string if none is configured.
+     */
+    private String getFormat() {
+        String configuredFormat = format;
+        if (configuredFormat == null) {
+            configuredFormat = System.getProperty(FORMAT_SYS_PROP_PREFIX + getId() + FORMAT_SYS_PROP_SUFFIX, "").trim().toLowerCase();
+            LOG.debug("Using format '{}' for RPC module {}.", configuredFormat, getId());
+            format = configuredFormat;
+        }
+        return configuredFormat;
+    }
+
+    private <W> String encode(BinaryCodec<W> codec, W message) {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream(256);
+        try {
+            codec.encode(message, out);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to encode message for RPC module " + getId(), e);
+        }
+        return BINARY_PREFIX + Base64.getEncoder().encodeToString(out.toByteArray());
+    }
+
+    private <W> W decode(BinaryCodec<W> codec, String message) {
+        if (codec == null) {
+            throw new IllegalArgumentException("RPC module " + getId() + " does not support binary encoded messages.");
+        }
+        final byte[] bytes = Base64.getDecoder().decode(message.substring(BINARY_PREFIX.length()));
+        try {
+            return codec.decode(bytes, 0, bytes.length);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to decode message for RPC module " + getId(), e);
+        }
+    }
+
     private XmlHandler<S> getRequestXmlHandler() {
         XmlHandler<S> xmlHandler = requestXmlHandler.get();
         if (xmlHandler == null) {
@@ -21,21 +21,54 @@
  */
 package org.opennms.core.ipc.sink.xml;
 
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.nio.charset.StandardCharsets;
 import java.util.Objects;
 
 import org.opennms.core.ipc.sink.api.SinkModule;
+import org.opennms.core.xml.BinaryCodec;
 import org.opennms.core.xml.XmlHandler;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.opennms.core.ipc.sink.api.Message;
 
+/**
+ * Base class for sink modules whose messages are marshalled to XML with JAXB.
+ * <p>
+ * Modules can additionally provide a {@link BinaryCodec}. Binary messages are prefixed with
+ * {@link #BINARY_MAGIC}, which can never start a XML document, so that {@link #unmarshal(byte[])}
+ * accepts both encodings. This allows Minions which still send XML to be mixed with ones sending
+ * the binary encoding. The encoding used when sending is returned by {@link #getFormat()}, which is
+ * either <code>xml</code> (the default) or <code>binary</code>. Since releases which predate
+ * the binary encoding drop such messages, it must only be enabled once all of the consumers
+ * have been upgraded.
+ */
 public abstract class AbstractXmlSinkModule<S extends Message, T extends Message> implements SinkModule<S, T> {
 
     private static final Logger LOG = LoggerFactory.getLogger(AbstractXmlSinkModule.class);
 
+    public static final String FORMAT_SYS_PROP_PREFIX = "org.opennms.core.ipc.sink.";
+    public static final String FORMAT_SYS_PROP_SUFFIX = ".format";
+    public static final String FORMAT_XML = "xml";
+    public static final String FORMAT_BINARY = "binary";
+
+    /**
+     * Prefix of binary encoded messages: a NUL byte, followed by the version of the encoding.
+     */
+    static final byte[] BINARY_MAGIC = new byte[] { 0x00, 0x01 };
+
     private final Class<T> messageClazz;
 
+    private final BinaryCodec<T> binaryCodec;
+
+    /**
+     * Whether or not messages are marshalled with the binary codec, resolved on first use
+     * since the module id is not available while constructing.
+     */
+    private volatile Boolean marshalBinary;
+
     /**
      * Store a thread-local reference to the {@link XmlHandler} because 
      * Unmarshalers are not thread-safe.
@@ -44,19 +77,74 @@ public abstract class AbstractXmlSinkModule<S extends Message, T extends Message
 
 
     public AbstractXmlSinkModule(Class<T> messageClazz) {
+        this(messageClazz, null);
+    }
+
+    public AbstractXmlSinkModule(Class<T> messageClazz, BinaryCodec<T> binaryCodec) {
         this.messageClazz = Objects.requireNonNull(messageClazz);
+        this.binaryCodec = binaryCodec;
     }
 
     @Override
     public byte[] marshal(T message) {
+        if (isMarshalBinary() && binaryCodec.canEncode(message)) {
+            final ByteArrayOutputStream out = new ByteArrayOutputStream(256);
+            try {
+                out.write(BINARY_MAGIC);
+                binaryCodec.encode(message, out);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Failed to encode message for module " + getId(), e);
+            }
+            return out.toByteArray();
+        }
         return getXmlHandler().marshal(message).getBytes(StandardCharsets.UTF_8);
     }
 
     @Override
     public T unmarshal(byte[] bytes) {
+        if (isBinary(bytes)) {
+            if (binaryCodec == null) {
+                throw new IllegalArgumentException("Module " + getId() + " does not support binary encoded messages.");
+            }
+            try {
+                return binaryCodec.decode(bytes, BINARY_MAGIC.length, bytes.length - BINARY_MAGIC.length);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Failed to decode message for module " + getId(), e);
+            }
+        }
         return getXmlHandler().unmarshal(new String(bytes, StandardCharsets.UTF_8));
     }
 
+    private static boolean isBinary(byte[] bytes) {
+        return bytes.length >= BINARY_MAGIC.length
+                && bytes[0] == BINARY_MAGIC[0]
+                && bytes[1] == BINARY_MAGIC[1];
+    }
+
+    private boolean isMarshalBinary() {
+        Boolean binary = marshalBinary;
+        if (binary == null) {
+            binary = false;
+            if (binaryCodec != null) {
+                final String format = getFormat();
+                binary = format != null && FORMAT_BINARY.equalsIgnoreCase(format.trim());
+            }
+            LOG.debug("Marshalling messages for module {} as {}.", getId(), binary ? FORMAT_BINARY : FORMAT_XML);
+            marshalBinary = binary;
+        }
+        return binary;
+    }
+
+    /**
+     * Returns the encoding of the messages sent by this module, either {@link #FORMAT_XML} or {@link #FORMAT_BINARY}.
+     * <p>
+     * Defaults to the <code>org.opennms.core.ipc.sink.&lt;module-id&gt;.format</code> system property. Modules
+     * with a daemon configuration should take the encoding from there instead.
+     */
+    protected String getFormat() {
+        return System.getProperty(FORMAT_SYS_PROP_PREFIX + getId() + FORMAT_SYS_PROP_SUFFIX, FORMAT_XML);
+    }
+
     @Override
     public byte[] marshalSingleMessage(S message) {
         return marshal((T)getAggregationPolicy().aggregate(null, message));
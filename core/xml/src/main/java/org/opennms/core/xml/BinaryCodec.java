@@ -0,0 +1,46 @@
+/*
+ * Licensed to The OpenNMS Group, Inc (TOG) under one or more
+ * contributor license agreements.  See the LICENSE.md file
+ * distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * TOG licenses this file to You under the GNU Affero General
+ * Public License Version 3 (the "License") or (at your option)
+ * any later version.  You may not use this file except in
+ * compliance with the License.  You may obtain a copy of the
+ * License at:
+ *
+ *      https://www.gnu.org/licenses/agpl-3.0.txt
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied.  See the License for the specific
+ * language governing permissions and limitations under the
+ * License.
+ */
+package org.opennms.core.xml;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * A compact binary encoding for messages which are otherwise marshalled to XML with
+ * {@link XmlHandler}, used by the XML based sink and RPC modules when enabled.
+ * <p>
+ * Implementations must be thread-safe.
+ */
+public interface BinaryCodec<T> {
+
+    /**
+     * Returns <code>false</code> if the given message can not be represented by this
+     * encoding, in which case it is marshalled to XML instead.
+     */
+    default boolean canEncode(T message) {
+        return true;
+    }
+
+    void encode(T message, OutputStream out) throws IOException;
+
+    T decode(byte[] bytes, int offset, int length) throws IOException;
+}
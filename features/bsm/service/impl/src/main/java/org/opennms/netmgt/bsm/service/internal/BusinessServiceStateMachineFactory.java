@@ -0,0 +1,46 @@
+/*
+ * Licensed to The OpenNMS Group, Inc (TOG) under one or more
+ * contributor license agreements.  See the LICENSE.md file
+ * distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * TOG licenses this file to You under the GNU Affero General
+ * Public License Version 3 (the "License") or (at your option)
+ * any later version.  You may not use this file except in
+ * compliance with the License.  You may obtain a copy of the
+ * License at:
+ *
+ *      https://www.gnu.org/licenses/agpl-3.0.txt
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied.  See the License for the specific
+ * language governing permissions and limitations under the
+ * License.
+ */
+package org.opennms.netmgt.bsm.service.internal;
+
+import org.opennms.netmgt.bsm.service.BusinessServiceStateMachine;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Creates the {@link BusinessServiceStateMachine} selected with the
+ * {@value #STATE_MACHINE_SYS_PROP} system property.
+ */
+public class BusinessServiceStateMachineFactory {
+    private static final Logger LOG = LoggerFactory.getLogger(BusinessServiceStateMachineFactory.class);
+
+    public static final String STATE_MACHINE_SYS_PROP = "org.opennms.bsm.stateMachine";
+
+    public static final String INCREMENTAL = "incremental";
+
+    public static BusinessServiceStateMachine create() {
+        if (INCREMENTAL.equalsIgnoreCase(System.getProperty(STATE_MACHINE_SYS_PROP))) {
+            LOG.info("Using the incremental state machine.");
+            return new IncrementalBusinessServiceStateMachine();
+        }
+        return new DefaultBusinessServiceStateMachine();
+    }
+}
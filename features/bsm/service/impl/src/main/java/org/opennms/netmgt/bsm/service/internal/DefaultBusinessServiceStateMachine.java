@@ -399,43 +399,47 @@ public class DefaultBusinessServiceStateMachine implements BusinessServiceStateM
     public void renderGraphToPng(File tempFile) {
         m_rwLock.readLock().lock();
         try {
-            Layout<GraphVertex,GraphEdge> layout = new KKLayout<GraphVertex,GraphEdge>(m_g);
-            layout.setSize(new Dimension(1024,1024)); // Size of the layout
-
-            VisualizationImageServer<GraphVertex, GraphEdge> vv = new VisualizationImageServer<GraphVertex, GraphEdge>(layout, layout.getSize());
-            vv.setPreferredSize(new Dimension(1200,1200)); // Viewing area size
-            vv.getRenderContext().setVertexLabelTransformer((GraphVertex vertex) -> {
-                if (vertex.getBusinessService() != null) {
-                    return String.format("BS[%s]", vertex.getBusinessService().getName());
-                }
-                if (vertex.getIpService() != null) {
-                    IpService ipService = vertex.getIpService();
-                    return String.format("IP_SERVICE[%s,%s]", ipService.getId(), ipService.getServiceName());
-                }
-                if (vertex.getReductionKey() != null) {
-                    return String.format("RK[%s]", vertex.getReductionKey());
-                }
-                return "UNKNOWN";
-            });
-            vv.getRenderContext().setEdgeLabelTransformer((GraphEdge edge) -> String.format("%s", edge.getMapFunction().getClass().getSimpleName()));
-
-            // Create the buffered image
-            BufferedImage image = (BufferedImage) vv.getImage(
-                    new Point2D.Double(vv.getGraphLayout().getSize().getWidth() / 2,
-                    vv.getGraphLayout().getSize().getHeight() / 2),
-                    new Dimension(vv.getGraphLayout().getSize()));
-
-            // Render
-            try {
-                ImageIO.write(image, "png", tempFile);
-            } catch (IOException e) {
-                throw Throwables.propagate(e);
-            }
+            renderGraphToPng(m_g, tempFile);
         } finally {
             m_rwLock.readLock().unlock();
         }
     }
 
+    protected static void renderGraphToPng(BusinessServiceGraph graph, File tempFile) {
+        Layout<GraphVertex,GraphEdge> layout = new KKLayout<GraphVertex,GraphEdge>(graph);
+        layout.setSize(new Dimension(1024,1024)); // Size of the layout
+
+        VisualizationImageServer<GraphVertex, GraphEdge> vv = new VisualizationImageServer<GraphVertex, GraphEdge>(layout, layout.getSize());
+        vv.setPreferredSize(new Dimension(1200,1200)); // Viewing area size
+        vv.getRenderContext().setVertexLabelTransformer((GraphVertex vertex) -> {
+            if (vertex.getBusinessService() != null) {
+                return String.format("BS[%s]", vertex.getBusinessService().getName());
+            }
+            if (vertex.getIpService() != null) {
+                IpService ipService = vertex.getIpService();
+                return String.format("IP_SERVICE[%s,%s]", ipService.getId(), ipService.getServiceName());
+            }
+            if (vertex.getReductionKey() != null) {
+                return String.format("RK[%s]", vertex.getReductionKey());
+            }
+            return "UNKNOWN";
+        });
+        vv.getRenderContext().setEdgeLabelTransformer((GraphEdge edge) -> String.format("%s", edge.getMapFunction().getClass().getSimpleName()));
+
+        // Create the buffered image
+        BufferedImage image = (BufferedImage) vv.getImage(
+                new Point2D.Double(vv.getGraphLayout().getSize().getWidth() / 2,
+                vv.getGraphLayout().getSize().getHeight() / 2),
+                new Dimension(vv.getGraphLayout().getSize()));
+
+        // Render
+        try {
+            ImageIO.write(image, "png", tempFile);
+        } catch (IOException e) {
+            throw Throwables.propagate(e);
+        }
+    }
+
     @Override
     public BusinessServiceGraph getGraph() {
         return m_g;
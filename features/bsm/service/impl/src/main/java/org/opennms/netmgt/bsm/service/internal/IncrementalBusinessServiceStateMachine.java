@@ -0,0 +1,719 @@
+/*
+ * Licensed to The OpenNMS Group, Inc (TOG) under one or more
+ * contributor license agreements.  See the LICENSE.md file
+ * distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * TOG licenses this file to You under the GNU Affero General
+ * Public License Version 3 (the "License") or (at your option)
+ * any later version.  You may not use this file except in
+ * compliance with the License.  You may obtain a copy of the
+ * License at:
+ *
+ *      https://www.gnu.org/licenses/agpl-3.0.txt
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied.  See the License for the specific
+ * language governing permissions and limitations under the
+ * License.
+ */
+package org.opennms.netmgt.bsm.service.internal;
+
+import static org.opennms.netmgt.bsm.service.internal.DefaultBusinessServiceStateMachine.MIN_SEVERITY;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import org.opennms.netmgt.bsm.service.AlarmProvider;
+import org.opennms.netmgt.bsm.service.BusinessServiceStateChangeHandler;
+import org.opennms.netmgt.bsm.service.BusinessServiceStateMachine;
+import org.opennms.netmgt.bsm.service.model.AlarmWrapper;
+import org.opennms.netmgt.bsm.service.model.Application;
+import org.opennms.netmgt.bsm.service.model.BusinessService;
+import org.opennms.netmgt.bsm.service.model.IpService;
+import org.opennms.netmgt.bsm.service.model.Status;
+import org.opennms.netmgt.bsm.service.model.StatusWithIndex;
+import org.opennms.netmgt.bsm.service.model.StatusWithIndices;
+import org.opennms.netmgt.bsm.service.model.edge.Edge;
+import org.opennms.netmgt.bsm.service.model.functions.reduce.Threshold;
+import org.opennms.netmgt.bsm.service.model.functions.reduce.ThresholdResultExplanation;
+import org.opennms.netmgt.bsm.service.model.graph.BusinessServiceGraph;
+import org.opennms.netmgt.bsm.service.model.graph.GraphEdge;
+import org.opennms.netmgt.bsm.service.model.graph.GraphVertex;
+import org.opennms.netmgt.bsm.service.model.graph.internal.BusinessServiceGraphImpl;
+import org.opennms.netmgt.bsm.service.model.graph.internal.GraphAlgorithms;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import com.google.common.collect.Sets;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
+/**
+ * A {@link BusinessServiceStateMachine} that propagates the status incrementally,
+ * without blocking the readers.
+ *
+ * The topology of the graph is compiled into arrays every time the business services
+ * are set, and the statuses of the vertices and edges are kept in a {@link Snapshot}
+ * alongside it. Writers are serialized, and work on a copy of the statuses in which
+ * only the chunks that are modified get duplicated: the status of the updated
+ * reduction keys is mapped onto their edges, and only the vertices with an edge
+ * whose status changed are reduced again, in order of their level, so that every
+ * vertex is reduced at most once per batch. The resulting
+ * snapshot is then published with a single volatile write, so that readers always
+ * see a consistent set of statuses without taking any lock.
+ *
+ * When a batch window is set, the alarms are queued and applied together once the
+ * window expires, keeping only the last status of every reduction key. Listeners are
+ * notified once per batch for every business service whose status changed.
+ *
+ * The statuses are also written to the vertices and edges of the graph returned by
+ * {@link #getGraph()}, for the callers that work on the graph directly.
+ */
+public class IncrementalBusinessServiceStateMachine implements BusinessServiceStateMachine {
+    private static final Logger LOG = LoggerFactory.getLogger(IncrementalBusinessServiceStateMachine.class);
+
+    public static final String BATCH_WINDOW_MS_SYS_PROP = "org.opennms.bsm.stateMachine.batchWindowMs";
+
+    @Autowired
+    private volatile AlarmProvider m_alarmProvider;
+
+    private final List<BusinessServiceStateChangeHandler> m_handlers = new CopyOnWriteArrayList<>();
+
+    private final long m_batchWindowMs;
+
+    private final Object m_writeLock = new Object();
+
+    private volatile Snapshot m_snapshot = new Snapshot(new BusinessServiceGraphImpl(Collections.emptyList()));
+
+    // Guarded by itself
+    private final Map<String, Status> m_pendingStatusByReductionKey = new LinkedHashMap<>();
+
+    // Guarded by m_pendingStatusByReductionKey
+    private boolean m_flushScheduled = false;
+
+    private ScheduledExecutorService m_flushExecutor;
+
+    public IncrementalBusinessServiceStateMachine() {
+        this(Long.getLong(BATCH_WINDOW_MS_SYS_PROP, 0));
+    }
+
+    /**
+     * @param batchWindowMs time for which the alarms are accumulated before being applied,
+     *                      the alarms are applied immediately when &lt;= 0
+     */
+    public IncrementalBusinessServiceStateMachine(long batchWindowMs) {
+        m_batchWindowMs = batchWindowMs;
+    }
+
+    /**
+     * The topology of a graph, indexed by integers.
+     */
+    private static class CompiledGraph {
+        private final GraphVertex[] vertices;
+        private final GraphEdge[] edges;
+        private final Map<GraphVertex, Integer> indexByVertex = new IdentityHashMap<>();
+        private final Map<GraphEdge, Integer> indexByEdge = new IdentityHashMap<>();
+        // Edges pointing to the parents of every vertex, and the parent at the other end
+        private final int[][] inEdges;
+        private final int[][] parents;
+        // Edges pointing to the children of every vertex, in the order used when reducing
+        private final int[][] outEdges;
+        // Weights of the out edges, divided by their greatest common divisor
+        private final int[][] relativeWeights;
+        // Position of every vertex when sorted by decreasing level, children before their parents
+        private final int[] rank;
+        private final int[] vertexByRank;
+
+        private CompiledGraph(BusinessServiceGraph graph) {
+            vertices = graph.getVertices().toArray(new GraphVertex[0]);
+            edges = graph.getEdges().toArray(new GraphEdge[0]);
+            for (int i = 0; i < vertices.length; i++) {
+                indexByVertex.put(vertices[i], i);
+            }
+            for (int i = 0; i < edges.length; i++) {
+                indexByEdge.put(edges[i], i);
+            }
+
+            inEdges = new int[vertices.length][];
+            parents = new int[vertices.length][];
+            outEdges = new int[vertices.length][];
+            relativeWeights = new int[vertices.length][];
+            for (int v = 0; v < vertices.length; v++) {
+                final Collection<GraphEdge> in = graph.getInEdges(vertices[v]);
+                inEdges[v] = new int[in.size()];
+                parents[v] = new int[in.size()];
+                int k = 0;
+                for (GraphEdge edge : in) {
+                    inEdges[v][k] = indexByEdge.get(edge);
+                    parents[v][k] = indexByVertex.get(graph.getOpposite(vertices[v], edge));
+                    k++;
+                }
+
+                final Collection<GraphEdge> out = graph.getOutEdges(vertices[v]);
+                outEdges[v] = new int[out.size()];
+                relativeWeights[v] = new int[out.size()];
+                int gcd = 0;
+                k = 0;
+                for (GraphEdge edge : out) {
+                    outEdges[v][k++] = indexByEdge.get(edge);
+                    gcd = gcd(gcd, edge.getWeight());
+                }
+                for (k = 0; k < outEdges[v].length; k++) {
+                    relativeWeights[v][k] = Math.floorDiv(edges[outEdges[v][k]].getWeight(), gcd == 0 ? 1 : gcd);
+                }
+            }
+
+            final Integer[] sorted = new Integer[vertices.length];
+            for (int v = 0; v < vertices.length; v++) {
+                sorted[v] = v;
+            }
+            Arrays.sort(sorted, Comparator.comparingInt((Integer v) -> vertices[v].getLevel()).reversed());
+            rank = new int[vertices.length];
+            vertexByRank = new int[vertices.length];
+            for (int r = 0; r < sorted.length; r++) {
+                vertexByRank[r] = sorted[r];
+                rank[sorted[r]] = r;
+            }
+        }
+
+        private static int gcd(int a, int b) {
+            while (b != 0) {
+                final int t = a % b;
+                a = b;
+                b = t;
+            }
+            return Math.abs(a);
+        }
+    }
+
+    /**
+     * An array of statuses split into fixed size chunks, so that a copy only
+     * needs to duplicate the chunks that are modified.
+     */
+    private static class Statuses {
+        private static final int CHUNK_SHIFT = 6;
+        private static final int CHUNK_SIZE = 1 << CHUNK_SHIFT;
+        private static final int CHUNK_MASK = CHUNK_SIZE - 1;
+
+        private final int length;
+        private final Status[][] chunks;
+        // Chunks that were copied, and can be modified, null when the statuses are read-only
+        private final BitSet copiedChunks;
+
+        private Statuses(int length) {
+            this.length = length;
+            this.chunks = new Status[(length + CHUNK_MASK) >>> CHUNK_SHIFT][];
+            for (int c = 0; c < chunks.length; c++) {
+                chunks[c] = new Status[Math.min(CHUNK_SIZE, length - (c << CHUNK_SHIFT))];
+            }
+            this.copiedChunks = null;
+        }
+
+        private Statuses(Statuses statuses) {
+            this.length = statuses.length;
+            this.chunks = statuses.chunks.clone();
+            this.copiedChunks = new BitSet(chunks.length);
+        }
+
+        private Status get(int i) {
+            return chunks[i >>> CHUNK_SHIFT][i & CHUNK_MASK];
+        }
+
+        private void set(int i, Status status) {
+            final int c = i >>> CHUNK_SHIFT;
+            if (!copiedChunks.get(c)) {
+                chunks[c] = chunks[c].clone();
+                copiedChunks.set(c);
+            }
+            chunks[c][i & CHUNK_MASK] = status;
+        }
+
+        /**
+         * Calls the given consumer for every element that differs from the given statuses.
+         */
+        private void forEachChanged(Statuses previous, IndexedStatusConsumer consumer) {
+            for (int c = copiedChunks.nextSetBit(0); c >= 0; c = copiedChunks.nextSetBit(c + 1)) {
+                for (int k = 0; k < chunks[c].length; k++) {
+                    if (chunks[c][k] != previous.chunks[c][k]) {
+                        consumer.accept((c << CHUNK_SHIFT) + k, chunks[c][k]);
+                    }
+                }
+            }
+        }
+    }
+
+    private interface IndexedStatusConsumer {
+        void accept(int index, Status status);
+    }
+
+    /**
+     * An immutable view of the graph and of the status of its elements.
+     */
+    private static class Snapshot {
+        private final BusinessServiceGraph graph;
+        private final CompiledGraph compiled;
+        private final Statuses vertexStatus;
+        private final Statuses edgeStatus;
+
+        private Snapshot(BusinessServiceGraph graph) {
+            this.graph = graph;
+            this.compiled = new CompiledGraph(graph);
+            this.vertexStatus = new Statuses(compiled.vertices.length);
+            this.edgeStatus = new Statuses(compiled.edges.length);
+            for (int v = 0; v < compiled.vertices.length; v++) {
+                vertexStatus.chunks[v >>> Statuses.CHUNK_SHIFT][v & Statuses.CHUNK_MASK] = compiled.vertices[v].getStatus();
+            }
+            for (int e = 0; e < compiled.edges.length; e++) {
+                edgeStatus.chunks[e >>> Statuses.CHUNK_SHIFT][e & Statuses.CHUNK_MASK] = compiled.edges[e].getStatus();
+            }
+        }
+
+        private Snapshot(Snapshot previous, Statuses vertexStatus, Statuses edgeStatus) {
+            this.graph = previous.graph;
+            this.compiled = previous.compiled;
+            this.vertexStatus = vertexStatus;
+            this.edgeStatus = edgeStatus;
+        }
+
+        private Status getStatus(GraphVertex vertex) {
+            if (vertex == null) {
+                return null;
+            }
+            final Integer index = compiled.indexByVertex.get(vertex);
+            return index != null ? vertexStatus.get(index) : null;
+        }
+    }
+
+    /**
+     * The statuses being computed for the next snapshot.
+     */
+    private static class Propagation {
+        private final Snapshot snapshot;
+        private final CompiledGraph g;
+        private final Statuses vertexStatus;
+        private final Statuses edgeStatus;
+        // Vertices that need to be reduced again, by rank
+        private final BitSet dirty;
+        // Status of the business services before they were first changed
+        private final Map<Integer, Status> previousStatusByVertex = new LinkedHashMap<>();
+        private int numReductions = 0;
+
+        private Propagation(Snapshot snapshot) {
+            this.snapshot = snapshot;
+            this.g = snapshot.compiled;
+            this.vertexStatus = new Statuses(snapshot.vertexStatus);
+            this.edgeStatus = new Statuses(snapshot.edgeStatus);
+            this.dirty = new BitSet();
+        }
+
+        private void updateReductionKey(String reductionKey, Status status) {
+            final Integer v = g.indexByVertex.get(snapshot.graph.getVertexByReductionKey(reductionKey));
+            if (v != null) {
+                update(v, status);
+            }
+        }
+
+        private void propagate() {
+            // Parents always rank after their children, so every vertex is reduced once
+            for (int r = dirty.nextSetBit(0); r >= 0; r = dirty.nextSetBit(r + 1)) {
+                final int v = g.vertexByRank[r];
+                update(v, reduce(v));
+                numReductions++;
+            }
+            dirty.clear();
+        }
+
+        private Status reduce(int v) {
+            final List<StatusWithIndex> statuses = new ArrayList<>();
+            final int[] out = g.outEdges[v];
+            for (int k = 0; k < out.length; k++) {
+                for (int i = 0; i < g.relativeWeights[v][k]; i++) {
+                    statuses.add(new StatusWithIndex(edgeStatus.get(out[k]), k));
+                }
+            }
+            final Optional<StatusWithIndices> reducedStatus = g.vertices[v].getReductionFunction().reduce(statuses);
+            return reducedStatus.isPresent() ? reducedStatus.get().getStatus() : MIN_SEVERITY;
+        }
+
+        private void update(int v, Status newStatus) {
+            // Apply lower bound
+            newStatus = newStatus.isLessThan(MIN_SEVERITY) ? MIN_SEVERITY : newStatus;
+            final Status previousStatus = vertexStatus.get(v);
+            if (previousStatus.equals(newStatus)) {
+                // The status hasn't changed, there's nothing to propagate
+                return;
+            }
+            vertexStatus.set(v, newStatus);
+            if (g.vertices[v].getBusinessService() != null) {
+                previousStatusByVertex.putIfAbsent(v, previousStatus);
+            }
+
+            // Update the edges with the mapped status, and mark the parents with changed edges
+            for (int k = 0; k < g.inEdges[v].length; k++) {
+                final int e = g.inEdges[v][k];
+                final Status mappedStatus;
+                if (newStatus.isGreaterThan(MIN_SEVERITY)) {
+                    // Only apply the map function when the status is > the minimum
+                    mappedStatus = g.edges[e].getMapFunction().map(newStatus).orElse(MIN_SEVERITY);
+                } else {
+                    mappedStatus = newStatus;
+                }
+                if (!mappedStatus.equals(edgeStatus.get(e))) {
+                    edgeStatus.set(e, mappedStatus);
+                    dirty.set(g.rank[g.parents[v][k]]);
+                }
+            }
+        }
+
+        private Snapshot toSnapshot() {
+            // Keep the elements of the graph in sync for the callers that use it directly
+            vertexStatus.forEachChanged(snapshot.vertexStatus, (v, status) -> g.vertices[v].setStatus(status));
+            edgeStatus.forEachChanged(snapshot.edgeStatus, (e, status) -> g.edges[e].setStatus(status));
+            return new Snapshot(snapshot, vertexStatus, edgeStatus);
+        }
+    }
+
+    @Override
+    public void setBusinessServices(List<BusinessService> businessServices) {
+        synchronized (m_writeLock) {
+            final Snapshot previous = m_snapshot;
+
+            // Create a new graph
+            final Propagation propagation = new Propagation(new Snapshot(new BusinessServiceGraphImpl(businessServices)));
+            final BusinessServiceGraph g = propagation.snapshot.graph;
+
+            // Prime the graph with the state from the previous graph, including the alarms that
+            // were not applied yet, and keep track of the new reductions keys
+            final Map<String, Status> pending = drainPendingStatuses();
+            final Set<String> reductionsKeysToLookup = Sets.newHashSet();
+            for (String reductionKey : g.getReductionKeys()) {
+                Status status = pending.get(reductionKey);
+                if (status == null) {
+                    status = previous.getStatus(previous.graph.getVertexByReductionKey(reductionKey));
+                }
+                if (status != null) {
+                    propagation.updateReductionKey(reductionKey, status);
+                } else {
+                    reductionsKeysToLookup.add(reductionKey);
+                }
+            }
+
+            if (!reductionsKeysToLookup.isEmpty()) {
+                final AlarmProvider alarmProvider = m_alarmProvider;
+                if (alarmProvider == null) {
+                    LOG.warn("There are one or more reduction keys to lookup, but no alarm provider is set.");
+                } else {
+                    // Query the status of the reductions keys that were added
+                    // We do this so that we can immediately reflect the state of the new
+                    // graph without having to wait for calls to handleNewOrUpdatedAlarm()
+                    final Map<String, AlarmWrapper> lookup = alarmProvider.lookup(reductionsKeysToLookup);
+                    for (Entry<String, AlarmWrapper> eachEntry : lookup.entrySet()) {
+                        propagation.updateReductionKey(eachEntry.getKey(), eachEntry.getValue().getStatus());
+                    }
+                }
+            }
+            propagation.propagate();
+
+            // Notify the listeners of the business services that have a different
+            // status than the one they had in the previous graph
+            final Map<Integer, Status> statusUpdates = new LinkedHashMap<>();
+            for (int k = 0; k < propagation.g.vertices.length; k++) {
+                final BusinessService businessService = propagation.g.vertices[k].getBusinessService();
+                if (businessService == null) {
+                    continue;
+                }
+                final Status previousStatus = previous.getStatus(previous.graph.getVertexByBusinessServiceId(businessService.getId()));
+                statusUpdates.put(k, previousStatus != null ? previousStatus : DefaultBusinessServiceStateMachine.MIN_SEVERITY);
+            }
+            publish(propagation, statusUpdates);
+        }
+    }
+
+    @Override
+    public void handleNewOrUpdatedAlarm(AlarmWrapper alarm) {
+        if (m_batchWindowMs <= 0) {
+            apply(Collections.singletonMap(alarm.getReductionKey(), alarm.getStatus()));
+            return;
+        }
+
+        synchronized (m_pendingStatusByReductionKey) {
+            // Only the last status of every reduction key matters
+            m_pendingStatusByReductionKey.remove(alarm.getReductionKey());
+            m_pendingStatusByReductionKey.put(alarm.getReductionKey(), alarm.getStatus());
+            if (!m_flushScheduled) {
+                m_flushScheduled = true;
+                getFlushExecutor().schedule(this::flush, m_batchWindowMs, TimeUnit.MILLISECONDS);
+            }
+        }
+    }
+
+    @Override
+    public void handleAllAlarms(List<AlarmWrapper> alarms) {
+        synchronized (m_writeLock) {
+            final Map<String, Status> statusByReductionKey = drainPendingStatuses();
+            for (AlarmWrapper alarm : alarms) {
+                statusByReductionKey.remove(alarm.getReductionKey());
+                statusByReductionKey.put(alarm.getReductionKey(), alarm.getStatus());
+            }
+            final Set<String> reductionKeysFromGivenAlarms = alarms.stream()
+                    .map(AlarmWrapper::getReductionKey)
+                    .collect(Collectors.toSet());
+            for (String missingReductionKey : Sets.difference(m_snapshot.graph.getReductionKeys(), reductionKeysFromGivenAlarms)) {
+                // There is a vertex on the graph that corresponds to this reduction key
+                // but no alarm with this reduction key exists
+                statusByReductionKey.put(missingReductionKey, Status.INDETERMINATE);
+            }
+            apply(statusByReductionKey);
+        }
+    }
+
+    /**
+     * Applies the alarms that are waiting for the batch window to expire.
+     */
+    public void flush() {
+        synchronized (m_writeLock) {
+            apply(drainPendingStatuses());
+        }
+    }
+
+    private Map<String, Status> drainPendingStatuses() {
+        synchronized (m_pendingStatusByReductionKey) {
+            final Map<String, Status> pending = new LinkedHashMap<>(m_pendingStatusByReductionKey);
+            m_pendingStatusByReductionKey.clear();
+            m_flushScheduled = false;
+            return pending;
+        }
+    }
+
+    private void apply(Map<String, Status> statusByReductionKey) {
+        if (statusByReductionKey.isEmpty()) {
+            return;
+        }
+        synchronized (m_writeLock) {
+            final Propagation propagation = new Propagation(m_snapshot);
+            for (Entry<String, Status> entry : statusByReductionKey.entrySet()) {
+                propagation.updateReductionKey(entry.getKey(), entry.getValue());
+            }
+            propagation.propagate();
+            LOG.debug("Applied {} alarms with {} reductions.", statusByReductionKey.size(), propagation.numReductions);
+            publish(propagation, propagation.previousStatusByVertex);
+        }
+    }
+
+    private void publish(Propagation propagation, Map<Integer, Status> statusUpdates) {
+        m_snapshot = propagation.toSnapshot();
+
+        // Notify the listeners once the new snapshot is visible
+        for (Entry<Integer, Status> entry : statusUpdates.entrySet()) {
+            final GraphVertex vertex = propagation.g.vertices[entry.getKey()];
+            final Status newStatus = propagation.vertexStatus.get(entry.getKey());
+            if (newStatus.equals(entry.getValue())) {
+                // Changed back within the batch
+                continue;
+            }
+            for (BusinessServiceStateChangeHandler handler : m_handlers) {
+                handler.handleBusinessServiceStateChanged(propagation.snapshot.graph, vertex.getBusinessService(), newStatus, entry.getValue());
+            }
+        }
+    }
+
+    private synchronized ScheduledExecutorService getFlushExecutor() {
+        if (m_flushExecutor == null) {
+            m_flushExecutor = Executors.newSingleThreadScheduledExecutor(new ThreadFactoryBuilder()
+                    .setNameFormat("bsm-state-machine-flush")
+                    .setDaemon(true)
+                    .build());
+        }
+        return m_flushExecutor;
+    }
+
+    @Override
+    public Status getOperationalStatus(BusinessService businessService) {
+        Objects.requireNonNull(businessService);
+        final Snapshot snapshot = m_snapshot;
+        return snapshot.getStatus(snapshot.graph.getVertexByBusinessServiceId(businessService.getId()));
+    }
+
+    @Override
+    public Status getOperationalStatus(IpService ipService) {
+        final Snapshot snapshot = m_snapshot;
+        return snapshot.getStatus(snapshot.graph.getVertexByIpServiceId(ipService.getId()));
+    }
+
+    @Override
+    public Status getOperationalStatus(String reductionKey) {
+        final Snapshot snapshot = m_snapshot;
+        return snapshot.getStatus(snapshot.graph.getVertexByReductionKey(reductionKey));
+    }
+
+    @Override
+    public Status getOperationalStatus(Edge edge) {
+        final Snapshot snapshot = m_snapshot;
+        return snapshot.getStatus(snapshot.graph.getVertexByEdgeId(edge.getId()));
+    }
+
+    public void setAlarmProvider(AlarmProvider alarmProvider) {
+        m_alarmProvider = alarmProvider;
+    }
+
+    @Override
+    public void addHandler(BusinessServiceStateChangeHandler handler, Map<String, String> attributes) {
+        m_handlers.add(handler);
+    }
+
+    @Override
+    public boolean removeHandler(BusinessServiceStateChangeHandler handler, Map<String, String> attributes) {
+        return m_handlers.remove(handler);
+    }
+
+    @Override
+    public void renderGraphToPng(File tempFile) {
+        DefaultBusinessServiceStateMachine.renderGraphToPng(m_snapshot.graph, tempFile);
+    }
+
+    @Override
+    public BusinessServiceGraph getGraph() {
+        return m_snapshot.graph;
+    }
+
+    @Override
+    public BusinessServiceStateMachine clone(boolean preserveState) {
+        final Snapshot snapshot = m_snapshot;
+        final IncrementalBusinessServiceStateMachine sm = new IncrementalBusinessServiceStateMachine(0);
+
+        // Rebuild the graph using the business services from the existing state machine
+        sm.setBusinessServices(getBusinessServices(snapshot.graph));
+
+        // Prime the state
+        if (preserveState) {
+            sm.apply(getAlarms(snapshot).stream()
+                    .collect(Collectors.toMap(AlarmWrapper::getReductionKey, AlarmWrapper::getStatus, (a, b) -> b, LinkedHashMap::new)));
+        }
+        return sm;
+    }
+
+    private static List<BusinessService> getBusinessServices(BusinessServiceGraph graph) {
+        return graph.getVertices().stream()
+                .map(GraphVertex::getBusinessService)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+    }
+
+    private static List<AlarmWrapper> getAlarms(Snapshot snapshot) {
+        final List<AlarmWrapper> alarms = new ArrayList<>();
+        for (String reductionKey : snapshot.graph.getReductionKeys()) {
+            final Status status = snapshot.getStatus(snapshot.graph.getVertexByReductionKey(reductionKey));
+            alarms.add(new AlarmWrapper() {
+                @Override
+                public String getReductionKey() {
+                    return reductionKey;
+                }
+
+                @Override
+                public Status getStatus() {
+                    return status;
+                }
+            });
+        }
+        return alarms;
+    }
+
+    @Override
+    public Set<GraphEdge> calculateImpacting(BusinessService businessService) {
+        final BusinessServiceGraph graph = m_snapshot.graph;
+        return GraphAlgorithms.calculateImpacting(graph, graph.getVertexByBusinessServiceId(businessService.getId()));
+    }
+
+    @Override
+    public List<GraphVertex> calculateRootCause(BusinessService businessService) {
+        final BusinessServiceGraph graph = m_snapshot.graph;
+        return GraphAlgorithms.calculateRootCause(graph, graph.getVertexByBusinessServiceId(businessService.getId()));
+    }
+
+    @Override
+    public List<GraphVertex> calculateImpact(BusinessService businessService) {
+        final BusinessServiceGraph graph = m_snapshot.graph;
+        return GraphAlgorithms.calculateImpact(graph, graph.getVertexByBusinessServiceId(businessService.getId()));
+    }
+
+    @Override
+    public List<GraphVertex> calculateImpact(IpService ipService) {
+        final BusinessServiceGraph graph = m_snapshot.graph;
+        return GraphAlgorithms.calculateImpact(graph, graph.getVertexByIpServiceId(ipService.getId()));
+    }
+
+    @Override
+    public List<GraphVertex> calculateImpact(Application application) {
+        final BusinessServiceGraph graph = m_snapshot.graph;
+        return GraphAlgorithms.calculateImpact(graph, graph.getVertexByApplicationId(application.getId()));
+    }
+
+    @Override
+    public List<GraphVertex> calculateImpact(String reductionKey) {
+        final BusinessServiceGraph graph = m_snapshot.graph;
+        return GraphAlgorithms.calculateImpact(graph, graph.getVertexByReductionKey(reductionKey));
+    }
+
+    @Override
+    public ThresholdResultExplanation explain(BusinessService businessService, Threshold threshold) {
+        final Snapshot snapshot = m_snapshot;
+        final BusinessServiceGraph graph = snapshot.graph;
+        final GraphVertex vertex = graph.getVertexByBusinessServiceId(businessService.getId());
+
+        // Calculate the weighed statuses from the child edges, as they were in the snapshot
+        final Collection<GraphEdge> outEdges = graph.getOutEdges(vertex);
+        final Map<GraphEdge, Status> edgesWithStatus = new LinkedHashMap<>();
+        for (GraphEdge edge : outEdges) {
+            edgesWithStatus.put(edge, snapshot.edgeStatus.get(snapshot.compiled.indexByEdge.get(edge)));
+        }
+        final List<StatusWithIndex> statusesWithIndices = DefaultBusinessServiceStateMachine.weighStatuses(edgesWithStatus);
+        final List<Status> statuses = statusesWithIndices.stream()
+                .map(StatusWithIndex::getStatus)
+                .collect(Collectors.toList());
+
+        // Reduce
+        final Status reducedStatus = threshold.reduce(statusesWithIndices)
+                .orElse(new StatusWithIndices(MIN_SEVERITY, Collections.emptyList()))
+                .getStatus();
+
+        final ThresholdResultExplanation explanation = new ThresholdResultExplanation();
+        explanation.setStatus(reducedStatus);
+        explanation.setHitsByStatus(threshold.getHitsByStatus(statuses));
+        explanation.setGraphEdges(outEdges);
+        explanation.setWeightStatuses(statuses);
+        explanation.setFunction(threshold);
+
+        final Map<GraphEdge, GraphVertex> graphEdgeToGraphVertex = new HashMap<>();
+        for (Edge eachEdge : businessService.getEdges()) {
+            final GraphVertex vertexForEdge = graph.getVertexByEdgeId(eachEdge.getId());
+            final GraphEdge graphEdge = graph.getGraphEdgeByEdgeId(eachEdge.getId());
+            if (vertexForEdge != null && graphEdge != null) {
+                graphEdgeToGraphVertex.put(graphEdge, vertexForEdge);
+            }
+        }
+        explanation.setGraphEdgeToGraphVertexMapping(graphEdgeToGraphVertex);
+        return explanation;
+    }
+}
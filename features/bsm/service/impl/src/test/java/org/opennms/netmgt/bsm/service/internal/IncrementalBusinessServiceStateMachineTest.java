@@ -0,0 +1,278 @@
+/*
+ * Licensed to The OpenNMS Group, Inc (TOG) under one or more
+ * contributor license agreements.  See the LICENSE.md file
+ * distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * TOG licenses this file to You under the GNU Affero General
+ * Public License Version 3 (the "License") or (at your option)
+ * any later version.  You may not use this file except in
+ * compliance with the License.  You may obtain a copy of the
+ * License at:
+ *
+ *      https://www.gnu.org/licenses/agpl-3.0.txt
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied.  See the License for the specific
+ * language governing permissions and limitations under the
+ * License.
+ */
+package org.opennms.netmgt.bsm.service.internal;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.Test;
+import org.opennms.netmgt.bsm.mock.MockAlarmWrapper;
+import org.opennms.netmgt.bsm.mock.MockBusinessService;
+import org.opennms.netmgt.bsm.mock.MockBusinessServiceHierarchy;
+import org.opennms.netmgt.bsm.mock.MockChildEdge;
+import org.opennms.netmgt.bsm.mock.MockReductionKeyEdge;
+import org.opennms.netmgt.bsm.service.BusinessServiceStateMachine;
+import org.opennms.netmgt.bsm.service.model.AlarmWrapper;
+import org.opennms.netmgt.bsm.service.model.BusinessService;
+import org.opennms.netmgt.bsm.service.model.Status;
+import org.opennms.netmgt.bsm.service.model.functions.map.Decrease;
+import org.opennms.netmgt.bsm.service.model.functions.map.Identity;
+import org.opennms.netmgt.bsm.service.model.functions.map.Ignore;
+import org.opennms.netmgt.bsm.service.model.functions.map.Increase;
+import org.opennms.netmgt.bsm.service.model.functions.map.SetTo;
+import org.opennms.netmgt.bsm.service.model.functions.reduce.ExponentialPropagation;
+import org.opennms.netmgt.bsm.service.model.functions.reduce.HighestSeverity;
+import org.opennms.netmgt.bsm.service.model.functions.reduce.HighestSeverityAbove;
+import org.opennms.netmgt.bsm.service.model.functions.reduce.Threshold;
+import org.opennms.netmgt.bsm.service.model.graph.GraphVertex;
+import org.opennms.netmgt.bsm.test.LoggingStateChangeHandler;
+
+import com.google.common.collect.Maps;
+
+public class IncrementalBusinessServiceStateMachineTest {
+
+    private static final Status[] STATUSES = new Status[] {
+            Status.INDETERMINATE, Status.NORMAL, Status.WARNING, Status.MINOR, Status.MAJOR, Status.CRITICAL
+    };
+
+    /**
+     * Feeds the same hierarchies and alarms to both the default and the incremental
+     * state machines, and verifies that they always agree on the statuses.
+     */
+    @Test
+    public void matchesDefaultStateMachine() {
+        final Random random = new Random(42);
+        for (int round = 0; round < 10; round++) {
+            final DefaultBusinessServiceStateMachine expected = new DefaultBusinessServiceStateMachine();
+            final IncrementalBusinessServiceStateMachine actual = new IncrementalBusinessServiceStateMachine(0);
+            final LoggingStateChangeHandler expectedHandler = new LoggingStateChangeHandler();
+            final LoggingStateChangeHandler actualHandler = new LoggingStateChangeHandler();
+            expected.addHandler(expectedHandler, Maps.newHashMap());
+            actual.addHandler(actualHandler, Maps.newHashMap());
+
+            List<BusinessService> businessServices = createHierarchy(random, 100 + random.nextInt(100), 20);
+            expected.setBusinessServices(businessServices);
+            actual.setBusinessServices(businessServices);
+
+            for (int i = 0; i < 2000; i++) {
+                final AlarmWrapper alarm = new MockAlarmWrapper("rk" + random.nextInt(20), STATUSES[random.nextInt(STATUSES.length)]);
+                expected.handleNewOrUpdatedAlarm(alarm);
+                actual.handleNewOrUpdatedAlarm(alarm);
+                if (i % 100 == 0) {
+                    assertSameStatuses(expected, actual, businessServices);
+                }
+                if (i == 1000) {
+                    // Reload with another hierarchy, sharing some of the reduction keys
+                    businessServices = createHierarchy(random, 100 + random.nextInt(100), 30);
+                    expected.setBusinessServices(businessServices);
+                    actual.setBusinessServices(businessServices);
+                    assertSameStatuses(expected, actual, businessServices);
+                }
+            }
+
+            final List<AlarmWrapper> alarms = new ArrayList<>();
+            for (int i = 0; i < 10; i++) {
+                alarms.add(new MockAlarmWrapper("rk" + random.nextInt(30), STATUSES[random.nextInt(STATUSES.length)]));
+            }
+            expected.handleAllAlarms(alarms);
+            actual.handleAllAlarms(alarms);
+            assertSameStatuses(expected, actual, businessServices);
+
+            // The last notification of every business service matches its status
+            final Map<Long, Status> lastNotifiedStatus = new HashMap<>();
+            actualHandler.getStateChanges().forEach(c -> lastNotifiedStatus.put(c.getBusinessService().getId(), c.getNewSeverity()));
+            for (BusinessService businessService : businessServices) {
+                final Status status = lastNotifiedStatus.get(businessService.getId());
+                if (status != null) {
+                    assertEquals(actual.getOperationalStatus(businessService), status);
+                }
+            }
+
+            // The graph is kept in sync as well
+            for (GraphVertex vertex : actual.getGraph().getVertices()) {
+                if (vertex.getBusinessService() != null) {
+                    assertEquals(actual.getOperationalStatus(vertex.getBusinessService()), vertex.getStatus());
+                }
+            }
+        }
+    }
+
+    @Test
+    public void canBatchAlarms() {
+        final MockBusinessServiceHierarchy h = MockBusinessServiceHierarchy.builder()
+                .withBusinessService(1)
+                    .withReductionKey(3, "a3")
+                    .withBusinessService(2)
+                        .withReductionKey(1, "a1")
+                        .withReductionKey(2, "a2")
+                        .commit()
+                    .commit()
+                .build();
+        final BusinessService b1 = h.getBusinessServiceById(1);
+        final BusinessService b2 = h.getBusinessServiceById(2);
+
+        // Use a window that won't expire during the test, we flush manually
+        final IncrementalBusinessServiceStateMachine stateMachine = new IncrementalBusinessServiceStateMachine(60000);
+        final LoggingStateChangeHandler stateChangeHandler = new LoggingStateChangeHandler();
+        stateMachine.addHandler(stateChangeHandler, Maps.newHashMap());
+        stateMachine.setBusinessServices(h.getBusinessServices());
+
+        stateMachine.handleNewOrUpdatedAlarm(new MockAlarmWrapper("a1", Status.MINOR));
+        stateMachine.handleNewOrUpdatedAlarm(new MockAlarmWrapper("a2", Status.MAJOR));
+        stateMachine.handleNewOrUpdatedAlarm(new MockAlarmWrapper("a3", Status.WARNING));
+        stateMachine.handleNewOrUpdatedAlarm(new MockAlarmWrapper("a1", Status.CRITICAL));
+
+        // Nothing is visible until the batch is applied
+        assertEquals(Status.NORMAL, stateMachine.getOperationalStatus(b1));
+        assertEquals(Status.NORMAL, stateMachine.getOperationalStatus("a1"));
+        assertEquals(0, stateChangeHandler.getStateChanges().size());
+
+        stateMachine.flush();
+        assertEquals(Status.CRITICAL, stateMachine.getOperationalStatus("a1"));
+        assertEquals(Status.MAJOR, stateMachine.getOperationalStatus("a2"));
+        assertEquals(Status.CRITICAL, stateMachine.getOperationalStatus(b2));
+        assertEquals(Status.CRITICAL, stateMachine.getOperationalStatus(b1));
+
+        // A single notification per business service
+        assertEquals(2, stateChangeHandler.getStateChanges().size());
+        for (LoggingStateChangeHandler.StateChange stateChange : stateChangeHandler.getStateChanges()) {
+            assertEquals(Status.NORMAL, stateChange.getPrevSeverity());
+            assertEquals(Status.CRITICAL, stateChange.getNewSeverity());
+        }
+
+        // Alarms that were not applied yet are carried over when reloading
+        stateMachine.handleNewOrUpdatedAlarm(new MockAlarmWrapper("a1", Status.NORMAL));
+        stateMachine.setBusinessServices(h.getBusinessServices());
+        assertEquals(Status.NORMAL, stateMachine.getOperationalStatus("a1"));
+        assertEquals(Status.MAJOR, stateMachine.getOperationalStatus(b1));
+    }
+
+    @Test
+    public void canCloneWithState() {
+        final MockBusinessServiceHierarchy h = MockBusinessServiceHierarchy.builder()
+                .withBusinessService(1)
+                    .withReductionKey(1, "a1")
+                    .commit()
+                .build();
+        final BusinessService b1 = h.getBusinessServiceById(1);
+
+        final IncrementalBusinessServiceStateMachine stateMachine = new IncrementalBusinessServiceStateMachine(0);
+        stateMachine.setBusinessServices(h.getBusinessServices());
+        stateMachine.handleNewOrUpdatedAlarm(new MockAlarmWrapper("a1", Status.MAJOR));
+
+        final BusinessServiceStateMachine withState = stateMachine.clone(true);
+        assertEquals(Status.MAJOR, withState.getOperationalStatus(b1));
+        final BusinessServiceStateMachine withoutState = stateMachine.clone(false);
+        assertEquals(Status.NORMAL, withoutState.getOperationalStatus(b1));
+
+        // The copies are independent
+        withState.handleNewOrUpdatedAlarm(new MockAlarmWrapper("a1", Status.CRITICAL));
+        assertEquals(Status.CRITICAL, withState.getOperationalStatus(b1));
+        assertEquals(Status.MAJOR, stateMachine.getOperationalStatus(b1));
+    }
+
+    private static void assertSameStatuses(BusinessServiceStateMachine expected, BusinessServiceStateMachine actual, List<BusinessService> businessServices) {
+        for (BusinessService businessService : businessServices) {
+            assertEquals("status of business service " + businessService.getId(),
+                    expected.getOperationalStatus(businessService), actual.getOperationalStatus(businessService));
+        }
+        for (String reductionKey : expected.getGraph().getReductionKeys()) {
+            assertEquals("status of reduction key " + reductionKey,
+                    expected.getOperationalStatus(reductionKey), actual.getOperationalStatus(reductionKey));
+        }
+    }
+
+    /**
+     * Generates a layered hierarchy, where every business service depends on
+     * random services of the next layers and on random reduction keys.
+     */
+    private static List<BusinessService> createHierarchy(Random random, int numBusinessServices, int numReductionKeys) {
+        final List<MockBusinessService> businessServices = new ArrayList<>();
+        long edgeId = 1;
+        for (int i = 0; i < numBusinessServices; i++) {
+            final MockBusinessService businessService = new MockBusinessService(i);
+            switch (random.nextInt(5)) {
+            case 0:
+                final HighestSeverityAbove highestSeverityAbove = new HighestSeverityAbove();
+                highestSeverityAbove.setThreshold(STATUSES[random.nextInt(STATUSES.length)]);
+                businessService.setReduceFunction(highestSeverityAbove);
+                break;
+            case 1:
+                final Threshold threshold = new Threshold();
+                threshold.setThreshold(0.25f * (1 + random.nextInt(4)));
+                businessService.setReduceFunction(threshold);
+                break;
+            case 2:
+                final ExponentialPropagation exponentialPropagation = new ExponentialPropagation();
+                exponentialPropagation.setBase(2.0);
+                businessService.setReduceFunction(exponentialPropagation);
+                break;
+            default:
+                businessService.setReduceFunction(new HighestSeverity());
+                break;
+            }
+            businessServices.add(businessService);
+        }
+
+        for (int i = 0; i < numBusinessServices; i++) {
+            final MockBusinessService businessService = businessServices.get(i);
+            // Only point to services with a higher index, to avoid cycles
+            final int numChildren = i + 1 < numBusinessServices ? random.nextInt(4) : 0;
+            for (int k = 0; k < numChildren; k++) {
+                final MockChildEdge edge = new MockChildEdge(edgeId++, businessServices.get(i + 1 + random.nextInt(numBusinessServices - i - 1)));
+                edge.setMapFunction(randomMapFunction(random));
+                edge.setWeight(1 + random.nextInt(3));
+                businessService.addEdge(edge);
+            }
+            final int numReductionKeyEdges = random.nextInt(3);
+            for (int k = 0; k < numReductionKeyEdges; k++) {
+                final MockReductionKeyEdge edge = new MockReductionKeyEdge(edgeId++, "rk" + random.nextInt(numReductionKeys), null);
+                edge.setMapFunction(randomMapFunction(random));
+                edge.setWeight(1 + random.nextInt(3));
+                businessService.addEdge(edge);
+            }
+        }
+        return new ArrayList<>(businessServices);
+    }
+
+    private static org.opennms.netmgt.bsm.service.model.functions.map.MapFunction randomMapFunction(Random random) {
+        switch (random.nextInt(6)) {
+        case 0:
+            return new Increase();
+        case 1:
+            return new Decrease();
+        case 2:
+            return new Ignore();
+        case 3:
+            final SetTo setTo = new SetTo();
+            setTo.setStatus(STATUSES[random.nextInt(STATUSES.length)]);
+            return setTo;
+        default:
+            return new Identity();
+        }
+    }
+}
@@ -53,4 +53,13 @@ public interface PersisterFactory {
     public Persister createPersister(ServiceParameters params, RrdRepository repository,
             boolean dontPersistCounters, boolean forceStoreByGroup, boolean dontReorderAttributes);
 
+    /**
+     * Used by the collectors to slow down when the persisters can't keep up.
+     *
+     * @return a value between 0 (no backpressure) and 1 (the buffers are full)
+     */
+    public default double getBackpressure() {
+        return 0.0;
+    }
+
 }
@@ -62,4 +62,12 @@ public class DelegatingPersisterFactory implements PersisterFactory {
                 .filter(Objects::nonNull)
                 .collect(Collectors.toList()));
     }
+
+    @Override
+    public double getBackpressure() {
+        return delegates.stream()
+                .mapToDouble(PersisterFactory::getBackpressure)
+                .max()
+                .orElse(0.0);
+    }
 }
@@ -27,6 +27,8 @@ import java.util.Collections;
 import java.util.Map;
 import java.util.Objects;
 import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.ExecutionException;
 
 import org.opennms.core.mate.api.EmptyScope;
@@ -283,57 +285,97 @@ public class CollectionSpecification {
     public CollectionSet collect(CollectionAgent agent) throws CollectionException {
         m_instrumentation.beginCollectorCollect(m_package.getName(), agent.getNodeId(), agent.getHostAddress(), m_svcName);
         try {
-            CollectorRequestBuilder requestBuilder = m_locationAwareCollectorClient.collect();
-            requestBuilder.withAgent(agent)
-                    .withAttributes(getPropertyMap())
-                    .withTimeToLive(getService().getInterval());
-            if(!getCollector().getClass().getCanonicalName().equals(collectorImplClassName)) {
-                requestBuilder.withCollectorClassName(collectorImplClassName);
-            } else {
-                requestBuilder.withCollector(getCollector());
-            }
-            final CollectionSet set = requestBuilder.execute().get();
-
-            // There are collector implementations that never throw an exception just return a collection failed
-            if (CollectionStatus.FAILED.equals(set.getStatus())) {
-                m_instrumentation.reportCollectionException(m_package.getName(), agent.getNodeId(), agent.getHostAddress(), m_svcName, new CollectionFailed(CollectionStatus.FAILED));
-            }
+            final CollectionSet set = createRequest(agent).execute().get();
+            checkStatus(agent, set);
             return set;
         } catch (InterruptedException|ExecutionException e) {
-            final CollectionException ce = RpcExceptionUtils.handleException(e, new RpcExceptionHandler<CollectionException>() {
-                @Override
-                public CollectionException onInterrupted(Throwable t) {
-                    return new CollectionUnknown("Interrupted.", t);
-                }
+            throw toCollectionException(agent, e);
+        } finally {
+            m_instrumentation.endCollectorCollect(m_package.getName(), agent.getNodeId(), agent.getHostAddress(), m_svcName);
+        }
+    }
 
-                @Override
-                public CollectionException onTimedOut(Throwable t) {
-                    return new CollectionUnknown("Request timed out.", t);
+    /**
+     * Collects without waiting for the collector.
+     *
+     * @param agent a {@link org.opennms.netmgt.collection.api.CollectionAgent} object.
+     * @return a future completed with the collection set, or exceptionally with a
+     *         {@link org.opennms.netmgt.collection.api.CollectionException}
+     */
+    public CompletableFuture<CollectionSet> collectAsync(CollectionAgent agent) {
+        m_instrumentation.beginCollectorCollect(m_package.getName(), agent.getNodeId(), agent.getHostAddress(), m_svcName);
+        CompletableFuture<CollectionSet> future;
+        try {
+            future = createRequest(agent).execute();
+        } catch (Throwable t) {
+            future = new CompletableFuture<>();
+            future.completeExceptionally(t);
+        }
+        return future.handle((set, t) -> {
+            try {
+                if (t != null) {
+                    throw new CompletionException(toCollectionException(agent, t));
                 }
+                checkStatus(agent, set);
+                return set;
+            } finally {
+                m_instrumentation.endCollectorCollect(m_package.getName(), agent.getNodeId(), agent.getHostAddress(), m_svcName);
+            }
+        });
+    }
 
-                @Override
-                public CollectionException onRejected(Throwable t) {
-                    return new CollectionUnknown("Request rejected.", e);
-                }
+    private CollectorRequestBuilder createRequest(CollectionAgent agent) {
+        CollectorRequestBuilder requestBuilder = m_locationAwareCollectorClient.collect();
+        requestBuilder.withAgent(agent)
+                .withAttributes(getPropertyMap())
+                .withTimeToLive(getService().getInterval());
+        if(!getCollector().getClass().getCanonicalName().equals(collectorImplClassName)) {
+            requestBuilder.withCollectorClassName(collectorImplClassName);
+        } else {
+            requestBuilder.withCollector(getCollector());
+        }
+        return requestBuilder;
+    }
 
-                @Override
-                public CollectionException onUnknown(Throwable t) {
-                    if (t instanceof CollectionException) {
-                        return (CollectionException)t;
-                    } else if (t.getCause() != null && t.getCause() instanceof CollectionException) {
-                        return (CollectionException)t.getCause();
-                    }
-                    return new CollectionException("Collection failed : " + t.getClass().getName() +
-                            ": " + t.getMessage(), t);
-                }
-            });
-            m_instrumentation.reportCollectionException(m_package.getName(), agent.getNodeId(), agent.getHostAddress(), m_svcName, ce);
-            throw ce;
-        } finally {
-            m_instrumentation.endCollectorCollect(m_package.getName(), agent.getNodeId(), agent.getHostAddress(), m_svcName);
+    private void checkStatus(CollectionAgent agent, CollectionSet set) {
+        // There are collector implementations that never throw an exception just return a collection failed
+        if (CollectionStatus.FAILED.equals(set.getStatus())) {
+            m_instrumentation.reportCollectionException(m_package.getName(), agent.getNodeId(), agent.getHostAddress(), m_svcName, new CollectionFailed(CollectionStatus.FAILED));
         }
     }
 
+    private CollectionException toCollectionException(CollectionAgent agent, Throwable e) {
+        final CollectionException ce = RpcExceptionUtils.handleException(e, new RpcExceptionHandler<CollectionException>() {
+            @Override
+            public CollectionException onInterrupted(Throwable t) {
+                return new CollectionUnknown("Interrupted.", t);
+            }
+
+            @Override
+            public CollectionException onTimedOut(Throwable t) {
+                return new CollectionUnknown("Request timed out.", t);
+            }
+
+            @Override
+            public CollectionException onRejected(Throwable t) {
+                return new CollectionUnknown("Request rejected.", e);
+            }
+
+            @Override
+            public CollectionException onUnknown(Throwable t) {
+                if (t instanceof CollectionException) {
+                    return (CollectionException)t;
+                } else if (t.getCause() != null && t.getCause() instanceof CollectionException) {
+                    return (CollectionException)t.getCause();
+                }
+                return new CollectionException("Collection failed : " + t.getClass().getName() +
+                        ": " + t.getMessage(), t);
+            }
+        });
+        m_instrumentation.reportCollectionException(m_package.getName(), agent.getNodeId(), agent.getHostAddress(), m_svcName, ce);
+        return ce;
+    }
+
     /**
      * <p>scheduledOutage</p>
      *
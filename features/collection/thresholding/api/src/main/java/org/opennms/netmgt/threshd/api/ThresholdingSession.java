@@ -21,6 +21,8 @@
  */
 package org.opennms.netmgt.threshd.api;
 
+import java.util.concurrent.CompletableFuture;
+
 import org.opennms.features.distributed.kvstore.api.BlobStore;
 import org.opennms.netmgt.collection.api.CollectionSet;
 import org.opennms.netmgt.xml.event.Event;
@@ -37,6 +39,25 @@ public interface ThresholdingSession extends AutoCloseable {
      */
     void accept(CollectionSet collectionSet) throws ThresholdInitializationException;
 
+    /**
+     * Accepts a {@link CollectionSet} for threshold evaluation, which may happen on another thread. The collection
+     * sets of a session are evaluated in the order in which they were accepted.
+     *
+     * @param collectionSet
+     * @return a future that completes once the thresholds were evaluated, or completes exceptionally with a
+     *         {@link ThresholdInitializationException} if the thresholding configuration could not be initialized
+     */
+    default CompletableFuture<Void> acceptAsync(CollectionSet collectionSet) {
+        final CompletableFuture<Void> future = new CompletableFuture<>();
+        try {
+            accept(collectionSet);
+            future.complete(null);
+        } catch (ThresholdInitializationException | RuntimeException e) {
+            future.completeExceptionally(e);
+        }
+        return future;
+    }
+
     ThresholdingSessionKey getKey();
     
     BlobStore getBlobStore();
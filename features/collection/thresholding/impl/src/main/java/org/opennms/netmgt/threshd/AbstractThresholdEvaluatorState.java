@@ -42,6 +42,7 @@ import org.opennms.features.distributed.kvstore.api.SerializingBlobStore;
 import org.opennms.netmgt.collection.api.CollectionResource;
 import org.opennms.netmgt.model.ResourceId;
 import org.opennms.netmgt.model.events.EventBuilder;
+import org.opennms.netmgt.threshd.api.ThresholdStateMonitor;
 import org.opennms.netmgt.threshd.api.ThresholdingSession;
 import org.opennms.netmgt.xml.event.Event;
 import org.slf4j.Logger;
@@ -105,6 +106,11 @@ public abstract class AbstractThresholdEvaluatorState<T extends AbstractThreshol
     
     private String instance;
 
+    /**
+     * The slot assigned by the {@link ThresholdStateStore} when checkpointing.
+     */
+    private int stateSlot = -1;
+
 
     static final Map<Class<? extends AbstractThresholdEvaluatorState.AbstractState>,
             SerializingBlobStore<? extends AbstractThresholdEvaluatorState.AbstractState>> serdesMap
@@ -224,21 +230,83 @@ public abstract class AbstractThresholdEvaluatorState<T extends AbstractThreshol
 
     private void persistStateIfNeeded() {
         if (shouldPersist()) {
-            try {
-                long newTimestamp = kvStore.put(key, state, THRESHOLDING_KV_CONTEXT, stateTTL);
-                lastUpdatedCache.put(key, newTimestamp);
-
-                // If we successfully stored the state we will mark that the persisted state is up to date and no longer
-                // dirty
-                isStateDirty = false;
-            } catch (RuntimeException e) {
-                RATE_LIMITED_LOGGER.warn("Failed to store state for threshold {}", key, e);
+            final ThresholdStateStore stateStore = getStateStore();
+            if (stateStore != null && stateStore.isCheckpointing() && !isDistributed()) {
+                // Written with the next checkpoint
+                stateStore.markDirty(this);
+            } else {
+                persistState();
             }
         }
     }
 
+    /**
+     * @return true if the state was written
+     */
+    private boolean persistState() {
+        if (!shouldPersist()) {
+            return false;
+        }
+        try {
+            long newTimestamp = kvStore.put(key, state, THRESHOLDING_KV_CONTEXT, stateTTL);
+            lastUpdatedCache.put(key, newTimestamp);
+
+            // If we successfully stored the state we will mark that the persisted state is up to date and no longer
+            // dirty
+            isStateDirty = false;
+            return true;
+        } catch (RuntimeException e) {
+            RATE_LIMITED_LOGGER.warn("Failed to store state for threshold {}", key, e);
+            return false;
+        }
+    }
+
+    /**
+     * Writes the state if it changed since it was last written. Called by the {@link ThresholdStateStore}.
+     *
+     * @return true if the state was written
+     */
+    synchronized boolean checkpoint() {
+        final boolean[] written = new boolean[1];
+        // Don't write while the state is being cleared
+        thresholdingSession.getThresholdStateMonitor().withReadLock(() -> written[0] = persistState());
+        return written[0];
+    }
+
+    /**
+     * @return the estimated number of bytes the state occupies on the heap
+     */
+    synchronized long getStateHeapSize() {
+        return HeapSize.of(state);
+    }
+
+    private ThresholdStateStore getStateStore() {
+        final ThresholdStateMonitor monitor = thresholdingSession.getThresholdStateMonitor();
+        return monitor instanceof BlobStoreAwareMonitor ? ((BlobStoreAwareMonitor) monitor).getStateStore() : null;
+    }
+
+    String getKey() {
+        return key;
+    }
+
+    int getStateSlot() {
+        return stateSlot;
+    }
+
+    void setStateSlot(int stateSlot) {
+        this.stateSlot = stateSlot;
+    }
+
     @SuppressWarnings("unchecked")
     private void fetchState() {
+        if (firstEvaluation) {
+            // A previous evaluator for the same threshold may not have written its latest state yet
+            final ThresholdStateStore stateStore = getStateStore();
+            if (stateStore != null && stateStore.isCheckpointing()) {
+                stateStore.flush(key);
+            }
+        }
+
         thresholdingSession.getThresholdStateMonitor().withReadLock(() -> {
             // Fetch the state to make sure we have the latest if we are thresholding in a distributed environment or if
             // this is the first time we are evaluating this evaluator
@@ -285,6 +353,11 @@ public abstract class AbstractThresholdEvaluatorState<T extends AbstractThreshol
 
     @Override
     public synchronized Status evaluate(double dsValue, ThresholdValues thresholdValues, Long sequenceNumber) {
+        final ThresholdStateStore stateStore = getStateStore();
+        if (stateStore != null) {
+            stateStore.evaluated();
+        }
+
         if (sequenceNumber != null) {
             // If a sequence number was provided, only fetch the state if this is the first sequence number we have seen
             // or if this was not the next sequence number (indicating someone else processed the last one)
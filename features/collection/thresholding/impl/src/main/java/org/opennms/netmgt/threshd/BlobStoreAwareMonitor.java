@@ -46,9 +46,23 @@ public class BlobStoreAwareMonitor implements ThresholdStateMonitor {
     private final Lock writeLock = readWriteLock.writeLock();
     private final Map<String, ReinitializableState> stateMap = new ConcurrentHashMap<>();
     private final BlobStore blobStore;
+    private final ThresholdStateStore stateStore;
 
     public BlobStoreAwareMonitor(BlobStore blobStore) {
+        this(blobStore, new ThresholdStateStore());
+    }
+
+    public BlobStoreAwareMonitor(BlobStore blobStore, ThresholdStateStore stateStore) {
         this.blobStore = Objects.requireNonNull(blobStore);
+        this.stateStore = Objects.requireNonNull(stateStore);
+    }
+
+    public ThresholdStateStore getStateStore() {
+        return stateStore;
+    }
+
+    public void destroy() {
+        stateStore.destroy();
     }
 
     @Override
@@ -86,6 +100,7 @@ public class BlobStoreAwareMonitor implements ThresholdStateMonitor {
             ReinitializableState reinitializableState = stateMap.get(stateKey);
             if (reinitializableState != null) {
                 reinitializableState.reinitialize();
+                stateStore.discard(stateKey);
                 clearSingleStateFromPersistence(stateKey);
                 stateMap.remove(stateKey);
             }
@@ -97,6 +112,7 @@ public class BlobStoreAwareMonitor implements ThresholdStateMonitor {
         withWriteLock(stateMap -> {
             if (!stateMap.isEmpty()) {
                 stateMap.values().forEach(ReinitializableState::reinitialize);
+                stateStore.discardAll();
                 clearAllStatesFromPersistence();
                 stateMap.clear();
             }
@@ -0,0 +1,154 @@
+/*
+ * Licensed to The OpenNMS Group, Inc (TOG) under one or more
+ * contributor license agreements.  See the LICENSE.md file
+ * distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * TOG licenses this file to You under the GNU Affero General
+ * Public License Version 3 (the "License") or (at your option)
+ * any later version.  You may not use this file except in
+ * compliance with the License.  You may obtain a copy of the
+ * License at:
+ *
+ *      https://www.gnu.org/licenses/agpl-3.0.txt
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied.  See the License for the specific
+ * language governing permissions and limitations under the
+ * License.
+ */
+package org.opennms.netmgt.threshd;
+
+import java.lang.reflect.Array;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Estimates the heap retained by an object graph, assuming a 64-bit JVM with compressed references.
+ * <p>
+ * The shallow size of an object is its header and its fields, aligned to 8 bytes. Fields of JDK classes are not
+ * followed, except for the characters of strings, since the JDK does not grant access to them. This is exact for
+ * the threshold states, which only hold primitives, strings, boxed numbers and further state objects.
+ */
+final class HeapSize {
+    private static final int OBJECT_HEADER = 12;
+    private static final int ARRAY_HEADER = 16;
+    private static final int REFERENCE = 4;
+    private static final int ALIGNMENT = 8;
+
+    private static final ClassValue<Layout> LAYOUTS = new ClassValue<Layout>() {
+        @Override
+        protected Layout computeValue(final Class<?> type) {
+            return new Layout(type);
+        }
+    };
+
+    private HeapSize() {
+    }
+
+    /**
+     * @return the estimated number of bytes retained by the given object and the objects reachable from it
+     */
+    static long of(final Object root) {
+        final Set<Object> visited = Collections.newSetFromMap(new IdentityHashMap<>());
+        final Deque<Object> pending = new ArrayDeque<>();
+        long size = 0;
+
+        if (root != null) {
+            pending.push(root);
+        }
+        while (!pending.isEmpty()) {
+            final Object o = pending.pop();
+            if (!visited.add(o)) {
+                continue;
+            }
+
+            final Class<?> type = o.getClass();
+            if (type.isArray()) {
+                final int length = Array.getLength(o);
+                final Class<?> component = type.getComponentType();
+                size += align(ARRAY_HEADER + (long) length * sizeOf(component));
+                if (!component.isPrimitive()) {
+                    for (int i = 0; i < length; i++) {
+                        final Object element = Array.get(o, i);
+                        if (element != null) {
+                            pending.push(element);
+                        }
+                    }
+                }
+                continue;
+            }
+
+            final Layout layout = LAYOUTS.get(type);
+            size += layout.size;
+            if (o instanceof String) {
+                // Compact strings are stored with one byte per character if all of them are latin-1
+                final String s = (String) o;
+                final boolean latin1 = s.chars().allMatch(c -> c <= 0xFF);
+                size += align(ARRAY_HEADER + (long) s.length() * (latin1 ? 1 : 2));
+                continue;
+            }
+            for (final Field field : layout.references) {
+                try {
+                    final Object value = field.get(o);
+                    if (value != null) {
+                        pending.push(value);
+                    }
+                } catch (final IllegalAccessException e) {
+                    throw new IllegalStateException(e);
+                }
+            }
+        }
+        return size;
+    }
+
+    private static int sizeOf(final Class<?> type) {
+        if (type == long.class || type == double.class) {
+            return 8;
+        } else if (type == int.class || type == float.class) {
+            return 4;
+        } else if (type == short.class || type == char.class) {
+            return 2;
+        } else if (type == byte.class || type == boolean.class) {
+            return 1;
+        } else {
+            return REFERENCE;
+        }
+    }
+
+    private static long align(final long size) {
+        return (size + ALIGNMENT - 1) / ALIGNMENT * ALIGNMENT;
+    }
+
+    private static final class Layout {
+        private final long size;
+        private final List<Field> references = new ArrayList<>();
+
+        private Layout(final Class<?> type) {
+            final boolean jdk = type.getName().startsWith("java.");
+            long fields = 0;
+            for (Class<?> c = type; c != null; c = c.getSuperclass()) {
+                for (final Field field : c.getDeclaredFields()) {
+                    if (Modifier.isStatic(field.getModifiers())) {
+                        continue;
+                    }
+                    fields += sizeOf(field.getType());
+                    if (!jdk && !field.getType().isPrimitive()) {
+                        field.setAccessible(true);
+                        this.references.add(field);
+                    }
+                }
+            }
+            this.size = align(OBJECT_HEADER + fields);
+        }
+    }
+}
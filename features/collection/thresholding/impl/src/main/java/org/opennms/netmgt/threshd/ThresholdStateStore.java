@@ -0,0 +1,315 @@
+/*
+ * Licensed to The OpenNMS Group, Inc (TOG) under one or more
+ * contributor license agreements.  See the LICENSE.md file
+ * distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * TOG licenses this file to You under the GNU Affero General
+ * Public License Version 3 (the "License") or (at your option)
+ * any later version.  You may not use this file except in
+ * compliance with the License.  You may obtain a copy of the
+ * License at:
+ *
+ *      https://www.gnu.org/licenses/agpl-3.0.txt
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied.  See the License for the specific
+ * language governing permissions and limitations under the
+ * License.
+ */
+package org.opennms.netmgt.threshd;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.opennms.core.sysprops.SystemProperties;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
+/**
+ * Keeps track of the threshold evaluator states that changed since they were last persisted, and writes them
+ * to the blob store in periodic batches instead of after every evaluation.
+ * <p>
+ * Every state is assigned a slot when it becomes dirty, so that marking it dirty again only sets a bit, and
+ * releases it once it was written, so that only the states pending a write are retained. A state updated many
+ * times between two checkpoints is written once. The batches are only used when
+ * thresholding on a single instance: in a distributed environment, another instance may pick up the next
+ * evaluation and must see the latest state, so the states are written right away.
+ * <p>
+ * The checkpoint interval is given in milliseconds by the {@value #CHECKPOINT_INTERVAL_PROPERTY} system
+ * property and defaults to {@value #DEFAULT_CHECKPOINT_INTERVAL}. With an interval of 0, states are written after
+ * every evaluation that changed them.
+ */
+public class ThresholdStateStore {
+    private static final Logger LOG = LoggerFactory.getLogger(ThresholdStateStore.class);
+
+    public static final String CHECKPOINT_INTERVAL_PROPERTY = "org.opennms.netmgt.threshd.state_checkpoint_interval";
+
+    public static final long DEFAULT_CHECKPOINT_INTERVAL = 30000L;
+
+    private static final int INITIAL_SLOTS = 1024;
+
+    private final long checkpointInterval;
+
+    private final ScheduledExecutorService executor;
+
+    private final Map<String, Integer> slotsByKey = new HashMap<>();
+
+    private AbstractThresholdEvaluatorState<?>[] states = new AbstractThresholdEvaluatorState<?>[INITIAL_SLOTS];
+
+    private int[] freeSlots = new int[16];
+
+    private int freeSlotCount = 0;
+
+    private int nextSlot = 0;
+
+    private final BitSet dirty = new BitSet(INITIAL_SLOTS);
+
+    private final LongAdder evaluations = new LongAdder();
+
+    private final AtomicLong checkpoints = new AtomicLong();
+
+    private final AtomicLong statesWritten = new AtomicLong();
+
+    private final AtomicLong heapBytesWritten = new AtomicLong();
+
+    private volatile long lastCheckpointMillis;
+
+    private volatile long lastRateTime = System.nanoTime();
+
+    private volatile long lastRateEvaluations;
+
+    private volatile double evaluationRate;
+
+    public ThresholdStateStore() {
+        this(SystemProperties.getLong(CHECKPOINT_INTERVAL_PROPERTY, DEFAULT_CHECKPOINT_INTERVAL));
+    }
+
+    public ThresholdStateStore(final long checkpointInterval) {
+        this.checkpointInterval = Math.max(0L, checkpointInterval);
+        if (this.checkpointInterval > 0) {
+            executor = Executors.newSingleThreadScheduledExecutor(new ThreadFactoryBuilder()
+                    .setNameFormat("threshold-state-checkpoint")
+                    .setDaemon(true)
+                    .build());
+            executor.scheduleWithFixedDelay(this::checkpointQuietly, this.checkpointInterval, this.checkpointInterval, TimeUnit.MILLISECONDS);
+        } else {
+            executor = null;
+        }
+    }
+
+    /**
+     * @return true if dirty states are written with the next checkpoint rather than right away
+     */
+    public boolean isCheckpointing() {
+        return checkpointInterval > 0;
+    }
+
+    void evaluated() {
+        evaluations.increment();
+    }
+
+    /**
+     * Queues the given state to be written with the next checkpoint.
+     */
+    synchronized void markDirty(final AbstractThresholdEvaluatorState<?> state) {
+        int slot = state.getStateSlot();
+        if (slot < 0 || slot >= nextSlot || states[slot] != state) {
+            slot = register(state);
+            state.setStateSlot(slot);
+        }
+        dirty.set(slot);
+    }
+
+    private int register(final AbstractThresholdEvaluatorState<?> state) {
+        final Integer existing = slotsByKey.get(state.getKey());
+        if (existing != null) {
+            // A new evaluator for the same key takes over, the previous one was flushed on its first evaluation
+            states[existing] = state;
+            return existing;
+        }
+
+        final int slot;
+        if (freeSlotCount > 0) {
+            slot = freeSlots[--freeSlotCount];
+        } else {
+            slot = nextSlot++;
+            if (slot == states.length) {
+                states = Arrays.copyOf(states, states.length * 2);
+            }
+        }
+        states[slot] = state;
+        slotsByKey.put(state.getKey(), slot);
+        return slot;
+    }
+
+    /**
+     * Writes the pending state with the given key, if any, so that it can be fetched from the blob store.
+     */
+    void flush(final String key) {
+        final AbstractThresholdEvaluatorState<?> state;
+        synchronized (this) {
+            final Integer slot = slotsByKey.get(key);
+            if (slot == null || !dirty.get(slot)) {
+                return;
+            }
+            dirty.clear(slot);
+            state = states[slot];
+        }
+        write(state);
+        released(state);
+    }
+
+    /**
+     * Forgets the state with the given key, i.e. after it was reinitialized and deleted from the blob store.
+     */
+    synchronized void discard(final String key) {
+        final Integer slot = slotsByKey.remove(key);
+        if (slot != null) {
+            dirty.clear(slot);
+            release(slot);
+        }
+    }
+
+    /**
+     * Releases the slot of the given state once it was written, unless it was marked dirty again meanwhile.
+     */
+    private synchronized void released(final AbstractThresholdEvaluatorState<?> state) {
+        final int slot = state.getStateSlot();
+        if (slot >= 0 && slot < nextSlot && states[slot] == state && !dirty.get(slot)) {
+            slotsByKey.remove(state.getKey());
+            release(slot);
+        }
+    }
+
+    private void release(final int slot) {
+        states[slot] = null;
+        if (freeSlotCount == freeSlots.length) {
+            freeSlots = Arrays.copyOf(freeSlots, freeSlots.length * 2);
+        }
+        freeSlots[freeSlotCount++] = slot;
+    }
+
+    /**
+     * Forgets all of the states.
+     */
+    synchronized void discardAll() {
+        slotsByKey.clear();
+        dirty.clear();
+        Arrays.fill(states, null);
+        nextSlot = 0;
+        freeSlotCount = 0;
+    }
+
+    /**
+     * Writes all of the pending states.
+     */
+    public void checkpoint() {
+        final long start = System.currentTimeMillis();
+        final List<AbstractThresholdEvaluatorState<?>> pending;
+        synchronized (this) {
+            pending = new ArrayList<>(dirty.cardinality());
+            for (int slot = dirty.nextSetBit(0); slot >= 0; slot = dirty.nextSetBit(slot + 1)) {
+                pending.add(states[slot]);
+            }
+            dirty.clear();
+        }
+
+        for (final AbstractThresholdEvaluatorState<?> state : pending) {
+            write(state);
+            released(state);
+        }
+
+        checkpoints.incrementAndGet();
+        lastCheckpointMillis = System.currentTimeMillis() - start;
+        LOG.debug("Wrote {} threshold states in {}ms.", pending.size(), lastCheckpointMillis);
+    }
+
+    private void checkpointQuietly() {
+        try {
+            checkpoint();
+        } catch (final RuntimeException e) {
+            LOG.warn("Failed to write threshold states.", e);
+        }
+    }
+
+    private void write(final AbstractThresholdEvaluatorState<?> state) {
+        if (state.checkpoint()) {
+            statesWritten.incrementAndGet();
+            heapBytesWritten.addAndGet(state.getStateHeapSize());
+        }
+    }
+
+    /**
+     * Writes the pending states and stops the periodic checkpoints.
+     */
+    public void destroy() {
+        if (executor != null) {
+            executor.shutdown();
+            checkpointQuietly();
+        }
+    }
+
+    /**
+     * @return the number of states which are pending or being written
+     */
+    public synchronized int getStateCount() {
+        return slotsByKey.size();
+    }
+
+    public synchronized int getDirtyStateCount() {
+        return dirty.cardinality();
+    }
+
+    /**
+     * @return the number of evaluations per second since this method was last called
+     */
+    public synchronized double getEvaluationRate() {
+        final long now = System.nanoTime();
+        final long total = evaluations.sum();
+        final long elapsed = now - lastRateTime;
+        if (elapsed >= TimeUnit.SECONDS.toNanos(1)) {
+            evaluationRate = (total - lastRateEvaluations) * (double) TimeUnit.SECONDS.toNanos(1) / elapsed;
+            lastRateTime = now;
+            lastRateEvaluations = total;
+        }
+        return evaluationRate;
+    }
+
+    /**
+     * @return the average number of bytes a state written by the store occupies on the heap, which is the memory
+     * kept per threshold and resource by its evaluator
+     */
+    public long getHeapBytesPerState() {
+        final long written = statesWritten.get();
+        return written == 0 ? 0 : heapBytesWritten.get() / written;
+    }
+
+    public Map<String, Number> getStatistics() {
+        final Map<String, Number> stats = new LinkedHashMap<>();
+        stats.put("checkpointInterval", checkpointInterval);
+        stats.put("states", getStateCount());
+        stats.put("dirtyStates", getDirtyStateCount());
+        stats.put("evaluations", evaluations.sum());
+        stats.put("evaluationsPerSecond", getEvaluationRate());
+        stats.put("statesWritten", statesWritten.get());
+        stats.put("heapBytesPerState", getHeapBytesPerState());
+        stats.put("checkpoints", checkpoints.get());
+        stats.put("lastCheckpointMillis", lastCheckpointMillis);
+        return stats;
+    }
+}
@@ -100,6 +100,8 @@ public class ThresholdingServiceImpl implements ThresholdingService, EventListen
     private final Timer reInitializeTimer = new Timer();
 
     private boolean isDistributed = false;
+
+    private final ThresholdingShards shards = new ThresholdingShards();
     
     // Spring init entry point
     @PostConstruct
@@ -124,6 +126,11 @@ public class ThresholdingServiceImpl implements ThresholdingService, EventListen
         }, 0, TimeUnit.MILLISECONDS.convert(5, TimeUnit.MINUTES));
     }
     
+    public void destroy() {
+        reInitializeTimer.cancel();
+        shards.destroy();
+    }
+
     private void reinitializeOnTimer() {
         thresholdingSetPersister.reinitializeThresholdingSets();
     }
@@ -212,6 +219,10 @@ public class ThresholdingServiceImpl implements ThresholdingService, EventListen
         this.thresholdingSetPersister = thresholdingSetPersister;
     }
 
+    public ThresholdingShards getShards() {
+        return shards;
+    }
+
     public void close(ThresholdingSessionImpl session) {
         thresholdingSetPersister.clear(session);
     }
@@ -21,6 +21,8 @@
  */
 package org.opennms.netmgt.threshd;
 
+import java.util.concurrent.CompletableFuture;
+
 import org.opennms.features.distributed.kvstore.api.BlobStore;
 import org.opennms.netmgt.collection.api.CollectionSet;
 import org.opennms.netmgt.collection.api.ServiceParameters;
@@ -60,7 +62,20 @@ public class ThresholdingSessionImpl implements ThresholdingSession {
 
     @Override
     public void accept(CollectionSet collectionSet) throws ThresholdInitializationException {
-        acceptCollection(collectionSet);
+        if (service.getShards().isEnabled()) {
+            acceptAsync(collectionSet).whenComplete((v, ex) -> {
+                if (ex != null) {
+                    LOG.error("Failed to evaluate thresholds for ThresholdingSession {}", sessionKey, ex);
+                }
+            });
+        } else {
+            acceptCollection(collectionSet);
+        }
+    }
+
+    @Override
+    public CompletableFuture<Void> acceptAsync(CollectionSet collectionSet) {
+        return service.getShards().submit(sessionKey, () -> acceptCollection(collectionSet));
     }
 
     @Override
@@ -0,0 +1,234 @@
+/*
+ * Licensed to The OpenNMS Group, Inc (TOG) under one or more
+ * contributor license agreements.  See the LICENSE.md file
+ * distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * TOG licenses this file to You under the GNU Affero General
+ * Public License Version 3 (the "License") or (at your option)
+ * any later version.  You may not use this file except in
+ * compliance with the License.  You may obtain a copy of the
+ * License at:
+ *
+ *      https://www.gnu.org/licenses/agpl-3.0.txt
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied.  See the License for the specific
+ * language governing permissions and limitations under the
+ * License.
+ */
+package org.opennms.netmgt.threshd;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import org.opennms.core.sysprops.SystemProperties;
+import org.opennms.netmgt.threshd.api.ThresholdInitializationException;
+import org.opennms.netmgt.threshd.api.ThresholdingSessionKey;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
+/**
+ * Evaluates the collection sets of thresholding sessions on a fixed number of worker threads, instead of on the
+ * thread delivering them.
+ * <p>
+ * Every session key is hashed to a single shard, which has its own thread and queue. The collection sets of a
+ * session are therefore evaluated one after the other, in the order in which they were submitted, while different
+ * sessions are evaluated in parallel. When the queue of a shard is full, the submitting thread waits for room
+ * rather than evaluating the set itself, since that would break the ordering.
+ * <p>
+ * The number of shards is given by the {@value #SHARDS_PROPERTY} system property. With the default of 0, collection
+ * sets are evaluated on the calling thread as before.
+ */
+public class ThresholdingShards {
+    private static final Logger LOG = LoggerFactory.getLogger(ThresholdingShards.class);
+
+    public static final String SHARDS_PROPERTY = "org.opennms.netmgt.threshd.shards";
+
+    public static final String QUEUE_SIZE_PROPERTY = "org.opennms.netmgt.threshd.shard_queue_size";
+
+    @FunctionalInterface
+    public interface Evaluation {
+        void run() throws ThresholdInitializationException;
+    }
+
+    private final ThreadPoolExecutor[] shards;
+
+    private final AtomicLongArray submitted;
+
+    private final AtomicLongArray completed;
+
+    private long lastRateTime = System.nanoTime();
+
+    private long lastRateCompleted;
+
+    private double evaluationRate;
+
+    public ThresholdingShards() {
+        this(SystemProperties.getInteger(SHARDS_PROPERTY, 0), SystemProperties.getInteger(QUEUE_SIZE_PROPERTY, 1000));
+    }
+
+    public ThresholdingShards(final int numShards, final int queueSize) {
+        shards = new ThreadPoolExecutor[Math.max(0, numShards)];
+        submitted = new AtomicLongArray(shards.length);
+        completed = new AtomicLongArray(shards.length);
+        for (int i = 0; i < shards.length; i++) {
+            shards[i] = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+                    new LinkedBlockingQueue<>(queueSize),
+                    new ThreadFactoryBuilder().setNameFormat("thresholding-shard-" + i).build(),
+                    (r, executor) -> {
+                        // Wait for room to keep the order of the collection sets
+                        if (executor.isShutdown()) {
+                            throw new RejectedExecutionException("Thresholding shards are stopped");
+                        }
+                        try {
+                            executor.getQueue().put(r);
+                        } catch (InterruptedException e) {
+                            Thread.currentThread().interrupt();
+                            throw new RejectedExecutionException("Interrupted while waiting for a thresholding shard", e);
+                        }
+                    });
+        }
+        if (shards.length > 0) {
+            LOG.info("Evaluating thresholds on {} shards with queues of {} collection sets.", shards.length, queueSize);
+        }
+    }
+
+    public boolean isEnabled() {
+        return shards.length > 0;
+    }
+
+    /**
+     * Evaluates on the shard of the given session key, or right away if sharding is disabled.
+     *
+     * @return a future completed once the evaluation ran
+     */
+    public CompletableFuture<Void> submit(final ThresholdingSessionKey key, final Evaluation evaluation) {
+        if (!isEnabled()) {
+            final CompletableFuture<Void> future = new CompletableFuture<>();
+            try {
+                evaluation.run();
+                future.complete(null);
+            } catch (ThresholdInitializationException | RuntimeException e) {
+                future.completeExceptionally(e);
+            }
+            return future;
+        }
+
+        final int shard = getShard(key);
+        final CompletableFuture<Void> future = new CompletableFuture<>();
+        submitted.incrementAndGet(shard);
+        try {
+            shards[shard].execute(() -> {
+                try {
+                    evaluation.run();
+                    future.complete(null);
+                } catch (Throwable t) {
+                    future.completeExceptionally(t);
+                } finally {
+                    completed.incrementAndGet(shard);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            submitted.decrementAndGet(shard);
+            future.completeExceptionally(e);
+        }
+        return future;
+    }
+
+    int getShard(final ThresholdingSessionKey key) {
+        // Spread the bits, session keys of the same node only differ in a few of them
+        final int h = key.hashCode();
+        return Math.floorMod(h ^ (h >>> 16), shards.length);
+    }
+
+    public int getShardCount() {
+        return shards.length;
+    }
+
+    public int getQueueDepth() {
+        int depth = 0;
+        for (ThreadPoolExecutor shard : shards) {
+            depth += shard.getQueue().size();
+        }
+        return depth;
+    }
+
+    public int getMaxQueueDepth() {
+        int max = 0;
+        for (ThreadPoolExecutor shard : shards) {
+            max = Math.max(max, shard.getQueue().size());
+        }
+        return max;
+    }
+
+    /**
+     * @return the number of collection sets submitted to the busiest shard, relative to the average over all shards
+     */
+    public double getSkew() {
+        long total = 0;
+        long max = 0;
+        for (int i = 0; i < submitted.length(); i++) {
+            total += submitted.get(i);
+            max = Math.max(max, submitted.get(i));
+        }
+        return total == 0 ? 1.0 : max * (double) submitted.length() / total;
+    }
+
+    /**
+     * @return the number of collection sets evaluated per second since this method was last called
+     */
+    public synchronized double getEvaluationRate() {
+        final long now = System.nanoTime();
+        long total = 0;
+        for (int i = 0; i < completed.length(); i++) {
+            total += completed.get(i);
+        }
+        final long elapsed = now - lastRateTime;
+        if (elapsed >= TimeUnit.SECONDS.toNanos(1)) {
+            evaluationRate = (total - lastRateCompleted) * (double) TimeUnit.SECONDS.toNanos(1) / elapsed;
+            lastRateTime = now;
+            lastRateCompleted = total;
+        }
+        return evaluationRate;
+    }
+
+    public Map<String, Number> getStatistics() {
+        final Map<String, Number> stats = new LinkedHashMap<>();
+        stats.put("shards", getShardCount());
+        stats.put("queueDepth", getQueueDepth());
+        stats.put("maxShardQueueDepth", getMaxQueueDepth());
+        stats.put("shardSkew", getSkew());
+        stats.put("collectionSetsPerSecond", getEvaluationRate());
+        return stats;
+    }
+
+    /**
+     * Evaluates the queued collection sets and stops the workers.
+     */
+    public void destroy() {
+        for (ThreadPoolExecutor shard : shards) {
+            shard.shutdown();
+        }
+        for (ThreadPoolExecutor shard : shards) {
+            try {
+                if (!shard.awaitTermination(30, TimeUnit.SECONDS)) {
+                    LOG.warn("Thresholding shard did not complete its queue in time, {} collection sets dropped.", shard.shutdownNow().size());
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                shard.shutdownNow();
+            }
+        }
+    }
+}
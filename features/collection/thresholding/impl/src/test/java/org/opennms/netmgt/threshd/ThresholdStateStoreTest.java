@@ -0,0 +1,177 @@
+/*
+ * Licensed to The OpenNMS Group, Inc (TOG) under one or more
+ * contributor license agreements.  See the LICENSE.md file
+ * distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * TOG licenses this file to You under the GNU Affero General
+ * Public License Version 3 (the "License") or (at your option)
+ * any later version.  You may not use this file except in
+ * compliance with the License.  You may obtain a copy of the
+ * License at:
+ *
+ *      https://www.gnu.org/licenses/agpl-3.0.txt
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied.  See the License for the specific
+ * language governing permissions and limitations under the
+ * License.
+ */
+package org.opennms.netmgt.threshd;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.opennms.features.distributed.kvstore.api.BlobStore;
+import org.opennms.features.distributed.kvstore.blob.inmemory.InMemoryMapBlobStore;
+import org.opennms.netmgt.config.threshd.Threshold;
+import org.opennms.netmgt.config.threshd.ThresholdType;
+import org.opennms.netmgt.threshd.ThresholdEvaluatorHighLow.ThresholdEvaluatorStateHighLow;
+import org.opennms.netmgt.threshd.ThresholdEvaluatorState.Status;
+import org.opennms.netmgt.threshd.api.ThresholdingSession;
+import org.opennms.netmgt.threshd.api.ThresholdingSessionKey;
+
+public class ThresholdStateStoreTest {
+
+    private final BlobStore blobStore = InMemoryMapBlobStore.withDefaultTicks();
+
+    private final ThresholdStateStore stateStore = new ThresholdStateStore(TimeUnit.HOURS.toMillis(1));
+
+    private final BlobStoreAwareMonitor monitor = new BlobStoreAwareMonitor(blobStore, stateStore);
+
+    private final ThresholdingSession session = mock(ThresholdingSession.class);
+
+    @Before
+    public void setUp() {
+        ThresholdingSessionKey key = mock(ThresholdingSessionKey.class);
+        when(key.getNodeId()).thenReturn(1);
+        when(key.getLocation()).thenReturn("Default");
+        when(key.getServiceName()).thenReturn("SNMP");
+        when(session.getKey()).thenReturn(key);
+        when(session.getBlobStore()).thenReturn(blobStore);
+        when(session.getThresholdStateMonitor()).thenReturn(monitor);
+
+        // The serdes are shared by all tests, make sure they use our blob store
+        AbstractThresholdEvaluatorState.clearSerdesMap();
+    }
+
+    @After
+    public void tearDown() {
+        monitor.destroy();
+        AbstractThresholdEvaluatorState.clearSerdesMap();
+    }
+
+    @Test
+    public void writesStatesOnCheckpoint() {
+        ThresholdEvaluatorStateHighLow item = new ThresholdEvaluatorStateHighLow(getWrapper(), session);
+        item.evaluate(100.0);
+        item.evaluate(100.0);
+
+        assertEquals(1, stateStore.getDirtyStateCount());
+        assertTrue(blobStore.enumerateContext(AbstractThresholdEvaluatorState.THRESHOLDING_KV_CONTEXT).isEmpty());
+
+        stateStore.checkpoint();
+
+        assertEquals(0, stateStore.getDirtyStateCount());
+        assertEquals(1, blobStore.enumerateContext(AbstractThresholdEvaluatorState.THRESHOLDING_KV_CONTEXT).size());
+        assertEquals(2L, stateStore.getStatistics().get("evaluations"));
+        assertEquals(1L, stateStore.getStatistics().get("statesWritten"));
+        assertEquals(HeapSize.of(item.state), stateStore.getHeapBytesPerState());
+    }
+
+    @Test
+    public void releasesStatesOnceWritten() {
+        ThresholdEvaluatorStateHighLow item = new ThresholdEvaluatorStateHighLow(getWrapper(), session);
+        item.evaluate(100.0);
+        assertEquals(1, stateStore.getStateCount());
+
+        stateStore.checkpoint();
+        assertEquals(0, stateStore.getStateCount());
+
+        // The state is tracked again once it changes
+        item.evaluate(100.0);
+        assertEquals(1, stateStore.getStateCount());
+        assertEquals(1, stateStore.getDirtyStateCount());
+
+        stateStore.checkpoint();
+        assertEquals(0, stateStore.getStateCount());
+        assertEquals(2L, stateStore.getStatistics().get("statesWritten"));
+    }
+
+    @Test
+    public void canResumeWithPendingState() {
+        ThresholdEvaluatorState item = new ThresholdEvaluatorStateHighLow(getWrapper(), session);
+        assertEquals(Status.NO_CHANGE, item.evaluate(100.0));
+
+        // A new evaluator for the same threshold writes the pending state before fetching it
+        item = new ThresholdEvaluatorStateHighLow(getWrapper(), session);
+        assertEquals(Status.TRIGGERED, item.evaluate(100.0));
+    }
+
+    @Test
+    public void discardsReinitializedStates() {
+        ThresholdEvaluatorState item = new ThresholdEvaluatorStateHighLow(getWrapper(), session);
+        item.evaluate(100.0);
+        assertEquals(1, stateStore.getStateCount());
+
+        monitor.reinitializeStates();
+
+        assertEquals(0, stateStore.getStateCount());
+        assertEquals(0, stateStore.getDirtyStateCount());
+    }
+
+    @Test
+    public void writesRightAwayWhenDistributed() {
+        when(session.isDistributed()).thenReturn(true);
+
+        ThresholdEvaluatorState item = new ThresholdEvaluatorStateHighLow(getWrapper(), session);
+        item.evaluate(100.0);
+
+        assertEquals(0, stateStore.getDirtyStateCount());
+        assertFalse(blobStore.enumerateContext(AbstractThresholdEvaluatorState.THRESHOLDING_KV_CONTEXT).isEmpty());
+    }
+
+    @Test
+    public void checkpointsByDefault() {
+        final ThresholdStateStore store = new ThresholdStateStore();
+        try {
+            assertTrue(store.isCheckpointing());
+            assertEquals(ThresholdStateStore.DEFAULT_CHECKPOINT_INTERVAL, store.getStatistics().get("checkpointInterval"));
+        } finally {
+            store.destroy();
+        }
+    }
+
+    @Test
+    public void estimatesHeapSize() {
+        // Header and fields, aligned to 8 bytes
+        assertEquals(24L, HeapSize.of(Double.valueOf(1.0)));
+        // String with its latin-1 characters
+        assertEquals(24L + 32L, HeapSize.of("threshold"));
+        assertEquals(16L + 8L, HeapSize.of(new long[1]));
+        // Shared objects are only counted once
+        final String shared = "a";
+        assertEquals(16L + 2 * 4L + 24L + 24L, HeapSize.of(new Object[]{shared, shared}));
+    }
+
+    private static ThresholdConfigWrapper getWrapper() {
+        Threshold threshold = new Threshold();
+        threshold.setType(ThresholdType.HIGH);
+        threshold.setDsName("ds-name");
+        threshold.setDsType("node");
+        threshold.setValue("99.0");
+        threshold.setRearm("0.5");
+        threshold.setTrigger("2");
+        return new ThresholdConfigWrapper(threshold);
+    }
+}
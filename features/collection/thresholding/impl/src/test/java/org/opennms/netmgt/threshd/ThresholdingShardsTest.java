@@ -0,0 +1,108 @@
+/*
+ * Licensed to The OpenNMS Group, Inc (TOG) under one or more
+ * contributor license agreements.  See the LICENSE.md file
+ * distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * TOG licenses this file to You under the GNU Affero General
+ * Public License Version 3 (the "License") or (at your option)
+ * any later version.  You may not use this file except in
+ * compliance with the License.  You may obtain a copy of the
+ * License at:
+ *
+ *      https://www.gnu.org/licenses/agpl-3.0.txt
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied.  See the License for the specific
+ * language governing permissions and limitations under the
+ * License.
+ */
+package org.opennms.netmgt.threshd;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.After;
+import org.junit.Test;
+import org.opennms.netmgt.threshd.api.ThresholdInitializationException;
+import org.opennms.netmgt.threshd.api.ThresholdingSessionKey;
+
+public class ThresholdingShardsTest {
+
+    private ThresholdingShards shards;
+
+    @After
+    public void tearDown() {
+        if (shards != null) {
+            shards.destroy();
+        }
+    }
+
+    @Test
+    public void evaluatesInlineWhenDisabled() throws Exception {
+        shards = new ThresholdingShards(0, 10);
+        final Thread caller = Thread.currentThread();
+        final List<Thread> threads = new ArrayList<>();
+
+        assertFalse(shards.isEnabled());
+        shards.submit(new ThresholdingSessionKeyImpl(1, "10.0.0.1", "SNMP"), () -> threads.add(Thread.currentThread())).get();
+        assertEquals(Collections.singletonList(caller), threads);
+    }
+
+    @Test
+    public void keepsTheOrderOfEachSession() throws Exception {
+        shards = new ThresholdingShards(4, 2);
+        final List<List<Integer>> evaluated = new ArrayList<>();
+        final List<CompletableFuture<Void>> futures = new ArrayList<>();
+        for (int node = 0; node < 8; node++) {
+            evaluated.add(Collections.synchronizedList(new ArrayList<>()));
+        }
+
+        for (int i = 0; i < 100; i++) {
+            for (int node = 0; node < 8; node++) {
+                final List<Integer> values = evaluated.get(node);
+                final int value = i;
+                futures.add(shards.submit(new ThresholdingSessionKeyImpl(node, "10.0.0.1", "SNMP"), () -> values.add(value)));
+            }
+        }
+        CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).get(30, TimeUnit.SECONDS);
+
+        for (List<Integer> values : evaluated) {
+            assertEquals(100, values.size());
+            for (int i = 0; i < 100; i++) {
+                assertEquals(i, values.get(i).intValue());
+            }
+        }
+        assertEquals(0, shards.getQueueDepth());
+        assertTrue(shards.getSkew() >= 1.0);
+    }
+
+    @Test
+    public void mapsSessionsToTheSameShard() {
+        shards = new ThresholdingShards(8, 10);
+        final ThresholdingSessionKey key = new ThresholdingSessionKeyImpl(42, "10.0.0.1", "SNMP");
+        assertEquals(shards.getShard(key), shards.getShard(new ThresholdingSessionKeyImpl(42, "10.0.0.1", "SNMP")));
+    }
+
+    @Test(expected = ThresholdInitializationException.class)
+    public void completesExceptionallyOnFailure() throws Throwable {
+        shards = new ThresholdingShards(2, 10);
+        try {
+            shards.submit(new ThresholdingSessionKeyImpl(1, "10.0.0.1", "SNMP"), () -> {
+                throw new ThresholdInitializationException("failed");
+            }).get(30, TimeUnit.SECONDS);
+        } catch (ExecutionException e) {
+            throw e.getCause();
+        }
+    }
+}
@@ -0,0 +1,59 @@
+/*
+ * Licensed to The OpenNMS Group, Inc (TOG) under one or more
+ * contributor license agreements.  See the LICENSE.md file
+ * distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * TOG licenses this file to You under the GNU Affero General
+ * Public License Version 3 (the "License") or (at your option)
+ * any later version.  You may not use this file except in
+ * compliance with the License.  You may obtain a copy of the
+ * License at:
+ *
+ *      https://www.gnu.org/licenses/agpl-3.0.txt
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied.  See the License for the specific
+ * language governing permissions and limitations under the
+ * License.
+ */
+package org.opennms.netmgt.threshd.shell;
+
+import java.util.Map;
+
+import org.apache.karaf.shell.api.action.Action;
+import org.apache.karaf.shell.api.action.Command;
+import org.apache.karaf.shell.api.action.lifecycle.Reference;
+import org.apache.karaf.shell.api.action.lifecycle.Service;
+import org.opennms.netmgt.threshd.BlobStoreAwareMonitor;
+import org.opennms.netmgt.threshd.ThresholdingServiceImpl;
+import org.opennms.netmgt.threshd.api.ThresholdStateMonitor;
+import org.opennms.netmgt.threshd.api.ThresholdingService;
+
+@Command(scope = "opennms", name = "threshold-stats", description = "Prints the statistics of the threshold " +
+        "state store and of the thresholding shards")
+@Service
+public class Stats implements Action {
+    @Reference
+    ThresholdStateMonitor thresholdStateMonitor;
+
+    @Reference
+    ThresholdingService thresholdingService;
+
+    @Override
+    public Object execute() {
+        if (thresholdStateMonitor instanceof BlobStoreAwareMonitor) {
+            print(((BlobStoreAwareMonitor) thresholdStateMonitor).getStateStore().getStatistics());
+        }
+        if (thresholdingService instanceof ThresholdingServiceImpl) {
+            print(((ThresholdingServiceImpl) thresholdingService).getShards().getStatistics());
+        }
+        return null;
+    }
+
+    private static void print(Map<String, Number> stats) {
+        stats.forEach((k, v) -> System.out.printf("%-24s%s\n", k, v));
+    }
+}
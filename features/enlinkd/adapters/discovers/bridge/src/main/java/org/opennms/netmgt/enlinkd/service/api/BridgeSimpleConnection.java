@@ -21,7 +21,9 @@
  */
 package org.opennms.netmgt.enlinkd.service.api;
 
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Map;
 import java.util.Set;
 
 import org.slf4j.Logger;
@@ -332,7 +334,7 @@ public class BridgeSimpleConnection implements Topology {
 
     // if exists m_1 and m_2, p1 and p2 on Y pxy on X :      m_1 belongs to BFT(py1,Y) BFT(pxy,X)
     //                                                       m_2 belongs to BFT(py2,Y) BFT(pxy,X)
-    private static BridgePort findPortUsingSimpleConnectionAlgorithm(
+    static BridgePort findPortUsingSimpleConnectionAlgorithm(
             BridgeForwardingTable bftA,
             BridgeForwardingTable bftB) {
 
@@ -340,19 +342,27 @@ public class BridgeSimpleConnection implements Topology {
         commonLearnedMacs.retainAll(new HashSet<>(bftB.getBftMacs()));
         String[] array = commonLearnedMacs.toArray(new String[0]);
 
-        for (int i=0; i < array.length; i++) {
+        // looking for the first mac having a following mac on the same port of A
+        // and on another port of B: scanning backwards we keep, for every port of A,
+        // the port of B of the following macs and whether there are more than one
+        Map<Integer, Integer> followingPortOnB = new HashMap<>();
+        Set<Integer> followingPortsOnB = new HashSet<>();
+        BridgePort found = null;
+        for (int i=array.length-1; i >= 0; i--) {
             BridgePort pab = bftA.getMactoport().get(array[i]);
-            BridgePort pb1 = bftB.getMactoport().get(array[i]);
-            for (int j=i+1; j < array.length; j++) {
-                if (bftB.getMactoport().get(array[j]).getBridgePort().intValue() == pb1.getBridgePort().intValue()) {
-                    continue;
-                }
-                if (bftA.getMactoport().get(array[j]).getBridgePort().intValue() == pab.getBridgePort().intValue()) {
-                    return pab;
-                }
+            Integer portOnA = pab.getBridgePort();
+            Integer portOnB = bftB.getMactoport().get(array[i]).getBridgePort();
+            Integer following = followingPortOnB.get(portOnA);
+            if (following == null) {
+                followingPortOnB.put(portOnA, portOnB);
+                continue;
+            }
+            if (followingPortsOnB.contains(portOnA) || following.intValue() != portOnB.intValue()) {
+                found = pab;
+                followingPortsOnB.add(portOnA);
             }
         }
-        return null;
+        return found;
     }
 
     private static BridgePort findPortUsingBridgeIdentifiers(BridgeForwardingTable bft, Set<String> identifiers) {
@@ -123,9 +123,10 @@ public class DiscoveryBridgeTopology {
 
             BridgePortWithMacs bpwm = bridgeFt.getBridgePortWithMacs(bridgeport);
             if (bpwm == null ) {
-                bridgeFt.getPorttomac().add(new BridgePortWithMacs(bridgeport, new HashSet<>()));
+                bpwm = new BridgePortWithMacs(bridgeport, new MacAddressSet());
+                bridgeFt.addPort(bpwm);
             }
-            bridgeFt.getBridgePortWithMacs(bridgeport).getMacs().add(link.getMacAddress());
+            bpwm.getMacs().add(link.getMacAddress());
 
             if (bridgeFt.getMactoport().containsKey(link.getMacAddress())) {
                 bridgeFt.getDuplicated().put(link.getMacAddress(), new HashSet<>());
@@ -215,7 +216,7 @@ public class DiscoveryBridgeTopology {
 
            Integer bridgeport;
 
-            if (segment.getBridgeIdsOnSegment().contains(bridgeId)) {
+            if (segment.containsBridge(bridgeId)) {
                 BridgePort bport = segment.getBridgePort(bridgeId);
                 portifindexmap.put(bport.getBridgePort(), bport);
                 bridgeport = bport.getBridgePort();
@@ -224,7 +225,7 @@ public class DiscoveryBridgeTopology {
             }
 
             if (!bft.containsKey(bridgeport)) {
-                bft.put(bridgeport, new HashSet<>());
+                bft.put(bridgeport, new MacAddressSet());
             }
             bft.get(bridgeport).addAll(segment.getMacsOnSegment());
         }
@@ -697,12 +698,13 @@ public class DiscoveryBridgeTopology {
             m_failed.remove(failedbridgeid);
         }        
 
+        final Set<String> macsOnSegments = m_domain.getMacsOnSegments();
         m_bridgeFtMapUpdate.values().stream().
             filter(ft -> m_parsed.contains(ft.getNodeId())).
-                forEach(m_domain::addforwarders);
+                forEach(ft -> m_domain.addforwarders(ft, macsOnSegments));
         
         bridgeFtMapCalcul.values().
-            forEach(m_domain::addforwarders);
+            forEach(ft -> m_domain.addforwarders(ft, macsOnSegments));
 
         if (LOG.isDebugEnabled()) {
             LOG.debug("calculate: domain\n{}", 
@@ -900,7 +902,8 @@ public class DiscoveryBridgeTopology {
                             maconupsegment,
                             bridgeFT.getRootPort(),
                             getThroughSet(bridgeFT, parsed));
-        checkforwarders.forEach(m_domain::addforwarders);
+        final Set<String> macsOnSegments = m_domain.getMacsOnSegments();
+        checkforwarders.forEach(ft -> m_domain.addforwarders(ft, macsOnSegments));
     }
     
 }
@@ -0,0 +1,251 @@
+/*
+ * Licensed to The OpenNMS Group, Inc (TOG) under one or more
+ * contributor license agreements.  See the LICENSE.md file
+ * distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * TOG licenses this file to You under the GNU Affero General
+ * Public License Version 3 (the "License") or (at your option)
+ * any later version.  You may not use this file except in
+ * compliance with the License.  You may obtain a copy of the
+ * License at:
+ *
+ *      https://www.gnu.org/licenses/agpl-3.0.txt
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied.  See the License for the specific
+ * language governing permissions and limitations under the
+ * License.
+ */
+package org.opennms.netmgt.enlinkd.service.api;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+import org.junit.Test;
+import org.opennms.netmgt.enlinkd.service.api.BridgeForwardingTableEntry.BridgeDot1qTpFdbStatus;
+
+/**
+ * Compares the simple connection search and the forwarders of a domain with the
+ * {@link java.util.HashSet} based implementations they replaced, on generated topologies.
+ * <p>
+ * Each topology is a random tree of bridges, the first one being the root. Every bridge has a
+ * few host ports with a few macs behind each of them, and learns the macs of the domain on the
+ * port leading to them. Some topologies only learn part of the macs.
+ */
+public class BridgeTopologyEquivalenceTest {
+
+    private static final int TOPOLOGIES = 200;
+
+    @Test
+    public void simpleConnectionSearchMatchesNestedLoop() throws BridgeTopologyException {
+        int found = 0;
+        int notFound = 0;
+        for (int seed = 0; seed < TOPOLOGIES; seed++) {
+            final GeneratedTopology topology = new GeneratedTopology(seed, seed % 2 == 0 ? 0.0 : 0.4);
+            final List<BridgeForwardingTable> bfts = topology.createForwardingTables();
+            for (final BridgeForwardingTable bftA : bfts) {
+                for (final BridgeForwardingTable bftB : bfts) {
+                    if (bftA == bftB) {
+                        continue;
+                    }
+                    final BridgePort expected = findPortUsingNestedLoop(bftA, bftB);
+                    assertEquals("seed " + seed + " bridges " + bftA.getNodeId() + " and " + bftB.getNodeId(),
+                                 expected,
+                                 BridgeSimpleConnection.findPortUsingSimpleConnectionAlgorithm(bftA, bftB));
+                    if (expected != null) {
+                        found++;
+                    } else {
+                        notFound++;
+                    }
+                }
+            }
+        }
+        // the topologies must exercise both outcomes
+        assertTrue(found > 0);
+        assertTrue(notFound > 0);
+    }
+
+    @Test
+    public void forwardersMatchAddingEveryMac() throws BridgeTopologyException {
+        int forwarding = 0;
+        for (int seed = 0; seed < TOPOLOGIES; seed++) {
+            final GeneratedTopology topology = new GeneratedTopology(seed, seed % 2 == 0 ? 0.0 : 0.4);
+            final BroadcastDomain domain = topology.calculate();
+            final Set<String> macsOnSegments = new HashSet<>(domain.getMacsOnSegments());
+
+            for (final BridgeForwardingTable bft : topology.createForwardingTables()) {
+                domain.cleanForwarders(bft.getNodeId());
+                for (final String forward : bft.getMactoport().keySet()) {
+                    if (!macsOnSegments.contains(forward)) {
+                        domain.addForwarding(bft.getMactoport().get(forward), forward);
+                    }
+                }
+                final Map<BridgePort, Set<String>> expected = forwarders(domain, bft.getNodeId());
+
+                domain.addforwarders(bft, domain.getMacsOnSegments());
+                assertEquals("seed " + seed + " bridge " + bft.getNodeId(), expected, forwarders(domain, bft.getNodeId()));
+                forwarding += expected.size();
+            }
+        }
+        assertTrue(forwarding > 0);
+    }
+
+    @Test
+    public void calculatedDomainMatchesGeneratedTree() {
+        for (int seed = 0; seed < TOPOLOGIES; seed += 2) {
+            final GeneratedTopology topology = new GeneratedTopology(seed, 0.0);
+            final BroadcastDomain domain = topology.calculate();
+            assertEquals("seed " + seed, 1, domain.getRootBridge().getNodeId().intValue());
+
+            for (int child = 1; child < topology.parent.length; child++) {
+                final int nodeId = child + 1;
+                final SharedSegment segment = domain.getSharedSegment(topology.parent[child] + 1, topology.parentPort[child]);
+                assertNotNull("seed " + seed + " bridge " + nodeId, segment);
+                assertTrue("seed " + seed + " bridge " + nodeId, segment.getBridgePortsOnSegment().stream()
+                        .anyMatch(port -> port.getNodeId() == nodeId && port.getBridgePort() == 1));
+            }
+            for (final long[] host : topology.hosts) {
+                final SharedSegment segment = domain.getSharedSegment((int) host[0] + 1, (int) host[1]);
+                assertNotNull("seed " + seed, segment);
+                assertTrue("seed " + seed, segment.getMacsOnSegment().contains(String.format("%012x", host[2])));
+            }
+        }
+    }
+
+    // the search before it was turned into a single backwards scan
+    private static BridgePort findPortUsingNestedLoop(BridgeForwardingTable bftA, BridgeForwardingTable bftB) {
+        Set<String> commonLearnedMacs = new HashSet<>(bftA.getBftMacs());
+        commonLearnedMacs.retainAll(new HashSet<>(bftB.getBftMacs()));
+        String[] array = commonLearnedMacs.toArray(new String[0]);
+
+        for (int i=0; i < array.length; i++) {
+            BridgePort pab = bftA.getMactoport().get(array[i]);
+            BridgePort pb1 = bftB.getMactoport().get(array[i]);
+            for (int j=i+1; j < array.length; j++) {
+                if (bftB.getMactoport().get(array[j]).getBridgePort().intValue() == pb1.getBridgePort().intValue()) {
+                    continue;
+                }
+                if (bftA.getMactoport().get(array[j]).getBridgePort().intValue() == pab.getBridgePort().intValue()) {
+                    return pab;
+                }
+            }
+        }
+        return null;
+    }
+
+    private static Map<BridgePort, Set<String>> forwarders(BroadcastDomain domain, Integer bridgeId) {
+        final Map<BridgePort, Set<String>> forwarders = new HashMap<>();
+        domain.getForwarders(bridgeId).forEach(bpwm -> forwarders.put(bpwm.getPort(), new HashSet<>(bpwm.getMacs())));
+        return forwarders;
+    }
+
+    private static class GeneratedTopology {
+        // bridge port 1 is the root port, the ports to the children and hosts follow
+        private final int[] parent;
+        private final int[] parentPort;
+        // hosts as {bridge, port, mac}
+        private final List<long[]> hosts = new ArrayList<>();
+        private final Map<Integer, Set<BridgeForwardingTableEntry>> bfts = new HashMap<>();
+
+        private GeneratedTopology(final long seed, final double unlearned) {
+            final Random random = new Random(seed);
+            final int bridges = 2 + random.nextInt(10);
+
+            parent = new int[bridges];
+            parentPort = new int[bridges];
+            final int[] nextPort = new int[bridges];
+            parent[0] = -1;
+            nextPort[0] = 2;
+            for (int i = 1; i < bridges; i++) {
+                parent[i] = random.nextInt(i);
+                parentPort[i] = nextPort[parent[i]]++;
+                nextPort[i] = 2;
+            }
+
+            final Set<Long> macs = new HashSet<>();
+            for (int i = 0; i < bridges; i++) {
+                for (int p = random.nextInt(3); p >= 0; p--) {
+                    final int port = nextPort[i]++;
+                    for (int m = 1 + random.nextInt(5); m > 0; m--) {
+                        long mac;
+                        do {
+                            mac = random.nextLong() & 0xffffffffffL;
+                        } while (!macs.add(mac));
+                        hosts.add(new long[] { i, port, mac });
+                    }
+                }
+            }
+
+            for (int b = 0; b < bridges; b++) {
+                final Set<BridgeForwardingTableEntry> bft = new HashSet<>();
+                bft.add(entry(b, 0, identifier(b), BridgeDot1qTpFdbStatus.DOT1D_TP_FDB_STATUS_SELF));
+                for (final long[] host : hosts) {
+                    if (random.nextDouble() >= unlearned) {
+                        bft.add(entry(b, portTowards(b, (int) host[0], (int) host[1]),
+                                      String.format("%012x", host[2]), BridgeDot1qTpFdbStatus.DOT1D_TP_FDB_STATUS_LEARNED));
+                    }
+                }
+                for (int o = 0; o < bridges; o++) {
+                    if (o != b) {
+                        bft.add(entry(b, portTowards(b, o, -1), identifier(o), BridgeDot1qTpFdbStatus.DOT1D_TP_FDB_STATUS_LEARNED));
+                    }
+                }
+                bfts.put(b + 1, bft);
+            }
+        }
+
+        private List<BridgeForwardingTable> createForwardingTables() throws BridgeTopologyException {
+            final List<BridgeForwardingTable> tables = new ArrayList<>();
+            for (final Map.Entry<Integer, Set<BridgeForwardingTableEntry>> bft : bfts.entrySet()) {
+                tables.add(DiscoveryBridgeTopology.create(new Bridge(bft.getKey()), bft.getValue()));
+            }
+            return tables;
+        }
+
+        private BroadcastDomain calculate() {
+            final BroadcastDomain domain = new BroadcastDomain();
+            final DiscoveryBridgeTopology topology = new DiscoveryBridgeTopology(domain);
+            bfts.forEach(topology::addUpdatedBFT);
+            topology.calculate();
+            return domain;
+        }
+
+        private int portTowards(final int bridge, final int target, final int hostPort) {
+            if (bridge == target) {
+                return hostPort;
+            }
+            int child = target;
+            while (parent[child] != -1 && parent[child] != bridge) {
+                child = parent[child];
+            }
+            return parent[child] == bridge ? parentPort[child] : 1;
+        }
+
+        private static String identifier(final int bridge) {
+            return String.format("%012x", 0x10000000000L + bridge);
+        }
+
+        private static BridgeForwardingTableEntry entry(final int bridge, final int port, final String mac, final BridgeDot1qTpFdbStatus status) {
+            final BridgeForwardingTableEntry entry = new BridgeForwardingTableEntry();
+            entry.setNodeId(bridge + 1);
+            entry.setBridgePort(port);
+            entry.setBridgePortIfIndex(port);
+            entry.setVlan(1);
+            entry.setMacAddress(mac);
+            entry.setBridgeDot1qTpFdbStatus(status);
+            return entry;
+        }
+    }
+}
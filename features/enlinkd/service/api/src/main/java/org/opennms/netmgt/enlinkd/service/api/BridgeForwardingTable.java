@@ -22,6 +22,7 @@
 package org.opennms.netmgt.enlinkd.service.api;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
@@ -38,6 +39,7 @@ public class BridgeForwardingTable implements Topology {
     private Map<String, BridgePort> m_mactoport = new HashMap<>();
     private Map<String, Set<BridgePort>> m_duplicated = new HashMap<>();
     private final Set<BridgePortWithMacs> m_porttomac = new HashSet<>();
+    private final Map<BridgePort, BridgePortWithMacs> m_portindex = new HashMap<>();
 
     public BridgeForwardingTable(Bridge bridge, Set<BridgeForwardingTableEntry> entries) {
         m_bridge = bridge;
@@ -45,16 +47,38 @@ public class BridgeForwardingTable implements Topology {
     }
 
     public Set<BridgePortWithMacs> getPorttomac() {
-        return m_porttomac;
+        return Collections.unmodifiableSet(m_porttomac);
     }
 
     public BridgePortWithMacs getBridgePortWithMacs(BridgePort port) {
-        for (BridgePortWithMacs bpmx: m_porttomac) {
-            if (bpmx.getPort().equals(port)) {
-                return bpmx;
-            }
+        return m_portindex.get(port);
+    }
+
+    /**
+     * Adds the port with its macs, unless the port is already part of the table.
+     *
+     * @return <code>true</code> if the port was added
+     */
+    public boolean addPort(BridgePortWithMacs bpwm) {
+        if (m_portindex.containsKey(bpwm.getPort())) {
+            return false;
+        }
+        m_porttomac.add(bpwm);
+        m_portindex.put(bpwm.getPort(), bpwm);
+        return true;
+    }
+
+    /**
+     * Removes the port with its macs.
+     *
+     * @return the removed port with its macs, or <code>null</code> if the port was not part of the table
+     */
+    public BridgePortWithMacs removePort(BridgePort port) {
+        final BridgePortWithMacs bpwm = m_portindex.remove(port);
+        if (bpwm != null) {
+            m_porttomac.remove(bpwm);
         }
-        return null;
+        return bpwm;
     }
     
     public Map<String, BridgePort> getMactoport() {
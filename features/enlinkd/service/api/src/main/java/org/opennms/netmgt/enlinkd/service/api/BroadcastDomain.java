@@ -63,7 +63,7 @@ public class BroadcastDomain implements Topology {
             SharedSegment splitsegment = new SharedSegment();
             splitsegment.getBridgePortsOnSegment().add(designated.getPort());
             splitsegment.setDesignatedBridge(designated.getPort().getNodeId());
-            Set<String> macs = new HashSet<>(designated.getMacs());
+            Set<String> macs = new MacAddressSet(designated.getMacs());
             ports.forEach(bft ->
             {
                 macs.retainAll(bft.getMacs());
@@ -91,7 +91,7 @@ public class BroadcastDomain implements Topology {
                         forfpmacs.put(mac, itemsfound);
                     }));
 
-            Set<String> clearmacs = new HashSet<>();
+            Set<String> clearmacs = new MacAddressSet();
             forfpmacs.keySet().forEach(mac -> {
                 if (forfpmacs.get(mac) == upsegment.getBridgePortsOnSegment().size()) {
                     upsegment.getMacsOnSegment().add(mac);
@@ -298,14 +298,19 @@ public class BroadcastDomain implements Topology {
     }
 
     public void addforwarders(BridgeForwardingTable bridgeFT) {
-        Set<String> macs = new HashSet<>(getMacsOnSegments());
+        addforwarders(bridgeFT, getMacsOnSegments());
+    }
+
+    public void addforwarders(BridgeForwardingTable bridgeFT, Set<String> macsOnSegments) {
         cleanForwarders(bridgeFT.getNodeId());
-        for (String forward :  bridgeFT.getMactoport().keySet()) {
-            if (macs.contains(forward)) {
-                continue;
+        Map<BridgePort, BridgePortWithMacs> forwarders = new HashMap<>();
+        bridgeFT.getMactoport().forEach((forward, port) -> {
+            if (macsOnSegments.contains(forward)) {
+                return;
             }
-            addForwarding(bridgeFT.getMactoport().get(forward), forward);
-        }
+            forwarders.computeIfAbsent(port, p -> new BridgePortWithMacs(p, new MacAddressSet())).getMacs().add(forward);
+        });
+        m_forwarding.addAll(forwarders.values());
     }
 
     public void setBridges(Set<Bridge> bridges) {
@@ -333,7 +338,7 @@ public class BroadcastDomain implements Topology {
                 return;
             }
         }
-        BridgePortWithMacs bpm = new BridgePortWithMacs(forwardport,new HashSet<>());
+        BridgePortWithMacs bpm = new BridgePortWithMacs(forwardport,new MacAddressSet());
         bpm.getMacs().add(forwardmac);
         m_forwarding.add(bpm);
     }
@@ -401,7 +406,7 @@ public class BroadcastDomain implements Topology {
     }
 
     public Set<String> getMacsOnSegments() {
-        Set<String>macs = new HashSet<>();
+        Set<String> macs = new MacAddressSet();
         for (SharedSegment segment: m_topology) 
             macs.addAll(segment.getMacsOnSegment());
         return macs;
@@ -410,7 +415,7 @@ public class BroadcastDomain implements Topology {
     public List<SharedSegment> getSharedSegments(Integer bridgeId) {
         List<SharedSegment> segmentsOnBridge = new ArrayList<>();
         for (SharedSegment segment: m_topology) {
-            if (segment.getBridgeIdsOnSegment().contains(bridgeId)) 
+            if (segment.containsBridge(bridgeId))
                 segmentsOnBridge.add(segment);
         }
         return segmentsOnBridge;
@@ -0,0 +1,454 @@
+/*
+ * Licensed to The OpenNMS Group, Inc (TOG) under one or more
+ * contributor license agreements.  See the LICENSE.md file
+ * distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * TOG licenses this file to You under the GNU Affero General
+ * Public License Version 3 (the "License") or (at your option)
+ * any later version.  You may not use this file except in
+ * compliance with the License.  You may obtain a copy of the
+ * License at:
+ *
+ *      https://www.gnu.org/licenses/agpl-3.0.txt
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied.  See the License for the specific
+ * language governing permissions and limitations under the
+ * License.
+ */
+package org.opennms.netmgt.enlinkd.service.api;
+
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.ConcurrentModificationException;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.function.LongPredicate;
+import java.util.function.Predicate;
+
+/**
+ * A set of mac addresses, as found in bridge forwarding tables and on shared segments.
+ * <p>
+ * Mac addresses written as 12 lower case hex digits, the form used throughout enlinkd, are stored as
+ * <code>long</code> values in an open addressing hash table, instead of as strings in a {@link HashSet}.
+ * Intersections and differences between two such sets never create strings, and only cost a lookup per
+ * element of the smaller set. Any other string is kept as it is, so the set behaves like a
+ * <code>HashSet&lt;String&gt;</code>, only with a different iteration order.
+ */
+public class MacAddressSet extends AbstractSet<String> {
+
+    // the table holds the mac addresses plus one, so that a new table is all free
+    private static final long FREE = 0L;
+
+    private static final long[] EMPTY = new long[0];
+
+    private static final char[] DIGITS = "0123456789abcdef".toCharArray();
+
+    private static final byte[] VALUES = new byte['f' + 1];
+
+    static {
+        Arrays.fill(VALUES, (byte) -1);
+        for (int i = 0; i < DIGITS.length; i++) {
+            VALUES[DIGITS[i]] = (byte) i;
+        }
+    }
+
+    private long[] m_table = EMPTY;
+    private int m_size;
+    private Set<String> m_others;
+    private int m_modCount;
+
+    public MacAddressSet() {
+    }
+
+    public MacAddressSet(Collection<String> macs) {
+        addAll(macs);
+    }
+
+    /**
+     * @return the mac address as a 48 bit value, or -1 if it is not written as 12 lower case hex digits
+     */
+    public static long encode(String mac) {
+        if (mac == null || mac.length() != 12) {
+            return -1L;
+        }
+        long value = 0;
+        for (int i = 0; i < 12; i++) {
+            final char c = mac.charAt(i);
+            final int digit = c < VALUES.length ? VALUES[c] : -1;
+            if (digit < 0) {
+                return -1L;
+            }
+            value = (value << 4) | digit;
+        }
+        return value;
+    }
+
+    public static String decode(long value) {
+        final char[] chars = new char[12];
+        for (int i = 11; i >= 0; i--) {
+            chars[i] = DIGITS[(int) (value & 0xf)];
+            value >>>= 4;
+        }
+        return new String(chars);
+    }
+
+    private static long key(String mac) {
+        return encode(mac) + 1;
+    }
+
+    private static String mac(long key) {
+        return decode(key - 1);
+    }
+
+    private static int slot(long value, int mask) {
+        final long h = value * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32)) & mask;
+    }
+
+    private int find(long value) {
+        if (m_size == 0) {
+            return -1;
+        }
+        final int mask = m_table.length - 1;
+        for (int i = slot(value, mask); ; i = (i + 1) & mask) {
+            if (m_table[i] == value) {
+                return i;
+            }
+            if (m_table[i] == FREE) {
+                return -1;
+            }
+        }
+    }
+
+    private boolean insert(long value) {
+        if ((m_size + 1) * 2 > m_table.length) {
+            resize(m_size + 1);
+        }
+        final int mask = m_table.length - 1;
+        int i = slot(value, mask);
+        while (m_table[i] != FREE) {
+            if (m_table[i] == value) {
+                return false;
+            }
+            i = (i + 1) & mask;
+        }
+        m_table[i] = value;
+        m_size++;
+        m_modCount++;
+        return true;
+    }
+
+    private void resize(int size) {
+        int capacity = 8;
+        while (capacity < size * 2) {
+            capacity <<= 1;
+        }
+        final long[] old = m_table;
+        m_table = new long[capacity];
+        final int mask = capacity - 1;
+        for (long value : old) {
+            if (value != FREE) {
+                int i = slot(value, mask);
+                while (m_table[i] != FREE) {
+                    i = (i + 1) & mask;
+                }
+                m_table[i] = value;
+            }
+        }
+    }
+
+    private void delete(int slot) {
+        // shift back the following entries of the probe sequence so that no lookup stops at the freed slot
+        final int mask = m_table.length - 1;
+        int hole = slot;
+        for (int i = (slot + 1) & mask; m_table[i] != FREE; i = (i + 1) & mask) {
+            final int home = slot(m_table[i], mask);
+            final boolean reachable = hole <= i ? home > hole && home <= i : home > hole || home <= i;
+            if (!reachable) {
+                m_table[hole] = m_table[i];
+                hole = i;
+            }
+        }
+        m_table[hole] = FREE;
+        m_size--;
+        m_modCount++;
+    }
+
+    private boolean retain(LongPredicate keep) {
+        int kept = 0;
+        for (long value : m_table) {
+            if (value != FREE && keep.test(value)) {
+                kept++;
+            }
+        }
+        if (kept == m_size) {
+            return false;
+        }
+        final long[] old = m_table;
+        m_table = EMPTY;
+        m_size = 0;
+        if (kept > 0) {
+            resize(kept);
+            final int mask = m_table.length - 1;
+            for (long value : old) {
+                if (value != FREE && keep.test(value)) {
+                    int i = slot(value, mask);
+                    while (m_table[i] != FREE) {
+                        i = (i + 1) & mask;
+                    }
+                    m_table[i] = value;
+                    m_size++;
+                }
+            }
+        }
+        m_modCount++;
+        return true;
+    }
+
+    private boolean containsValue(long value) {
+        return find(value) >= 0;
+    }
+
+    @Override
+    public int size() {
+        return m_size + (m_others == null ? 0 : m_others.size());
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    @Override
+    public boolean contains(Object o) {
+        if (o instanceof String) {
+            final long value = key((String) o);
+            if (value != FREE) {
+                return containsValue(value);
+            }
+        }
+        return m_others != null && m_others.contains(o);
+    }
+
+    @Override
+    public boolean add(String mac) {
+        final long value = key(mac);
+        if (value != FREE) {
+            return insert(value);
+        }
+        if (m_others == null) {
+            m_others = new HashSet<>();
+        }
+        return m_others.add(mac);
+    }
+
+    @Override
+    public boolean remove(Object o) {
+        if (o instanceof String) {
+            final long value = key((String) o);
+            if (value != FREE) {
+                final int slot = find(value);
+                if (slot < 0) {
+                    return false;
+                }
+                delete(slot);
+                return true;
+            }
+        }
+        return m_others != null && m_others.remove(o);
+    }
+
+    @Override
+    public void clear() {
+        m_table = EMPTY;
+        m_size = 0;
+        m_others = null;
+        m_modCount++;
+    }
+
+    @Override
+    public boolean containsAll(Collection<?> c) {
+        if (c instanceof MacAddressSet) {
+            final MacAddressSet other = (MacAddressSet) c;
+            if (other.m_size > m_size) {
+                return false;
+            }
+            for (long value : other.m_table) {
+                if (value != FREE && !containsValue(value)) {
+                    return false;
+                }
+            }
+            return other.m_others == null || other.m_others.isEmpty()
+                    || m_others != null && m_others.containsAll(other.m_others);
+        }
+        return super.containsAll(c);
+    }
+
+    @Override
+    public boolean addAll(Collection<? extends String> c) {
+        if (c instanceof MacAddressSet) {
+            final MacAddressSet other = (MacAddressSet) c;
+            if ((m_size + other.m_size) * 2 > m_table.length) {
+                resize(m_size + other.m_size);
+            }
+            boolean modified = false;
+            for (long value : other.m_table) {
+                if (value != FREE) {
+                    modified |= insert(value);
+                }
+            }
+            if (other.m_others != null && !other.m_others.isEmpty()) {
+                if (m_others == null) {
+                    m_others = new HashSet<>();
+                }
+                modified |= m_others.addAll(other.m_others);
+            }
+            return modified;
+        }
+        return super.addAll(c);
+    }
+
+    @Override
+    public boolean retainAll(Collection<?> c) {
+        boolean modified;
+        if (c instanceof MacAddressSet) {
+            final MacAddressSet other = (MacAddressSet) c;
+            modified = retain(other::containsValue);
+        } else {
+            modified = retain(value -> c.contains(mac(value)));
+        }
+        if (m_others != null) {
+            modified |= m_others.retainAll(c);
+        }
+        return modified;
+    }
+
+    @Override
+    public boolean removeAll(Collection<?> c) {
+        if (c instanceof MacAddressSet) {
+            final MacAddressSet other = (MacAddressSet) c;
+            boolean modified;
+            if (other.m_size < m_size) {
+                modified = false;
+                for (long value : other.m_table) {
+                    if (value != FREE) {
+                        final int slot = find(value);
+                        if (slot >= 0) {
+                            delete(slot);
+                            modified = true;
+                        }
+                    }
+                }
+            } else {
+                modified = retain(value -> !other.containsValue(value));
+            }
+            if (m_others != null && other.m_others != null) {
+                modified |= m_others.removeAll(other.m_others);
+            }
+            return modified;
+        }
+        if (size() > c.size()) {
+            boolean modified = false;
+            for (Object o : c) {
+                modified |= remove(o);
+            }
+            return modified;
+        }
+        boolean modified = retain(value -> !c.contains(mac(value)));
+        if (m_others != null) {
+            modified |= m_others.removeAll(c);
+        }
+        return modified;
+    }
+
+    @Override
+    public boolean removeIf(Predicate<? super String> filter) {
+        boolean modified = retain(value -> !filter.test(mac(value)));
+        if (m_others != null) {
+            modified |= m_others.removeIf(filter);
+        }
+        return modified;
+    }
+
+    @Override
+    public int hashCode() {
+        // the sum of the hash codes of the strings, without creating them
+        int hash = 0;
+        for (long value : m_table) {
+            if (value != FREE) {
+                int h = 0;
+                for (int shift = 44; shift >= 0; shift -= 4) {
+                    h = 31 * h + DIGITS[(int) (((value - 1) >>> shift) & 0xf)];
+                }
+                hash += h;
+            }
+        }
+        if (m_others != null) {
+            hash += m_others.hashCode();
+        }
+        return hash;
+    }
+
+    @Override
+    public Iterator<String> iterator() {
+        return new Iterator<String>() {
+            private long[] m_values = m_table;
+            private int m_next = 0;
+            private int m_expectedModCount = m_modCount;
+            private long m_last = FREE;
+            private final Iterator<String> m_othersIterator = m_others == null ? null : m_others.iterator();
+
+            @Override
+            public boolean hasNext() {
+                while (m_next < m_values.length && m_values[m_next] == FREE) {
+                    m_next++;
+                }
+                return m_next < m_values.length || m_othersIterator != null && m_othersIterator.hasNext();
+            }
+
+            @Override
+            public String next() {
+                if (m_modCount != m_expectedModCount) {
+                    throw new ConcurrentModificationException();
+                }
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                if (m_next < m_values.length) {
+                    m_last = m_values[m_next++];
+                    return mac(m_last);
+                }
+                m_last = FREE;
+                return m_othersIterator.next();
+            }
+
+            @Override
+            public void remove() {
+                if (m_modCount != m_expectedModCount) {
+                    throw new ConcurrentModificationException();
+                }
+                if (m_last == FREE) {
+                    if (m_othersIterator == null) {
+                        throw new IllegalStateException();
+                    }
+                    m_othersIterator.remove();
+                    return;
+                }
+                // removing shifts entries of the table, go on with a copy of it
+                if (m_values == m_table) {
+                    m_values = m_table.clone();
+                }
+                delete(find(m_last));
+                m_last = FREE;
+                m_expectedModCount = m_modCount;
+            }
+        };
+    }
+}
@@ -34,7 +34,7 @@ import org.opennms.netmgt.model.OnmsNode;
 public class SharedSegment implements Topology{
 
     private Integer m_designatedBridgeId;
-    private final Set<String> m_macsOnSegment = new HashSet<>();
+    private final Set<String> m_macsOnSegment = new MacAddressSet();
     private final Set<BridgePort> m_portsOnSegment = new HashSet<>();
     private Date m_createTime;
     private Date m_lastPollTime;
@@ -82,6 +82,18 @@ public class SharedSegment implements Topology{
         return m_macsOnSegment.isEmpty();
     }
 
+    public boolean containsBridge(Integer bridgeId) {
+        if (bridgeId == null) {
+            return false;
+        }
+        for (BridgePort link : m_portsOnSegment) {
+            if (link != null && bridgeId.equals(link.getNodeId())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     public Set<Integer> getBridgeIdsOnSegment() {
         Set<Integer> nodes = new HashSet<>();
         for (BridgePort link : m_portsOnSegment) {
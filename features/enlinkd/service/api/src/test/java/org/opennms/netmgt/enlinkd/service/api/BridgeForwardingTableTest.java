@@ -0,0 +1,74 @@
+/*
+ * Licensed to The OpenNMS Group, Inc (TOG) under one or more
+ * contributor license agreements.  See the LICENSE.md file
+ * distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * TOG licenses this file to You under the GNU Affero General
+ * Public License Version 3 (the "License") or (at your option)
+ * any later version.  You may not use this file except in
+ * compliance with the License.  You may obtain a copy of the
+ * License at:
+ *
+ *      https://www.gnu.org/licenses/agpl-3.0.txt
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied.  See the License for the specific
+ * language governing permissions and limitations under the
+ * License.
+ */
+package org.opennms.netmgt.enlinkd.service.api;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.HashSet;
+
+import org.junit.Test;
+
+public class BridgeForwardingTableTest {
+
+    @Test
+    public void testAddAndRemovePorts() {
+        final BridgeForwardingTable bft = new BridgeForwardingTable(new Bridge(1), new HashSet<>());
+        final BridgePortWithMacs port1 = new BridgePortWithMacs(port(1), new MacAddressSet());
+        final BridgePortWithMacs port2 = new BridgePortWithMacs(port(2), new MacAddressSet());
+
+        assertTrue(bft.addPort(port1));
+        assertTrue(bft.addPort(port2));
+        assertFalse(bft.addPort(new BridgePortWithMacs(port(1), new MacAddressSet())));
+        assertEquals(2, bft.getPorttomac().size());
+        assertSame(port1, bft.getBridgePortWithMacs(port(1)));
+        assertSame(port2, bft.getBridgePortWithMacs(port(2)));
+
+        assertSame(port1, bft.removePort(port(1)));
+        assertNull(bft.removePort(port(1)));
+        assertNull(bft.getBridgePortWithMacs(port(1)));
+        assertEquals(1, bft.getPorttomac().size());
+
+        // removed ports can be added again
+        assertTrue(bft.addPort(port1));
+        assertSame(port1, bft.getBridgePortWithMacs(port(1)));
+        assertEquals(2, bft.getPorttomac().size());
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void testPortsCanOnlyBeAddedThroughTheTable() {
+        final BridgeForwardingTable bft = new BridgeForwardingTable(new Bridge(1), new HashSet<>());
+        bft.getPorttomac().add(new BridgePortWithMacs(port(1), new MacAddressSet()));
+    }
+
+    private static BridgePort port(final int bridgePort) {
+        final BridgePort port = new BridgePort();
+        port.setNodeId(1);
+        port.setBridgePort(bridgePort);
+        port.setBridgePortIfIndex(bridgePort);
+        port.setVlan(1);
+        return port;
+    }
+}
@@ -0,0 +1,133 @@
+/*
+ * Licensed to The OpenNMS Group, Inc (TOG) under one or more
+ * contributor license agreements.  See the LICENSE.md file
+ * distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * TOG licenses this file to You under the GNU Affero General
+ * Public License Version 3 (the "License") or (at your option)
+ * any later version.  You may not use this file except in
+ * compliance with the License.  You may obtain a copy of the
+ * License at:
+ *
+ *      https://www.gnu.org/licenses/agpl-3.0.txt
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied.  See the License for the specific
+ * language governing permissions and limitations under the
+ * License.
+ */
+package org.opennms.netmgt.enlinkd.service.api;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Random;
+import java.util.Set;
+
+import org.junit.Test;
+
+public class MacAddressSetTest {
+
+    @Test
+    public void testEncode() {
+        assertEquals(0L, MacAddressSet.encode("000000000000"));
+        assertEquals(0xffffffffffffL, MacAddressSet.encode("ffffffffffff"));
+        assertEquals("0012cf68f800", MacAddressSet.decode(MacAddressSet.encode("0012cf68f800")));
+        // not canonical: kept as strings
+        assertEquals(-1L, MacAddressSet.encode("0012CF68F800"));
+        assertEquals(-1L, MacAddressSet.encode("00:12:cf:68:f8:00"));
+        assertEquals(-1L, MacAddressSet.encode("0012cf68f8"));
+        assertEquals(-1L, MacAddressSet.encode(null));
+    }
+
+    @Test
+    public void testSet() {
+        Set<String> macs = new MacAddressSet(Arrays.asList("0012cf68f800", "001763010d4f", "0012CF68F800", null));
+        assertEquals(4, macs.size());
+        assertTrue(macs.contains("0012cf68f800"));
+        assertTrue(macs.contains("0012CF68F800"));
+        assertTrue(macs.contains(null));
+        assertFalse(macs.contains("001763010d50"));
+        assertFalse(macs.add("001763010d4f"));
+        assertTrue(macs.remove("001763010d4f"));
+        assertFalse(macs.contains("001763010d4f"));
+        assertEquals(new HashSet<>(Arrays.asList("0012cf68f800", "0012CF68F800", null)), macs);
+        assertEquals(new HashSet<>(Arrays.asList("0012cf68f800", "0012CF68F800", null)).hashCode(), macs.hashCode());
+        macs.clear();
+        assertTrue(macs.isEmpty());
+    }
+
+    @Test
+    public void testSetOperations() {
+        Random random = new Random(1);
+        for (int round = 0; round < 100; round++) {
+            Set<String> a = new MacAddressSet();
+            Set<String> b = new MacAddressSet();
+            Set<String> expectedA = new HashSet<>();
+            Set<String> expectedB = new HashSet<>();
+            int sizeA = random.nextInt(200);
+            int sizeB = random.nextInt(200);
+            for (int i = 0; i < sizeA; i++) {
+                String mac = String.format("%012x", random.nextInt(300));
+                assertEquals(expectedA.add(mac), a.add(mac));
+            }
+            for (int i = 0; i < sizeB; i++) {
+                String mac = String.format("%012x", random.nextInt(300));
+                assertEquals(expectedB.add(mac), b.add(mac));
+            }
+            assertEquals(expectedA, a);
+            assertEquals(expectedB, b);
+            assertEquals(expectedA.containsAll(expectedB), a.containsAll(b));
+
+            Set<String> union = new MacAddressSet(a);
+            union.addAll(b);
+            Set<String> expectedUnion = new HashSet<>(expectedA);
+            expectedUnion.addAll(expectedB);
+            assertEquals(expectedUnion, union);
+
+            Set<String> intersection = new MacAddressSet(a);
+            intersection.retainAll(b);
+            Set<String> expectedIntersection = new HashSet<>(expectedA);
+            expectedIntersection.retainAll(expectedB);
+            assertEquals(expectedIntersection, intersection);
+
+            Set<String> difference = new MacAddressSet(a);
+            difference.removeAll(b);
+            Set<String> expectedDifference = new HashSet<>(expectedA);
+            expectedDifference.removeAll(expectedB);
+            assertEquals(expectedDifference, difference);
+
+            // and against a plain set
+            Set<String> mixed = new MacAddressSet(a);
+            mixed.retainAll(expectedB);
+            assertEquals(expectedIntersection, mixed);
+        }
+    }
+
+    @Test
+    public void testIteratorRemove() {
+        Set<String> macs = new MacAddressSet();
+        Set<String> expected = new HashSet<>();
+        for (int i = 0; i < 1000; i++) {
+            macs.add(String.format("%012x", i * 7919L));
+            expected.add(String.format("%012x", i * 7919L));
+        }
+        int count = 0;
+        for (Iterator<String> it = macs.iterator(); it.hasNext();) {
+            String mac = it.next();
+            if (count++ % 3 == 0) {
+                it.remove();
+                expected.remove(mac);
+            }
+        }
+        assertEquals(1000, count);
+        assertEquals(expected, macs);
+    }
+}
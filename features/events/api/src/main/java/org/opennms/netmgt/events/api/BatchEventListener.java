@@ -0,0 +1,54 @@
+/*
+ * Licensed to The OpenNMS Group, Inc (TOG) under one or more
+ * contributor license agreements.  See the LICENSE.md file
+ * distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * TOG licenses this file to You under the GNU Affero General
+ * Public License Version 3 (the "License") or (at your option)
+ * any later version.  You may not use this file except in
+ * compliance with the License.  You may obtain a copy of the
+ * License at:
+ *
+ *      https://www.gnu.org/licenses/agpl-3.0.txt
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied.  See the License for the specific
+ * language governing permissions and limitations under the
+ * License.
+ */
+package org.opennms.netmgt.events.api;
+
+import java.util.List;
+
+import org.opennms.netmgt.events.api.model.IEvent;
+
+/**
+ * Optional extension of {@link EventListener} for listeners that can
+ * process several events at once.
+ *
+ * When a listener implements this interface, the events that are waiting
+ * in its queue are handed over together, in the order in which they were
+ * broadcast, instead of calling {@link #onEvent(IEvent)} once per event.
+ */
+public interface BatchEventListener extends EventListener {
+
+    /**
+     * Process a batch of events.
+     *
+     * @param events the events, never empty
+     */
+    void onEvents(List<IEvent> events);
+
+    /**
+     * The maximum number of events handed over in a single call to
+     * {@link #onEvents(List)}.
+     *
+     * @return a positive number
+     */
+    default int getMaxBatchSize() {
+        return 100;
+    }
+}
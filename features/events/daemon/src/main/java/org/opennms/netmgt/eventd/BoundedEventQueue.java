@@ -0,0 +1,117 @@
+/*
+ * Licensed to The OpenNMS Group, Inc (TOG) under one or more
+ * contributor license agreements.  See the LICENSE.md file
+ * distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * TOG licenses this file to You under the GNU Affero General
+ * Public License Version 3 (the "License") or (at your option)
+ * any later version.  You may not use this file except in
+ * compliance with the License.  You may obtain a copy of the
+ * License at:
+ *
+ *      https://www.gnu.org/licenses/agpl-3.0.txt
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied.  See the License for the specific
+ * language governing permissions and limitations under the
+ * License.
+ */
+package org.opennms.netmgt.eventd;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * A bounded, lock-free ring buffer used to hand events over to the threads
+ * of an event listener.
+ *
+ * Producers and consumers claim slots with a CAS on their respective
+ * cursor, and each slot carries a sequence number telling whether it is
+ * ready to be written or read (see D. Vyukov's bounded MPMC queue). When
+ * the ring is full the element is rejected and the caller decides how to
+ * account for the drop.
+ *
+ * All of the slots are allocated up front, so it is only used when a queue
+ * length is configured.
+ *
+ * @param <E> the type of the elements
+ */
+class BoundedEventQueue<E> extends ListenerEventQueue<E> {
+
+    private final int m_capacity;
+
+    private final AtomicReferenceArray<E> m_elements;
+
+    private final AtomicLongArray m_sequences;
+
+    private final AtomicLong m_head = new AtomicLong(0);
+
+    private final AtomicLong m_tail = new AtomicLong(0);
+
+    BoundedEventQueue(final int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("capacity must be positive");
+        }
+        m_capacity = capacity;
+        m_elements = new AtomicReferenceArray<>(capacity);
+        m_sequences = new AtomicLongArray(capacity);
+        for (int i = 0; i < capacity; i++) {
+            m_sequences.set(i, i);
+        }
+    }
+
+    @Override
+    protected boolean enqueue(final E element) {
+        for (;;) {
+            final long pos = m_tail.get();
+            final int idx = (int)(pos % m_capacity);
+            final long diff = m_sequences.get(idx) - pos;
+            if (diff == 0) {
+                if (m_tail.compareAndSet(pos, pos + 1)) {
+                    m_elements.lazySet(idx, element);
+                    m_sequences.set(idx, pos + 1);
+                    return true;
+                }
+            } else if (diff < 0) {
+                return false;
+            }
+            // Another producer claimed the slot, retry
+        }
+    }
+
+    @Override
+    E poll() {
+        for (;;) {
+            final long pos = m_head.get();
+            final int idx = (int)(pos % m_capacity);
+            final long diff = m_sequences.get(idx) - (pos + 1);
+            if (diff == 0) {
+                if (m_head.compareAndSet(pos, pos + 1)) {
+                    final E element = m_elements.get(idx);
+                    m_elements.lazySet(idx, null);
+                    m_sequences.set(idx, pos + m_capacity);
+                    return element;
+                }
+            } else if (diff < 0) {
+                return null;
+            }
+        }
+    }
+
+    @Override
+    int size() {
+        // Read the head first so that the result is never negative
+        final long head = m_head.get();
+        final long tail = m_tail.get();
+        return (int) Math.max(0, Math.min(m_capacity, tail - head));
+    }
+
+    @Override
+    int capacity() {
+        return m_capacity;
+    }
+}
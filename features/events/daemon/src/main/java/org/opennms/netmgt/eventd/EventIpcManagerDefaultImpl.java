@@ -25,21 +25,24 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
-import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.RejectedExecutionHandler;
 import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.opennms.core.concurrent.LogPreservingThreadFactory;
 import org.opennms.core.logging.Logging;
+import org.opennms.netmgt.events.api.BatchEventListener;
 import org.opennms.netmgt.events.api.EventHandler;
 import org.opennms.netmgt.events.api.EventIpcBroadcaster;
 import org.opennms.netmgt.events.api.EventIpcManager;
@@ -55,8 +58,11 @@ import org.springframework.beans.factory.InitializingBean;
 import org.springframework.util.Assert;
 import org.springframework.util.StringUtils;
 
+import com.codahale.metrics.Counter;
 import com.codahale.metrics.Gauge;
+import com.codahale.metrics.Meter;
 import com.codahale.metrics.MetricRegistry;
+import com.codahale.metrics.Timer;
 
 /**
  * An implementation of the EventIpcManager interface that can be used to
@@ -93,6 +99,18 @@ public class EventIpcManagerDefaultImpl implements EventIpcManager, EventIpcBroa
         }
     }
 
+    /**
+     * Largest capacity of the per-listener ring buffers, whose slots are allocated up front.
+     * Listeners with a larger queue length use a linked queue instead.
+     */
+    public static final int MAX_LISTENER_RING_CAPACITY = 10000000;
+
+    /**
+     * Upper bound on the number of UEIs for which the resolved listeners are cached
+     * in a single index snapshot.
+     */
+    private static final int MAX_RESOLVED_UEIS = 10000;
+
     /**
      * Hash table of list of event listeners keyed by event UEI
      */
@@ -108,6 +126,13 @@ public class EventIpcManagerDefaultImpl implements EventIpcManager, EventIpcBroa
      */
     private Map<String, EventListenerExecutor> m_listenerThreads = new HashMap<String, EventListenerExecutor>();
 
+    /**
+     * Immutable view of the listener registrations used by {@link #broadcastNow(Event, boolean)}.
+     * A new snapshot is published whenever a listener is added or removed, so that
+     * broadcasting never needs to lock.
+     */
+    private volatile ListenerIndex m_index = ListenerIndex.EMPTY;
+
     /**
      * The thread pool handling the events
      */
@@ -122,10 +147,139 @@ public class EventIpcManagerDefaultImpl implements EventIpcManager, EventIpcBroa
     private final MetricRegistry m_registry;
 
     /**
-     * A thread dedicated to each listener. The events meant for each listener
-     * is added to an execution queue when the 'sendNow()' is called. The
-     * ListenerThread reads events off of this queue and sends them to the
-     * appropriate listener.
+     * Copy-on-write snapshot of the registered listeners.
+     */
+    private static class ListenerIndex {
+        private static final ListenerIndex EMPTY = new ListenerIndex(Collections.emptyMap(), Collections.emptyList(), Collections.emptyMap());
+
+        private final Map<String, List<EventListener>> m_ueiListeners;
+
+        private final EventListenerExecutor[] m_matchAll;
+
+        private final Map<String, EventListenerExecutor> m_executors;
+
+        /**
+         * The executors interested in a given UEI, including the wildcard and
+         * match-all registrations, memoized for the lifetime of the snapshot.
+         */
+        private final Map<String, EventListenerExecutor[]> m_resolved = new ConcurrentHashMap<>();
+
+        private ListenerIndex(final Map<String, List<EventListener>> ueiListeners, final List<EventListener> matchAll, final Map<String, EventListenerExecutor> executors) {
+            m_ueiListeners = new HashMap<>();
+            for (final Map.Entry<String, List<EventListener>> entry : ueiListeners.entrySet()) {
+                if (!entry.getValue().isEmpty()) {
+                    m_ueiListeners.put(entry.getKey(), new ArrayList<>(entry.getValue()));
+                }
+            }
+            m_executors = new HashMap<>(executors);
+            m_matchAll = matchAll.stream()
+                    .map(l -> executors.get(l.getName()))
+                    .filter(Objects::nonNull)
+                    .distinct()
+                    .toArray(EventListenerExecutor[]::new);
+        }
+
+        private EventListenerExecutor[] getMatchAll() {
+            return m_matchAll;
+        }
+
+        /**
+         * Returns the executors of the listeners that are interested in the given
+         * UEI, not including the ones interested in all events.
+         */
+        private EventListenerExecutor[] resolve(final String uei) {
+            final EventListenerExecutor[] resolved = m_resolved.get(uei);
+            if (resolved != null) {
+                return resolved;
+            }
+
+            /*
+             * Loop to attempt partial wild card "directory" matches.
+             */
+            final Set<EventListenerExecutor> targets = new LinkedHashSet<>();
+            for (String prefix = uei; prefix.length() > 0; ) {
+                final List<EventListener> listeners = m_ueiListeners.get(prefix);
+                if (listeners != null) {
+                    for (final EventListener listener : listeners) {
+                        final EventListenerExecutor executor = m_executors.get(listener.getName());
+                        if (executor != null) {
+                            targets.add(executor);
+                        }
+                    }
+                }
+
+                // Try wild cards: Find / before last character
+                int i = prefix.lastIndexOf("/", prefix.length() - 2);
+                if (i > 0) {
+                    // Split at "/", including the /
+                    prefix = prefix.substring (0, i + 1);
+                } else {
+                    // No more wild cards to match
+                    break;
+                }
+            }
+
+            final EventListenerExecutor[] result = targets.toArray(new EventListenerExecutor[0]);
+            if (m_resolved.size() < MAX_RESOLVED_UEIS) {
+                m_resolved.put(uei, result);
+            }
+            return result;
+        }
+
+        private boolean hasEventListener(final String uei) {
+            final List<EventListener> listeners = m_ueiListeners.get(uei);
+            return listeners != null && !listeners.isEmpty();
+        }
+    }
+
+    /**
+     * An event waiting in the queue of a listener.
+     */
+    private static class QueuedEvent {
+        private final IEvent m_event;
+        private final long m_enqueuedNanos;
+        private final CompletableFuture<Void> m_future;
+
+        private QueuedEvent(final IEvent event, final CompletableFuture<Void> future) {
+            m_event = event;
+            m_enqueuedNanos = System.nanoTime();
+            m_future = future;
+        }
+
+        private void complete() {
+            if (m_future != null) {
+                m_future.complete(null);
+            }
+        }
+    }
+
+    /**
+     * Returns the number of events a listener accepts before dropping them, or
+     * {@link Integer#MAX_VALUE} if its queue is unbounded. Eventd hands over
+     * {@link Integer#MAX_VALUE} when no queue length is configured.
+     */
+    static int getListenerQueueCapacity(Integer handlerQueueLength, int numThreads) {
+        if (handlerQueueLength == null || handlerQueueLength == Integer.MAX_VALUE) {
+            return Integer.MAX_VALUE;
+        }
+        // Account for the events being processed by the threads so that the number of
+        // events that are accepted matches the one of a pool with a queue of that length
+        return (int) Math.min((long) handlerQueueLength + numThreads, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Only preallocates a ring buffer if the operator configured a queue length
+     * that fits, the events are otherwise queued in a linked queue.
+     */
+    static <E> ListenerEventQueue<E> createListenerQueue(int capacity) {
+        return capacity <= MAX_LISTENER_RING_CAPACITY ? new BoundedEventQueue<>(capacity) : new LinkedEventQueue<>();
+    }
+
+    /**
+     * The threads dedicated to each listener. The events meant for each listener
+     * are added to its queue when 'broadcastNow()' is called. The
+     * listener threads read events off of this buffer and send them to the
+     * appropriate listener, in batches if the listener is a {@link BatchEventListener}.
      */
     private static class EventListenerExecutor {
         /**
@@ -133,68 +287,157 @@ public class EventIpcManagerDefaultImpl implements EventIpcManager, EventIpcBroa
          */
         private final EventListener m_listener;
 
+        private final BatchEventListener m_batchListener;
+
+        private final ListenerEventQueue<QueuedEvent> m_queue;
+
+        /**
+         * The number of events that were accepted but not yet delivered.
+         */
+        private final AtomicInteger m_pending = new AtomicInteger(0);
+
+        private final int m_maxPending;
+
         /**
-         * The thread that is running this runnable.
+         * The threads that are consuming the queue.
          */
-        private final ExecutorService m_delegateThread;
+        private final Thread[] m_threads;
+
+        private final MetricRegistry m_registry;
+
+        private final String m_metricPrefix;
+
+        private final Counter m_dropped;
+
+        private final Meter m_delivered;
+
+        private final Timer m_lag;
+
+        private volatile boolean m_running = true;
 
         /**
          * Constructor
          */
-        EventListenerExecutor(EventListener listener, Integer handlerQueueLength) {
+        EventListenerExecutor(EventListener listener, Integer handlerQueueLength, MetricRegistry registry) {
             m_listener = listener;
+            m_batchListener = listener instanceof BatchEventListener ? (BatchEventListener)listener : null;
 
             int numThreads = 1;
             if (m_listener instanceof ThreadAwareEventListener) {
                 numThreads = ((ThreadAwareEventListener)m_listener).getNumThreads();
             }
 
-            m_delegateThread = new ThreadPoolExecutor(
-                    numThreads,
-                    numThreads,
-                    0L,
-                    TimeUnit.MILLISECONDS,
-                    handlerQueueLength == null ? new LinkedBlockingQueue<Runnable>() : new LinkedBlockingQueue<Runnable>(handlerQueueLength),
-                    // This ThreadFactory will ensure that the log prefix of the calling thread
-                    // is used for all events that this listener handles. Therefore, if Notifd
-                    // registers for an event then all logs for handling that event will end up
-                    // inside notifd.log.
-                    new LogPreservingThreadFactory(m_listener.getName(), numThreads),
-                    new RejectedExecutionHandler() {
-                        @Override
-                        public void rejectedExecution(Runnable r, ThreadPoolExecutor executor) {
-                            LOG.warn("Listener {}'s event queue is full, discarding event", m_listener.getName());
+            m_maxPending = getListenerQueueCapacity(handlerQueueLength, numThreads);
+            m_queue = createListenerQueue(m_maxPending);
+
+            m_registry = registry;
+            m_metricPrefix = MetricRegistry.name("eventlisteners", m_listener.getName());
+            m_dropped = registry.counter(MetricRegistry.name(m_metricPrefix, "dropped"));
+            m_delivered = registry.meter(MetricRegistry.name(m_metricPrefix, "delivered"));
+            m_lag = registry.timer(MetricRegistry.name(m_metricPrefix, "lag"));
+            final String queuedName = MetricRegistry.name(m_metricPrefix, "queued");
+            registry.remove(queuedName);
+            registry.register(queuedName, (Gauge<Integer>) m_pending::get);
+
+            // This ThreadFactory will ensure that the log prefix of the calling thread
+            // is used for all events that this listener handles. Therefore, if Notifd
+            // registers for an event then all logs for handling that event will end up
+            // inside notifd.log.
+            final LogPreservingThreadFactory threadFactory = new LogPreservingThreadFactory(m_listener.getName(), numThreads);
+            m_threads = new Thread[numThreads];
+            for (int i = 0; i < numThreads; i++) {
+                m_threads[i] = threadFactory.newThread(this::consume);
+                m_threads[i].setDaemon(true);
+                m_threads[i].start();
+            }
+        }
+
+        public CompletableFuture<Void> addEvent(final IEvent event, final boolean synchronous) {
+            final CompletableFuture<Void> future = synchronous ? new CompletableFuture<>() : null;
+            if (!m_running || m_pending.incrementAndGet() > m_maxPending) {
+                m_pending.decrementAndGet();
+                m_dropped.inc();
+                LOG.warn("Listener {}'s event queue is full, discarding event", m_listener.getName());
+                return future == null ? null : CompletableFuture.completedFuture(null);
+            }
+            // Always succeeds since the queue can hold all of the pending events
+            m_queue.offer(new QueuedEvent(event, future));
+            return future;
+        }
+
+        private void consume() {
+            final int maxBatchSize = m_batchListener != null ? Math.max(1, m_batchListener.getMaxBatchSize()) : 1;
+            final List<QueuedEvent> batch = new ArrayList<>(maxBatchSize);
+            while (m_running || !m_queue.isEmpty()) {
+                if (m_queue.drainTo(batch, maxBatchSize) == 0) {
+                    if (!m_queue.isEmpty()) {
+                        // A producer claimed a slot but did not publish it yet
+                        Thread.onSpinWait();
+                        continue;
+                    }
+                    try {
+                        m_queue.awaitNotEmpty(1, TimeUnit.SECONDS);
+                    } catch (InterruptedException e) {
+                        if (!m_running) {
+                            break;
                         }
                     }
-            );
+                    continue;
+                }
+
+                try {
+                    deliver(batch);
+                } finally {
+                    batch.clear();
+                }
+            }
         }
 
-        public CompletableFuture<Void> addEvent(final IEvent event) {
-            return CompletableFuture.runAsync(new Runnable() {
-                @Override
-                public void run() {
-                    try {
-                         if (LOG.isDebugEnabled()) LOG.debug("run: calling onEvent on {} for event {}", m_listener.getName(), event.toStringSimple());
+        private void deliver(final List<QueuedEvent> batch) {
+            final long now = System.nanoTime();
+            for (final QueuedEvent queued : batch) {
+                m_lag.update(now - queued.m_enqueuedNanos, TimeUnit.NANOSECONDS);
+            }
 
-                        // Make sure we restore our log4j logging prefix after onEvent is called
-                        Map<String,String> mdc = Logging.getCopyOfContextMap();
+            // Make sure we restore our log4j logging prefix after onEvent is called
+            final Map<String,String> mdc = Logging.getCopyOfContextMap();
+            try {
+                if (m_batchListener != null) {
+                    final List<IEvent> events = new ArrayList<>(batch.size());
+                    for (final QueuedEvent queued : batch) {
+                        events.add(queued.m_event);
+                    }
+                    if (LOG.isDebugEnabled()) LOG.debug("run: calling onEvents on {} for {} events", m_listener.getName(), events.size());
+                    m_batchListener.onEvents(events);
+                } else {
+                    for (final QueuedEvent queued : batch) {
+                        if (LOG.isDebugEnabled()) LOG.debug("run: calling onEvent on {} for event {}", m_listener.getName(), queued.m_event.toStringSimple());
                         try {
-                            m_listener.onEvent(event);
-                        } finally {
-                            Logging.setContextMap(mdc);
+                            m_listener.onEvent(queued.m_event);
+                        } catch (Throwable t) {
+                            LOG.warn("run: an unexpected error occured during ListenerThread {}", m_listener.getName(), t);
                         }
-                    } catch (Throwable t) {
-                        LOG.warn("run: an unexpected error occured during ListenerThread {}", m_listener.getName(), t);
                     }
                 }
-            }, m_delegateThread);
+            } catch (Throwable t) {
+                LOG.warn("run: an unexpected error occured during ListenerThread {}", m_listener.getName(), t);
+            } finally {
+                Logging.setContextMap(mdc);
+                m_pending.addAndGet(-batch.size());
+                m_delivered.mark(batch.size());
+                for (final QueuedEvent queued : batch) {
+                    queued.complete();
+                }
+            }
         }
 
         /**
-         * Stops the execution of this listener.
+         * Stops the execution of this listener once the queued events have been delivered.
          */
         public void stop() {
-            m_delegateThread.shutdown();
+            m_running = false;
+            m_queue.wakeUpAll();
+            m_registry.removeMatching((name, metric) -> name.startsWith(m_metricPrefix + "."));
         }
     }
 
@@ -289,17 +532,20 @@ public class EventIpcManagerDefaultImpl implements EventIpcManager, EventIpcBroa
             LOG.debug("Event ID {} to be broadcasted: {}", event.getDbid(), event.getUei());
         }
 
-        if (LOG.isDebugEnabled() && m_listeners.isEmpty()) {
-            LOG.debug("No listeners interested in all events");
-        }
+        final List<CompletableFuture<Void>> listenerFutures = synchronous ? new ArrayList<>() : null;
 
-        List<CompletableFuture<Void>> listenerFutures = new ArrayList<>();
+        final IEvent immutableEvent = ImmutableMapper.fromMutableEvent(event);
 
-        IEvent immutableEvent = ImmutableMapper.fromMutableEvent(event);
+        // Read the snapshot once so that the whole broadcast sees a consistent set of listeners
+        final ListenerIndex index = m_index;
 
         // Send to listeners interested in receiving all events
-        for (EventListener listener : m_listeners) {
-            listenerFutures.add(queueEventToListener(immutableEvent, listener));
+        final EventListenerExecutor[] matchAll = index.getMatchAll();
+        if (LOG.isDebugEnabled() && matchAll.length == 0) {
+            LOG.debug("No listeners interested in all events");
+        }
+        for (final EventListenerExecutor executor : matchAll) {
+            queueEventToListener(immutableEvent, executor, listenerFutures);
         }
 
         if (event.getUei() == null) {
@@ -310,32 +556,15 @@ public class EventIpcManagerDefaultImpl implements EventIpcManager, EventIpcBroa
         }
 
         /*
-         * Send to listeners who are interested in this event UEI.
-         * Loop to attempt partial wild card "directory" matches.
+         * Send to listeners who are interested in this event UEI,
+         * including the partial wild card "directory" matches.
          */
-        Set<EventListener> sentToListeners = new HashSet<EventListener>();
-        for (String uei = event.getUei(); uei.length() > 0; ) {
-            if (m_ueiListeners.containsKey(uei)) {
-                for (EventListener listener : m_ueiListeners.get(uei)) {
-                    if (!sentToListeners.contains(listener)) {
-                        listenerFutures.add(queueEventToListener(immutableEvent, listener));
-                        sentToListeners.add(listener);
-                    }
-                }
-            }
-            
-            // Try wild cards: Find / before last character
-            int i = uei.lastIndexOf("/", uei.length() - 2);
-            if (i > 0) {
-                // Split at "/", including the /
-                uei = uei.substring (0, i + 1);
-            } else {
-                // No more wild cards to match
-                break;
-            }
+        final EventListenerExecutor[] ueiListeners = index.resolve(event.getUei());
+        for (final EventListenerExecutor executor : ueiListeners) {
+            queueEventToListener(immutableEvent, executor, listenerFutures);
         }
-        
-        if (sentToListeners.isEmpty()) {
+
+        if (ueiListeners.length == 0) {
             if (LOG.isDebugEnabled()) {
                 LOG.debug("No listener interested in event ID {}: {}", event.getDbid(), event.getUei());
             }
@@ -348,8 +577,11 @@ public class EventIpcManagerDefaultImpl implements EventIpcManager, EventIpcBroa
         }
     }
 
-    private CompletableFuture<Void> queueEventToListener(IEvent event, EventListener listener) {
-        return m_listenerThreads.get(listener.getName()).addEvent(event);
+    private static void queueEventToListener(final IEvent event, final EventListenerExecutor executor, final List<CompletableFuture<Void>> listenerFutures) {
+        final CompletableFuture<Void> future = executor.addEvent(event, listenerFutures != null);
+        if (listenerFutures != null) {
+            listenerFutures.add(future);
+        }
     }
 
     /**
@@ -370,6 +602,8 @@ public class EventIpcManagerDefaultImpl implements EventIpcManager, EventIpcBroa
         for (String uei : m_ueiListeners.keySet()) {
             removeUeiForListener(uei, listener);
         }
+
+        publishIndex();
     }
 
     /**
@@ -399,6 +633,8 @@ public class EventIpcManagerDefaultImpl implements EventIpcManager, EventIpcBroa
 
         // Since we have a UEI-specific listener, remove the match-all listener
         removeMatchAllForListener(listener);
+
+        publishIndex();
     }
 
     /**
@@ -433,6 +669,8 @@ public class EventIpcManagerDefaultImpl implements EventIpcManager, EventIpcBroa
         for (String uei : ueis) {
             removeUeiForListener(uei, listener);
         }
+
+        publishIndex();
     }
 
     /**
@@ -452,6 +690,8 @@ public class EventIpcManagerDefaultImpl implements EventIpcManager, EventIpcBroa
         Assert.notNull(uei, "uei argument cannot be null");
 
         removeUeiForListener(uei, listener);
+
+        publishIndex();
     }
 
     /**
@@ -473,13 +713,24 @@ public class EventIpcManagerDefaultImpl implements EventIpcManager, EventIpcBroa
         }
 
         // stop and remove the listener thread for this listener
-        if (m_listenerThreads.containsKey(listener.getName())) {
-            m_listenerThreads.get(listener.getName()).stop();
+        final EventListenerExecutor listenerThread = m_listenerThreads.remove(listener.getName());
+
+        // Publish before stopping so that no new events are queued to the stopped listener
+        publishIndex();
 
-            m_listenerThreads.remove(listener.getName());
+        if (listenerThread != null) {
+            listenerThread.stop();
         }
     }
 
+    /**
+     * Publishes a new immutable snapshot of the listener registrations. Must be
+     * called while holding the lock on this instance.
+     */
+    private void publishIndex() {
+        m_index = new ListenerIndex(m_ueiListeners, m_listeners, m_listenerThreads);
+    }
+
     /**
      * Create a new queue and listener thread for this listener if one does not
      * already exist.
@@ -489,7 +740,7 @@ public class EventIpcManagerDefaultImpl implements EventIpcManager, EventIpcBroa
             return;
         }
         
-        EventListenerExecutor listenerThread = new EventListenerExecutor(listener, m_handlerQueueLength);
+        EventListenerExecutor listenerThread = new EventListenerExecutor(listener, m_handlerQueueLength, m_registry);
         m_listenerThreads.put(listener.getName(), listenerThread);
     }
 
@@ -631,10 +882,6 @@ public class EventIpcManagerDefaultImpl implements EventIpcManager, EventIpcBroa
 
     @Override
     public boolean hasEventListener(final String uei) {
-        if (this.m_ueiListeners.containsKey(uei)) {
-            return this.m_ueiListeners.get(uei).size() > 0;
-        } else {
-            return false;
-        }
+        return m_index.hasEventListener(uei);
     }
 }
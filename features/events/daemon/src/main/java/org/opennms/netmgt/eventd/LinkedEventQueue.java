@@ -0,0 +1,63 @@
+/*
+ * Licensed to The OpenNMS Group, Inc (TOG) under one or more
+ * contributor license agreements.  See the LICENSE.md file
+ * distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * TOG licenses this file to You under the GNU Affero General
+ * Public License Version 3 (the "License") or (at your option)
+ * any later version.  You may not use this file except in
+ * compliance with the License.  You may obtain a copy of the
+ * License at:
+ *
+ *      https://www.gnu.org/licenses/agpl-3.0.txt
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied.  See the License for the specific
+ * language governing permissions and limitations under the
+ * License.
+ */
+package org.opennms.netmgt.eventd;
+
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * An unbounded, lock-free queue used to hand events over to the threads of
+ * an event listener when no queue length is configured.
+ *
+ * Unlike the {@link BoundedEventQueue}, nothing is allocated up front and
+ * no event is ever rejected, at the cost of a node per event.
+ *
+ * @param <E> the type of the elements
+ */
+class LinkedEventQueue<E> extends ListenerEventQueue<E> {
+
+    private final ConcurrentLinkedQueue<E> m_elements = new ConcurrentLinkedQueue<>();
+
+    @Override
+    protected boolean enqueue(final E element) {
+        return m_elements.offer(element);
+    }
+
+    @Override
+    E poll() {
+        return m_elements.poll();
+    }
+
+    @Override
+    int size() {
+        return m_elements.size();
+    }
+
+    @Override
+    boolean isEmpty() {
+        return m_elements.isEmpty();
+    }
+
+    @Override
+    int capacity() {
+        return Integer.MAX_VALUE;
+    }
+}
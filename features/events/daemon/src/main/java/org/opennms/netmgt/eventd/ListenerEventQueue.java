@@ -0,0 +1,137 @@
+/*
+ * Licensed to The OpenNMS Group, Inc (TOG) under one or more
+ * contributor license agreements.  See the LICENSE.md file
+ * distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * TOG licenses this file to You under the GNU Affero General
+ * Public License Version 3 (the "License") or (at your option)
+ * any later version.  You may not use this file except in
+ * compliance with the License.  You may obtain a copy of the
+ * License at:
+ *
+ *      https://www.gnu.org/licenses/agpl-3.0.txt
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied.  See the License for the specific
+ * language governing permissions and limitations under the
+ * License.
+ */
+package org.opennms.netmgt.eventd;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * A queue used to hand events over to the threads of an event listener.
+ *
+ * Offering never blocks. Consumers that find the queue empty park on a
+ * condition, and producers only take the lock to wake them up when at
+ * least one consumer is waiting, so the lock is never touched while the
+ * consumers keep up.
+ *
+ * @param <E> the type of the elements
+ */
+abstract class ListenerEventQueue<E> {
+
+    private final ReentrantLock m_lock = new ReentrantLock();
+
+    private final Condition m_notEmpty = m_lock.newCondition();
+
+    private final AtomicInteger m_waiting = new AtomicInteger(0);
+
+    /**
+     * Adds the element to the queue.
+     *
+     * @return false if the queue is full
+     */
+    final boolean offer(final E element) {
+        if (!enqueue(element)) {
+            return false;
+        }
+        if (m_waiting.get() > 0) {
+            m_lock.lock();
+            try {
+                m_notEmpty.signal();
+            } finally {
+                m_lock.unlock();
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Adds the element to the queue without waking up the consumers.
+     *
+     * @return false if the queue is full
+     */
+    protected abstract boolean enqueue(E element);
+
+    /**
+     * Removes the element at the head of the queue.
+     *
+     * @return the element or null if the queue is empty
+     */
+    abstract E poll();
+
+    abstract int size();
+
+    /**
+     * @return the maximum number of elements, {@link Integer#MAX_VALUE} if unbounded
+     */
+    abstract int capacity();
+
+    boolean isEmpty() {
+        return size() == 0;
+    }
+
+    /**
+     * Moves up to maxElements elements into the given list.
+     *
+     * @return the number of elements moved
+     */
+    int drainTo(final List<E> list, final int maxElements) {
+        int n = 0;
+        E element;
+        while (n < maxElements && (element = poll()) != null) {
+            list.add(element);
+            n++;
+        }
+        return n;
+    }
+
+    /**
+     * Waits until the queue is no longer empty, the timeout expires, or
+     * {@link #wakeUpAll()} is called.
+     */
+    void awaitNotEmpty(final long timeout, final TimeUnit unit) throws InterruptedException {
+        m_lock.lock();
+        try {
+            m_waiting.incrementAndGet();
+            try {
+                // Check again now that producers are guaranteed to see us waiting
+                if (isEmpty()) {
+                    m_notEmpty.await(timeout, unit);
+                }
+            } finally {
+                m_waiting.decrementAndGet();
+            }
+        } finally {
+            m_lock.unlock();
+        }
+    }
+
+    void wakeUpAll() {
+        m_lock.lock();
+        try {
+            m_notEmpty.signalAll();
+        } finally {
+            m_lock.unlock();
+        }
+    }
+}
@@ -0,0 +1,95 @@
+/*
+ * Licensed to The OpenNMS Group, Inc (TOG) under one or more
+ * contributor license agreements.  See the LICENSE.md file
+ * distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * TOG licenses this file to You under the GNU Affero General
+ * Public License Version 3 (the "License") or (at your option)
+ * any later version.  You may not use this file except in
+ * compliance with the License.  You may obtain a copy of the
+ * License at:
+ *
+ *      https://www.gnu.org/licenses/agpl-3.0.txt
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied.  See the License for the specific
+ * language governing permissions and limitations under the
+ * License.
+ */
+package org.opennms.netmgt.eventd;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+public class BoundedEventQueueTest {
+
+    @Test
+    public void testOfferAndPoll() {
+        final BoundedEventQueue<Integer> queue = new BoundedEventQueue<>(3);
+        assertTrue(queue.isEmpty());
+        assertTrue(queue.offer(1));
+        assertTrue(queue.offer(2));
+        assertTrue(queue.offer(3));
+        assertFalse("queue should be full", queue.offer(4));
+        assertEquals(3, queue.size());
+
+        assertEquals(Integer.valueOf(1), queue.poll());
+        assertTrue(queue.offer(4));
+
+        final List<Integer> drained = new ArrayList<>();
+        assertEquals(2, queue.drainTo(drained, 2));
+        assertEquals(List.of(2, 3), drained);
+        assertEquals(Integer.valueOf(4), queue.poll());
+        assertNull(queue.poll());
+        assertTrue(queue.isEmpty());
+    }
+
+    @Test(timeout = 30000)
+    public void testConcurrentProducers() throws Exception {
+        final int producers = 4;
+        final int perProducer = 100000;
+        final BoundedEventQueue<Integer> queue = new BoundedEventQueue<>(1000);
+
+        final List<CompletableFuture<Void>> futures = new ArrayList<>();
+        for (int p = 0; p < producers; p++) {
+            final int base = p * perProducer;
+            futures.add(CompletableFuture.runAsync(() -> {
+                for (int i = 0; i < perProducer; i++) {
+                    while (!queue.offer(base + i)) {
+                        Thread.yield();
+                    }
+                }
+            }));
+        }
+
+        // Values from each producer must come out in order and none may be lost
+        final int[] last = new int[producers];
+        java.util.Arrays.fill(last, -1);
+        int received = 0;
+        while (received < producers * perProducer) {
+            final Integer value = queue.poll();
+            if (value == null) {
+                queue.awaitNotEmpty(10, TimeUnit.MILLISECONDS);
+                continue;
+            }
+            final int producer = value / perProducer;
+            assertTrue(value % perProducer > last[producer]);
+            last[producer] = value % perProducer;
+            received++;
+        }
+        CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).get();
+        assertTrue(queue.isEmpty());
+    }
+}
@@ -26,6 +26,7 @@ import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.equalTo;
 import static org.hamcrest.Matchers.is;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotEquals;
 import static org.junit.Assert.assertTrue;
 import static org.mockito.Mockito.mock;
@@ -48,6 +49,7 @@ import java.util.concurrent.atomic.AtomicReference;
 import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
+import org.opennms.netmgt.events.api.BatchEventListener;
 import org.opennms.netmgt.events.api.EventConstants;
 import org.opennms.netmgt.events.api.EventHandler;
 import org.opennms.netmgt.events.api.EventListener;
@@ -214,6 +216,83 @@ public class EventIpcManagerDefaultImplTest {
         });
     }
 
+    /**
+     * Eventd passes on {@link Integer#MAX_VALUE} when eventd-configuration.xml has no queueLength.
+     */
+    @Test
+    public void testAddEventListenerWithDefaultQueueLength() throws Exception {
+        EventIpcManagerDefaultImpl manager = new EventIpcManagerDefaultImpl(m_registry);
+        manager.setEventHandler(m_eventHandler);
+        manager.setHandlerPoolSize(5);
+        manager.setHandlerQueueLength(Integer.MAX_VALUE);
+        manager.afterPropertiesSet();
+
+        EventBuilder bldr = new EventBuilder(null, "testAddEventListenerWithDefaultQueueLength");
+        Event event = bldr.getEvent();
+
+        manager.addEventListener(m_listener);
+        manager.broadcastNow(event, false);
+
+        await().atMost(Duration.ofSeconds(1)).untilAsserted(() -> {
+            assertTrue("could not remove broadcasted event--did it make it?",
+                       m_listener.getEvents().remove(ImmutableMapper.fromMutableEvent(event)));
+        });
+    }
+
+    @Test
+    public void testListenerQueueCapacity() {
+        assertEquals(Integer.MAX_VALUE, EventIpcManagerDefaultImpl.getListenerQueueCapacity(null, 1));
+        assertEquals(Integer.MAX_VALUE, EventIpcManagerDefaultImpl.getListenerQueueCapacity(Integer.MAX_VALUE, 1));
+        assertEquals(1004, EventIpcManagerDefaultImpl.getListenerQueueCapacity(1000, 4));
+        assertEquals(Integer.MAX_VALUE, EventIpcManagerDefaultImpl.getListenerQueueCapacity(Integer.MAX_VALUE - 1, 10));
+
+        // Rings are only preallocated for configured queue lengths that fit
+        assertTrue(EventIpcManagerDefaultImpl.createListenerQueue(1004) instanceof BoundedEventQueue);
+        assertTrue(EventIpcManagerDefaultImpl.createListenerQueue(Integer.MAX_VALUE) instanceof LinkedEventQueue);
+        assertTrue(EventIpcManagerDefaultImpl.createListenerQueue(EventIpcManagerDefaultImpl.MAX_LISTENER_RING_CAPACITY + 1) instanceof LinkedEventQueue);
+    }
+
+    /**
+     * Without a configured queue length, no event may be dropped, however far behind the listener is.
+     */
+    @Test(timeout = 60000)
+    public void testDefaultQueueLengthNeverDropsEvents() throws Exception {
+        final int count = 250000;
+        final CountDownLatch blocked = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        final AtomicInteger received = new AtomicInteger();
+        final EventListener listener = new EventListener() {
+            @Override
+            public String getName() {
+                return "testDefaultQueueLengthNeverDropsEvents";
+            }
+
+            @Override
+            public void onEvent(IEvent e) {
+                blocked.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                }
+                received.incrementAndGet();
+            }
+        };
+
+        final Event event = new EventBuilder("uei.opennms.org/test", "testDefaultQueueLengthNeverDropsEvents").getEvent();
+        m_manager.addEventListener(listener);
+        m_manager.broadcastNow(event, false);
+        blocked.await();
+        for (int i = 1; i < count; i++) {
+            m_manager.broadcastNow(event, false);
+        }
+        release.countDown();
+
+        await().atMost(Duration.ofSeconds(30)).until(received::get, equalTo(count));
+        assertEquals(0, m_registry.counter(MetricRegistry.name("eventlisteners", listener.getName(), "dropped")).getCount());
+        m_manager.removeEventListener(listener);
+    }
+
     @Test
     public void testAddEventListenerTwoArgumentListNullListener() throws Exception {
         ThrowableAnticipator ta = new ThrowableAnticipator();
@@ -818,4 +897,149 @@ public class EventIpcManagerDefaultImplTest {
         // Release
         locker.release();
     }
+
+    @Test
+    public void testBatchEventListener() throws InterruptedException {
+        final List<IEvent> received = new ArrayList<>();
+        final AtomicInteger maxBatch = new AtomicInteger();
+        final CountDownLatch blocked = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+
+        final BatchEventListener batchListener = new BatchEventListener() {
+            @Override
+            public String getName() {
+                return "testBatchEventListener";
+            }
+
+            @Override
+            public void onEvent(IEvent event) {
+                throw new UnsupportedOperationException("events should be delivered in batches");
+            }
+
+            @Override
+            public void onEvents(List<IEvent> events) {
+                // Hold the first batch so that the following events pile up
+                if (blocked.getCount() > 0) {
+                    blocked.countDown();
+                    try {
+                        release.await();
+                    } catch (InterruptedException e) {
+                    }
+                }
+                maxBatch.set(Math.max(maxBatch.get(), events.size()));
+                synchronized (received) {
+                    received.addAll(events);
+                }
+            }
+
+            @Override
+            public int getMaxBatchSize() {
+                return 5;
+            }
+        };
+        m_manager.addEventListener(batchListener);
+
+        final List<Event> sent = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            final Event e = new EventBuilder("uei.opennms.org/foo/" + i, "testBatchEventListener").getEvent();
+            sent.add(e);
+            m_manager.broadcastNow(e, false);
+            if (i == 0) {
+                assertTrue(blocked.await(5, TimeUnit.SECONDS));
+            }
+        }
+        release.countDown();
+
+        await().atMost(Duration.ofSeconds(5)).until(() -> {
+            synchronized (received) {
+                return received.size() == sent.size();
+            }
+        });
+        // Events are delivered in order and batches are bounded
+        for (int i = 0; i < sent.size(); i++) {
+            assertEquals(sent.get(i).getUei(), received.get(i).getUei());
+        }
+        assertTrue(maxBatch.get() > 1);
+        assertTrue(maxBatch.get() <= 5);
+        m_manager.removeEventListener(batchListener);
+    }
+
+    @Test
+    public void testListenerMetrics() throws InterruptedException {
+        final CountDownLatch release = new CountDownLatch(1);
+        final EventListener blockedListener = new EventListener() {
+            @Override
+            public String getName() {
+                return "testListenerMetrics";
+            }
+
+            @Override
+            public void onEvent(IEvent event) {
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                }
+            }
+        };
+
+        final MetricRegistry registry = new MetricRegistry();
+        final EventIpcManagerDefaultImpl manager = new EventIpcManagerDefaultImpl(registry);
+        manager.setHandlerPoolSize(1);
+        manager.setHandlerQueueLength(5);
+        manager.setEventHandler(m_eventHandler);
+        manager.afterPropertiesSet();
+        manager.addEventListener(blockedListener, "uei.opennms.org/foo");
+
+        // One event is held by the listener thread, 5 are queued and the rest are dropped
+        for (int i = 0; i < 10; i++) {
+            manager.broadcastNow(new EventBuilder("uei.opennms.org/foo", "testListenerMetrics").getEvent(), false);
+        }
+
+        final String prefix = MetricRegistry.name("eventlisteners", blockedListener.getName());
+        assertEquals(4, registry.counter(MetricRegistry.name(prefix, "dropped")).getCount());
+        assertEquals(6, registry.getGauges().get(MetricRegistry.name(prefix, "queued")).getValue());
+
+        release.countDown();
+        await().atMost(Duration.ofSeconds(5)).until(() -> registry.meter(MetricRegistry.name(prefix, "delivered")).getCount() == 6);
+        assertEquals(0, registry.getGauges().get(MetricRegistry.name(prefix, "queued")).getValue());
+        assertEquals(6, registry.timer(MetricRegistry.name(prefix, "lag")).getCount());
+
+        // Metrics are cleared with the listener
+        manager.removeEventListener(blockedListener);
+        assertTrue(registry.getNames().stream().noneMatch(n -> n.startsWith(prefix + ".")));
+        assertFalse(manager.hasEventListener("uei.opennms.org/foo"));
+    }
+
+    @Test
+    public void testAddAndRemoveListenersWhileBroadcasting() throws Exception {
+        final AtomicInteger received = new AtomicInteger();
+        final EventListener listener = new EventListener() {
+            @Override
+            public String getName() {
+                return "testAddAndRemoveListenersWhileBroadcasting";
+            }
+
+            @Override
+            public void onEvent(IEvent event) {
+                received.incrementAndGet();
+            }
+        };
+
+        final AtomicInteger broadcasts = new AtomicInteger();
+        final CompletableFuture<Void> broadcaster = CompletableFuture.runAsync(() -> {
+            for (int i = 0; i < 10000; i++) {
+                m_manager.broadcastNow(new EventBuilder("uei.opennms.org/foo/bar", "testAddAndRemoveListenersWhileBroadcasting").getEvent(), false);
+                broadcasts.incrementAndGet();
+            }
+        });
+
+        while (!broadcaster.isDone()) {
+            m_manager.addEventListener(listener, "uei.opennms.org/foo/");
+            m_manager.removeEventListener(listener);
+        }
+        broadcaster.get();
+
+        assertEquals(10000, broadcasts.get());
+        assertFalse(m_manager.hasEventListener("uei.opennms.org/foo/"));
+    }
 }
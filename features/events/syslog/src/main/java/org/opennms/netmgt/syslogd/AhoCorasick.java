@@ -0,0 +1,171 @@
+/*
+ * Licensed to The OpenNMS Group, Inc (TOG) under one or more
+ * contributor license agreements.  See the LICENSE.md file
+ * distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * TOG licenses this file to You under the GNU Affero General
+ * Public License Version 3 (the "License") or (at your option)
+ * any later version.  You may not use this file except in
+ * compliance with the License.  You may obtain a copy of the
+ * License at:
+ *
+ *      https://www.gnu.org/licenses/agpl-3.0.txt
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied.  See the License for the specific
+ * language governing permissions and limitations under the
+ * License.
+ */
+package org.opennms.netmgt.syslogd;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Finds all occurrences of a set of strings in a text in a single pass, using the
+ * Aho-Corasick algorithm.
+ */
+final class AhoCorasick {
+
+    private static final char[] NO_LABELS = new char[0];
+    private static final int[] NO_IDS = new int[0];
+
+    // The transitions of each state, sorted by label
+    private final char[][] m_labels;
+    private final int[][] m_targets;
+    private final int[] m_failure;
+    // The patterns ending in each state, including those reached through failure links
+    private final int[][] m_outputs;
+
+    /**
+     * @param patterns the non-empty strings to search for, identified by their index in the list
+     */
+    AhoCorasick(final List<String> patterns) {
+        final List<Map<Character, Integer>> trie = new ArrayList<>();
+        final List<List<Integer>> outputs = new ArrayList<>();
+        trie.add(new TreeMap<>());
+        outputs.add(new ArrayList<>());
+
+        for (int id = 0; id < patterns.size(); id++) {
+            final String pattern = patterns.get(id);
+            if (pattern.isEmpty()) {
+                throw new IllegalArgumentException("Patterns must not be empty");
+            }
+            int state = 0;
+            for (int i = 0; i < pattern.length(); i++) {
+                Integer next = trie.get(state).get(pattern.charAt(i));
+                if (next == null) {
+                    next = trie.size();
+                    trie.get(state).put(pattern.charAt(i), next);
+                    trie.add(new TreeMap<>());
+                    outputs.add(new ArrayList<>());
+                }
+                state = next;
+            }
+            outputs.get(state).add(id);
+        }
+
+        final int size = trie.size();
+        m_labels = new char[size][];
+        m_targets = new int[size][];
+        m_failure = new int[size];
+        m_outputs = new int[size][];
+        for (int state = 0; state < size; state++) {
+            final Map<Character, Integer> transitions = trie.get(state);
+            m_labels[state] = transitions.isEmpty() ? NO_LABELS : new char[transitions.size()];
+            m_targets[state] = new int[transitions.size()];
+            int i = 0;
+            for (Map.Entry<Character, Integer> transition : transitions.entrySet()) {
+                m_labels[state][i] = transition.getKey();
+                m_targets[state][i] = transition.getValue();
+                i++;
+            }
+        }
+
+        // Breadth first, so that the failure state of a state is always complete before the state itself
+        final Deque<Integer> queue = new ArrayDeque<>();
+        m_outputs[0] = NO_IDS;
+        for (int child : m_targets[0]) {
+            m_failure[child] = 0;
+            m_outputs[child] = toArray(outputs.get(child), NO_IDS);
+            queue.add(child);
+        }
+        while (!queue.isEmpty()) {
+            final int state = queue.remove();
+            for (int i = 0; i < m_labels[state].length; i++) {
+                final char label = m_labels[state][i];
+                final int child = m_targets[state][i];
+                int failure = m_failure[state];
+                int next;
+                while ((next = next(failure, label)) < 0 && failure != 0) {
+                    failure = m_failure[failure];
+                }
+                m_failure[child] = next < 0 ? 0 : next;
+                m_outputs[child] = toArray(outputs.get(child), m_outputs[m_failure[child]]);
+                queue.add(child);
+            }
+        }
+    }
+
+    private static int[] toArray(final List<Integer> ids, final int[] inherited) {
+        if (ids.isEmpty()) {
+            return inherited;
+        }
+        final int[] array = Arrays.copyOf(inherited, inherited.length + ids.size());
+        for (int i = 0; i < ids.size(); i++) {
+            array[inherited.length + i] = ids.get(i);
+        }
+        return array;
+    }
+
+    private int next(final int state, final char c) {
+        final int i = Arrays.binarySearch(m_labels[state], c);
+        return i < 0 ? -1 : m_targets[state][i];
+    }
+
+    /**
+     * Sets the ids of all the patterns found in the given text.
+     */
+    void find(final CharSequence text, final BitSet found) {
+        int state = 0;
+        for (int i = 0; i < text.length(); i++) {
+            final char c = text.charAt(i);
+            int next;
+            while ((next = next(state, c)) < 0 && state != 0) {
+                state = m_failure[state];
+            }
+            state = next < 0 ? 0 : next;
+            for (int id : m_outputs[state]) {
+                found.set(id);
+            }
+        }
+    }
+
+    /**
+     * @return whether any of the patterns occurs in the given text
+     */
+    boolean containsAny(final CharSequence text) {
+        int state = 0;
+        for (int i = 0; i < text.length(); i++) {
+            final char c = text.charAt(i);
+            int next;
+            while ((next = next(state, c)) < 0 && state != 0) {
+                state = m_failure[state];
+            }
+            state = next < 0 ? 0 : next;
+            if (m_outputs[state].length > 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
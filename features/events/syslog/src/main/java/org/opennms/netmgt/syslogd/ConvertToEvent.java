@@ -21,22 +21,14 @@
  */
 package org.opennms.netmgt.syslogd;
 
-import static org.opennms.core.utils.InetAddressUtils.str;
-
 import java.net.InetAddress;
 import java.nio.ByteBuffer;
 import java.nio.charset.StandardCharsets;
-import java.util.Collections;
 import java.util.Date;
-import java.util.HashSet;
-import java.util.List;
-import java.util.Optional;
-import java.util.Set;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
-import java.util.regex.PatternSyntaxException;
 
 import com.google.common.base.Strings;
 import com.google.common.cache.Cache;
@@ -44,11 +36,7 @@ import org.apache.commons.lang.builder.ToStringBuilder;
 import org.opennms.core.utils.InetAddressUtils;
 import org.opennms.core.utils.LocationUtils;
 import org.opennms.netmgt.config.SyslogdConfig;
-import org.opennms.netmgt.config.syslogd.HideMatch;
-import org.opennms.netmgt.config.syslogd.HostaddrMatch;
-import org.opennms.netmgt.config.syslogd.HostnameMatch;
 import org.opennms.netmgt.config.syslogd.ParameterAssignment;
-import org.opennms.netmgt.config.syslogd.ProcessMatch;
 import org.opennms.netmgt.config.syslogd.UeiMatch;
 import org.opennms.netmgt.dao.api.AbstractInterfaceToNodeCache;
 import org.opennms.netmgt.dao.api.InterfaceToNodeCache;
@@ -58,16 +46,11 @@ import org.opennms.netmgt.xml.event.Event;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import com.google.common.cache.CacheBuilder;
-import com.google.common.cache.CacheLoader;
-import com.google.common.cache.LoadingCache;
-
 /**
  * This routine does the majority of Syslogd's work.
  * Improvements are most likely to be made.
- * 
- * TODO: This class is sloooow. It needs to be sped up significantly
- * to handle increased syslog volume.
+ * The UEI and hide matches of the configuration are compiled into
+ * a {@link SyslogMatchEngine}.
  *
  * @author Seth
  * @author <a href="mailto:joed@opennms.org">Johan Edstrom</a>
@@ -90,19 +73,6 @@ public class ConvertToEvent {
 
     private final Cache<HostNameWithLocationKey, String> m_dnsCache;
 
-    private static final LoadingCache<String,Pattern> CACHED_PATTERNS = CacheBuilder.newBuilder().build(
-        new CacheLoader<String,Pattern>() {
-            public Pattern load(String expression) {
-                try {
-                    return Pattern.compile(expression, Pattern.MULTILINE);
-                } catch(final PatternSyntaxException e) {
-                    LOG.warn("Failed to compile regex pattern '{}'", expression, e);
-                    return null;
-                }
-            }
-        }
-    );
-
     /**
      * Reduce the limit of the buffer to trim trailing nulls from the value.
      * 
@@ -367,9 +337,6 @@ public class ConvertToEvent {
             message.setHostName(addr.getHostAddress());
         }
 
-        final String priorityTxt = message.getSeverity().toString();
-        final String facilityTxt = message.getFacility().toString();
-
         // Post-process the message based on the SyslogdConfig
 
         // We will also here find out if, the host needs to
@@ -393,56 +360,11 @@ public class ConvertToEvent {
 
         EventBuilder bldr = toEventBuilder(message, systemId, location, receivedTimestamp, m_locationAwareDnsLookupClient, dnsCache);
 
-        final List<UeiMatch> ueiMatch = (config.getUeiList() == null ? Collections.emptyList() : config.getUeiList());
-        for (final UeiMatch uei : ueiMatch) {
-            final boolean messageMatchesUeiListEntry = containsIgnoreCase(uei.getFacilities(), facilityTxt) &&
-                                              containsIgnoreCase(uei.getSeverities(), priorityTxt) &&
-                                              matchProcess(uei.getProcessMatch().orElse(null), message.getProcessName()) &&
-                                              matchHostname(uei.getHostnameMatch().orElse(null), message.getHostName()) &&
-                                              matchHostAddr(uei.getHostaddrMatch().orElse(null), str(message.getHostAddress()));
-
-            if (messageMatchesUeiListEntry) {
-                if (uei.getMatch().getType().equals("substr")) {
-                    if (matchSubstring(message.getMessage(), uei, bldr, config.getDiscardUei())) {
-                        break;
-                    }
-                } else if ((uei.getMatch().getType().startsWith("regex"))) {
-                    if (matchRegex(message.getMessage(), uei, bldr, config.getDiscardUei())) {
-                        break;
-                    }
-                }
-            }
-        }
+        final SyslogMatchEngine matchEngine = SyslogMatchEngine.forConfig(config);
+        matchEngine.applyUeiMatches(message, bldr, config.getDiscardUei());
 
-        // Time to verify if we need to hide the message
-        final List<HideMatch> hideMatch = (config.getHideMessages() == null ? Collections.emptyList() : config.getHideMessages());
-        boolean doHide = false;
-        if (hideMatch.size() > 0) {
-            // Match this regex against the full string of the message
-            final String fullText = message.asRfc3164Message();
-
-            for (final HideMatch hide : hideMatch) {
-                if (hide.getMatch().getType().equals("substr")) {
-                    if (fullText.contains(hide.getMatch().getExpression())) {
-                        // We should hide the message based on this match
-                        doHide = true;
-                        break;
-                    }
-                } else if (hide.getMatch().getType().equals("regex")) {
-                    try {
-                        Pattern msgPat = getPattern(hide.getMatch().getExpression());
-                        Matcher msgMat = msgPat.matcher(fullText);
-                        if (msgMat.find()) {
-                            // We should hide the message based on this match
-                            doHide = true;
-                            break;
-                        }
-                    } catch (PatternSyntaxException pse) {
-                        LOG.warn("Failed to compile hide-match regex pattern '{}'", hide.getMatch().getExpression(), pse);
-                    }
-                }
-            }
-        }
+        // Time to verify if we need to hide the message, based on the full string of the message
+        final boolean doHide = matchEngine.hasHideMatches() && matchEngine.shouldHide(message.asRfc3164Message());
 
         if (doHide) {
             LOG.debug("Hiding syslog message from Event - May contain sensitive data");
@@ -453,51 +375,6 @@ public class ConvertToEvent {
         m_event = bldr.getEvent();
     }
 
-    private static boolean matchFind(final String expression, final String input, final String context) {
-        if (input == null) {
-            return false;
-        }
-        final Pattern pat = getPattern(expression);
-        if (pat == null) {
-            LOG.debug("Unable to get pattern for expression '{}' in {} context", expression, context);
-            return false;
-        }
-        final Matcher mat = pat.matcher(input);
-        if (mat != null && mat.find()) {
-            LOG.trace("Successful regex {} for input '{}' against expression '{}'", context, input, expression);
-            return true;
-        } else {
-           return false;
-        }
-    }
-
-    private static boolean matchHostAddr(final HostaddrMatch hostaddrMatch, final String hostAddress) {
-        if (hostaddrMatch == null) return true;
-        return matchFind(hostaddrMatch.getExpression(), hostAddress, "hostaddr-match");
-    }
-
-    private static boolean matchHostname(final HostnameMatch hostnameMatch, final String hostName) {
-        if (hostnameMatch == null) return true;
-        return matchFind(hostnameMatch.getExpression(), hostName, "hostname-match");
-    }
-
-    private static boolean matchProcess(final ProcessMatch processMatch, final String processName) {
-        if (processMatch == null) return true;
-        return matchFind(processMatch.getExpression(), processName, "process-match");
-    }
-
-    private static boolean containsIgnoreCase(List<String> collection, String match) {
-         if (collection.size() == 0) return true;
-         for (String string : collection) {
-             if (string.equalsIgnoreCase(match)) return true;
-         }
-         return false;
-    }
-
-    private static Pattern getPattern(final String expression) {
-        return CACHED_PATTERNS.getUnchecked(expression);
-    }
-
     /**
      * Checks the message for substring matches to a {@link UeiMatch}. If the message
      * matches, then the UEI is updated (or the event is discarded if the discard
@@ -510,7 +387,7 @@ public class ConvertToEvent {
      * @return
      * @throws MessageDiscardedException
      */
-    private static boolean matchSubstring(String message, final UeiMatch uei, final EventBuilder bldr, final String discardUei) throws MessageDiscardedException {
+    static boolean matchSubstring(String message, final UeiMatch uei, final EventBuilder bldr, final String discardUei) throws MessageDiscardedException {
         final boolean traceEnabled = LOG.isTraceEnabled();
         if (message.contains(uei.getMatch().getExpression())) {
             if (discardUei.equals(uei.getUei())) {
@@ -535,20 +412,14 @@ public class ConvertToEvent {
      * 
      * @param message
      * @param uei
+     * @param msgPat the compiled expression of the {@link UeiMatch}
      * @param bldr
      * @param discardUei
      * @return
      * @throws MessageDiscardedException
      */
-    private static boolean matchRegex(final String message, final UeiMatch uei, final EventBuilder bldr, final String discardUei) throws MessageDiscardedException {
+    static boolean matchRegex(final String message, final UeiMatch uei, final Pattern msgPat, final EventBuilder bldr, final String discardUei) throws MessageDiscardedException {
         final boolean traceEnabled = LOG.isTraceEnabled();
-        final String expression = uei.getMatch().getExpression();
-        final Pattern msgPat = getPattern(expression);
-        if (msgPat == null) {
-            LOG.debug("Unable to create pattern for expression '{}'", expression);
-            return false;
-        } 
-
         final Matcher msgMat = msgPat.matcher(message);
 
         // If the message matches the regex
@@ -591,7 +462,7 @@ public class ConvertToEvent {
             return true;
         }
 
-        if (traceEnabled) LOG.trace("Message portion '{}' did not regex-match pattern '{}'", message, expression);
+        if (traceEnabled) LOG.trace("Message portion '{}' did not regex-match pattern '{}'", message, msgPat.pattern());
         return false;
     }
 
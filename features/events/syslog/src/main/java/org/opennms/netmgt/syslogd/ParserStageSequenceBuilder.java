@@ -30,7 +30,6 @@ import java.util.EmptyStackException;
 import java.util.List;
 import java.util.Objects;
 import java.util.Stack;
-import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.BiConsumer;
 import java.util.stream.Collectors;
 
@@ -77,49 +76,40 @@ public class ParserStageSequenceBuilder {
 	}
 
 	/**
-	 * The state of an individual {@link ParserStage} operation.
+	 * The state of an individual {@link ParserStage} operation. The state
+	 * is reused by all of the stages that run on the same thread.
 	 */
 	private static class ParserStageState {
-		public final ByteBuffer buffer;
+		public ByteBuffer buffer;
 
-		private StringBuilder accumulatedValue = null;
-		private AtomicInteger accumulatedSize = null;
+		private final StringBuilder accumulatedValue = new StringBuilder();
+		private int accumulatedSize = 0;
 
 		// Only used by MatchMonth
 		public RadixTreeNode<CharacterWithValue> currentNode = null; 
 
-		public ParserStageState(ByteBuffer input) {
+		public ParserStageState reset(ByteBuffer input) {
 			buffer = input;
+			accumulatedValue.setLength(0);
+			accumulatedSize = 0;
+			currentNode = null;
+			return this;
 		}
 
 		public void accumulate(char c) {
-			accessAccumulatedValue().append(c);
-			accessAccumulatedSize().incrementAndGet();
+			accumulatedValue.append(c);
+			accumulatedSize++;
 		}
 
 		public int getAccumulatedSize() {
-			return accessAccumulatedSize().get();
-		}
-
-		private final StringBuilder accessAccumulatedValue() {
-			if (accumulatedValue == null) {
-				accumulatedValue = new StringBuilder();
-			}
-			return accumulatedValue;
-		}
-
-		private final AtomicInteger accessAccumulatedSize() {
-			if (accumulatedSize == null) {
-				accumulatedSize = new AtomicInteger();
-			}
 			return accumulatedSize;
 		}
 
 		@Override
 		public String toString() {
 			return new ToStringBuilder(this, ToStringStyle.SHORT_PREFIX_STYLE)
-				.append("accumulatedValue", accumulatedValue == null ? "null" : accumulatedValue.toString())
-				.append("accumulatedSize", accumulatedSize == null ? 0 : accumulatedSize.get())
+				.append("accumulatedValue", accumulatedSize == 0 ? "null" : accumulatedValue.toString())
+				.append("accumulatedSize", accumulatedSize)
 				.toString();
 		}
 	}
@@ -290,6 +280,8 @@ public class ParserStageSequenceBuilder {
 	 */
 	private static abstract class AbstractParserStage<R> implements ParserStage {
 
+		private static final ThreadLocal<ParserStageState> STAGE_STATE = ThreadLocal.withInitial(ParserStageState::new);
+
 		private boolean m_optional = false;
 		private boolean m_terminal = false;
 		protected final BiConsumer<ParserState, R> m_resultConsumer;
@@ -334,17 +326,21 @@ public class ParserStageSequenceBuilder {
 			if (incomingState == null) {
 				return null;
 			} else {
-				LOG.trace("Starting stage: " + this);
+				LOG.trace("Starting stage: {}", this);
 			}
 
-			ParserState state = incomingState.clone();
-
-			// Create a new state for the current ParserStage.
-			// Use ByteBuffer.duplicate() to create a buffer with marks
-			// and positions that only this stage will use.
-//			ParserStageState stageState = new ParserStageState(state.getBuffer().duplicate()); 
-			ParserStageState stageState = new ParserStageState(state.getBuffer()); 
+			// The buffer is a view with a position that only this stage will use. The
+			// message is shared with the other branches of the parse tree, so it is only
+			// copied once this stage has a value to write to it.
+			final ParserStageState stageState = STAGE_STATE.get().reset(incomingState.getBuffer());
+			try {
+				return apply(incomingState.message, stageState);
+			} finally {
+				stageState.reset(null);
+			}
+		}
 
+		private ParserState apply(final SyslogMessage incomingMessage, final ParserStageState stageState) {
 			while(true) {
 				stageState.buffer.mark();
 
@@ -353,28 +349,19 @@ public class ParserStageSequenceBuilder {
 					c = (char)stageState.buffer.get();
 				} catch (BufferUnderflowException e) {
 					if (m_terminal) {
+						SyslogMessage message = incomingMessage;
 						if (m_resultConsumer != null) {
-							m_resultConsumer.accept(state, getValue(stageState));
+							message = consume(message, getValue(stageState));
 						}
 
-//						// Reset any local state if necessary
-//						reset(stageState);
-
 						LOG.trace("End of buffer with terminal match");
-						return new ParserState(stageState.buffer, state.message);
+						return new ParserState(stageState.buffer, message);
 					} else if (m_optional) {
-//						// TODO: Should we reset the buffer here? It probably
-//						// doesn't matter since we're at the end of the buffer.
-//						stageState.buffer.reset();
-
-//						// Reset any local state if necessary
-//						reset(stageState);
-
 						LOG.trace("End of buffer with optional match");
-						return new ParserState(stageState.buffer, state.message);
+						return new ParserState(stageState.buffer, incomingMessage);
 					} else {
 						// Reached end of buffer, match failed
-						LOG.trace("Parse failed due to buffer underflow: " + this);
+						LOG.trace("Parse failed due to buffer underflow: {}", this);
 						return null;
 					}
 				}
@@ -382,10 +369,11 @@ public class ParserStageSequenceBuilder {
 				switch (acceptChar(stageState, c)) {
 					case CONTINUE:
 						continue;
-					case COMPLETE_AFTER_CONSUMING:
+					case COMPLETE_AFTER_CONSUMING: {
+						SyslogMessage message = incomingMessage;
 						if (m_resultConsumer != null) {
 							try {
-								m_resultConsumer.accept(state, getValue(stageState));
+								message = consume(message, getValue(stageState));
 							} catch (Exception e) {
 								// Conversion to value failed
 								LOG.trace("Parse failed on result consumer: {}", stageState, e);
@@ -393,14 +381,13 @@ public class ParserStageSequenceBuilder {
 							}
 						}
 
-//						// Reset any local state if necessary
-//						reset(stageState);
-
-						return new ParserState(stageState.buffer, state.message);
-					case COMPLETE_WITHOUT_CONSUMING:
+						return new ParserState(stageState.buffer, message);
+					}
+					case COMPLETE_WITHOUT_CONSUMING: {
+						SyslogMessage message = incomingMessage;
 						if (m_resultConsumer != null) {
 							try {
-								m_resultConsumer.accept(state, getValue(stageState));
+								message = consume(message, getValue(stageState));
 							} catch (Exception e) {
 								// Conversion to value failed
 								LOG.trace("Parse failed on result consumer: {}", stageState, e);
@@ -414,7 +401,8 @@ public class ParserStageSequenceBuilder {
 						// Move the mark back before the current character
 						stageState.buffer.reset();
 
-						return new ParserState(stageState.buffer, state.message);
+						return new ParserState(stageState.buffer, message);
+					}
 					case CANCEL:
 						if (m_optional) {
 							stageState.buffer.reset();
@@ -422,7 +410,7 @@ public class ParserStageSequenceBuilder {
 							// Reset any local state if necessary
 							reset(stageState);
 
-							return new ParserState(stageState.buffer, state.message);
+							return new ParserState(stageState.buffer, incomingMessage);
 						} else {
 							// Match failed
 							LOG.trace("Parse failed: {}", this);
@@ -432,6 +420,17 @@ public class ParserStageSequenceBuilder {
 			}
 		}
 
+		/**
+		 * Passes the value to the consumer of this stage, which writes it to a copy of the message.
+		 *
+		 * @return the copy
+		 */
+		private SyslogMessage consume(final SyslogMessage message, final R value) {
+			final ParserState state = new ParserState(null, message.clone());
+			m_resultConsumer.accept(state, value);
+			return state.message;
+		}
+
 		public void reset(ParserStageState state) {
 			// Do nothing by default
 		}
@@ -445,11 +444,10 @@ public class ParserStageSequenceBuilder {
 		}
 
 		protected static String getAccumulatedValue(ParserStageState state) {
-			final StringBuilder accumulatedValue = state.accumulatedValue;
-			if (accumulatedValue == null) {
+			if (state.accumulatedSize == 0) {
 				return null;
 			} else {
-				return accumulatedValue.toString();
+				return state.accumulatedValue.toString();
 			}
 		}
 
@@ -48,8 +48,11 @@ public final class SyslogConfigBean implements SyslogdConfig {
 	private int m_queueSize;
 	private int m_batchSize;
 	private int m_batchIntervalMs;
+	private String m_sinkFormat;
 	private TimeZone timeZone;
 	private boolean includeRawSyslogmessage;
+	private List<UeiMatch> m_ueiList = Collections.emptyList();
+	private List<HideMatch> m_hideMessages = Collections.emptyList();
 
 	@Override
 	public int getSyslogPort() {
@@ -116,12 +119,20 @@ public final class SyslogConfigBean implements SyslogdConfig {
 
 	@Override
 	public List<UeiMatch> getUeiList() {
-		return Collections.emptyList();
+		return m_ueiList;
+	}
+
+	public void setUeiList(List<UeiMatch> ueiList) {
+		m_ueiList = ueiList;
 	}
 
 	@Override
 	public List<HideMatch> getHideMessages() {
-		return Collections.emptyList();
+		return m_hideMessages;
+	}
+
+	public void setHideMessages(List<HideMatch> hideMessages) {
+		m_hideMessages = hideMessages;
 	}
 
 	@Override
@@ -190,6 +201,15 @@ public final class SyslogConfigBean implements SyslogdConfig {
         m_batchIntervalMs = batchIntervalMs;
     }
 
+    @Override
+    public String getSinkFormat() {
+        return m_sinkFormat;
+    }
+
+    public void setSinkFormat(String sinkFormat) {
+        m_sinkFormat = sinkFormat;
+    }
+
     @Override
     public void reload() throws IOException {
       // pass
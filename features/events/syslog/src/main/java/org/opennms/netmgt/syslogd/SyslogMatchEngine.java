@@ -0,0 +1,525 @@
+/*
+ * Licensed to The OpenNMS Group, Inc (TOG) under one or more
+ * contributor license agreements.  See the LICENSE.md file
+ * distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * TOG licenses this file to You under the GNU Affero General
+ * Public License Version 3 (the "License") or (at your option)
+ * any later version.  You may not use this file except in
+ * compliance with the License.  You may obtain a copy of the
+ * License at:
+ *
+ *      https://www.gnu.org/licenses/agpl-3.0.txt
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied.  See the License for the specific
+ * language governing permissions and limitations under the
+ * License.
+ */
+package org.opennms.netmgt.syslogd;
+
+import static org.opennms.core.utils.InetAddressUtils.str;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+
+import org.opennms.netmgt.config.SyslogdConfig;
+import org.opennms.netmgt.config.syslogd.HideMatch;
+import org.opennms.netmgt.config.syslogd.HostaddrMatch;
+import org.opennms.netmgt.config.syslogd.HostnameMatch;
+import org.opennms.netmgt.config.syslogd.Match;
+import org.opennms.netmgt.config.syslogd.ProcessMatch;
+import org.opennms.netmgt.config.syslogd.UeiMatch;
+import org.opennms.netmgt.model.events.EventBuilder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * The {@link UeiMatch} and {@link HideMatch} entries of the Syslogd configuration,
+ * compiled so that a message is only matched against the entries that can match it.
+ * <p>
+ * The facilities and severities of the UEI matches are turned into one set of candidate
+ * entries per facility and per severity. The substrings of the substring matches and a
+ * literal required by each regular expression are searched for all at once, and the
+ * process, hostname and host address expressions shared by several entries are only
+ * evaluated once. The remaining candidates are then tried in the order of the
+ * configuration, so the first entry that matches still wins.
+ * <p>
+ * The engine is compiled again whenever the configuration returns other lists, i.e.
+ * after it was reloaded.
+ */
+final class SyslogMatchEngine {
+
+    private static final Logger LOG = LoggerFactory.getLogger(SyslogMatchEngine.class);
+
+    private static final int PROCESS = 0;
+    private static final int HOSTNAME = 1;
+    private static final int HOSTADDR = 2;
+
+    private static volatile SyslogMatchEngine s_engine;
+
+    private final List<UeiMatch> m_ueiList;
+    private final int m_ueiListSize;
+    private final List<HideMatch> m_hideList;
+    private final int m_hideListSize;
+
+    private final UeiMatch[] m_ueiMatches;
+    // The message pattern of each regex entry, null for substring entries
+    private final Pattern[] m_patterns;
+    private final BitSet[] m_byFacility;
+    private final BitSet[] m_bySeverity;
+
+    private final Pattern[] m_constraints;
+    private final int[] m_constraintFields;
+    private final BitSet[] m_constrainedEntries;
+
+    // The substrings and required literals, and the entries that need each of them
+    private final AhoCorasick m_literals;
+    private final BitSet[] m_literalEntries;
+    // The entries that may match any message
+    private final BitSet m_unfiltered;
+
+    private final boolean m_hideAll;
+    private final AhoCorasick m_hideSubstrings;
+    private final Pattern[] m_hidePatterns;
+    private final String[] m_hideLiterals;
+
+    /**
+     * @return the engine compiled from the current UEI and hide matches of the given configuration
+     */
+    static SyslogMatchEngine forConfig(final SyslogdConfig config) {
+        final List<UeiMatch> ueiList = config.getUeiList() == null ? Collections.emptyList() : config.getUeiList();
+        final List<HideMatch> hideList = config.getHideMessages() == null ? Collections.emptyList() : config.getHideMessages();
+        SyslogMatchEngine engine = s_engine;
+        if (engine == null || !engine.isCompiledFrom(ueiList, hideList)) {
+            engine = new SyslogMatchEngine(ueiList, hideList);
+            s_engine = engine;
+        }
+        return engine;
+    }
+
+    SyslogMatchEngine(final List<UeiMatch> ueiList, final List<HideMatch> hideList) {
+        m_ueiList = ueiList;
+        m_ueiListSize = ueiList.size();
+        m_hideList = hideList;
+        m_hideListSize = hideList.size();
+
+        final Map<String, Optional<Pattern>> patterns = new HashMap<>();
+        final int count = ueiList.size();
+        m_ueiMatches = ueiList.toArray(new UeiMatch[0]);
+        m_patterns = new Pattern[count];
+        m_unfiltered = new BitSet(count);
+
+        final BitSet valid = new BitSet(count);
+        final Map<String, BitSet> literals = new LinkedHashMap<>();
+        final List<Map<String, BitSet>> constraints = new ArrayList<>();
+        for (int field = PROCESS; field <= HOSTADDR; field++) {
+            constraints.add(new LinkedHashMap<>());
+        }
+
+        for (int i = 0; i < count; i++) {
+            final UeiMatch uei = m_ueiMatches[i];
+            final Match match = uei.getMatch();
+            if (match == null || match.getType() == null || match.getExpression() == null) {
+                continue;
+            }
+
+            final String literal;
+            if (match.getType().equals("substr")) {
+                literal = match.getExpression();
+            } else if (match.getType().startsWith("regex")) {
+                m_patterns[i] = compile(patterns, match.getExpression());
+                if (m_patterns[i] == null) {
+                    continue;
+                }
+                literal = requiredLiteral(match.getExpression());
+            } else {
+                continue;
+            }
+            if (literal == null || literal.isEmpty()) {
+                m_unfiltered.set(i);
+            } else {
+                literals.computeIfAbsent(literal, l -> new BitSet(count)).set(i);
+            }
+
+            uei.getProcessMatch().map(ProcessMatch::getExpression)
+                    .ifPresent(e -> constraints.get(PROCESS).computeIfAbsent(e, k -> new BitSet(count)).set(i));
+            uei.getHostnameMatch().map(HostnameMatch::getExpression)
+                    .ifPresent(e -> constraints.get(HOSTNAME).computeIfAbsent(e, k -> new BitSet(count)).set(i));
+            uei.getHostaddrMatch().map(HostaddrMatch::getExpression)
+                    .ifPresent(e -> constraints.get(HOSTADDR).computeIfAbsent(e, k -> new BitSet(count)).set(i));
+            valid.set(i);
+        }
+
+        final List<Pattern> constraintPatterns = new ArrayList<>();
+        final List<Integer> constraintFields = new ArrayList<>();
+        final List<BitSet> constrainedEntries = new ArrayList<>();
+        for (int field = PROCESS; field <= HOSTADDR; field++) {
+            for (Map.Entry<String, BitSet> constraint : constraints.get(field).entrySet()) {
+                final Pattern pattern = compile(patterns, constraint.getKey());
+                if (pattern == null) {
+                    // Entries with an invalid expression never match
+                    valid.andNot(constraint.getValue());
+                } else {
+                    constraintPatterns.add(pattern);
+                    constraintFields.add(field);
+                    constrainedEntries.add(constraint.getValue());
+                }
+            }
+        }
+        m_constraints = constraintPatterns.toArray(new Pattern[0]);
+        m_constraintFields = constraintFields.stream().mapToInt(Integer::intValue).toArray();
+        m_constrainedEntries = constrainedEntries.toArray(new BitSet[0]);
+
+        m_literals = literals.isEmpty() ? null : new AhoCorasick(new ArrayList<>(literals.keySet()));
+        m_literalEntries = literals.values().toArray(new BitSet[0]);
+
+        final SyslogFacility[] facilities = SyslogFacility.values();
+        m_byFacility = new BitSet[facilities.length];
+        for (SyslogFacility facility : facilities) {
+            m_byFacility[facility.ordinal()] = select(valid, UeiMatch::getFacilities, facility.toString());
+        }
+        final SyslogSeverity[] severities = SyslogSeverity.values();
+        m_bySeverity = new BitSet[severities.length];
+        for (SyslogSeverity severity : severities) {
+            m_bySeverity[severity.ordinal()] = select(valid, UeiMatch::getSeverities, severity.toString());
+        }
+
+        boolean hideAll = false;
+        final List<String> hideSubstrings = new ArrayList<>();
+        final List<Pattern> hidePatterns = new ArrayList<>();
+        final List<String> hideLiterals = new ArrayList<>();
+        for (HideMatch hide : hideList) {
+            final Match match = hide.getMatch();
+            if (match == null || match.getType() == null || match.getExpression() == null) {
+                continue;
+            }
+            if (match.getType().equals("substr")) {
+                if (match.getExpression().isEmpty()) {
+                    hideAll = true;
+                } else {
+                    hideSubstrings.add(match.getExpression());
+                }
+            } else if (match.getType().equals("regex")) {
+                final Pattern pattern = compile(patterns, match.getExpression());
+                if (pattern != null) {
+                    hidePatterns.add(pattern);
+                    hideLiterals.add(requiredLiteral(match.getExpression()));
+                }
+            }
+        }
+        m_hideAll = hideAll;
+        m_hideSubstrings = hideSubstrings.isEmpty() ? null : new AhoCorasick(hideSubstrings);
+        m_hidePatterns = hidePatterns.toArray(new Pattern[0]);
+        m_hideLiterals = hideLiterals.toArray(new String[0]);
+
+        LOG.debug("Compiled {} UEI matches ({} without a required literal) and {} hide matches.",
+                valid.cardinality(), m_unfiltered.cardinality(), hideSubstrings.size() + hidePatterns.size());
+    }
+
+    private boolean isCompiledFrom(final List<UeiMatch> ueiList, final List<HideMatch> hideList) {
+        return m_ueiList == ueiList && m_ueiListSize == ueiList.size()
+                && m_hideList == hideList && m_hideListSize == hideList.size();
+    }
+
+    private BitSet select(final BitSet valid, final Function<UeiMatch, List<String>> values, final String value) {
+        final BitSet selected = new BitSet(m_ueiMatches.length);
+        for (int i = valid.nextSetBit(0); i >= 0; i = valid.nextSetBit(i + 1)) {
+            final List<String> accepted = values.apply(m_ueiMatches[i]);
+            if (accepted.isEmpty() || accepted.stream().anyMatch(value::equalsIgnoreCase)) {
+                selected.set(i);
+            }
+        }
+        return selected;
+    }
+
+    private static Pattern compile(final Map<String, Optional<Pattern>> patterns, final String expression) {
+        return patterns.computeIfAbsent(expression, e -> {
+            try {
+                return Optional.of(Pattern.compile(e, Pattern.MULTILINE));
+            } catch (final PatternSyntaxException ex) {
+                LOG.warn("Failed to compile regex pattern '{}'", e, ex);
+                return Optional.empty();
+            }
+        }).orElse(null);
+    }
+
+    /**
+     * Applies the first UEI match, in the order of the configuration, that matches the given message.
+     *
+     * @throws MessageDiscardedException if the first UEI match that matches uses the discard UEI
+     */
+    void applyUeiMatches(final SyslogMessage message, final EventBuilder bldr, final String discardUei) throws MessageDiscardedException {
+        final String text = message.getMessage();
+        if (m_ueiMatches.length == 0 || text == null) {
+            return;
+        }
+
+        final BitSet candidates = (BitSet) m_byFacility[message.getFacility().ordinal()].clone();
+        candidates.and(m_bySeverity[message.getSeverity().ordinal()]);
+        if (candidates.isEmpty()) {
+            return;
+        }
+
+        final BitSet filtered = (BitSet) m_unfiltered.clone();
+        if (m_literals != null) {
+            final BitSet found = new BitSet(m_literalEntries.length);
+            m_literals.find(text, found);
+            for (int id = found.nextSetBit(0); id >= 0; id = found.nextSetBit(id + 1)) {
+                filtered.or(m_literalEntries[id]);
+            }
+        }
+        candidates.and(filtered);
+
+        for (int i = 0; i < m_constraints.length && !candidates.isEmpty(); i++) {
+            if (m_constrainedEntries[i].intersects(candidates) && !find(m_constraints[i], getField(message, m_constraintFields[i]))) {
+                candidates.andNot(m_constrainedEntries[i]);
+            }
+        }
+
+        for (int i = candidates.nextSetBit(0); i >= 0; i = candidates.nextSetBit(i + 1)) {
+            final boolean matched = m_patterns[i] == null
+                    ? ConvertToEvent.matchSubstring(text, m_ueiMatches[i], bldr, discardUei)
+                    : ConvertToEvent.matchRegex(text, m_ueiMatches[i], m_patterns[i], bldr, discardUei);
+            if (matched) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * @return whether there is any hide match, i.e. whether {@link #shouldHide(String)} needs to be called
+     */
+    boolean hasHideMatches() {
+        return m_hideAll || m_hideSubstrings != null || m_hidePatterns.length > 0;
+    }
+
+    /**
+     * @return whether any of the hide matches matches the full text of the message
+     */
+    boolean shouldHide(final String fullText) {
+        if (m_hideAll || (m_hideSubstrings != null && m_hideSubstrings.containsAny(fullText))) {
+            return true;
+        }
+        for (int i = 0; i < m_hidePatterns.length; i++) {
+            if ((m_hideLiterals[i] == null || fullText.contains(m_hideLiterals[i])) && m_hidePatterns[i].matcher(fullText).find()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String getField(final SyslogMessage message, final int field) {
+        switch (field) {
+        case PROCESS:
+            return message.getProcessName();
+        case HOSTNAME:
+            return message.getHostName();
+        default:
+            return str(message.getHostAddress());
+        }
+    }
+
+    private static boolean find(final Pattern pattern, final String input) {
+        return input != null && pattern.matcher(input).find();
+    }
+
+    /**
+     * Returns the longest string that every match of the given regular expression must contain.
+     * <p>
+     * Only sequences of plain characters outside of groups, character classes and alternations
+     * are considered. Expressions using constructs that change how the characters are matched,
+     * i.e. inline flags, are never filtered.
+     *
+     * @return the literal, or null if none was found
+     */
+    static String requiredLiteral(final String regex) {
+        if (regex.contains("\\Q") || hasInlineFlags(regex)) {
+            return null;
+        }
+        String longest = "";
+        final StringBuilder run = new StringBuilder();
+        final int length = regex.length();
+        int i = 0;
+        while (i < length) {
+            final char c = regex.charAt(i);
+            int literal = -1;
+            int next = i + 1;
+            switch (c) {
+            case '|':
+            case ')':
+            case '*':
+            case '+':
+            case '?':
+            case '{':
+                // An alternation means that nothing is required, the others are out of place
+                return null;
+            case '\\':
+                if (next >= length) {
+                    return null;
+                }
+                final char escaped = regex.charAt(next);
+                if (Character.isLetterOrDigit(escaped)) {
+                    // Quotes, properties, code points and back references span more than two characters
+                    if (Character.isDigit(escaped) || "QEpPxuckN".indexOf(escaped) >= 0) {
+                        return null;
+                    }
+                } else {
+                    literal = escaped;
+                }
+                next++;
+                break;
+            case '[':
+                next = skipClass(regex, i);
+                break;
+            case '(':
+                next = skipGroup(regex, i);
+                break;
+            case '.':
+            case '^':
+            case '$':
+                break;
+            default:
+                literal = c;
+            }
+            if (next < 0) {
+                return null;
+            }
+
+            // A quantified character is optional, unless it is required at least once
+            boolean optional = false;
+            boolean repeated = false;
+            if (next < length) {
+                final char quantifier = regex.charAt(next);
+                if (quantifier == '*' || quantifier == '?' || quantifier == '{') {
+                    optional = quantifier != '{' || !isRequired(regex, next);
+                    repeated = true;
+                    next = quantifier == '{' ? regex.indexOf('}', next) + 1 : next + 1;
+                    if (next == 0) {
+                        return null;
+                    }
+                } else if (quantifier == '+') {
+                    repeated = true;
+                    next++;
+                }
+                if (repeated && next < length && (regex.charAt(next) == '?' || regex.charAt(next) == '+')) {
+                    next++;
+                }
+            }
+
+            if (literal >= 0 && !optional) {
+                run.append((char) literal);
+            }
+            if (literal < 0 || repeated) {
+                if (run.length() > longest.length()) {
+                    longest = run.toString();
+                }
+                run.setLength(0);
+            }
+            i = next;
+        }
+        if (run.length() > longest.length()) {
+            longest = run.toString();
+        }
+        return longest.isEmpty() ? null : longest;
+    }
+
+    private static boolean isRequired(final String regex, final int brace) {
+        // {n}, {n,} and {n,m} require the token when n > 0
+        int i = brace + 1;
+        int n = 0;
+        boolean digits = false;
+        while (i < regex.length() && Character.isDigit(regex.charAt(i))) {
+            n = Math.min(n * 10 + regex.charAt(i) - '0', 1000);
+            digits = true;
+            i++;
+        }
+        return digits && n > 0;
+    }
+
+    private static boolean hasInlineFlags(final String regex) {
+        for (int paren = regex.indexOf("(?"); paren >= 0; paren = regex.indexOf("(?", paren + 1)) {
+            int i = paren + 2;
+            while (i < regex.length() && "idmsuxU-".indexOf(regex.charAt(i)) >= 0) {
+                i++;
+            }
+            if (i > paren + 2 && i < regex.length() && regex.charAt(i) == ')') {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @return the index following the character class starting at the given index, or -1
+     */
+    private static int skipClass(final String regex, final int bracket) {
+        int depth = 0;
+        int i = bracket;
+        while (i < regex.length()) {
+            final char c = regex.charAt(i);
+            if (c == '\\') {
+                i += 2;
+                continue;
+            }
+            if (c == '[') {
+                depth++;
+                // A closing bracket right at the start of a class is a plain character
+                if (regex.startsWith("]", i + 1) || regex.startsWith("^]", i + 1)) {
+                    return -1;
+                }
+            } else if (c == ']') {
+                depth--;
+                if (depth == 0) {
+                    return i + 1;
+                }
+            }
+            i++;
+        }
+        return -1;
+    }
+
+    /**
+     * @return the index following the group starting at the given index, or -1
+     */
+    private static int skipGroup(final String regex, final int paren) {
+        int depth = 0;
+        int i = paren;
+        while (i < regex.length()) {
+            final char c = regex.charAt(i);
+            if (c == '\\') {
+                i += 2;
+                continue;
+            }
+            if (c == '[') {
+                i = skipClass(regex, i);
+                if (i < 0) {
+                    return -1;
+                }
+                continue;
+            }
+            if (c == '(') {
+                depth++;
+            } else if (c == ')') {
+                depth--;
+                if (depth == 0) {
+                    return i + 1;
+                }
+            }
+            i++;
+        }
+        return -1;
+    }
+}
@@ -0,0 +1,100 @@
+/*
+ * Licensed to The OpenNMS Group, Inc (TOG) under one or more
+ * contributor license agreements.  See the LICENSE.md file
+ * distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * TOG licenses this file to You under the GNU Affero General
+ * Public License Version 3 (the "License") or (at your option)
+ * any later version.  You may not use this file except in
+ * compliance with the License.  You may obtain a copy of the
+ * License at:
+ *
+ *      https://www.gnu.org/licenses/agpl-3.0.txt
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied.  See the License for the specific
+ * language governing permissions and limitations under the
+ * License.
+ */
+package org.opennms.netmgt.syslogd;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.nio.ByteBuffer;
+import java.util.Date;
+
+import org.opennms.core.xml.BinaryCodec;
+import org.opennms.netmgt.syslogd.api.SyslogMessageDTO;
+import org.opennms.netmgt.syslogd.api.SyslogMessageLogDTO;
+import org.opennms.netmgt.syslogd.model.SyslogMessageLogProtos;
+
+import com.google.protobuf.ByteString;
+
+/**
+ * Encodes {@link SyslogMessageLogDTO}s with the protobuf messages generated from
+ * <code>syslog-message-log.proto</code>.
+ * <p>
+ * As with the XML encoding, the complete content of the message buffers is written,
+ * regardless of their position.
+ */
+public class SyslogMessageLogCodec implements BinaryCodec<SyslogMessageLogDTO> {
+
+    @Override
+    public void encode(SyslogMessageLogDTO log, OutputStream out) throws IOException {
+        final SyslogMessageLogProtos.SyslogMessageLog.Builder builder = SyslogMessageLogProtos.SyslogMessageLog.newBuilder()
+                .setSourcePort(log.getSourcePort());
+        if (log.getSourceAddress() != null) {
+            builder.setSourceAddress(ByteString.copyFrom(log.getSourceAddress().getAddress()));
+        }
+        if (log.getSystemId() != null) {
+            builder.setSystemId(log.getSystemId());
+        }
+        if (log.getLocation() != null) {
+            builder.setLocation(log.getLocation());
+        }
+        for (SyslogMessageDTO message : log.getMessages()) {
+            final SyslogMessageLogProtos.SyslogMessage.Builder messageBuilder = builder.addMessagesBuilder();
+            if (message.getTimestamp() != null) {
+                messageBuilder.setTimestamp(message.getTimestamp().getTime());
+            }
+            if (message.getBytes() != null) {
+                // Copy from a view, which leaves the position of the message buffer untouched
+                final ByteBuffer bytes = message.getBytes().duplicate();
+                bytes.clear();
+                messageBuilder.setBytes(ByteString.copyFrom(bytes));
+            }
+        }
+        builder.build().writeTo(out);
+    }
+
+    @Override
+    public SyslogMessageLogDTO decode(byte[] bytes, int offset, int length) throws IOException {
+        final SyslogMessageLogProtos.SyslogMessageLog message = SyslogMessageLogProtos.SyslogMessageLog.parser().parseFrom(bytes, offset, length);
+        final SyslogMessageLogDTO log = new SyslogMessageLogDTO();
+        if (message.hasSourceAddress()) {
+            log.setSourceAddress(InetAddress.getByAddress(message.getSourceAddress().toByteArray()));
+        }
+        log.setSourcePort(message.getSourcePort());
+        if (message.hasSystemId()) {
+            log.setSystemId(message.getSystemId());
+        }
+        if (message.hasLocation()) {
+            log.setLocation(message.getLocation());
+        }
+        for (SyslogMessageLogProtos.SyslogMessage entry : message.getMessagesList()) {
+            final SyslogMessageDTO syslogMessage = new SyslogMessageDTO();
+            if (entry.hasTimestamp()) {
+                syslogMessage.setTimestamp(new Date(entry.getTimestamp()));
+            }
+            if (entry.hasBytes()) {
+                syslogMessage.setBytes(ByteBuffer.wrap(entry.getBytes().toByteArray()));
+            }
+            log.getMessages().add(syslogMessage);
+        }
+        return log;
+    }
+}
@@ -41,7 +41,7 @@ public class SyslogSinkModule extends AbstractXmlSinkModule<SyslogConnection, Sy
     private final DistPollerDao distPollerDao;
 
     public SyslogSinkModule(SyslogdConfig config, DistPollerDao distPollerDao) {
-        super(SyslogMessageLogDTO.class);
+        super(SyslogMessageLogDTO.class, new SyslogMessageLogCodec());
         this.config = Objects.requireNonNull(config);
         this.distPollerDao = Objects.requireNonNull(distPollerDao);
     }
@@ -56,6 +56,11 @@ public class SyslogSinkModule extends AbstractXmlSinkModule<SyslogConnection, Sy
         return config.getNumThreads();
     }
 
+    @Override
+    protected String getFormat() {
+        return config.getSinkFormat();
+    }
+
     @Override
     public AggregationPolicy<SyslogConnection, SyslogMessageLogDTO, SyslogMessageLogDTO> getAggregationPolicy() {
         final String systemId = distPollerDao.whoami().getId();
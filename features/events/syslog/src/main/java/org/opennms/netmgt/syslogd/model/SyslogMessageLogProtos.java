@@ -0,0 +1,1963 @@
+/*
+ * Licensed to The OpenNMS Group, Inc (TOG) under one or more
+ * contributor license agreements.  See the LICENSE.md file
+ * distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * TOG licenses this file to You under the GNU Affero General
+ * Public License Version 3 (the "License") or (at your option)
+ * any later version.  You may not use this file except in
+ * compliance with the License.  You may obtain a copy of the
+ * License at:
+ *
+ *      https://www.gnu.org/licenses/agpl-3.0.txt
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied.  See the License for the specific
+ * language governing permissions and limitations under the
+ * License.
+ */
+// Generated by the protocol buffer compiler.  DO NOT EDIT!
+// source: syslog-message-log.proto
+
+package org.opennms.netmgt.syslogd.model;
+
+public final class SyslogMessageLogProtos {
+  private SyslogMessageLogProtos() {}
+  public static void registerAllExtensions(
+      com.google.protobuf.ExtensionRegistryLite registry) {
+  }
+
+  public static void registerAllExtensions(
+      com.google.protobuf.ExtensionRegistry registry) {
+    registerAllExtensions(
+        (com.google.protobuf.ExtensionRegistryLite) registry);
+  }
+  public interface SyslogMessageLogOrBuilder extends
+      // @@protoc_insertion_point(interface_extends:SyslogMessageLog)
+      com.google.protobuf.MessageOrBuilder {
+
+    /**
+     * <code>optional bytes source_address = 1;</code>
+     * @return Whether the sourceAddress field is set.
+     */
+    boolean hasSourceAddress();
+    /**
+     * <code>optional bytes source_address = 1;</code>
+     * @return The sourceAddress.
+     */
+    com.google.protobuf.ByteString getSourceAddress();
+
+    /**
+     * <code>int32 source_port = 2;</code>
+     * @return The sourcePort.
+     */
+    int getSourcePort();
+
+    /**
+     * <code>optional string system_id = 3;</code>
+     * @return Whether the systemId field is set.
+     */
+    boolean hasSystemId();
+    /**
+     * <code>optional string system_id = 3;</code>
+     * @return The systemId.
+     */
+    java.lang.String getSystemId();
+    /**
+     * <code>optional string system_id = 3;</code>
+     * @return The bytes for systemId.
+     */
+    com.google.protobuf.ByteString
+        getSystemIdBytes();
+
+    /**
+     * <code>optional string location = 4;</code>
+     * @return Whether the location field is set.
+     */
+    boolean hasLocation();
+    /**
+     * <code>optional string location = 4;</code>
+     * @return The location.
+     */
+    java.lang.String getLocation();
+    /**
+     * <code>optional string location = 4;</code>
+     * @return The bytes for location.
+     */
+    com.google.protobuf.ByteString
+        getLocationBytes();
+
+    /**
+     * <code>repeated .SyslogMessage messages = 5;</code>
+     */
+    java.util.List<org.opennms.netmgt.syslogd.model.SyslogMessageLogProtos.SyslogMessage> 
+        getMessagesList();
+    /**
+     * <code>repeated .SyslogMessage messages = 5;</code>
+     */
+    org.opennms.netmgt.syslogd.model.SyslogMessageLogProtos.SyslogMessage getMessages(int index);
+    /**
+     * <code>repeated .SyslogMessage messages = 5;</code>
+     */
+    int getMessagesCount();
+    /**
+     * <code>repeated .SyslogMessage messages = 5;</code>
+     */
+    java.util.List<? extends org.opennms.netmgt.syslogd.model.SyslogMessageLogProtos.SyslogMessageOrBuilder> 
+        getMessagesOrBuilderList();
+    /**
+     * <code>repeated .SyslogMessage messages = 5;</code>
+     */
+    org.opennms.netmgt.syslogd.model.SyslogMessageLogProtos.SyslogMessageOrBuilder getMessagesOrBuilder(
+        int index);
+  }
+  /**
+   * Protobuf type {@code SyslogMessageLog}
+   */
+  public static final class SyslogMessageLog extends
+      com.google.protobuf.GeneratedMessageV3 implements
+      // @@protoc_insertion_point(message_implements:SyslogMessageLog)
+      SyslogMessageLogOrBuilder {
+  private static final long serialVersionUID = 0L;
+    // Use SyslogMessageLog.newBuilder() to construct.
+    private SyslogMessageLog(com.google.protobuf.GeneratedMessageV3.Builder<?> builder) {
+      super(builder);
+    }
+    private SyslogMessageLog() {
+      sourceAddress_ = com.google.protobuf.ByteString.EMPTY;
+      systemId_ = "";
+      location_ = "";
+      messages_ = java.util.Collections.emptyList();
+    }
+
+    @java.lang.Override
+    @SuppressWarnings({"unused"})
+    protected java.lang.Object newInstance(
+        UnusedPrivateParameter unused) {
+      return new SyslogMessageLog();
+    }
+
+    public static final com.google.protobuf.Descriptors.Descriptor
+        getDescriptor() {
+      return org.opennms.netmgt.syslogd.model.SyslogMessageLogProtos.internal_static_SyslogMessageLog_descriptor;
+    }
+
+    @java.lang.Override
+    protected com.google.protobuf.GeneratedMessageV3.FieldAccessorTable
+        internalGetFieldAccessorTable() {
+      return org.opennms.netmgt.syslogd.model.SyslogMessageLogProtos.internal_static_SyslogMessageLog_fieldAccessorTable
+          .ensureFieldAccessorsInitialized(
+              org.opennms.netmgt.syslogd.model.SyslogMessageLogProtos.SyslogMessageLog.class, org.opennms.netmgt.syslogd.model.SyslogMessageLogProtos.SyslogMessageLog.Builder.class);
+    }
+
+    private int bitField0_;
+    public static final int SOURCE_ADDRESS_FIELD_NUMBER = 1;
+    private com.google.protobuf.ByteString sourceAddress_ = com.google.protobuf.ByteString.EMPTY;
+    /**
+     * <code>optional bytes source_address = 1;</code>
+     * @return Whether the sourceAddress field is set.
+     */
+    @java.lang.Override
+    public boolean hasSourceAddress() {
+      return ((bitField0_ & 0x00000001) != 0);
+    }
+    /**
+     * <code>optional bytes source_address = 1;</code>
+     * @return The sourceAddress.
+     */
+    @java.lang.Override
+    public com.google.protobuf.ByteString getSourceAddress() {
+      return sourceAddress_;
+    }
+
+    public static final int SOURCE_PORT_FIELD_NUMBER = 2;
+    private int sourcePort_ = 0;
+    /**
+     * <code>int32 source_port = 2;</code>
+     * @return The sourcePort.
+     */
+    @java.lang.Override
+    public int getSourcePort() {
+      return sourcePort_;
+    }
+
+    public static final int SYSTEM_ID_FIELD_NUMBER = 3;
+    @SuppressWarnings("serial")
+    private volatile java.lang.Object systemId_ = "";
+    /**
+     * <code>optional string system_id = 3;</code>
+     * @return Whether the systemId field is set.
+     */
+    @java.lang.Override
+    public boolean hasSystemId() {
+      return ((bitField0_ & 0x00000002) != 0);
+    }
+    /**
+     * <code>optional string system_id = 3;</code>
+     * @return The systemId.
+     */
+    @java.lang.Override
+    public java.lang.String getSystemId() {
+      java.lang.Object ref = systemId_;
+      if (ref instanceof java.lang.String) {
+        return (java.lang.String) ref;
+      } else {
+        com.google.protobuf.ByteString bs = 
+            (com.google.protobuf.ByteString) ref;
+        java.lang.String s = bs.toStringUtf8();
+        systemId_ = s;
+        return s;
+      }
+    }
+    /**
+     * <code>optional string system_id = 3;</code>
+     * @return The bytes for systemId.
+     */
+    @java.lang.Override
+    public com.google.protobuf.ByteString
+        getSystemIdBytes() {
+      java.lang.Object ref = systemId_;
+      if (ref instanceof java.lang.String) {
+        com.google.protobuf.ByteString b = 
+            com.google.protobuf.ByteString.copyFromUtf8(
+                (java.lang.String) ref);
+        systemId_ = b;
+        return b;
+      } else {
+        return (com.google.protobuf.ByteString) ref;
+      }
+    }
+
+    public static final int LOCATION_FIELD_NUMBER = 4;
+    @SuppressWarnings("serial")
+    private volatile java.lang.Object location_ = "";
+    /**
+     * <code>optional string location = 4;</code>
+     * @return Whether the location field is set.
+     */
+    @java.lang.Override
+    public boolean hasLocation() {
+      return ((bitField0_ & 0x00000004) != 0);
+    }
+    /**
+     * <code>optional string location = 4;</code>
+     * @return The location.
+     */
+    @java.lang.Override
+    public java.lang.String getLocation() {
+      java.lang.Object ref = location_;
+      if (ref instanceof java.lang.String) {
+        return (java.lang.String) ref;
+      } else {
+        com.google.protobuf.ByteString bs = 
+            (com.google.protobuf.ByteString) ref;
+        java.lang.String s = bs.toStringUtf8();
+        location_ = s;
+        return s;
+      }
+    }
+    /**
+     * <code>optional string location = 4;</code>
+     * @return The bytes for location.
+     */
+    @java.lang.Override
+    public com.google.protobuf.ByteString
+        getLocationBytes() {
+      java.lang.Object ref = location_;
+      if (ref instanceof java.lang.String) {
+        com.google.protobuf.ByteString b = 
+            com.google.protobuf.ByteString.copyFromUtf8(
+                (java.lang.String) ref);
+        location_ = b;
+        return b;
+      } else {
+        return (com.google.protobuf.ByteString) ref;
+      }
+    }
+
+    public static final int MESSAGES_FIELD_NUMBER = 5;
+    @SuppressWarnings("serial")
+    private java.util.List<org.opennms.netmgt.syslogd.model.SyslogMessageLogProtos.SyslogMessage> messages_;
+    /**
+     * <code>repeated .SyslogMessage messages = 5;</code>
+     */
+    @java.lang.Override
+    public java.util.List<org.opennms.netmgt.syslogd.model.SyslogMessageLogProtos.SyslogMessage> getMessagesList() {
+      return messages_;
+    }
+    /**
+     * <code>repeated .SyslogMessage messages = 5;</code>
+     */
+    @java.lang.Override
+    public java.util.List<? extends org.opennms.netmgt.syslogd.model.SyslogMessageLogProtos.SyslogMessageOrBuilder> 
+        getMessagesOrBuilderList() {
+      return messages_;
+    }
+    /**
+     * <code>repeated .SyslogMessage messages = 5;</code>
+     */
+    @java.lang.Override
+    public int getMessagesCount() {
+      return messages_.size();
+    }
+    /**
+     * <code>repeated .SyslogMessage messages = 5;</code>
+     */
+    @java.lang.Override
+    public org.opennms.netmgt.syslogd.model.SyslogMessageLogProtos.SyslogMessage getMessages(int index) {
+      return messages_.get(index);
+    }
+    /**
+     * <code>repeated .SyslogMessage messages = 5;</code>
+     */
+    @java.lang.Override
+    public org.opennms.netmgt.syslogd.model.SyslogMessageLogProtos.SyslogMessageOrBuilder getMessagesOrBuilder(
+        int index) {
+      return messages_.get(index);
+    }
+
+    private byte memoizedIsInitialized = -1;
+    @java.lang.Override
+    public final boolean isInitialized() {
+      byte isInitialized = memoizedIsInitialized;
+      if (isInitialized == 1) return true;
+      if (isInitialized == 0) return false;
+
+      memoizedIsInitialized = 1;
+      return true;
+    }
+
+    @java.lang.Override
+    public void writeTo(com.google.protobuf.CodedOutputStream output)
+                        throws java.io.IOException {
+      if (((bitField0_ & 0x00000001) != 0)) {
+        output.writeBytes(1, sourceAddress_);
+      }
+      if (sourcePort_ != 0) {
+        output.writeInt32(2, sourcePort_);
+      }
+      if (((bitField0_ & 0x00000002) != 0)) {
+        com.google.protobuf.GeneratedMessageV3.writeString(output, 3, systemId_);
+      }
+      if (((bitField0_ & 0x00000004) != 0)) {
+        com.google.protobuf.GeneratedMessageV3.writeString(output, 4, location_);
+      }
+      for (int i = 0; i < messages_.size(); i++) {
+        output.writeMessage(5, messages_.get(i));
+      }
+      getUnknownFields().writeTo(output);
+    }
+
+    @java.lang.Override
+    public int getSerializedSize() {
+      int size = memoizedSize;
+      if (size != -1) return size;
+
+      size = 0;
+      if (((bitField0_ & 0x00000001) != 0)) {
+        size += com.google.protobuf.CodedOutputStream
+          .computeBytesSize(1, sourceAddress_);
+      }
+      if (sourcePort_ != 0) {
+        size += com.google.protobuf.CodedOutputStream
+          .computeInt32Size(2, sourcePort_);
+      }
+      if (((bitField0_ & 0x00000002) != 0)) {
+        size += com.google.protobuf.GeneratedMessageV3.computeStringSize(3, systemId_);
+      }
+      if (((bitField0_ & 0x00000004) != 0)) {
+        size += com.google.protobuf.GeneratedMessageV3.computeStringSize(4, location_);
+      }
+      for (int i = 0; i < messages_.size(); i++) {
+        size += com.google.protobuf.CodedOutputStream
+          .computeMessageSize(5, messages_.get(i));
+      }
+      size += getUnknownFields().getSerializedSize();
+      memoizedSize = size;
+      return size;
+    }
+
+    @java.lang.Override
+    public boolean equals(final java.lang.Object obj) {
+      if (obj == this) {
+       return true;
+      }
+      if (!(obj instanceof org.opennms.netmgt.syslogd.model.SyslogMessageLogProtos.SyslogMessageLog)) {
+        return super.equals(obj);
+      }
+      org.opennms.netmgt.syslogd.model.SyslogMessageLogProtos.SyslogMessageLog other = (org.opennms.netmgt.syslogd.model.SyslogMessageLogProtos.SyslogMessageLog) obj;
+
+      if (hasSourceAddress() != other.hasSourceAddress()) return false;
+      if (hasSourceAddress()) {
+        if (!getSourceAddress()
+            .equals(other.getSourceAddress())) return false;
+      }
+      if (getSourcePort()
+          != other.getSourcePort()) return false;
+      if (hasSystemId() != other.hasSystemId()) return false;
+      if (hasSystemId()) {
+        if (!getSystemId()
+            .equals(other.getSystemId())) return false;
+      }
+      if (hasLocation() != other.hasLocation()) return false;
+      if (hasLocation()) {
+        if (!getLocation()
+            .equals(other.getLocation())) return false;
+      }
+      if (!getMessagesList()
+          .equals(other.getMessagesList())) return false;
+      if (!getUnknownFields().equals(other.getUnknownFields())) return false;
+      return true;
+    }
+
+    @java.lang.Override
+    public int hashCode() {
+      if (memoizedHashCode != 0) {
+        return memoizedHashCode;
+      }
+      int hash = 41;
+      hash = (19 * hash) + getDescriptor().hashCode();
+      if (hasSourceAddress()) {
+        hash = (37 * hash) + SOURCE_ADDRESS_FIELD_NUMBER;
+        hash = (53 * hash) + getSourceAddress().hashCode();
+      }
+      hash = (37 * hash) + SOURCE_PORT_FIELD_NUMBER;
+      hash = (53 * hash) + getSourcePort();
+      if (hasSystemId()) {
+        hash = (37 * hash) + SYSTEM_ID_FIELD_NUMBER;
+        hash = (53 * hash) + getSystemId().hashCode();
+      }
+      if (hasLocation()) {
+        hash = (37 * hash) + LOCATION_FIELD_NUMBER;
+        hash = (53 * hash) + getLocation().hashCode();
+      }
+      if (getMessagesCount() > 0) {
+        hash = (37 * hash) + MESSAGES_FIELD_NUMBER;
+        hash = (53 * hash) + getMessagesList().hashCode();
+      }
+      hash = (29 * hash) + getUnknownFields().hashCode();
+      memoizedHashCode = hash;
+      return hash;
+    }
+
+    public static org.opennms.netmgt.syslogd.model.SyslogMessageLogProtos.SyslogMessageLog parseFrom(
+        java.nio.ByteBuffer data)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      return PARSER.parseFrom(data);
+    }
+    public static org.opennms.netmgt.syslogd.model.SyslogMessageLogProtos.SyslogMessageLog parseFrom(
+        java.nio.ByteBuffer data,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      return PARSER.parseFrom(data, extensionRegistry);
+    }
+    public static org.opennms.netmgt.syslogd.model.SyslogMessageLogProtos.SyslogMessageLog parseFrom(
+        com.google.protobuf.ByteString data)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      return PARSER.parseFrom(data);
+    }
+    public static org.opennms.netmgt.syslogd.model.SyslogMessageLogProtos.SyslogMessageLog parseFrom(
+        com.google.protobuf.ByteString data,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      return PARSER.parseFrom(data, extensionRegistry);
+    }
+    public static org.opennms.netmgt.syslogd.model.SyslogMessageLogProtos.SyslogMessageLog parseFrom(byte[] data)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      return PARSER.parseFrom(data);
+    }
+    public static org.opennms.netmgt.syslogd.model.SyslogMessageLogProtos.SyslogMessageLog parseFrom(
+        byte[] data,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      return PARSER.parseFrom(data, extensionRegistry);
+    }
+    public static org.opennms.netmgt.syslogd.model.SyslogMessageLogProtos.SyslogMessageLog parseFrom(java.io.InputStream input)
+        throws java.io.IOException {
+      return com.google.protobuf.GeneratedMessageV3
+          .parseWithIOException(PARSER, input);
+    }
+    public static org.opennms.netmgt.syslogd.model.SyslogMessageLogProtos.SyslogMessageLog parseFrom(
+        java.io.InputStream input,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws java.io.IOException {
+      return com.google.protobuf.GeneratedMessageV3
+          .parseWithIOException(PARSER, input, extensionRegistry);
+    }
+    public static org.opennms.netmgt.syslogd.model.SyslogMessageLogProtos.SyslogMessageLog parseDelimitedFrom(java.io.InputStream input)
+        throws java.io.IOException {
+      return com.google.protobuf.GeneratedMessageV3
+          .parseDelimitedWithIOException(PARSER, input);
+    }
+    public static org.opennms.netmgt.syslogd.model.SyslogMessageLogProtos.SyslogMessageLog parseDelimitedFrom(
+        java.io.InputStream input,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws java.io.IOException {
+      return com.google.protobuf.GeneratedMessageV3
+          .parseDelimitedWithIOException(PARSER, input, extensionRegistry);
+    }
+    public static org.opennms.netmgt.syslogd.model.SyslogMessageLogProtos.SyslogMessageLog parseFrom(
+        com.google.protobuf.CodedInputStream input)
+        throws java.io.IOException {
+      return com.google.protobuf.GeneratedMessageV3
+          .parseWithIOException(PARSER, input);
+    }
+    public static org.opennms.netmgt.syslogd.model.SyslogMessageLogProtos.SyslogMessageLog parseFrom(
+        com.google.protobuf.CodedInputStream input,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws java.io.IOException {
+      return com.google.protobuf.GeneratedMessageV3
+          .parseWithIOException(PARSER, input, extensionRegistry);
+    }
+
+    @java.lang.Override
+    public Builder newBuilderForType() { return newBuilder(); }
+    public static Builder newBuilder() {
+      return DEFAULT_INSTANCE.toBuilder();
+    }
+    public static Builder newBuilder(org.opennms.netmgt.syslogd.model.SyslogMessageLogProtos.SyslogMessageLog prototype) {
+      return DEFAULT_INSTANCE.toBuilder().mergeFrom(prototype);
+    }
+    @java.lang.Override
+    public Builder toBuilder() {
+      return this == DEFAULT_INSTANCE
+          ? new Builder() : new Builder().mergeFrom(this);
+    }
+
+    @java.lang.Override
+    protected Builder newBuilderForType(
+        com.google.protobuf.GeneratedMessageV3.BuilderParent parent) {
+      Builder builder = new Builder(parent);
+      return builder;
+    }
+    /**
+     * Protobuf type {@code SyslogMessageLog}
+     */
+    public static final class Builder extends
+        com.google.protobuf.GeneratedMessageV3.Builder<Builder> implements
+        // @@protoc_insertion_point(builder_implements:SyslogMessageLog)
+        org.opennms.netmgt.syslogd.model.SyslogMessageLogProtos.SyslogMessageLogOrBuilder {
+      public static final com.google.protobuf.Descriptors.Descriptor
+          getDescriptor() {
+        return org.opennms.netmgt.syslogd.model.SyslogMessageLogProtos.internal_static_SyslogMessageLog_descriptor;
+      }
+
+      @java.lang.Override
+      protected com.google.protobuf.GeneratedMessageV3.FieldAccessorTable
+          internalGetFieldAccessorTable() {
+        return org.opennms.netmgt.syslogd.model.SyslogMessageLogProtos.internal_static_SyslogMessageLog_fieldAccessorTable
+            .ensureFieldAccessorsInitialized(
+                org.opennms.netmgt.syslogd.model.SyslogMessageLogProtos.SyslogMessageLog.class, org.opennms.netmgt.syslogd.model.SyslogMessageLogProtos.SyslogMessageLog.Builder.class);
+      }
+
+      // Construct using org.opennms.netmgt.syslogd.model.SyslogMessageLogProtos.SyslogMessageLog.newBuilder()
+      private Builder() {
+
+      }
+
+      private Builder(
+          com.google.protobuf.GeneratedMessageV3.BuilderParent parent) {
+        super(parent);
+
+      }
+      @java.lang.Override
+      public Builder clear() {
+        super.clear();
+        bitField0_ = 0;
+        sourceAddress_ = com.google.protobuf.ByteString.EMPTY;
+        sourcePort_ = 0;
+        systemId_ = "";
+        location_ = "";
+        if (messagesBuilder_ == null) {
+          messages_ = java.util.Collections.emptyList();
+        } else {
+          messages_ = null;
+          messagesBuilder_.clear();
+        }
+        bitField0_ = (bitField0_ & ~0x00000010);
+        return this;
+      }
+
+      @java.lang.Override
+      public com.google.protobuf.Descriptors.Descriptor
+          getDescriptorForType() {
+        return org.opennms.netmgt.syslogd.model.SyslogMessageLogProtos.internal_static_SyslogMessageLog_descriptor;
+      }
+
+      @java.lang.Override
+      public org.opennms.netmgt.syslogd.model.SyslogMessageLogProtos.SyslogMessageLog getDefaultInstanceForType() {
+        return org.opennms.netmgt.syslogd.model.SyslogMessageLogProtos.SyslogMessageLog.getDefaultInstance();
+      }
+
+      @java.lang.Override
+      public org.opennms.netmgt.syslogd.model.SyslogMessageLogProtos.SyslogMessageLog build() {
+        org.opennms.netmgt.syslogd.model.SyslogMessageLogProtos.SyslogMessageLog result = buildPartial();
+        if (!result.isInitialized()) {
+          throw newUninitializedMessageException(result);
+        }
+        return result;
+      }
+
+      @java.lang.Override
+      public org.opennms.netmgt.syslogd.model.SyslogMessageLogProtos.SyslogMessageLog buildPartial() {
+        org.opennms.netmgt.syslogd.model.SyslogMessageLogProtos.SyslogMessageLog result = new org.opennms.netmgt.syslogd.model.SyslogMessageLogProtos.SyslogMessageLog(this);
+        buildPartialRepeatedFields(result);
+        if (bitField0_ != 0) { buildPartial0(result); }
+        onBuilt();
+        return result;
+      }
+
+      private void buildPartialRepeatedFields(org.opennms.netmgt.syslogd.model.SyslogMessageLogProtos.SyslogMessageLog result) {
+        if (messagesBuilder_ == null) {
+          if (((bitField0_ & 0x00000010) != 0)) {
+            messages_ = java.util.Collections.unmodifiableList(messages_);
+            bitField0_ = (bitField0_ & ~0x00000010);
+          }
+          result.messages_ = messages_;
+        } else {
+          result.messages_ = messagesBuilder_.build();
+        }
+      }
+
+      private void buildPartial0(org.opennms.netmgt.syslogd.model.SyslogMessageLogProtos.SyslogMessageLog result) {
+        int from_bitField0_ = bitField0_;
+        int to_bitField0_ = 0;
+        if (((from_bitField0_ & 0x00000001) != 0)) {
+          result.sourceAddress_ = sourceAddress_;
+          to_bitField0_ |= 0x00000001;
+        }
+        if (((from_bitField0_ & 0x00000002) != 0)) {
+          result.sourcePort_ = sourcePort_;
+        }
+        if (((from_bitField0_ & 0x00000004) != 0)) {
+          result.systemId_ = systemId_;
+          to_bitField0_ |= 0x00000002;
+        }
+        if (((from_bitField0_ & 0x00000008) != 0)) {
+          result.location_ = location_;
+          to_bitField0_ |= 0x00000004;
+        }
+        result.bitField0_ |= to_bitField0_;
+      }
+
+      @java.lang.Override
+      public Builder mergeFrom(com.google.protobuf.Message other) {
+        if (other instanceof org.opennms.netmgt.syslogd.model.SyslogMessageLogProtos.SyslogMessageLog) {
+          return mergeFrom((org.opennms.netmgt.syslogd.model.SyslogMessageLogProtos.SyslogMessageLog)other);
+        } else {
+          super.mergeFrom(other);
+          return this;
+        }
+      }
+
+      public Builder mergeFrom(org.opennms.netmgt.syslogd.model.SyslogMessageLogProtos.SyslogMessageLog other) {
+        if (other == org.opennms.netmgt.syslogd.model.SyslogMessageLogProtos.SyslogMessageLog.getDefaultInstance()) return this;
+        if (other.hasSourceAddress()) {
+          setSourceAddress(other.getSourceAddress());
+        }
+        if (other.getSourcePort() != 0) {
+          setSourcePort(other.getSourcePort());
+        }
+        if (other.hasSystemId()) {
+          systemId_ = other.systemId_;
+          bitField0_ |= 0x00000004;
+          onChanged();
+        }
+        if (other.hasLocation()) {
+          location_ = other.location_;
+          bitField0_ |= 0x00000008;
+          onChanged();
+        }
+        if (messagesBuilder_ == null) {
+          if (!other.messages_.isEmpty()) {
+            if (messages_.isEmpty()) {
+              messages_ = other.messages_;
+              bitField0_ = (bitField0_ & ~0x00000010);
+            } else {
+              ensureMessagesIsMutable();
+              messages_.addAll(other.messages_);
+            }
+            onChanged();
+          }
+        } else {
+          if (!other.messages_.isEmpty()) {
+            if (messagesBuilder_.isEmpty()) {
+              messagesBuilder_.dispose();
+              messagesBuilder_ = null;
+              messages_ = other.messages_;
+              bitField0_ = (bitField0_ & ~0x00000010);
+              messagesBuilder_ = 
+                com.google.protobuf.GeneratedMessageV3.alwaysUseFieldBuilders ?
+                   getMessagesFieldBuilder() : null;
+            } else {
+              messagesBuilder_.addAllMessages(other.messages_);
+            }
+          }
+        }
+        this.mergeUnknownFields(other.getUnknownFields());
+        onChanged();
+        return this;
+      }
+
+      @java.lang.Override
+      public final boolean isInitialized() {
+        return true;
+      }
+
+      @java.lang.Override
+      public Builder mergeFrom(
+          com.google.protobuf.CodedInputStream input,
+          com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+          throws java.io.IOException {
+        if (extensionRegistry == null) {
+          throw new java.lang.NullPointerException();
+        }
+        try {
+          boolean done = false;
+          while (!done) {
+            int tag = input.readTag();
+            switch (tag) {
+              case 0:
+                done = true;
+                break;
+              case 10: {
+                sourceAddress_ = input.readBytes();
+                bitField0_ |= 0x00000001;
+                break;
+              } // case 10
+              case 16: {
+                sourcePort_ = input.readInt32();
+                bitField0_ |= 0x00000002;
+                break;
+              } // case 16
+              case 26: {
+                systemId_ = input.readStringRequireUtf8();
+                bitField0_ |= 0x00000004;
+                break;
+              } // case 26
+              case 34: {
+                location_ = input.readStringRequireUtf8();
+                bitField0_ |= 0x00000008;
+                break;
+              } // case 34
+              case 42: {
+                org.opennms.netmgt.syslogd.model.SyslogMessageLogProtos.SyslogMessage m =
+                    input.readMessage(
+                        org.opennms.netmgt.syslogd.model.SyslogMessageLogProtos.SyslogMessage.parser(),
+                        extensionRegistry);
+                if (messagesBuilder_ == null) {
+                  ensureMessagesIsMutable();
+                  messages_.add(m);
+                } else {
+                  messagesBuilder_.addMessage(m);
+                }
+                break;
+              } // case 42
+              default: {
+                if (!super.parseUnknownField(input, extensionRegistry, tag)) {
+                  done = true; // was an endgroup tag
+                }
+                break;
+              } // default:
+            } // switch (tag)
+          } // while (!done)
+        } catch (com.google.protobuf.InvalidProtocolBufferException e) {
+          throw e.unwrapIOException();
+        } finally {
+          onChanged();
+        } // finally
+        return this;
+      }
+      private int bitField0_;
+
+      private com.google.protobuf.ByteString sourceAddress_ = com.google.protobuf.ByteString.EMPTY;
+      /**
+       * <code>optional bytes source_address = 1;</code>
+       * @return Whether the sourceAddress field is set.
+       */
+      @java.lang.Override
+      public boolean hasSourceAddress() {
+        return ((bitField0_ & 0x00000001) != 0);
+      }
+      /**
+       * <code>optional bytes source_address = 1;</code>
+       * @return The sourceAddress.
+       */
+      @java.lang.Override
+      public com.google.protobuf.ByteString getSourceAddress() {
+        return sourceAddress_;
+      }
+      /**
+       * <code>optional bytes source_address = 1;</code>
+       * @param value The sourceAddress to set.
+       * @return This builder for chaining.
+       */
+      public Builder setSourceAddress(com.google.protobuf.ByteString value) {
+        if (value == null) { throw new NullPointerException(); }
+        sourceAddress_ = value;
+        bitField0_ |= 0x00000001;
+        onChanged();
+        return this;
+      }
+      /**
+       * <code>optional bytes source_address = 1;</code>
+       * @return This builder for chaining.
+       */
+      public Builder clearSourceAddress() {
+        bitField0_ = (bitField0_ & ~0x00000001);
+        sourceAddress_ = getDefaultInstance().getSourceAddress();
+        onChanged();
+        return this;
+      }
+
+      private int sourcePort_ ;
+      /**
+       * <code>int32 source_port = 2;</code>
+       * @return The sourcePort.
+       */
+      @java.lang.Override
+      public int getSourcePort() {
+        return sourcePort_;
+      }
+      /**
+       * <code>int32 source_port = 2;</code>
+       * @param value The sourcePort to set.
+       * @return This builder for chaining.
+       */
+      public Builder setSourcePort(int value) {
+
+        sourcePort_ = value;
+        bitField0_ |= 0x00000002;
+        onChanged();
+        return this;
+      }
+      /**
+       * <code>int32 source_port = 2;</code>
+       * @return This builder for chaining.
+       */
+      public Builder clearSourcePort() {
+        bitField0_ = (bitField0_ & ~0x00000002);
+        sourcePort_ = 0;
+        onChanged();
+        return this;
+      }
+
+      private java.lang.Object systemId_ = "";
+      /**
+       * <code>optional string system_id = 3;</code>
+       * @return Whether the systemId field is set.
+       */
+      public boolean hasSystemId() {
+        return ((bitField0_ & 0x00000004) != 0);
+      }
+      /**
+       * <code>optional string system_id = 3;</code>
+       * @return The systemId.
+       */
+      public java.lang.String getSystemId() {
+        java.lang.Object ref = systemId_;
+        if (!(ref instanceof java.lang.String)) {
+          com.google.protobuf.ByteString bs =
+              (com.google.protobuf.ByteString) ref;
+          java.lang.String s = bs.toStringUtf8();
+          systemId_ = s;
+          return s;
+        } else {
+          return (java.lang.String) ref;
+        }
+      }
+      /**
+       * <code>optional string system_id = 3;</code>
+       * @return The bytes for systemId.
+       */
+      public com.google.protobuf.ByteString
+          getSystemIdBytes() {
+        java.lang.Object ref = systemId_;
+        if (ref instanceof String) {
+          com.google.protobuf.ByteString b = 
+              com.google.protobuf.ByteString.copyFromUtf8(
+                  (java.lang.String) ref);
+          systemId_ = b;
+          return b;
+        } else {
+          return (com.google.protobuf.ByteString) ref;
+        }
+      }
+      /**
+       * <code>optional string system_id = 3;</code>
+       * @param value The systemId to set.
+       * @return This builder for chaining.
+       */
+      public Builder setSystemId(
+          java.lang.String value) {
+        if (value == null) { throw new NullPointerException(); }
+        systemId_ = value;
+        bitField0_ |= 0x00000004;
+        onChanged();
+        return this;
+      }
+      /**
+       * <code>optional string system_id = 3;</code>
+       * @return This builder for chaining.
+       */
+      public Builder clearSystemId() {
+        systemId_ = getDefaultInstance().getSystemId();
+        bitField0_ = (bitField0_ & ~0x00000004);
+        onChanged();
+        return this;
+      }
+      /**
+       * <code>optional string system_id = 3;</code>
+       * @param value The bytes for systemId to set.
+       * @return This builder for chaining.
+       */
+      public Builder setSystemIdBytes(
+          com.google.protobuf.ByteString value) {
+        if (value == null) { throw new NullPointerException(); }
+        checkByteStringIsUtf8(value);
+        systemId_ = value;
+        bitField0_ |= 0x00000004;
+        onChanged();
+        return this;
+      }
+
+      private java.lang.Object location_ = "";
+      /**
+       * <code>optional string location = 4;</code>
+       * @return Whether the location field is set.
+       */
+      public boolean hasLocation() {
+        return ((bitField0_ & 0x00000008) != 0);
+      }
+      /**
+       * <code>optional string location = 4;</code>
+       * @return The location.
+       */
+      public java.lang.String getLocation() {
+        java.lang.Object ref = location_;
+        if (!(ref instanceof java.lang.String)) {
+          com.google.protobuf.ByteString bs =
+              (com.google.protobuf.ByteString) ref;
+          java.lang.String s = bs.toStringUtf8();
+          location_ = s;
+          return s;
+        } else {
+          return (java.lang.String) ref;
+        }
+      }
+      /**
+       * <code>optional string location = 4;</code>
+       * @return The bytes for location.
+       */
+      public com.google.protobuf.ByteString
+          getLocationBytes() {
+        java.lang.Object ref = location_;
+        if (ref instanceof String) {
+          com.google.protobuf.ByteString b = 
+              com.google.protobuf.ByteString.copyFromUtf8(
+                  (java.lang.String) ref);
+          location_ = b;
+          return b;
+        } else {
+          return (com.google.protobuf.ByteString) ref;
+        }
+      }
+      /**
+       * <code>optional string location = 4;</code>
+       * @param value The location to set.
+       * @return This builder for chaining.
+       */
+      public Builder setLocation(
+          java.lang.String value) {
+        if (value == null) { throw new NullPointerException(); }
+        location_ = value;
+        bitField0_ |= 0x00000008;
+        onChanged();
+        return this;
+      }
+      /**
+       * <code>optional string location = 4;</code>
+       * @return This builder for chaining.
+       */
+      public Builder clearLocation() {
+        location_ = getDefaultInstance().getLocation();
+        bitField0_ = (bitField0_ & ~0x00000008);
+        onChanged();
+        return this;
+      }
+      /**
+       * <code>optional string location = 4;</code>
+       * @param value The bytes for location to set.
+       * @return This builder for chaining.
+       */
+      public Builder setLocationBytes(
+          com.google.protobuf.ByteString value) {
+        if (value == null) { throw new NullPointerException(); }
+        checkByteStringIsUtf8(value);
+        location_ = value;
+        bitField0_ |= 0x00000008;
+        onChanged();
+        return this;
+      }
+
+      private java.util.List<org.opennms.netmgt.syslogd.model.SyslogMessageLogProtos.SyslogMessage> messages_ =
+        java.util.Collections.emptyList();
+      private void ensureMessagesIsMutable() {
+        if (!((bitField0_ & 0x00000010) != 0)) {
+          messages_ = new java.util.ArrayList<org.opennms.netmgt.syslogd.model.SyslogMessageLogProtos.SyslogMessage>(messages_);
+          bitField0_ |= 0x00000010;
+         }
+      }
+
+      private com.google.protobuf.RepeatedFieldBuilderV3<
+          org.opennms.netmgt.syslogd.model.SyslogMessageLogProtos.SyslogMessage, org.opennms.netmgt.syslogd.model.SyslogMessageLogProtos.SyslogMessage.Builder, org.opennms.netmgt.syslogd.model.SyslogMessageLogProtos.SyslogMessageOrBuilder> messagesBuilder_;
+
+      /**
+       * <code>repeated .SyslogMessage messages = 5;</code>
+       */
+      public java.util.List<org.opennms.netmgt.syslogd.model.SyslogMessageLogProtos.SyslogMessage> getMessagesList() {
+        if (messagesBuilder_ == null) {
+          return java.util.Collections.unmodifiableList(messages_);
+        } else {
+          return messagesBuilder_.getMessageList();
+        }
+      }
+      /**
+       * <code>repeated .SyslogMessage messages = 5;</code>
+       */
+      public int getMessagesCount() {
+        if (messagesBuilder_ == null) {
+          return messages_.size();
+        } else {
+          return messagesBuilder_.getCount();
+        }
+      }
+      /**
+       * <code>repeated .SyslogMessage messages = 5;</code>
+       */
+      public org.opennms.netmgt.syslogd.model.SyslogMessageLogProtos.SyslogMessage getMessages(int index) {
+        if (messagesBuilder_ == null) {
+          return messages_.get(index);
+        } else {
+          return messagesBuilder_.getMessage(index);
+        }
+      }
+      /**
+       * <code>repeated .SyslogMessage messages = 5;</code>
+       */
+      public Builder setMessages(
+          int index, org.opennms.netmgt.syslogd.model.SyslogMessageLogProtos.SyslogMessage value) {
+        if (messagesBuilder_ == null) {
+          if (value == null) {
+            throw new NullPointerException();
+          }
+          ensureMessagesIsMutable();
+          messages_.set(index, value);
+          onChanged();
+        } else {
+          messagesBuilder_.setMessage(index, value);
+        }
+        return this;
+      }
+      /**
+       * <code>repeated .SyslogMessage messages = 5;</code>
+       */
+      public Builder setMessages(
+          int index, org.opennms.netmgt.syslogd.model.SyslogMessageLogProtos.SyslogMessage.Builder builderForValue) {
+        if (messagesBuilder_ == null) {
+          ensureMessagesIsMutable();
+          messages_.set(index, builderForValue.build());
+          onChanged();
+        } else {
+          messagesBuilder_.setMessage(index, builderForValue.build());
+        }
+        return this;
+      }
+      /**
+       * <code>repeated .SyslogMessage messages = 5;</code>
+       */
+      public Builder addMessages(org.opennms.netmgt.syslogd.model.SyslogMessageLogProtos.SyslogMessage value) {
+        if (messagesBuilder_ == null) {
+          if (value == null) {
+            throw new NullPointerException();
+          }
+          ensureMessagesIsMutable();
+          messages_.add(value);
+          onChanged();
+        } else {
+          messagesBuilder_.addMessage(value);
+        }
+        return this;
+      }
+      /**
+       * <code>repeated .SyslogMessage messages = 5;</code>
+       */
+      public Builder addMessages(
+          int index, org.opennms.netmgt.syslogd.model.SyslogMessageLogProtos.SyslogMessage value) {
+        if (messagesBuilder_ == null) {
+          if (value == null) {
+            throw new NullPointerException();
+          }
+          ensureMessagesIsMutable();
+          messages_.add(index, value);
+          onChanged();
+        } else {
+          messagesBuilder_.addMessage(index, value);
+        }
+        return this;
+      }
+      /**
+       * <code>repeated .SyslogMessage messages = 5;</code>
+       */
+      public Builder addMessages(
+          org.opennms.netmgt.syslogd.model.SyslogMessageLogProtos.SyslogMessage.Builder builderForValue) {
+        if (messagesBuilder_ == null) {
+          ensureMessagesIsMutable();
+          messages_.add(builderForValue.build());
+          onChanged();
+        } else {
+          messagesBuilder_.addMessage(builderForValue.build());
+        }
+        return this;
+      }
+      /**
+       * <code>repeated .SyslogMessage messages = 5;</code>
+       */
+      public Builder addMessages(
+          int index, org.opennms.netmgt.syslogd.model.SyslogMessageLogProtos.SyslogMessage.Builder builderForValue) {
+        if (messagesBuilder_ == null) {
+          ensureMessagesIsMutable();
+          messages_.add(index, builderForValue.build());
+          onChanged();
+        } else {
+          messagesBuilder_.addMessage(index, builderForValue.build());
+        }
+        return this;
+      }
+      /**
+       * <code>repeated .SyslogMessage messages = 5;</code>
+       */
+      public Builder addAllMessages(
+          java.lang.Iterable<? extends org.opennms.netmgt.syslogd.model.SyslogMessageLogProtos.SyslogMessage> values) {
+        if (messagesBuilder_ == null) {
+          ensureMessagesIsMutable();
+          com.google.protobuf.AbstractMessageLite.Builder.addAll(
+              values, messages_);
+          onChanged();
+        } else {
+          messagesBuilder_.addAllMessages(values);
+        }
+        return this;
+      }
+      /**
+       * <code>repeated .SyslogMessage messages = 5;</code>
+       */
+      public Builder clearMessages() {
+        if (messagesBuilder_ == null) {
+          messages_ = java.util.Collections.emptyList();
+          bitField0_ = (bitField0_ & ~0x00000010);
+          onChanged();
+        } else {
+          messagesBuilder_.clear();
+        }
+        return this;
+      }
+      /**
+       * <code>repeated .SyslogMessage messages = 5;</code>
+       */
+      public Builder removeMessages(int index) {
+        if (messagesBuilder_ == null) {
+          ensureMessagesIsMutable();
+          messages_.remove(index);
+          onChanged();
+        } else {
+          messagesBuilder_.remove(index);
+        }
+        return this;
+      }
+      /**
+       * <code>repeated .SyslogMessage messages = 5;</code>
+       */
+      public org.opennms.netmgt.syslogd.model.SyslogMessageLogProtos.SyslogMessage.Builder getMessagesBuilder(
+          int index) {
+        return getMessagesFieldBuilder().getBuilder(index);
+      }
+      /**
+       * <code>repeated .SyslogMessage messages = 5;</code>
+       */
+      public org.opennms.netmgt.syslogd.model.SyslogMessageLogProtos.SyslogMessageOrBuilder getMessagesOrBuilder(
+          int index) {
+        if (messagesBuilder_ == null) {
+          return messages_.get(index);  } else {
+          return messagesBuilder_.getMessageOrBuilder(index);
+        }
+      }
+      /**
+       * <code>repeated .SyslogMessage messages = 5;</code>
+       */
+      public java.util.List<? extends org.opennms.netmgt.syslogd.model.SyslogMessageLogProtos.SyslogMessageOrBuilder> 
+           getMessagesOrBuilderList() {
+        if (messagesBuilder_ != null) {
+          return messagesBuilder_.getMessageOrBuilderList();
+        } else {
+          return java.util.Collections.unmodifiableList(messages_);
+        }
+      }
+      /**
+       * <code>repeated .SyslogMessage messages = 5;</code>
+       */
+      public org.opennms.netmgt.syslogd.model.SyslogMessageLogProtos.SyslogMessage.Builder addMessagesBuilder() {
+        return getMessagesFieldBuilder().addBuilder(
+            org.opennms.netmgt.syslogd.model.SyslogMessageLogProtos.SyslogMessage.getDefaultInstance());
+      }
+      /**
+       * <code>repeated .SyslogMessage messages = 5;</code>
+       */
+      public org.opennms.netmgt.syslogd.model.SyslogMessageLogProtos.SyslogMessage.Builder addMessagesBuilder(
+          int index) {
+        return getMessagesFieldBuilder().addBuilder(
+            index, org.opennms.netmgt.syslogd.model.SyslogMessageLogProtos.SyslogMessage.getDefaultInstance());
+      }
+      /**
+       * <code>repeated .SyslogMessage messages = 5;</code>
+       */
+      public java.util.List<org.opennms.netmgt.syslogd.model.SyslogMessageLogProtos.SyslogMessage.Builder> 
+           getMessagesBuilderList() {
+        return getMessagesFieldBuilder().getBuilderList();
+      }
+      private com.google.protobuf.RepeatedFieldBuilderV3<
+          org.opennms.netmgt.syslogd.model.SyslogMessageLogProtos.SyslogMessage, org.opennms.netmgt.syslogd.model.SyslogMessageLogProtos.SyslogMessage.Builder, org.opennms.netmgt.syslogd.model.SyslogMessageLogProtos.SyslogMessageOrBuilder> 
+          getMessagesFieldBuilder() {
+        if (messagesBuilder_ == null) {
+          messagesBuilder_ = new com.google.protobuf.RepeatedFieldBuilderV3<
+              org.opennms.netmgt.syslogd.model.SyslogMessageLogProtos.SyslogMessage, org.opennms.netmgt.syslogd.model.SyslogMessageLogProtos.SyslogMessage.Builder, org.opennms.netmgt.syslogd.model.SyslogMessageLogProtos.SyslogMessageOrBuilder>(
+                  messages_,
+                  ((bitField0_ & 0x00000010) != 0),
+                  getParentForChildren(),
+                  isClean());
+          messages_ = null;
+        }
+        return messagesBuilder_;
+      }
+      @java.lang.Override
+      public final Builder setUnknownFields(
+          final com.google.protobuf.UnknownFieldSet unknownFields) {
+        return super.setUnknownFields(unknownFields);
+      }
+
+      @java.lang.Override
+      public final Builder mergeUnknownFields(
+          final com.google.protobuf.UnknownFieldSet unknownFields) {
+        return super.mergeUnknownFields(unknownFields);
+      }
+
+
+      // @@protoc_insertion_point(builder_scope:SyslogMessageLog)
+    }
+
+    // @@protoc_insertion_point(class_scope:SyslogMessageLog)
+    private static final org.opennms.netmgt.syslogd.model.SyslogMessageLogProtos.SyslogMessageLog DEFAULT_INSTANCE;
+    static {
+      DEFAULT_INSTANCE = new org.opennms.netmgt.syslogd.model.SyslogMessageLogProtos.SyslogMessageLog();
+    }
+
+    public static org.opennms.netmgt.syslogd.model.SyslogMessageLogProtos.SyslogMessageLog getDefaultInstance() {
+      return DEFAULT_INSTANCE;
+    }
+
+    private static final com.google.protobuf.Parser<SyslogMessageLog>
+        PARSER = new com.google.protobuf.AbstractParser<SyslogMessageLog>() {
+      @java.lang.Override
+      public SyslogMessageLog parsePartialFrom(
+          com.google.protobuf.CodedInputStream input,
+          com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+          throws com.google.protobuf.InvalidProtocolBufferException {
+        Builder builder = newBuilder();
+        try {
+          builder.mergeFrom(input, extensionRegistry);
+        } catch (com.google.protobuf.InvalidProtocolBufferException e) {
+          throw e.setUnfinishedMessage(builder.buildPartial());
+        } catch (com.google.protobuf.UninitializedMessageException e) {
+          throw e.asInvalidProtocolBufferException().setUnfinishedMessage(builder.buildPartial());
+        } catch (java.io.IOException e) {
+          throw new com.google.protobuf.InvalidProtocolBufferException(e)
+              .setUnfinishedMessage(builder.buildPartial());
+        }
+        return builder.buildPartial();
+      }
+    };
+
+    public static com.google.protobuf.Parser<SyslogMessageLog> parser() {
+      return PARSER;
+    }
+
+    @java.lang.Override
+    public com.google.protobuf.Parser<SyslogMessageLog> getParserForType() {
+      return PARSER;
+    }
+
+    @java.lang.Override
+    public org.opennms.netmgt.syslogd.model.SyslogMessageLogProtos.SyslogMessageLog getDefaultInstanceForType() {
+      return DEFAULT_INSTANCE;
+    }
+
+  }
+
+  public interface SyslogMessageOrBuilder extends
+      // @@protoc_insertion_point(interface_extends:SyslogMessage)
+      com.google.protobuf.MessageOrBuilder {
+
+    /**
+     * <pre>
+     * Milliseconds since the epoch
+     * </pre>
+     *
+     * <code>optional int64 timestamp = 1;</code>
+     * @return Whether the timestamp field is set.
+     */
+    boolean hasTimestamp();
+    /**
+     * <pre>
+     * Milliseconds since the epoch
+     * </pre>
+     *
+     * <code>optional int64 timestamp = 1;</code>
+     * @return The timestamp.
+     */
+    long getTimestamp();
+
+    /**
+     * <code>optional bytes bytes = 2;</code>
+     * @return Whether the bytes field is set.
+     */
+    boolean hasBytes();
+    /**
+     * <code>optional bytes bytes = 2;</code>
+     * @return The bytes.
+     */
+    com.google.protobuf.ByteString getBytes();
+  }
+  /**
+   * Protobuf type {@code SyslogMessage}
+   */
+  public static final class SyslogMessage extends
+      com.google.protobuf.GeneratedMessageV3 implements
+      // @@protoc_insertion_point(message_implements:SyslogMessage)
+      SyslogMessageOrBuilder {
+  private static final long serialVersionUID = 0L;
+    // Use SyslogMessage.newBuilder() to construct.
+    private SyslogMessage(com.google.protobuf.GeneratedMessageV3.Builder<?> builder) {
+      super(builder);
+    }
+    private SyslogMessage() {
+      bytes_ = com.google.protobuf.ByteString.EMPTY;
+    }
+
+    @java.lang.Override
+    @SuppressWarnings({"unused"})
+    protected java.lang.Object newInstance(
+        UnusedPrivateParameter unused) {
+      return new SyslogMessage();
+    }
+
+    public static final com.google.protobuf.Descriptors.Descriptor
+        getDescriptor() {
+      return org.opennms.netmgt.syslogd.model.SyslogMessageLogProtos.internal_static_SyslogMessage_descriptor;
+    }
+
+    @java.lang.Override
+    protected com.google.protobuf.GeneratedMessageV3.FieldAccessorTable
+        internalGetFieldAccessorTable() {
+      return org.opennms.netmgt.syslogd.model.SyslogMessageLogProtos.internal_static_SyslogMessage_fieldAccessorTable
+          .ensureFieldAccessorsInitialized(
+              org.opennms.netmgt.syslogd.model.SyslogMessageLogProtos.SyslogMessage.class, org.opennms.netmgt.syslogd.model.SyslogMessageLogProtos.SyslogMessage.Builder.class);
+    }
+
+    private int bitField0_;
+    public static final int TIMESTAMP_FIELD_NUMBER = 1;
+    private long timestamp_ = 0L;
+    /**
+     * <pre>
+     * Milliseconds since the epoch
+     * </pre>
+     *
+     * <code>optional int64 timestamp = 1;</code>
+     * @return Whether the timestamp field is set.
+     */
+    @java.lang.Override
+    public boolean hasTimestamp() {
+      return ((bitField0_ & 0x00000001) != 0);
+    }
+    /**
+     * <pre>
+     * Milliseconds since the epoch
+     * </pre>
+     *
+     * <code>optional int64 timestamp = 1;</code>
+     * @return The timestamp.
+     */
+    @java.lang.Override
+    public long getTimestamp() {
+      return timestamp_;
+    }
+
+    public static final int BYTES_FIELD_NUMBER = 2;
+    private com.google.protobuf.ByteString bytes_ = com.google.protobuf.ByteString.EMPTY;
+    /**
+     * <code>optional bytes bytes = 2;</code>
+     * @return Whether the bytes field is set.
+     */
+    @java.lang.Override
+    public boolean hasBytes() {
+      return ((bitField0_ & 0x00000002) != 0);
+    }
+    /**
+     * <code>optional bytes bytes = 2;</code>
+     * @return The bytes.
+     */
+    @java.lang.Override
+    public com.google.protobuf.ByteString getBytes() {
+      return bytes_;
+    }
+
+    private byte memoizedIsInitialized = -1;
+    @java.lang.Override
+    public final boolean isInitialized() {
+      byte isInitialized = memoizedIsInitialized;
+      if (isInitialized == 1) return true;
+      if (isInitialized == 0) return false;
+
+      memoizedIsInitialized = 1;
+      return true;
+    }
+
+    @java.lang.Override
+    public void writeTo(com.google.protobuf.CodedOutputStream output)
+                        throws java.io.IOException {
+      if (((bitField0_ & 0x00000001) != 0)) {
+        output.writeInt64(1, timestamp_);
+      }
+      if (((bitField0_ & 0x00000002) != 0)) {
+        output.writeBytes(2, bytes_);
+      }
+      getUnknownFields().writeTo(output);
+    }
+
+    @java.lang.Override
+    public int getSerializedSize() {
+      int size = memoizedSize;
+      if (size != -1) return size;
+
+      size = 0;
+      if (((bitField0_ & 0x00000001) != 0)) {
+        size += com.google.protobuf.CodedOutputStream
+          .computeInt64Size(1, timestamp_);
+      }
+      if (((bitField0_ & 0x00000002) != 0)) {
+        size += com.google.protobuf.CodedOutputStream
+          .computeBytesSize(2, bytes_);
+      }
+      size += getUnknownFields().getSerializedSize();
+      memoizedSize = size;
+      return size;
+    }
+
+    @java.lang.Override
+    public boolean equals(final java.lang.Object obj) {
+      if (obj == this) {
+       return true;
+      }
+      if (!(obj instanceof org.opennms.netmgt.syslogd.model.SyslogMessageLogProtos.SyslogMessage)) {
+        return super.equals(obj);
+      }
+      org.opennms.netmgt.syslogd.model.SyslogMessageLogProtos.SyslogMessage other = (org.opennms.netmgt.syslogd.model.SyslogMessageLogProtos.SyslogMessage) obj;
+
+      if (hasTimestamp() != other.hasTimestamp()) return false;
+      if (hasTimestamp()) {
+        if (getTimestamp()
+            != other.getTimestamp()) return false;
+      }
+      if (hasBytes() != other.hasBytes()) return false;
+      if (hasBytes()) {
+        if (!getBytes()
+            .equals(other.getBytes())) return false;
+      }
+      if (!getUnknownFields().equals(other.getUnknownFields())) return false;
+      return true;
+    }
+
+    @java.lang.Override
+    public int hashCode() {
+      if (memoizedHashCode != 0) {
+        return memoizedHashCode;
+      }
+      int hash = 41;
+      hash = (19 * hash) + getDescriptor().hashCode();
+      if (hasTimestamp()) {
+        hash = (37 * hash) + TIMESTAMP_FIELD_NUMBER;
+        hash = (53 * hash) + com.google.protobuf.Internal.hashLong(
+            getTimestamp());
+      }
+      if (hasBytes()) {
+        hash = (37 * hash) + BYTES_FIELD_NUMBER;
+        hash = (53 * hash) + getBytes().hashCode();
+      }
+      hash = (29 * hash) + getUnknownFields().hashCode();
+      memoizedHashCode = hash;
+      return hash;
+    }
+
+    public static org.opennms.netmgt.syslogd.model.SyslogMessageLogProtos.SyslogMessage parseFrom(
+        java.nio.ByteBuffer data)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      return PARSER.parseFrom(data);
+    }
+    public static org.opennms.netmgt.syslogd.model.SyslogMessageLogProtos.SyslogMessage parseFrom(
+        java.nio.ByteBuffer data,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      return PARSER.parseFrom(data, extensionRegistry);
+    }
+    public static org.opennms.netmgt.syslogd.model.SyslogMessageLogProtos.SyslogMessage parseFrom(
+        com.google.protobuf.ByteString data)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      return PARSER.parseFrom(data);
+    }
+    public static org.opennms.netmgt.syslogd.model.SyslogMessageLogProtos.SyslogMessage parseFrom(
+        com.google.protobuf.ByteString data,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      return PARSER.parseFrom(data, extensionRegistry);
+    }
+    public static org.opennms.netmgt.syslogd.model.SyslogMessageLogProtos.SyslogMessage parseFrom(byte[] data)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      return PARSER.parseFrom(data);
+    }
+    public static org.opennms.netmgt.syslogd.model.SyslogMessageLogProtos.SyslogMessage parseFrom(
+        byte[] data,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      return PARSER.parseFrom(data, extensionRegistry);
+    }
+    public static org.opennms.netmgt.syslogd.model.SyslogMessageLogProtos.SyslogMessage parseFrom(java.io.InputStream input)
+        throws java.io.IOException {
+      return com.google.protobuf.GeneratedMessageV3
+          .parseWithIOException(PARSER, input);
+    }
+    public static org.opennms.netmgt.syslogd.model.SyslogMessageLogProtos.SyslogMessage parseFrom(
+        java.io.InputStream input,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws java.io.IOException {
+      return com.google.protobuf.GeneratedMessageV3
+          .parseWithIOException(PARSER, input, extensionRegistry);
+    }
+    public static org.opennms.netmgt.syslogd.model.SyslogMessageLogProtos.SyslogMessage parseDelimitedFrom(java.io.InputStream input)
+        throws java.io.IOException {
+      return com.google.protobuf.GeneratedMessageV3
+          .parseDelimitedWithIOException(PARSER, input);
+    }
+    public static org.opennms.netmgt.syslogd.model.SyslogMessageLogProtos.SyslogMessage parseDelimitedFrom(
+        java.io.InputStream input,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws java.io.IOException {
+      return com.google.protobuf.GeneratedMessageV3
+          .parseDelimitedWithIOException(PARSER, input, extensionRegistry);
+    }
+    public static org.opennms.netmgt.syslogd.model.SyslogMessageLogProtos.SyslogMessage parseFrom(
+        com.google.protobuf.CodedInputStream input)
+        throws java.io.IOException {
+      return com.google.protobuf.GeneratedMessageV3
+          .parseWithIOException(PARSER, input);
+    }
+    public static org.opennms.netmgt.syslogd.model.SyslogMessageLogProtos.SyslogMessage parseFrom(
+        com.google.protobuf.CodedInputStream input,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws java.io.IOException {
+      return com.google.protobuf.GeneratedMessageV3
+          .parseWithIOException(PARSER, input, extensionRegistry);
+    }
+
+    @java.lang.Override
+    public Builder newBuilderForType() { return newBuilder(); }
+    public static Builder newBuilder() {
+      return DEFAULT_INSTANCE.toBuilder();
+    }
+    public static Builder newBuilder(org.opennms.netmgt.syslogd.model.SyslogMessageLogProtos.SyslogMessage prototype) {
+      return DEFAULT_INSTANCE.toBuilder().mergeFrom(prototype);
+    }
+    @java.lang.Override
+    public Builder toBuilder() {
+      return this == DEFAULT_INSTANCE
+          ? new Builder() : new Builder().mergeFrom(this);
+    }
+
+    @java.lang.Override
+    protected Builder newBuilderForType(
+        com.google.protobuf.GeneratedMessageV3.BuilderParent parent) {
+      Builder builder = new Builder(parent);
+      return builder;
+    }
+    /**
+     * Protobuf type {@code SyslogMessage}
+     */
+    public static final class Builder extends
+        com.google.protobuf.GeneratedMessageV3.Builder<Builder> implements
+        // @@protoc_insertion_point(builder_implements:SyslogMessage)
+        org.opennms.netmgt.syslogd.model.SyslogMessageLogProtos.SyslogMessageOrBuilder {
+      public static final com.google.protobuf.Descriptors.Descriptor
+          getDescriptor() {
+        return org.opennms.netmgt.syslogd.model.SyslogMessageLogProtos.internal_static_SyslogMessage_descriptor;
+      }
+
+      @java.lang.Override
+      protected com.google.protobuf.GeneratedMessageV3.FieldAccessorTable
+          internalGetFieldAccessorTable() {
+        return org.opennms.netmgt.syslogd.model.SyslogMessageLogProtos.internal_static_SyslogMessage_fieldAccessorTable
+            .ensureFieldAccessorsInitialized(
+                org.opennms.netmgt.syslogd.model.SyslogMessageLogProtos.SyslogMessage.class, org.opennms.netmgt.syslogd.model.SyslogMessageLogProtos.SyslogMessage.Builder.class);
+      }
+
+      // Construct using org.opennms.netmgt.syslogd.model.SyslogMessageLogProtos.SyslogMessage.newBuilder()
+      private Builder() {
+
+      }
+
+      private Builder(
+          com.google.protobuf.GeneratedMessageV3.BuilderParent parent) {
+        super(parent);
+
+      }
+      @java.lang.Override
+      public Builder clear() {
+        super.clear();
+        bitField0_ = 0;
+        timestamp_ = 0L;
+        bytes_ = com.google.protobuf.ByteString.EMPTY;
+        return this;
+      }
+
+      @java.lang.Override
+      public com.google.protobuf.Descriptors.Descriptor
+          getDescriptorForType() {
+        return org.opennms.netmgt.syslogd.model.SyslogMessageLogProtos.internal_static_SyslogMessage_descriptor;
+      }
+
+      @java.lang.Override
+      public org.opennms.netmgt.syslogd.model.SyslogMessageLogProtos.SyslogMessage getDefaultInstanceForType() {
+        return org.opennms.netmgt.syslogd.model.SyslogMessageLogProtos.SyslogMessage.getDefaultInstance();
+      }
+
+      @java.lang.Override
+      public org.opennms.netmgt.syslogd.model.SyslogMessageLogProtos.SyslogMessage build() {
+        org.opennms.netmgt.syslogd.model.SyslogMessageLogProtos.SyslogMessage result = buildPartial();
+        if (!result.isInitialized()) {
+          throw newUninitializedMessageException(result);
+        }
+        return result;
+      }
+
+      @java.lang.Override
+      public org.opennms.netmgt.syslogd.model.SyslogMessageLogProtos.SyslogMessage buildPartial() {
+        org.opennms.netmgt.syslogd.model.SyslogMessageLogProtos.SyslogMessage result = new org.opennms.netmgt.syslogd.model.SyslogMessageLogProtos.SyslogMessage(this);
+        if (bitField0_ != 0) { buildPartial0(result); }
+        onBuilt();
+        return result;
+      }
+
+      private void buildPartial0(org.opennms.netmgt.syslogd.model.SyslogMessageLogProtos.SyslogMessage result) {
+        int from_bitField0_ = bitField0_;
+        int to_bitField0_ = 0;
+        if (((from_bitField0_ & 0x00000001) != 0)) {
+          result.timestamp_ = timestamp_;
+          to_bitField0_ |= 0x00000001;
+        }
+        if (((from_bitField0_ & 0x00000002) != 0)) {
+          result.bytes_ = bytes_;
+          to_bitField0_ |= 0x00000002;
+        }
+        result.bitField0_ |= to_bitField0_;
+      }
+
+      @java.lang.Override
+      public Builder mergeFrom(com.google.protobuf.Message other) {
+        if (other instanceof org.opennms.netmgt.syslogd.model.SyslogMessageLogProtos.SyslogMessage) {
+          return mergeFrom((org.opennms.netmgt.syslogd.model.SyslogMessageLogProtos.SyslogMessage)other);
+        } else {
+          super.mergeFrom(other);
+          return this;
+        }
+      }
+
+      public Builder mergeFrom(org.opennms.netmgt.syslogd.model.SyslogMessageLogProtos.SyslogMessage other) {
+        if (other == org.opennms.netmgt.syslogd.model.SyslogMessageLogProtos.SyslogMessage.getDefaultInstance()) return this;
+        if (other.hasTimestamp()) {
+          setTimestamp(other.getTimestamp());
+        }
+        if (other.hasBytes()) {
+          setBytes(other.getBytes());
+        }
+        this.mergeUnknownFields(other.getUnknownFields());
+        onChanged();
+        return this;
+      }
+
+      @java.lang.Override
+      public final boolean isInitialized() {
+        return true;
+      }
+
+      @java.lang.Override
+      public Builder mergeFrom(
+          com.google.protobuf.CodedInputStream input,
+          com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+          throws java.io.IOException {
+        if (extensionRegistry == null) {
+          throw new java.lang.NullPointerException();
+        }
+        try {
+          boolean done = false;
+          while (!done) {
+            int tag = input.readTag();
+            switch (tag) {
+              case 0:
+                done = true;
+                break;
+              case 8: {
+                timestamp_ = input.readInt64();
+                bitField0_ |= 0x00000001;
+                break;
+              } // case 8
+              case 18: {
+                bytes_ = input.readBytes();
+                bitField0_ |= 0x00000002;
+                break;
+              } // case 18
+              default: {
+                if (!super.parseUnknownField(input, extensionRegistry, tag)) {
+                  done = true; // was an endgroup tag
+                }
+                break;
+              } // default:
+            } // switch (tag)
+          } // while (!done)
+        } catch (com.google.protobuf.InvalidProtocolBufferException e) {
+          throw e.unwrapIOException();
+        } finally {
+          onChanged();
+        } // finally
+        return this;
+      }
+      private int bitField0_;
+
+      private long timestamp_ ;
+      /**
+       * <pre>
+       * Milliseconds since the epoch
+       * </pre>
+       *
+       * <code>optional int64 timestamp = 1;</code>
+       * @return Whether the timestamp field is set.
+       */
+      @java.lang.Override
+      public boolean hasTimestamp() {
+        return ((bitField0_ & 0x00000001) != 0);
+      }
+      /**
+       * <pre>
+       * Milliseconds since the epoch
+       * </pre>
+       *
+       * <code>optional int64 timestamp = 1;</code>
+       * @return The timestamp.
+       */
+      @java.lang.Override
+      public long getTimestamp() {
+        return timestamp_;
+      }
+      /**
+       * <pre>
+       * Milliseconds since the epoch
+       * </pre>
+       *
+       * <code>optional int64 timestamp = 1;</code>
+       * @param value The timestamp to set.
+       * @return This builder for chaining.
+       */
+      public Builder setTimestamp(long value) {
+
+        timestamp_ = value;
+        bitField0_ |= 0x00000001;
+        onChanged();
+        return this;
+      }
+      /**
+       * <pre>
+       * Milliseconds since the epoch
+       * </pre>
+       *
+       * <code>optional int64 timestamp = 1;</code>
+       * @return This builder for chaining.
+       */
+      public Builder clearTimestamp() {
+        bitField0_ = (bitField0_ & ~0x00000001);
+        timestamp_ = 0L;
+        onChanged();
+        return this;
+      }
+
+      private com.google.protobuf.ByteString bytes_ = com.google.protobuf.ByteString.EMPTY;
+      /**
+       * <code>optional bytes bytes = 2;</code>
+       * @return Whether the bytes field is set.
+       */
+      @java.lang.Override
+      public boolean hasBytes() {
+        return ((bitField0_ & 0x00000002) != 0);
+      }
+      /**
+       * <code>optional bytes bytes = 2;</code>
+       * @return The bytes.
+       */
+      @java.lang.Override
+      public com.google.protobuf.ByteString getBytes() {
+        return bytes_;
+      }
+      /**
+       * <code>optional bytes bytes = 2;</code>
+       * @param value The bytes to set.
+       * @return This builder for chaining.
+       */
+      public Builder setBytes(com.google.protobuf.ByteString value) {
+        if (value == null) { throw new NullPointerException(); }
+        bytes_ = value;
+        bitField0_ |= 0x00000002;
+        onChanged();
+        return this;
+      }
+      /**
+       * <code>optional bytes bytes = 2;</code>
+       * @return This builder for chaining.
+       */
+      public Builder clearBytes() {
+        bitField0_ = (bitField0_ & ~0x00000002);
+        bytes_ = getDefaultInstance().getBytes();
+        onChanged();
+        return this;
+      }
+      @java.lang.Override
+      public final Builder setUnknownFields(
+          final com.google.protobuf.UnknownFieldSet unknownFields) {
+        return super.setUnknownFields(unknownFields);
+      }
+
+      @java.lang.Override
+      public final Builder mergeUnknownFields(
+          final com.google.protobuf.UnknownFieldSet unknownFields) {
+        return super.mergeUnknownFields(unknownFields);
+      }
+
+
+      // @@protoc_insertion_point(builder_scope:SyslogMessage)
+    }
+
+    // @@protoc_insertion_point(class_scope:SyslogMessage)
+    private static final org.opennms.netmgt.syslogd.model.SyslogMessageLogProtos.SyslogMessage DEFAULT_INSTANCE;
+    static {
+      DEFAULT_INSTANCE = new org.opennms.netmgt.syslogd.model.SyslogMessageLogProtos.SyslogMessage();
+    }
+
+    public static org.opennms.netmgt.syslogd.model.SyslogMessageLogProtos.SyslogMessage getDefaultInstance() {
+      return DEFAULT_INSTANCE;
+    }
+
+    private static final com.google.protobuf.Parser<SyslogMessage>
+        PARSER = new com.google.protobuf.AbstractParser<SyslogMessage>() {
+      @java.lang.Override
+      public SyslogMessage parsePartialFrom(
+          com.google.protobuf.CodedInputStream input,
+          com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+          throws com.google.protobuf.InvalidProtocolBufferException {
+        Builder builder = newBuilder();
+        try {
+          builder.mergeFrom(input, extensionRegistry);
+        } catch (com.google.protobuf.InvalidProtocolBufferException e) {
+          throw e.setUnfinishedMessage(builder.buildPartial());
+        } catch (com.google.protobuf.UninitializedMessageException e) {
+          throw e.asInvalidProtocolBufferException().setUnfinishedMessage(builder.buildPartial());
+        } catch (java.io.IOException e) {
+          throw new com.google.protobuf.InvalidProtocolBufferException(e)
+              .setUnfinishedMessage(builder.buildPartial());
+        }
+        return builder.buildPartial();
+      }
+    };
+
+    public static com.google.protobuf.Parser<SyslogMessage> parser() {
+      return PARSER;
+    }
+
+    @java.lang.Override
+    public com.google.protobuf.Parser<SyslogMessage> getParserForType() {
+      return PARSER;
+    }
+
+    @java.lang.Override
+    public org.opennms.netmgt.syslogd.model.SyslogMessageLogProtos.SyslogMessage getDefaultInstanceForType() {
+      return DEFAULT_INSTANCE;
+    }
+
+  }
+
+  private static final com.google.protobuf.Descriptors.Descriptor
+    internal_static_SyslogMessageLog_descriptor;
+  private static final 
+    com.google.protobuf.GeneratedMessageV3.FieldAccessorTable
+      internal_static_SyslogMessageLog_fieldAccessorTable;
+  private static final com.google.protobuf.Descriptors.Descriptor
+    internal_static_SyslogMessage_descriptor;
+  private static final 
+    com.google.protobuf.GeneratedMessageV3.FieldAccessorTable
+      internal_static_SyslogMessage_fieldAccessorTable;
+
+  public static com.google.protobuf.Descriptors.FileDescriptor
+      getDescriptor() {
+    return descriptor;
+  }
+  private static  com.google.protobuf.Descriptors.FileDescriptor
+      descriptor;
+  static {
+    java.lang.String[] descriptorData = {
+      "\n\030syslog-message-log.proto\"\303\001\n\020SyslogMes" +
+      "sageLog\022\033\n\016source_address\030\001 \001(\014H\000\210\001\001\022\023\n\013" +
+      "source_port\030\002 \001(\005\022\026\n\tsystem_id\030\003 \001(\tH\001\210\001" +
+      "\001\022\025\n\010location\030\004 \001(\tH\002\210\001\001\022 \n\010messages\030\005 \003" +
+      "(\0132\016.SyslogMessageB\021\n\017_source_addressB\014\n" +
+      "\n_system_idB\013\n\t_location\"S\n\rSyslogMessag" +
+      "e\022\026\n\ttimestamp\030\001 \001(\003H\000\210\001\001\022\022\n\005bytes\030\002 \001(\014" +
+      "H\001\210\001\001B\014\n\n_timestampB\010\n\006_bytesB:\n org.ope" +
+      "nnms.netmgt.syslogd.modelB\026SyslogMessage" +
+      "LogProtosb\006proto3"
+    };
+    descriptor = com.google.protobuf.Descriptors.FileDescriptor
+      .internalBuildGeneratedFileFrom(descriptorData,
+        new com.google.protobuf.Descriptors.FileDescriptor[] {
+        });
+    internal_static_SyslogMessageLog_descriptor =
+      getDescriptor().getMessageTypes().get(0);
+    internal_static_SyslogMessageLog_fieldAccessorTable = new
+      com.google.protobuf.GeneratedMessageV3.FieldAccessorTable(
+        internal_static_SyslogMessageLog_descriptor,
+        new java.lang.String[] { "SourceAddress", "SourcePort", "SystemId", "Location", "Messages", "SourceAddress", "SystemId", "Location", });
+    internal_static_SyslogMessage_descriptor =
+      getDescriptor().getMessageTypes().get(1);
+    internal_static_SyslogMessage_fieldAccessorTable = new
+      com.google.protobuf.GeneratedMessageV3.FieldAccessorTable(
+        internal_static_SyslogMessage_descriptor,
+        new java.lang.String[] { "Timestamp", "Bytes", "Timestamp", "Bytes", });
+  }
+
+  // @@protoc_insertion_point(outer_class_scope)
+}
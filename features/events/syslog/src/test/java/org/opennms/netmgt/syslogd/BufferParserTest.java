@@ -31,6 +31,7 @@ import java.nio.charset.StandardCharsets;
 import java.util.List;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
+import java.util.function.BiConsumer;
 import org.junit.Test;
 import org.mockito.Mockito;
 import org.opennms.core.test.ConfigurationTestUtils;
@@ -394,6 +395,37 @@ public class BufferParserTest {
 		assertNull("No pattern should match", root.join());
 	}
 
+	/**
+	 * Make sure that the values written by a branch that fails to parse the
+	 * message are not visible to the branches that are tried after it.
+	 */
+	@Test
+	public void testRadixTreeBranchesAreIsolated() {
+		final BiConsumer<ParserState,String> processName = (s, v) -> s.message.setProcessName(v);
+		final BiConsumer<ParserState,String> hostName = (s, v) -> s.message.setHostName(v);
+		final BiConsumer<ParserState,String> message = (s, v) -> s.message.setMessage(v);
+
+		final RadixTreeParser treeParser = new RadixTreeParser();
+		treeParser.teach(new ParserStageSequenceBuilder()
+			.stringUntilChar(':', processName)
+			.character(':')
+			.stringUntilChar(' ', hostName)
+			.character('!')
+			.getStages().toArray(new ParserStage[0]));
+		treeParser.teach(new ParserStageSequenceBuilder()
+			.stringUntilChar(':', processName)
+			.character(':')
+			.terminal().string(message)
+			.getStages().toArray(new ParserStage[0]));
+		treeParser.performEdgeCompression();
+
+		final SyslogMessage parsed = treeParser.parse(ByteBuffer.wrap("sshd:host rest".getBytes(StandardCharsets.US_ASCII))).join();
+		assertNotNull(parsed);
+		assertEquals("sshd", parsed.getProcessName());
+		assertEquals("host rest", parsed.getMessage());
+		assertNull(parsed.getHostName());
+	}
+
 	@Test
 	public void testGrokRadixTree() {
 		RadixTreeParser radixParser = new RadixTreeParser();
@@ -0,0 +1,193 @@
+/*
+ * Licensed to The OpenNMS Group, Inc (TOG) under one or more
+ * contributor license agreements.  See the LICENSE.md file
+ * distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * TOG licenses this file to You under the GNU Affero General
+ * Public License Version 3 (the "License") or (at your option)
+ * any later version.  You may not use this file except in
+ * compliance with the License.  You may obtain a copy of the
+ * License at:
+ *
+ *      https://www.gnu.org/licenses/agpl-3.0.txt
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied.  See the License for the specific
+ * language governing permissions and limitations under the
+ * License.
+ */
+package org.opennms.netmgt.syslogd;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.Test;
+import org.opennms.netmgt.config.syslogd.HideMatch;
+import org.opennms.netmgt.config.syslogd.Match;
+import org.opennms.netmgt.config.syslogd.ParameterAssignment;
+import org.opennms.netmgt.config.syslogd.ProcessMatch;
+import org.opennms.netmgt.config.syslogd.UeiMatch;
+import org.opennms.netmgt.model.events.EventBuilder;
+import org.opennms.netmgt.xml.event.Event;
+
+public class SyslogMatchEngineTest {
+
+    private static final String DISCARD_UEI = "DISCARD-MATCHING-MESSAGES";
+
+    @Test
+    public void findsTheRequiredLiteral() {
+        assertEquals("foo bar", SyslogMatchEngine.requiredLiteral("^foo bar$"));
+        assertEquals(" failed password for ", SyslogMatchEngine.requiredLiteral("\\d+ failed password for (\\S+)"));
+        assertEquals("literal.here", SyslogMatchEngine.requiredLiteral("[abc]+literal\\.here"));
+        assertEquals("cd", SyslogMatchEngine.requiredLiteral("ab?cd"));
+        assertEquals("ab", SyslogMatchEngine.requiredLiteral("ab+cd"));
+        assertEquals("yz", SyslogMatchEngine.requiredLiteral("x(foo|bar)yz"));
+        assertNull(SyslogMatchEngine.requiredLiteral("foo|bar"));
+        assertNull(SyslogMatchEngine.requiredLiteral("(?i)hello"));
+        assertNull(SyslogMatchEngine.requiredLiteral("\\Qhello\\E"));
+        assertNull(SyslogMatchEngine.requiredLiteral("^.*$"));
+    }
+
+    @Test
+    public void findsAllPatterns() {
+        final AhoCorasick ahoCorasick = new AhoCorasick(Arrays.asList("he", "she", "his", "hers", "ers"));
+        final BitSet found = new BitSet();
+        ahoCorasick.find("ushers", found);
+        assertEquals("{0, 1, 3, 4}", found.toString());
+        assertTrue(ahoCorasick.containsAny("this"));
+        assertFalse(ahoCorasick.containsAny("hex"));
+    }
+
+    @Test
+    public void appliesTheFirstMatchingEntry() throws MessageDiscardedException {
+        final UeiMatch errorsOnly = ueiMatch("uei.opennms.org/test/error", "substr", "link down");
+        errorsOnly.addSeverity("Error");
+        final UeiMatch otherProcess = ueiMatch("uei.opennms.org/test/otherProcess", "regex", "link (\\w+) on (\\S+)");
+        otherProcess.setProcessMatch(processMatch("^ntpd$"));
+        final UeiMatch regex = ueiMatch("uei.opennms.org/test/regex", "regex", "link (\\w+) on (\\S+)");
+        final ParameterAssignment assignment = new ParameterAssignment();
+        assignment.setMatchingGroup(2);
+        assignment.setParameterName("interface");
+        regex.addParameterAssignment(assignment);
+        final UeiMatch substring = ueiMatch("uei.opennms.org/test/substring", "substr", "link");
+
+        final SyslogMatchEngine engine = new SyslogMatchEngine(Arrays.asList(errorsOnly, otherProcess, regex, substring), Collections.emptyList());
+
+        Event event = apply(engine, message(SyslogSeverity.WARNING, "kernel", "link down on eth0"));
+        assertEquals("uei.opennms.org/test/regex", event.getUei());
+        assertEquals("eth0", event.getParm("interface").getValue().getContent());
+
+        event = apply(engine, message(SyslogSeverity.ERROR, "kernel", "link down on eth0"));
+        assertEquals("uei.opennms.org/test/error", event.getUei());
+
+        event = apply(engine, message(SyslogSeverity.WARNING, "ntpd", "link down on eth0"));
+        assertEquals("uei.opennms.org/test/otherProcess", event.getUei());
+
+        event = apply(engine, message(SyslogSeverity.WARNING, "kernel", "link flapping"));
+        assertEquals("uei.opennms.org/test/substring", event.getUei());
+
+        event = apply(engine, message(SyslogSeverity.WARNING, "kernel", "carrier lost"));
+        assertEquals("uei.opennms.org/syslogd/user/Warning", event.getUei());
+    }
+
+    @Test(expected = MessageDiscardedException.class)
+    public void discardsMessages() throws MessageDiscardedException {
+        final SyslogMatchEngine engine = new SyslogMatchEngine(Arrays.asList(
+                ueiMatch(DISCARD_UEI, "regex", "^debug: "),
+                ueiMatch("uei.opennms.org/test/any", "regex", ".*")), Collections.emptyList());
+        apply(engine, message(SyslogSeverity.DEBUG, "kernel", "debug: some noise"));
+    }
+
+    @Test
+    public void ignoresInvalidExpressions() throws MessageDiscardedException {
+        final UeiMatch invalidProcess = ueiMatch("uei.opennms.org/test/invalidProcess", "substr", "link");
+        invalidProcess.setProcessMatch(processMatch("(kernel"));
+        final SyslogMatchEngine engine = new SyslogMatchEngine(Arrays.asList(
+                ueiMatch("uei.opennms.org/test/invalid", "regex", "link ("),
+                invalidProcess,
+                ueiMatch("uei.opennms.org/test/valid", "substr", "link")), Collections.emptyList());
+
+        assertEquals("uei.opennms.org/test/valid", apply(engine, message(SyslogSeverity.WARNING, "kernel", "link down")).getUei());
+    }
+
+    @Test
+    public void hidesMessages() {
+        final List<HideMatch> hideMatches = new ArrayList<>();
+        hideMatches.add(hideMatch("substr", "password"));
+        hideMatches.add(hideMatch("regex", "secret=\\S+"));
+        final SyslogMatchEngine engine = new SyslogMatchEngine(Collections.emptyList(), hideMatches);
+
+        assertTrue(engine.hasHideMatches());
+        assertTrue(engine.shouldHide("Mar 22 14:24:49 host sshd: invalid password for root"));
+        assertTrue(engine.shouldHide("Mar 22 14:24:49 host app: secret=1234"));
+        assertFalse(engine.shouldHide("Mar 22 14:24:49 host app: secret= 1234"));
+        assertFalse(new SyslogMatchEngine(Collections.emptyList(), Collections.emptyList()).hasHideMatches());
+    }
+
+    @Test
+    public void compilesOncePerConfiguration() {
+        final SyslogConfigBean config = new SyslogConfigBean();
+        config.setUeiList(Collections.singletonList(ueiMatch("uei.opennms.org/test/substring", "substr", "link")));
+        final SyslogMatchEngine engine = SyslogMatchEngine.forConfig(config);
+        assertSame(engine, SyslogMatchEngine.forConfig(config));
+
+        // Reloading the configuration creates new lists
+        config.setUeiList(Collections.singletonList(ueiMatch("uei.opennms.org/test/substring", "substr", "link")));
+        assertTrue(engine != SyslogMatchEngine.forConfig(config));
+    }
+
+    private static Event apply(final SyslogMatchEngine engine, final SyslogMessage message) throws MessageDiscardedException {
+        final EventBuilder bldr = new EventBuilder("uei.opennms.org/syslogd/" + message.getFacility() + "/" + message.getSeverity(), "syslogd");
+        engine.applyUeiMatches(message, bldr, DISCARD_UEI);
+        return bldr.getEvent();
+    }
+
+    private static SyslogMessage message(final SyslogSeverity severity, final String processName, final String text) {
+        final SyslogMessage message = new SyslogMessage();
+        message.setFacility(SyslogFacility.USER);
+        message.setSeverity(severity);
+        message.setHostName("localhost");
+        message.setProcessName(processName);
+        message.setMessage(text);
+        return message;
+    }
+
+    private static UeiMatch ueiMatch(final String uei, final String type, final String expression) {
+        final UeiMatch ueiMatch = new UeiMatch();
+        ueiMatch.setUei(uei);
+        ueiMatch.setMatch(match(type, expression));
+        return ueiMatch;
+    }
+
+    private static HideMatch hideMatch(final String type, final String expression) {
+        final HideMatch hideMatch = new HideMatch();
+        hideMatch.setMatch(match(type, expression));
+        return hideMatch;
+    }
+
+    private static Match match(final String type, final String expression) {
+        final Match match = new Match();
+        match.setType(type);
+        match.setExpression(expression);
+        match.setDefaultParameterMapping(true);
+        return match;
+    }
+
+    private static ProcessMatch processMatch(final String expression) {
+        final ProcessMatch processMatch = new ProcessMatch();
+        processMatch.setExpression(expression);
+        return processMatch;
+    }
+}
@@ -0,0 +1,100 @@
+/*
+ * Licensed to The OpenNMS Group, Inc (TOG) under one or more
+ * contributor license agreements.  See the LICENSE.md file
+ * distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * TOG licenses this file to You under the GNU Affero General
+ * Public License Version 3 (the "License") or (at your option)
+ * any later version.  You may not use this file except in
+ * compliance with the License.  You may obtain a copy of the
+ * License at:
+ *
+ *      https://www.gnu.org/licenses/agpl-3.0.txt
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied.  See the License for the specific
+ * language governing permissions and limitations under the
+ * License.
+ */
+package org.opennms.netmgt.syslogd;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import java.io.ByteArrayOutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+
+import org.junit.Test;
+import org.opennms.netmgt.syslogd.api.SyslogMessageDTO;
+import org.opennms.netmgt.syslogd.api.SyslogMessageLogDTO;
+
+import com.google.protobuf.CodedOutputStream;
+
+public class SyslogMessageLogCodecTest {
+
+    private final SyslogMessageLogCodec codec = new SyslogMessageLogCodec();
+
+    @Test
+    public void canEncodeAndDecode() throws Exception {
+        final SyslogMessageLogDTO log = new SyslogMessageLogDTO("Default", "00000000-0000-0000-0000-000000000000",
+                new InetSocketAddress(InetAddress.getByName("2001:db8::1"), 1514));
+        final SyslogMessageDTO message = new SyslogMessageDTO(ByteBuffer.wrap(
+                "<34>Oct 11 22:14:15 mymachine su: 'su root' failed for lonvick on /dev/pts/8".getBytes(StandardCharsets.US_ASCII)));
+        log.getMessages().add(message);
+        final SyslogMessageDTO empty = new SyslogMessageDTO();
+        log.getMessages().add(empty);
+
+        final byte[] bytes = encode(log);
+        final SyslogMessageLogDTO decoded = codec.decode(bytes, 0, bytes.length);
+        assertEquals(log, decoded);
+        assertNull(decoded.getMessages().get(1).getTimestamp());
+        assertNull(decoded.getMessages().get(1).getBytes());
+    }
+
+    @Test
+    public void encodesTheCompleteBuffer() throws Exception {
+        final SyslogMessageLogDTO log = new SyslogMessageLogDTO("Default", "id",
+                new InetSocketAddress(InetAddress.getLoopbackAddress(), 514));
+        final ByteBuffer buffer = ByteBuffer.wrap(new byte[] { 1, 2, 3, 4 });
+        buffer.position(2);
+        log.getMessages().add(new SyslogMessageDTO(buffer));
+
+        final byte[] bytes = encode(log);
+        final SyslogMessageLogDTO decoded = codec.decode(bytes, 0, bytes.length);
+        assertEquals(ByteBuffer.wrap(new byte[] { 1, 2, 3, 4 }), decoded.getMessages().get(0).getBytes());
+        assertEquals(2, buffer.position());
+    }
+
+    @Test
+    public void skipsUnknownFields() throws Exception {
+        final SyslogMessageLogDTO log = new SyslogMessageLogDTO("Default", "id",
+                new InetSocketAddress(InetAddress.getLoopbackAddress(), 514));
+        final SyslogMessageDTO message = new SyslogMessageDTO(ByteBuffer.wrap(new byte[] { 1 }));
+        message.setTimestamp(new Date(1000));
+        log.getMessages().add(message);
+
+        // Fields added by newer versions must be ignored
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        codec.encode(log, out);
+        final CodedOutputStream cos = CodedOutputStream.newInstance(out);
+        cos.writeString(99, "from the future");
+        cos.writeInt64(100, 42L);
+        cos.flush();
+
+        final byte[] bytes = out.toByteArray();
+        assertEquals(log, codec.decode(bytes, 0, bytes.length));
+    }
+
+    private byte[] encode(SyslogMessageLogDTO log) throws Exception {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        codec.encode(log, out);
+        return out.toByteArray();
+    }
+}
@@ -0,0 +1,194 @@
+/*
+ * Licensed to The OpenNMS Group, Inc (TOG) under one or more
+ * contributor license agreements.  See the LICENSE.md file
+ * distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * TOG licenses this file to You under the GNU Affero General
+ * Public License Version 3 (the "License") or (at your option)
+ * any later version.  You may not use this file except in
+ * compliance with the License.  You may obtain a copy of the
+ * License at:
+ *
+ *      https://www.gnu.org/licenses/agpl-3.0.txt
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied.  See the License for the specific
+ * language governing permissions and limitations under the
+ * License.
+ */
+package org.opennms.netmgt.trapd;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+
+import org.opennms.core.xml.BinaryCodec;
+import org.opennms.netmgt.snmp.SnmpInstId;
+import org.opennms.netmgt.snmp.SnmpObjId;
+import org.opennms.netmgt.snmp.SnmpResult;
+import org.opennms.netmgt.snmp.SnmpUtils;
+import org.opennms.netmgt.snmp.SnmpValue;
+import org.opennms.netmgt.trapd.model.TrapLogProtos;
+
+import com.google.protobuf.ByteString;
+
+/**
+ * Encodes {@link TrapLogDTO}s with the protobuf messages generated from <code>trap-log.proto</code>.
+ * <p>
+ * Fields which are <code>null</code> are omitted and unknown fields are skipped, so fields can be
+ * added to the schema without breaking older peers.
+ */
+public class TrapLogCodec implements BinaryCodec<TrapLogDTO> {
+
+    @Override
+    public void encode(TrapLogDTO log, OutputStream out) throws IOException {
+        final TrapLogProtos.TrapLog.Builder builder = TrapLogProtos.TrapLog.newBuilder();
+        if (log.getSystemId() != null) {
+            builder.setSystemId(log.getSystemId());
+        }
+        if (log.getLocation() != null) {
+            builder.setLocation(log.getLocation());
+        }
+        if (log.getTrapAddress() != null) {
+            builder.setTrapAddress(toBytes(log.getTrapAddress()));
+        }
+        for (TrapDTO trap : log.getMessages()) {
+            builder.addMessages(toProto(trap));
+        }
+        builder.build().writeTo(out);
+    }
+
+    @Override
+    public TrapLogDTO decode(byte[] bytes, int offset, int length) throws IOException {
+        final TrapLogProtos.TrapLog message = TrapLogProtos.TrapLog.parser().parseFrom(bytes, offset, length);
+        final TrapLogDTO log = new TrapLogDTO();
+        if (message.hasSystemId()) {
+            log.setSystemId(message.getSystemId());
+        }
+        if (message.hasLocation()) {
+            log.setLocation(message.getLocation());
+        }
+        if (message.hasTrapAddress()) {
+            log.setTrapAddress(toAddress(message.getTrapAddress()));
+        }
+        for (TrapLogProtos.Trap trap : message.getMessagesList()) {
+            log.addMessage(fromProto(trap));
+        }
+        return log;
+    }
+
+    private static TrapLogProtos.Trap toProto(TrapDTO trap) {
+        final TrapLogProtos.Trap.Builder builder = TrapLogProtos.Trap.newBuilder()
+                .setTimestamp(trap.getTimestamp())
+                .setPduLength(trap.getPduLength())
+                .setCreationTime(trap.getCreationTime());
+        if (trap.getAgentAddress() != null) {
+            builder.setAgentAddress(toBytes(trap.getAgentAddress()));
+        }
+        if (trap.getCommunity() != null) {
+            builder.setCommunity(trap.getCommunity());
+        }
+        if (trap.getVersion() != null) {
+            builder.setVersion(trap.getVersion());
+        }
+        if (trap.getRawMessage() != null) {
+            builder.setRawMessage(ByteString.copyFrom(trap.getRawMessage()));
+        }
+        final TrapIdentityDTO identity = trap.getTrapIdentity();
+        if (identity != null) {
+            final TrapLogProtos.TrapIdentity.Builder identityBuilder = builder.getTrapIdentityBuilder()
+                    .setGeneric(identity.getGeneric())
+                    .setSpecific(identity.getSpecific());
+            if (identity.getEnterpriseId() != null) {
+                identityBuilder.setEnterpriseId(identity.getEnterpriseId());
+            }
+            if (identity.getTrapOID() != null) {
+                identityBuilder.setTrapOid(identity.getTrapOID());
+            }
+        }
+        for (SnmpResult result : trap.getResults()) {
+            final TrapLogProtos.SnmpResult.Builder resultBuilder = builder.addResultsBuilder();
+            if (result.getBase() != null) {
+                resultBuilder.setBase(toOid(result.getBase().getIds()));
+            }
+            if (result.getInstance() != null) {
+                resultBuilder.setInstance(toOid(result.getInstance().getIds()));
+            }
+            final SnmpValue value = result.getValue();
+            if (value != null) {
+                resultBuilder.getValueBuilder()
+                        .setType(value.getType())
+                        .setBytes(ByteString.copyFrom(value.getBytes()));
+            }
+        }
+        return builder.build();
+    }
+
+    private static TrapDTO fromProto(TrapLogProtos.Trap message) throws IOException {
+        final TrapDTO trap = new TrapDTO();
+        if (message.hasAgentAddress()) {
+            trap.setAgentAddress(toAddress(message.getAgentAddress()));
+        }
+        if (message.hasCommunity()) {
+            trap.setCommunity(message.getCommunity());
+        }
+        if (message.hasVersion()) {
+            trap.setVersion(message.getVersion());
+        }
+        trap.setTimestamp(message.getTimestamp());
+        trap.setPduLength(message.getPduLength());
+        trap.setCreationTime(message.getCreationTime());
+        if (message.hasRawMessage()) {
+            trap.setRawMessage(message.getRawMessage().toByteArray());
+        }
+        if (message.hasTrapIdentity()) {
+            final TrapLogProtos.TrapIdentity identityMessage = message.getTrapIdentity();
+            final TrapIdentityDTO identity = new TrapIdentityDTO();
+            identity.setGeneric(identityMessage.getGeneric());
+            identity.setSpecific(identityMessage.getSpecific());
+            if (identityMessage.hasEnterpriseId()) {
+                identity.setEnterpriseId(identityMessage.getEnterpriseId());
+            }
+            if (identityMessage.hasTrapOid()) {
+                identity.setTrapOID(identityMessage.getTrapOid());
+            }
+            trap.setTrapIdentity(identity);
+        }
+        for (TrapLogProtos.SnmpResult result : message.getResultsList()) {
+            final SnmpObjId base = result.hasBase() ? SnmpObjId.get(toIds(result.getBase())) : null;
+            final SnmpInstId instance = result.hasInstance() ? new SnmpInstId(toIds(result.getInstance())) : null;
+            final SnmpValue value = result.hasValue()
+                    ? SnmpUtils.getValueFactory().getValue(result.getValue().getType(), result.getValue().getBytes().toByteArray())
+                    : null;
+            trap.getResults().add(new SnmpResult(base, instance, value));
+        }
+        return trap;
+    }
+
+    private static TrapLogProtos.Oid toOid(int[] ids) {
+        final TrapLogProtos.Oid.Builder builder = TrapLogProtos.Oid.newBuilder();
+        for (int id : ids) {
+            builder.addIds(id);
+        }
+        return builder.build();
+    }
+
+    private static int[] toIds(TrapLogProtos.Oid oid) {
+        final int[] ids = new int[oid.getIdsCount()];
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = oid.getIds(i);
+        }
+        return ids;
+    }
+
+    private static ByteString toBytes(InetAddress address) {
+        return ByteString.copyFrom(address.getAddress());
+    }
+
+    private static InetAddress toAddress(ByteString bytes) throws IOException {
+        return InetAddress.getByAddress(bytes.toByteArray());
+    }
+}
@@ -46,7 +46,7 @@ public class TrapSinkModule extends AbstractXmlSinkModule<TrapInformationWrapper
     private OnmsDistPoller distPoller;
 
     public TrapSinkModule(TrapdConfig trapdConfig, OnmsDistPoller distPoller) {
-        super(TrapLogDTO.class);
+        super(TrapLogDTO.class, new TrapLogCodec());
         this.config = Objects.requireNonNull(trapdConfig);
         this.distPoller = Objects.requireNonNull(distPoller);
     }
@@ -61,6 +61,11 @@ public class TrapSinkModule extends AbstractXmlSinkModule<TrapInformationWrapper
         return config.getNumThreads();
     }
 
+    @Override
+    protected String getFormat() {
+        return config.getSinkFormat();
+    }
+
     @Override
     public AggregationPolicy<TrapInformationWrapper, TrapLogDTO, TrapLogDTO> getAggregationPolicy() {
         return new AggregationPolicy<TrapInformationWrapper, TrapLogDTO, TrapLogDTO>() {
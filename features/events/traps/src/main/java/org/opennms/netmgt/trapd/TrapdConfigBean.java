@@ -53,6 +53,7 @@ public class TrapdConfigBean implements TrapdConfig, Serializable {
 	private int queueSize;
 	private int numThreads;
 	private boolean useAddressFromVarbind;
+	private String sinkFormat;
 
 	public TrapdConfigBean() {
 
@@ -147,6 +148,15 @@ public class TrapdConfigBean implements TrapdConfig, Serializable {
 		return batchIntervalInMs;
 	}
 
+	@Override
+	public String getSinkFormat() {
+		return sinkFormat;
+	}
+
+	public void setSinkFormat(String sinkFormat) {
+		this.sinkFormat = sinkFormat;
+	}
+
 	@Override
 	public void update(TrapdConfig config) {
 		setSnmpTrapAddress(config.getSnmpTrapAddress());
@@ -159,6 +169,9 @@ public class TrapdConfigBean implements TrapdConfig, Serializable {
 		setNumThreads(config.getNumThreads());
 		setUseAddressFromVarbind(config.shouldUseAddressFromVarbind());
 		setSnmpV3Users(config.getSnmpV3Users());
+		if (config.getSinkFormat() != null) {
+			setSinkFormat(config.getSinkFormat());
+		}
 	}
 
 	public void setBatchIntervalMs(int batchIntervalInMs) {
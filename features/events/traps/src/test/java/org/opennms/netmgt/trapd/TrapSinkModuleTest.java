@@ -21,13 +21,22 @@
  */
 package org.opennms.netmgt.trapd;
 
+import java.net.InetAddress;
+import java.nio.charset.StandardCharsets;
+
 import org.junit.Assert;
 import org.junit.Test;
 import org.mockito.Mockito;
 import org.opennms.core.ipc.sink.api.Message;
 import org.opennms.core.ipc.sink.api.SinkModule;
+import org.opennms.core.ipc.sink.xml.AbstractXmlSinkModule;
+import org.opennms.core.xml.XmlHandler;
 import org.opennms.netmgt.config.TrapdConfig;
 import org.opennms.netmgt.model.OnmsDistPoller;
+import org.opennms.netmgt.snmp.SnmpInstId;
+import org.opennms.netmgt.snmp.SnmpObjId;
+import org.opennms.netmgt.snmp.SnmpResult;
+import org.opennms.netmgt.snmp.SnmpUtils;
 
 public class TrapSinkModuleTest {
 
@@ -50,4 +59,64 @@ public class TrapSinkModuleTest {
         Assert.assertNotEquals(module, mockModule);
         Assert.assertNotEquals(module.hashCode(), mockModule.hashCode());
     }
+
+    @Test
+    public void canMarshalAndUnmarshalBinaryAndXml() throws Exception {
+        final TrapdConfigBean config = new TrapdConfigBean();
+        config.setSinkFormat(AbstractXmlSinkModule.FORMAT_BINARY);
+        final TrapSinkModule module = new TrapSinkModule(config, Mockito.mock(OnmsDistPoller.class));
+        final TrapLogDTO log = createTrapLog();
+
+        final byte[] binary = module.marshal(log);
+        Assert.assertEquals(0, binary[0]);
+        final TrapLogDTO decoded = module.unmarshal(binary);
+        Assert.assertArrayEquals(log.getMessages().get(0).getRawMessage(), decoded.getMessages().get(0).getRawMessage());
+        // Byte arrays are compared by reference
+        log.getMessages().get(0).setRawMessage(null);
+        decoded.getMessages().get(0).setRawMessage(null);
+        Assert.assertEquals(log, decoded);
+
+        // Messages from Minions which still send XML must be understood as well
+        final String xml = new XmlHandler<>(TrapLogDTO.class).marshal(log);
+        Assert.assertEquals(log, module.unmarshal(xml.getBytes(StandardCharsets.UTF_8)));
+        Assert.assertTrue(binary.length < xml.length());
+    }
+
+    @Test
+    public void marshalsXmlByDefault() throws Exception {
+        // Consumers which predate the binary encoding drop such messages, so it must be opt-in
+        final TrapSinkModule module = new TrapSinkModule(new TrapdConfigBean(), Mockito.mock(OnmsDistPoller.class));
+        final TrapLogDTO log = createTrapLog();
+        log.getMessages().get(0).setRawMessage(null);
+
+        final byte[] xml = module.marshal(log);
+        Assert.assertTrue(new String(xml, StandardCharsets.UTF_8).contains("<trap-message-log"));
+        Assert.assertEquals(log, module.unmarshal(xml));
+    }
+
+    private static TrapLogDTO createTrapLog() throws Exception {
+        final TrapIdentityDTO identity = new TrapIdentityDTO();
+        identity.setGeneric(6);
+        identity.setSpecific(1);
+        identity.setEnterpriseId(".1.3.6.1.4.1.5813");
+        identity.setTrapOID(".1.3.6.1.4.1.5813.0.1");
+
+        final TrapDTO trap = new TrapDTO();
+        trap.setAgentAddress(InetAddress.getByName("192.168.0.1"));
+        trap.setCommunity("public");
+        trap.setVersion("v2");
+        trap.setTimestamp(1234L);
+        trap.setPduLength(2);
+        trap.setCreationTime(System.currentTimeMillis());
+        trap.setRawMessage(new byte[] { 0x30, 0x26, 0x02, 0x01 });
+        trap.setTrapIdentity(identity);
+        trap.getResults().add(new SnmpResult(SnmpObjId.get(".1.3.6.1.2.1.1.3.0"), null,
+                SnmpUtils.getValueFactory().getTimeTicks(1234L)));
+        trap.getResults().add(new SnmpResult(SnmpObjId.get(".1.3.6.1.4.1.5813.20.1"), new SnmpInstId(new int[] { 1, 2 }),
+                SnmpUtils.getValueFactory().getOctetString("Ünicode".getBytes(StandardCharsets.UTF_8))));
+
+        final TrapLogDTO log = new TrapLogDTO("00000000-0000-0000-0000-000000000000", "Default", InetAddress.getByName("10.0.0.1"));
+        log.addMessage(trap);
+        return log;
+    }
 }
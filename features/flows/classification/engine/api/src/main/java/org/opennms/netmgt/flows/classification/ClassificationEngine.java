@@ -21,6 +21,7 @@
  */
 package org.opennms.netmgt.flows.classification;
 
+import java.util.ArrayList;
 import java.util.List;
 
 import org.opennms.netmgt.flows.classification.persistence.api.Rule;
@@ -32,6 +33,19 @@ public interface ClassificationEngine {
 
     String classify(ClassificationRequest classificationRequest);
 
+    /**
+     * Classifies all of the given requests at once.
+     *
+     * @return the application for each of the requests, in the same order, or null where no rule matched
+     */
+    default List<String> classify(List<ClassificationRequest> classificationRequests) {
+        final List<String> applications = new ArrayList<>(classificationRequests.size());
+        for (final ClassificationRequest classificationRequest : classificationRequests) {
+            applications.add(classify(classificationRequest));
+        }
+        return applications;
+    }
+
     List<Rule> getInvalidRules();
 
     void reload() throws InterruptedException;
@@ -123,6 +123,15 @@ public class AsyncReloadingClassificationEngine implements ClassificationEngine
         return delegate.classify(classificationRequest);
     }
 
+    @Override
+    public List<String> classify(List<ClassificationRequest> classificationRequests) {
+        // Only wait for ongoing reloads while holding the lock, so that batches can be classified concurrently
+        synchronized (this) {
+            waitUntilReadyOrFailed();
+        }
+        return delegate.classify(classificationRequests);
+    }
+
     @Override
     public synchronized List<Rule> getInvalidRules() {
         waitUntilReadyOrFailed();
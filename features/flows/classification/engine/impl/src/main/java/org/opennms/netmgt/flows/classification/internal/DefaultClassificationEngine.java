@@ -137,6 +137,17 @@ public class DefaultClassificationEngine implements ClassificationEngine {
         return treeAndInvalidRules.get().tree.classify(classificationRequest);
     }
 
+    @Override
+    public List<String> classify(List<ClassificationRequest> classificationRequests) {
+        // Use the same tree for the whole batch, even if the rules are reloaded meanwhile
+        final Tree tree = treeAndInvalidRules.get().tree;
+        final List<String> applications = new ArrayList<>(classificationRequests.size());
+        for (final ClassificationRequest classificationRequest : classificationRequests) {
+            applications.add(tree.classify(classificationRequest));
+        }
+        return applications;
+    }
+
     private static class TreeAndInvalidRules {
         private final Tree tree;
         private final List<Rule> invalidRules;
@@ -23,19 +23,23 @@ package org.opennms.netmgt.flows.processing.impl;
 
 import java.net.InetAddress;
 import java.time.Duration;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.concurrent.ExecutionException;
 import java.util.stream.Collectors;
-import java.util.stream.Stream;
+import java.util.stream.IntStream;
 
 import org.opennms.core.cache.Cache;
 import org.opennms.core.cache.CacheBuilder;
 import org.opennms.core.cache.CacheConfig;
 import org.opennms.core.cache.CacheConfigBuilder;
+import org.opennms.core.criteria.CriteriaBuilder;
 import org.opennms.core.mate.api.ContextKey;
 import org.opennms.core.utils.InetAddressUtils;
 import org.opennms.netmgt.dao.api.InterfaceToNodeCache;
@@ -59,12 +63,17 @@ import com.codahale.metrics.MetricRegistry;
 import com.codahale.metrics.Timer;
 import com.google.common.base.Strings;
 import com.google.common.cache.CacheLoader;
+import com.google.common.collect.Lists;
 
 public class DocumentEnricherImpl {
     private static final Logger LOG = LoggerFactory.getLogger(DocumentEnricherImpl.class);
 
     private static final String NODE_METADATA_CACHE = "flows.node.metadata";
 
+    private static final int DEFAULT_PARALLEL_THRESHOLD = 1000;
+
+    private static final int MAX_NODES_PER_QUERY = 1000;
+
     private final NodeDao nodeDao;
 
     private final IpInterfaceDao ipInterfaceDao;
@@ -83,6 +92,16 @@ public class DocumentEnricherImpl {
 
     private final Timer nodeLoadTimer;
 
+    private final Timer mangleTimer;
+
+    private final Timer nodeInfoTimer;
+
+    private final Timer flowTimer;
+
+    private final Timer classificationTimer;
+
+    private int parallelThreshold = DEFAULT_PARALLEL_THRESHOLD;
+
     private final long clockSkewCorrectionThreshold;
 
     private final DocumentMangler mangler;
@@ -122,6 +141,10 @@ public class DocumentEnricherImpl {
                }).build();
 
         this.nodeLoadTimer = metricRegistry.timer("nodeLoadTime");
+        this.mangleTimer = metricRegistry.timer(MetricRegistry.name("enrichment", "mangle"));
+        this.nodeInfoTimer = metricRegistry.timer(MetricRegistry.name("enrichment", "nodeInfo"));
+        this.flowTimer = metricRegistry.timer(MetricRegistry.name("enrichment", "flows"));
+        this.classificationTimer = metricRegistry.timer(MetricRegistry.name("enrichment", "classification"));
 
         this.clockSkewCorrectionThreshold = clockSkewCorrectionThreshold;
 
@@ -134,24 +157,155 @@ public class DocumentEnricherImpl {
             return Collections.emptyList();
         }
 
-        return sessionUtils.withTransaction(() -> flows.stream().flatMap(flow -> {
-            final EnrichedFlow document = this.mangler.mangle(EnrichedFlow.from(flow));
-            if (document == null) {
-                return Stream.empty();
+        return sessionUtils.withTransaction(() -> {
+            // Documents for the flows that survived the mangler, in order
+            final List<Flow> sources = new ArrayList<>(flows.size());
+            final List<EnrichedFlow> documents = new ArrayList<>(flows.size());
+            try (Timer.Context ctx = this.mangleTimer.time()) {
+                for (final Flow flow : flows) {
+                    final EnrichedFlow document = this.mangler.mangle(EnrichedFlow.from(flow));
+                    if (document == null) {
+                        continue;
+                    }
+
+                    // Metadata from message
+                    document.setHost(source.getSourceAddress());
+                    document.setLocation(source.getLocation());
+
+                    sources.add(flow);
+                    documents.add(document);
+                }
             }
 
-            // Metadata from message
-            document.setHost(source.getSourceAddress());
-            document.setLocation(source.getLocation());
+            // Node data, all of the lookups hit the database on this thread as part of the transaction
+            try (Timer.Context ctx = this.nodeInfoTimer.time()) {
+                enrichNodeInfo(sources, documents, source);
+            }
+
+            // Everything else only depends on the flow itself, so large batches are split across the common pool
+            try (Timer.Context ctx = this.flowTimer.time()) {
+                if (documents.size() > this.parallelThreshold) {
+                    final int numChunks = (documents.size() + this.parallelThreshold - 1) / this.parallelThreshold;
+                    IntStream.range(0, numChunks).parallel().forEach(chunk -> {
+                        final int from = chunk * this.parallelThreshold;
+                        final int to = Math.min(from + this.parallelThreshold, documents.size());
+                        enrichFlows(sources.subList(from, to), documents.subList(from, to));
+                    });
+                } else {
+                    enrichFlows(sources, documents);
+                }
+            }
+
+            return documents;
+        });
+    }
+
+    /**
+     * Sets the number of flows from which on batches are enriched in parallel. The
+     * batches are split in chunks of that size.
+     */
+    public void setParallelThreshold(final int parallelThreshold) {
+        if (parallelThreshold < 1) {
+            throw new IllegalArgumentException("parallelThreshold must be positive");
+        }
+        this.parallelThreshold = parallelThreshold;
+    }
 
-            // Node data
-            getNodeInfoFromCache(source.getLocation(), source.getSourceAddress(), source.getContextKey(), flow.getNodeIdentifier()).ifPresent(document::setExporterNodeInfo);
+    private void enrichNodeInfo(final List<Flow> flows, final List<EnrichedFlow> documents, final FlowSource source) {
+        // Most of the flows in a batch share the same exporter and a few addresses, so only resolve each of them once
+        final Map<String, Optional<NodeInfo>> exporterNodeInfos = new HashMap<>();
+        final Map<String, Optional<NodeInfo>> addressNodeInfos = new HashMap<>();
+        for (final Flow flow : flows) {
             if (flow.getDstAddr() != null) {
-                getNodeInfoFromCache(source.getLocation(), flow.getDstAddr(), null, null).ifPresent(document::setSrcNodeInfo);
+                addressNodeInfos.put(flow.getDstAddr(), null);
             }
             if (flow.getSrcAddr() != null) {
-                getNodeInfoFromCache(source.getLocation(), flow.getSrcAddr(), null, null).ifPresent(document::setDstNodeInfo);
+                addressNodeInfos.put(flow.getSrcAddr(), null);
+            }
+        }
+        addressNodeInfos.put(source.getSourceAddress(), null);
+        resolveNodeInfos(source.getLocation(), addressNodeInfos);
+
+        for (int i = 0; i < flows.size(); i++) {
+            final Flow flow = flows.get(i);
+            final EnrichedFlow document = documents.get(i);
+            exporterNodeInfos.computeIfAbsent(flow.getNodeIdentifier(),
+                    nodeIdentifier -> getExporterNodeInfo(source, nodeIdentifier, addressNodeInfos))
+                    .ifPresent(document::setExporterNodeInfo);
+            if (flow.getDstAddr() != null) {
+                addressNodeInfos.get(flow.getDstAddr()).ifPresent(document::setSrcNodeInfo);
             }
+            if (flow.getSrcAddr() != null) {
+                addressNodeInfos.get(flow.getSrcAddr()).ifPresent(document::setDstNodeInfo);
+            }
+        }
+    }
+
+    private Optional<NodeInfo> getExporterNodeInfo(final FlowSource source, final String nodeIdentifier, final Map<String, Optional<NodeInfo>> addressNodeInfos) {
+        if (source.getContextKey() != null && !Strings.isNullOrEmpty(nodeIdentifier)) {
+            final Optional<NodeInfo> nodeDocument;
+            try {
+                nodeDocument = this.nodeMetadataCache.get(new NodeMetadataKey(source.getContextKey(), nodeIdentifier));
+            } catch (ExecutionException e) {
+                LOG.error("Error while retrieving NodeDocument from NodeMetadataCache: {}.", e.getMessage(), e);
+                throw new RuntimeException(e);
+            }
+            if (nodeDocument.isPresent()) {
+                return nodeDocument;
+            }
+        }
+        return addressNodeInfos.get(source.getSourceAddress());
+    }
+
+    /**
+     * Resolves the node info for all of the addresses in the given map. The nodes that are
+     * not cached yet are loaded with a single query.
+     */
+    private void resolveNodeInfos(final String location, final Map<String, Optional<NodeInfo>> nodeInfos) {
+        final Map<String, InterfaceToNodeCache.Entry> misses = new HashMap<>();
+        for (final Map.Entry<String, Optional<NodeInfo>> nodeInfo : nodeInfos.entrySet()) {
+            final var entry = this.interfaceToNodeCache.getFirst(location, InetAddressUtils.addr(nodeInfo.getKey()));
+            if (entry.isEmpty()) {
+                nodeInfo.setValue(Optional.empty());
+                continue;
+            }
+            final Optional<NodeInfo> cached = this.nodeInfoCache.getIfCached(entry.get());
+            if (cached != null) {
+                nodeInfo.setValue(cached);
+            } else {
+                misses.put(nodeInfo.getKey(), entry.get());
+            }
+        }
+        if (misses.isEmpty()) {
+            return;
+        }
+
+        final List<Integer> nodeIds = misses.values().stream()
+                .map(entry -> entry.nodeId)
+                .distinct()
+                .collect(Collectors.toList());
+        final Map<Integer, OnmsNode> nodes = new HashMap<>();
+        try (Timer.Context ctx = this.nodeLoadTimer.time()) {
+            // Keep the number of bind parameters per query reasonable
+            for (final List<Integer> partition : Lists.partition(nodeIds, MAX_NODES_PER_QUERY)) {
+                for (final OnmsNode node : this.nodeDao.findMatching(new CriteriaBuilder(OnmsNode.class).in("id", partition).toCriteria())) {
+                    nodes.put(node.getId(), node);
+                }
+            }
+        }
+        for (final Map.Entry<String, InterfaceToNodeCache.Entry> miss : misses.entrySet()) {
+            final Optional<NodeInfo> nodeInfo = mapOnmsNodeToNodeDocument(nodes.get(miss.getValue().nodeId), miss.getValue().interfaceId);
+            this.nodeInfoCache.put(miss.getValue(), nodeInfo);
+            nodeInfos.put(miss.getKey(), nodeInfo);
+        }
+    }
+
+    private void enrichFlows(final List<Flow> flows, final List<EnrichedFlow> documents) {
+        final List<EnrichedFlow> classifiable = new ArrayList<>(documents.size());
+        final List<ClassificationRequest> classificationRequests = new ArrayList<>(documents.size());
+        for (int i = 0; i < flows.size(); i++) {
+            final Flow flow = flows.get(i);
+            final EnrichedFlow document = documents.get(i);
 
             // Locality
             if (flow.getSrcAddr() != null) {
@@ -171,8 +325,8 @@ public class DocumentEnricherImpl {
 
             // Check whether classification is possible
             if (classificationRequest.isClassifiable()) {
-                // Apply Application mapping
-                document.setApplication(classificationEngine.classify(classificationRequest));
+                classifiable.add(document);
+                classificationRequests.add(classificationRequest);
             }
 
             // Fix skewed clock
@@ -190,9 +344,18 @@ public class DocumentEnricherImpl {
                     document.setLastSwitched(flow.getLastSwitched().minus(skew));
                 }
             }
+        }
 
-            return Stream.of(document);
-        }).collect(Collectors.toList()));
+        // Apply Application mapping
+        if (!classificationRequests.isEmpty()) {
+            final List<String> applications;
+            try (Timer.Context ctx = this.classificationTimer.time()) {
+                applications = classificationEngine.classify(classificationRequests);
+            }
+            for (int i = 0; i < classifiable.size(); i++) {
+                classifiable.get(i).setApplication(applications.get(i));
+            }
+        }
     }
 
     private static boolean isPrivateAddress(String ipAddress) {
@@ -200,34 +363,6 @@ public class DocumentEnricherImpl {
         return inetAddress.isLoopbackAddress() || inetAddress.isLinkLocalAddress() || inetAddress.isSiteLocalAddress();
     }
 
-    private Optional<NodeInfo> getNodeInfoFromCache(final String location, final String ipAddress, final ContextKey contextKey, final String value) {
-        Optional<NodeInfo> nodeDocument = Optional.empty();
-        if (contextKey != null && !Strings.isNullOrEmpty(value)) {
-            final NodeMetadataKey metadataKey = new NodeMetadataKey(contextKey, value);
-            try {
-                nodeDocument = this.nodeMetadataCache.get(metadataKey);
-            } catch (ExecutionException e) {
-                LOG.error("Error while retrieving NodeDocument from NodeMetadataCache: {}.", e.getMessage(), e);
-                throw new RuntimeException(e);
-            }
-            if(nodeDocument.isPresent()) {
-                return nodeDocument;
-            }
-        }
-
-        final var entry = this.interfaceToNodeCache.getFirst(location, InetAddressUtils.addr(ipAddress));
-        if(entry.isPresent()) {
-            try {
-                return this.nodeInfoCache.get(entry.get());
-            } catch (ExecutionException e) {
-                LOG.error("Error while retrieving NodeDocument from NodeInfoCache: {}.", e.getMessage(), e);
-                throw new RuntimeException(e);
-            }
-        }
-        return nodeDocument;
-    }
-
-
     // Key class, which is used to cache NodeInfo for a given node metadata.
     private static class NodeMetadataKey {
 
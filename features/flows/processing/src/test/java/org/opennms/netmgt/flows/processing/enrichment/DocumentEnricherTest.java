@@ -70,15 +70,16 @@ public class DocumentEnricherTest {
         documents.add(createFlowDocument("10.0.0.1", "10.0.0.3"));
         enricher.enrich(documents, new FlowSource("Default", "127.0.0.1", null));
 
-        // get is also called for each save, so we account for those as well
-        Assert.assertEquals(6, nodeDaoGetCounter.get());
+        // get is also called for each save, so we account for those as well,
+        // while all three nodes are loaded with a single query
+        Assert.assertEquals(4, nodeDaoGetCounter.get());
 
         // Try to enrich flow documents to existing IpAddresses.
         documents.clear();
         documents.add(createFlowDocument("10.0.0.2", "10.0.0.3"));
         enricher.enrich(documents, new FlowSource("Default", "127.0.0.1", null));
         // Since above two addresses are cached, no extra calls to nodeDao.
-        Assert.assertEquals(6, nodeDaoGetCounter.get());
+        Assert.assertEquals(4, nodeDaoGetCounter.get());
 
         // Add two more interfaces to the system.
         interfaceToNodeCache.setNodeId("Default", InetAddressUtils.addr("10.0.0.4"), 2);
@@ -86,7 +87,38 @@ public class DocumentEnricherTest {
         documents.add(createFlowDocument("10.0.0.4", "10.0.0.5"));
         enricher.enrich(documents, new FlowSource("Default", "127.0.0.1", null));
         // Since above two addresses are added to same nodes, no extra calls to nodeDao
-        Assert.assertEquals(6, nodeDaoGetCounter.get());
+        Assert.assertEquals(4, nodeDaoGetCounter.get());
+    }
+
+    @Test
+    public void verifyParallelEnrichment() throws InterruptedException {
+        final MockDocumentEnricherFactory factory = new MockDocumentEnricherFactory();
+        final DocumentEnricherImpl enricher = factory.getEnricher();
+        enricher.setParallelThreshold(100);
+        final NodeDao nodeDao = factory.getNodeDao();
+        final InterfaceToNodeCache interfaceToNodeCache = factory.getInterfaceToNodeCache();
+
+        for (int i = 1; i <= 10; i++) {
+            interfaceToNodeCache.setNodeId("Default", InetAddressUtils.addr("10.0.0." + i), i);
+            nodeDao.save(createOnmsNode(i, "my-requisition"));
+        }
+
+        final List<Flow> flows = Lists.newArrayList();
+        for (int i = 0; i < 1050; i++) {
+            flows.add(createFlowDocument("10.0.0." + (1 + i % 10), "192.168.0." + (i % 250)));
+        }
+        final List<EnrichedFlow> docs = enricher.enrich(flows, new FlowSource("Default", "127.0.0.1", null));
+
+        // Every flow is enriched, in order
+        Assert.assertEquals(flows.size(), docs.size());
+        for (int i = 0; i < docs.size(); i++) {
+            final EnrichedFlow doc = docs.get(i);
+            Assert.assertEquals(flows.get(i).getSrcAddr(), doc.getSrcAddr());
+            Assert.assertEquals(1 + i % 10, doc.getDstNodeInfo().getNodeId());
+            Assert.assertNull(doc.getSrcNodeInfo());
+            Assert.assertEquals("http", doc.getApplication());
+            Assert.assertEquals(EnrichedFlow.Locality.PRIVATE, doc.getFlowLocality());
+        }
     }
 
     private static Flow createFlowDocument(String sourceIp, String destIp) {
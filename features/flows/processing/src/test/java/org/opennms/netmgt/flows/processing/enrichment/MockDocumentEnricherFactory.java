@@ -28,6 +28,7 @@ import javax.script.ScriptEngineManager;
 
 import org.mockito.Mockito;
 import org.opennms.core.cache.CacheConfigBuilder;
+import org.opennms.core.criteria.Criteria;
 import org.opennms.core.soa.support.DefaultServiceRegistry;
 import org.opennms.netmgt.dao.api.AssetRecordDao;
 import org.opennms.netmgt.dao.api.CategoryDao;
@@ -122,13 +123,18 @@ public class MockDocumentEnricherFactory {
     }
 
     private NodeDao createNodeDao() {
-        // Spy on MockNodeDao to count access to get(int)
+        // Spy on MockNodeDao to count access to get(int) and findMatching(Criteria)
         final MockNodeDao dao = new MockNodeDao();
         final NodeDao spyMock = Mockito.spy(dao);
         Mockito.when(spyMock.get(Mockito.anyInt())).then(invocationOnMock -> {
             nodeDaoGetCounter.incrementAndGet();
             return dao.get((int) invocationOnMock.getArguments()[0]);
         });
+        // Use doAnswer() here, as when() would call findMatching() with a null criteria
+        Mockito.doAnswer(invocationOnMock -> {
+            nodeDaoGetCounter.incrementAndGet();
+            return dao.findMatching((Criteria) invocationOnMock.getArguments()[0]);
+        }).when(spyMock).findMatching(Mockito.any(Criteria.class));
         return spyMock;
     }
 
@@ -21,6 +21,9 @@
  */
 package org.opennms.netmgt.measurements.api;
 
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
 import java.util.Map;
 
 import org.opennms.netmgt.measurements.api.exceptions.FetchException;
@@ -34,6 +37,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
 import com.google.common.base.Preconditions;
+import com.google.common.collect.Maps;
 import com.google.common.collect.RowSortedTable;
 
 @Component("measurementsService")
@@ -56,11 +60,92 @@ public class DefaultMeasurementsService implements MeasurementsService {
         validate(request);
 
         // Fetch the measurements
+        FetchResults results = fetch(request, request.getStart(), request.getEnd());
+
+        // Apply the expression to the fetch results
+        expressionEngine.applyExpressions(request, results);
+
+        // Apply the filters
+        if (!request.getFilters().isEmpty()) {
+            RowSortedTable<Long, String, Double> table = results.asRowSortedTable();
+            filterEngine.filter(request.getFilters(), table);
+            results = new FetchResults(table, results.getStep(), results.getConstants(), results.getMetadata());
+        }
+
+        return toResponse(request, results, request.getStart(), request.getEnd(), true);
+    }
+
+    @Override
+    public QueryResponseStream stream(QueryRequest request, int chunkRows) throws MeasurementException {
+        validate(request);
+
+        // Requests limited to a maximum number of rows are already bounded
+        final List<Filter> filters = filterEngine.getFilters(request.getFilters());
+        if (chunkRows < 1 || request.getMaxRows() > 0
+                || (request.getEnd() - request.getStart()) / request.getStep() <= chunkRows
+                || !expressionEngine.isStreamable(request)
+                || !filters.stream().allMatch(Filter::isStreamable)) {
+            return QueryResponseStream.of(query(request));
+        }
+        return new ChunkedQueryResponseStream(request, filters, chunkRows * request.getStep());
+    }
+
+    /**
+     * Executes the query window by window. The windows are fetched separately, so
+     * the rows at their boundaries may be returned twice; these are only kept once.
+     */
+    private class ChunkedQueryResponseStream implements QueryResponseStream {
+        private final QueryRequest request;
+        private final List<Filter> filters;
+        private final long window;
+
+        private long nextStart;
+        private long lastTimestamp = Long.MIN_VALUE;
+        private boolean first = true;
+
+        private ChunkedQueryResponseStream(QueryRequest request, List<Filter> filters, long window) {
+            this.request = request;
+            this.filters = filters;
+            this.window = window;
+            this.nextStart = request.getStart();
+        }
+
+        @Override
+        public QueryResponse next() throws MeasurementException {
+            while (nextStart < request.getEnd()) {
+                final long start = nextStart;
+                final long end = Math.min(start + window, request.getEnd());
+                nextStart = end;
+
+                FetchResults results = dropRowsUntil(fetch(request, start, end), lastTimestamp);
+                final long[] timestamps = results.getTimestamps();
+                if (timestamps.length < 1) {
+                    continue;
+                }
+                lastTimestamp = timestamps[timestamps.length - 1];
+
+                expressionEngine.applyExpressions(request, results);
+
+                if (!filters.isEmpty()) {
+                    RowSortedTable<Long, String, Double> table = results.asRowSortedTable();
+                    filterEngine.applyFilters(filters, table);
+                    results = new FetchResults(table, results.getStep(), results.getConstants(), results.getMetadata());
+                }
+
+                final QueryResponse response = toResponse(request, results, start, end, first);
+                first = false;
+                return response;
+            }
+            return null;
+        }
+    }
+
+    private FetchResults fetch(QueryRequest request, long start, long end) throws MeasurementException {
         FetchResults results;
         try {
             results = fetchStrategy.fetch(
-                    request.getStart(),
-                    request.getEnd(),
+                    start,
+                    end,
                     request.getStep(),
                     request.getMaxRows(),
                     request.getHeartbeat(),
@@ -73,17 +158,31 @@ public class DefaultMeasurementsService implements MeasurementsService {
         if (results == null) {
             throw new ResourceNotFoundException(request);
         }
+        return results;
+    }
 
-        // Apply the expression to the fetch results
-        expressionEngine.applyExpressions(request, results);
+    /**
+     * Removes the rows up to and including the given timestamp.
+     */
+    private static FetchResults dropRowsUntil(FetchResults results, long timestamp) {
+        final long[] timestamps = results.getTimestamps();
+        int from = 0;
+        while (from < timestamps.length && timestamps[from] <= timestamp) {
+            from++;
+        }
+        if (from == 0) {
+            return results;
+        }
 
-        // Apply the filters
-        if (!request.getFilters().isEmpty()) {
-            RowSortedTable<Long, String, Double> table = results.asRowSortedTable();
-            filterEngine.filter(request.getFilters(), table);
-            results = new FetchResults(table, results.getStep(), results.getConstants(), results.getMetadata());
+        final Map<String, double[]> columns = Maps.newLinkedHashMap();
+        for (final Map.Entry<String, double[]> column : results.getColumns().entrySet()) {
+            columns.put(column.getKey(), Arrays.copyOfRange(column.getValue(), from, timestamps.length));
         }
+        return new FetchResults(Arrays.copyOfRange(timestamps, from, timestamps.length), columns,
+                results.getStep(), results.getConstants(), results.getMetadata());
+    }
 
+    private static QueryResponse toResponse(QueryRequest request, FetchResults results, long start, long end, boolean withConstants) {
         // Remove any transient values belonging to sources
         final Map<String, double[]> columns = results.getColumns();
         for (final Source source : request.getSources()) {
@@ -94,13 +193,17 @@ public class DefaultMeasurementsService implements MeasurementsService {
 
         // Build the response
         final QueryResponse response = new QueryResponse();
-        response.setStart(request.getStart());
-        response.setEnd(request.getEnd());
+        response.setStart(start);
+        response.setEnd(end);
         response.setStep(results.getStep());
         response.setTimestamps(results.getTimestamps());
         response.setColumns(results.getColumns());
-        response.setConstants(results.getConstants());
-        response.setMetadata(results.getMetadata());
+        if (withConstants) {
+            response.setConstants(results.getConstants());
+            response.setMetadata(results.getMetadata());
+        } else {
+            response.setConstants(Collections.<String, Object>emptyMap());
+        }
         return response;
     }
 
@@ -38,4 +38,13 @@ public interface ExpressionEngine {
      */
     public void applyExpressions(QueryRequest request, FetchResults results) throws ExpressionException;
 
+    /**
+     * Whether the expressions of the request can be applied to consecutive chunks of
+     * the results, instead of to all of the rows at once. This is not the case when
+     * an expression refers to other rows.
+     */
+    public default boolean isStreamable(QueryRequest request) {
+        return false;
+    }
+
 }
@@ -33,4 +33,15 @@ public interface Filter {
     String TIMESTAMP_COLUMN_NAME = "timestamp";
 
     void filter(RowSortedTable<Long, String, Double> qrAsTable) throws Exception;
+
+    /**
+     * Whether the filter can be applied to consecutive chunks of the same query,
+     * instead of to all of its rows at once.
+     *
+     * A streamable filter is called once per chunk, in order, on the same instance,
+     * and must only depend on the rows of the current and the previous chunks.
+     */
+    default boolean isStreamable() {
+        return false;
+    }
 }
@@ -62,11 +62,36 @@ public class FilterEngine {
         Preconditions.checkNotNull(filterDefinitions, "filterDefinitions argument");
         Preconditions.checkNotNull(table, "table argument");
 
+        applyFilters(getFilters(filterDefinitions), table);
+    }
+
+    /**
+     * Retrieves the filters for all of the definitions.
+     *
+     * @throws FilterException if no {@link Filter} supports one of the definitions
+     */
+    public List<Filter> getFilters(final List<FilterDef> filterDefinitions) throws FilterException {
+        Preconditions.checkNotNull(filterDefinitions, "filterDefinitions argument");
+
+        final List<Filter> filters = Lists.newArrayListWithCapacity(filterDefinitions.size());
         for (FilterDef filterDef : filterDefinitions) {
             Filter filter = getFilter(filterDef);
             if (filter == null) {
                 throw new FilterException("No filter implementation found for {}", filterDef.getName());
             }
+            filters.add(filter);
+        }
+        return filters;
+    }
+
+    /**
+     * Successively applies the given filters.
+     */
+    public void applyFilters(final List<Filter> filters, final RowSortedTable<Long, String, Double> table) throws FilterException {
+        Preconditions.checkNotNull(filters, "filters argument");
+        Preconditions.checkNotNull(table, "table argument");
+
+        for (Filter filter : filters) {
             try {
                 filter.filter(table);
             } catch (Throwable t) {
@@ -27,4 +27,15 @@ import org.opennms.netmgt.measurements.model.QueryResponse;
 
 public interface MeasurementsService {
     QueryResponse query(QueryRequest request) throws MeasurementException;
+
+    /**
+     * Executes the query in consecutive time windows of at most <code>chunkRows</code> rows,
+     * so only one window has to be held in memory at a time.
+     *
+     * Queries that can't be split, i.e. because a filter needs all of the rows, are
+     * executed at once and returned as a single chunk.
+     */
+    default QueryResponseStream stream(QueryRequest request, int chunkRows) throws MeasurementException {
+        return QueryResponseStream.of(query(request));
+    }
 }
@@ -0,0 +1,54 @@
+/*
+ * Licensed to The OpenNMS Group, Inc (TOG) under one or more
+ * contributor license agreements.  See the LICENSE.md file
+ * distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * TOG licenses this file to You under the GNU Affero General
+ * Public License Version 3 (the "License") or (at your option)
+ * any later version.  You may not use this file except in
+ * compliance with the License.  You may obtain a copy of the
+ * License at:
+ *
+ *      https://www.gnu.org/licenses/agpl-3.0.txt
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied.  See the License for the specific
+ * language governing permissions and limitations under the
+ * License.
+ */
+package org.opennms.netmgt.measurements.api;
+
+import org.opennms.netmgt.measurements.api.exceptions.MeasurementException;
+import org.opennms.netmgt.measurements.model.QueryResponse;
+
+/**
+ * The results of a query, split into consecutive chunks of rows.
+ *
+ * Every chunk is a complete {@link QueryResponse} for its time window. The
+ * constants and the metadata are only set on the first chunk.
+ */
+@FunctionalInterface
+public interface QueryResponseStream {
+
+    /**
+     * Retrieves the next chunk.
+     *
+     * @return the next chunk, or null if there are no more chunks
+     */
+    QueryResponse next() throws MeasurementException;
+
+    /**
+     * A stream with the given response as its only chunk.
+     */
+    static QueryResponseStream of(final QueryResponse response) {
+        final QueryResponse[] remaining = { response };
+        return () -> {
+            final QueryResponse next = remaining[0];
+            remaining[0] = null;
+            return next;
+        };
+    }
+}
@@ -0,0 +1,135 @@
+/*
+ * Licensed to The OpenNMS Group, Inc (TOG) under one or more
+ * contributor license agreements.  See the LICENSE.md file
+ * distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * TOG licenses this file to You under the GNU Affero General
+ * Public License Version 3 (the "License") or (at your option)
+ * any later version.  You may not use this file except in
+ * compliance with the License.  You may obtain a copy of the
+ * License at:
+ *
+ *      https://www.gnu.org/licenses/agpl-3.0.txt
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied.  See the License for the specific
+ * language governing permissions and limitations under the
+ * License.
+ */
+package org.opennms.netmgt.measurements.api;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Test;
+import org.opennms.netmgt.measurements.model.QueryRequest;
+import org.opennms.netmgt.measurements.model.QueryResponse;
+import org.opennms.netmgt.measurements.model.Source;
+
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import com.google.common.primitives.Doubles;
+import com.google.common.primitives.Longs;
+
+public class DefaultMeasurementsServiceTest {
+
+    private static final long STEP = 300000;
+
+    /**
+     * Returns one row per step from the start to the end, both included, so the
+     * rows at the boundaries of consecutive windows are returned twice.
+     */
+    private final MeasurementFetchStrategy fetchStrategy = (start, end, step, maxrows, interval, heartbeat, sources, relaxed) -> {
+        final List<Long> timestamps = Lists.newArrayList();
+        final List<Double> values = Lists.newArrayList();
+        for (long timestamp = start - start % STEP; timestamp <= end; timestamp += STEP) {
+            timestamps.add(timestamp);
+            values.add((double) timestamp / STEP);
+        }
+        final Map<String, double[]> columns = Maps.newLinkedHashMap();
+        columns.put("x", Doubles.toArray(values));
+        columns.put("hidden", Doubles.toArray(values));
+        final Map<String, Object> constants = Maps.newHashMap();
+        constants.put("answer", "42");
+        return new FetchResults(Longs.toArray(timestamps), columns, STEP, constants, null);
+    };
+
+    private static class DoublingExpressionEngine implements ExpressionEngine {
+        private final boolean streamable;
+
+        private DoublingExpressionEngine(boolean streamable) {
+            this.streamable = streamable;
+        }
+
+        @Override
+        public void applyExpressions(QueryRequest request, FetchResults results) {
+            final double[] x = results.getColumns().get("x");
+            final double[] y = new double[x.length];
+            for (int i = 0; i < x.length; i++) {
+                y[i] = 2 * x[i];
+            }
+            results.getColumns().put("y", y);
+        }
+
+        @Override
+        public boolean isStreamable(QueryRequest request) {
+            return streamable;
+        }
+    }
+
+    @Test
+    public void canStreamInChunks() throws Exception {
+        final QueryRequest request = createRequest();
+        final MeasurementsService service = new DefaultMeasurementsService(fetchStrategy, new DoublingExpressionEngine(true), new FilterEngine());
+
+        final QueryResponse expected = service.query(request);
+        assertEquals(101, expected.getTimestamps().length);
+
+        final QueryResponseStream stream = service.stream(request, 10);
+        final List<Long> timestamps = Lists.newArrayList();
+        final List<Double> y = Lists.newArrayList();
+        QueryResponse chunk;
+        int chunks = 0;
+        while ((chunk = stream.next()) != null) {
+            assertTrue(chunk.getTimestamps().length <= 11);
+            assertEquals(chunks == 0 ? 1 : 0, chunk.getConstants().size());
+            assertNull(chunk.columnsWithLabels().get("hidden"));
+            timestamps.addAll(Longs.asList(chunk.getTimestamps()));
+            y.addAll(Doubles.asList(chunk.columnsWithLabels().get("y")));
+            chunks++;
+        }
+
+        assertEquals(10, chunks);
+        assertArrayEquals(expected.getTimestamps(), Longs.toArray(timestamps));
+        assertArrayEquals(expected.columnsWithLabels().get("y"), Doubles.toArray(y), 0.0);
+    }
+
+    @Test
+    public void queriesAtOnceWhenTheExpressionsCantBeStreamed() throws Exception {
+        final QueryRequest request = createRequest();
+        final MeasurementsService service = new DefaultMeasurementsService(fetchStrategy, new DoublingExpressionEngine(false), new FilterEngine());
+
+        final QueryResponseStream stream = service.stream(request, 10);
+        assertEquals(101, stream.next().getTimestamps().length);
+        assertNull(stream.next());
+    }
+
+    private static QueryRequest createRequest() {
+        final QueryRequest request = new QueryRequest();
+        request.setStart(0);
+        request.setEnd(100 * STEP);
+        request.setStep(STEP);
+        request.setSources(Lists.newArrayList(
+                new Source("x", "node[1].nodeSnmp[]", "x", "x", false),
+                new Source("hidden", "node[1].nodeSnmp[]", "hidden", "hidden", true)));
+        return request;
+    }
+}
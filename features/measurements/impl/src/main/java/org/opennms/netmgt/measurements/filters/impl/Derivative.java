@@ -43,6 +43,11 @@ public class Derivative implements Filter {
     @FilterParam(key="outputColumn", required=true, displayName="Output", description="Output column.")
     private String m_outputColumn;
 
+    /**
+     * The last value of the previous chunk, when streaming.
+     */
+    private Double m_lastValue;
+
     protected Derivative() { }
 
     public Derivative(String inputColumn, String outputColumn) {
@@ -60,9 +65,20 @@ public class Derivative implements Filter {
                 if (step != 0) {
                     slope = (entry.getValue() - lastEntry.getValue()) / step;
                 }
+            } else if (m_lastValue != null) {
+                // The first row of a chunk directly follows the last row of the previous one
+                slope = entry.getValue() - m_lastValue;
             }
             qrAsTable.put(entry.getKey(), m_outputColumn, slope);
             lastEntry = entry;
         }
+        if (lastEntry != null) {
+            m_lastValue = lastEntry.getValue();
+        }
+    }
+
+    @Override
+    public boolean isStreamable() {
+        return true;
     }
 }
@@ -0,0 +1,724 @@
+/*
+ * Licensed to The OpenNMS Group, Inc (TOG) under one or more
+ * contributor license agreements.  See the LICENSE.md file
+ * distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * TOG licenses this file to You under the GNU Affero General
+ * Public License Version 3 (the "License") or (at your option)
+ * any later version.  You may not use this file except in
+ * compliance with the License.  You may obtain a copy of the
+ * License at:
+ *
+ *      https://www.gnu.org/licenses/agpl-3.0.txt
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied.  See the License for the specific
+ * language governing permissions and limitations under the
+ * License.
+ */
+package org.opennms.netmgt.measurements.impl;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.DoubleBinaryOperator;
+import java.util.function.DoubleUnaryOperator;
+
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+
+/**
+ * Evaluates the arithmetic subset of the JEXL expressions over complete columns,
+ * instead of once per row.
+ *
+ * The subset covers numbers, variables, <code>+ - * / %</code>, parentheses, the
+ * <code>math:</code> and <code>strictmath:</code> functions on doubles, the
+ * <code>fn:array*</code> functions with literal arguments and <code>jexl:evaluate</code>
+ * of string constants within the subset. The results are the same as the ones of JEXL:
+ * <ul>
+ *   <li>operations between two integers (i.e. <code>__step / 1000</code>) are not supported,
+ *       since JEXL uses integer arithmetic for these</li>
+ *   <li>real literals are floats unless suffixed with <code>d</code>, as in JEXL</li>
+ *   <li>rows with a division by zero are reported, so they can be evaluated by JEXL</li>
+ * </ul>
+ * {@link #parse(String)} returns null for anything else, and the expression is
+ * evaluated by JEXL.
+ */
+abstract class ColumnExpression {
+
+    enum Type { DOUBLE, INTEGRAL, STRING }
+
+    /**
+     * The values bound to the variables of an expression.
+     */
+    interface Scope {
+
+        int getRowCount();
+
+        /**
+         * Resolves a variable.
+         *
+         * @return a <code>double[]</code> or <code>long[]</code> column, a {@link Number}, a
+         * {@link String} or null if the variable is unknown or not supported
+         */
+        Object lookup(String name);
+
+        /**
+         * @return the fetched column with the given label, as seen by the <code>fn:</code> functions
+         */
+        double[] getSourceColumn(String name);
+
+        /**
+         * @return the parsed formula evaluated by <code>jexl:evaluate</code>, or null if it is not supported
+         */
+        ColumnExpression parse(String formula);
+    }
+
+    /**
+     * The value of an expression: either a scalar or one value per row.
+     */
+    static final class Column {
+        private final double scalar;
+        private final double[] values;
+        private final boolean shared;
+
+        private Column(double scalar) {
+            this.scalar = scalar;
+            this.values = null;
+            this.shared = false;
+        }
+
+        private Column(double[] values, boolean shared) {
+            this.scalar = Double.NaN;
+            this.values = values;
+            this.shared = shared;
+        }
+
+        private double get(int i) {
+            return values == null ? scalar : values[i];
+        }
+
+        /**
+         * @return the values of all rows, in an array that may be modified
+         */
+        double[] toArray(int rows) {
+            if (values == null) {
+                final double[] array = new double[rows];
+                Arrays.fill(array, scalar);
+                return array;
+            }
+            return shared ? values.clone() : values;
+        }
+    }
+
+    private static final Set<String> RESERVED = ImmutableSet.of("and", "or", "not", "eq", "ne", "lt", "gt", "le", "ge",
+            "div", "mod", "empty", "size", "new", "true", "false", "null", "if", "else", "for", "foreach", "while", "var", "return");
+
+    private static final Map<String, DoubleUnaryOperator> MATH_UNARY = ImmutableMap.<String, DoubleUnaryOperator>builder()
+            .put("abs", Math::abs).put("sqrt", Math::sqrt).put("cbrt", Math::cbrt)
+            .put("sin", Math::sin).put("cos", Math::cos).put("tan", Math::tan)
+            .put("asin", Math::asin).put("acos", Math::acos).put("atan", Math::atan)
+            .put("sinh", Math::sinh).put("cosh", Math::cosh).put("tanh", Math::tanh)
+            .put("exp", Math::exp).put("expm1", Math::expm1)
+            .put("log", Math::log).put("log10", Math::log10).put("log1p", Math::log1p)
+            .put("floor", Math::floor).put("ceil", Math::ceil).put("rint", Math::rint)
+            .put("signum", Math::signum).put("toDegrees", Math::toDegrees).put("toRadians", Math::toRadians)
+            .build();
+
+    private static final Map<String, DoubleBinaryOperator> MATH_BINARY = ImmutableMap.<String, DoubleBinaryOperator>builder()
+            .put("pow", Math::pow).put("atan2", Math::atan2).put("hypot", Math::hypot)
+            .put("min", Math::min).put("max", Math::max).put("IEEEremainder", Math::IEEEremainder)
+            .build();
+
+    private static final Map<String, DoubleUnaryOperator> STRICTMATH_UNARY = ImmutableMap.<String, DoubleUnaryOperator>builder()
+            .put("abs", StrictMath::abs).put("sqrt", StrictMath::sqrt).put("cbrt", StrictMath::cbrt)
+            .put("sin", StrictMath::sin).put("cos", StrictMath::cos).put("tan", StrictMath::tan)
+            .put("asin", StrictMath::asin).put("acos", StrictMath::acos).put("atan", StrictMath::atan)
+            .put("sinh", StrictMath::sinh).put("cosh", StrictMath::cosh).put("tanh", StrictMath::tanh)
+            .put("exp", StrictMath::exp).put("expm1", StrictMath::expm1)
+            .put("log", StrictMath::log).put("log10", StrictMath::log10).put("log1p", StrictMath::log1p)
+            .put("floor", StrictMath::floor).put("ceil", StrictMath::ceil).put("rint", StrictMath::rint)
+            .put("signum", StrictMath::signum).put("toDegrees", StrictMath::toDegrees).put("toRadians", StrictMath::toRadians)
+            .build();
+
+    private static final Map<String, DoubleBinaryOperator> STRICTMATH_BINARY = ImmutableMap.<String, DoubleBinaryOperator>builder()
+            .put("pow", StrictMath::pow).put("atan2", StrictMath::atan2).put("hypot", StrictMath::hypot)
+            .put("min", StrictMath::min).put("max", StrictMath::max).put("IEEEremainder", StrictMath::IEEEremainder)
+            .build();
+
+    /**
+     * @return the type of the value, or null if the expression is not supported in this scope
+     */
+    abstract Type type(Scope scope);
+
+    /**
+     * Evaluates the expression for all rows. Must only be called if {@link #type(Scope)}
+     * returned {@link Type#DOUBLE} or {@link Type#INTEGRAL}.
+     *
+     * @param jexlRows set for the rows that must be evaluated by JEXL instead
+     */
+    abstract Column evaluate(Scope scope, BitSet jexlRows);
+
+    /**
+     * Parses the expression.
+     *
+     * @return null if the expression is not part of the supported subset
+     */
+    static ColumnExpression parse(final String expression) {
+        try {
+            final Parser parser = new Parser(expression);
+            final ColumnExpression parsed = parser.additive();
+            return parser.atEnd() ? parsed : null;
+        } catch (final IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    private static Type numeric(final Type type) {
+        return type == Type.DOUBLE || type == Type.INTEGRAL ? type : null;
+    }
+
+    private static final class Literal extends ColumnExpression {
+        private final double value;
+        private final Type type;
+
+        private Literal(double value, Type type) {
+            this.value = value;
+            this.type = type;
+        }
+
+        @Override
+        Type type(Scope scope) {
+            return type;
+        }
+
+        @Override
+        Column evaluate(Scope scope, BitSet jexlRows) {
+            return new Column(value);
+        }
+    }
+
+    private static final class StringLiteral extends ColumnExpression {
+        private final String value;
+
+        private StringLiteral(String value) {
+            this.value = value;
+        }
+
+        @Override
+        Type type(Scope scope) {
+            return Type.STRING;
+        }
+
+        @Override
+        Column evaluate(Scope scope, BitSet jexlRows) {
+            throw new IllegalStateException("Strings have no numeric value");
+        }
+    }
+
+    private static final class Variable extends ColumnExpression {
+        private final String name;
+
+        private Variable(String name) {
+            this.name = name;
+        }
+
+        @Override
+        Type type(Scope scope) {
+            final Object value = scope.lookup(name);
+            if (value instanceof double[] || value instanceof Double || value instanceof Float) {
+                return Type.DOUBLE;
+            } else if (value instanceof long[] || value instanceof Long || value instanceof Integer
+                    || value instanceof Short || value instanceof Byte) {
+                return Type.INTEGRAL;
+            } else if (value instanceof String) {
+                return Type.STRING;
+            }
+            return null;
+        }
+
+        @Override
+        Column evaluate(Scope scope, BitSet jexlRows) {
+            final Object value = scope.lookup(name);
+            if (value instanceof double[]) {
+                return new Column((double[]) value, true);
+            } else if (value instanceof long[]) {
+                final long[] longs = (long[]) value;
+                final double[] values = new double[longs.length];
+                for (int i = 0; i < longs.length; i++) {
+                    values[i] = longs[i];
+                }
+                return new Column(values, false);
+            }
+            return new Column(((Number) value).doubleValue());
+        }
+    }
+
+    private static final class Negate extends ColumnExpression {
+        private final ColumnExpression operand;
+
+        private Negate(ColumnExpression operand) {
+            this.operand = operand;
+        }
+
+        @Override
+        Type type(Scope scope) {
+            return numeric(operand.type(scope));
+        }
+
+        @Override
+        Column evaluate(Scope scope, BitSet jexlRows) {
+            final Column value = operand.evaluate(scope, jexlRows);
+            if (value.values == null) {
+                return new Column(-value.scalar);
+            }
+            final double[] result = new double[value.values.length];
+            for (int i = 0; i < result.length; i++) {
+                result[i] = -value.values[i];
+            }
+            return new Column(result, false);
+        }
+    }
+
+    private static final class Arithmetic extends ColumnExpression {
+        private final char operator;
+        private final ColumnExpression left;
+        private final ColumnExpression right;
+
+        private Arithmetic(char operator, ColumnExpression left, ColumnExpression right) {
+            this.operator = operator;
+            this.left = left;
+            this.right = right;
+        }
+
+        @Override
+        Type type(Scope scope) {
+            final Type l = numeric(left.type(scope));
+            final Type r = numeric(right.type(scope));
+            if (l == null || r == null) {
+                return null;
+            }
+            // JEXL uses integer arithmetic when neither side is a floating point number
+            return l == Type.DOUBLE || r == Type.DOUBLE ? Type.DOUBLE : null;
+        }
+
+        @Override
+        Column evaluate(Scope scope, BitSet jexlRows) {
+            final Column l = left.evaluate(scope, jexlRows);
+            final Column r = right.evaluate(scope, jexlRows);
+            final boolean divides = operator == '/' || operator == '%';
+
+            if (l.values == null && r.values == null) {
+                if (divides && r.scalar == 0.0) {
+                    jexlRows.set(0, scope.getRowCount());
+                    return new Column(Double.NaN);
+                }
+                return new Column(apply(operator, l.scalar, r.scalar));
+            }
+
+            final int rows = scope.getRowCount();
+            final double[] result = new double[rows];
+            switch (operator) {
+                case '+':
+                    for (int i = 0; i < rows; i++) {
+                        result[i] = l.get(i) + r.get(i);
+                    }
+                    break;
+                case '-':
+                    for (int i = 0; i < rows; i++) {
+                        result[i] = l.get(i) - r.get(i);
+                    }
+                    break;
+                case '*':
+                    for (int i = 0; i < rows; i++) {
+                        result[i] = l.get(i) * r.get(i);
+                    }
+                    break;
+                default:
+                    for (int i = 0; i < rows; i++) {
+                        final double divisor = r.get(i);
+                        if (divisor == 0.0) {
+                            // JEXL decides what a division by zero yields
+                            jexlRows.set(i);
+                            result[i] = Double.NaN;
+                        } else {
+                            result[i] = apply(operator, l.get(i), divisor);
+                        }
+                    }
+            }
+            return new Column(result, false);
+        }
+
+        private static double apply(char operator, double l, double r) {
+            switch (operator) {
+                case '+': return l + r;
+                case '-': return l - r;
+                case '*': return l * r;
+                case '/': return l / r;
+                default: return l % r;
+            }
+        }
+    }
+
+    private static final class MathFunction extends ColumnExpression {
+        private final DoubleUnaryOperator unary;
+        private final DoubleBinaryOperator binary;
+        private final List<ColumnExpression> arguments;
+
+        private MathFunction(DoubleUnaryOperator unary, DoubleBinaryOperator binary, List<ColumnExpression> arguments) {
+            this.unary = unary;
+            this.binary = binary;
+            this.arguments = arguments;
+        }
+
+        @Override
+        Type type(Scope scope) {
+            // Only match the double overloads, like JEXL does for Double arguments
+            for (ColumnExpression argument : arguments) {
+                if (argument.type(scope) != Type.DOUBLE) {
+                    return null;
+                }
+            }
+            return Type.DOUBLE;
+        }
+
+        @Override
+        Column evaluate(Scope scope, BitSet jexlRows) {
+            final Column a = arguments.get(0).evaluate(scope, jexlRows);
+            if (unary != null) {
+                if (a.values == null) {
+                    return new Column(unary.applyAsDouble(a.scalar));
+                }
+                final double[] result = new double[a.values.length];
+                for (int i = 0; i < result.length; i++) {
+                    result[i] = unary.applyAsDouble(a.values[i]);
+                }
+                return new Column(result, false);
+            }
+
+            final Column b = arguments.get(1).evaluate(scope, jexlRows);
+            if (a.values == null && b.values == null) {
+                return new Column(binary.applyAsDouble(a.scalar, b.scalar));
+            }
+            final double[] result = new double[scope.getRowCount()];
+            for (int i = 0; i < result.length; i++) {
+                result[i] = binary.applyAsDouble(a.get(i), b.get(i));
+            }
+            return new Column(result, false);
+        }
+    }
+
+    /**
+     * The functions of {@link SampleArrayFunctions}, which refer to a previous row of a fetched column.
+     */
+    private static final class ArrayFunction extends ColumnExpression {
+        private final String function;
+        private final String column;
+        private final int n;
+        private final double start;
+
+        private ArrayFunction(String function, String column, int n, double start) {
+            this.function = function;
+            this.column = column;
+            this.n = n;
+            this.start = start;
+        }
+
+        @Override
+        Type type(Scope scope) {
+            // Unknown columns are logged by the function, leave these to JEXL
+            return scope.getSourceColumn(column) != null ? Type.DOUBLE : null;
+        }
+
+        @Override
+        Column evaluate(Scope scope, BitSet jexlRows) {
+            final double[] sample = scope.getSourceColumn(column);
+            final double[] result = new double[scope.getRowCount()];
+            for (int i = 0; i < result.length; i++) {
+                final int k = i - n;
+                if (k < 0) {
+                    switch (function) {
+                        case "arrayZero": result[i] = 0; break;
+                        case "arrayFirst": result[i] = sample.length > 0 ? sample[0] : Double.NaN; break;
+                        case "arrayStart": result[i] = start; break;
+                        default: result[i] = Double.NaN;
+                    }
+                } else {
+                    result[i] = k < sample.length ? sample[k] : Double.NaN;
+                }
+            }
+            return new Column(result, false);
+        }
+    }
+
+    /**
+     * <code>jexl:evaluate</code> of a string literal or a string constant.
+     */
+    private static final class Evaluate extends ColumnExpression {
+        private final ColumnExpression formula;
+
+        private Evaluate(ColumnExpression formula) {
+            this.formula = formula;
+        }
+
+        private ColumnExpression parsed(Scope scope) {
+            final Object value;
+            if (formula instanceof StringLiteral) {
+                value = ((StringLiteral) formula).value;
+            } else if (formula.type(scope) == Type.STRING) {
+                value = scope.lookup(((Variable) formula).name);
+            } else {
+                return null;
+            }
+            return scope.parse((String) value);
+        }
+
+        @Override
+        Type type(Scope scope) {
+            final ColumnExpression parsed = parsed(scope);
+            // The function casts the result to a Double
+            return parsed != null && parsed.type(scope) == Type.DOUBLE ? Type.DOUBLE : null;
+        }
+
+        @Override
+        Column evaluate(Scope scope, BitSet jexlRows) {
+            return parsed(scope).evaluate(scope, jexlRows);
+        }
+    }
+
+    /**
+     * A recursive descent parser for the supported subset.
+     */
+    private static final class Parser {
+        private final String input;
+        private int pos = 0;
+
+        private Parser(String input) {
+            this.input = input;
+        }
+
+        private boolean atEnd() {
+            skipWhitespace();
+            return pos >= input.length();
+        }
+
+        private void skipWhitespace() {
+            while (pos < input.length() && Character.isWhitespace(input.charAt(pos))) {
+                pos++;
+            }
+        }
+
+        private boolean consume(char c) {
+            skipWhitespace();
+            if (pos < input.length() && input.charAt(pos) == c) {
+                pos++;
+                return true;
+            }
+            return false;
+        }
+
+        private ColumnExpression additive() {
+            ColumnExpression left = multiplicative();
+            while (true) {
+                if (consume('+')) {
+                    left = new Arithmetic('+', left, multiplicative());
+                } else if (consume('-')) {
+                    left = new Arithmetic('-', left, multiplicative());
+                } else {
+                    return left;
+                }
+            }
+        }
+
+        private ColumnExpression multiplicative() {
+            ColumnExpression left = unary();
+            while (true) {
+                if (consume('*')) {
+                    left = new Arithmetic('*', left, unary());
+                } else if (consume('/')) {
+                    left = new Arithmetic('/', left, unary());
+                } else if (consume('%')) {
+                    left = new Arithmetic('%', left, unary());
+                } else {
+                    return left;
+                }
+            }
+        }
+
+        private ColumnExpression unary() {
+            if (consume('-')) {
+                return new Negate(unary());
+            }
+            return primary();
+        }
+
+        private ColumnExpression primary() {
+            skipWhitespace();
+            if (pos >= input.length()) {
+                throw new IllegalArgumentException("Unexpected end");
+            }
+            final char c = input.charAt(pos);
+            if (c == '(') {
+                pos++;
+                final ColumnExpression inner = additive();
+                expect(')');
+                return inner;
+            } else if (c == '"' || c == '\'') {
+                return new StringLiteral(string(c));
+            } else if (Character.isDigit(c) || c == '.') {
+                return number();
+            } else if (Character.isJavaIdentifierStart(c)) {
+                final String name = identifier();
+                if (consume(':')) {
+                    return function(name, identifier());
+                }
+                if (RESERVED.contains(name)) {
+                    throw new IllegalArgumentException("Unsupported keyword " + name);
+                }
+                return new Variable(name);
+            }
+            throw new IllegalArgumentException("Unsupported character " + c);
+        }
+
+        private void expect(char c) {
+            if (!consume(c)) {
+                throw new IllegalArgumentException("Expected " + c);
+            }
+        }
+
+        private String identifier() {
+            skipWhitespace();
+            final int start = pos;
+            if (pos >= input.length() || !Character.isJavaIdentifierStart(input.charAt(pos))) {
+                throw new IllegalArgumentException("Expected an identifier");
+            }
+            while (pos < input.length() && Character.isJavaIdentifierPart(input.charAt(pos))) {
+                pos++;
+            }
+            return input.substring(start, pos);
+        }
+
+        private String string(char quote) {
+            final StringBuilder sb = new StringBuilder();
+            pos++;
+            while (pos < input.length()) {
+                final char c = input.charAt(pos++);
+                if (c == quote) {
+                    return sb.toString();
+                } else if (c == '\\') {
+                    if (pos >= input.length()) {
+                        break;
+                    }
+                    final char escaped = input.charAt(pos++);
+                    if (escaped != '\\' && escaped != '"' && escaped != '\'') {
+                        throw new IllegalArgumentException("Unsupported escape");
+                    }
+                    sb.append(escaped);
+                } else {
+                    sb.append(c);
+                }
+            }
+            throw new IllegalArgumentException("Unterminated string");
+        }
+
+        private ColumnExpression number() {
+            final int start = pos;
+            boolean real = false;
+            while (pos < input.length() && Character.isDigit(input.charAt(pos))) {
+                pos++;
+            }
+            if (pos < input.length() && input.charAt(pos) == '.') {
+                real = true;
+                pos++;
+                while (pos < input.length() && Character.isDigit(input.charAt(pos))) {
+                    pos++;
+                }
+            }
+            if (pos < input.length() && (input.charAt(pos) == 'e' || input.charAt(pos) == 'E')) {
+                real = true;
+                pos++;
+                if (pos < input.length() && (input.charAt(pos) == '+' || input.charAt(pos) == '-')) {
+                    pos++;
+                }
+                while (pos < input.length() && Character.isDigit(input.charAt(pos))) {
+                    pos++;
+                }
+            }
+            final String text = input.substring(start, pos);
+            final char suffix = pos < input.length() ? input.charAt(pos) : ' ';
+            if (Character.isJavaIdentifierPart(suffix)) {
+                pos++;
+                if (real && (suffix == 'd' || suffix == 'D')) {
+                    return new Literal(Double.parseDouble(text), Type.DOUBLE);
+                } else if (real && (suffix == 'f' || suffix == 'F')) {
+                    return new Literal(Float.parseFloat(text), Type.DOUBLE);
+                }
+                throw new IllegalArgumentException("Unsupported number " + text + suffix);
+            }
+            if (real) {
+                // Real literals without a suffix are floats in JEXL
+                return new Literal(Float.parseFloat(text), Type.DOUBLE);
+            }
+            // Larger values are Longs or BigIntegers in JEXL, but behave the same here
+            return new Literal(Integer.parseInt(text), Type.INTEGRAL);
+        }
+
+        private ColumnExpression function(String namespace, String name) {
+            expect('(');
+            final List<ColumnExpression> arguments = new ArrayList<>();
+            if (!consume(')')) {
+                do {
+                    arguments.add(additive());
+                } while (consume(','));
+                expect(')');
+            }
+
+            switch (namespace) {
+                case "math":
+                case "strictmath":
+                    final boolean strict = "strictmath".equals(namespace);
+                    if (arguments.size() == 1 && (strict ? STRICTMATH_UNARY : MATH_UNARY).containsKey(name)) {
+                        return new MathFunction((strict ? STRICTMATH_UNARY : MATH_UNARY).get(name), null, arguments);
+                    } else if (arguments.size() == 2 && (strict ? STRICTMATH_BINARY : MATH_BINARY).containsKey(name)) {
+                        return new MathFunction(null, (strict ? STRICTMATH_BINARY : MATH_BINARY).get(name), arguments);
+                    }
+                    break;
+                case "fn":
+                    return arrayFunction(name, arguments);
+                case "jexl":
+                    if ("evaluate".equals(name) && arguments.size() == 1
+                            && (arguments.get(0) instanceof StringLiteral || arguments.get(0) instanceof Variable)) {
+                        return new Evaluate(arguments.get(0));
+                    }
+                    break;
+                default:
+            }
+            throw new IllegalArgumentException("Unsupported function " + namespace + ":" + name);
+        }
+
+        private static ColumnExpression arrayFunction(String name, List<ColumnExpression> arguments) {
+            final int expected = "arrayStart".equals(name) ? 3 : 2;
+            final boolean known = "arrayZero".equals(name) || "arrayFirst".equals(name)
+                    || "arrayNaN".equals(name) || "arrayStart".equals(name);
+            if (!known || arguments.size() != expected
+                    || !(arguments.get(0) instanceof StringLiteral)
+                    || !(arguments.get(1) instanceof Literal) || ((Literal) arguments.get(1)).type != Type.INTEGRAL) {
+                throw new IllegalArgumentException("Unsupported use of fn:" + name);
+            }
+            double start = Double.NaN;
+            if (expected == 3) {
+                if (!(arguments.get(2) instanceof Literal)) {
+                    throw new IllegalArgumentException("Unsupported use of fn:" + name);
+                }
+                start = ((Literal) arguments.get(2)).value;
+            }
+            return new ArrayFunction(name, ((StringLiteral) arguments.get(0)).value, (int) ((Literal) arguments.get(1)).value, start);
+        }
+    }
+}
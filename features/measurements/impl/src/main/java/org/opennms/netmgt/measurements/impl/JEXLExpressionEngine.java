@@ -21,9 +21,12 @@
  */
 package org.opennms.netmgt.measurements.impl;
 
+import java.util.BitSet;
 import java.util.LinkedHashMap;
 import java.util.Map;
+import java.util.Set;
 import java.util.SortedSet;
+import java.util.regex.Pattern;
 
 import org.apache.commons.jexl2.JexlContext;
 import org.apache.commons.jexl2.JexlException;
@@ -40,7 +43,13 @@ import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Component;
 
 import com.google.common.base.Preconditions;
+import com.google.common.base.Throwables;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheLoader;
+import com.google.common.cache.LoadingCache;
 import com.google.common.collect.Maps;
+import com.google.common.collect.Sets;
+import com.google.common.util.concurrent.UncheckedExecutionException;
 
 /**
  * An expression engine implemented using JEXL.
@@ -52,12 +61,44 @@ public class JEXLExpressionEngine implements ExpressionEngine {
 
     private static final Logger LOG = LoggerFactory.getLogger(JEXLExpressionEngine.class);
 
+    /**
+     * Matches the functions and variables that give an expression access to other rows:
+     * the sample array functions, the complete columns (i.e. <code>__label</code>), the
+     * row index and the time span. String constants evaluated with <code>jexl:</code>
+     * may refer to any of them.
+     */
+    private static final Pattern OTHER_ROWS = Pattern.compile("\\b(fn|jexl)\\s*:|(?<!\\w)__(?!(inf|neg_inf|E|PI|step)\\b)\\w+");
+
+    /**
+     * Set to false to evaluate all of the expressions row by row.
+     */
+    public static final String VECTORIZE_PROPERTY = "org.opennms.measurements.jexl.vectorize";
+
+    private static final int COMPILED_EXPRESSION_CACHE_SIZE = 1000;
+
     /**
      * Use a single instance of the JEXL engine, which is thread-safe.
      */
     private final OnmsJexlEngine jexl;
 
+    /**
+     * Graphs and dashboards send the same expressions over and over again,
+     * so keep them compiled.
+     */
+    private final LoadingCache<String, CompiledExpression> m_compiledExpressions;
+
+    private final boolean m_vectorize;
+
     public JEXLExpressionEngine() {
+        this(Boolean.parseBoolean(System.getProperty(VECTORIZE_PROPERTY, "true")));
+    }
+
+    /**
+     * @param vectorize whether expressions made of arithmetic and the supported functions
+     *                  are evaluated over complete columns instead of row by row
+     */
+    public JEXLExpressionEngine(final boolean vectorize) {
+        m_vectorize = vectorize;
         jexl = new OnmsJexlEngine();
         jexl.white(Math.class.getName());
         jexl.white(StrictMath.class.getName());
@@ -74,6 +115,28 @@ public class JEXLExpressionEngine implements ExpressionEngine {
         functions.put("fn", SampleArrayFunctions.class);
         
         jexl.setFunctions(functions);
+
+        m_compiledExpressions = CacheBuilder.newBuilder()
+                .maximumSize(COMPILED_EXPRESSION_CACHE_SIZE)
+                .build(new CacheLoader<String, CompiledExpression>() {
+                    @Override
+                    public CompiledExpression load(final String expression) {
+                        return new CompiledExpression(jexl.createExpression(expression), ColumnExpression.parse(expression));
+                    }
+                });
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean isStreamable(final QueryRequest request) {
+        for (final Expression e : request.getExpressions()) {
+            if (e.getExpression() != null && OTHER_ROWS.matcher(e.getExpression()).find()) {
+                return false;
+            }
+        }
+        return true;
     }
 
     /**
@@ -98,7 +161,7 @@ public class JEXLExpressionEngine implements ExpressionEngine {
 
         // Compile the expressions
         int j, k = 0;
-        final LinkedHashMap<String, org.apache.commons.jexl2.Expression> expressions = Maps.newLinkedHashMap();
+        final LinkedHashMap<String, CompiledExpression> expressions = Maps.newLinkedHashMap();
         for (final Expression e : request.getExpressions()) {
 
             // Populate the transientFlags array
@@ -109,7 +172,7 @@ public class JEXLExpressionEngine implements ExpressionEngine {
             k++;
 
             try {
-                expressions.put(e.getLabel(), jexl.createExpression(e.getExpression()));
+                expressions.put(e.getLabel(), compile(e.getExpression()));
             } catch (JexlException ex) {
                 throw new ExpressionException(ex, "Failed to parse expression. Label = '{}', Expression'{}'. Please check also the Jexl documentation for details: https://commons.apache.org/proper/commons-jexl/reference/syntax.html", e.getLabel(), e.getExpression());
             }
@@ -142,48 +205,41 @@ public class JEXLExpressionEngine implements ExpressionEngine {
         jexlValues.put("__diff_time", numRows < 1 ? 0d : timestamps[numRows-1] - timestamps[0]);
         jexlValues.put("__step", results.getStep());
 
+        // Evaluate complete columns at once when all of the expressions allow it
+        if (m_vectorize) {
+            final ColumnScope scope = new ColumnScope(expressions, timestamps, columns, jexlValues);
+            if (scope.isSupported()) {
+                final Map<String, double[]> expressionValues = scope.evaluate(context);
+                j = 0;
+                for (final String expressionLabel : expressions.keySet()) {
+                    if (!transientFlags[j++]) {
+                        columns.put(expressionLabel, expressionValues.get(expressionLabel));
+                    }
+                }
+                return;
+            }
+        }
+
         final double expressionValues[][] = new double[numNonTransientExpression][numRows];
 
         // Iterate through all of the rows, apply the expressions
         for (int i = 0; i < numRows; i++) {
             // Evaluate every expression, in the same order as which they appeared in the query
             j = k = 0;
-            for (final Map.Entry<String, org.apache.commons.jexl2.Expression> expressionEntry : expressions.entrySet()) {
-                // Update the timestamp
-                jexlValues.put("timestamp", timestamps[i]);
-                
-                // add index as a referenced variable in context
-                jexlValues.put("__i",Integer.valueOf(i));
-
-                // Add all of the values from the row to the context
-                // overwriting values from the last loop
-                for (final String sourceLabel : columns.keySet()) {
-                    jexlValues.put(sourceLabel, columns.get(sourceLabel)[i]);
-                    
-                    // add reference to complete array for each column to allow backwards referencing of samples
-                    jexlValues.put("__"+sourceLabel, columns.get(sourceLabel));
-                }
+            for (final Map.Entry<String, CompiledExpression> expressionEntry : expressions.entrySet()) {
+                putRow(jexlValues, timestamps, columns, i);
 
                 // Evaluate the expression
-                try {
-                    Object derived = expressionEntry.getValue().evaluate(context);
-                    double derivedAsDouble = Utils.toDouble(derived);
-
-                    // Only store the values for non-transient expressions
-                    if (!transientFlags[j++]) {
-                        expressionValues[k++][i] = derivedAsDouble;
-                    }
+                double derivedAsDouble = evaluate(expressionEntry.getKey(), expressionEntry.getValue(), context);
 
-                    // Store the result back in the context, so that it can be referenced
-                    // by subsequent expression in the row
-                    jexlValues.put(expressionEntry.getKey(), derivedAsDouble);
-                } catch (NullPointerException|NumberFormatException e) {
-                    throw new ExpressionException(e, "The return value from expression with label '" +
-                            expressionEntry.getKey() + "' could not be cast to a Double.");
-                } catch (JexlException e) {
-                    throw new ExpressionException(e, "Failed to evaluate expression with label '" +
-                            expressionEntry.getKey() + "'.");
+                // Only store the values for non-transient expressions
+                if (!transientFlags[j++]) {
+                    expressionValues[k++][i] = derivedAsDouble;
                 }
+
+                // Store the result back in the context, so that it can be referenced
+                // by subsequent expression in the row
+                jexlValues.put(expressionEntry.getKey(), derivedAsDouble);
             }
         }
 
@@ -195,4 +251,190 @@ public class JEXLExpressionEngine implements ExpressionEngine {
             }
         }
     }
+
+    private CompiledExpression compile(final String expression) {
+        if (expression == null) {
+            // Let JEXL decide, the cache does not support null keys
+            return new CompiledExpression(jexl.createExpression(expression), null);
+        }
+        try {
+            return m_compiledExpressions.getUnchecked(expression);
+        } catch (UncheckedExecutionException e) {
+            Throwables.throwIfUnchecked(e.getCause());
+            throw e;
+        }
+    }
+
+    private static void putRow(final Map<String, Object> jexlValues, final long timestamps[], final Map<String, double[]> columns, final int i) {
+        // Update the timestamp
+        jexlValues.put("timestamp", timestamps[i]);
+
+        // add index as a referenced variable in context
+        jexlValues.put("__i",Integer.valueOf(i));
+
+        // Add all of the values from the row to the context
+        // overwriting values from the last loop
+        for (final String sourceLabel : columns.keySet()) {
+            jexlValues.put(sourceLabel, columns.get(sourceLabel)[i]);
+
+            // add reference to complete array for each column to allow backwards referencing of samples
+            jexlValues.put("__"+sourceLabel, columns.get(sourceLabel));
+        }
+    }
+
+    private static double evaluate(final String label, final CompiledExpression expression, final JexlContext context) throws ExpressionException {
+        try {
+            Object derived = expression.getExpression().evaluate(context);
+            return Utils.toDouble(derived);
+        } catch (NullPointerException|NumberFormatException e) {
+            throw new ExpressionException(e, "The return value from expression with label '" +
+                    label + "' could not be cast to a Double.");
+        } catch (JexlException e) {
+            throw new ExpressionException(e, "Failed to evaluate expression with label '" +
+                    label + "'.");
+        }
+    }
+
+    /**
+     * An expression compiled by JEXL, along with its column-wise form, if any.
+     */
+    private static class CompiledExpression {
+        private final org.apache.commons.jexl2.Expression m_expression;
+        private final ColumnExpression m_columnExpression;
+
+        private CompiledExpression(final org.apache.commons.jexl2.Expression expression, final ColumnExpression columnExpression) {
+            m_expression = expression;
+            m_columnExpression = columnExpression;
+        }
+
+        public org.apache.commons.jexl2.Expression getExpression() {
+            return m_expression;
+        }
+
+        public ColumnExpression getColumnExpression() {
+            return m_columnExpression;
+        }
+    }
+
+    /**
+     * Binds the variables of the expressions to complete columns, resolving
+     * names in the same order as the JEXL context of the row-wise evaluation.
+     */
+    private class ColumnScope implements ColumnExpression.Scope {
+        private final Map<String, CompiledExpression> m_expressions;
+        private final long[] m_timestamps;
+        private final Map<String, double[]> m_columns;
+        private final Map<String, Object> m_jexlValues;
+
+        private final Map<String, double[]> m_evaluated = Maps.newHashMap();
+        private final Set<String> m_pending = Sets.newHashSet();
+        private long[] m_index;
+
+        private ColumnScope(final Map<String, CompiledExpression> expressions, final long[] timestamps,
+                            final Map<String, double[]> columns, final Map<String, Object> jexlValues) {
+            m_expressions = expressions;
+            m_timestamps = timestamps;
+            m_columns = columns;
+            m_jexlValues = jexlValues;
+        }
+
+        /**
+         * @return true if all of the expressions can be evaluated column-wise
+         */
+        private boolean isSupported() {
+            m_pending.addAll(m_expressions.keySet());
+            try {
+                for (final Map.Entry<String, CompiledExpression> entry : m_expressions.entrySet()) {
+                    final ColumnExpression columnExpression = entry.getValue().getColumnExpression();
+                    if (columnExpression == null) {
+                        return false;
+                    }
+                    final ColumnExpression.Type type = columnExpression.type(this);
+                    if (type != ColumnExpression.Type.DOUBLE && type != ColumnExpression.Type.INTEGRAL) {
+                        return false;
+                    }
+                    // Only the type matters here
+                    m_evaluated.put(entry.getKey(), new double[0]);
+                    m_pending.remove(entry.getKey());
+                }
+                return true;
+            } finally {
+                m_evaluated.clear();
+                m_pending.clear();
+            }
+        }
+
+        private Map<String, double[]> evaluate(final JexlContext context) throws ExpressionException {
+            final int numRows = getRowCount();
+            final BitSet jexlRows = new BitSet(numRows);
+            m_pending.addAll(m_expressions.keySet());
+            for (final Map.Entry<String, CompiledExpression> entry : m_expressions.entrySet()) {
+                final double[] values = entry.getValue().getColumnExpression().evaluate(this, jexlRows).toArray(numRows);
+
+                // Leave the rows JEXL has to decide on, i.e. divisions by zero, to JEXL
+                for (int i = jexlRows.nextSetBit(0); i >= 0; i = jexlRows.nextSetBit(i + 1)) {
+                    putRow(m_jexlValues, m_timestamps, m_columns, i);
+                    for (final Map.Entry<String, double[]> evaluated : m_evaluated.entrySet()) {
+                        m_jexlValues.put(evaluated.getKey(), evaluated.getValue()[i]);
+                    }
+                    values[i] = JEXLExpressionEngine.evaluate(entry.getKey(), entry.getValue(), context);
+                }
+                jexlRows.clear();
+
+                m_evaluated.put(entry.getKey(), values);
+                m_pending.remove(entry.getKey());
+            }
+            return m_evaluated;
+        }
+
+        @Override
+        public int getRowCount() {
+            return m_timestamps.length;
+        }
+
+        @Override
+        public Object lookup(final String name) {
+            if (m_evaluated.containsKey(name)) {
+                return m_evaluated.get(name);
+            } else if (m_pending.contains(name)) {
+                // The row-wise evaluation would see the value of the previous row
+                return null;
+            } else if (m_columns.containsKey(name)) {
+                return m_columns.get(name);
+            } else if (name.startsWith("__") && m_columns.containsKey(name.substring(2))) {
+                // Complete arrays are only supported by the sample array functions
+                return null;
+            } else if ("timestamp".equals(name)) {
+                return m_timestamps;
+            } else if ("__i".equals(name)) {
+                if (m_index == null) {
+                    m_index = new long[m_timestamps.length];
+                    for (int i = 0; i < m_index.length; i++) {
+                        m_index[i] = i;
+                    }
+                }
+                return m_index;
+            }
+            return m_jexlValues.get(name);
+        }
+
+        @Override
+        public double[] getSourceColumn(final String name) {
+            final String arrayName = "__" + name;
+            if (m_evaluated.containsKey(arrayName) || m_pending.contains(arrayName)) {
+                return null;
+            }
+            return m_columns.get(name);
+        }
+
+        @Override
+        public ColumnExpression parse(final String formula) {
+            try {
+                return compile(formula).getColumnExpression();
+            } catch (RuntimeException e) {
+                // jexl:evaluate yields NaN for these
+                return null;
+            }
+        }
+    }
 }
@@ -29,6 +29,7 @@ import org.jrobin.data.DataProcessor;
 import org.opennms.netmgt.measurements.api.FetchResults;
 import org.opennms.netmgt.measurements.model.QueryMetadata;
 import org.opennms.netmgt.measurements.model.Source;
+import org.opennms.netmgt.rrd.jrobin.CachingJRobinRrdStrategy;
 
 import com.google.common.collect.Maps;
 
@@ -75,6 +76,9 @@ public class JrobinFetchStrategy extends AbstractRrdBasedFetchStrategy {
                     source.getAggregation());
         }
 
+        // Write the updates that CachingJRobinRrdStrategy still holds for these files
+        CachingJRobinRrdStrategy.flushFiles(rrdsBySource.values());
+
         try {
             dproc.processData();
         } catch (IOException e) {
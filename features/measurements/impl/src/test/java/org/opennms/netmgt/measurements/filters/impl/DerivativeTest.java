@@ -23,6 +23,7 @@ package org.opennms.netmgt.measurements.filters.impl;
 
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.List;
 
 import org.junit.Assert;
 import org.junit.Test;
@@ -32,6 +33,7 @@ import org.junit.runners.Parameterized.Parameters;
 import org.opennms.netmgt.measurements.api.Filter;
 import org.opennms.netmgt.measurements.model.FilterDef;
 
+import com.google.common.collect.Lists;
 import com.google.common.collect.RowSortedTable;
 import com.google.common.collect.TreeBasedTable;
 
@@ -87,4 +89,30 @@ public class DerivativeTest extends AnalyticsFilterTest {
             Assert.assertEquals(outputValues[(int)k], table.get(k, "Y"), 0.0001);
         }
     }
+
+    @Test
+    public void canCalculateInChunks() throws Exception {
+        FilterDef filterDef = new FilterDef("Derivative",
+                "inputColumn", "X",
+                "outputColumn", "Y");
+        List<Filter> filters = getFilterEngine().getFilters(Lists.newArrayList(filterDef));
+        Assert.assertTrue(filters.get(0).isStreamable());
+
+        // Apply the same filters to each half of the rows
+        final int half = inputValues.length / 2;
+        for (int offset : new int[] { 0, half }) {
+            final int end = offset == 0 ? half : inputValues.length;
+            RowSortedTable<Long, String, Double> table = TreeBasedTable.create();
+            for (int k = offset; k < end; k++) {
+                table.put(Long.valueOf(k - offset), Filter.TIMESTAMP_COLUMN_NAME, (double)k*1000);
+                table.put(Long.valueOf(k - offset), "X", inputValues[k]);
+            }
+
+            getFilterEngine().applyFilters(filters, table);
+
+            for (int k = offset; k < end; k++) {
+                Assert.assertEquals(outputValues[k], table.get(Long.valueOf(k - offset), "Y"), 0.0001);
+            }
+        }
+    }
 }
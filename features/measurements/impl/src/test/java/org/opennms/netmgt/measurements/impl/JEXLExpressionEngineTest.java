@@ -21,7 +21,10 @@
  */
 package org.opennms.netmgt.measurements.impl;
 
+import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
 
 import java.awt.Point;
 import java.util.Map;
@@ -35,6 +38,7 @@ import org.opennms.netmgt.measurements.model.Expression;
 import org.opennms.netmgt.measurements.model.QueryRequest;
 import org.opennms.netmgt.measurements.model.Source;
 
+import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.Lists;
 import com.google.common.collect.Maps;
 
@@ -53,6 +57,26 @@ public class JEXLExpressionEngineTest {
         performExpression("!(!true)");
     }
 
+    @Test
+    public void canDetectExpressionsReferringToOtherRows() {
+        assertTrue(isStreamable("x * 5 + __step / 1000 + timestamp"));
+        assertTrue(isStreamable("x == __inf || x == __neg_inf ? NaN : math:sin(x * __PI)"));
+        assertFalse(isStreamable("x / __diff_time"));
+        assertFalse(isStreamable("__i > 0 ? x : NaN"));
+        assertFalse(isStreamable("x - __x[0]"));
+        assertFalse(isStreamable("fn:arrayNaN(__x, __i - 1)"));
+        assertFalse(isStreamable("jexl:evaluate(\"_ifHighSpeed * 1000000\")"));
+    }
+
+    private boolean isStreamable(String expression) {
+        QueryRequest request = new QueryRequest();
+        Expression exp = new Expression();
+        exp.setLabel("y");
+        exp.setExpression(expression);
+        request.setExpressions(Lists.newArrayList(exp));
+        return jexlExpressionEngine.isStreamable(request);
+    }
+
     @Test
     public void canPerformLinearCombination() throws ExpressionException {
         double results[] = performExpression("x * 5 + 7");
@@ -394,12 +418,67 @@ public class JEXLExpressionEngineTest {
         assertEquals(10.0, results[0], DELTA);
     }
 
+    @Test
+    public void canEvaluateColumnWise() throws ExpressionException {
+        final Map<String, Object> constants = Maps.newHashMap();
+        constants.put("speed", 65);
+        constants.put("ratio", 0.5d);
+        constants.put("formula", "x * 8");
+
+        final String[] expressions = new String[] {
+                "x * 8",
+                "-1.0 * x * 8",
+                "(x + 1) % 3.0",
+                "speed / 0.62137 - x",
+                "x / (x + 0.5)",
+                "timestamp / 125.0d",
+                "__step / 1000",
+                "math:max(x, ratio) + strictmath:sqrt(x)",
+                "math:pow(x, 2)",
+                "fn:arrayNaN(\"x\", 1)",
+                "fn:arrayZero('x', 3) + fn:arrayStart('x', 2, 42.0)",
+                "jexl:evaluate(formula)",
+                "x > 50 ? x : NaN",
+        };
+        final JEXLExpressionEngine rowWise = new JEXLExpressionEngine(false);
+        for (String expression : expressions) {
+            final double[] expected = performExpression(rowWise, expression, constants);
+            final double[] actual = performExpression(jexlExpressionEngine, expression, constants);
+            assertArrayEquals(expression, expected, actual, 0.0);
+        }
+    }
+
+    @Test
+    public void canReferenceEarlierExpressionsColumnWise() throws ExpressionException {
+        final QueryRequest request = new QueryRequest();
+        final Expression bits = new Expression("bits", "x * 8", true);
+        final Expression mbits = new Expression("mbits", "bits / 1000000.0", false);
+        request.setExpressions(Lists.newArrayList(bits, mbits));
+
+        final FetchResults results = new FetchResults(new long[] { 1000, 2000 },
+                Maps.newHashMap(ImmutableMap.of("x", new double[] { 125000, 250000 })), 1, Maps.newHashMap(), null);
+        jexlExpressionEngine.applyExpressions(request, results);
+
+        assertFalse(results.getColumns().containsKey("bits"));
+        assertArrayEquals(new double[] { 1.0, 2.0 }, results.getColumns().get("mbits"), DELTA);
+    }
+
+    @Test(expected=ExpressionException.class)
+    public void failsOnDivisionByZeroColumnWise() throws ExpressionException {
+        // The first row divides by zero, JEXL decides what happens
+        performExpression("100.0 / x");
+    }
+
     private double[] performExpression(String expression) throws ExpressionException {
         Map<String, Object> constants = Maps.newHashMap();
         return performExpression(expression, constants);
     }
 
     private double[] performExpression(String expression, Map<String, Object> constants) throws ExpressionException {
+        return performExpression(jexlExpressionEngine, expression, constants);
+    }
+
+    private static double[] performExpression(ExpressionEngine engine, String expression, Map<String, Object> constants) throws ExpressionException {
         // Build a simple request with the given expression
         QueryRequest request = new QueryRequest();
 
@@ -425,7 +504,7 @@ public class JEXLExpressionEngineTest {
         FetchResults results = new FetchResults(timestamps, values, 1, constants, null);
 
         // Use the engine to evaluate the expression
-        jexlExpressionEngine.applyExpressions(request, results);
+        engine.applyExpressions(request, results);
 
         // Retrieve the results
         return results.getColumns().get("y");
@@ -21,16 +21,32 @@
  */
 package org.opennms.netmgt.measurements.impl;
 
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.jrobin.core.RrdDb;
+import org.jrobin.core.RrdDef;
 import org.jrobin.core.RrdException;
+import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.opennms.netmgt.measurements.api.FetchResults;
 import org.opennms.netmgt.measurements.model.QueryMetadata;
 import org.opennms.netmgt.measurements.model.Source;
+import org.opennms.netmgt.rrd.RrdAttributeType;
+import org.opennms.netmgt.rrd.RrdDataSource;
+import org.opennms.netmgt.rrd.jrobin.CachingJRobinRrdStrategy;
 
 import java.io.File;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Properties;
 
 public class JrobinFetchStrategyTest {
+    @Rule
+    public TemporaryFolder m_folder = new TemporaryFolder();
+
     @Test
     public void checkLongDataSourceName() throws RrdException {
         final JrobinFetchStrategy fetch = new JrobinFetchStrategy();
@@ -46,4 +62,43 @@ public class JrobinFetchStrategyTest {
         fetch.fetchMeasurements(1607394840000L, 1607999580000L, 363, 864,
                 rrdsBySource, constants, metadata);
     }
+
+    @Test
+    public void fetchesRowsPendingInCachingStrategy() throws Exception {
+        final Properties props = new Properties();
+        props.setProperty(CachingJRobinRrdStrategy.FLUSH_INTERVAL_PROPERTY, "0");
+        final CachingJRobinRrdStrategy strategy = new CachingJRobinRrdStrategy();
+        strategy.setConfigurationProperties(props);
+        try {
+            final RrdDef def = strategy.createDefinition("test", m_folder.getRoot().getAbsolutePath(), "foo", 300,
+                    Collections.singletonList(new RrdDataSource("bar", RrdAttributeType.GAUGE, 600, "U", "U")),
+                    Collections.singletonList("RRA:AVERAGE:0.5:1:2016"));
+            strategy.createFile(def);
+            final String rrdFile = def.getPath();
+
+            final RrdDb rrd = strategy.openFile(rrdFile);
+            for (int i = 1; i <= 4; i++) {
+                strategy.updateFile(rrd, "test", (1000000000L + i * 300) + ":42");
+            }
+            strategy.closeFile(rrd);
+
+            final Map<Source, String> rrdsBySource = new HashMap<>();
+            rrdsBySource.put(new Source("bar", "nodeSource[test:foo]", "bar", null, false), rrdFile);
+
+            final FetchResults results = new JrobinFetchStrategy().fetchMeasurements(1000000300000L, 1000001200000L, 300000, 0,
+                    rrdsBySource, new HashMap<>(), new QueryMetadata());
+
+            // The rows are only in the file if they were written before the fetch
+            int known = 0;
+            for (final double value : results.getColumns().get("bar")) {
+                if (!Double.isNaN(value)) {
+                    assertEquals(42.0, value, 0.0);
+                    known++;
+                }
+            }
+            assertTrue(known > 0);
+        } finally {
+            strategy.destroy();
+        }
+    }
 }
@@ -37,14 +37,19 @@ import javax.ws.rs.core.MediaType;
 import javax.ws.rs.core.Response;
 import javax.ws.rs.core.Response.Status;
 
+import org.codehaus.jackson.jaxrs.JacksonJaxbJsonProvider;
+import org.codehaus.jackson.map.ObjectMapper;
+
 import com.google.common.base.Preconditions;
 import com.google.common.collect.Lists;
 
 import org.opennms.netmgt.measurements.api.FilterEngine;
 import org.opennms.netmgt.measurements.api.MeasurementsService;
+import org.opennms.netmgt.measurements.api.QueryResponseStream;
 import org.opennms.netmgt.measurements.api.exceptions.ExpressionException;
 import org.opennms.netmgt.measurements.api.exceptions.FetchException;
 import org.opennms.netmgt.measurements.api.exceptions.FilterException;
+import org.opennms.netmgt.measurements.api.exceptions.MeasurementException;
 import org.opennms.netmgt.measurements.api.exceptions.ResourceNotFoundException;
 import org.opennms.netmgt.measurements.api.exceptions.ValidationException;
 import org.opennms.netmgt.measurements.model.FilterMetaData;
@@ -57,7 +62,9 @@ import org.slf4j.helpers.MessageFormatter;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Scope;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 /**
  * The Measurements API provides read-only access to values
@@ -90,6 +97,9 @@ public class MeasurementsRestService {
     @Autowired
     private FilterEngine filterEngine;
 
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
     @GET
     @Path("filters")
     @Produces({MediaType.APPLICATION_XML, MediaType.APPLICATION_JSON, MediaType.APPLICATION_ATOM_XML})
@@ -167,16 +177,8 @@ public class MeasurementsRestService {
         QueryResponse response = null;
         try {
             response = service.query(request);
-        } catch (ExpressionException e) {
-            throw getException(Status.BAD_REQUEST, e, "An error occurred while evaluating an expression: {}", e.getMessage());
-        } catch (FilterException  | ValidationException e) {
-            throw getException(Status.BAD_REQUEST, e, e.getMessage());
-        } catch (ResourceNotFoundException e) {
-            throw getException(Status.NOT_FOUND, e, e.getMessage());
-        } catch (FetchException e) {
-            throw getException(Status.INTERNAL_SERVER_ERROR, e, e.getMessage());
         } catch (Exception e) {
-            throw getException(Status.INTERNAL_SERVER_ERROR, e, "Query failed: {}", e.getMessage());
+            throw getQueryException(e);
         }
 
         // Return a 204 if there are no columns
@@ -187,6 +189,87 @@ public class MeasurementsRestService {
         return response;
     }
 
+    /**
+     * Performs the same query as {@link #query(QueryRequest)}, but executes it in
+     * consecutive time windows of at most <code>chunkrows</code> rows and writes the
+     * results as they become available, so the memory used does not depend on the
+     * requested time range.
+     *
+     * The response is a JSON array with one query response per window. Only the
+     * first one contains the constants and the metadata. If a window fails once the
+     * response was started, the array ends with an <code>{"error":"..."}</code> element.
+     */
+    @POST
+    @Path("stream")
+    @Consumes({MediaType.APPLICATION_XML, MediaType.APPLICATION_JSON})
+    @Produces(MediaType.APPLICATION_JSON)
+    @Transactional(readOnly=true)
+    public Response stream(final QueryRequest request,
+            @DefaultValue("1000") @QueryParam("chunkrows") final int chunkRows) {
+        Preconditions.checkState(service != null);
+        LOG.debug("Streaming query with {} in chunks of {} rows", request, chunkRows);
+        // The chunks after the first ones are fetched while the response is written
+        final TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.setReadOnly(true);
+        final ObjectMapper mapper = new JacksonJaxbJsonProvider().locateMapper(QueryResponse.class, MediaType.APPLICATION_JSON_TYPE);
+
+        final QueryResponseStreamingOutput output;
+        try {
+            final QueryResponseStream stream = service.stream(request, chunkRows);
+            output = QueryResponseStreamingOutput.open(mapper, () -> {
+                try {
+                    return transactionTemplate.execute(status -> {
+                        try {
+                            return stream.next();
+                        } catch (MeasurementException e) {
+                            throw new WrappedMeasurementException(e);
+                        }
+                    });
+                } catch (WrappedMeasurementException e) {
+                    throw e.getCause();
+                }
+            });
+        } catch (Exception e) {
+            throw getQueryException(e);
+        }
+
+        // Return a 204 if none of the chunks has any columns
+        if (output == null) {
+            throw getException(Status.NO_CONTENT, "No content.");
+        }
+
+        return Response.ok(output, MediaType.APPLICATION_JSON_TYPE).build();
+    }
+
+    /**
+     * Carries a {@link MeasurementException} out of a transaction callback.
+     */
+    private static class WrappedMeasurementException extends RuntimeException {
+        private static final long serialVersionUID = 1L;
+
+        private WrappedMeasurementException(final MeasurementException cause) {
+            super(cause);
+        }
+
+        @Override
+        public synchronized MeasurementException getCause() {
+            return (MeasurementException) super.getCause();
+        }
+    }
+
+    private static WebApplicationException getQueryException(final Exception e) {
+        if (e instanceof ExpressionException) {
+            return getException(Status.BAD_REQUEST, e, "An error occurred while evaluating an expression: {}", e.getMessage());
+        } else if (e instanceof FilterException || e instanceof ValidationException) {
+            return getException(Status.BAD_REQUEST, e, e.getMessage());
+        } else if (e instanceof ResourceNotFoundException) {
+            return getException(Status.NOT_FOUND, e, e.getMessage());
+        } else if (e instanceof FetchException) {
+            return getException(Status.INTERNAL_SERVER_ERROR, e, e.getMessage());
+        }
+        return getException(Status.INTERNAL_SERVER_ERROR, e, "Query failed: {}", e.getMessage());
+    }
+
     protected static WebApplicationException getException(final Status status, String msg, Object... params) throws WebApplicationException {
         if (params != null) msg = MessageFormatter.arrayFormat(msg, params).getMessage();
         LOG.error(msg);
@@ -0,0 +1,113 @@
+/*
+ * Licensed to The OpenNMS Group, Inc (TOG) under one or more
+ * contributor license agreements.  See the LICENSE.md file
+ * distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * TOG licenses this file to You under the GNU Affero General
+ * Public License Version 3 (the "License") or (at your option)
+ * any later version.  You may not use this file except in
+ * compliance with the License.  You may obtain a copy of the
+ * License at:
+ *
+ *      https://www.gnu.org/licenses/agpl-3.0.txt
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied.  See the License for the specific
+ * language governing permissions and limitations under the
+ * License.
+ */
+package org.opennms.web.rest.v1;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.ws.rs.core.StreamingOutput;
+
+import org.codehaus.jackson.JsonEncoding;
+import org.codehaus.jackson.JsonGenerator;
+import org.codehaus.jackson.map.ObjectMapper;
+import org.opennms.netmgt.measurements.api.QueryResponseStream;
+import org.opennms.netmgt.measurements.model.QueryResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Writes the chunks of a {@link QueryResponseStream} as a JSON array, fetching
+ * each chunk once the previous one was written.
+ *
+ * The status of the response is sent before the first chunk, so a query that
+ * fails on a later chunk can't be reported with an error status. Instead, the
+ * array ends with an element holding the error message:
+ * <code>{"error":"..."}</code>.
+ */
+class QueryResponseStreamingOutput implements StreamingOutput {
+
+    private static final Logger LOG = LoggerFactory.getLogger(QueryResponseStreamingOutput.class);
+
+    private final ObjectMapper mapper;
+    private final List<QueryResponse> head;
+    private final QueryResponseStream remaining;
+
+    private QueryResponseStreamingOutput(final ObjectMapper mapper, final List<QueryResponse> head, final QueryResponseStream remaining) {
+        this.mapper = mapper;
+        this.head = head;
+        this.remaining = remaining;
+    }
+
+    /**
+     * Reads the chunks up to the first one with columns, so that an empty result
+     * can still be answered with a status of its own.
+     *
+     * @return the output, or null if none of the chunks has any columns
+     */
+    static QueryResponseStreamingOutput open(final ObjectMapper mapper, final QueryResponseStream stream) throws Exception {
+        final List<QueryResponse> head = new ArrayList<>();
+        QueryResponse chunk;
+        do {
+            chunk = stream.next();
+            if (chunk == null) {
+                return null;
+            }
+            head.add(chunk);
+        } while (chunk.getColumns().length == 0);
+        return new QueryResponseStreamingOutput(mapper, head, stream);
+    }
+
+    @Override
+    public void write(final OutputStream out) throws IOException {
+        final JsonGenerator generator = mapper.getJsonFactory().createJsonGenerator(out, JsonEncoding.UTF8);
+        generator.writeStartArray();
+        for (final QueryResponse chunk : head) {
+            writeChunk(generator, chunk);
+        }
+        head.clear();
+        while (true) {
+            final QueryResponse chunk;
+            try {
+                chunk = remaining.next();
+            } catch (final Exception e) {
+                LOG.error("Streaming query failed: {}", e.getMessage(), e);
+                generator.writeStartObject();
+                generator.writeStringField("error", "Query failed: " + e.getMessage());
+                generator.writeEndObject();
+                break;
+            }
+            if (chunk == null) {
+                break;
+            }
+            writeChunk(generator, chunk);
+        }
+        generator.writeEndArray();
+        generator.close();
+    }
+
+    private void writeChunk(final JsonGenerator generator, final QueryResponse chunk) throws IOException {
+        mapper.writeValue(generator, chunk);
+        generator.flush();
+    }
+}
@@ -0,0 +1,103 @@
+/*
+ * Licensed to The OpenNMS Group, Inc (TOG) under one or more
+ * contributor license agreements.  See the LICENSE.md file
+ * distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * TOG licenses this file to You under the GNU Affero General
+ * Public License Version 3 (the "License") or (at your option)
+ * any later version.  You may not use this file except in
+ * compliance with the License.  You may obtain a copy of the
+ * License at:
+ *
+ *      https://www.gnu.org/licenses/agpl-3.0.txt
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied.  See the License for the specific
+ * language governing permissions and limitations under the
+ * License.
+ */
+package org.opennms.web.rest.v1;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+
+import java.io.ByteArrayOutputStream;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.Map;
+
+import javax.ws.rs.core.MediaType;
+
+import org.codehaus.jackson.JsonNode;
+import org.codehaus.jackson.jaxrs.JacksonJaxbJsonProvider;
+import org.codehaus.jackson.map.ObjectMapper;
+import org.junit.Test;
+import org.opennms.netmgt.measurements.api.QueryResponseStream;
+import org.opennms.netmgt.measurements.api.exceptions.FetchException;
+import org.opennms.netmgt.measurements.model.QueryResponse;
+
+public class QueryResponseStreamingOutputTest {
+
+    private final ObjectMapper mapper = new JacksonJaxbJsonProvider().locateMapper(QueryResponse.class, MediaType.APPLICATION_JSON_TYPE);
+
+    @Test
+    public void endsWithAnErrorWhenAChunkFails() throws Exception {
+        final Iterator<QueryResponse> chunks = Arrays.asList(chunk(1000, true), chunk(2000, true)).iterator();
+        final QueryResponseStreamingOutput output = QueryResponseStreamingOutput.open(mapper, () -> {
+            if (chunks.hasNext()) {
+                return chunks.next();
+            }
+            throw new FetchException(new RuntimeException("gone"), "Fetch failed: {}", "gone");
+        });
+        assertNotNull(output);
+
+        final JsonNode array = write(output);
+        assertEquals(3, array.size());
+        assertEquals(1000, array.get(0).get("timestamps").get(0).getLongValue());
+        assertEquals(2000, array.get(1).get("timestamps").get(0).getLongValue());
+        assertEquals("Query failed: Fetch failed: gone", array.get(2).get("error").getTextValue());
+    }
+
+    @Test
+    public void isEmptyWhenNoChunkHasColumns() throws Exception {
+        final Iterator<QueryResponse> chunks = Arrays.asList(chunk(1000, false), chunk(2000, false)).iterator();
+        assertNull(QueryResponseStreamingOutput.open(mapper, () -> chunks.hasNext() ? chunks.next() : null));
+        assertNull(QueryResponseStreamingOutput.open(mapper, QueryResponseStream.of(null)));
+    }
+
+    @Test
+    public void looksPastChunksWithoutColumns() throws Exception {
+        final Iterator<QueryResponse> chunks = Arrays.asList(chunk(1000, false), chunk(2000, true), chunk(3000, true)).iterator();
+        final QueryResponseStreamingOutput output = QueryResponseStreamingOutput.open(mapper, () -> chunks.hasNext() ? chunks.next() : null);
+        assertNotNull(output);
+
+        final JsonNode array = write(output);
+        assertEquals(3, array.size());
+        assertEquals(3000, array.get(2).get("timestamps").get(0).getLongValue());
+    }
+
+    private JsonNode write(final QueryResponseStreamingOutput output) throws Exception {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        output.write(out);
+        // Fails if the array wasn't closed
+        return mapper.readTree(out.toByteArray());
+    }
+
+    private static QueryResponse chunk(final long timestamp, final boolean withColumns) {
+        final QueryResponse response = new QueryResponse();
+        response.setStep(1000);
+        response.setStart(timestamp);
+        response.setEnd(timestamp + 1000);
+        response.setTimestamps(new long[] { timestamp });
+        final Map<String, double[]> columns = withColumns
+                ? Collections.singletonMap("x", new double[] { 1d })
+                : Collections.emptyMap();
+        response.setColumns(columns);
+        return response;
+    }
+}
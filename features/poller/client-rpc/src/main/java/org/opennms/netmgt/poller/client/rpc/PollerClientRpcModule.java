@@ -45,7 +45,7 @@ public class PollerClientRpcModule extends AbstractXmlRpcModule<PollerRequestDTO
     private Executor executor;
 
     public PollerClientRpcModule() {
-        super(PollerRequestDTO.class, PollerResponseDTO.class);
+        super(PollerRequestDTO.class, PollerResponseDTO.class, new PollerRequestCodec(), new PollerResponseCodec());
     }
 
     @Override
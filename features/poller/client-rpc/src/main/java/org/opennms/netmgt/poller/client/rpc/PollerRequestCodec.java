@@ -0,0 +1,130 @@
+/*
+ * Licensed to The OpenNMS Group, Inc (TOG) under one or more
+ * contributor license agreements.  See the LICENSE.md file
+ * distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * TOG licenses this file to You under the GNU Affero General
+ * Public License Version 3 (the "License") or (at your option)
+ * any later version.  You may not use this file except in
+ * compliance with the License.  You may obtain a copy of the
+ * License at:
+ *
+ *      https://www.gnu.org/licenses/agpl-3.0.txt
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied.  See the License for the specific
+ * language governing permissions and limitations under the
+ * License.
+ */
+package org.opennms.netmgt.poller.client.rpc;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+
+import org.opennms.core.xml.BinaryCodec;
+import org.opennms.netmgt.poller.client.rpc.model.PollerRpcProtos;
+
+import com.google.protobuf.ByteString;
+
+/**
+ * Encodes {@link PollerRequestDTO}s with the protobuf messages generated from <code>poller-rpc.proto</code>.
+ * <p>
+ * Requests with attributes holding objects, i.e. the page sequence of the PageSequenceMonitor,
+ * are left to XML.
+ */
+class PollerRequestCodec implements BinaryCodec<PollerRequestDTO> {
+
+    @Override
+    public boolean canEncode(PollerRequestDTO request) {
+        for (PollerAttributeDTO attribute : request.getAttributes()) {
+            if (attribute.getContents() != null) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public void encode(PollerRequestDTO request, OutputStream out) throws IOException {
+        final PollerRpcProtos.PollerRequest.Builder builder = PollerRpcProtos.PollerRequest.newBuilder();
+        if (request.getLocation() != null) {
+            builder.setLocation(request.getLocation());
+        }
+        if (request.getSystemId() != null) {
+            builder.setSystemId(request.getSystemId());
+        }
+        if (request.getClassName() != null) {
+            builder.setClassName(request.getClassName());
+        }
+        if (request.getServiceName() != null) {
+            builder.setServiceName(request.getServiceName());
+        }
+        if (request.getAddress() != null) {
+            builder.setAddress(ByteString.copyFrom(request.getAddress().getAddress()));
+        }
+        if (request.getNodeId() != 0) {
+            builder.setNodeId(request.getNodeId());
+        }
+        if (request.getNodeLabel() != null) {
+            builder.setNodeLabel(request.getNodeLabel());
+        }
+        if (request.getNodeLocation() != null) {
+            builder.setNodeLocation(request.getNodeLocation());
+        }
+        for (PollerAttributeDTO attribute : request.getAttributes()) {
+            final PollerRpcProtos.PollerAttribute.Builder attributeBuilder = builder.addAttributesBuilder();
+            if (attribute.getKey() != null) {
+                attributeBuilder.setKey(attribute.getKey());
+            }
+            if (attribute.getValue() != null) {
+                attributeBuilder.setValue(attribute.getValue());
+            }
+        }
+        builder.build().writeTo(out);
+    }
+
+    @Override
+    public PollerRequestDTO decode(byte[] bytes, int offset, int length) throws IOException {
+        final PollerRpcProtos.PollerRequest message = PollerRpcProtos.PollerRequest.parser().parseFrom(bytes, offset, length);
+        final PollerRequestDTO request = new PollerRequestDTO();
+        if (message.hasLocation()) {
+            request.setLocation(message.getLocation());
+        }
+        if (message.hasSystemId()) {
+            request.setSystemId(message.getSystemId());
+        }
+        if (message.hasClassName()) {
+            request.setClassName(message.getClassName());
+        }
+        if (message.hasServiceName()) {
+            request.setServiceName(message.getServiceName());
+        }
+        if (message.hasAddress()) {
+            request.setAddress(InetAddress.getByAddress(message.getAddress().toByteArray()));
+        }
+        if (message.hasNodeId()) {
+            request.setNodeId(message.getNodeId());
+        }
+        if (message.hasNodeLabel()) {
+            request.setNodeLabel(message.getNodeLabel());
+        }
+        if (message.hasNodeLocation()) {
+            request.setNodeLocation(message.getNodeLocation());
+        }
+        for (PollerRpcProtos.PollerAttribute attributeMessage : message.getAttributesList()) {
+            final PollerAttributeDTO attribute = new PollerAttributeDTO();
+            if (attributeMessage.hasKey()) {
+                attribute.setKey(attributeMessage.getKey());
+            }
+            if (attributeMessage.hasValue()) {
+                attribute.setValue(attributeMessage.getValue());
+            }
+            request.getAttributes().add(attribute);
+        }
+        return request;
+    }
+}
@@ -0,0 +1,99 @@
+/*
+ * Licensed to The OpenNMS Group, Inc (TOG) under one or more
+ * contributor license agreements.  See the LICENSE.md file
+ * distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * TOG licenses this file to You under the GNU Affero General
+ * Public License Version 3 (the "License") or (at your option)
+ * any later version.  You may not use this file except in
+ * compliance with the License.  You may obtain a copy of the
+ * License at:
+ *
+ *      https://www.gnu.org/licenses/agpl-3.0.txt
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied.  See the License for the specific
+ * language governing permissions and limitations under the
+ * License.
+ */
+package org.opennms.netmgt.poller.client.rpc;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.opennms.core.xml.BinaryCodec;
+import org.opennms.netmgt.poller.PollStatus;
+import org.opennms.netmgt.poller.client.rpc.model.PollerRpcProtos;
+
+/**
+ * Encodes {@link PollerResponseDTO}s with the protobuf messages generated from <code>poller-rpc.proto</code>.
+ * <p>
+ * The properties of the poll status keep their order and are always decoded as doubles.
+ * Responses holding a device configuration are left to XML.
+ */
+class PollerResponseCodec implements BinaryCodec<PollerResponseDTO> {
+
+    @Override
+    public boolean canEncode(PollerResponseDTO response) {
+        return response.getPollStatus() == null || response.getPollStatus().getDeviceConfig() == null;
+    }
+
+    @Override
+    public void encode(PollerResponseDTO response, OutputStream out) throws IOException {
+        final PollerRpcProtos.PollerResponse.Builder builder = PollerRpcProtos.PollerResponse.newBuilder();
+        if (response.getErrorMessage() != null) {
+            builder.setError(response.getErrorMessage());
+        }
+        final PollStatus pollStatus = response.getPollStatus();
+        if (pollStatus != null) {
+            final PollerRpcProtos.PollStatus.Builder pollStatusBuilder = builder.getPollStatusBuilder()
+                    .setStatusCode(pollStatus.getStatusCode());
+            if (pollStatus.getTimestamp() != null) {
+                pollStatusBuilder.setTimestamp(pollStatus.getTimestamp().getTime());
+            }
+            if (pollStatus.getReason() != null) {
+                pollStatusBuilder.setReason(pollStatus.getReason());
+            }
+            for (Map.Entry<String, Number> property : pollStatus.getProperties().entrySet()) {
+                final PollerRpcProtos.PollStatusProperty.Builder propertyBuilder = pollStatusBuilder.addPropertiesBuilder();
+                if (property.getKey() != null) {
+                    propertyBuilder.setKey(property.getKey());
+                }
+                if (property.getValue() != null) {
+                    propertyBuilder.setValue(property.getValue().doubleValue());
+                }
+            }
+        }
+        builder.build().writeTo(out);
+    }
+
+    @Override
+    public PollerResponseDTO decode(byte[] bytes, int offset, int length) throws IOException {
+        final PollerRpcProtos.PollerResponse message = PollerRpcProtos.PollerResponse.parser().parseFrom(bytes, offset, length);
+        final PollerResponseDTO response = new PollerResponseDTO();
+        if (message.hasError()) {
+            response.setErrorMessage(message.getError());
+        }
+        if (message.hasPollStatus()) {
+            response.setPollStatus(toPollStatus(message.getPollStatus()));
+        }
+        return response;
+    }
+
+    private static PollStatus toPollStatus(PollerRpcProtos.PollStatus message) {
+        final PollStatus pollStatus = PollStatus.get(message.getStatusCode(), message.hasReason() ? message.getReason() : null);
+        pollStatus.setTimestamp(message.hasTimestamp() ? new Date(message.getTimestamp()) : null);
+        final Map<String, Number> properties = new LinkedHashMap<>();
+        for (PollerRpcProtos.PollStatusProperty property : message.getPropertiesList()) {
+            properties.put(property.hasKey() ? property.getKey() : null, property.hasValue() ? property.getValue() : null);
+        }
+        pollStatus.setProperties(properties);
+        return pollStatus;
+    }
+}
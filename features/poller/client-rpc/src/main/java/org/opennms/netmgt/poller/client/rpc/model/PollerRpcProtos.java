@@ -0,0 +1,5374 @@
+/*
+ * Licensed to The OpenNMS Group, Inc (TOG) under one or more
+ * contributor license agreements.  See the LICENSE.md file
+ * distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * TOG licenses this file to You under the GNU Affero General
+ * Public License Version 3 (the "License") or (at your option)
+ * any later version.  You may not use this file except in
+ * compliance with the License.  You may obtain a copy of the
+ * License at:
+ *
+ *      https://www.gnu.org/licenses/agpl-3.0.txt
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied.  See the License for the specific
+ * language governing permissions and limitations under the
+ * License.
+ */
+// Generated by the protocol buffer compiler.  DO NOT EDIT!
+// source: poller-rpc.proto
+
+package org.opennms.netmgt.poller.client.rpc.model;
+
+public final class PollerRpcProtos {
+  private PollerRpcProtos() {}
+  public static void registerAllExtensions(
+      com.google.protobuf.ExtensionRegistryLite registry) {
+  }
+
+  public static void registerAllExtensions(
+      com.google.protobuf.ExtensionRegistry registry) {
+    registerAllExtensions(
+        (com.google.protobuf.ExtensionRegistryLite) registry);
+  }
+  public interface PollerRequestOrBuilder extends
+      // @@protoc_insertion_point(interface_extends:PollerRequest)
+      com.google.protobuf.MessageOrBuilder {
+
+    /**
+     * <code>optional string location = 1;</code>
+     * @return Whether the location field is set.
+     */
+    boolean hasLocation();
+    /**
+     * <code>optional string location = 1;</code>
+     * @return The location.
+     */
+    java.lang.String getLocation();
+    /**
+     * <code>optional string location = 1;</code>
+     * @return The bytes for location.
+     */
+    com.google.protobuf.ByteString
+        getLocationBytes();
+
+    /**
+     * <code>optional string system_id = 2;</code>
+     * @return Whether the systemId field is set.
+     */
+    boolean hasSystemId();
+    /**
+     * <code>optional string system_id = 2;</code>
+     * @return The systemId.
+     */
+    java.lang.String getSystemId();
+    /**
+     * <code>optional string system_id = 2;</code>
+     * @return The bytes for systemId.
+     */
+    com.google.protobuf.ByteString
+        getSystemIdBytes();
+
+    /**
+     * <code>optional string class_name = 3;</code>
+     * @return Whether the className field is set.
+     */
+    boolean hasClassName();
+    /**
+     * <code>optional string class_name = 3;</code>
+     * @return The className.
+     */
+    java.lang.String getClassName();
+    /**
+     * <code>optional string class_name = 3;</code>
+     * @return The bytes for className.
+     */
+    com.google.protobuf.ByteString
+        getClassNameBytes();
+
+    /**
+     * <code>optional string service_name = 4;</code>
+     * @return Whether the serviceName field is set.
+     */
+    boolean hasServiceName();
+    /**
+     * <code>optional string service_name = 4;</code>
+     * @return The serviceName.
+     */
+    java.lang.String getServiceName();
+    /**
+     * <code>optional string service_name = 4;</code>
+     * @return The bytes for serviceName.
+     */
+    com.google.protobuf.ByteString
+        getServiceNameBytes();
+
+    /**
+     * <code>optional bytes address = 5;</code>
+     * @return Whether the address field is set.
+     */
+    boolean hasAddress();
+    /**
+     * <code>optional bytes address = 5;</code>
+     * @return The address.
+     */
+    com.google.protobuf.ByteString getAddress();
+
+    /**
+     * <code>optional int32 node_id = 6;</code>
+     * @return Whether the nodeId field is set.
+     */
+    boolean hasNodeId();
+    /**
+     * <code>optional int32 node_id = 6;</code>
+     * @return The nodeId.
+     */
+    int getNodeId();
+
+    /**
+     * <code>optional string node_label = 7;</code>
+     * @return Whether the nodeLabel field is set.
+     */
+    boolean hasNodeLabel();
+    /**
+     * <code>optional string node_label = 7;</code>
+     * @return The nodeLabel.
+     */
+    java.lang.String getNodeLabel();
+    /**
+     * <code>optional string node_label = 7;</code>
+     * @return The bytes for nodeLabel.
+     */
+    com.google.protobuf.ByteString
+        getNodeLabelBytes();
+
+    /**
+     * <code>optional string node_location = 8;</code>
+     * @return Whether the nodeLocation field is set.
+     */
+    boolean hasNodeLocation();
+    /**
+     * <code>optional string node_location = 8;</code>
+     * @return The nodeLocation.
+     */
+    java.lang.String getNodeLocation();
+    /**
+     * <code>optional string node_location = 8;</code>
+     * @return The bytes for nodeLocation.
+     */
+    com.google.protobuf.ByteString
+        getNodeLocationBytes();
+
+    /**
+     * <code>repeated .PollerAttribute attributes = 9;</code>
+     */
+    java.util.List<org.opennms.netmgt.poller.client.rpc.model.PollerRpcProtos.PollerAttribute> 
+        getAttributesList();
+    /**
+     * <code>repeated .PollerAttribute attributes = 9;</code>
+     */
+    org.opennms.netmgt.poller.client.rpc.model.PollerRpcProtos.PollerAttribute getAttributes(int index);
+    /**
+     * <code>repeated .PollerAttribute attributes = 9;</code>
+     */
+    int getAttributesCount();
+    /**
+     * <code>repeated .PollerAttribute attributes = 9;</code>
+     */
+    java.util.List<? extends org.opennms.netmgt.poller.client.rpc.model.PollerRpcProtos.PollerAttributeOrBuilder> 
+        getAttributesOrBuilderList();
+    /**
+     * <code>repeated .PollerAttribute attributes = 9;</code>
+     */
+    org.opennms.netmgt.poller.client.rpc.model.PollerRpcProtos.PollerAttributeOrBuilder getAttributesOrBuilder(
+        int index);
+  }
+  /**
+   * Protobuf type {@code PollerRequest}
+   */
+  public static final class PollerRequest extends
+      com.google.protobuf.GeneratedMessageV3 implements
+      // @@protoc_insertion_point(message_implements:PollerRequest)
+      PollerRequestOrBuilder {
+  private static final long serialVersionUID = 0L;
+    // Use PollerRequest.newBuilder() to construct.
+    private PollerRequest(com.google.protobuf.GeneratedMessageV3.Builder<?> builder) {
+      super(builder);
+    }
+    private PollerRequest() {
+      location_ = "";
+      systemId_ = "";
+      className_ = "";
+      serviceName_ = "";
+      address_ = com.google.protobuf.ByteString.EMPTY;
+      nodeLabel_ = "";
+      nodeLocation_ = "";
+      attributes_ = java.util.Collections.emptyList();
+    }
+
+    @java.lang.Override
+    @SuppressWarnings({"unused"})
+    protected java.lang.Object newInstance(
+        UnusedPrivateParameter unused) {
+      return new PollerRequest();
+    }
+
+    public static final com.google.protobuf.Descriptors.Descriptor
+        getDescriptor() {
+      return org.opennms.netmgt.poller.client.rpc.model.PollerRpcProtos.internal_static_PollerRequest_descriptor;
+    }
+
+    @java.lang.Override
+    protected com.google.protobuf.GeneratedMessageV3.FieldAccessorTable
+        internalGetFieldAccessorTable() {
+      return org.opennms.netmgt.poller.client.rpc.model.PollerRpcProtos.internal_static_PollerRequest_fieldAccessorTable
+          .ensureFieldAccessorsInitialized(
+              org.opennms.netmgt.poller.client.rpc.model.PollerRpcProtos.PollerRequest.class, org.opennms.netmgt.poller.client.rpc.model.PollerRpcProtos.PollerRequest.Builder.class);
+    }
+
+    private int bitField0_;
+    public static final int LOCATION_FIELD_NUMBER = 1;
+    @SuppressWarnings("serial")
+    private volatile java.lang.Object location_ = "";
+    /**
+     * <code>optional string location = 1;</code>
+     * @return Whether the location field is set.
+     */
+    @java.lang.Override
+    public boolean hasLocation() {
+      return ((bitField0_ & 0x00000001) != 0);
+    }
+    /**
+     * <code>optional string location = 1;</code>
+     * @return The location.
+     */
+    @java.lang.Override
+    public java.lang.String getLocation() {
+      java.lang.Object ref = location_;
+      if (ref instanceof java.lang.String) {
+        return (java.lang.String) ref;
+      } else {
+        com.google.protobuf.ByteString bs = 
+            (com.google.protobuf.ByteString) ref;
+        java.lang.String s = bs.toStringUtf8();
+        location_ = s;
+        return s;
+      }
+    }
+    /**
+     * <code>optional string location = 1;</code>
+     * @return The bytes for location.
+     */
+    @java.lang.Override
+    public com.google.protobuf.ByteString
+        getLocationBytes() {
+      java.lang.Object ref = location_;
+      if (ref instanceof java.lang.String) {
+        com.google.protobuf.ByteString b = 
+            com.google.protobuf.ByteString.copyFromUtf8(
+                (java.lang.String) ref);
+        location_ = b;
+        return b;
+      } else {
+        return (com.google.protobuf.ByteString) ref;
+      }
+    }
+
+    public static final int SYSTEM_ID_FIELD_NUMBER = 2;
+    @SuppressWarnings("serial")
+    private volatile java.lang.Object systemId_ = "";
+    /**
+     * <code>optional string system_id = 2;</code>
+     * @return Whether the systemId field is set.
+     */
+    @java.lang.Override
+    public boolean hasSystemId() {
+      return ((bitField0_ & 0x00000002) != 0);
+    }
+    /**
+     * <code>optional string system_id = 2;</code>
+     * @return The systemId.
+     */
+    @java.lang.Override
+    public java.lang.String getSystemId() {
+      java.lang.Object ref = systemId_;
+      if (ref instanceof java.lang.String) {
+        return (java.lang.String) ref;
+      } else {
+        com.google.protobuf.ByteString bs = 
+            (com.google.protobuf.ByteString) ref;
+        java.lang.String s = bs.toStringUtf8();
+        systemId_ = s;
+        return s;
+      }
+    }
+    /**
+     * <code>optional string system_id = 2;</code>
+     * @return The bytes for systemId.
+     */
+    @java.lang.Override
+    public com.google.protobuf.ByteString
+        getSystemIdBytes() {
+      java.lang.Object ref = systemId_;
+      if (ref instanceof java.lang.String) {
+        com.google.protobuf.ByteString b = 
+            com.google.protobuf.ByteString.copyFromUtf8(
+                (java.lang.String) ref);
+        systemId_ = b;
+        return b;
+      } else {
+        return (com.google.protobuf.ByteString) ref;
+      }
+    }
+
+    public static final int CLASS_NAME_FIELD_NUMBER = 3;
+    @SuppressWarnings("serial")
+    private volatile java.lang.Object className_ = "";
+    /**
+     * <code>optional string class_name = 3;</code>
+     * @return Whether the className field is set.
+     */
+    @java.lang.Override
+    public boolean hasClassName() {
+      return ((bitField0_ & 0x00000004) != 0);
+    }
+    /**
+     * <code>optional string class_name = 3;</code>
+     * @return The className.
+     */
+    @java.lang.Override
+    public java.lang.String getClassName() {
+      java.lang.Object ref = className_;
+      if (ref instanceof java.lang.String) {
+        return (java.lang.String) ref;
+      } else {
+        com.google.protobuf.ByteString bs = 
+            (com.google.protobuf.ByteString) ref;
+        java.lang.String s = bs.toStringUtf8();
+        className_ = s;
+        return s;
+      }
+    }
+    /**
+     * <code>optional string class_name = 3;</code>
+     * @return The bytes for className.
+     */
+    @java.lang.Override
+    public com.google.protobuf.ByteString
+        getClassNameBytes() {
+      java.lang.Object ref = className_;
+      if (ref instanceof java.lang.String) {
+        com.google.protobuf.ByteString b = 
+            com.google.protobuf.ByteString.copyFromUtf8(
+                (java.lang.String) ref);
+        className_ = b;
+        return b;
+      } else {
+        return (com.google.protobuf.ByteString) ref;
+      }
+    }
+
+    public static final int SERVICE_NAME_FIELD_NUMBER = 4;
+    @SuppressWarnings("serial")
+    private volatile java.lang.Object serviceName_ = "";
+    /**
+     * <code>optional string service_name = 4;</code>
+     * @return Whether the serviceName field is set.
+     */
+    @java.lang.Override
+    public boolean hasServiceName() {
+      return ((bitField0_ & 0x00000008) != 0);
+    }
+    /**
+     * <code>optional string service_name = 4;</code>
+     * @return The serviceName.
+     */
+    @java.lang.Override
+    public java.lang.String getServiceName() {
+      java.lang.Object ref = serviceName_;
+      if (ref instanceof java.lang.String) {
+        return (java.lang.String) ref;
+      } else {
+        com.google.protobuf.ByteString bs = 
+            (com.google.protobuf.ByteString) ref;
+        java.lang.String s = bs.toStringUtf8();
+        serviceName_ = s;
+        return s;
+      }
+    }
+    /**
+     * <code>optional string service_name = 4;</code>
+     * @return The bytes for serviceName.
+     */
+    @java.lang.Override
+    public com.google.protobuf.ByteString
+        getServiceNameBytes() {
+      java.lang.Object ref = serviceName_;
+      if (ref instanceof java.lang.String) {
+        com.google.protobuf.ByteString b = 
+            com.google.protobuf.ByteString.copyFromUtf8(
+                (java.lang.String) ref);
+        serviceName_ = b;
+        return b;
+      } else {
+        return (com.google.protobuf.ByteString) ref;
+      }
+    }
+
+    public static final int ADDRESS_FIELD_NUMBER = 5;
+    private com.google.protobuf.ByteString address_ = com.google.protobuf.ByteString.EMPTY;
+    /**
+     * <code>optional bytes address = 5;</code>
+     * @return Whether the address field is set.
+     */
+    @java.lang.Override
+    public boolean hasAddress() {
+      return ((bitField0_ & 0x00000010) != 0);
+    }
+    /**
+     * <code>optional bytes address = 5;</code>
+     * @return The address.
+     */
+    @java.lang.Override
+    public com.google.protobuf.ByteString getAddress() {
+      return address_;
+    }
+
+    public static final int NODE_ID_FIELD_NUMBER = 6;
+    private int nodeId_ = 0;
+    /**
+     * <code>optional int32 node_id = 6;</code>
+     * @return Whether the nodeId field is set.
+     */
+    @java.lang.Override
+    public boolean hasNodeId() {
+      return ((bitField0_ & 0x00000020) != 0);
+    }
+    /**
+     * <code>optional int32 node_id = 6;</code>
+     * @return The nodeId.
+     */
+    @java.lang.Override
+    public int getNodeId() {
+      return nodeId_;
+    }
+
+    public static final int NODE_LABEL_FIELD_NUMBER = 7;
+    @SuppressWarnings("serial")
+    private volatile java.lang.Object nodeLabel_ = "";
+    /**
+     * <code>optional string node_label = 7;</code>
+     * @return Whether the nodeLabel field is set.
+     */
+    @java.lang.Override
+    public boolean hasNodeLabel() {
+      return ((bitField0_ & 0x00000040) != 0);
+    }
+    /**
+     * <code>optional string node_label = 7;</code>
+     * @return The nodeLabel.
+     */
+    @java.lang.Override
+    public java.lang.String getNodeLabel() {
+      java.lang.Object ref = nodeLabel_;
+      if (ref instanceof java.lang.String) {
+        return (java.lang.String) ref;
+      } else {
+        com.google.protobuf.ByteString bs = 
+            (com.google.protobuf.ByteString) ref;
+        java.lang.String s = bs.toStringUtf8();
+        nodeLabel_ = s;
+        return s;
+      }
+    }
+    /**
+     * <code>optional string node_label = 7;</code>
+     * @return The bytes for nodeLabel.
+     */
+    @java.lang.Override
+    public com.google.protobuf.ByteString
+        getNodeLabelBytes() {
+      java.lang.Object ref = nodeLabel_;
+      if (ref instanceof java.lang.String) {
+        com.google.protobuf.ByteString b = 
+            com.google.protobuf.ByteString.copyFromUtf8(
+                (java.lang.String) ref);
+        nodeLabel_ = b;
+        return b;
+      } else {
+        return (com.google.protobuf.ByteString) ref;
+      }
+    }
+
+    public static final int NODE_LOCATION_FIELD_NUMBER = 8;
+    @SuppressWarnings("serial")
+    private volatile java.lang.Object nodeLocation_ = "";
+    /**
+     * <code>optional string node_location = 8;</code>
+     * @return Whether the nodeLocation field is set.
+     */
+    @java.lang.Override
+    public boolean hasNodeLocation() {
+      return ((bitField0_ & 0x00000080) != 0);
+    }
+    /**
+     * <code>optional string node_location = 8;</code>
+     * @return The nodeLocation.
+     */
+    @java.lang.Override
+    public java.lang.String getNodeLocation() {
+      java.lang.Object ref = nodeLocation_;
+      if (ref instanceof java.lang.String) {
+        return (java.lang.String) ref;
+      } else {
+        com.google.protobuf.ByteString bs = 
+            (com.google.protobuf.ByteString) ref;
+        java.lang.String s = bs.toStringUtf8();
+        nodeLocation_ = s;
+        return s;
+      }
+    }
+    /**
+     * <code>optional string node_location = 8;</code>
+     * @return The bytes for nodeLocation.
+     */
+    @java.lang.Override
+    public com.google.protobuf.ByteString
+        getNodeLocationBytes() {
+      java.lang.Object ref = nodeLocation_;
+      if (ref instanceof java.lang.String) {
+        com.google.protobuf.ByteString b = 
+            com.google.protobuf.ByteString.copyFromUtf8(
+                (java.lang.String) ref);
+        nodeLocation_ = b;
+        return b;
+      } else {
+        return (com.google.protobuf.ByteString) ref;
+      }
+    }
+
+    public static final int ATTRIBUTES_FIELD_NUMBER = 9;
+    @SuppressWarnings("serial")
+    private java.util.List<org.opennms.netmgt.poller.client.rpc.model.PollerRpcProtos.PollerAttribute> attributes_;
+    /**
+     * <code>repeated .PollerAttribute attributes = 9;</code>
+     */
+    @java.lang.Override
+    public java.util.List<org.opennms.netmgt.poller.client.rpc.model.PollerRpcProtos.PollerAttribute> getAttributesList() {
+      return attributes_;
+    }
+    /**
+     * <code>repeated .PollerAttribute attributes = 9;</code>
+     */
+    @java.lang.Override
+    public java.util.List<? extends org.opennms.netmgt.poller.client.rpc.model.PollerRpcProtos.PollerAttributeOrBuilder> 
+        getAttributesOrBuilderList() {
+      return attributes_;
+    }
+    /**
+     * <code>repeated .PollerAttribute attributes = 9;</code>
+     */
+    @java.lang.Override
+    public int getAttributesCount() {
+      return attributes_.size();
+    }
+    /**
+     * <code>repeated .PollerAttribute attributes = 9;</code>
+     */
+    @java.lang.Override
+    public org.opennms.netmgt.poller.client.rpc.model.PollerRpcProtos.PollerAttribute getAttributes(int index) {
+      return attributes_.get(index);
+    }
+    /**
+     * <code>repeated .PollerAttribute attributes = 9;</code>
+     */
+    @java.lang.Override
+    public org.opennms.netmgt.poller.client.rpc.model.PollerRpcProtos.PollerAttributeOrBuilder getAttributesOrBuilder(
+        int index) {
+      return attributes_.get(index);
+    }
+
+    private byte memoizedIsInitialized = -1;
+    @java.lang.Override
+    public final boolean isInitialized() {
+      byte isInitialized = memoizedIsInitialized;
+      if (isInitialized == 1) return true;
+      if (isInitialized == 0) return false;
+
+      memoizedIsInitialized = 1;
+      return true;
+    }
+
+    @java.lang.Override
+    public void writeTo(com.google.protobuf.CodedOutputStream output)
+                        throws java.io.IOException {
+      if (((bitField0_ & 0x00000001) != 0)) {
+        com.google.protobuf.GeneratedMessageV3.writeString(output, 1, location_);
+      }
+      if (((bitField0_ & 0x00000002) != 0)) {
+        com.google.protobuf.GeneratedMessageV3.writeString(output, 2, systemId_);
+      }
+      if (((bitField0_ & 0x00000004) != 0)) {
+        com.google.protobuf.GeneratedMessageV3.writeString(output, 3, className_);
+      }
+      if (((bitField0_ & 0x00000008) != 0)) {
+        com.google.protobuf.GeneratedMessageV3.writeString(output, 4, serviceName_);
+      }
+      if (((bitField0_ & 0x00000010) != 0)) {
+        output.writeBytes(5, address_);
+      }
+      if (((bitField0_ & 0x00000020) != 0)) {
+        output.writeInt32(6, nodeId_);
+      }
+      if (((bitField0_ & 0x00000040) != 0)) {
+        com.google.protobuf.GeneratedMessageV3.writeString(output, 7, nodeLabel_);
+      }
+      if (((bitField0_ & 0x00000080) != 0)) {
+        com.google.protobuf.GeneratedMessageV3.writeString(output, 8, nodeLocation_);
+      }
+      for (int i = 0; i < attributes_.size(); i++) {
+        output.writeMessage(9, attributes_.get(i));
+      }
+      getUnknownFields().writeTo(output);
+    }
+
+    @java.lang.Override
+    public int getSerializedSize() {
+      int size = memoizedSize;
+      if (size != -1) return size;
+
+      size = 0;
+      if (((bitField0_ & 0x00000001) != 0)) {
+        size += com.google.protobuf.GeneratedMessageV3.computeStringSize(1, location_);
+      }
+      if (((bitField0_ & 0x00000002) != 0)) {
+        size += com.google.protobuf.GeneratedMessageV3.computeStringSize(2, systemId_);
+      }
+      if (((bitField0_ & 0x00000004) != 0)) {
+        size += com.google.protobuf.GeneratedMessageV3.computeStringSize(3, className_);
+      }
+      if (((bitField0_ & 0x00000008) != 0)) {
+        size += com.google.protobuf.GeneratedMessageV3.computeStringSize(4, serviceName_);
+      }
+      if (((bitField0_ & 0x00000010) != 0)) {
+        size += com.google.protobuf.CodedOutputStream
+          .computeBytesSize(5, address_);
+      }
+      if (((bitField0_ & 0x00000020) != 0)) {
+        size += com.google.protobuf.CodedOutputStream
+          .computeInt32Size(6, nodeId_);
+      }
+      if (((bitField0_ & 0x00000040) != 0)) {
+        size += com.google.protobuf.GeneratedMessageV3.computeStringSize(7, nodeLabel_);
+      }
+      if (((bitField0_ & 0x00000080) != 0)) {
+        size += com.google.protobuf.GeneratedMessageV3.computeStringSize(8, nodeLocation_);
+      }
+      for (int i = 0; i < attributes_.size(); i++) {
+        size += com.google.protobuf.CodedOutputStream
+          .computeMessageSize(9, attributes_.get(i));
+      }
+      size += getUnknownFields().getSerializedSize();
+      memoizedSize = size;
+      return size;
+    }
+
+    @java.lang.Override
+    public boolean equals(final java.lang.Object obj) {
+      if (obj == this) {
+       return true;
+      }
+      if (!(obj instanceof org.opennms.netmgt.poller.client.rpc.model.PollerRpcProtos.PollerRequest)) {
+        return super.equals(obj);
+      }
+      org.opennms.netmgt.poller.client.rpc.model.PollerRpcProtos.PollerRequest other = (org.opennms.netmgt.poller.client.rpc.model.PollerRpcProtos.PollerRequest) obj;
+
+      if (hasLocation() != other.hasLocation()) return false;
+      if (hasLocation()) {
+        if (!getLocation()
+            .equals(other.getLocation())) return false;
+      }
+      if (hasSystemId() != other.hasSystemId()) return false;
+      if (hasSystemId()) {
+        if (!getSystemId()
+            .equals(other.getSystemId())) return false;
+      }
+      if (hasClassName() != other.hasClassName()) return false;
+      if (hasClassName()) {
+        if (!getClassName()
+            .equals(other.getClassName())) return false;
+      }
+      if (hasServiceName() != other.hasServiceName()) return false;
+      if (hasServiceName()) {
+        if (!getServiceName()
+            .equals(other.getServiceName())) return false;
+      }
+      if (hasAddress() != other.hasAddress()) return false;
+      if (hasAddress()) {
+        if (!getAddress()
+            .equals(other.getAddress())) return false;
+      }
+      if (hasNodeId() != other.hasNodeId()) return false;
+      if (hasNodeId()) {
+        if (getNodeId()
+            != other.getNodeId()) return false;
+      }
+      if (hasNodeLabel() != other.hasNodeLabel()) return false;
+      if (hasNodeLabel()) {
+        if (!getNodeLabel()
+            .equals(other.getNodeLabel())) return false;
+      }
+      if (hasNodeLocation() != other.hasNodeLocation()) return false;
+      if (hasNodeLocation()) {
+        if (!getNodeLocation()
+            .equals(other.getNodeLocation())) return false;
+      }
+      if (!getAttributesList()
+          .equals(other.getAttributesList())) return false;
+      if (!getUnknownFields().equals(other.getUnknownFields())) return false;
+      return true;
+    }
+
+    @java.lang.Override
+    public int hashCode() {
+      if (memoizedHashCode != 0) {
+        return memoizedHashCode;
+      }
+      int hash = 41;
+      hash = (19 * hash) + getDescriptor().hashCode();
+      if (hasLocation()) {
+        hash = (37 * hash) + LOCATION_FIELD_NUMBER;
+        hash = (53 * hash) + getLocation().hashCode();
+      }
+      if (hasSystemId()) {
+        hash = (37 * hash) + SYSTEM_ID_FIELD_NUMBER;
+        hash = (53 * hash) + getSystemId().hashCode();
+      }
+      if (hasClassName()) {
+        hash = (37 * hash) + CLASS_NAME_FIELD_NUMBER;
+        hash = (53 * hash) + getClassName().hashCode();
+      }
+      if (hasServiceName()) {
+        hash = (37 * hash) + SERVICE_NAME_FIELD_NUMBER;
+        hash = (53 * hash) + getServiceName().hashCode();
+      }
+      if (hasAddress()) {
+        hash = (37 * hash) + ADDRESS_FIELD_NUMBER;
+        hash = (53 * hash) + getAddress().hashCode();
+      }
+      if (hasNodeId()) {
+        hash = (37 * hash) + NODE_ID_FIELD_NUMBER;
+        hash = (53 * hash) + getNodeId();
+      }
+      if (hasNodeLabel()) {
+        hash = (37 * hash) + NODE_LABEL_FIELD_NUMBER;
+        hash = (53 * hash) + getNodeLabel().hashCode();
+      }
+      if (hasNodeLocation()) {
+        hash = (37 * hash) + NODE_LOCATION_FIELD_NUMBER;
+        hash = (53 * hash) + getNodeLocation().hashCode();
+      }
+      if (getAttributesCount() > 0) {
+        hash = (37 * hash) + ATTRIBUTES_FIELD_NUMBER;
+        hash = (53 * hash) + getAttributesList().hashCode();
+      }
+      hash = (29 * hash) + getUnknownFields().hashCode();
+      memoizedHashCode = hash;
+      return hash;
+    }
+
+    public static org.opennms.netmgt.poller.client.rpc.model.PollerRpcProtos.PollerRequest parseFrom(
+        java.nio.ByteBuffer data)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      return PARSER.parseFrom(data);
+    }
+    public static org.opennms.netmgt.poller.client.rpc.model.PollerRpcProtos.PollerRequest parseFrom(
+        java.nio.ByteBuffer data,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      return PARSER.parseFrom(data, extensionRegistry);
+    }
+    public static org.opennms.netmgt.poller.client.rpc.model.PollerRpcProtos.PollerRequest parseFrom(
+        com.google.protobuf.ByteString data)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      return PARSER.parseFrom(data);
+    }
+    public static org.opennms.netmgt.poller.client.rpc.model.PollerRpcProtos.PollerRequest parseFrom(
+        com.google.protobuf.ByteString data,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      return PARSER.parseFrom(data, extensionRegistry);
+    }
+    public static org.opennms.netmgt.poller.client.rpc.model.PollerRpcProtos.PollerRequest parseFrom(byte[] data)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      return PARSER.parseFrom(data);
+    }
+    public static org.opennms.netmgt.poller.client.rpc.model.PollerRpcProtos.PollerRequest parseFrom(
+        byte[] data,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      return PARSER.parseFrom(data, extensionRegistry);
+    }
+    public static org.opennms.netmgt.poller.client.rpc.model.PollerRpcProtos.PollerRequest parseFrom(java.io.InputStream input)
+        throws java.io.IOException {
+      return com.google.protobuf.GeneratedMessageV3
+          .parseWithIOException(PARSER, input);
+    }
+    public static org.opennms.netmgt.poller.client.rpc.model.PollerRpcProtos.PollerRequest parseFrom(
+        java.io.InputStream input,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws java.io.IOException {
+      return com.google.protobuf.GeneratedMessageV3
+          .parseWithIOException(PARSER, input, extensionRegistry);
+    }
+    public static org.opennms.netmgt.poller.client.rpc.model.PollerRpcProtos.PollerRequest parseDelimitedFrom(java.io.InputStream input)
+        throws java.io.IOException {
+      return com.google.protobuf.GeneratedMessageV3
+          .parseDelimitedWithIOException(PARSER, input);
+    }
+    public static org.opennms.netmgt.poller.client.rpc.model.PollerRpcProtos.PollerRequest parseDelimitedFrom(
+        java.io.InputStream input,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws java.io.IOException {
+      return com.google.protobuf.GeneratedMessageV3
+          .parseDelimitedWithIOException(PARSER, input, extensionRegistry);
+    }
+    public static org.opennms.netmgt.poller.client.rpc.model.PollerRpcProtos.PollerRequest parseFrom(
+        com.google.protobuf.CodedInputStream input)
+        throws java.io.IOException {
+      return com.google.protobuf.GeneratedMessageV3
+          .parseWithIOException(PARSER, input);
+    }
+    public static org.opennms.netmgt.poller.client.rpc.model.PollerRpcProtos.PollerRequest parseFrom(
+        com.google.protobuf.CodedInputStream input,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws java.io.IOException {
+      return com.google.protobuf.GeneratedMessageV3
+          .parseWithIOException(PARSER, input, extensionRegistry);
+    }
+
+    @java.lang.Override
+    public Builder newBuilderForType() { return newBuilder(); }
+    public static Builder newBuilder() {
+      return DEFAULT_INSTANCE.toBuilder();
+    }
+    public static Builder newBuilder(org.opennms.netmgt.poller.client.rpc.model.PollerRpcProtos.PollerRequest prototype) {
+      return DEFAULT_INSTANCE.toBuilder().mergeFrom(prototype);
+    }
+    @java.lang.Override
+    public Builder toBuilder() {
+      return this == DEFAULT_INSTANCE
+          ? new Builder() : new Builder().mergeFrom(this);
+    }
+
+    @java.lang.Override
+    protected Builder newBuilderForType(
+        com.google.protobuf.GeneratedMessageV3.BuilderParent parent) {
+      Builder builder = new Builder(parent);
+      return builder;
+    }
+    /**
+     * Protobuf type {@code PollerRequest}
+     */
+    public static final class Builder extends
+        com.google.protobuf.GeneratedMessageV3.Builder<Builder> implements
+        // @@protoc_insertion_point(builder_implements:PollerRequest)
+        org.opennms.netmgt.poller.client.rpc.model.PollerRpcProtos.PollerRequestOrBuilder {
+      public static final com.google.protobuf.Descriptors.Descriptor
+          getDescriptor() {
+        return org.opennms.netmgt.poller.client.rpc.model.PollerRpcProtos.internal_static_PollerRequest_descriptor;
+      }
+
+      @java.lang.Override
+      protected com.google.protobuf.GeneratedMessageV3.FieldAccessorTable
+          internalGetFieldAccessorTable() {
+        return org.opennms.netmgt.poller.client.rpc.model.PollerRpcProtos.internal_static_PollerRequest_fieldAccessorTable
+            .ensureFieldAccessorsInitialized(
+                org.opennms.netmgt.poller.client.rpc.model.PollerRpcProtos.PollerRequest.class, org.opennms.netmgt.poller.client.rpc.model.PollerRpcProtos.PollerRequest.Builder.class);
+      }
+
+      // Construct using org.opennms.netmgt.poller.client.rpc.model.PollerRpcProtos.PollerRequest.newBuilder()
+      private Builder() {
+
+      }
+
+      private Builder(
+          com.google.protobuf.GeneratedMessageV3.BuilderParent parent) {
+        super(parent);
+
+      }
+      @java.lang.Override
+      public Builder clear() {
+        super.clear();
+        bitField0_ = 0;
+        location_ = "";
+        systemId_ = "";
+        className_ = "";
+        serviceName_ = "";
+        address_ = com.google.protobuf.ByteString.EMPTY;
+        nodeId_ = 0;
+        nodeLabel_ = "";
+        nodeLocation_ = "";
+        if (attributesBuilder_ == null) {
+          attributes_ = java.util.Collections.emptyList();
+        } else {
+          attributes_ = null;
+          attributesBuilder_.clear();
+        }
+        bitField0_ = (bitField0_ & ~0x00000100);
+        return this;
+      }
+
+      @java.lang.Override
+      public com.google.protobuf.Descriptors.Descriptor
+          getDescriptorForType() {
+        return org.opennms.netmgt.poller.client.rpc.model.PollerRpcProtos.internal_static_PollerRequest_descriptor;
+      }
+
+      @java.lang.Override
+      public org.opennms.netmgt.poller.client.rpc.model.PollerRpcProtos.PollerRequest getDefaultInstanceForType() {
+        return org.opennms.netmgt.poller.client.rpc.model.PollerRpcProtos.PollerRequest.getDefaultInstance();
+      }
+
+      @java.lang.Override
+      public org.opennms.netmgt.poller.client.rpc.model.PollerRpcProtos.PollerRequest build() {
+        org.opennms.netmgt.poller.client.rpc.model.PollerRpcProtos.PollerRequest result = buildPartial();
+        if (!result.isInitialized()) {
+          throw newUninitializedMessageException(result);
+        }
+        return result;
+      }
+
+      @java.lang.Override
+      public org.opennms.netmgt.poller.client.rpc.model.PollerRpcProtos.PollerRequest buildPartial() {
+        org.opennms.netmgt.poller.client.rpc.model.PollerRpcProtos.PollerRequest result = new org.opennms.netmgt.poller.client.rpc.model.PollerRpcProtos.PollerRequest(this);
+        buildPartialRepeatedFields(result);
+        if (bitField0_ != 0) { buildPartial0(result); }
+        onBuilt();
+        return result;
+      }
+
+      private void buildPartialRepeatedFields(org.opennms.netmgt.poller.client.rpc.model.PollerRpcProtos.PollerRequest result) {
+        if (attributesBuilder_ == null) {
+          if (((bitField0_ & 0x00000100) != 0)) {
+            attributes_ = java.util.Collections.unmodifiableList(attributes_);
+            bitField0_ = (bitField0_ & ~0x00000100);
+          }
+          result.attributes_ = attributes_;
+        } else {
+          result.attributes_ = attributesBuilder_.build();
+        }
+      }
+
+      private void buildPartial0(org.opennms.netmgt.poller.client.rpc.model.PollerRpcProtos.PollerRequest result) {
+        int from_bitField0_ = bitField0_;
+        int to_bitField0_ = 0;
+        if (((from_bitField0_ & 0x00000001) != 0)) {
+          result.location_ = location_;
+          to_bitField0_ |= 0x00000001;
+        }
+        if (((from_bitField0_ & 0x00000002) != 0)) {
+          result.systemId_ = systemId_;
+          to_bitField0_ |= 0x00000002;
+        }
+        if (((from_bitField0_ & 0x00000004) != 0)) {
+          result.className_ = className_;
+          to_bitField0_ |= 0x00000004;
+        }
+        if (((from_bitField0_ & 0x00000008) != 0)) {
+          result.serviceName_ = serviceName_;
+          to_bitField0_ |= 0x00000008;
+        }
+        if (((from_bitField0_ & 0x00000010) != 0)) {
+          result.address_ = address_;
+          to_bitField0_ |= 0x00000010;
+        }
+        if (((from_bitField0_ & 0x00000020) != 0)) {
+          result.nodeId_ = nodeId_;
+          to_bitField0_ |= 0x00000020;
+        }
+        if (((from_bitField0_ & 0x00000040) != 0)) {
+          result.nodeLabel_ = nodeLabel_;
+          to_bitField0_ |= 0x00000040;
+        }
+        if (((from_bitField0_ & 0x00000080) != 0)) {
+          result.nodeLocation_ = nodeLocation_;
+          to_bitField0_ |= 0x00000080;
+        }
+        result.bitField0_ |= to_bitField0_;
+      }
+
+      @java.lang.Override
+      public Builder mergeFrom(com.google.protobuf.Message other) {
+        if (other instanceof org.opennms.netmgt.poller.client.rpc.model.PollerRpcProtos.PollerRequest) {
+          return mergeFrom((org.opennms.netmgt.poller.client.rpc.model.PollerRpcProtos.PollerRequest)other);
+        } else {
+          super.mergeFrom(other);
+          return this;
+        }
+      }
+
+      public Builder mergeFrom(org.opennms.netmgt.poller.client.rpc.model.PollerRpcProtos.PollerRequest other) {
+        if (other == org.opennms.netmgt.poller.client.rpc.model.PollerRpcProtos.PollerRequest.getDefaultInstance()) return this;
+        if (other.hasLocation()) {
+          location_ = other.location_;
+          bitField0_ |= 0x00000001;
+          onChanged();
+        }
+        if (other.hasSystemId()) {
+          systemId_ = other.systemId_;
+          bitField0_ |= 0x00000002;
+          onChanged();
+        }
+        if (other.hasClassName()) {
+          className_ = other.className_;
+          bitField0_ |= 0x00000004;
+          onChanged();
+        }
+        if (other.hasServiceName()) {
+          serviceName_ = other.serviceName_;
+          bitField0_ |= 0x00000008;
+          onChanged();
+        }
+        if (other.hasAddress()) {
+          setAddress(other.getAddress());
+        }
+        if (other.hasNodeId()) {
+          setNodeId(other.getNodeId());
+        }
+        if (other.hasNodeLabel()) {
+          nodeLabel_ = other.nodeLabel_;
+          bitField0_ |= 0x00000040;
+          onChanged();
+        }
+        if (other.hasNodeLocation()) {
+          nodeLocation_ = other.nodeLocation_;
+          bitField0_ |= 0x00000080;
+          onChanged();
+        }
+        if (attributesBuilder_ == null) {
+          if (!other.attributes_.isEmpty()) {
+            if (attributes_.isEmpty()) {
+              attributes_ = other.attributes_;
+              bitField0_ = (bitField0_ & ~0x00000100);
+            } else {
+              ensureAttributesIsMutable();
+              attributes_.addAll(other.attributes_);
+            }
+            onChanged();
+          }
+        } else {
+          if (!other.attributes_.isEmpty()) {
+            if (attributesBuilder_.isEmpty()) {
+              attributesBuilder_.dispose();
+              attributesBuilder_ = null;
+              attributes_ = other.attributes_;
+              bitField0_ = (bitField0_ & ~0x00000100);
+              attributesBuilder_ = 
+                com.google.protobuf.GeneratedMessageV3.alwaysUseFieldBuilders ?
+                   getAttributesFieldBuilder() : null;
+            } else {
+              attributesBuilder_.addAllMessages(other.attributes_);
+            }
+          }
+        }
+        this.mergeUnknownFields(other.getUnknownFields());
+        onChanged();
+        return this;
+      }
+
+      @java.lang.Override
+      public final boolean isInitialized() {
+        return true;
+      }
+
+      @java.lang.Override
+      public Builder mergeFrom(
+          com.google.protobuf.CodedInputStream input,
+          com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+          throws java.io.IOException {
+        if (extensionRegistry == null) {
+          throw new java.lang.NullPointerException();
+        }
+        try {
+          boolean done = false;
+          while (!done) {
+            int tag = input.readTag();
+            switch (tag) {
+              case 0:
+                done = true;
+                break;
+              case 10: {
+                location_ = input.readStringRequireUtf8();
+                bitField0_ |= 0x00000001;
+                break;
+              } // case 10
+              case 18: {
+                systemId_ = input.readStringRequireUtf8();
+                bitField0_ |= 0x00000002;
+                break;
+              } // case 18
+              case 26: {
+                className_ = input.readStringRequireUtf8();
+                bitField0_ |= 0x00000004;
+                break;
+              } // case 26
+              case 34: {
+                serviceName_ = input.readStringRequireUtf8();
+                bitField0_ |= 0x00000008;
+                break;
+              } // case 34
+              case 42: {
+                address_ = input.readBytes();
+                bitField0_ |= 0x00000010;
+                break;
+              } // case 42
+              case 48: {
+                nodeId_ = input.readInt32();
+                bitField0_ |= 0x00000020;
+                break;
+              } // case 48
+              case 58: {
+                nodeLabel_ = input.readStringRequireUtf8();
+                bitField0_ |= 0x00000040;
+                break;
+              } // case 58
+              case 66: {
+                nodeLocation_ = input.readStringRequireUtf8();
+                bitField0_ |= 0x00000080;
+                break;
+              } // case 66
+              case 74: {
+                org.opennms.netmgt.poller.client.rpc.model.PollerRpcProtos.PollerAttribute m =
+                    input.readMessage(
+                        org.opennms.netmgt.poller.client.rpc.model.PollerRpcProtos.PollerAttribute.parser(),
+                        extensionRegistry);
+                if (attributesBuilder_ == null) {
+                  ensureAttributesIsMutable();
+                  attributes_.add(m);
+                } else {
+                  attributesBuilder_.addMessage(m);
+                }
+                break;
+              } // case 74
+              default: {
+                if (!super.parseUnknownField(input, extensionRegistry, tag)) {
+                  done = true; // was an endgroup tag
+                }
+                break;
+              } // default:
+            } // switch (tag)
+          } // while (!done)
+        } catch (com.google.protobuf.InvalidProtocolBufferException e) {
+          throw e.unwrapIOException();
+        } finally {
+          onChanged();
+        } // finally
+        return this;
+      }
+      private int bitField0_;
+
+      private java.lang.Object location_ = "";
+      /**
+       * <code>optional string location = 1;</code>
+       * @return Whether the location field is set.
+       */
+      public boolean hasLocation() {
+        return ((bitField0_ & 0x00000001) != 0);
+      }
+      /**
+       * <code>optional string location = 1;</code>
+       * @return The location.
+       */
+      public java.lang.String getLocation() {
+        java.lang.Object ref = location_;
+        if (!(ref instanceof java.lang.String)) {
+          com.google.protobuf.ByteString bs =
+              (com.google.protobuf.ByteString) ref;
+          java.lang.String s = bs.toStringUtf8();
+          location_ = s;
+          return s;
+        } else {
+          return (java.lang.String) ref;
+        }
+      }
+      /**
+       * <code>optional string location = 1;</code>
+       * @return The bytes for location.
+       */
+      public com.google.protobuf.ByteString
+          getLocationBytes() {
+        java.lang.Object ref = location_;
+        if (ref instanceof String) {
+          com.google.protobuf.ByteString b = 
+              com.google.protobuf.ByteString.copyFromUtf8(
+                  (java.lang.String) ref);
+          location_ = b;
+          return b;
+        } else {
+          return (com.google.protobuf.ByteString) ref;
+        }
+      }
+      /**
+       * <code>optional string location = 1;</code>
+       * @param value The location to set.
+       * @return This builder for chaining.
+       */
+      public Builder setLocation(
+          java.lang.String value) {
+        if (value == null) { throw new NullPointerException(); }
+        location_ = value;
+        bitField0_ |= 0x00000001;
+        onChanged();
+        return this;
+      }
+      /**
+       * <code>optional string location = 1;</code>
+       * @return This builder for chaining.
+       */
+      public Builder clearLocation() {
+        location_ = getDefaultInstance().getLocation();
+        bitField0_ = (bitField0_ & ~0x00000001);
+        onChanged();
+        return this;
+      }
+      /**
+       * <code>optional string location = 1;</code>
+       * @param value The bytes for location to set.
+       * @return This builder for chaining.
+       */
+      public Builder setLocationBytes(
+          com.google.protobuf.ByteString value) {
+        if (value == null) { throw new NullPointerException(); }
+        checkByteStringIsUtf8(value);
+        location_ = value;
+        bitField0_ |= 0x00000001;
+        onChanged();
+        return this;
+      }
+
+      private java.lang.Object systemId_ = "";
+      /**
+       * <code>optional string system_id = 2;</code>
+       * @return Whether the systemId field is set.
+       */
+      public boolean hasSystemId() {
+        return ((bitField0_ & 0x00000002) != 0);
+      }
+      /**
+       * <code>optional string system_id = 2;</code>
+       * @return The systemId.
+       */
+      public java.lang.String getSystemId() {
+        java.lang.Object ref = systemId_;
+        if (!(ref instanceof java.lang.String)) {
+          com.google.protobuf.ByteString bs =
+              (com.google.protobuf.ByteString) ref;
+          java.lang.String s = bs.toStringUtf8();
+          systemId_ = s;
+          return s;
+        } else {
+          return (java.lang.String) ref;
+        }
+      }
+      /**
+       * <code>optional string system_id = 2;</code>
+       * @return The bytes for systemId.
+       */
+      public com.google.protobuf.ByteString
+          getSystemIdBytes() {
+        java.lang.Object ref = systemId_;
+        if (ref instanceof String) {
+          com.google.protobuf.ByteString b = 
+              com.google.protobuf.ByteString.copyFromUtf8(
+                  (java.lang.String) ref);
+          systemId_ = b;
+          return b;
+        } else {
+          return (com.google.protobuf.ByteString) ref;
+        }
+      }
+      /**
+       * <code>optional string system_id = 2;</code>
+       * @param value The systemId to set.
+       * @return This builder for chaining.
+       */
+      public Builder setSystemId(
+          java.lang.String value) {
+        if (value == null) { throw new NullPointerException(); }
+        systemId_ = value;
+        bitField0_ |= 0x00000002;
+        onChanged();
+        return this;
+      }
+      /**
+       * <code>optional string system_id = 2;</code>
+       * @return This builder for chaining.
+       */
+      public Builder clearSystemId() {
+        systemId_ = getDefaultInstance().getSystemId();
+        bitField0_ = (bitField0_ & ~0x00000002);
+        onChanged();
+        return this;
+      }
+      /**
+       * <code>optional string system_id = 2;</code>
+       * @param value The bytes for systemId to set.
+       * @return This builder for chaining.
+       */
+      public Builder setSystemIdBytes(
+          com.google.protobuf.ByteString value) {
+        if (value == null) { throw new NullPointerException(); }
+        checkByteStringIsUtf8(value);
+        systemId_ = value;
+        bitField0_ |= 0x00000002;
+        onChanged();
+        return this;
+      }
+
+      private java.lang.Object className_ = "";
+      /**
+       * <code>optional string class_name = 3;</code>
+       * @return Whether the className field is set.
+       */
+      public boolean hasClassName() {
+        return ((bitField0_ & 0x00000004) != 0);
+      }
+      /**
+       * <code>optional string class_name = 3;</code>
+       * @return The className.
+       */
+      public java.lang.String getClassName() {
+        java.lang.Object ref = className_;
+        if (!(ref instanceof java.lang.String)) {
+          com.google.protobuf.ByteString bs =
+              (com.google.protobuf.ByteString) ref;
+          java.lang.String s = bs.toStringUtf8();
+          className_ = s;
+          return s;
+        } else {
+          return (java.lang.String) ref;
+        }
+      }
+      /**
+       * <code>optional string class_name = 3;</code>
+       * @return The bytes for className.
+       */
+      public com.google.protobuf.ByteString
+          getClassNameBytes() {
+        java.lang.Object ref = className_;
+        if (ref instanceof String) {
+          com.google.protobuf.ByteString b = 
+              com.google.protobuf.ByteString.copyFromUtf8(
+                  (java.lang.String) ref);
+          className_ = b;
+          return b;
+        } else {
+          return (com.google.protobuf.ByteString) ref;
+        }
+      }
+      /**
+       * <code>optional string class_name = 3;</code>
+       * @param value The className to set.
+       * @return This builder for chaining.
+       */
+      public Builder setClassName(
+          java.lang.String value) {
+        if (value == null) { throw new NullPointerException(); }
+        className_ = value;
+        bitField0_ |= 0x00000004;
+        onChanged();
+        return this;
+      }
+      /**
+       * <code>optional string class_name = 3;</code>
+       * @return This builder for chaining.
+       */
+      public Builder clearClassName() {
+        className_ = getDefaultInstance().getClassName();
+        bitField0_ = (bitField0_ & ~0x00000004);
+        onChanged();
+        return this;
+      }
+      /**
+       * <code>optional string class_name = 3;</code>
+       * @param value The bytes for className to set.
+       * @return This builder for chaining.
+       */
+      public Builder setClassNameBytes(
+          com.google.protobuf.ByteString value) {
+        if (value == null) { throw new NullPointerException(); }
+        checkByteStringIsUtf8(value);
+        className_ = value;
+        bitField0_ |= 0x00000004;
+        onChanged();
+        return this;
+      }
+
+      private java.lang.Object serviceName_ = "";
+      /**
+       * <code>optional string service_name = 4;</code>
+       * @return Whether the serviceName field is set.
+       */
+      public boolean hasServiceName() {
+        return ((bitField0_ & 0x00000008) != 0);
+      }
+      /**
+       * <code>optional string service_name = 4;</code>
+       * @return The serviceName.
+       */
+      public java.lang.String getServiceName() {
+        java.lang.Object ref = serviceName_;
+        if (!(ref instanceof java.lang.String)) {
+          com.google.protobuf.ByteString bs =
+              (com.google.protobuf.ByteString) ref;
+          java.lang.String s = bs.toStringUtf8();
+          serviceName_ = s;
+          return s;
+        } else {
+          return (java.lang.String) ref;
+        }
+      }
+      /**
+       * <code>optional string service_name = 4;</code>
+       * @return The bytes for serviceName.
+       */
+      public com.google.protobuf.ByteString
+          getServiceNameBytes() {
+        java.lang.Object ref = serviceName_;
+        if (ref instanceof String) {
+          com.google.protobuf.ByteString b = 
+              com.google.protobuf.ByteString.copyFromUtf8(
+                  (java.lang.String) ref);
+          serviceName_ = b;
+          return b;
+        } else {
+          return (com.google.protobuf.ByteString) ref;
+        }
+      }
+      /**
+       * <code>optional string service_name = 4;</code>
+       * @param value The serviceName to set.
+       * @return This builder for chaining.
+       */
+      public Builder setServiceName(
+          java.lang.String value) {
+        if (value == null) { throw new NullPointerException(); }
+        serviceName_ = value;
+        bitField0_ |= 0x00000008;
+        onChanged();
+        return this;
+      }
+      /**
+       * <code>optional string service_name = 4;</code>
+       * @return This builder for chaining.
+       */
+      public Builder clearServiceName() {
+        serviceName_ = getDefaultInstance().getServiceName();
+        bitField0_ = (bitField0_ & ~0x00000008);
+        onChanged();
+        return this;
+      }
+      /**
+       * <code>optional string service_name = 4;</code>
+       * @param value The bytes for serviceName to set.
+       * @return This builder for chaining.
+       */
+      public Builder setServiceNameBytes(
+          com.google.protobuf.ByteString value) {
+        if (value == null) { throw new NullPointerException(); }
+        checkByteStringIsUtf8(value);
+        serviceName_ = value;
+        bitField0_ |= 0x00000008;
+        onChanged();
+        return this;
+      }
+
+      private com.google.protobuf.ByteString address_ = com.google.protobuf.ByteString.EMPTY;
+      /**
+       * <code>optional bytes address = 5;</code>
+       * @return Whether the address field is set.
+       */
+      @java.lang.Override
+      public boolean hasAddress() {
+        return ((bitField0_ & 0x00000010) != 0);
+      }
+      /**
+       * <code>optional bytes address = 5;</code>
+       * @return The address.
+       */
+      @java.lang.Override
+      public com.google.protobuf.ByteString getAddress() {
+        return address_;
+      }
+      /**
+       * <code>optional bytes address = 5;</code>
+       * @param value The address to set.
+       * @return This builder for chaining.
+       */
+      public Builder setAddress(com.google.protobuf.ByteString value) {
+        if (value == null) { throw new NullPointerException(); }
+        address_ = value;
+        bitField0_ |= 0x00000010;
+        onChanged();
+        return this;
+      }
+      /**
+       * <code>optional bytes address = 5;</code>
+       * @return This builder for chaining.
+       */
+      public Builder clearAddress() {
+        bitField0_ = (bitField0_ & ~0x00000010);
+        address_ = getDefaultInstance().getAddress();
+        onChanged();
+        return this;
+      }
+
+      private int nodeId_ ;
+      /**
+       * <code>optional int32 node_id = 6;</code>
+       * @return Whether the nodeId field is set.
+       */
+      @java.lang.Override
+      public boolean hasNodeId() {
+        return ((bitField0_ & 0x00000020) != 0);
+      }
+      /**
+       * <code>optional int32 node_id = 6;</code>
+       * @return The nodeId.
+       */
+      @java.lang.Override
+      public int getNodeId() {
+        return nodeId_;
+      }
+      /**
+       * <code>optional int32 node_id = 6;</code>
+       * @param value The nodeId to set.
+       * @return This builder for chaining.
+       */
+      public Builder setNodeId(int value) {
+
+        nodeId_ = value;
+        bitField0_ |= 0x00000020;
+        onChanged();
+        return this;
+      }
+      /**
+       * <code>optional int32 node_id = 6;</code>
+       * @return This builder for chaining.
+       */
+      public Builder clearNodeId() {
+        bitField0_ = (bitField0_ & ~0x00000020);
+        nodeId_ = 0;
+        onChanged();
+        return this;
+      }
+
+      private java.lang.Object nodeLabel_ = "";
+      /**
+       * <code>optional string node_label = 7;</code>
+       * @return Whether the nodeLabel field is set.
+       */
+      public boolean hasNodeLabel() {
+        return ((bitField0_ & 0x00000040) != 0);
+      }
+      /**
+       * <code>optional string node_label = 7;</code>
+       * @return The nodeLabel.
+       */
+      public java.lang.String getNodeLabel() {
+        java.lang.Object ref = nodeLabel_;
+        if (!(ref instanceof java.lang.String)) {
+          com.google.protobuf.ByteString bs =
+              (com.google.protobuf.ByteString) ref;
+          java.lang.String s = bs.toStringUtf8();
+          nodeLabel_ = s;
+          return s;
+        } else {
+          return (java.lang.String) ref;
+        }
+      }
+      /**
+       * <code>optional string node_label = 7;</code>
+       * @return The bytes for nodeLabel.
+       */
+      public com.google.protobuf.ByteString
+          getNodeLabelBytes() {
+        java.lang.Object ref = nodeLabel_;
+        if (ref instanceof String) {
+          com.google.protobuf.ByteString b = 
+              com.google.protobuf.ByteString.copyFromUtf8(
+                  (java.lang.String) ref);
+          nodeLabel_ = b;
+          return b;
+        } else {
+          return (com.google.protobuf.ByteString) ref;
+        }
+      }
+      /**
+       * <code>optional string node_label = 7;</code>
+       * @param value The nodeLabel to set.
+       * @return This builder for chaining.
+       */
+      public Builder setNodeLabel(
+          java.lang.String value) {
+        if (value == null) { throw new NullPointerException(); }
+        nodeLabel_ = value;
+        bitField0_ |= 0x00000040;
+        onChanged();
+        return this;
+      }
+      /**
+       * <code>optional string node_label = 7;</code>
+       * @return This builder for chaining.
+       */
+      public Builder clearNodeLabel() {
+        nodeLabel_ = getDefaultInstance().getNodeLabel();
+        bitField0_ = (bitField0_ & ~0x00000040);
+        onChanged();
+        return this;
+      }
+      /**
+       * <code>optional string node_label = 7;</code>
+       * @param value The bytes for nodeLabel to set.
+       * @return This builder for chaining.
+       */
+      public Builder setNodeLabelBytes(
+          com.google.protobuf.ByteString value) {
+        if (value == null) { throw new NullPointerException(); }
+        checkByteStringIsUtf8(value);
+        nodeLabel_ = value;
+        bitField0_ |= 0x00000040;
+        onChanged();
+        return this;
+      }
+
+      private java.lang.Object nodeLocation_ = "";
+      /**
+       * <code>optional string node_location = 8;</code>
+       * @return Whether the nodeLocation field is set.
+       */
+      public boolean hasNodeLocation() {
+        return ((bitField0_ & 0x00000080) != 0);
+      }
+      /**
+       * <code>optional string node_location = 8;</code>
+       * @return The nodeLocation.
+       */
+      public java.lang.String getNodeLocation() {
+        java.lang.Object ref = nodeLocation_;
+        if (!(ref instanceof java.lang.String)) {
+          com.google.protobuf.ByteString bs =
+              (com.google.protobuf.ByteString) ref;
+          java.lang.String s = bs.toStringUtf8();
+          nodeLocation_ = s;
+          return s;
+        } else {
+          return (java.lang.String) ref;
+        }
+      }
+      /**
+       * <code>optional string node_location = 8;</code>
+       * @return The bytes for nodeLocation.
+       */
+      public com.google.protobuf.ByteString
+          getNodeLocationBytes() {
+        java.lang.Object ref = nodeLocation_;
+        if (ref instanceof String) {
+          com.google.protobuf.ByteString b = 
+              com.google.protobuf.ByteString.copyFromUtf8(
+                  (java.lang.String) ref);
+          nodeLocation_ = b;
+          return b;
+        } else {
+          return (com.google.protobuf.ByteString) ref;
+        }
+      }
+      /**
+       * <code>optional string node_location = 8;</code>
+       * @param value The nodeLocation to set.
+       * @return This builder for chaining.
+       */
+      public Builder setNodeLocation(
+          java.lang.String value) {
+        if (value == null) { throw new NullPointerException(); }
+        nodeLocation_ = value;
+        bitField0_ |= 0x00000080;
+        onChanged();
+        return this;
+      }
+      /**
+       * <code>optional string node_location = 8;</code>
+       * @return This builder for chaining.
+       */
+      public Builder clearNodeLocation() {
+        nodeLocation_ = getDefaultInstance().getNodeLocation();
+        bitField0_ = (bitField0_ & ~0x00000080);
+        onChanged();
+        return this;
+      }
+      /**
+       * <code>optional string node_location = 8;</code>
+       * @param value The bytes for nodeLocation to set.
+       * @return This builder for chaining.
+       */
+      public Builder setNodeLocationBytes(
+          com.google.protobuf.ByteString value) {
+        if (value == null) { throw new NullPointerException(); }
+        checkByteStringIsUtf8(value);
+        nodeLocation_ = value;
+        bitField0_ |= 0x00000080;
+        onChanged();
+        return this;
+      }
+
+      private java.util.List<org.opennms.netmgt.poller.client.rpc.model.PollerRpcProtos.PollerAttribute> attributes_ =
+        java.util.Collections.emptyList();
+      private void ensureAttributesIsMutable() {
+        if (!((bitField0_ & 0x00000100) != 0)) {
+          attributes_ = new java.util.ArrayList<org.opennms.netmgt.poller.client.rpc.model.PollerRpcProtos.PollerAttribute>(attributes_);
+          bitField0_ |= 0x00000100;
+         }
+      }
+
+      private com.google.protobuf.RepeatedFieldBuilderV3<
+          org.opennms.netmgt.poller.client.rpc.model.PollerRpcProtos.PollerAttribute, org.opennms.netmgt.poller.client.rpc.model.PollerRpcProtos.PollerAttribute.Builder, org.opennms.netmgt.poller.client.rpc.model.PollerRpcProtos.PollerAttributeOrBuilder> attributesBuilder_;
+
+      /**
+       * <code>repeated .PollerAttribute attributes = 9;</code>
+       */
+      public java.util.List<org.opennms.netmgt.poller.client.rpc.model.PollerRpcProtos.PollerAttribute> getAttributesList() {
+        if (attributesBuilder_ == null) {
+          return java.util.Collections.unmodifiableList(attributes_);
+        } else {
+          return attributesBuilder_.getMessageList();
+        }
+      }
+      /**
+       * <code>repeated .PollerAttribute attributes = 9;</code>
+       */
+      public int getAttributesCount() {
+        if (attributesBuilder_ == null) {
+          return attributes_.size();
+        } else {
+          return attributesBuilder_.getCount();
+        }
+      }
+      /**
+       * <code>repeated .PollerAttribute attributes = 9;</code>
+       */
+      public org.opennms.netmgt.poller.client.rpc.model.PollerRpcProtos.PollerAttribute getAttributes(int index) {
+        if (attributesBuilder_ == null) {
+          return attributes_.get(index);
+        } else {
+          return attributesBuilder_.getMessage(index);
+        }
+      }
+      /**
+       * <code>repeated .PollerAttribute attributes = 9;</code>
+       */
+      public Builder setAttributes(
+          int index, org.opennms.netmgt.poller.client.rpc.model.PollerRpcProtos.PollerAttribute value) {
+        if (attributesBuilder_ == null) {
+          if (value == null) {
+            throw new NullPointerException();
+          }
+          ensureAttributesIsMutable();
+          attributes_.set(index, value);
+          onChanged();
+        } else {
+          attributesBuilder_.setMessage(index, value);
+        }
+        return this;
+      }
+      /**
+       * <code>repeated .PollerAttribute attributes = 9;</code>
+       */
+      public Builder setAttributes(
+          int index, org.opennms.netmgt.poller.client.rpc.model.PollerRpcProtos.PollerAttribute.Builder builderForValue) {
+        if (attributesBuilder_ == null) {
+          ensureAttributesIsMutable();
+          attributes_.set(index, builderForValue.build());
+          onChanged();
+        } else {
+          attributesBuilder_.setMessage(index, builderForValue.build());
+        }
+        return this;
+      }
+      /**
+       * <code>repeated .PollerAttribute attributes = 9;</code>
+       */
+      public Builder addAttributes(org.opennms.netmgt.poller.client.rpc.model.PollerRpcProtos.PollerAttribute value) {
+        if (attributesBuilder_ == null) {
+          if (value == null) {
+            throw new NullPointerException();
+          }
+          ensureAttributesIsMutable();
+          attributes_.add(value);
+          onChanged();
+        } else {
+          attributesBuilder_.addMessage(value);
+        }
+        return this;
+      }
+      /**
+       * <code>repeated .PollerAttribute attributes = 9;</code>
+       */
+      public Builder addAttributes(
+          int index, org.opennms.netmgt.poller.client.rpc.model.PollerRpcProtos.PollerAttribute value) {
+        if (attributesBuilder_ == null) {
+          if (value == null) {
+            throw new NullPointerException();
+          }
+          ensureAttributesIsMutable();
+          attributes_.add(index, value);
+          onChanged();
+        } else {
+          attributesBuilder_.addMessage(index, value);
+        }
+        return this;
+      }
+      /**
+       * <code>repeated .PollerAttribute attributes = 9;</code>
+       */
+      public Builder addAttributes(
+          org.opennms.netmgt.poller.client.rpc.model.PollerRpcProtos.PollerAttribute.Builder builderForValue) {
+        if (attributesBuilder_ == null) {
+          ensureAttributesIsMutable();
+          attributes_.add(builderForValue.build());
+          onChanged();
+        } else {
+          attributesBuilder_.addMessage(builderForValue.build());
+        }
+        return this;
+      }
+      /**
+       * <code>repeated .PollerAttribute attributes = 9;</code>
+       */
+      public Builder addAttributes(
+          int index, org.opennms.netmgt.poller.client.rpc.model.PollerRpcProtos.PollerAttribute.Builder builderForValue) {
+        if (attributesBuilder_ == null) {
+          ensureAttributesIsMutable();
+          attributes_.add(index, builderForValue.build());
+          onChanged();
+        } else {
+          attributesBuilder_.addMessage(index, builderForValue.build());
+        }
+        return this;
+      }
+      /**
+       * <code>repeated .PollerAttribute attributes = 9;</code>
+       */
+      public Builder addAllAttributes(
+          java.lang.Iterable<? extends org.opennms.netmgt.poller.client.rpc.model.PollerRpcProtos.PollerAttribute> values) {
+        if (attributesBuilder_ == null) {
+          ensureAttributesIsMutable();
+          com.google.protobuf.AbstractMessageLite.Builder.addAll(
+              values, attributes_);
+          onChanged();
+        } else {
+          attributesBuilder_.addAllMessages(values);
+        }
+        return this;
+      }
+      /**
+       * <code>repeated .PollerAttribute attributes = 9;</code>
+       */
+      public Builder clearAttributes() {
+        if (attributesBuilder_ == null) {
+          attributes_ = java.util.Collections.emptyList();
+          bitField0_ = (bitField0_ & ~0x00000100);
+          onChanged();
+        } else {
+          attributesBuilder_.clear();
+        }
+        return this;
+      }
+      /**
+       * <code>repeated .PollerAttribute attributes = 9;</code>
+       */
+      public Builder removeAttributes(int index) {
+        if (attributesBuilder_ == null) {
+          ensureAttributesIsMutable();
+          attributes_.remove(index);
+          onChanged();
+        } else {
+          attributesBuilder_.remove(index);
+        }
+        return this;
+      }
+      /**
+       * <code>repeated .PollerAttribute attributes = 9;</code>
+       */
+      public org.opennms.netmgt.poller.client.rpc.model.PollerRpcProtos.PollerAttribute.Builder getAttributesBuilder(
+          int index) {
+        return getAttributesFieldBuilder().getBuilder(index);
+      }
+      /**
+       * <code>repeated .PollerAttribute attributes = 9;</code>
+       */
+      public org.opennms.netmgt.poller.client.rpc.model.PollerRpcProtos.PollerAttributeOrBuilder getAttributesOrBuilder(
+          int index) {
+        if (attributesBuilder_ == null) {
+          return attributes_.get(index);  } else {
+          return attributesBuilder_.getMessageOrBuilder(index);
+        }
+      }
+      /**
+       * <code>repeated .PollerAttribute attributes = 9;</code>
+       */
+      public java.util.List<? extends org.opennms.netmgt.poller.client.rpc.model.PollerRpcProtos.PollerAttributeOrBuilder> 
+           getAttributesOrBuilderList() {
+        if (attributesBuilder_ != null) {
+          return attributesBuilder_.getMessageOrBuilderList();
+        } else {
+          return java.util.Collections.unmodifiableList(attributes_);
+        }
+      }
+      /**
+       * <code>repeated .PollerAttribute attributes = 9;</code>
+       */
+      public org.opennms.netmgt.poller.client.rpc.model.PollerRpcProtos.PollerAttribute.Builder addAttributesBuilder() {
+        return getAttributesFieldBuilder().addBuilder(
+            org.opennms.netmgt.poller.client.rpc.model.PollerRpcProtos.PollerAttribute.getDefaultInstance());
+      }
+      /**
+       * <code>repeated .PollerAttribute attributes = 9;</code>
+       */
+      public org.opennms.netmgt.poller.client.rpc.model.PollerRpcProtos.PollerAttribute.Builder addAttributesBuilder(
+          int index) {
+        return getAttributesFieldBuilder().addBuilder(
+            index, org.opennms.netmgt.poller.client.rpc.model.PollerRpcProtos.PollerAttribute.getDefaultInstance());
+      }
+      /**
+       * <code>repeated .PollerAttribute attributes = 9;</code>
+       */
+      public java.util.List<org.opennms.netmgt.poller.client.rpc.model.PollerRpcProtos.PollerAttribute.Builder> 
+           getAttributesBuilderList() {
+        return getAttributesFieldBuilder().getBuilderList();
+      }
+      private com.google.protobuf.RepeatedFieldBuilderV3<
+          org.opennms.netmgt.poller.client.rpc.model.PollerRpcProtos.PollerAttribute, org.opennms.netmgt.poller.client.rpc.model.PollerRpcProtos.PollerAttribute.Builder, org.opennms.netmgt.poller.client.rpc.model.PollerRpcProtos.PollerAttributeOrBuilder> 
+          getAttributesFieldBuilder() {
+        if (attributesBuilder_ == null) {
+          attributesBuilder_ = new com.google.protobuf.RepeatedFieldBuilderV3<
+              org.opennms.netmgt.poller.client.rpc.model.PollerRpcProtos.PollerAttribute, org.opennms.netmgt.poller.client.rpc.model.PollerRpcProtos.PollerAttribute.Builder, org.opennms.netmgt.poller.client.rpc.model.PollerRpcProtos.PollerAttributeOrBuilder>(
+                  attributes_,
+                  ((bitField0_ & 0x00000100) != 0),
+                  getParentForChildren(),
+                  isClean());
+          attributes_ = null;
+        }
+        return attributesBuilder_;
+      }
+      @java.lang.Override
+      public final Builder setUnknownFields(
+          final com.google.protobuf.UnknownFieldSet unknownFields) {
+        return super.setUnknownFields(unknownFields);
+      }
+
+      @java.lang.Override
+      public final Builder mergeUnknownFields(
+          final com.google.protobuf.UnknownFieldSet unknownFields) {
+        return super.mergeUnknownFields(unknownFields);
+      }
+
+
+      // @@protoc_insertion_point(builder_scope:PollerRequest)
+    }
+
+    // @@protoc_insertion_point(class_scope:PollerRequest)
+    private static final org.opennms.netmgt.poller.client.rpc.model.PollerRpcProtos.PollerRequest DEFAULT_INSTANCE;
+    static {
+      DEFAULT_INSTANCE = new org.opennms.netmgt.poller.client.rpc.model.PollerRpcProtos.PollerRequest();
+    }
+
+    public static org.opennms.netmgt.poller.client.rpc.model.PollerRpcProtos.PollerRequest getDefaultInstance() {
+      return DEFAULT_INSTANCE;
+    }
+
+    private static final com.google.protobuf.Parser<PollerRequest>
+        PARSER = new com.google.protobuf.AbstractParser<PollerRequest>() {
+      @java.lang.Override
+      public PollerRequest parsePartialFrom(
+          com.google.protobuf.CodedInputStream input,
+          com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+          throws com.google.protobuf.InvalidProtocolBufferException {
+        Builder builder = newBuilder();
+        try {
+          builder.mergeFrom(input, extensionRegistry);
+        } catch (com.google.protobuf.InvalidProtocolBufferException e) {
+          throw e.setUnfinishedMessage(builder.buildPartial());
+        } catch (com.google.protobuf.UninitializedMessageException e) {
+          throw e.asInvalidProtocolBufferException().setUnfinishedMessage(builder.buildPartial());
+        } catch (java.io.IOException e) {
+          throw new com.google.protobuf.InvalidProtocolBufferException(e)
+              .setUnfinishedMessage(builder.buildPartial());
+        }
+        return builder.buildPartial();
+      }
+    };
+
+    public static com.google.protobuf.Parser<PollerRequest> parser() {
+      return PARSER;
+    }
+
+    @java.lang.Override
+    public com.google.protobuf.Parser<PollerRequest> getParserForType() {
+      return PARSER;
+    }
+
+    @java.lang.Override
+    public org.opennms.netmgt.poller.client.rpc.model.PollerRpcProtos.PollerRequest getDefaultInstanceForType() {
+      return DEFAULT_INSTANCE;
+    }
+
+  }
+
+  public interface PollerAttributeOrBuilder extends
+      // @@protoc_insertion_point(interface_extends:PollerAttribute)
+      com.google.protobuf.MessageOrBuilder {
+
+    /**
+     * <code>optional string key = 1;</code>
+     * @return Whether the key field is set.
+     */
+    boolean hasKey();
+    /**
+     * <code>optional string key = 1;</code>
+     * @return The key.
+     */
+    java.lang.String getKey();
+    /**
+     * <code>optional string key = 1;</code>
+     * @return The bytes for key.
+     */
+    com.google.protobuf.ByteString
+        getKeyBytes();
+
+    /**
+     * <code>optional string value = 2;</code>
+     * @return Whether the value field is set.
+     */
+    boolean hasValue();
+    /**
+     * <code>optional string value = 2;</code>
+     * @return The value.
+     */
+    java.lang.String getValue();
+    /**
+     * <code>optional string value = 2;</code>
+     * @return The bytes for value.
+     */
+    com.google.protobuf.ByteString
+        getValueBytes();
+  }
+  /**
+   * Protobuf type {@code PollerAttribute}
+   */
+  public static final class PollerAttribute extends
+      com.google.protobuf.GeneratedMessageV3 implements
+      // @@protoc_insertion_point(message_implements:PollerAttribute)
+      PollerAttributeOrBuilder {
+  private static final long serialVersionUID = 0L;
+    // Use PollerAttribute.newBuilder() to construct.
+    private PollerAttribute(com.google.protobuf.GeneratedMessageV3.Builder<?> builder) {
+      super(builder);
+    }
+    private PollerAttribute() {
+      key_ = "";
+      value_ = "";
+    }
+
+    @java.lang.Override
+    @SuppressWarnings({"unused"})
+    protected java.lang.Object newInstance(
+        UnusedPrivateParameter unused) {
+      return new PollerAttribute();
+    }
+
+    public static final com.google.protobuf.Descriptors.Descriptor
+        getDescriptor() {
+      return org.opennms.netmgt.poller.client.rpc.model.PollerRpcProtos.internal_static_PollerAttribute_descriptor;
+    }
+
+    @java.lang.Override
+    protected com.google.protobuf.GeneratedMessageV3.FieldAccessorTable
+        internalGetFieldAccessorTable() {
+      return org.opennms.netmgt.poller.client.rpc.model.PollerRpcProtos.internal_static_PollerAttribute_fieldAccessorTable
+          .ensureFieldAccessorsInitialized(
+              org.opennms.netmgt.poller.client.rpc.model.PollerRpcProtos.PollerAttribute.class, org.opennms.netmgt.poller.client.rpc.model.PollerRpcProtos.PollerAttribute.Builder.class);
+    }
+
+    private int bitField0_;
+    public static final int KEY_FIELD_NUMBER = 1;
+    @SuppressWarnings("serial")
+    private volatile java.lang.Object key_ = "";
+    /**
+     * <code>optional string key = 1;</code>
+     * @return Whether the key field is set.
+     */
+    @java.lang.Override
+    public boolean hasKey() {
+      return ((bitField0_ & 0x00000001) != 0);
+    }
+    /**
+     * <code>optional string key = 1;</code>
+     * @return The key.
+     */
+    @java.lang.Override
+    public java.lang.String getKey() {
+      java.lang.Object ref = key_;
+      if (ref instanceof java.lang.String) {
+        return (java.lang.String) ref;
+      } else {
+        com.google.protobuf.ByteString bs = 
+            (com.google.protobuf.ByteString) ref;
+        java.lang.String s = bs.toStringUtf8();
+        key_ = s;
+        return s;
+      }
+    }
+    /**
+     * <code>optional string key = 1;</code>
+     * @return The bytes for key.
+     */
+    @java.lang.Override
+    public com.google.protobuf.ByteString
+        getKeyBytes() {
+      java.lang.Object ref = key_;
+      if (ref instanceof java.lang.String) {
+        com.google.protobuf.ByteString b = 
+            com.google.protobuf.ByteString.copyFromUtf8(
+                (java.lang.String) ref);
+        key_ = b;
+        return b;
+      } else {
+        return (com.google.protobuf.ByteString) ref;
+      }
+    }
+
+    public static final int VALUE_FIELD_NUMBER = 2;
+    @SuppressWarnings("serial")
+    private volatile java.lang.Object value_ = "";
+    /**
+     * <code>optional string value = 2;</code>
+     * @return Whether the value field is set.
+     */
+    @java.lang.Override
+    public boolean hasValue() {
+      return ((bitField0_ & 0x00000002) != 0);
+    }
+    /**
+     * <code>optional string value = 2;</code>
+     * @return The value.
+     */
+    @java.lang.Override
+    public java.lang.String getValue() {
+      java.lang.Object ref = value_;
+      if (ref instanceof java.lang.String) {
+        return (java.lang.String) ref;
+      } else {
+        com.google.protobuf.ByteString bs = 
+            (com.google.protobuf.ByteString) ref;
+        java.lang.String s = bs.toStringUtf8();
+        value_ = s;
+        return s;
+      }
+    }
+    /**
+     * <code>optional string value = 2;</code>
+     * @return The bytes for value.
+     */
+    @java.lang.Override
+    public com.google.protobuf.ByteString
+        getValueBytes() {
+      java.lang.Object ref = value_;
+      if (ref instanceof java.lang.String) {
+        com.google.protobuf.ByteString b = 
+            com.google.protobuf.ByteString.copyFromUtf8(
+                (java.lang.String) ref);
+        value_ = b;
+        return b;
+      } else {
+        return (com.google.protobuf.ByteString) ref;
+      }
+    }
+
+    private byte memoizedIsInitialized = -1;
+    @java.lang.Override
+    public final boolean isInitialized() {
+      byte isInitialized = memoizedIsInitialized;
+      if (isInitialized == 1) return true;
+      if (isInitialized == 0) return false;
+
+      memoizedIsInitialized = 1;
+      return true;
+    }
+
+    @java.lang.Override
+    public void writeTo(com.google.protobuf.CodedOutputStream output)
+                        throws java.io.IOException {
+      if (((bitField0_ & 0x00000001) != 0)) {
+        com.google.protobuf.GeneratedMessageV3.writeString(output, 1, key_);
+      }
+      if (((bitField0_ & 0x00000002) != 0)) {
+        com.google.protobuf.GeneratedMessageV3.writeString(output, 2, value_);
+      }
+      getUnknownFields().writeTo(output);
+    }
+
+    @java.lang.Override
+    public int getSerializedSize() {
+      int size = memoizedSize;
+      if (size != -1) return size;
+
+      size = 0;
+      if (((bitField0_ & 0x00000001) != 0)) {
+        size += com.google.protobuf.GeneratedMessageV3.computeStringSize(1, key_);
+      }
+      if (((bitField0_ & 0x00000002) != 0)) {
+        size += com.google.protobuf.GeneratedMessageV3.computeStringSize(2, value_);
+      }
+      size += getUnknownFields().getSerializedSize();
+      memoizedSize = size;
+      return size;
+    }
+
+    @java.lang.Override
+    public boolean equals(final java.lang.Object obj) {
+      if (obj == this) {
+       return true;
+      }
+      if (!(obj instanceof org.opennms.netmgt.poller.client.rpc.model.PollerRpcProtos.PollerAttribute)) {
+        return super.equals(obj);
+      }
+      org.opennms.netmgt.poller.client.rpc.model.PollerRpcProtos.PollerAttribute other = (org.opennms.netmgt.poller.client.rpc.model.PollerRpcProtos.PollerAttribute) obj;
+
+      if (hasKey() != other.hasKey()) return false;
+      if (hasKey()) {
+        if (!getKey()
+            .equals(other.getKey())) return false;
+      }
+      if (hasValue() != other.hasValue()) return false;
+      if (hasValue()) {
+        if (!getValue()
+            .equals(other.getValue())) return false;
+      }
+      if (!getUnknownFields().equals(other.getUnknownFields())) return false;
+      return true;
+    }
+
+    @java.lang.Override
+    public int hashCode() {
+      if (memoizedHashCode != 0) {
+        return memoizedHashCode;
+      }
+      int hash = 41;
+      hash = (19 * hash) + getDescriptor().hashCode();
+      if (hasKey()) {
+        hash = (37 * hash) + KEY_FIELD_NUMBER;
+        hash = (53 * hash) + getKey().hashCode();
+      }
+      if (hasValue()) {
+        hash = (37 * hash) + VALUE_FIELD_NUMBER;
+        hash = (53 * hash) + getValue().hashCode();
+      }
+      hash = (29 * hash) + getUnknownFields().hashCode();
+      memoizedHashCode = hash;
+      return hash;
+    }
+
+    public static org.opennms.netmgt.poller.client.rpc.model.PollerRpcProtos.PollerAttribute parseFrom(
+        java.nio.ByteBuffer data)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      return PARSER.parseFrom(data);
+    }
+    public static org.opennms.netmgt.poller.client.rpc.model.PollerRpcProtos.PollerAttribute parseFrom(
+        java.nio.ByteBuffer data,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      return PARSER.parseFrom(data, extensionRegistry);
+    }
+    public static org.opennms.netmgt.poller.client.rpc.model.PollerRpcProtos.PollerAttribute parseFrom(
+        com.google.protobuf.ByteString data)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      return PARSER.parseFrom(data);
+    }
+    public static org.opennms.netmgt.poller.client.rpc.model.PollerRpcProtos.PollerAttribute parseFrom(
+        com.google.protobuf.ByteString data,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      return PARSER.parseFrom(data, extensionRegistry);
+    }
+    public static org.opennms.netmgt.poller.client.rpc.model.PollerRpcProtos.PollerAttribute parseFrom(byte[] data)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      return PARSER.parseFrom(data);
+    }
+    public static org.opennms.netmgt.poller.client.rpc.model.PollerRpcProtos.PollerAttribute parseFrom(
+        byte[] data,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      return PARSER.parseFrom(data, extensionRegistry);
+    }
+    public static org.opennms.netmgt.poller.client.rpc.model.PollerRpcProtos.PollerAttribute parseFrom(java.io.InputStream input)
+        throws java.io.IOException {
+      return com.google.protobuf.GeneratedMessageV3
+          .parseWithIOException(PARSER, input);
+    }
+    public static org.opennms.netmgt.poller.client.rpc.model.PollerRpcProtos.PollerAttribute parseFrom(
+        java.io.InputStream input,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws java.io.IOException {
+      return com.google.protobuf.GeneratedMessageV3
+          .parseWithIOException(PARSER, input, extensionRegistry);
+    }
+    public static org.opennms.netmgt.poller.client.rpc.model.PollerRpcProtos.PollerAttribute parseDelimitedFrom(java.io.InputStream input)
+        throws java.io.IOException {
+      return com.google.protobuf.GeneratedMessageV3
+          .parseDelimitedWithIOException(PARSER, input);
+    }
+    public static org.opennms.netmgt.poller.client.rpc.model.PollerRpcProtos.PollerAttribute parseDelimitedFrom(
+        java.io.InputStream input,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws java.io.IOException {
+      return com.google.protobuf.GeneratedMessageV3
+          .parseDelimitedWithIOException(PARSER, input, extensionRegistry);
+    }
+    public static org.opennms.netmgt.poller.client.rpc.model.PollerRpcProtos.PollerAttribute parseFrom(
+        com.google.protobuf.CodedInputStream input)
+        throws java.io.IOException {
+      return com.google.protobuf.GeneratedMessageV3
+          .parseWithIOException(PARSER, input);
+    }
+    public static org.opennms.netmgt.poller.client.rpc.model.PollerRpcProtos.PollerAttribute parseFrom(
+        com.google.protobuf.CodedInputStream input,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws java.io.IOException {
+      return com.google.protobuf.GeneratedMessageV3
+          .parseWithIOException(PARSER, input, extensionRegistry);
+    }
+
+    @java.lang.Override
+    public Builder newBuilderForType() { return newBuilder(); }
+    public static Builder newBuilder() {
+      return DEFAULT_INSTANCE.toBuilder();
+    }
+    public static Builder newBuilder(org.opennms.netmgt.poller.client.rpc.model.PollerRpcProtos.PollerAttribute prototype) {
+      return DEFAULT_INSTANCE.toBuilder().mergeFrom(prototype);
+    }
+    @java.lang.Override
+    public Builder toBuilder() {
+      return this == DEFAULT_INSTANCE
+          ? new Builder() : new Builder().mergeFrom(this);
+    }
+
+    @java.lang.Override
+    protected Builder newBuilderForType(
+        com.google.protobuf.GeneratedMessageV3.BuilderParent parent) {
+      Builder builder = new Builder(parent);
+      return builder;
+    }
+    /**
+     * Protobuf type {@code PollerAttribute}
+     */
+    public static final class Builder extends
+        com.google.protobuf.GeneratedMessageV3.Builder<Builder> implements
+        // @@protoc_insertion_point(builder_implements:PollerAttribute)
+        org.opennms.netmgt.poller.client.rpc.model.PollerRpcProtos.PollerAttributeOrBuilder {
+      public static final com.google.protobuf.Descriptors.Descriptor
+          getDescriptor() {
+        return org.opennms.netmgt.poller.client.rpc.model.PollerRpcProtos.internal_static_PollerAttribute_descriptor;
+      }
+
+      @java.lang.Override
+      protected com.google.protobuf.GeneratedMessageV3.FieldAccessorTable
+          internalGetFieldAccessorTable() {
+        return org.opennms.netmgt.poller.client.rpc.model.PollerRpcProtos.internal_static_PollerAttribute_fieldAccessorTable
+            .ensureFieldAccessorsInitialized(
+                org.opennms.netmgt.poller.client.rpc.model.PollerRpcProtos.PollerAttribute.class, org.opennms.netmgt.poller.client.rpc.model.PollerRpcProtos.PollerAttribute.Builder.class);
+      }
+
+      // Construct using org.opennms.netmgt.poller.client.rpc.model.PollerRpcProtos.PollerAttribute.newBuilder()
+      private Builder() {
+
+      }
+
+      private Builder(
+          com.google.protobuf.GeneratedMessageV3.BuilderParent parent) {
+        super(parent);
+
+      }
+      @java.lang.Override
+      public Builder clear() {
+        super.clear();
+        bitField0_ = 0;
+        key_ = "";
+        value_ = "";
+        return this;
+      }
+
+      @java.lang.Override
+      public com.google.protobuf.Descriptors.Descriptor
+          getDescriptorForType() {
+        return org.opennms.netmgt.poller.client.rpc.model.PollerRpcProtos.internal_static_PollerAttribute_descriptor;
+      }
+
+      @java.lang.Override
+      public org.opennms.netmgt.poller.client.rpc.model.PollerRpcProtos.PollerAttribute getDefaultInstanceForType() {
+        return org.opennms.netmgt.poller.client.rpc.model.PollerRpcProtos.PollerAttribute.getDefaultInstance();
+      }
+
+      @java.lang.Override
+      public org.opennms.netmgt.poller.client.rpc.model.PollerRpcProtos.PollerAttribute build() {
+        org.opennms.netmgt.poller.client.rpc.model.PollerRpcProtos.PollerAttribute result = buildPartial();
+        if (!result.isInitialized()) {
+          throw newUninitializedMessageException(result);
+        }
+        return result;
+      }
+
+      @java.lang.Override
+      public org.opennms.netmgt.poller.client.rpc.model.PollerRpcProtos.PollerAttribute buildPartial() {
+        org.opennms.netmgt.poller.client.rpc.model.PollerRpcProtos.PollerAttribute result = new org.opennms.netmgt.poller.client.rpc.model.PollerRpcProtos.PollerAttribute(this);
+        if (bitField0_ != 0) { buildPartial0(result); }
+        onBuilt();
+        return result;
+      }
+
+      private void buildPartial0(org.opennms.netmgt.poller.client.rpc.model.PollerRpcProtos.PollerAttribute result) {
+        int from_bitField0_ = bitField0_;
+        int to_bitField0_ = 0;
+        if (((from_bitField0_ & 0x00000001) != 0)) {
+          result.key_ = key_;
+          to_bitField0_ |= 0x00000001;
+        }
+        if (((from_bitField0_ & 0x00000002) != 0)) {
+          result.value_ = value_;
+          to_bitField0_ |= 0x00000002;
+        }
+        result.bitField0_ |= to_bitField0_;
+      }
+
+      @java.lang.Override
+      public Builder mergeFrom(com.google.protobuf.Message other) {
+        if (other instanceof org.opennms.netmgt.poller.client.rpc.model.PollerRpcProtos.PollerAttribute) {
+          return mergeFrom((org.opennms.netmgt.poller.client.rpc.model.PollerRpcProtos.PollerAttribute)other);
+        } else {
+          super.mergeFrom(other);
+          return this;
+        }
+      }
+
+      public Builder mergeFrom(org.opennms.netmgt.poller.client.rpc.model.PollerRpcProtos.PollerAttribute other) {
+        if (other == org.opennms.netmgt.poller.client.rpc.model.PollerRpcProtos.PollerAttribute.getDefaultInstance()) return this;
+        if (other.hasKey()) {
+          key_ = other.key_;
+          bitField0_ |= 0x00000001;
+          onChanged();
+        }
+        if (other.hasValue()) {
+          value_ = other.value_;
+          bitField0_ |= 0x00000002;
+          onChanged();
+        }
+        this.mergeUnknownFields(other.getUnknownFields());
+        onChanged();
+        return this;
+      }
+
+      @java.lang.Override
+      public final boolean isInitialized() {
+        return true;
+      }
+
+      @java.lang.Override
+      public Builder mergeFrom(
+          com.google.protobuf.CodedInputStream input,
+          com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+          throws java.io.IOException {
+        if (extensionRegistry == null) {
+          throw new java.lang.NullPointerException();
+        }
+        try {
+          boolean done = false;
+          while (!done) {
+            int tag = input.readTag();
+            switch (tag) {
+              case 0:
+                done = true;
+                break;
+              case 10: {
+                key_ = input.readStringRequireUtf8();
+                bitField0_ |= 0x00000001;
+                break;
+              } // case 10
+              case 18: {
+                value_ = input.readStringRequireUtf8();
+                bitField0_ |= 0x00000002;
+                break;
+              } // case 18
+              default: {
+                if (!super.parseUnknownField(input, extensionRegistry, tag)) {
+                  done = true; // was an endgroup tag
+                }
+                break;
+              } // default:
+            } // switch (tag)
+          } // while (!done)
+        } catch (com.google.protobuf.InvalidProtocolBufferException e) {
+          throw e.unwrapIOException();
+        } finally {
+          onChanged();
+        } // finally
+        return this;
+      }
+      private int bitField0_;
+
+      private java.lang.Object key_ = "";
+      /**
+       * <code>optional string key = 1;</code>
+       * @return Whether the key field is set.
+       */
+      public boolean hasKey() {
+        return ((bitField0_ & 0x00000001) != 0);
+      }
+      /**
+       * <code>optional string key = 1;</code>
+       * @return The key.
+       */
+      public java.lang.String getKey() {
+        java.lang.Object ref = key_;
+        if (!(ref instanceof java.lang.String)) {
+          com.google.protobuf.ByteString bs =
+              (com.google.protobuf.ByteString) ref;
+          java.lang.String s = bs.toStringUtf8();
+          key_ = s;
+          return s;
+        } else {
+          return (java.lang.String) ref;
+        }
+      }
+      /**
+       * <code>optional string key = 1;</code>
+       * @return The bytes for key.
+       */
+      public com.google.protobuf.ByteString
+          getKeyBytes() {
+        java.lang.Object ref = key_;
+        if (ref instanceof String) {
+          com.google.protobuf.ByteString b = 
+              com.google.protobuf.ByteString.copyFromUtf8(
+                  (java.lang.String) ref);
+          key_ = b;
+          return b;
+        } else {
+          return (com.google.protobuf.ByteString) ref;
+        }
+      }
+      /**
+       * <code>optional string key = 1;</code>
+       * @param value The key to set.
+       * @return This builder for chaining.
+       */
+      public Builder setKey(
+          java.lang.String value) {
+        if (value == null) { throw new NullPointerException(); }
+        key_ = value;
+        bitField0_ |= 0x00000001;
+        onChanged();
+        return this;
+      }
+      /**
+       * <code>optional string key = 1;</code>
+       * @return This builder for chaining.
+       */
+      public Builder clearKey() {
+        key_ = getDefaultInstance().getKey();
+        bitField0_ = (bitField0_ & ~0x00000001);
+        onChanged();
+        return this;
+      }
+      /**
+       * <code>optional string key = 1;</code>
+       * @param value The bytes for key to set.
+       * @return This builder for chaining.
+       */
+      public Builder setKeyBytes(
+          com.google.protobuf.ByteString value) {
+        if (value == null) { throw new NullPointerException(); }
+        checkByteStringIsUtf8(value);
+        key_ = value;
+        bitField0_ |= 0x00000001;
+        onChanged();
+        return this;
+      }
+
+      private java.lang.Object value_ = "";
+      /**
+       * <code>optional string value = 2;</code>
+       * @return Whether the value field is set.
+       */
+      public boolean hasValue() {
+        return ((bitField0_ & 0x00000002) != 0);
+      }
+      /**
+       * <code>optional string value = 2;</code>
+       * @return The value.
+       */
+      public java.lang.String getValue() {
+        java.lang.Object ref = value_;
+        if (!(ref instanceof java.lang.String)) {
+          com.google.protobuf.ByteString bs =
+              (com.google.protobuf.ByteString) ref;
+          java.lang.String s = bs.toStringUtf8();
+          value_ = s;
+          return s;
+        } else {
+          return (java.lang.String) ref;
+        }
+      }
+      /**
+       * <code>optional string value = 2;</code>
+       * @return The bytes for value.
+       */
+      public com.google.protobuf.ByteString
+          getValueBytes() {
+        java.lang.Object ref = value_;
+        if (ref instanceof String) {
+          com.google.protobuf.ByteString b = 
+              com.google.protobuf.ByteString.copyFromUtf8(
+                  (java.lang.String) ref);
+          value_ = b;
+          return b;
+        } else {
+          return (com.google.protobuf.ByteString) ref;
+        }
+      }
+      /**
+       * <code>optional string value = 2;</code>
+       * @param value The value to set.
+       * @return This builder for chaining.
+       */
+      public Builder setValue(
+          java.lang.String value) {
+        if (value == null) { throw new NullPointerException(); }
+        value_ = value;
+        bitField0_ |= 0x00000002;
+        onChanged();
+        return this;
+      }
+      /**
+       * <code>optional string value = 2;</code>
+       * @return This builder for chaining.
+       */
+      public Builder clearValue() {
+        value_ = getDefaultInstance().getValue();
+        bitField0_ = (bitField0_ & ~0x00000002);
+        onChanged();
+        return this;
+      }
+      /**
+       * <code>optional string value = 2;</code>
+       * @param value The bytes for value to set.
+       * @return This builder for chaining.
+       */
+      public Builder setValueBytes(
+          com.google.protobuf.ByteString value) {
+        if (value == null) { throw new NullPointerException(); }
+        checkByteStringIsUtf8(value);
+        value_ = value;
+        bitField0_ |= 0x00000002;
+        onChanged();
+        return this;
+      }
+      @java.lang.Override
+      public final Builder setUnknownFields(
+          final com.google.protobuf.UnknownFieldSet unknownFields) {
+        return super.setUnknownFields(unknownFields);
+      }
+
+      @java.lang.Override
+      public final Builder mergeUnknownFields(
+          final com.google.protobuf.UnknownFieldSet unknownFields) {
+        return super.mergeUnknownFields(unknownFields);
+      }
+
+
+      // @@protoc_insertion_point(builder_scope:PollerAttribute)
+    }
+
+    // @@protoc_insertion_point(class_scope:PollerAttribute)
+    private static final org.opennms.netmgt.poller.client.rpc.model.PollerRpcProtos.PollerAttribute DEFAULT_INSTANCE;
+    static {
+      DEFAULT_INSTANCE = new org.opennms.netmgt.poller.client.rpc.model.PollerRpcProtos.PollerAttribute();
+    }
+
+    public static org.opennms.netmgt.poller.client.rpc.model.PollerRpcProtos.PollerAttribute getDefaultInstance() {
+      return DEFAULT_INSTANCE;
+    }
+
+    private static final com.google.protobuf.Parser<PollerAttribute>
+        PARSER = new com.google.protobuf.AbstractParser<PollerAttribute>() {
+      @java.lang.Override
+      public PollerAttribute parsePartialFrom(
+          com.google.protobuf.CodedInputStream input,
+          com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+          throws com.google.protobuf.InvalidProtocolBufferException {
+        Builder builder = newBuilder();
+        try {
+          builder.mergeFrom(input, extensionRegistry);
+        } catch (com.google.protobuf.InvalidProtocolBufferException e) {
+          throw e.setUnfinishedMessage(builder.buildPartial());
+        } catch (com.google.protobuf.UninitializedMessageException e) {
+          throw e.asInvalidProtocolBufferException().setUnfinishedMessage(builder.buildPartial());
+        } catch (java.io.IOException e) {
+          throw new com.google.protobuf.InvalidProtocolBufferException(e)
+              .setUnfinishedMessage(builder.buildPartial());
+        }
+        return builder.buildPartial();
+      }
+    };
+
+    public static com.google.protobuf.Parser<PollerAttribute> parser() {
+      return PARSER;
+    }
+
+    @java.lang.Override
+    public com.google.protobuf.Parser<PollerAttribute> getParserForType() {
+      return PARSER;
+    }
+
+    @java.lang.Override
+    public org.opennms.netmgt.poller.client.rpc.model.PollerRpcProtos.PollerAttribute getDefaultInstanceForType() {
+      return DEFAULT_INSTANCE;
+    }
+
+  }
+
+  public interface PollerResponseOrBuilder extends
+      // @@protoc_insertion_point(interface_extends:PollerResponse)
+      com.google.protobuf.MessageOrBuilder {
+
+    /**
+     * <code>optional string error = 1;</code>
+     * @return Whether the error field is set.
+     */
+    boolean hasError();
+    /**
+     * <code>optional string error = 1;</code>
+     * @return The error.
+     */
+    java.lang.String getError();
+    /**
+     * <code>optional string error = 1;</code>
+     * @return The bytes for error.
+     */
+    com.google.protobuf.ByteString
+        getErrorBytes();
+
+    /**
+     * <code>optional .PollStatus poll_status = 2;</code>
+     * @return Whether the pollStatus field is set.
+     */
+    boolean hasPollStatus();
+    /**
+     * <code>optional .PollStatus poll_status = 2;</code>
+     * @return The pollStatus.
+     */
+    org.opennms.netmgt.poller.client.rpc.model.PollerRpcProtos.PollStatus getPollStatus();
+    /**
+     * <code>optional .PollStatus poll_status = 2;</code>
+     */
+    org.opennms.netmgt.poller.client.rpc.model.PollerRpcProtos.PollStatusOrBuilder getPollStatusOrBuilder();
+  }
+  /**
+   * Protobuf type {@code PollerResponse}
+   */
+  public static final class PollerResponse extends
+      com.google.protobuf.GeneratedMessageV3 implements
+      // @@protoc_insertion_point(message_implements:PollerResponse)
+      PollerResponseOrBuilder {
+  private static final long serialVersionUID = 0L;
+    // Use PollerResponse.newBuilder() to construct.
+    private PollerResponse(com.google.protobuf.GeneratedMessageV3.Builder<?> builder) {
+      super(builder);
+    }
+    private PollerResponse() {
+      error_ = "";
+    }
+
+    @java.lang.Override
+    @SuppressWarnings({"unused"})
+    protected java.lang.Object newInstance(
+        UnusedPrivateParameter unused) {
+      return new PollerResponse();
+    }
+
+    public static final com.google.protobuf.Descriptors.Descriptor
+        getDescriptor() {
+      return org.opennms.netmgt.poller.client.rpc.model.PollerRpcProtos.internal_static_PollerResponse_descriptor;
+    }
+
+    @java.lang.Override
+    protected com.google.protobuf.GeneratedMessageV3.FieldAccessorTable
+        internalGetFieldAccessorTable() {
+      return org.opennms.netmgt.poller.client.rpc.model.PollerRpcProtos.internal_static_PollerResponse_fieldAccessorTable
+          .ensureFieldAccessorsInitialized(
+              org.opennms.netmgt.poller.client.rpc.model.PollerRpcProtos.PollerResponse.class, org.opennms.netmgt.poller.client.rpc.model.PollerRpcProtos.PollerResponse.Builder.class);
+    }
+
+    private int bitField0_;
+    public static final int ERROR_FIELD_NUMBER = 1;
+    @SuppressWarnings("serial")
+    private volatile java.lang.Object error_ = "";
+    /**
+     * <code>optional string error = 1;</code>
+     * @return Whether the error field is set.
+     */
+    @java.lang.Override
+    public boolean hasError() {
+      return ((bitField0_ & 0x00000001) != 0);
+    }
+    /**
+     * <code>optional string error = 1;</code>
+     * @return The error.
+     */
+    @java.lang.Override
+    public java.lang.String getError() {
+      java.lang.Object ref = error_;
+      if (ref instanceof java.lang.String) {
+        return (java.lang.String) ref;
+      } else {
+        com.google.protobuf.ByteString bs = 
+            (com.google.protobuf.ByteString) ref;
+        java.lang.String s = bs.toStringUtf8();
+        error_ = s;
+        return s;
+      }
+    }
+    /**
+     * <code>optional string error = 1;</code>
+     * @return The bytes for error.
+     */
+    @java.lang.Override
+    public com.google.protobuf.ByteString
+        getErrorBytes() {
+      java.lang.Object ref = error_;
+      if (ref instanceof java.lang.String) {
+        com.google.protobuf.ByteString b = 
+            com.google.protobuf.ByteString.copyFromUtf8(
+                (java.lang.String) ref);
+        error_ = b;
+        return b;
+      } else {
+        return (com.google.protobuf.ByteString) ref;
+      }
+    }
+
+    public static final int POLL_STATUS_FIELD_NUMBER = 2;
+    private org.opennms.netmgt.poller.client.rpc.model.PollerRpcProtos.PollStatus pollStatus_;
+    /**
+     * <code>optional .PollStatus poll_status = 2;</code>
+     * @return Whether the pollStatus field is set.
+     */
+    @java.lang.Override
+    public boolean hasPollStatus() {
+      return ((bitField0_ & 0x00000002) != 0);
+    }
+    /**
+     * <code>optional .PollStatus poll_status = 2;</code>
+     * @return The pollStatus.
+     */
+    @java.lang.Override
+    public org.opennms.netmgt.poller.client.rpc.model.PollerRpcProtos.PollStatus getPollStatus() {
+      return pollStatus_ == null ? org.opennms.netmgt.poller.client.rpc.model.PollerRpcProtos.PollStatus.getDefaultInstance() : pollStatus_;
+    }
+    /**
+     * <code>optional .PollStatus poll_status = 2;</code>
+     */
+    @java.lang.Override
+    public org.opennms.netmgt.poller.client.rpc.model.PollerRpcProtos.PollStatusOrBuilder getPollStatusOrBuilder() {
+      return pollStatus_ == null ? org.opennms.netmgt.poller.client.rpc.model.PollerRpcProtos.PollStatus.getDefaultInstance() : pollStatus_;
+    }
+
+    private byte memoizedIsInitialized = -1;
+    @java.lang.Override
+    public final boolean isInitialized() {
+      byte isInitialized = memoizedIsInitialized;
+      if (isInitialized == 1) return true;
+      if (isInitialized == 0) return false;
+
+      memoizedIsInitialized = 1;
+      return true;
+    }
+
+    @java.lang.Override
+    public void writeTo(com.google.protobuf.CodedOutputStream output)
+                        throws java.io.IOException {
+      if (((bitField0_ & 0x00000001) != 0)) {
+        com.google.protobuf.GeneratedMessageV3.writeString(output, 1, error_);
+      }
+      if (((bitField0_ & 0x00000002) != 0)) {
+        output.writeMessage(2, getPollStatus());
+      }
+      getUnknownFields().writeTo(output);
+    }
+
+    @java.lang.Override
+    public int getSerializedSize() {
+      int size = memoizedSize;
+      if (size != -1) return size;
+
+      size = 0;
+      if (((bitField0_ & 0x00000001) != 0)) {
+        size += com.google.protobuf.GeneratedMessageV3.computeStringSize(1, error_);
+      }
+      if (((bitField0_ & 0x00000002) != 0)) {
+        size += com.google.protobuf.CodedOutputStream
+          .computeMessageSize(2, getPollStatus());
+      }
+      size += getUnknownFields().getSerializedSize();
+      memoizedSize = size;
+      return size;
+    }
+
+    @java.lang.Override
+    public boolean equals(final java.lang.Object obj) {
+      if (obj == this) {
+       return true;
+      }
+      if (!(obj instanceof org.opennms.netmgt.poller.client.rpc.model.PollerRpcProtos.PollerResponse)) {
+        return super.equals(obj);
+      }
+      org.opennms.netmgt.poller.client.rpc.model.PollerRpcProtos.PollerResponse other = (org.opennms.netmgt.poller.client.rpc.model.PollerRpcProtos.PollerResponse) obj;
+
+      if (hasError() != other.hasError()) return false;
+      if (hasError()) {
+        if (!getError()
+            .equals(other.getError())) return false;
+      }
+      if (hasPollStatus() != other.hasPollStatus()) return false;
+      if (hasPollStatus()) {
+        if (!getPollStatus()
+            .equals(other.getPollStatus())) return false;
+      }
+      if (!getUnknownFields().equals(other.getUnknownFields())) return false;
+      return true;
+    }
+
+    @java.lang.Override
+    public int hashCode() {
+      if (memoizedHashCode != 0) {
+        return memoizedHashCode;
+      }
+      int hash = 41;
+      hash = (19 * hash) + getDescriptor().hashCode();
+      if (hasError()) {
+        hash = (37 * hash) + ERROR_FIELD_NUMBER;
+        hash = (53 * hash) + getError().hashCode();
+      }
+      if (hasPollStatus()) {
+        hash = (37 * hash) + POLL_STATUS_FIELD_NUMBER;
+        hash = (53 * hash) + getPollStatus().hashCode();
+      }
+      hash = (29 * hash) + getUnknownFields().hashCode();
+      memoizedHashCode = hash;
+      return hash;
+    }
+
+    public static org.opennms.netmgt.poller.client.rpc.model.PollerRpcProtos.PollerResponse parseFrom(
+        java.nio.ByteBuffer data)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      return PARSER.parseFrom(data);
+    }
+    public static org.opennms.netmgt.poller.client.rpc.model.PollerRpcProtos.PollerResponse parseFrom(
+        java.nio.ByteBuffer data,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      return PARSER.parseFrom(data, extensionRegistry);
+    }
+    public static org.opennms.netmgt.poller.client.rpc.model.PollerRpcProtos.PollerResponse parseFrom(
+        com.google.protobuf.ByteString data)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      return PARSER.parseFrom(data);
+    }
+    public static org.opennms.netmgt.poller.client.rpc.model.PollerRpcProtos.PollerResponse parseFrom(
+        com.google.protobuf.ByteString data,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      return PARSER.parseFrom(data, extensionRegistry);
+    }
+    public static org.opennms.netmgt.poller.client.rpc.model.PollerRpcProtos.PollerResponse parseFrom(byte[] data)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      return PARSER.parseFrom(data);
+    }
+    public static org.opennms.netmgt.poller.client.rpc.model.PollerRpcProtos.PollerResponse parseFrom(
+        byte[] data,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      return PARSER.parseFrom(data, extensionRegistry);
+    }
+    public static org.opennms.netmgt.poller.client.rpc.model.PollerRpcProtos.PollerResponse parseFrom(java.io.InputStream input)
+        throws java.io.IOException {
+      return com.google.protobuf.GeneratedMessageV3
+          .parseWithIOException(PARSER, input);
+    }
+    public static org.opennms.netmgt.poller.client.rpc.model.PollerRpcProtos.PollerResponse parseFrom(
+        java.io.InputStream input,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws java.io.IOException {
+      return com.google.protobuf.GeneratedMessageV3
+          .parseWithIOException(PARSER, input, extensionRegistry);
+    }
+    public static org.opennms.netmgt.poller.client.rpc.model.PollerRpcProtos.PollerResponse parseDelimitedFrom(java.io.InputStream input)
+        throws java.io.IOException {
+      return com.google.protobuf.GeneratedMessageV3
+          .parseDelimitedWithIOException(PARSER, input);
+    }
+    public static org.opennms.netmgt.poller.client.rpc.model.PollerRpcProtos.PollerResponse parseDelimitedFrom(
+        java.io.InputStream input,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws java.io.IOException {
+      return com.google.protobuf.GeneratedMessageV3
+          .parseDelimitedWithIOException(PARSER, input, extensionRegistry);
+    }
+    public static org.opennms.netmgt.poller.client.rpc.model.PollerRpcProtos.PollerResponse parseFrom(
+        com.google.protobuf.CodedInputStream input)
+        throws java.io.IOException {
+      return com.google.protobuf.GeneratedMessageV3
+          .parseWithIOException(PARSER, input);
+    }
+    public static org.opennms.netmgt.poller.client.rpc.model.PollerRpcProtos.PollerResponse parseFrom(
+        com.google.protobuf.CodedInputStream input,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws java.io.IOException {
+      return com.google.protobuf.GeneratedMessageV3
+          .parseWithIOException(PARSER, input, extensionRegistry);
+    }
+
+    @java.lang.Override
+    public Builder newBuilderForType() { return newBuilder(); }
+    public static Builder newBuilder() {
+      return DEFAULT_INSTANCE.toBuilder();
+    }
+    public static Builder newBuilder(org.opennms.netmgt.poller.client.rpc.model.PollerRpcProtos.PollerResponse prototype) {
+      return DEFAULT_INSTANCE.toBuilder().mergeFrom(prototype);
+    }
+    @java.lang.Override
+    public Builder toBuilder() {
+      return this == DEFAULT_INSTANCE
+          ? new Builder() : new Builder().mergeFrom(this);
+    }
+
+    @java.lang.Override
+    protected Builder newBuilderForType(
+        com.google.protobuf.GeneratedMessageV3.BuilderParent parent) {
+      Builder builder = new Builder(parent);
+      return builder;
+    }
+    /**
+     * Protobuf type {@code PollerResponse}
+     */
+    public static final class Builder extends
+        com.google.protobuf.GeneratedMessageV3.Builder<Builder> implements
+        // @@protoc_insertion_point(builder_implements:PollerResponse)
+        org.opennms.netmgt.poller.client.rpc.model.PollerRpcProtos.PollerResponseOrBuilder {
+      public static final com.google.protobuf.Descriptors.Descriptor
+          getDescriptor() {
+        return org.opennms.netmgt.poller.client.rpc.model.PollerRpcProtos.internal_static_PollerResponse_descriptor;
+      }
+
+      @java.lang.Override
+      protected com.google.protobuf.GeneratedMessageV3.FieldAccessorTable
+          internalGetFieldAccessorTable() {
+        return org.opennms.netmgt.poller.client.rpc.model.PollerRpcProtos.internal_static_PollerResponse_fieldAccessorTable
+            .ensureFieldAccessorsInitialized(
+                org.opennms.netmgt.poller.client.rpc.model.PollerRpcProtos.PollerResponse.class, org.opennms.netmgt.poller.client.rpc.model.PollerRpcProtos.PollerResponse.Builder.class);
+      }
+
+      // Construct using org.opennms.netmgt.poller.client.rpc.model.PollerRpcProtos.PollerResponse.newBuilder()
+      private Builder() {
+        maybeForceBuilderInitialization();
+      }
+
+      private Builder(
+          com.google.protobuf.GeneratedMessageV3.BuilderParent parent) {
+        super(parent);
+        maybeForceBuilderInitialization();
+      }
+      private void maybeForceBuilderInitialization() {
+        if (com.google.protobuf.GeneratedMessageV3
+                .alwaysUseFieldBuilders) {
+          getPollStatusFieldBuilder();
+        }
+      }
+      @java.lang.Override
+      public Builder clear() {
+        super.clear();
+        bitField0_ = 0;
+        error_ = "";
+        pollStatus_ = null;
+        if (pollStatusBuilder_ != null) {
+          pollStatusBuilder_.dispose();
+          pollStatusBuilder_ = null;
+        }
+        return this;
+      }
+
+      @java.lang.Override
+      public com.google.protobuf.Descriptors.Descriptor
+          getDescriptorForType() {
+        return org.opennms.netmgt.poller.client.rpc.model.PollerRpcProtos.internal_static_PollerResponse_descriptor;
+      }
+
+      @java.lang.Override
+      public org.opennms.netmgt.poller.client.rpc.model.PollerRpcProtos.PollerResponse getDefaultInstanceForType() {
+        return org.opennms.netmgt.poller.client.rpc.model.PollerRpcProtos.PollerResponse.getDefaultInstance();
+      }
+
+      @java.lang.Override
+      public org.opennms.netmgt.poller.client.rpc.model.PollerRpcProtos.PollerResponse build() {
+        org.opennms.netmgt.poller.client.rpc.model.PollerRpcProtos.PollerResponse result = buildPartial();
+        if (!result.isInitialized()) {
+          throw newUninitializedMessageException(result);
+        }
+        return result;
+      }
+
+      @java.lang.Override
+      public org.opennms.netmgt.poller.client.rpc.model.PollerRpcProtos.PollerResponse buildPartial() {
+        org.opennms.netmgt.poller.client.rpc.model.PollerRpcProtos.PollerResponse result = new org.opennms.netmgt.poller.client.rpc.model.PollerRpcProtos.PollerResponse(this);
+        if (bitField0_ != 0) { buildPartial0(result); }
+        onBuilt();
+        return result;
+      }
+
+      private void buildPartial0(org.opennms.netmgt.poller.client.rpc.model.PollerRpcProtos.PollerResponse result) {
+        int from_bitField0_ = bitField0_;
+        int to_bitField0_ = 0;
+        if (((from_bitField0_ & 0x00000001) != 0)) {
+          result.error_ = error_;
+          to_bitField0_ |= 0x00000001;
+        }
+        if (((from_bitField0_ & 0x00000002) != 0)) {
+          result.pollStatus_ = pollStatusBuilder_ == null
+              ? pollStatus_
+              : pollStatusBuilder_.build();
+          to_bitField0_ |= 0x00000002;
+        }
+        result.bitField0_ |= to_bitField0_;
+      }
+
+      @java.lang.Override
+      public Builder mergeFrom(com.google.protobuf.Message other) {
+        if (other instanceof org.opennms.netmgt.poller.client.rpc.model.PollerRpcProtos.PollerResponse) {
+          return mergeFrom((org.opennms.netmgt.poller.client.rpc.model.PollerRpcProtos.PollerResponse)other);
+        } else {
+          super.mergeFrom(other);
+          return this;
+        }
+      }
+
+      public Builder mergeFrom(org.opennms.netmgt.poller.client.rpc.model.PollerRpcProtos.PollerResponse other) {
+        if (other == org.opennms.netmgt.poller.client.rpc.model.PollerRpcProtos.PollerResponse.getDefaultInstance()) return this;
+        if (other.hasError()) {
+          error_ = other.error_;
+          bitField0_ |= 0x00000001;
+          onChanged();
+        }
+        if (other.hasPollStatus()) {
+          mergePollStatus(other.getPollStatus());
+        }
+        this.mergeUnknownFields(other.getUnknownFields());
+        onChanged();
+        return this;
+      }
+
+      @java.lang.Override
+      public final boolean isInitialized() {
+        return true;
+      }
+
+      @java.lang.Override
+      public Builder mergeFrom(
+          com.google.protobuf.CodedInputStream input,
+          com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+          throws java.io.IOException {
+        if (extensionRegistry == null) {
+          throw new java.lang.NullPointerException();
+        }
+        try {
+          boolean done = false;
+          while (!done) {
+            int tag = input.readTag();
+            switch (tag) {
+              case 0:
+                done = true;
+                break;
+              case 10: {
+                error_ = input.readStringRequireUtf8();
+                bitField0_ |= 0x00000001;
+                break;
+              } // case 10
+              case 18: {
+                input.readMessage(
+                    getPollStatusFieldBuilder().getBuilder(),
+                    extensionRegistry);
+                bitField0_ |= 0x00000002;
+                break;
+              } // case 18
+              default: {
+                if (!super.parseUnknownField(input, extensionRegistry, tag)) {
+                  done = true; // was an endgroup tag
+                }
+                break;
+              } // default:
+            } // switch (tag)
+          } // while (!done)
+        } catch (com.google.protobuf.InvalidProtocolBufferException e) {
+          throw e.unwrapIOException();
+        } finally {
+          onChanged();
+        } // finally
+        return this;
+      }
+      private int bitField0_;
+
+      private java.lang.Object error_ = "";
+      /**
+       * <code>optional string error = 1;</code>
+       * @return Whether the error field is set.
+       */
+      public boolean hasError() {
+        return ((bitField0_ & 0x00000001) != 0);
+      }
+      /**
+       * <code>optional string error = 1;</code>
+       * @return The error.
+       */
+      public java.lang.String getError() {
+        java.lang.Object ref = error_;
+        if (!(ref instanceof java.lang.String)) {
+          com.google.protobuf.ByteString bs =
+              (com.google.protobuf.ByteString) ref;
+          java.lang.String s = bs.toStringUtf8();
+          error_ = s;
+          return s;
+        } else {
+          return (java.lang.String) ref;
+        }
+      }
+      /**
+       * <code>optional string error = 1;</code>
+       * @return The bytes for error.
+       */
+      public com.google.protobuf.ByteString
+          getErrorBytes() {
+        java.lang.Object ref = error_;
+        if (ref instanceof String) {
+          com.google.protobuf.ByteString b = 
+              com.google.protobuf.ByteString.copyFromUtf8(
+                  (java.lang.String) ref);
+          error_ = b;
+          return b;
+        } else {
+          return (com.google.protobuf.ByteString) ref;
+        }
+      }
+      /**
+       * <code>optional string error = 1;</code>
+       * @param value The error to set.
+       * @return This builder for chaining.
+       */
+      public Builder setError(
+          java.lang.String value) {
+        if (value == null) { throw new NullPointerException(); }
+        error_ = value;
+        bitField0_ |= 0x00000001;
+        onChanged();
+        return this;
+      }
+      /**
+       * <code>optional string error = 1;</code>
+       * @return This builder for chaining.
+       */
+      public Builder clearError() {
+        error_ = getDefaultInstance().getError();
+        bitField0_ = (bitField0_ & ~0x00000001);
+        onChanged();
+        return this;
+      }
+      /**
+       * <code>optional string error = 1;</code>
+       * @param value The bytes for error to set.
+       * @return This builder for chaining.
+       */
+      public Builder setErrorBytes(
+          com.google.protobuf.ByteString value) {
+        if (value == null) { throw new NullPointerException(); }
+        checkByteStringIsUtf8(value);
+        error_ = value;
+        bitField0_ |= 0x00000001;
+        onChanged();
+        return this;
+      }
+
+      private org.opennms.netmgt.poller.client.rpc.model.PollerRpcProtos.PollStatus pollStatus_;
+      private com.google.protobuf.SingleFieldBuilderV3<
+          org.opennms.netmgt.poller.client.rpc.model.PollerRpcProtos.PollStatus, org.opennms.netmgt.poller.client.rpc.model.PollerRpcProtos.PollStatus.Builder, org.opennms.netmgt.poller.client.rpc.model.PollerRpcProtos.PollStatusOrBuilder> pollStatusBuilder_;
+      /**
+       * <code>optional .PollStatus poll_status = 2;</code>
+       * @return Whether the pollStatus field is set.
+       */
+      public boolean hasPollStatus() {
+        return ((bitField0_ & 0x00000002) != 0);
+      }
+      /**
+       * <code>optional .PollStatus poll_status = 2;</code>
+       * @return The pollStatus.
+       */
+      public org.opennms.netmgt.poller.client.rpc.model.PollerRpcProtos.PollStatus getPollStatus() {
+        if (pollStatusBuilder_ == null) {
+          return pollStatus_ == null ? org.opennms.netmgt.poller.client.rpc.model.PollerRpcProtos.PollStatus.getDefaultInstance() : pollStatus_;
+        } else {
+          return pollStatusBuilder_.getMessage();
+        }
+      }
+      /**
+       * <code>optional .PollStatus poll_status = 2;</code>
+       */
+      public Builder setPollStatus(org.opennms.netmgt.poller.client.rpc.model.PollerRpcProtos.PollStatus value) {
+        if (pollStatusBuilder_ == null) {
+          if (value == null) {
+            throw new NullPointerException();
+          }
+          pollStatus_ = value;
+        } else {
+          pollStatusBuilder_.setMessage(value);
+        }
+        bitField0_ |= 0x00000002;
+        onChanged();
+        return this;
+      }
+      /**
+       * <code>optional .PollStatus poll_status = 2;</code>
+       */
+      public Builder setPollStatus(
+          org.opennms.netmgt.poller.client.rpc.model.PollerRpcProtos.PollStatus.Builder builderForValue) {
+        if (pollStatusBuilder_ == null) {
+          pollStatus_ = builderForValue.build();
+        } else {
+          pollStatusBuilder_.setMessage(builderForValue.build());
+        }
+        bitField0_ |= 0x00000002;
+        onChanged();
+        return this;
+      }
+      /**
+       * <code>optional .PollStatus poll_status = 2;</code>
+       */
+      public Builder mergePollStatus(org.opennms.netmgt.poller.client.rpc.model.PollerRpcProtos.PollStatus value) {
+        if (pollStatusBuilder_ == null) {
+          if (((bitField0_ & 0x00000002) != 0) &&
+            pollStatus_ != null &&
+            pollStatus_ != org.opennms.netmgt.poller.client.rpc.model.PollerRpcProtos.PollStatus.getDefaultInstance()) {
+            getPollStatusBuilder().mergeFrom(value);
+          } else {
+            pollStatus_ = value;
+          }
+        } else {
+          pollStatusBuilder_.mergeFrom(value);
+        }
+        bitField0_ |= 0x00000002;
+        onChanged();
+        return this;
+      }
+      /**
+       * <code>optional .PollStatus poll_status = 2;</code>
+       */
+      public Builder clearPollStatus() {
+        bitField0_ = (bitField0_ & ~0x00000002);
+        pollStatus_ = null;
+        if (pollStatusBuilder_ != null) {
+          pollStatusBuilder_.dispose();
+          pollStatusBuilder_ = null;
+        }
+        onChanged();
+        return this;
+      }
+      /**
+       * <code>optional .PollStatus poll_status = 2;</code>
+       */
+      public org.opennms.netmgt.poller.client.rpc.model.PollerRpcProtos.PollStatus.Builder getPollStatusBuilder() {
+        bitField0_ |= 0x00000002;
+        onChanged();
+        return getPollStatusFieldBuilder().getBuilder();
+      }
+      /**
+       * <code>optional .PollStatus poll_status = 2;</code>
+       */
+      public org.opennms.netmgt.poller.client.rpc.model.PollerRpcProtos.PollStatusOrBuilder getPollStatusOrBuilder() {
+        if (pollStatusBuilder_ != null) {
+          return pollStatusBuilder_.getMessageOrBuilder();
+        } else {
+          return pollStatus_ == null ?
+              org.opennms.netmgt.poller.client.rpc.model.PollerRpcProtos.PollStatus.getDefaultInstance() : pollStatus_;
+        }
+      }
+      /**
+       * <code>optional .PollStatus poll_status = 2;</code>
+       */
+      private com.google.protobuf.SingleFieldBuilderV3<
+          org.opennms.netmgt.poller.client.rpc.model.PollerRpcProtos.PollStatus, org.opennms.netmgt.poller.client.rpc.model.PollerRpcProtos.PollStatus.Builder, org.opennms.netmgt.poller.client.rpc.model.PollerRpcProtos.PollStatusOrBuilder> 
+          getPollStatusFieldBuilder() {
+        if (pollStatusBuilder_ == null) {
+          pollStatusBuilder_ = new com.google.protobuf.SingleFieldBuilderV3<
+              org.opennms.netmgt.poller.client.rpc.model.PollerRpcProtos.PollStatus, org.opennms.netmgt.poller.client.rpc.model.PollerRpcProtos.PollStatus.Builder, org.opennms.netmgt.poller.client.rpc.model.PollerRpcProtos.PollStatusOrBuilder>(
+                  getPollStatus(),
+                  getParentForChildren(),
+                  isClean());
+          pollStatus_ = null;
+        }
+        return pollStatusBuilder_;
+      }
+      @java.lang.Override
+      public final Builder setUnknownFields(
+          final com.google.protobuf.UnknownFieldSet unknownFields) {
+        return super.setUnknownFields(unknownFields);
+      }
+
+      @java.lang.Override
+      public final Builder mergeUnknownFields(
+          final com.google.protobuf.UnknownFieldSet unknownFields) {
+        return super.mergeUnknownFields(unknownFields);
+      }
+
+
+      // @@protoc_insertion_point(builder_scope:PollerResponse)
+    }
+
+    // @@protoc_insertion_point(class_scope:PollerResponse)
+    private static final org.opennms.netmgt.poller.client.rpc.model.PollerRpcProtos.PollerResponse DEFAULT_INSTANCE;
+    static {
+      DEFAULT_INSTANCE = new org.opennms.netmgt.poller.client.rpc.model.PollerRpcProtos.PollerResponse();
+    }
+
+    public static org.opennms.netmgt.poller.client.rpc.model.PollerRpcProtos.PollerResponse getDefaultInstance() {
+      return DEFAULT_INSTANCE;
+    }
+
+    private static final com.google.protobuf.Parser<PollerResponse>
+        PARSER = new com.google.protobuf.AbstractParser<PollerResponse>() {
+      @java.lang.Override
+      public PollerResponse parsePartialFrom(
+          com.google.protobuf.CodedInputStream input,
+          com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+          throws com.google.protobuf.InvalidProtocolBufferException {
+        Builder builder = newBuilder();
+        try {
+          builder.mergeFrom(input, extensionRegistry);
+        } catch (com.google.protobuf.InvalidProtocolBufferException e) {
+          throw e.setUnfinishedMessage(builder.buildPartial());
+        } catch (com.google.protobuf.UninitializedMessageException e) {
+          throw e.asInvalidProtocolBufferException().setUnfinishedMessage(builder.buildPartial());
+        } catch (java.io.IOException e) {
+          throw new com.google.protobuf.InvalidProtocolBufferException(e)
+              .setUnfinishedMessage(builder.buildPartial());
+        }
+        return builder.buildPartial();
+      }
+    };
+
+    public static com.google.protobuf.Parser<PollerResponse> parser() {
+      return PARSER;
+    }
+
+    @java.lang.Override
+    public com.google.protobuf.Parser<PollerResponse> getParserForType() {
+      return PARSER;
+    }
+
+    @java.lang.Override
+    public org.opennms.netmgt.poller.client.rpc.model.PollerRpcProtos.PollerResponse getDefaultInstanceForType() {
+      return DEFAULT_INSTANCE;
+    }
+
+  }
+
+  public interface PollStatusOrBuilder extends
+      // @@protoc_insertion_point(interface_extends:PollStatus)
+      com.google.protobuf.MessageOrBuilder {
+
+    /**
+     * <pre>
+     * Milliseconds since the epoch
+     * </pre>
+     *
+     * <code>optional int64 timestamp = 1;</code>
+     * @return Whether the timestamp field is set.
+     */
+    boolean hasTimestamp();
+    /**
+     * <pre>
+     * Milliseconds since the epoch
+     * </pre>
+     *
+     * <code>optional int64 timestamp = 1;</code>
+     * @return The timestamp.
+     */
+    long getTimestamp();
+
+    /**
+     * <code>int32 status_code = 2;</code>
+     * @return The statusCode.
+     */
+    int getStatusCode();
+
+    /**
+     * <code>optional string reason = 3;</code>
+     * @return Whether the reason field is set.
+     */
+    boolean hasReason();
+    /**
+     * <code>optional string reason = 3;</code>
+     * @return The reason.
+     */
+    java.lang.String getReason();
+    /**
+     * <code>optional string reason = 3;</code>
+     * @return The bytes for reason.
+     */
+    com.google.protobuf.ByteString
+        getReasonBytes();
+
+    /**
+     * <code>repeated .PollStatusProperty properties = 4;</code>
+     */
+    java.util.List<org.opennms.netmgt.poller.client.rpc.model.PollerRpcProtos.PollStatusProperty> 
+        getPropertiesList();
+    /**
+     * <code>repeated .PollStatusProperty properties = 4;</code>
+     */
+    org.opennms.netmgt.poller.client.rpc.model.PollerRpcProtos.PollStatusProperty getProperties(int index);
+    /**
+     * <code>repeated .PollStatusProperty properties = 4;</code>
+     */
+    int getPropertiesCount();
+    /**
+     * <code>repeated .PollStatusProperty properties = 4;</code>
+     */
+    java.util.List<? extends org.opennms.netmgt.poller.client.rpc.model.PollerRpcProtos.PollStatusPropertyOrBuilder> 
+        getPropertiesOrBuilderList();
+    /**
+     * <code>repeated .PollStatusProperty properties = 4;</code>
+     */
+    org.opennms.netmgt.poller.client.rpc.model.PollerRpcProtos.PollStatusPropertyOrBuilder getPropertiesOrBuilder(
+        int index);
+  }
+  /**
+   * Protobuf type {@code PollStatus}
+   */
+  public static final class PollStatus extends
+      com.google.protobuf.GeneratedMessageV3 implements
+      // @@protoc_insertion_point(message_implements:PollStatus)
+      PollStatusOrBuilder {
+  private static final long serialVersionUID = 0L;
+    // Use PollStatus.newBuilder() to construct.
+    private PollStatus(com.google.protobuf.GeneratedMessageV3.Builder<?> builder) {
+      super(builder);
+    }
+    private PollStatus() {
+      reason_ = "";
+      properties_ = java.util.Collections.emptyList();
+    }
+
+    @java.lang.Override
+    @SuppressWarnings({"unused"})
+    protected java.lang.Object newInstance(
+        UnusedPrivateParameter unused) {
+      return new PollStatus();
+    }
+
+    public static final com.google.protobuf.Descriptors.Descriptor
+        getDescriptor() {
+      return org.opennms.netmgt.poller.client.rpc.model.PollerRpcProtos.internal_static_PollStatus_descriptor;
+    }
+
+    @java.lang.Override
+    protected com.google.protobuf.GeneratedMessageV3.FieldAccessorTable
+        internalGetFieldAccessorTable() {
+      return org.opennms.netmgt.poller.client.rpc.model.PollerRpcProtos.internal_static_PollStatus_fieldAccessorTable
+          .ensureFieldAccessorsInitialized(
+              org.opennms.netmgt.poller.client.rpc.model.PollerRpcProtos.PollStatus.class, org.opennms.netmgt.poller.client.rpc.model.PollerRpcProtos.PollStatus.Builder.class);
+    }
+
+    private int bitField0_;
+    public static final int TIMESTAMP_FIELD_NUMBER = 1;
+    private long timestamp_ = 0L;
+    /**
+     * <pre>
+     * Milliseconds since the epoch
+     * </pre>
+     *
+     * <code>optional int64 timestamp = 1;</code>
+     * @return Whether the timestamp field is set.
+     */
+    @java.lang.Override
+    public boolean hasTimestamp() {
+      return ((bitField0_ & 0x00000001) != 0);
+    }
+    /**
+     * <pre>
+     * Milliseconds since the epoch
+     * </pre>
+     *
+     * <code>optional int64 timestamp = 1;</code>
+     * @return The timestamp.
+     */
+    @java.lang.Override
+    public long getTimestamp() {
+      return timestamp_;
+    }
+
+    public static final int STATUS_CODE_FIELD_NUMBER = 2;
+    private int statusCode_ = 0;
+    /**
+     * <code>int32 status_code = 2;</code>
+     * @return The statusCode.
+     */
+    @java.lang.Override
+    public int getStatusCode() {
+      return statusCode_;
+    }
+
+    public static final int REASON_FIELD_NUMBER = 3;
+    @SuppressWarnings("serial")
+    private volatile java.lang.Object reason_ = "";
+    /**
+     * <code>optional string reason = 3;</code>
+     * @return Whether the reason field is set.
+     */
+    @java.lang.Override
+    public boolean hasReason() {
+      return ((bitField0_ & 0x00000002) != 0);
+    }
+    /**
+     * <code>optional string reason = 3;</code>
+     * @return The reason.
+     */
+    @java.lang.Override
+    public java.lang.String getReason() {
+      java.lang.Object ref = reason_;
+      if (ref instanceof java.lang.String) {
+        return (java.lang.String) ref;
+      } else {
+        com.google.protobuf.ByteString bs = 
+            (com.google.protobuf.ByteString) ref;
+        java.lang.String s = bs.toStringUtf8();
+        reason_ = s;
+        return s;
+      }
+    }
+    /**
+     * <code>optional string reason = 3;</code>
+     * @return The bytes for reason.
+     */
+    @java.lang.Override
+    public com.google.protobuf.ByteString
+        getReasonBytes() {
+      java.lang.Object ref = reason_;
+      if (ref instanceof java.lang.String) {
+        com.google.protobuf.ByteString b = 
+            com.google.protobuf.ByteString.copyFromUtf8(
+                (java.lang.String) ref);
+        reason_ = b;
+        return b;
+      } else {
+        return (com.google.protobuf.ByteString) ref;
+      }
+    }
+
+    public static final int PROPERTIES_FIELD_NUMBER = 4;
+    @SuppressWarnings("serial")
+    private java.util.List<org.opennms.netmgt.poller.client.rpc.model.PollerRpcProtos.PollStatusProperty> properties_;
+    /**
+     * <code>repeated .PollStatusProperty properties = 4;</code>
+     */
+    @java.lang.Override
+    public java.util.List<org.opennms.netmgt.poller.client.rpc.model.PollerRpcProtos.PollStatusProperty> getPropertiesList() {
+      return properties_;
+    }
+    /**
+     * <code>repeated .PollStatusProperty properties = 4;</code>
+     */
+    @java.lang.Override
+    public java.util.List<? extends org.opennms.netmgt.poller.client.rpc.model.PollerRpcProtos.PollStatusPropertyOrBuilder> 
+        getPropertiesOrBuilderList() {
+      return properties_;
+    }
+    /**
+     * <code>repeated .PollStatusProperty properties = 4;</code>
+     */
+    @java.lang.Override
+    public int getPropertiesCount() {
+      return properties_.size();
+    }
+    /**
+     * <code>repeated .PollStatusProperty properties = 4;</code>
+     */
+    @java.lang.Override
+    public org.opennms.netmgt.poller.client.rpc.model.PollerRpcProtos.PollStatusProperty getProperties(int index) {
+      return properties_.get(index);
+    }
+    /**
+     * <code>repeated .PollStatusProperty properties = 4;</code>
+     */
+    @java.lang.Override
+    public org.opennms.netmgt.poller.client.rpc.model.PollerRpcProtos.PollStatusPropertyOrBuilder getPropertiesOrBuilder(
+        int index) {
+      return properties_.get(index);
+    }
+
+    private byte memoizedIsInitialized = -1;
+    @java.lang.Override
+    public final boolean isInitialized() {
+      byte isInitialized = memoizedIsInitialized;
+      if (isInitialized == 1) return true;
+      if (isInitialized == 0) return false;
+
+      memoizedIsInitialized = 1;
+      return true;
+    }
+
+    @java.lang.Override
+    public void writeTo(com.google.protobuf.CodedOutputStream output)
+                        throws java.io.IOException {
+      if (((bitField0_ & 0x00000001) != 0)) {
+        output.writeInt64(1, timestamp_);
+      }
+      if (statusCode_ != 0) {
+        output.writeInt32(2, statusCode_);
+      }
+      if (((bitField0_ & 0x00000002) != 0)) {
+        com.google.protobuf.GeneratedMessageV3.writeString(output, 3, reason_);
+      }
+      for (int i = 0; i < properties_.size(); i++) {
+        output.writeMessage(4, properties_.get(i));
+      }
+      getUnknownFields().writeTo(output);
+    }
+
+    @java.lang.Override
+    public int getSerializedSize() {
+      int size = memoizedSize;
+      if (size != -1) return size;
+
+      size = 0;
+      if (((bitField0_ & 0x00000001) != 0)) {
+        size += com.google.protobuf.CodedOutputStream
+          .computeInt64Size(1, timestamp_);
+      }
+      if (statusCode_ != 0) {
+        size += com.google.protobuf.CodedOutputStream
+          .computeInt32Size(2, statusCode_);
+      }
+      if (((bitField0_ & 0x00000002) != 0)) {
+        size += com.google.protobuf.GeneratedMessageV3.computeStringSize(3, reason_);
+      }
+      for (int i = 0; i < properties_.size(); i++) {
+        size += com.google.protobuf.CodedOutputStream
+          .computeMessageSize(4, properties_.get(i));
+      }
+      size += getUnknownFields().getSerializedSize();
+      memoizedSize = size;
+      return size;
+    }
+
+    @java.lang.Override
+    public boolean equals(final java.lang.Object obj) {
+      if (obj == this) {
+       return true;
+      }
+      if (!(obj instanceof org.opennms.netmgt.poller.client.rpc.model.PollerRpcProtos.PollStatus)) {
+        return super.equals(obj);
+      }
+      org.opennms.netmgt.poller.client.rpc.model.PollerRpcProtos.PollStatus other = (org.opennms.netmgt.poller.client.rpc.model.PollerRpcProtos.PollStatus) obj;
+
+      if (hasTimestamp() != other.hasTimestamp()) return false;
+      if (hasTimestamp()) {
+        if (getTimestamp()
+            != other.getTimestamp()) return false;
+      }
+      if (getStatusCode()
+          != other.getStatusCode()) return false;
+      if (hasReason() != other.hasReason()) return false;
+      if (hasReason()) {
+        if (!getReason()
+            .equals(other.getReason())) return false;
+      }
+      if (!getPropertiesList()
+          .equals(other.getPropertiesList())) return false;
+      if (!getUnknownFields().equals(other.getUnknownFields())) return false;
+      return true;
+    }
+
+    @java.lang.Override
+    public int hashCode() {
+      if (memoizedHashCode != 0) {
+        return memoizedHashCode;
+      }
+      int hash = 41;
+      hash = (19 * hash) + getDescriptor().hashCode();
+      if (hasTimestamp()) {
+        hash = (37 * hash) + TIMESTAMP_FIELD_NUMBER;
+        hash = (53 * hash) + com.google.protobuf.Internal.hashLong(
+            getTimestamp());
+      }
+      hash = (37 * hash) + STATUS_CODE_FIELD_NUMBER;
+      hash = (53 * hash) + getStatusCode();
+      if (hasReason()) {
+        hash = (37 * hash) + REASON_FIELD_NUMBER;
+        hash = (53 * hash) + getReason().hashCode();
+      }
+      if (getPropertiesCount() > 0) {
+        hash = (37 * hash) + PROPERTIES_FIELD_NUMBER;
+        hash = (53 * hash) + getPropertiesList().hashCode();
+      }
+      hash = (29 * hash) + getUnknownFields().hashCode();
+      memoizedHashCode = hash;
+      return hash;
+    }
+
+    public static org.opennms.netmgt.poller.client.rpc.model.PollerRpcProtos.PollStatus parseFrom(
+        java.nio.ByteBuffer data)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      return PARSER.parseFrom(data);
+    }
+    public static org.opennms.netmgt.poller.client.rpc.model.PollerRpcProtos.PollStatus parseFrom(
+        java.nio.ByteBuffer data,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      return PARSER.parseFrom(data, extensionRegistry);
+    }
+    public static org.opennms.netmgt.poller.client.rpc.model.PollerRpcProtos.PollStatus parseFrom(
+        com.google.protobuf.ByteString data)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      return PARSER.parseFrom(data);
+    }
+    public static org.opennms.netmgt.poller.client.rpc.model.PollerRpcProtos.PollStatus parseFrom(
+        com.google.protobuf.ByteString data,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      return PARSER.parseFrom(data, extensionRegistry);
+    }
+    public static org.opennms.netmgt.poller.client.rpc.model.PollerRpcProtos.PollStatus parseFrom(byte[] data)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      return PARSER.parseFrom(data);
+    }
+    public static org.opennms.netmgt.poller.client.rpc.model.PollerRpcProtos.PollStatus parseFrom(
+        byte[] data,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      return PARSER.parseFrom(data, extensionRegistry);
+    }
+    public static org.opennms.netmgt.poller.client.rpc.model.PollerRpcProtos.PollStatus parseFrom(java.io.InputStream input)
+        throws java.io.IOException {
+      return com.google.protobuf.GeneratedMessageV3
+          .parseWithIOException(PARSER, input);
+    }
+    public static org.opennms.netmgt.poller.client.rpc.model.PollerRpcProtos.PollStatus parseFrom(
+        java.io.InputStream input,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws java.io.IOException {
+      return com.google.protobuf.GeneratedMessageV3
+          .parseWithIOException(PARSER, input, extensionRegistry);
+    }
+    public static org.opennms.netmgt.poller.client.rpc.model.PollerRpcProtos.PollStatus parseDelimitedFrom(java.io.InputStream input)
+        throws java.io.IOException {
+      return com.google.protobuf.GeneratedMessageV3
+          .parseDelimitedWithIOException(PARSER, input);
+    }
+    public static org.opennms.netmgt.poller.client.rpc.model.PollerRpcProtos.PollStatus parseDelimitedFrom(
+        java.io.InputStream input,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws java.io.IOException {
+      return com.google.protobuf.GeneratedMessageV3
+          .parseDelimitedWithIOException(PARSER, input, extensionRegistry);
+    }
+    public static org.opennms.netmgt.poller.client.rpc.model.PollerRpcProtos.PollStatus parseFrom(
+        com.google.protobuf.CodedInputStream input)
+        throws java.io.IOException {
+      return com.google.protobuf.GeneratedMessageV3
+          .parseWithIOException(PARSER, input);
+    }
+    public static org.opennms.netmgt.poller.client.rpc.model.PollerRpcProtos.PollStatus parseFrom(
+        com.google.protobuf.CodedInputStream input,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws java.io.IOException {
+      return com.google.protobuf.GeneratedMessageV3
+          .parseWithIOException(PARSER, input, extensionRegistry);
+    }
+
+    @java.lang.Override
+    public Builder newBuilderForType() { return newBuilder(); }
+    public static Builder newBuilder() {
+      return DEFAULT_INSTANCE.toBuilder();
+    }
+    public static Builder newBuilder(org.opennms.netmgt.poller.client.rpc.model.PollerRpcProtos.PollStatus prototype) {
+      return DEFAULT_INSTANCE.toBuilder().mergeFrom(prototype);
+    }
+    @java.lang.Override
+    public Builder toBuilder() {
+      return this == DEFAULT_INSTANCE
+          ? new Builder() : new Builder().mergeFrom(this);
+    }
+
+    @java.lang.Override
+    protected Builder newBuilderForType(
+        com.google.protobuf.GeneratedMessageV3.BuilderParent parent) {
+      Builder builder = new Builder(parent);
+      return builder;
+    }
+    /**
+     * Protobuf type {@code PollStatus}
+     */
+    public static final class Builder extends
+        com.google.protobuf.GeneratedMessageV3.Builder<Builder> implements
+        // @@protoc_insertion_point(builder_implements:PollStatus)
+        org.opennms.netmgt.poller.client.rpc.model.PollerRpcProtos.PollStatusOrBuilder {
+      public static final com.google.protobuf.Descriptors.Descriptor
+          getDescriptor() {
+        return org.opennms.netmgt.poller.client.rpc.model.PollerRpcProtos.internal_static_PollStatus_descriptor;
+      }
+
+      @java.lang.Override
+      protected com.google.protobuf.GeneratedMessageV3.FieldAccessorTable
+          internalGetFieldAccessorTable() {
+        return org.opennms.netmgt.poller.client.rpc.model.PollerRpcProtos.internal_static_PollStatus_fieldAccessorTable
+            .ensureFieldAccessorsInitialized(
+                org.opennms.netmgt.poller.client.rpc.model.PollerRpcProtos.PollStatus.class, org.opennms.netmgt.poller.client.rpc.model.PollerRpcProtos.PollStatus.Builder.class);
+      }
+
+      // Construct using org.opennms.netmgt.poller.client.rpc.model.PollerRpcProtos.PollStatus.newBuilder()
+      private Builder() {
+
+      }
+
+      private Builder(
+          com.google.protobuf.GeneratedMessageV3.BuilderParent parent) {
+        super(parent);
+
+      }
+      @java.lang.Override
+      public Builder clear() {
+        super.clear();
+        bitField0_ = 0;
+        timestamp_ = 0L;
+        statusCode_ = 0;
+        reason_ = "";
+        if (propertiesBuilder_ == null) {
+          properties_ = java.util.Collections.emptyList();
+        } else {
+          properties_ = null;
+          propertiesBuilder_.clear();
+        }
+        bitField0_ = (bitField0_ & ~0x00000008);
+        return this;
+      }
+
+      @java.lang.Override
+      public com.google.protobuf.Descriptors.Descriptor
+          getDescriptorForType() {
+        return org.opennms.netmgt.poller.client.rpc.model.PollerRpcProtos.internal_static_PollStatus_descriptor;
+      }
+
+      @java.lang.Override
+      public org.opennms.netmgt.poller.client.rpc.model.PollerRpcProtos.PollStatus getDefaultInstanceForType() {
+        return org.opennms.netmgt.poller.client.rpc.model.PollerRpcProtos.PollStatus.getDefaultInstance();
+      }
+
+      @java.lang.Override
+      public org.opennms.netmgt.poller.client.rpc.model.PollerRpcProtos.PollStatus build() {
+        org.opennms.netmgt.poller.client.rpc.model.PollerRpcProtos.PollStatus result = buildPartial();
+        if (!result.isInitialized()) {
+          throw newUninitializedMessageException(result);
+        }
+        return result;
+      }
+
+      @java.lang.Override
+      public org.opennms.netmgt.poller.client.rpc.model.PollerRpcProtos.PollStatus buildPartial() {
+        org.opennms.netmgt.poller.client.rpc.model.PollerRpcProtos.PollStatus result = new org.opennms.netmgt.poller.client.rpc.model.PollerRpcProtos.PollStatus(this);
+        buildPartialRepeatedFields(result);
+        if (bitField0_ != 0) { buildPartial0(result); }
+        onBuilt();
+        return result;
+      }
+
+      private void buildPartialRepeatedFields(org.opennms.netmgt.poller.client.rpc.model.PollerRpcProtos.PollStatus result) {
+        if (propertiesBuilder_ == null) {
+          if (((bitField0_ & 0x00000008) != 0)) {
+            properties_ = java.util.Collections.unmodifiableList(properties_);
+            bitField0_ = (bitField0_ & ~0x00000008);
+          }
+          result.properties_ = properties_;
+        } else {
+          result.properties_ = propertiesBuilder_.build();
+        }
+      }
+
+      private void buildPartial0(org.opennms.netmgt.poller.client.rpc.model.PollerRpcProtos.PollStatus result) {
+        int from_bitField0_ = bitField0_;
+        int to_bitField0_ = 0;
+        if (((from_bitField0_ & 0x00000001) != 0)) {
+          result.timestamp_ = timestamp_;
+          to_bitField0_ |= 0x00000001;
+        }
+        if (((from_bitField0_ & 0x00000002) != 0)) {
+          result.statusCode_ = statusCode_;
+        }
+        if (((from_bitField0_ & 0x00000004) != 0)) {
+          result.reason_ = reason_;
+          to_bitField0_ |= 0x00000002;
+        }
+        result.bitField0_ |= to_bitField0_;
+      }
+
+      @java.lang.Override
+      public Builder mergeFrom(com.google.protobuf.Message other) {
+        if (other instanceof org.opennms.netmgt.poller.client.rpc.model.PollerRpcProtos.PollStatus) {
+          return mergeFrom((org.opennms.netmgt.poller.client.rpc.model.PollerRpcProtos.PollStatus)other);
+        } else {
+          super.mergeFrom(other);
+          return this;
+        }
+      }
+
+      public Builder mergeFrom(org.opennms.netmgt.poller.client.rpc.model.PollerRpcProtos.PollStatus other) {
+        if (other == org.opennms.netmgt.poller.client.rpc.model.PollerRpcProtos.PollStatus.getDefaultInstance()) return this;
+        if (other.hasTimestamp()) {
+          setTimestamp(other.getTimestamp());
+        }
+        if (other.getStatusCode() != 0) {
+          setStatusCode(other.getStatusCode());
+        }
+        if (other.hasReason()) {
+          reason_ = other.reason_;
+          bitField0_ |= 0x00000004;
+          onChanged();
+        }
+        if (propertiesBuilder_ == null) {
+          if (!other.properties_.isEmpty()) {
+            if (properties_.isEmpty()) {
+              properties_ = other.properties_;
+              bitField0_ = (bitField0_ & ~0x00000008);
+            } else {
+              ensurePropertiesIsMutable();
+              properties_.addAll(other.properties_);
+            }
+            onChanged();
+          }
+        } else {
+          if (!other.properties_.isEmpty()) {
+            if (propertiesBuilder_.isEmpty()) {
+              propertiesBuilder_.dispose();
+              propertiesBuilder_ = null;
+              properties_ = other.properties_;
+              bitField0_ = (bitField0_ & ~0x00000008);
+              propertiesBuilder_ = 
+                com.google.protobuf.GeneratedMessageV3.alwaysUseFieldBuilders ?
+                   getPropertiesFieldBuilder() : null;
+            } else {
+              propertiesBuilder_.addAllMessages(other.properties_);
+            }
+          }
+        }
+        this.mergeUnknownFields(other.getUnknownFields());
+        onChanged();
+        return this;
+      }
+
+      @java.lang.Override
+      public final boolean isInitialized() {
+        return true;
+      }
+
+      @java.lang.Override
+      public Builder mergeFrom(
+          com.google.protobuf.CodedInputStream input,
+          com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+          throws java.io.IOException {
+        if (extensionRegistry == null) {
+          throw new java.lang.NullPointerException();
+        }
+        try {
+          boolean done = false;
+          while (!done) {
+            int tag = input.readTag();
+            switch (tag) {
+              case 0:
+                done = true;
+                break;
+              case 8: {
+                timestamp_ = input.readInt64();
+                bitField0_ |= 0x00000001;
+                break;
+              } // case 8
+              case 16: {
+                statusCode_ = input.readInt32();
+                bitField0_ |= 0x00000002;
+                break;
+              } // case 16
+              case 26: {
+                reason_ = input.readStringRequireUtf8();
+                bitField0_ |= 0x00000004;
+                break;
+              } // case 26
+              case 34: {
+                org.opennms.netmgt.poller.client.rpc.model.PollerRpcProtos.PollStatusProperty m =
+                    input.readMessage(
+                        org.opennms.netmgt.poller.client.rpc.model.PollerRpcProtos.PollStatusProperty.parser(),
+                        extensionRegistry);
+                if (propertiesBuilder_ == null) {
+                  ensurePropertiesIsMutable();
+                  properties_.add(m);
+                } else {
+                  propertiesBuilder_.addMessage(m);
+                }
+                break;
+              } // case 34
+              default: {
+                if (!super.parseUnknownField(input, extensionRegistry, tag)) {
+                  done = true; // was an endgroup tag
+                }
+                break;
+              } // default:
+            } // switch (tag)
+          } // while (!done)
+        } catch (com.google.protobuf.InvalidProtocolBufferException e) {
+          throw e.unwrapIOException();
+        } finally {
+          onChanged();
+        } // finally
+        return this;
+      }
+      private int bitField0_;
+
+      private long timestamp_ ;
+      /**
+       * <pre>
+       * Milliseconds since the epoch
+       * </pre>
+       *
+       * <code>optional int64 timestamp = 1;</code>
+       * @return Whether the timestamp field is set.
+       */
+      @java.lang.Override
+      public boolean hasTimestamp() {
+        return ((bitField0_ & 0x00000001) != 0);
+      }
+      /**
+       * <pre>
+       * Milliseconds since the epoch
+       * </pre>
+       *
+       * <code>optional int64 timestamp = 1;</code>
+       * @return The timestamp.
+       */
+      @java.lang.Override
+      public long getTimestamp() {
+        return timestamp_;
+      }
+      /**
+       * <pre>
+       * Milliseconds since the epoch
+       * </pre>
+       *
+       * <code>optional int64 timestamp = 1;</code>
+       * @param value The timestamp to set.
+       * @return This builder for chaining.
+       */
+      public Builder setTimestamp(long value) {
+
+        timestamp_ = value;
+        bitField0_ |= 0x00000001;
+        onChanged();
+        return this;
+      }
+      /**
+       * <pre>
+       * Milliseconds since the epoch
+       * </pre>
+       *
+       * <code>optional int64 timestamp = 1;</code>
+       * @return This builder for chaining.
+       */
+      public Builder clearTimestamp() {
+        bitField0_ = (bitField0_ & ~0x00000001);
+        timestamp_ = 0L;
+        onChanged();
+        return this;
+      }
+
+      private int statusCode_ ;
+      /**
+       * <code>int32 status_code = 2;</code>
+       * @return The statusCode.
+       */
+      @java.lang.Override
+      public int getStatusCode() {
+        return statusCode_;
+      }
+      /**
+       * <code>int32 status_code = 2;</code>
+       * @param value The statusCode to set.
+       * @return This builder for chaining.
+       */
+      public Builder setStatusCode(int value) {
+
+        statusCode_ = value;
+        bitField0_ |= 0x00000002;
+        onChanged();
+        return this;
+      }
+      /**
+       * <code>int32 status_code = 2;</code>
+       * @return This builder for chaining.
+       */
+      public Builder clearStatusCode() {
+        bitField0_ = (bitField0_ & ~0x00000002);
+        statusCode_ = 0;
+        onChanged();
+        return this;
+      }
+
+      private java.lang.Object reason_ = "";
+      /**
+       * <code>optional string reason = 3;</code>
+       * @return Whether the reason field is set.
+       */
+      public boolean hasReason() {
+        return ((bitField0_ & 0x00000004) != 0);
+      }
+      /**
+       * <code>optional string reason = 3;</code>
+       * @return The reason.
+       */
+      public java.lang.String getReason() {
+        java.lang.Object ref = reason_;
+        if (!(ref instanceof java.lang.String)) {
+          com.google.protobuf.ByteString bs =
+              (com.google.protobuf.ByteString) ref;
+          java.lang.String s = bs.toStringUtf8();
+          reason_ = s;
+          return s;
+        } else {
+          return (java.lang.String) ref;
+        }
+      }
+      /**
+       * <code>optional string reason = 3;</code>
+       * @return The bytes for reason.
+       */
+      public com.google.protobuf.ByteString
+          getReasonBytes() {
+        java.lang.Object ref = reason_;
+        if (ref instanceof String) {
+          com.google.protobuf.ByteString b = 
+              com.google.protobuf.ByteString.copyFromUtf8(
+                  (java.lang.String) ref);
+          reason_ = b;
+          return b;
+        } else {
+          return (com.google.protobuf.ByteString) ref;
+        }
+      }
+      /**
+       * <code>optional string reason = 3;</code>
+       * @param value The reason to set.
+       * @return This builder for chaining.
+       */
+      public Builder setReason(
+          java.lang.String value) {
+        if (value == null) { throw new NullPointerException(); }
+        reason_ = value;
+        bitField0_ |= 0x00000004;
+        onChanged();
+        return this;
+      }
+      /**
+       * <code>optional string reason = 3;</code>
+       * @return This builder for chaining.
+       */
+      public Builder clearReason() {
+        reason_ = getDefaultInstance().getReason();
+        bitField0_ = (bitField0_ & ~0x00000004);
+        onChanged();
+        return this;
+      }
+      /**
+       * <code>optional string reason = 3;</code>
+       * @param value The bytes for reason to set.
+       * @return This builder for chaining.
+       */
+      public Builder setReasonBytes(
+          com.google.protobuf.ByteString value) {
+        if (value == null) { throw new NullPointerException(); }
+        checkByteStringIsUtf8(value);
+        reason_ = value;
+        bitField0_ |= 0x00000004;
+        onChanged();
+        return this;
+      }
+
+      private java.util.List<org.opennms.netmgt.poller.client.rpc.model.PollerRpcProtos.PollStatusProperty> properties_ =
+        java.util.Collections.emptyList();
+      private void ensurePropertiesIsMutable() {
+        if (!((bitField0_ & 0x00000008) != 0)) {
+          properties_ = new java.util.ArrayList<org.opennms.netmgt.poller.client.rpc.model.PollerRpcProtos.PollStatusProperty>(properties_);
+          bitField0_ |= 0x00000008;
+         }
+      }
+
+      private com.google.protobuf.RepeatedFieldBuilderV3<
+          org.opennms.netmgt.poller.client.rpc.model.PollerRpcProtos.PollStatusProperty, org.opennms.netmgt.poller.client.rpc.model.PollerRpcProtos.PollStatusProperty.Builder, org.opennms.netmgt.poller.client.rpc.model.PollerRpcProtos.PollStatusPropertyOrBuilder> propertiesBuilder_;
+
+      /**
+       * <code>repeated .PollStatusProperty properties = 4;</code>
+       */
+      public java.util.List<org.opennms.netmgt.poller.client.rpc.model.PollerRpcProtos.PollStatusProperty> getPropertiesList() {
+        if (propertiesBuilder_ == null) {
+          return java.util.Collections.unmodifiableList(properties_);
+        } else {
+          return propertiesBuilder_.getMessageList();
+        }
+      }
+      /**
+       * <code>repeated .PollStatusProperty properties = 4;</code>
+       */
+      public int getPropertiesCount() {
+        if (propertiesBuilder_ == null) {
+          return properties_.size();
+        } else {
+          return propertiesBuilder_.getCount();
+        }
+      }
+      /**
+       * <code>repeated .PollStatusProperty properties = 4;</code>
+       */
+      public org.opennms.netmgt.poller.client.rpc.model.PollerRpcProtos.PollStatusProperty getProperties(int index) {
+        if (propertiesBuilder_ == null) {
+          return properties_.get(index);
+        } else {
+          return propertiesBuilder_.getMessage(index);
+        }
+      }
+      /**
+       * <code>repeated .PollStatusProperty properties = 4;</code>
+       */
+      public Builder setProperties(
+          int index, org.opennms.netmgt.poller.client.rpc.model.PollerRpcProtos.PollStatusProperty value) {
+        if (propertiesBuilder_ == null) {
+          if (value == null) {
+            throw new NullPointerException();
+          }
+          ensurePropertiesIsMutable();
+          properties_.set(index, value);
+          onChanged();
+        } else {
+          propertiesBuilder_.setMessage(index, value);
+        }
+        return this;
+      }
+      /**
+       * <code>repeated .PollStatusProperty properties = 4;</code>
+       */
+      public Builder setProperties(
+          int index, org.opennms.netmgt.poller.client.rpc.model.PollerRpcProtos.PollStatusProperty.Builder builderForValue) {
+        if (propertiesBuilder_ == null) {
+          ensurePropertiesIsMutable();
+          properties_.set(index, builderForValue.build());
+          onChanged();
+        } else {
+          propertiesBuilder_.setMessage(index, builderForValue.build());
+        }
+        return this;
+      }
+      /**
+       * <code>repeated .PollStatusProperty properties = 4;</code>
+       */
+      public Builder addProperties(org.opennms.netmgt.poller.client.rpc.model.PollerRpcProtos.PollStatusProperty value) {
+        if (propertiesBuilder_ == null) {
+          if (value == null) {
+            throw new NullPointerException();
+          }
+          ensurePropertiesIsMutable();
+          properties_.add(value);
+          onChanged();
+        } else {
+          propertiesBuilder_.addMessage(value);
+        }
+        return this;
+      }
+      /**
+       * <code>repeated .PollStatusProperty properties = 4;</code>
+       */
+      public Builder addProperties(
+          int index, org.opennms.netmgt.poller.client.rpc.model.PollerRpcProtos.PollStatusProperty value) {
+        if (propertiesBuilder_ == null) {
+          if (value == null) {
+            throw new NullPointerException();
+          }
+          ensurePropertiesIsMutable();
+          properties_.add(index, value);
+          onChanged();
+        } else {
+          propertiesBuilder_.addMessage(index, value);
+        }
+        return this;
+      }
+      /**
+       * <code>repeated .PollStatusProperty properties = 4;</code>
+       */
+      public Builder addProperties(
+          org.opennms.netmgt.poller.client.rpc.model.PollerRpcProtos.PollStatusProperty.Builder builderForValue) {
+        if (propertiesBuilder_ == null) {
+          ensurePropertiesIsMutable();
+          properties_.add(builderForValue.build());
+          onChanged();
+        } else {
+          propertiesBuilder_.addMessage(builderForValue.build());
+        }
+        return this;
+      }
+      /**
+       * <code>repeated .PollStatusProperty properties = 4;</code>
+       */
+      public Builder addProperties(
+          int index, org.opennms.netmgt.poller.client.rpc.model.PollerRpcProtos.PollStatusProperty.Builder builderForValue) {
+        if (propertiesBuilder_ == null) {
+          ensurePropertiesIsMutable();
+          properties_.add(index, builderForValue.build());
+          onChanged();
+        } else {
+          propertiesBuilder_.addMessage(index, builderForValue.build());
+        }
+        return this;
+      }
+      /**
+       * <code>repeated .PollStatusProperty properties = 4;</code>
+       */
+      public Builder addAllProperties(
+          java.lang.Iterable<? extends org.opennms.netmgt.poller.client.rpc.model.PollerRpcProtos.PollStatusProperty> values) {
+        if (propertiesBuilder_ == null) {
+          ensurePropertiesIsMutable();
+          com.google.protobuf.AbstractMessageLite.Builder.addAll(
+              values, properties_);
+          onChanged();
+        } else {
+          propertiesBuilder_.addAllMessages(values);
+        }
+        return this;
+      }
+      /**
+       * <code>repeated .PollStatusProperty properties = 4;</code>
+       */
+      public Builder clearProperties() {
+        if (propertiesBuilder_ == null) {
+          properties_ = java.util.Collections.emptyList();
+          bitField0_ = (bitField0_ & ~0x00000008);
+          onChanged();
+        } else {
+          propertiesBuilder_.clear();
+        }
+        return this;
+      }
+      /**
+       * <code>repeated .PollStatusProperty properties = 4;</code>
+       */
+      public Builder removeProperties(int index) {
+        if (propertiesBuilder_ == null) {
+          ensurePropertiesIsMutable();
+          properties_.remove(index);
+          onChanged();
+        } else {
+          propertiesBuilder_.remove(index);
+        }
+        return this;
+      }
+      /**
+       * <code>repeated .PollStatusProperty properties = 4;</code>
+       */
+      public org.opennms.netmgt.poller.client.rpc.model.PollerRpcProtos.PollStatusProperty.Builder getPropertiesBuilder(
+          int index) {
+        return getPropertiesFieldBuilder().getBuilder(index);
+      }
+      /**
+       * <code>repeated .PollStatusProperty properties = 4;</code>
+       */
+      public org.opennms.netmgt.poller.client.rpc.model.PollerRpcProtos.PollStatusPropertyOrBuilder getPropertiesOrBuilder(
+          int index) {
+        if (propertiesBuilder_ == null) {
+          return properties_.get(index);  } else {
+          return propertiesBuilder_.getMessageOrBuilder(index);
+        }
+      }
+      /**
+       * <code>repeated .PollStatusProperty properties = 4;</code>
+       */
+      public java.util.List<? extends org.opennms.netmgt.poller.client.rpc.model.PollerRpcProtos.PollStatusPropertyOrBuilder> 
+           getPropertiesOrBuilderList() {
+        if (propertiesBuilder_ != null) {
+          return propertiesBuilder_.getMessageOrBuilderList();
+        } else {
+          return java.util.Collections.unmodifiableList(properties_);
+        }
+      }
+      /**
+       * <code>repeated .PollStatusProperty properties = 4;</code>
+       */
+      public org.opennms.netmgt.poller.client.rpc.model.PollerRpcProtos.PollStatusProperty.Builder addPropertiesBuilder() {
+        return getPropertiesFieldBuilder().addBuilder(
+            org.opennms.netmgt.poller.client.rpc.model.PollerRpcProtos.PollStatusProperty.getDefaultInstance());
+      }
+      /**
+       * <code>repeated .PollStatusProperty properties = 4;</code>
+       */
+      public org.opennms.netmgt.poller.client.rpc.model.PollerRpcProtos.PollStatusProperty.Builder addPropertiesBuilder(
+          int index) {
+        return getPropertiesFieldBuilder().addBuilder(
+            index, org.opennms.netmgt.poller.client.rpc.model.PollerRpcProtos.PollStatusProperty.getDefaultInstance());
+      }
+      /**
+       * <code>repeated .PollStatusProperty properties = 4;</code>
+       */
+      public java.util.List<org.opennms.netmgt.poller.client.rpc.model.PollerRpcProtos.PollStatusProperty.Builder> 
+           getPropertiesBuilderList() {
+        return getPropertiesFieldBuilder().getBuilderList();
+      }
+      private com.google.protobuf.RepeatedFieldBuilderV3<
+          org.opennms.netmgt.poller.client.rpc.model.PollerRpcProtos.PollStatusProperty, org.opennms.netmgt.poller.client.rpc.model.PollerRpcProtos.PollStatusProperty.Builder, org.opennms.netmgt.poller.client.rpc.model.PollerRpcProtos.PollStatusPropertyOrBuilder> 
+          getPropertiesFieldBuilder() {
+        if (propertiesBuilder_ == null) {
+          propertiesBuilder_ = new com.google.protobuf.RepeatedFieldBuilderV3<
+              org.opennms.netmgt.poller.client.rpc.model.PollerRpcProtos.PollStatusProperty, org.opennms.netmgt.poller.client.rpc.model.PollerRpcProtos.PollStatusProperty.Builder, org.opennms.netmgt.poller.client.rpc.model.PollerRpcProtos.PollStatusPropertyOrBuilder>(
+                  properties_,
+                  ((bitField0_ & 0x00000008) != 0),
+                  getParentForChildren(),
+                  isClean());
+          properties_ = null;
+        }
+        return propertiesBuilder_;
+      }
+      @java.lang.Override
+      public final Builder setUnknownFields(
+          final com.google.protobuf.UnknownFieldSet unknownFields) {
+        return super.setUnknownFields(unknownFields);
+      }
+
+      @java.lang.Override
+      public final Builder mergeUnknownFields(
+          final com.google.protobuf.UnknownFieldSet unknownFields) {
+        return super.mergeUnknownFields(unknownFields);
+      }
+
+
+      // @@protoc_insertion_point(builder_scope:PollStatus)
+    }
+
+    // @@protoc_insertion_point(class_scope:PollStatus)
+    private static final org.opennms.netmgt.poller.client.rpc.model.PollerRpcProtos.PollStatus DEFAULT_INSTANCE;
+    static {
+      DEFAULT_INSTANCE = new org.opennms.netmgt.poller.client.rpc.model.PollerRpcProtos.PollStatus();
+    }
+
+    public static org.opennms.netmgt.poller.client.rpc.model.PollerRpcProtos.PollStatus getDefaultInstance() {
+      return DEFAULT_INSTANCE;
+    }
+
+    private static final com.google.protobuf.Parser<PollStatus>
+        PARSER = new com.google.protobuf.AbstractParser<PollStatus>() {
+      @java.lang.Override
+      public PollStatus parsePartialFrom(
+          com.google.protobuf.CodedInputStream input,
+          com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+          throws com.google.protobuf.InvalidProtocolBufferException {
+        Builder builder = newBuilder();
+        try {
+          builder.mergeFrom(input, extensionRegistry);
+        } catch (com.google.protobuf.InvalidProtocolBufferException e) {
+          throw e.setUnfinishedMessage(builder.buildPartial());
+        } catch (com.google.protobuf.UninitializedMessageException e) {
+          throw e.asInvalidProtocolBufferException().setUnfinishedMessage(builder.buildPartial());
+        } catch (java.io.IOException e) {
+          throw new com.google.protobuf.InvalidProtocolBufferException(e)
+              .setUnfinishedMessage(builder.buildPartial());
+        }
+        return builder.buildPartial();
+      }
+    };
+
+    public static com.google.protobuf.Parser<PollStatus> parser() {
+      return PARSER;
+    }
+
+    @java.lang.Override
+    public com.google.protobuf.Parser<PollStatus> getParserForType() {
+      return PARSER;
+    }
+
+    @java.lang.Override
+    public org.opennms.netmgt.poller.client.rpc.model.PollerRpcProtos.PollStatus getDefaultInstanceForType() {
+      return DEFAULT_INSTANCE;
+    }
+
+  }
+
+  public interface PollStatusPropertyOrBuilder extends
+      // @@protoc_insertion_point(interface_extends:PollStatusProperty)
+      com.google.protobuf.MessageOrBuilder {
+
+    /**
+     * <code>optional string key = 1;</code>
+     * @return Whether the key field is set.
+     */
+    boolean hasKey();
+    /**
+     * <code>optional string key = 1;</code>
+     * @return The key.
+     */
+    java.lang.String getKey();
+    /**
+     * <code>optional string key = 1;</code>
+     * @return The bytes for key.
+     */
+    com.google.protobuf.ByteString
+        getKeyBytes();
+
+    /**
+     * <code>optional double value = 2;</code>
+     * @return Whether the value field is set.
+     */
+    boolean hasValue();
+    /**
+     * <code>optional double value = 2;</code>
+     * @return The value.
+     */
+    double getValue();
+  }
+  /**
+   * Protobuf type {@code PollStatusProperty}
+   */
+  public static final class PollStatusProperty extends
+      com.google.protobuf.GeneratedMessageV3 implements
+      // @@protoc_insertion_point(message_implements:PollStatusProperty)
+      PollStatusPropertyOrBuilder {
+  private static final long serialVersionUID = 0L;
+    // Use PollStatusProperty.newBuilder() to construct.
+    private PollStatusProperty(com.google.protobuf.GeneratedMessageV3.Builder<?> builder) {
+      super(builder);
+    }
+    private PollStatusProperty() {
+      key_ = "";
+    }
+
+    @java.lang.Override
+    @SuppressWarnings({"unused"})
+    protected java.lang.Object newInstance(
+        UnusedPrivateParameter unused) {
+      return new PollStatusProperty();
+    }
+
+    public static final com.google.protobuf.Descriptors.Descriptor
+        getDescriptor() {
+      return org.opennms.netmgt.poller.client.rpc.model.PollerRpcProtos.internal_static_PollStatusProperty_descriptor;
+    }
+
+    @java.lang.Override
+    protected com.google.protobuf.GeneratedMessageV3.FieldAccessorTable
+        internalGetFieldAccessorTable() {
+      return org.opennms.netmgt.poller.client.rpc.model.PollerRpcProtos.internal_static_PollStatusProperty_fieldAccessorTable
+          .ensureFieldAccessorsInitialized(
+              org.opennms.netmgt.poller.client.rpc.model.PollerRpcProtos.PollStatusProperty.class, org.opennms.netmgt.poller.client.rpc.model.PollerRpcProtos.PollStatusProperty.Builder.class);
+    }
+
+    private int bitField0_;
+    public static final int KEY_FIELD_NUMBER = 1;
+    @SuppressWarnings("serial")
+    private volatile java.lang.Object key_ = "";
+    /**
+     * <code>optional string key = 1;</code>
+     * @return Whether the key field is set.
+     */
+    @java.lang.Override
+    public boolean hasKey() {
+      return ((bitField0_ & 0x00000001) != 0);
+    }
+    /**
+     * <code>optional string key = 1;</code>
+     * @return The key.
+     */
+    @java.lang.Override
+    public java.lang.String getKey() {
+      java.lang.Object ref = key_;
+      if (ref instanceof java.lang.String) {
+        return (java.lang.String) ref;
+      } else {
+        com.google.protobuf.ByteString bs = 
+            (com.google.protobuf.ByteString) ref;
+        java.lang.String s = bs.toStringUtf8();
+        key_ = s;
+        return s;
+      }
+    }
+    /**
+     * <code>optional string key = 1;</code>
+     * @return The bytes for key.
+     */
+    @java.lang.Override
+    public com.google.protobuf.ByteString
+        getKeyBytes() {
+      java.lang.Object ref = key_;
+      if (ref instanceof java.lang.String) {
+        com.google.protobuf.ByteString b = 
+            com.google.protobuf.ByteString.copyFromUtf8(
+                (java.lang.String) ref);
+        key_ = b;
+        return b;
+      } else {
+        return (com.google.protobuf.ByteString) ref;
+      }
+    }
+
+    public static final int VALUE_FIELD_NUMBER = 2;
+    private double value_ = 0D;
+    /**
+     * <code>optional double value = 2;</code>
+     * @return Whether the value field is set.
+     */
+    @java.lang.Override
+    public boolean hasValue() {
+      return ((bitField0_ & 0x00000002) != 0);
+    }
+    /**
+     * <code>optional double value = 2;</code>
+     * @return The value.
+     */
+    @java.lang.Override
+    public double getValue() {
+      return value_;
+    }
+
+    private byte memoizedIsInitialized = -1;
+    @java.lang.Override
+    public final boolean isInitialized() {
+      byte isInitialized = memoizedIsInitialized;
+      if (isInitialized == 1) return true;
+      if (isInitialized == 0) return false;
+
+      memoizedIsInitialized = 1;
+      return true;
+    }
+
+    @java.lang.Override
+    public void writeTo(com.google.protobuf.CodedOutputStream output)
+                        throws java.io.IOException {
+      if (((bitField0_ & 0x00000001) != 0)) {
+        com.google.protobuf.GeneratedMessageV3.writeString(output, 1, key_);
+      }
+      if (((bitField0_ & 0x00000002) != 0)) {
+        output.writeDouble(2, value_);
+      }
+      getUnknownFields().writeTo(output);
+    }
+
+    @java.lang.Override
+    public int getSerializedSize() {
+      int size = memoizedSize;
+      if (size != -1) return size;
+
+      size = 0;
+      if (((bitField0_ & 0x00000001) != 0)) {
+        size += com.google.protobuf.GeneratedMessageV3.computeStringSize(1, key_);
+      }
+      if (((bitField0_ & 0x00000002) != 0)) {
+        size += com.google.protobuf.CodedOutputStream
+          .computeDoubleSize(2, value_);
+      }
+      size += getUnknownFields().getSerializedSize();
+      memoizedSize = size;
+      return size;
+    }
+
+    @java.lang.Override
+    public boolean equals(final java.lang.Object obj) {
+      if (obj == this) {
+       return true;
+      }
+      if (!(obj instanceof org.opennms.netmgt.poller.client.rpc.model.PollerRpcProtos.PollStatusProperty)) {
+        return super.equals(obj);
+      }
+      org.opennms.netmgt.poller.client.rpc.model.PollerRpcProtos.PollStatusProperty other = (org.opennms.netmgt.poller.client.rpc.model.PollerRpcProtos.PollStatusProperty) obj;
+
+      if (hasKey() != other.hasKey()) return false;
+      if (hasKey()) {
+        if (!getKey()
+            .equals(other.getKey())) return false;
+      }
+      if (hasValue() != other.hasValue()) return false;
+      if (hasValue()) {
+        if (java.lang.Double.doubleToLongBits(getValue())
+            != java.lang.Double.doubleToLongBits(
+                other.getValue())) return false;
+      }
+      if (!getUnknownFields().equals(other.getUnknownFields())) return false;
+      return true;
+    }
+
+    @java.lang.Override
+    public int hashCode() {
+      if (memoizedHashCode != 0) {
+        return memoizedHashCode;
+      }
+      int hash = 41;
+      hash = (19 * hash) + getDescriptor().hashCode();
+      if (hasKey()) {
+        hash = (37 * hash) + KEY_FIELD_NUMBER;
+        hash = (53 * hash) + getKey().hashCode();
+      }
+      if (hasValue()) {
+        hash = (37 * hash) + VALUE_FIELD_NUMBER;
+        hash = (53 * hash) + com.google.protobuf.Internal.hashLong(
+            java.lang.Double.doubleToLongBits(getValue()));
+      }
+      hash = (29 * hash) + getUnknownFields().hashCode();
+      memoizedHashCode = hash;
+      return hash;
+    }
+
+    public static org.opennms.netmgt.poller.client.rpc.model.PollerRpcProtos.PollStatusProperty parseFrom(
+        java.nio.ByteBuffer data)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      return PARSER.parseFrom(data);
+    }
+    public static org.opennms.netmgt.poller.client.rpc.model.PollerRpcProtos.PollStatusProperty parseFrom(
+        java.nio.ByteBuffer data,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      return PARSER.parseFrom(data, extensionRegistry);
+    }
+    public static org.opennms.netmgt.poller.client.rpc.model.PollerRpcProtos.PollStatusProperty parseFrom(
+        com.google.protobuf.ByteString data)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      return PARSER.parseFrom(data);
+    }
+    public static org.opennms.netmgt.poller.client.rpc.model.PollerRpcProtos.PollStatusProperty parseFrom(
+        com.google.protobuf.ByteString data,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      return PARSER.parseFrom(data, extensionRegistry);
+    }
+    public static org.opennms.netmgt.poller.client.rpc.model.PollerRpcProtos.PollStatusProperty parseFrom(byte[] data)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      return PARSER.parseFrom(data);
+    }
+    public static org.opennms.netmgt.poller.client.rpc.model.PollerRpcProtos.PollStatusProperty parseFrom(
+        byte[] data,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      return PARSER.parseFrom(data, extensionRegistry);
+    }
+    public static org.opennms.netmgt.poller.client.rpc.model.PollerRpcProtos.PollStatusProperty parseFrom(java.io.InputStream input)
+        throws java.io.IOException {
+      return com.google.protobuf.GeneratedMessageV3
+          .parseWithIOException(PARSER, input);
+    }
+    public static org.opennms.netmgt.poller.client.rpc.model.PollerRpcProtos.PollStatusProperty parseFrom(
+        java.io.InputStream input,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws java.io.IOException {
+      return com.google.protobuf.GeneratedMessageV3
+          .parseWithIOException(PARSER, input, extensionRegistry);
+    }
+    public static org.opennms.netmgt.poller.client.rpc.model.PollerRpcProtos.PollStatusProperty parseDelimitedFrom(java.io.InputStream input)
+        throws java.io.IOException {
+      return com.google.protobuf.GeneratedMessageV3
+          .parseDelimitedWithIOException(PARSER, input);
+    }
+    public static org.opennms.netmgt.poller.client.rpc.model.PollerRpcProtos.PollStatusProperty parseDelimitedFrom(
+        java.io.InputStream input,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws java.io.IOException {
+      return com.google.protobuf.GeneratedMessageV3
+          .parseDelimitedWithIOException(PARSER, input, extensionRegistry);
+    }
+    public static org.opennms.netmgt.poller.client.rpc.model.PollerRpcProtos.PollStatusProperty parseFrom(
+        com.google.protobuf.CodedInputStream input)
+        throws java.io.IOException {
+      return com.google.protobuf.GeneratedMessageV3
+          .parseWithIOException(PARSER, input);
+    }
+    public static org.opennms.netmgt.poller.client.rpc.model.PollerRpcProtos.PollStatusProperty parseFrom(
+        com.google.protobuf.CodedInputStream input,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws java.io.IOException {
+      return com.google.protobuf.GeneratedMessageV3
+          .parseWithIOException(PARSER, input, extensionRegistry);
+    }
+
+    @java.lang.Override
+    public Builder newBuilderForType() { return newBuilder(); }
+    public static Builder newBuilder() {
+      return DEFAULT_INSTANCE.toBuilder();
+    }
+    public static Builder newBuilder(org.opennms.netmgt.poller.client.rpc.model.PollerRpcProtos.PollStatusProperty prototype) {
+      return DEFAULT_INSTANCE.toBuilder().mergeFrom(prototype);
+    }
+    @java.lang.Override
+    public Builder toBuilder() {
+      return this == DEFAULT_INSTANCE
+          ? new Builder() : new Builder().mergeFrom(this);
+    }
+
+    @java.lang.Override
+    protected Builder newBuilderForType(
+        com.google.protobuf.GeneratedMessageV3.BuilderParent parent) {
+      Builder builder = new Builder(parent);
+      return builder;
+    }
+    /**
+     * Protobuf type {@code PollStatusProperty}
+     */
+    public static final class Builder extends
+        com.google.protobuf.GeneratedMessageV3.Builder<Builder> implements
+        // @@protoc_insertion_point(builder_implements:PollStatusProperty)
+        org.opennms.netmgt.poller.client.rpc.model.PollerRpcProtos.PollStatusPropertyOrBuilder {
+      public static final com.google.protobuf.Descriptors.Descriptor
+          getDescriptor() {
+        return org.opennms.netmgt.poller.client.rpc.model.PollerRpcProtos.internal_static_PollStatusProperty_descriptor;
+      }
+
+      @java.lang.Override
+      protected com.google.protobuf.GeneratedMessageV3.FieldAccessorTable
+          internalGetFieldAccessorTable() {
+        return org.opennms.netmgt.poller.client.rpc.model.PollerRpcProtos.internal_static_PollStatusProperty_fieldAccessorTable
+            .ensureFieldAccessorsInitialized(
+                org.opennms.netmgt.poller.client.rpc.model.PollerRpcProtos.PollStatusProperty.class, org.opennms.netmgt.poller.client.rpc.model.PollerRpcProtos.PollStatusProperty.Builder.class);
+      }
+
+      // Construct using org.opennms.netmgt.poller.client.rpc.model.PollerRpcProtos.PollStatusProperty.newBuilder()
+      private Builder() {
+
+      }
+
+      private Builder(
+          com.google.protobuf.GeneratedMessageV3.BuilderParent parent) {
+        super(parent);
+
+      }
+      @java.lang.Override
+      public Builder clear() {
+        super.clear();
+        bitField0_ = 0;
+        key_ = "";
+        value_ = 0D;
+        return this;
+      }
+
+      @java.lang.Override
+      public com.google.protobuf.Descriptors.Descriptor
+          getDescriptorForType() {
+        return org.opennms.netmgt.poller.client.rpc.model.PollerRpcProtos.internal_static_PollStatusProperty_descriptor;
+      }
+
+      @java.lang.Override
+      public org.opennms.netmgt.poller.client.rpc.model.PollerRpcProtos.PollStatusProperty getDefaultInstanceForType() {
+        return org.opennms.netmgt.poller.client.rpc.model.PollerRpcProtos.PollStatusProperty.getDefaultInstance();
+      }
+
+      @java.lang.Override
+      public org.opennms.netmgt.poller.client.rpc.model.PollerRpcProtos.PollStatusProperty build() {
+        org.opennms.netmgt.poller.client.rpc.model.PollerRpcProtos.PollStatusProperty result = buildPartial();
+        if (!result.isInitialized()) {
+          throw newUninitializedMessageException(result);
+        }
+        return result;
+      }
+
+      @java.lang.Override
+      public org.opennms.netmgt.poller.client.rpc.model.PollerRpcProtos.PollStatusProperty buildPartial() {
+        org.opennms.netmgt.poller.client.rpc.model.PollerRpcProtos.PollStatusProperty result = new org.opennms.netmgt.poller.client.rpc.model.PollerRpcProtos.PollStatusProperty(this);
+        if (bitField0_ != 0) { buildPartial0(result); }
+        onBuilt();
+        return result;
+      }
+
+      private void buildPartial0(org.opennms.netmgt.poller.client.rpc.model.PollerRpcProtos.PollStatusProperty result) {
+        int from_bitField0_ = bitField0_;
+        int to_bitField0_ = 0;
+        if (((from_bitField0_ & 0x00000001) != 0)) {
+          result.key_ = key_;
+          to_bitField0_ |= 0x00000001;
+        }
+        if (((from_bitField0_ & 0x00000002) != 0)) {
+          result.value_ = value_;
+          to_bitField0_ |= 0x00000002;
+        }
+        result.bitField0_ |= to_bitField0_;
+      }
+
+      @java.lang.Override
+      public Builder mergeFrom(com.google.protobuf.Message other) {
+        if (other instanceof org.opennms.netmgt.poller.client.rpc.model.PollerRpcProtos.PollStatusProperty) {
+          return mergeFrom((org.opennms.netmgt.poller.client.rpc.model.PollerRpcProtos.PollStatusProperty)other);
+        } else {
+          super.mergeFrom(other);
+          return this;
+        }
+      }
+
+      public Builder mergeFrom(org.opennms.netmgt.poller.client.rpc.model.PollerRpcProtos.PollStatusProperty other) {
+        if (other == org.opennms.netmgt.poller.client.rpc.model.PollerRpcProtos.PollStatusProperty.getDefaultInstance()) return this;
+        if (other.hasKey()) {
+          key_ = other.key_;
+          bitField0_ |= 0x00000001;
+          onChanged();
+        }
+        if (other.hasValue()) {
+          setValue(other.getValue());
+        }
+        this.mergeUnknownFields(other.getUnknownFields());
+        onChanged();
+        return this;
+      }
+
+      @java.lang.Override
+      public final boolean isInitialized() {
+        return true;
+      }
+
+      @java.lang.Override
+      public Builder mergeFrom(
+          com.google.protobuf.CodedInputStream input,
+          com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+          throws java.io.IOException {
+        if (extensionRegistry == null) {
+          throw new java.lang.NullPointerException();
+        }
+        try {
+          boolean done = false;
+          while (!done) {
+            int tag = input.readTag();
+            switch (tag) {
+              case 0:
+                done = true;
+                break;
+              case 10: {
+                key_ = input.readStringRequireUtf8();
+                bitField0_ |= 0x00000001;
+                break;
+              } // case 10
+              case 17: {
+                value_ = input.readDouble();
+                bitField0_ |= 0x00000002;
+                break;
+              } // case 17
+              default: {
+                if (!super.parseUnknownField(input, extensionRegistry, tag)) {
+                  done = true; // was an endgroup tag
+                }
+                break;
+              } // default:
+            } // switch (tag)
+          } // while (!done)
+        } catch (com.google.protobuf.InvalidProtocolBufferException e) {
+          throw e.unwrapIOException();
+        } finally {
+          onChanged();
+        } // finally
+        return this;
+      }
+      private int bitField0_;
+
+      private java.lang.Object key_ = "";
+      /**
+       * <code>optional string key = 1;</code>
+       * @return Whether the key field is set.
+       */
+      public boolean hasKey() {
+        return ((bitField0_ & 0x00000001) != 0);
+      }
+      /**
+       * <code>optional string key = 1;</code>
+       * @return The key.
+       */
+      public java.lang.String getKey() {
+        java.lang.Object ref = key_;
+        if (!(ref instanceof java.lang.String)) {
+          com.google.protobuf.ByteString bs =
+              (com.google.protobuf.ByteString) ref;
+          java.lang.String s = bs.toStringUtf8();
+          key_ = s;
+          return s;
+        } else {
+          return (java.lang.String) ref;
+        }
+      }
+      /**
+       * <code>optional string key = 1;</code>
+       * @return The bytes for key.
+       */
+      public com.google.protobuf.ByteString
+          getKeyBytes() {
+        java.lang.Object ref = key_;
+        if (ref instanceof String) {
+          com.google.protobuf.ByteString b = 
+              com.google.protobuf.ByteString.copyFromUtf8(
+                  (java.lang.String) ref);
+          key_ = b;
+          return b;
+        } else {
+          return (com.google.protobuf.ByteString) ref;
+        }
+      }
+      /**
+       * <code>optional string key = 1;</code>
+       * @param value The key to set.
+       * @return This builder for chaining.
+       */
+      public Builder setKey(
+          java.lang.String value) {
+        if (value == null) { throw new NullPointerException(); }
+        key_ = value;
+        bitField0_ |= 0x00000001;
+        onChanged();
+        return this;
+      }
+      /**
+       * <code>optional string key = 1;</code>
+       * @return This builder for chaining.
+       */
+      public Builder clearKey() {
+        key_ = getDefaultInstance().getKey();
+        bitField0_ = (bitField0_ & ~0x00000001);
+        onChanged();
+        return this;
+      }
+      /**
+       * <code>optional string key = 1;</code>
+       * @param value The bytes for key to set.
+       * @return This builder for chaining.
+       */
+      public Builder setKeyBytes(
+          com.google.protobuf.ByteString value) {
+        if (value == null) { throw new NullPointerException(); }
+        checkByteStringIsUtf8(value);
+        key_ = value;
+        bitField0_ |= 0x00000001;
+        onChanged();
+        return this;
+      }
+
+      private double value_ ;
+      /**
+       * <code>optional double value = 2;</code>
+       * @return Whether the value field is set.
+       */
+      @java.lang.Override
+      public boolean hasValue() {
+        return ((bitField0_ & 0x00000002) != 0);
+      }
+      /**
+       * <code>optional double value = 2;</code>
+       * @return The value.
+       */
+      @java.lang.Override
+      public double getValue() {
+        return value_;
+      }
+      /**
+       * <code>optional double value = 2;</code>
+       * @param value The value to set.
+       * @return This builder for chaining.
+       */
+      public Builder setValue(double value) {
+
+        value_ = value;
+        bitField0_ |= 0x00000002;
+        onChanged();
+        return this;
+      }
+      /**
+       * <code>optional double value = 2;</code>
+       * @return This builder for chaining.
+       */
+      public Builder clearValue() {
+        bitField0_ = (bitField0_ & ~0x00000002);
+        value_ = 0D;
+        onChanged();
+        return this;
+      }
+      @java.lang.Override
+      public final Builder setUnknownFields(
+          final com.google.protobuf.UnknownFieldSet unknownFields) {
+        return super.setUnknownFields(unknownFields);
+      }
+
+      @java.lang.Override
+      public final Builder mergeUnknownFields(
+          final com.google.protobuf.UnknownFieldSet unknownFields) {
+        return super.mergeUnknownFields(unknownFields);
+      }
+
+
+      // @@protoc_insertion_point(builder_scope:PollStatusProperty)
+    }
+
+    // @@protoc_insertion_point(class_scope:PollStatusProperty)
+    private static final org.opennms.netmgt.poller.client.rpc.model.PollerRpcProtos.PollStatusProperty DEFAULT_INSTANCE;
+    static {
+      DEFAULT_INSTANCE = new org.opennms.netmgt.poller.client.rpc.model.PollerRpcProtos.PollStatusProperty();
+    }
+
+    public static org.opennms.netmgt.poller.client.rpc.model.PollerRpcProtos.PollStatusProperty getDefaultInstance() {
+      return DEFAULT_INSTANCE;
+    }
+
+    private static final com.google.protobuf.Parser<PollStatusProperty>
+        PARSER = new com.google.protobuf.AbstractParser<PollStatusProperty>() {
+      @java.lang.Override
+      public PollStatusProperty parsePartialFrom(
+          com.google.protobuf.CodedInputStream input,
+          com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+          throws com.google.protobuf.InvalidProtocolBufferException {
+        Builder builder = newBuilder();
+        try {
+          builder.mergeFrom(input, extensionRegistry);
+        } catch (com.google.protobuf.InvalidProtocolBufferException e) {
+          throw e.setUnfinishedMessage(builder.buildPartial());
+        } catch (com.google.protobuf.UninitializedMessageException e) {
+          throw e.asInvalidProtocolBufferException().setUnfinishedMessage(builder.buildPartial());
+        } catch (java.io.IOException e) {
+          throw new com.google.protobuf.InvalidProtocolBufferException(e)
+              .setUnfinishedMessage(builder.buildPartial());
+        }
+        return builder.buildPartial();
+      }
+    };
+
+    public static com.google.protobuf.Parser<PollStatusProperty> parser() {
+      return PARSER;
+    }
+
+    @java.lang.Override
+    public com.google.protobuf.Parser<PollStatusProperty> getParserForType() {
+      return PARSER;
+    }
+
+    @java.lang.Override
+    public org.opennms.netmgt.poller.client.rpc.model.PollerRpcProtos.PollStatusProperty getDefaultInstanceForType() {
+      return DEFAULT_INSTANCE;
+    }
+
+  }
+
+  private static final com.google.protobuf.Descriptors.Descriptor
+    internal_static_PollerRequest_descriptor;
+  private static final 
+    com.google.protobuf.GeneratedMessageV3.FieldAccessorTable
+      internal_static_PollerRequest_fieldAccessorTable;
+  private static final com.google.protobuf.Descriptors.Descriptor
+    internal_static_PollerAttribute_descriptor;
+  private static final 
+    com.google.protobuf.GeneratedMessageV3.FieldAccessorTable
+      internal_static_PollerAttribute_fieldAccessorTable;
+  private static final com.google.protobuf.Descriptors.Descriptor
+    internal_static_PollerResponse_descriptor;
+  private static final 
+    com.google.protobuf.GeneratedMessageV3.FieldAccessorTable
+      internal_static_PollerResponse_fieldAccessorTable;
+  private static final com.google.protobuf.Descriptors.Descriptor
+    internal_static_PollStatus_descriptor;
+  private static final 
+    com.google.protobuf.GeneratedMessageV3.FieldAccessorTable
+      internal_static_PollStatus_fieldAccessorTable;
+  private static final com.google.protobuf.Descriptors.Descriptor
+    internal_static_PollStatusProperty_descriptor;
+  private static final 
+    com.google.protobuf.GeneratedMessageV3.FieldAccessorTable
+      internal_static_PollStatusProperty_fieldAccessorTable;
+
+  public static com.google.protobuf.Descriptors.FileDescriptor
+      getDescriptor() {
+    return descriptor;
+  }
+  private static  com.google.protobuf.Descriptors.FileDescriptor
+      descriptor;
+  static {
+    java.lang.String[] descriptorData = {
+      "\n\020poller-rpc.proto\"\355\002\n\rPollerRequest\022\025\n\010" +
+      "location\030\001 \001(\tH\000\210\001\001\022\026\n\tsystem_id\030\002 \001(\tH\001" +
+      "\210\001\001\022\027\n\nclass_name\030\003 \001(\tH\002\210\001\001\022\031\n\014service_" +
+      "name\030\004 \001(\tH\003\210\001\001\022\024\n\007address\030\005 \001(\014H\004\210\001\001\022\024\n" +
+      "\007node_id\030\006 \001(\005H\005\210\001\001\022\027\n\nnode_label\030\007 \001(\tH" +
+      "\006\210\001\001\022\032\n\rnode_location\030\010 \001(\tH\007\210\001\001\022$\n\nattr" +
+      "ibutes\030\t \003(\0132\020.PollerAttributeB\013\n\t_locat" +
+      "ionB\014\n\n_system_idB\r\n\013_class_nameB\017\n\r_ser" +
+      "vice_nameB\n\n\010_addressB\n\n\010_node_idB\r\n\013_no" +
+      "de_labelB\020\n\016_node_location\"I\n\017PollerAttr" +
+      "ibute\022\020\n\003key\030\001 \001(\tH\000\210\001\001\022\022\n\005value\030\002 \001(\tH\001" +
+      "\210\001\001B\006\n\004_keyB\010\n\006_value\"e\n\016PollerResponse\022" +
+      "\022\n\005error\030\001 \001(\tH\000\210\001\001\022%\n\013poll_status\030\002 \001(\013" +
+      "2\013.PollStatusH\001\210\001\001B\010\n\006_errorB\016\n\014_poll_st" +
+      "atus\"\220\001\n\nPollStatus\022\026\n\ttimestamp\030\001 \001(\003H\000" +
+      "\210\001\001\022\023\n\013status_code\030\002 \001(\005\022\023\n\006reason\030\003 \001(\t" +
+      "H\001\210\001\001\022\'\n\nproperties\030\004 \003(\0132\023.PollStatusPr" +
+      "opertyB\014\n\n_timestampB\t\n\007_reason\"L\n\022PollS" +
+      "tatusProperty\022\020\n\003key\030\001 \001(\tH\000\210\001\001\022\022\n\005value" +
+      "\030\002 \001(\001H\001\210\001\001B\006\n\004_keyB\010\n\006_valueB=\n*org.ope" +
+      "nnms.netmgt.poller.client.rpc.modelB\017Pol" +
+      "lerRpcProtosb\006proto3"
+    };
+    descriptor = com.google.protobuf.Descriptors.FileDescriptor
+      .internalBuildGeneratedFileFrom(descriptorData,
+        new com.google.protobuf.Descriptors.FileDescriptor[] {
+        });
+    internal_static_PollerRequest_descriptor =
+      getDescriptor().getMessageTypes().get(0);
+    internal_static_PollerRequest_fieldAccessorTable = new
+      com.google.protobuf.GeneratedMessageV3.FieldAccessorTable(
+        internal_static_PollerRequest_descriptor,
+        new java.lang.String[] { "Location", "SystemId", "ClassName", "ServiceName", "Address", "NodeId", "NodeLabel", "NodeLocation", "Attributes", "Location", "SystemId", "ClassName", "ServiceName", "Address", "NodeId", "NodeLabel", "NodeLocation", });
+    internal_static_PollerAttribute_descriptor =
+      getDescriptor().getMessageTypes().get(1);
+    internal_static_PollerAttribute_fieldAccessorTable = new
+      com.google.protobuf.GeneratedMessageV3.FieldAccessorTable(
+        internal_static_PollerAttribute_descriptor,
+        new java.lang.String[] { "Key", "Value", "Key", "Value", });
+    internal_static_PollerResponse_descriptor =
+      getDescriptor().getMessageTypes().get(2);
+    internal_static_PollerResponse_fieldAccessorTable = new
+      com.google.protobuf.GeneratedMessageV3.FieldAccessorTable(
+        internal_static_PollerResponse_descriptor,
+        new java.lang.String[] { "Error", "PollStatus", "Error", "PollStatus", });
+    internal_static_PollStatus_descriptor =
+      getDescriptor().getMessageTypes().get(3);
+    internal_static_PollStatus_fieldAccessorTable = new
+      com.google.protobuf.GeneratedMessageV3.FieldAccessorTable(
+        internal_static_PollStatus_descriptor,
+        new java.lang.String[] { "Timestamp", "StatusCode", "Reason", "Properties", "Timestamp", "Reason", });
+    internal_static_PollStatusProperty_descriptor =
+      getDescriptor().getMessageTypes().get(4);
+    internal_static_PollStatusProperty_fieldAccessorTable = new
+      com.google.protobuf.GeneratedMessageV3.FieldAccessorTable(
+        internal_static_PollStatusProperty_descriptor,
+        new java.lang.String[] { "Key", "Value", "Key", "Value", });
+  }
+
+  // @@protoc_insertion_point(outer_class_scope)
+}
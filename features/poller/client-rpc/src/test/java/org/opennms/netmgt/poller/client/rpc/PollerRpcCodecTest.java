@@ -0,0 +1,109 @@
+/*
+ * Licensed to The OpenNMS Group, Inc (TOG) under one or more
+ * contributor license agreements.  See the LICENSE.md file
+ * distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * TOG licenses this file to You under the GNU Affero General
+ * Public License Version 3 (the "License") or (at your option)
+ * any later version.  You may not use this file except in
+ * compliance with the License.  You may obtain a copy of the
+ * License at:
+ *
+ *      https://www.gnu.org/licenses/agpl-3.0.txt
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied.  See the License for the specific
+ * language governing permissions and limitations under the
+ * License.
+ */
+package org.opennms.netmgt.poller.client.rpc;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.net.InetAddress;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.junit.Test;
+import org.opennms.core.xml.BinaryCodec;
+import org.opennms.netmgt.poller.PollStatus;
+
+public class PollerRpcCodecTest {
+
+    private final PollerRequestCodec requestCodec = new PollerRequestCodec();
+
+    private final PollerResponseCodec responseCodec = new PollerResponseCodec();
+
+    @Test
+    public void canEncodeAndDecodeRequests() throws Exception {
+        final PollerRequestDTO request = new PollerRequestDTO();
+        request.setLocation("MINION");
+        request.setSystemId("minion-1");
+        request.setClassName("org.opennms.netmgt.poller.monitors.IcmpMonitor");
+        request.setServiceName("ICMP");
+        request.setAddress(InetAddress.getByName("2001:db8::1"));
+        request.setNodeId(42);
+        request.setNodeLabel("router");
+        request.setNodeLocation("MINION");
+        request.addAttribute("port", "18980");
+        request.addAttribute("empty", (String) null);
+
+        assertTrue(requestCodec.canEncode(request));
+        final PollerRequestDTO decoded = roundTrip(requestCodec, request);
+        assertEquals(request, decoded);
+        assertEquals("ICMP", decoded.getServiceName());
+        assertEquals("MINION", decoded.getNodeLocation());
+    }
+
+    @Test
+    public void leavesRequestsWithObjectsToXml() throws Exception {
+        assertFalse(requestCodec.canEncode(PollerRequestDTOTest.getPollerRequestWithObject()));
+    }
+
+    @Test
+    public void canEncodeAndDecodeResponses() throws Exception {
+        final PollerResponseDTO response = PollerResponseDTOTest.getPollerResponse();
+        final PollStatus pollStatus = response.getPollStatus();
+        pollStatus.setReason("reason");
+
+        assertTrue(responseCodec.canEncode(response));
+        final PollStatus decoded = roundTrip(responseCodec, response).getPollStatus();
+        assertEquals(pollStatus.getStatusCode(), decoded.getStatusCode());
+        assertEquals(new Date(0), decoded.getTimestamp());
+        assertEquals("reason", decoded.getReason());
+
+        // The properties must keep their order
+        final Map<String, Number> expected = new LinkedHashMap<>();
+        expected.put("ping1", 55d);
+        expected.put("ping2", 61d);
+        expected.put("ping3", 67d);
+        expected.put("median", 98d);
+        assertEquals(Arrays.asList(expected.keySet().toArray()), Arrays.asList(decoded.getProperties().keySet().toArray()));
+        assertEquals(expected, decoded.getProperties());
+    }
+
+    @Test
+    public void canEncodeAndDecodeErrors() throws Exception {
+        final PollerResponseDTO response = new PollerResponseDTO(new IllegalStateException("failed"));
+
+        final PollerResponseDTO decoded = roundTrip(responseCodec, response);
+        assertEquals(response.getErrorMessage(), decoded.getErrorMessage());
+        assertNull(decoded.getPollStatus());
+    }
+
+    private static <T> T roundTrip(BinaryCodec<T> codec, T message) throws Exception {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        codec.encode(message, out);
+        final byte[] bytes = out.toByteArray();
+        return codec.decode(bytes, 0, bytes.length);
+    }
+}
@@ -21,21 +21,27 @@
  */
 package org.opennms.netmgt.telemetry.listeners;
 
+import java.io.IOException;
 import java.net.InetSocketAddress;
 import java.time.Duration;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
 import java.util.Objects;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
 
 import org.opennms.netmgt.telemetry.api.receiver.GracefulShutdownListener;
 import org.opennms.netmgt.telemetry.api.receiver.Listener;
 import org.opennms.netmgt.telemetry.api.receiver.Parser;
 import org.opennms.netmgt.telemetry.listeners.utils.BufferUtils;
+import org.opennms.netmgt.telemetry.listeners.utils.EpollTransport;
 import org.opennms.netmgt.telemetry.listeners.utils.NettyEventListener;
+import org.opennms.netmgt.telemetry.listeners.utils.SocketDrops;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -45,7 +51,8 @@ import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import com.swrve.ratelimitedlogger.RateLimitedLog;
 
 import io.netty.bootstrap.Bootstrap;
-import io.netty.channel.ChannelFuture;
+import io.netty.buffer.PooledByteBufAllocator;
+import io.netty.channel.Channel;
 import io.netty.channel.ChannelHandlerContext;
 import io.netty.channel.ChannelInboundHandlerAdapter;
 import io.netty.channel.ChannelInitializer;
@@ -71,21 +78,27 @@ public class UdpListener implements GracefulShutdownListener {
     private final String name;
     private final List<UdpParser> parsers;
 
+    private final MetricRegistry metrics;
     private final Meter packetsReceived;
 
     private EventLoopGroup bossGroup;
-    private ChannelFuture socketFuture;
+    private final List<Channel> channels = new ArrayList<>();
+    private final List<String> socketMetrics = new ArrayList<>();
 
     private String host = null;
     private int port = 50000;
     private int maxPacketSize = 8096;
 
+    private boolean nativeTransport = false;
+    private int sockets = 1;
+    private int readBatchSize = 16;
+
     private Future<String> stopFuture;
 
     public UdpListener(final String name, final List<UdpParser> parsers, final MetricRegistry metrics) {
         this.name = Objects.requireNonNull(name);
         this.parsers = Objects.requireNonNull(parsers);
-        Objects.requireNonNull(metrics);
+        this.metrics = Objects.requireNonNull(metrics);
 
         if (this.parsers.isEmpty()) {
             throw new IllegalArgumentException("At least 1 parsers must be defined");
@@ -100,10 +113,21 @@ public class UdpListener implements GracefulShutdownListener {
     }
 
     public void start() throws InterruptedException {
+        final boolean epoll = useNativeTransport(name, this.nativeTransport, EpollTransport::unavailabilityCause);
+        final int numSockets = epoll ? Math.max(1, this.sockets) : 1;
+        if (!epoll && this.sockets > 1) {
+            LOG.warn("Listener {} can only bind multiple sockets with the native transport. Binding a single socket.", name);
+        }
+
         // Netty defaults to 2 * num cores when the number of threads is set to 0
-        this.bossGroup = new NioEventLoopGroup(0, new ThreadFactoryBuilder()
-                .setNameFormat("telemetryd-nio-" + name + "-%d")
-                .build() );
+        // The sockets are registered with the event loops in turn, so make sure each of them gets its own
+        final int threads = numSockets > 1 ? Math.max(numSockets, 2 * Runtime.getRuntime().availableProcessors()) : 0;
+        final ThreadFactory threadFactory = new ThreadFactoryBuilder()
+                .setNameFormat((epoll ? "telemetryd-epoll-" : "telemetryd-nio-") + name + "-%d")
+                .build();
+        this.bossGroup = epoll
+                ? EpollTransport.newEventLoopGroup(threads, threadFactory)
+                : new NioEventLoopGroup(threads, threadFactory);
 
         this.parsers.forEach(parser -> parser.start(this.bossGroup));
 
@@ -111,15 +135,63 @@ public class UdpListener implements GracefulShutdownListener {
                 ? SocketUtils.socketAddress(this.host, this.port)
                 : new InetSocketAddress(this.port);
 
-        this.socketFuture = new Bootstrap()
+        final Bootstrap bootstrap = new Bootstrap()
                 .group(this.bossGroup)
-                .channel(NioDatagramChannel.class)
                 .option(ChannelOption.SO_REUSEADDR, true)
                 .option(ChannelOption.SO_RCVBUF, Integer.MAX_VALUE)
-                .option(ChannelOption.RCVBUF_ALLOCATOR, new FixedRecvByteBufAllocator(this.maxPacketSize))
-                .handler(new DefaultChannelInitializer())
-                .bind(address)
-                .sync();
+                .option(ChannelOption.ALLOCATOR, PooledByteBufAllocator.DEFAULT);
+        if (epoll) {
+            EpollTransport.configure(bootstrap, this.maxPacketSize, this.readBatchSize);
+        } else {
+            bootstrap
+                    .channel(NioDatagramChannel.class)
+                    .option(ChannelOption.RCVBUF_ALLOCATOR, new FixedRecvByteBufAllocator(this.maxPacketSize));
+        }
+
+        for (int i = 0; i < numSockets; i++) {
+            final String socketName = MetricRegistry.name("listeners", name, "sockets", Integer.toString(i));
+            final Meter socketPacketsReceived = this.metrics.meter(MetricRegistry.name(socketName, "packetsReceived"));
+            this.socketMetrics.add(MetricRegistry.name(socketName, "packetsReceived"));
+
+            final Channel channel = bootstrap.clone()
+                    .handler(new DefaultChannelInitializer(socketPacketsReceived))
+                    .bind(address)
+                    .sync()
+                    .channel();
+            this.channels.add(channel);
+
+            if (epoll) {
+                try {
+                    this.metrics.register(MetricRegistry.name(socketName, "packetsDropped"), SocketDrops.forFileDescriptor(EpollTransport.fd(channel)));
+                    this.socketMetrics.add(MetricRegistry.name(socketName, "packetsDropped"));
+                } catch (final IOException | IllegalArgumentException e) {
+                    LOG.debug("Cannot track the dropped packets of socket {} of listener {}", i, name, e);
+                }
+            }
+        }
+
+        LOG.info("Listener {} bound {} socket(s) to {}", name, numSockets, address);
+    }
+
+    /**
+     * Selects the transport of the listener with the given name. The native epoll transport is only used if it
+     * was requested and <code>unavailabilityCause</code> does not report a reason for it being unusable, otherwise
+     * the listener falls back to NIO.
+     *
+     * @return <code>true</code> if the native transport should be used
+     */
+    static boolean useNativeTransport(final String name, final boolean requested, final Supplier<Throwable> unavailabilityCause) {
+        if (requested) {
+            final Throwable cause = unavailabilityCause.get();
+            if (cause == null) {
+                LOG.info("Listener {} uses the native epoll transport", name);
+                return true;
+            }
+            LOG.warn("The native transport is not available for listener {}, falling back to NIO: {}", name, cause.getMessage());
+            LOG.debug("Native transport unavailable", cause);
+        }
+        LOG.info("Listener {} uses the NIO transport", name);
+        return false;
     }
 
     public void stop() throws InterruptedException {
@@ -131,13 +203,17 @@ public class UdpListener implements GracefulShutdownListener {
             this.bossGroup.shutdownGracefully().addListener(bossListener);
         }
 
-        if (this.socketFuture != null) {
-            LOG.info("Closing channel...");
-            this.socketFuture.channel().close().sync();
-            if (this.socketFuture.channel().parent() != null) {
-                this.socketFuture.channel().parent().close().sync();
+        LOG.info("Closing channels...");
+        for (final Channel channel : this.channels) {
+            channel.close().sync();
+            if (channel.parent() != null) {
+                channel.parent().close().sync();
             }
         }
+        this.channels.clear();
+
+        this.socketMetrics.forEach(this.metrics::remove);
+        this.socketMetrics.clear();
 
         this.parsers.forEach(Parser::stop);
 
@@ -193,6 +269,30 @@ public class UdpListener implements GracefulShutdownListener {
         this.maxPacketSize = maxPacketSize;
     }
 
+    public boolean isNativeTransport() {
+        return nativeTransport;
+    }
+
+    public void setNativeTransport(boolean nativeTransport) {
+        this.nativeTransport = nativeTransport;
+    }
+
+    public int getSockets() {
+        return sockets;
+    }
+
+    public void setSockets(int sockets) {
+        this.sockets = sockets;
+    }
+
+    public int getReadBatchSize() {
+        return readBatchSize;
+    }
+
+    public void setReadBatchSize(int readBatchSize) {
+        this.readBatchSize = readBatchSize;
+    }
+
     @Override
     public String getName() {
         return name;
@@ -216,10 +316,16 @@ public class UdpListener implements GracefulShutdownListener {
 
     private class DefaultChannelInitializer extends ChannelInitializer<DatagramChannel> {
 
+        private final Meter socketPacketsReceived;
+
+        private DefaultChannelInitializer(final Meter socketPacketsReceived) {
+            this.socketPacketsReceived = Objects.requireNonNull(socketPacketsReceived);
+        }
+
         @Override
         protected void initChannel(DatagramChannel ch) {
             // Accounting
-            ch.pipeline().addFirst(new AccountingHandler());
+            ch.pipeline().addFirst(new AccountingHandler(socketPacketsReceived));
 
             if (parsers.size() == 1) {
                 final UdpParser parser = parsers.get(0);
@@ -253,9 +359,16 @@ public class UdpListener implements GracefulShutdownListener {
     }
 
     private class AccountingHandler extends ChannelInboundHandlerAdapter {
+        private final Meter socketPacketsReceived;
+
+        private AccountingHandler(final Meter socketPacketsReceived) {
+            this.socketPacketsReceived = socketPacketsReceived;
+        }
+
         @Override
         public  void channelRead(ChannelHandlerContext ctx, Object msg) throws Exception {
             packetsReceived.mark();
+            socketPacketsReceived.mark();
             super.channelRead(ctx, msg);
         }
     }
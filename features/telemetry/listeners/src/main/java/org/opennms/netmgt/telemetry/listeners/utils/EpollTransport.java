@@ -0,0 +1,88 @@
+/*
+ * Licensed to The OpenNMS Group, Inc (TOG) under one or more
+ * contributor license agreements.  See the LICENSE.md file
+ * distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * TOG licenses this file to You under the GNU Affero General
+ * Public License Version 3 (the "License") or (at your option)
+ * any later version.  You may not use this file except in
+ * compliance with the License.  You may obtain a copy of the
+ * License at:
+ *
+ *      https://www.gnu.org/licenses/agpl-3.0.txt
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied.  See the License for the specific
+ * language governing permissions and limitations under the
+ * License.
+ */
+package org.opennms.netmgt.telemetry.listeners.utils;
+
+import java.util.concurrent.ThreadFactory;
+
+import io.netty.bootstrap.Bootstrap;
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelOption;
+import io.netty.channel.EventLoopGroup;
+import io.netty.channel.FixedRecvByteBufAllocator;
+import io.netty.channel.epoll.Epoll;
+import io.netty.channel.epoll.EpollChannelOption;
+import io.netty.channel.epoll.EpollDatagramChannel;
+import io.netty.channel.epoll.EpollEventLoopGroup;
+
+/**
+ * Access to Netty's native epoll transport.
+ * <p>
+ * All references to the epoll classes are kept in here, so that the listeners only load them after
+ * {@link #isAvailable()} confirmed that the transport and its native library can be used.
+ */
+public final class EpollTransport {
+
+    private EpollTransport() {
+    }
+
+    /**
+     * Returns the reason why the native transport can not be used, or <code>null</code> if it is available.
+     */
+    public static Throwable unavailabilityCause() {
+        try {
+            return Epoll.isAvailable() ? null : Epoll.unavailabilityCause();
+        } catch (final LinkageError e) {
+            // The transport classes are not deployed at all
+            return e;
+        }
+    }
+
+    public static boolean isAvailable() {
+        return unavailabilityCause() == null;
+    }
+
+    public static EventLoopGroup newEventLoopGroup(final int threads, final ThreadFactory threadFactory) {
+        return new EpollEventLoopGroup(threads, threadFactory);
+    }
+
+    /**
+     * Configures the bootstrap to bind the datagram sockets with SO_REUSEPORT, so that the kernel balances the
+     * datagrams across all sockets bound to the same address, and to read up to <code>readBatchSize</code>
+     * datagrams with a single recvmmsg call.
+     * <p>
+     * The datagrams of a batch are received into a single buffer, each of them being passed on as a slice of it.
+     */
+    public static Bootstrap configure(final Bootstrap bootstrap, final int maxPacketSize, final int readBatchSize) {
+        return bootstrap
+                .channel(EpollDatagramChannel.class)
+                .option(EpollChannelOption.SO_REUSEPORT, true)
+                .option(EpollChannelOption.MAX_DATAGRAM_PAYLOAD_SIZE, maxPacketSize)
+                .option(ChannelOption.RCVBUF_ALLOCATOR, new FixedRecvByteBufAllocator(maxPacketSize * readBatchSize));
+    }
+
+    /**
+     * Returns the file descriptor of the socket backing the given channel.
+     */
+    public static int fd(final Channel channel) {
+        return ((EpollDatagramChannel) channel).fd().intValue();
+    }
+}
@@ -0,0 +1,93 @@
+/*
+ * Licensed to The OpenNMS Group, Inc (TOG) under one or more
+ * contributor license agreements.  See the LICENSE.md file
+ * distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * TOG licenses this file to You under the GNU Affero General
+ * Public License Version 3 (the "License") or (at your option)
+ * any later version.  You may not use this file except in
+ * compliance with the License.  You may obtain a copy of the
+ * License at:
+ *
+ *      https://www.gnu.org/licenses/agpl-3.0.txt
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied.  See the License for the specific
+ * language governing permissions and limitations under the
+ * License.
+ */
+package org.opennms.netmgt.telemetry.listeners.utils;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Objects;
+
+import com.codahale.metrics.Gauge;
+
+/**
+ * Reports the number of datagrams the kernel dropped for a UDP socket, i.e. because its receive buffer was full.
+ * <p>
+ * The socket is identified by its inode, which is resolved from the file descriptor once. The counter is then
+ * looked up in <code>/proc/net/udp</code> and <code>/proc/net/udp6</code> whenever the gauge is read. The gauge
+ * returns <code>null</code> if the socket can not be found, i.e. on systems without procfs.
+ */
+public class SocketDrops implements Gauge<Long> {
+
+    private static final Path[] TABLES = new Path[] {
+            Paths.get("/proc/net/udp"),
+            Paths.get("/proc/net/udp6")
+    };
+
+    // Column indices in the socket tables
+    private static final int INODE = 9;
+    private static final int DROPS = 12;
+
+    private final String inode;
+
+    private SocketDrops(final String inode) {
+        this.inode = Objects.requireNonNull(inode);
+    }
+
+    /**
+     * Creates the gauge for the socket with the given file descriptor of this process.
+     *
+     * @throws IOException if the file descriptor does not refer to a socket
+     */
+    public static SocketDrops forFileDescriptor(final int fd) throws IOException {
+        // The link target of a socket is "socket:[<inode>]"
+        final String target = Files.readSymbolicLink(Paths.get("/proc/self/fd", Integer.toString(fd))).toString();
+        if (!target.startsWith("socket:[") || !target.endsWith("]")) {
+            throw new IOException("Not a socket: " + target);
+        }
+        return new SocketDrops(target.substring("socket:[".length(), target.length() - 1));
+    }
+
+    @Override
+    public Long getValue() {
+        for (final Path table : TABLES) {
+            if (!Files.isReadable(table)) {
+                continue;
+            }
+            try (BufferedReader reader = Files.newBufferedReader(table, StandardCharsets.US_ASCII)) {
+                // Skip the header
+                String line = reader.readLine();
+                while ((line = reader.readLine()) != null) {
+                    final String[] columns = line.trim().split("\\s+");
+                    if (columns.length > DROPS && inode.equals(columns[INODE])) {
+                        return Long.parseLong(columns[DROPS]);
+                    }
+                }
+            } catch (final IOException | NumberFormatException e) {
+                return null;
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,117 @@
+/*
+ * Licensed to The OpenNMS Group, Inc (TOG) under one or more
+ * contributor license agreements.  See the LICENSE.md file
+ * distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * TOG licenses this file to You under the GNU Affero General
+ * Public License Version 3 (the "License") or (at your option)
+ * any later version.  You may not use this file except in
+ * compliance with the License.  You may obtain a copy of the
+ * License at:
+ *
+ *      https://www.gnu.org/licenses/agpl-3.0.txt
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied.  See the License for the specific
+ * language governing permissions and limitations under the
+ * License.
+ */
+package org.opennms.netmgt.telemetry.listeners;
+
+import static org.awaitility.Awaitility.await;
+import static org.hamcrest.Matchers.equalTo;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.net.DatagramPacket;
+import java.net.DatagramSocket;
+import java.net.InetAddress;
+import java.util.Collections;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.After;
+import org.junit.Test;
+import org.opennms.netmgt.telemetry.listeners.utils.EpollTransport;
+
+import com.codahale.metrics.MetricRegistry;
+
+public class UdpListenerTest {
+
+    private UdpListener listener;
+
+    @After
+    public void tearDown() throws InterruptedException {
+        if (listener != null) {
+            listener.stop();
+        }
+    }
+
+    @Test
+    public void usesNioUnlessNativeTransportIsRequested() {
+        assertFalse(UdpListener.useNativeTransport("test", false, () -> {
+            fail("The native transport should not be probed");
+            return null;
+        }));
+    }
+
+    @Test
+    public void usesNativeTransportWhenAvailable() {
+        assertTrue(UdpListener.useNativeTransport("test", true, () -> null));
+    }
+
+    @Test
+    public void fallsBackToNioWhenNativeTransportIsUnavailable() {
+        assertFalse(UdpListener.useNativeTransport("test", true, () -> new UnsatisfiedLinkError("no netty_transport_native_epoll")));
+        assertFalse(UdpListener.useNativeTransport("test", true, () -> new NoClassDefFoundError("io/netty/channel/epoll/Epoll")));
+    }
+
+    /**
+     * Verifies that a listener requesting the native transport with multiple sockets binds all of them if the
+     * transport is available on this platform, or a single NIO socket otherwise, and receives datagrams either way.
+     */
+    @Test(timeout = 30000)
+    public void bindsSocketsOfSelectedTransport() throws Exception {
+        final AtomicInteger parsed = new AtomicInteger();
+        final UdpParser parser = mock(UdpParser.class);
+        when(parser.parse(any(), any(), any())).thenAnswer(invocation -> {
+            parsed.incrementAndGet();
+            return CompletableFuture.completedFuture(null);
+        });
+
+        final int port;
+        try (DatagramSocket socket = new DatagramSocket(0)) {
+            port = socket.getLocalPort();
+        }
+
+        final MetricRegistry metrics = new MetricRegistry();
+        listener = new UdpListener("test", Collections.singletonList(parser), metrics);
+        listener.setHost("127.0.0.1");
+        listener.setPort(port);
+        listener.setNativeTransport(true);
+        listener.setSockets(2);
+        listener.start();
+
+        final boolean epoll = EpollTransport.isAvailable();
+        assertEquals(epoll, metrics.getMeters().containsKey("listeners.test.sockets.1.packetsReceived"));
+        assertTrue(metrics.getMeters().containsKey("listeners.test.sockets.0.packetsReceived"));
+
+        final byte[] bytes = new byte[] { 0x00, 0x05 };
+        try (DatagramSocket socket = new DatagramSocket()) {
+            for (int i = 0; i < 10; i++) {
+                socket.send(new DatagramPacket(bytes, bytes.length, InetAddress.getByName("127.0.0.1"), port));
+            }
+        }
+        await().atMost(10, TimeUnit.SECONDS).until(parsed::get, equalTo(10));
+        assertEquals(10, metrics.meter("listeners.test.packetsReceived").getCount());
+    }
+}
@@ -270,10 +270,13 @@ public abstract class ParserBase implements Parser {
 
         final RecordEnricher recordEnricher = new RecordEnricher(dnsResolver, getDnsLookupsEnabled());
 
+        final MessageBuilder messageBuilder = this.getMessageBuilder();
+
         // The packets are coming in hot - performance here is critical
         //   LOG.trace("Got packet: {}", packet);
         // Perform the record enrichment and serialization in a thread pool allowing these to be parallelized
-        final var futures = packet.getRecords().map(record -> {
+        // Values not read by the message builder are skipped without being decoded
+        final var futures = packet.getRecords(messageBuilder::consumes).map(record -> {
             this.recordsReceived.mark();
 
             final Timer.Context timerContext = recordEnrichmentTimer.time();
@@ -293,7 +296,7 @@ public abstract class ParserBase implements Parser {
                         // Let's serialize
                         final FlowMessage.Builder flowMessage;
                         try {
-                            flowMessage = this.getMessageBuilder().buildMessage(record, enrichment);
+                            flowMessage = messageBuilder.buildMessage(record, enrichment);
                         } catch (final Exception e) {
                             throw new RuntimeException(e);
                         }
@@ -54,6 +54,8 @@ import com.google.common.collect.Sets;
 public class RecordEnricher {
     private static final Logger LOG = LoggerFactory.getLogger(RecordEnricher.class);
 
+    private static final RecordEnrichment EMPTY_ENRICHMENT = new DefaultRecordEnrichment(Collections.emptyMap());
+
     private final DnsResolver dnsResolver;
     private boolean dnsLookupsEnabled;
 
@@ -64,10 +66,7 @@ public class RecordEnricher {
 
     public CompletableFuture<RecordEnrichment> enrich(Iterable<Value<?>> record) {
         if (!this.dnsLookupsEnabled) {
-            final CompletableFuture<RecordEnrichment> emptyFuture = new CompletableFuture<>();
-            final RecordEnrichment emptyEnrichment = new DefaultRecordEnrichment(Collections.<InetAddress, String>emptyMap());
-            emptyFuture.complete(emptyEnrichment);
-            return emptyFuture;
+            return CompletableFuture.completedFuture(EMPTY_ENRICHMENT);
         }
         final IpAddressCapturingVisitor ipAddressCapturingVisitor = new IpAddressCapturingVisitor();
         for (final Value<?> value : record) {
@@ -37,4 +37,13 @@ public interface InformationElement {
     int getMinimumFieldLength();
 
     int getMaximumFieldLength();
+
+    /**
+     * Whether values of this element can be decoded lazily, after the packet has been parsed. Elements whose decoding
+     * can fail on a field of valid length, or which depend on the templates of the session, must be decoded with the
+     * packet and return false.
+     */
+    default boolean isLazy() {
+        return true;
+    }
 }
@@ -21,11 +21,24 @@
  */
 package org.opennms.netmgt.telemetry.protocols.netflow.parser.ie;
 
+import java.util.function.Predicate;
 import java.util.stream.Stream;
 
 public interface RecordProvider {
     Stream<Iterable<Value<?>>> getRecords();
 
+    /** Returns the records with only the values whose names match the given predicate.
+     *
+     * Providers which decode their values lazily skip the other values without decoding them. The default
+     * implementation returns all values.
+     *
+     * @param names the predicate for the names of the values to return
+     * @return the records
+     */
+    default Stream<Iterable<Value<?>>> getRecords(final Predicate<String> names) {
+        return getRecords();
+    }
+
     /** Returns the observation domain ID as specified by the underlying packet used to generate these records.
      *
      * @return the observation domain ID or <code>0</code> if there is no such concept available.
@@ -85,6 +85,11 @@ public class BooleanValue extends Value<Boolean> {
             public int getMaximumFieldLength() {
                 return 1;
             }
+
+            @Override
+            public boolean isLazy() {
+                return false;
+            }
         };
     }
 
@@ -21,8 +21,6 @@
  */
 package org.opennms.netmgt.telemetry.protocols.netflow.parser.ie.values;
 
-import static org.opennms.netmgt.telemetry.listeners.utils.BufferUtils.uint;
-
 import java.util.Objects;
 import java.util.Optional;
 
@@ -32,18 +30,26 @@ import org.opennms.netmgt.telemetry.protocols.netflow.parser.ie.Value;
 import org.opennms.netmgt.telemetry.protocols.netflow.parser.session.Session;
 
 import com.google.common.base.MoreObjects;
+import com.google.common.base.Preconditions;
 import com.google.common.primitives.UnsignedLong;
 
 import io.netty.buffer.ByteBuf;
 
 public class UnsignedValue extends Value<UnsignedLong> {
-    private final UnsignedLong value;
+    // Kept as raw bits to spare an allocation per parsed value - most consumers only need the long value
+    private final long value;
+
+    private UnsignedValue(final String name,
+                          final Optional<Semantics> semantics,
+                          final long value) {
+        super(name, semantics);
+        this.value = value;
+    }
 
     public UnsignedValue(final String name,
                          final Optional<Semantics> semantics,
                          final UnsignedLong value) {
-        super(name, semantics);
-        this.value = Objects.requireNonNull(value);
+        this(name, semantics, Objects.requireNonNull(value).longValue());
     }
 
     public UnsignedValue(final String name,
@@ -55,7 +61,7 @@ public class UnsignedValue extends Value<UnsignedLong> {
     public String toString() {
         return MoreObjects.toStringHelper(this)
                 .add("name", getName())
-                .add("value", value)
+                .add("value", getValue())
                 .toString();
     }
 
@@ -63,7 +69,7 @@ public class UnsignedValue extends Value<UnsignedLong> {
         return new InformationElement() {
             @Override
             public Value<?> parse(final Session.Resolver resolver, final ByteBuf buffer) {
-                return new UnsignedValue(name, semantics, uint(buffer, 1));
+                return new UnsignedValue(name, semantics, bits(buffer, 1));
             }
 
             @Override
@@ -87,7 +93,7 @@ public class UnsignedValue extends Value<UnsignedLong> {
         return new InformationElement() {
             @Override
             public Value<?> parse(final Session.Resolver resolver, final ByteBuf buffer) {
-                return new UnsignedValue(name, semantics, uint(buffer, buffer.readableBytes()));
+                return new UnsignedValue(name, semantics, bits(buffer, buffer.readableBytes()));
             }
 
             @Override
@@ -111,7 +117,7 @@ public class UnsignedValue extends Value<UnsignedLong> {
         return new InformationElement() {
             @Override
             public Value<?> parse(final Session.Resolver resolver, final ByteBuf buffer) {
-                return new UnsignedValue(name, semantics, uint(buffer, buffer.readableBytes()));
+                return new UnsignedValue(name, semantics, bits(buffer, buffer.readableBytes()));
             }
 
             @Override
@@ -135,7 +141,7 @@ public class UnsignedValue extends Value<UnsignedLong> {
         return new InformationElement() {
             @Override
             public Value<?> parse(final Session.Resolver resolver, final ByteBuf buffer) {
-                return new UnsignedValue(name, semantics, uint(buffer, buffer.readableBytes()));
+                return new UnsignedValue(name, semantics, bits(buffer, buffer.readableBytes()));
             }
 
             @Override
@@ -159,7 +165,7 @@ public class UnsignedValue extends Value<UnsignedLong> {
         return new InformationElement() {
             @Override
             public Value<?> parse(final Session.Resolver resolver, final ByteBuf buffer) {
-                return new UnsignedValue(name, semantics, uint(buffer, buffer.readableBytes()));
+                return new UnsignedValue(name, semantics, bits(buffer, buffer.readableBytes()));
             }
 
             @Override
@@ -181,9 +187,27 @@ public class UnsignedValue extends Value<UnsignedLong> {
 
     @Override
     public UnsignedLong getValue() {
+        return UnsignedLong.fromLongBits(this.value);
+    }
+
+    /**
+     * Returns the value as a long, which is negative for values greater than {@link Long#MAX_VALUE}, without
+     * allocating an {@link UnsignedLong}.
+     */
+    public long longValue() {
         return this.value;
     }
 
+    private static long bits(final ByteBuf buffer, final int octets) {
+        Preconditions.checkArgument(0 <= octets && octets <= 8);
+
+        long result = 0;
+        for (int i = 0; i < octets; i++) {
+            result = (result << 8L) | (buffer.readUnsignedByte() & 0xFFL);
+        }
+        return result;
+    }
+
     @Override
     public void visit(final Visitor visitor) {
         visitor.accept(this);
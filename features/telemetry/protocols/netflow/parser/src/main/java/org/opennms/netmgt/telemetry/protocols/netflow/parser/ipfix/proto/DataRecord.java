@@ -25,8 +25,6 @@ import static org.opennms.netmgt.telemetry.listeners.utils.BufferUtils.slice;
 import static org.opennms.netmgt.telemetry.listeners.utils.BufferUtils.uint16;
 import static org.opennms.netmgt.telemetry.listeners.utils.BufferUtils.uint8;
 
-import java.util.ArrayList;
-import java.util.Collections;
 import java.util.List;
 import java.util.Objects;
 
@@ -34,6 +32,8 @@ import org.opennms.netmgt.telemetry.protocols.netflow.parser.InvalidPacketExcept
 import org.opennms.netmgt.telemetry.protocols.netflow.parser.MissingTemplateException;
 import org.opennms.netmgt.telemetry.protocols.netflow.parser.ie.Value;
 import org.opennms.netmgt.telemetry.protocols.netflow.parser.session.Field;
+import org.opennms.netmgt.telemetry.protocols.netflow.parser.session.FieldValues;
+import org.opennms.netmgt.telemetry.protocols.netflow.parser.session.RecordDecoder;
 import org.opennms.netmgt.telemetry.protocols.netflow.parser.session.Session;
 import org.opennms.netmgt.telemetry.protocols.netflow.parser.session.Template;
 
@@ -73,15 +73,15 @@ public final class DataRecord implements Record {
      +-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+
     */
 
-    public static final int VARIABLE_SIZED = 0xFFFF;
-    public static final int VARIABLE_SIZED_EXTENDED = 0xFF;
+    public static final int VARIABLE_SIZED = Template.VARIABLE_SIZED;
+    public static final int VARIABLE_SIZED_EXTENDED = RecordDecoder.VARIABLE_SIZED_EXTENDED;
 
     public final DataSet set;  // Enclosing set
 
     public final Template template;
 
-    public final List<Value<?>> scopes;
-    public final List<Value<?>> fields;
+    public final FieldValues scopes;
+    public final FieldValues fields;
     public final List<Value<?>> options;
 
     public DataRecord(final DataSet set,
@@ -92,18 +92,10 @@ public final class DataRecord implements Record {
 
         this.template = Objects.requireNonNull(template);
 
-        final List<Value<?>> scopes = new ArrayList<>(this.template.scopes.size());
-        for (final Field scope : this.template.scopes) {
-            scopes.add(parseField(scope, resolver, buffer));
-        }
-
-        final List<Value<?>> fields = new ArrayList<>(this.template.fields.size());
-        for (final Field field : this.template.fields) {
-            fields.add(parseField(field, resolver, buffer));
-        }
-
-        this.scopes = Collections.unmodifiableList(scopes);
-        this.fields = Collections.unmodifiableList(fields);
+        // The values are decoded on first access
+        final FieldValues values = this.template.decoder.decode(resolver, buffer);
+        this.scopes = values.scopes();
+        this.fields = values.fields();
 
         // Expand the data record by appending values from
         // TODO fooker: extend fields with packet metadata
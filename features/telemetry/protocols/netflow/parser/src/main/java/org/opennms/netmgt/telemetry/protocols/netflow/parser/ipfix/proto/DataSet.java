@@ -21,9 +21,9 @@
  */
 package org.opennms.netmgt.telemetry.protocols.netflow.parser.ipfix.proto;
 
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Iterator;
-import java.util.LinkedList;
 import java.util.List;
 import java.util.Objects;
 
@@ -35,6 +35,7 @@ import org.opennms.netmgt.telemetry.protocols.netflow.parser.session.Session;
 import com.google.common.base.MoreObjects;
 
 import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
 
 public class DataSet extends FlowSet<DataRecord> {
     private final Session.Resolver resolver;
@@ -52,13 +53,13 @@ public class DataSet extends FlowSet<DataRecord> {
         this.resolver = Objects.requireNonNull(resolver);
         this.template = this.resolver.lookupTemplate(this.header.setId);
 
-        // For variable length fields we assume at least the length value (1 byte) to be present
-        final int minimumRecordLength = this.template.stream()
-                .mapToInt(f -> f.length() != DataRecord.VARIABLE_SIZED ? f.length() : 1).sum();
+        // The values of the records are decoded lazily, after the buffer of the packet has been released
+        final ByteBuf data = Unpooled.copiedBuffer(buffer);
 
-        final List<DataRecord> records = new LinkedList();
-        while (buffer.isReadable(minimumRecordLength)) {
-            records.add(new DataRecord(this, this.resolver, this.template, buffer));
+        final int recordLength = this.template.decoder.getRecordLength();
+        final List<DataRecord> records = new ArrayList<>(recordLength > 0 ? data.readableBytes() / recordLength : 10);
+        while (data.isReadable(this.template.minimumRecordLength)) {
+            records.add(new DataRecord(this, this.resolver, this.template, data));
         }
 
         if (records.size() == 0) {
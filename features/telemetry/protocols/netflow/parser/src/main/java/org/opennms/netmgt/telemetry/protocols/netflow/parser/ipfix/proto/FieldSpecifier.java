@@ -96,6 +96,11 @@ public final class FieldSpecifier implements Field, Scope {
         return this.informationElement.parse(resolver, buffer);
     }
 
+    @Override
+    public boolean isLazy() {
+        return this.informationElement.isLazy();
+    }
+
     @Override
     public int length() {
         return this.fieldLength;
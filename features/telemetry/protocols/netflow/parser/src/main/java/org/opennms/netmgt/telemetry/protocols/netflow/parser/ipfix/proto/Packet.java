@@ -28,6 +28,7 @@ import java.util.Iterator;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Objects;
+import java.util.function.Predicate;
 import java.util.stream.Stream;
 
 import org.opennms.netmgt.telemetry.protocols.netflow.parser.InvalidPacketException;
@@ -182,21 +183,25 @@ public final class Packet implements Iterable<FlowSet<?>>, RecordProvider {
 
     @Override
     public Stream<Iterable<Value<?>>> getRecords() {
+        return getRecords(name -> true);
+    }
+
+    @Override
+    public Stream<Iterable<Value<?>>> getRecords(final Predicate<String> names) {
         final int recordCount = this.dataSets.stream()
                 .mapToInt(s -> s.records.size())
                 .sum();
 
+        // The packet level values are the same for all records - values are immutable, so share them
+        final List<Value<?>> packetValues = ImmutableList.of(
+                new UnsignedValue("@recordCount", recordCount),
+                new UnsignedValue("@sequenceNumber", this.header.sequenceNumber),
+                new UnsignedValue("@exportTime", this.header.exportTime),
+                new UnsignedValue("@observationDomainId", this.header.observationDomainId));
+
         return this.dataSets.stream()
                 .flatMap(s -> s.records.stream())
-                .map(r -> Iterables.concat(
-                        ImmutableList.of(
-                                new UnsignedValue("@recordCount", recordCount),
-                                new UnsignedValue("@sequenceNumber", this.header.sequenceNumber),
-                                new UnsignedValue("@exportTime", this.header.exportTime),
-                                new UnsignedValue("@observationDomainId", this.header.observationDomainId)),
-                        r.fields,
-                        r.options
-                ));
+                .map(r -> Iterables.concat(packetValues, r.fields.select(names), r.options));
     }
 
     @Override
@@ -21,9 +21,9 @@
  */
 package org.opennms.netmgt.telemetry.protocols.netflow.parser.netflow9.proto;
 
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Iterator;
-import java.util.LinkedList;
 import java.util.List;
 import java.util.Objects;
 
@@ -35,6 +35,7 @@ import org.opennms.netmgt.telemetry.protocols.netflow.parser.session.Session;
 import com.google.common.base.MoreObjects;
 
 import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
 
 public final class DataSet extends FlowSet<DataRecord> {
     private final Session.Resolver resolver;
@@ -52,12 +53,13 @@ public final class DataSet extends FlowSet<DataRecord> {
         this.resolver = Objects.requireNonNull(resolver);
         this.template = this.resolver.lookupTemplate(this.header.setId);
 
-        final int minimumRecordLength = template.stream()
-                .mapToInt(f -> f.length()).sum();
+        // The values of the records are decoded lazily, after the buffer of the packet has been released
+        final ByteBuf data = Unpooled.copiedBuffer(buffer);
 
-        final List<DataRecord> records = new LinkedList();
-        while (buffer.isReadable(minimumRecordLength)) {
-            records.add(new DataRecord(this, resolver, template, buffer));
+        final int recordLength = this.template.decoder.getRecordLength();
+        final List<DataRecord> records = new ArrayList<>(recordLength > 0 ? data.readableBytes() / recordLength : 10);
+        while (data.isReadable(this.template.minimumRecordLength)) {
+            records.add(new DataRecord(this, resolver, template, data));
         }
 
         if (records.size() == 0) {
@@ -83,11 +83,21 @@ public final class FieldSpecifier implements Field {
         return this.informationElement.parse(resolver, buffer);
     }
 
+    @Override
+    public boolean isLazy() {
+        return this.informationElement.isLazy();
+    }
+
     @Override
     public int length() {
         return this.fieldLength;
     }
 
+    @Override
+    public String getName() {
+        return this.informationElement.getName();
+    }
+
     @Override
     public String toString() {
         return MoreObjects.toStringHelper(this)
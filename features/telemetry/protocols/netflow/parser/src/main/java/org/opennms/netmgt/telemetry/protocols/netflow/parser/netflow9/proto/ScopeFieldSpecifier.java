@@ -84,6 +84,11 @@ public final class ScopeFieldSpecifier implements Field, Scope {
         return this.field.parse(resolver, buffer);
     }
 
+    @Override
+    public boolean isLazy() {
+        return this.field.isLazy();
+    }
+
     @Override
     public int length() {
         return this.fieldLength;
@@ -30,6 +30,15 @@ import io.netty.buffer.ByteBuf;
 public interface Field {
     int length();
 
+    String getName();
+
+    /**
+     * Whether the value of this field can be decoded lazily, after the record has been parsed.
+     */
+    default boolean isLazy() {
+        return true;
+    }
+
     Value<?> parse(final Session.Resolver resolver,
                    final ByteBuf buffer) throws InvalidPacketException, MissingTemplateException;
 }
@@ -0,0 +1,207 @@
+/*
+ * Licensed to The OpenNMS Group, Inc (TOG) under one or more
+ * contributor license agreements.  See the LICENSE.md file
+ * distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * TOG licenses this file to You under the GNU Affero General
+ * Public License Version 3 (the "License") or (at your option)
+ * any later version.  You may not use this file except in
+ * compliance with the License.  You may obtain a copy of the
+ * License at:
+ *
+ *      https://www.gnu.org/licenses/agpl-3.0.txt
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied.  See the License for the specific
+ * language governing permissions and limitations under the
+ * License.
+ */
+package org.opennms.netmgt.telemetry.protocols.netflow.parser.session;
+
+import java.util.AbstractList;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.function.Predicate;
+
+import org.opennms.netmgt.telemetry.protocols.netflow.parser.InvalidPacketException;
+import org.opennms.netmgt.telemetry.protocols.netflow.parser.MissingTemplateException;
+import org.opennms.netmgt.telemetry.protocols.netflow.parser.ie.Value;
+
+import com.google.common.base.Preconditions;
+
+import io.netty.buffer.ByteBuf;
+
+/**
+ * The values of a record decoded by a {@link RecordDecoder}.
+ *
+ * Each value is decoded from the buffer of the record when it is accessed for the first time, and kept from then on.
+ * The names of the values are known without decoding them, so {@link #select(Predicate)} only decodes the values a
+ * consumer asks for.
+ *
+ * Instances are not thread-safe. A record is decoded by one thread at a time, i.e. the thread parsing the packet and
+ * later the one building its message.
+ */
+public final class FieldValues extends AbstractList<Value<?>> {
+    private final RecordDecoder decoder;
+    private final Session.Resolver resolver;
+
+    private final ByteBuf buffer;
+    private final int base;
+    private final int[] offsets;
+    private final int[] lengths;
+
+    private final Value<?>[] values;
+
+    // The range of the fields of the record covered by this list
+    private final int from;
+    private final int to;
+
+    FieldValues(final RecordDecoder decoder,
+                final Session.Resolver resolver,
+                final ByteBuf buffer,
+                final int base,
+                final int[] offsets,
+                final int[] lengths) {
+        this.decoder = decoder;
+        this.resolver = resolver;
+        this.buffer = buffer;
+        this.base = base;
+        this.offsets = offsets;
+        this.lengths = lengths;
+        this.values = new Value<?>[decoder.fields.length];
+        this.from = 0;
+        this.to = decoder.fields.length;
+    }
+
+    private FieldValues(final FieldValues parent, final int from, final int to) {
+        this.decoder = parent.decoder;
+        this.resolver = parent.resolver;
+        this.buffer = parent.buffer;
+        this.base = parent.base;
+        this.offsets = parent.offsets;
+        this.lengths = parent.lengths;
+        this.values = parent.values;
+        this.from = from;
+        this.to = to;
+    }
+
+    /**
+     * Returns the values of the scopes of the record.
+     */
+    public FieldValues scopes() {
+        return new FieldValues(this, this.from, this.from + this.decoder.scopeCount);
+    }
+
+    /**
+     * Returns the values of the (non-scope) fields of the record.
+     */
+    public FieldValues fields() {
+        return new FieldValues(this, this.from + this.decoder.scopeCount, this.to);
+    }
+
+    /**
+     * Returns the name of the value at the given index without decoding it.
+     */
+    public String getName(final int index) {
+        Preconditions.checkElementIndex(index, this.size());
+        return this.decoder.names[this.from + index];
+    }
+
+    @Override
+    public Value<?> get(final int index) {
+        Preconditions.checkElementIndex(index, this.size());
+
+        final int i = this.from + index;
+        if (this.values[i] == null) {
+            try {
+                this.decode(i);
+            } catch (final InvalidPacketException | MissingTemplateException e) {
+                // Only elements which can not fail on a field of valid length are decoded lazily
+                throw new IllegalStateException("Failed to decode field: " + this.decoder.names[i], e);
+            }
+        }
+        return this.values[i];
+    }
+
+    @Override
+    public int size() {
+        return this.to - this.from;
+    }
+
+    /**
+     * Returns a view on the values whose names match the given predicate. Other values are skipped without being
+     * decoded.
+     */
+    public Iterable<Value<?>> select(final Predicate<String> names) {
+        return () -> new Iterator<Value<?>>() {
+            private int next = advance(0);
+
+            private int advance(int index) {
+                while (index < FieldValues.this.size() && !names.test(FieldValues.this.getName(index))) {
+                    index++;
+                }
+                return index;
+            }
+
+            @Override
+            public boolean hasNext() {
+                return this.next < FieldValues.this.size();
+            }
+
+            @Override
+            public Value<?> next() {
+                if (!this.hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                final Value<?> value = FieldValues.this.get(this.next);
+                this.next = advance(this.next + 1);
+                return value;
+            }
+        };
+    }
+
+    void decode(final int i) throws InvalidPacketException, MissingTemplateException {
+        this.values[i] = this.decoder.fields[i].parse(this.resolver, this.buffer.slice(this.base + this.offsets[i], this.lengths[i]));
+    }
+
+    /**
+     * Returns the name of the value at the given index of a list of values, without decoding it if possible.
+     */
+    public static String nameOf(final List<Value<?>> values, final int index) {
+        if (values instanceof FieldValues) {
+            return ((FieldValues) values).getName(index);
+        }
+        return values.get(index).getName();
+    }
+
+    /**
+     * Returns the names of all values of a list of values, without decoding them if possible.
+     */
+    public static Set<String> namesOf(final List<Value<?>> values) {
+        final Set<String> names = new HashSet<>(values.size());
+        for (int i = 0; i < values.size(); i++) {
+            names.add(nameOf(values, i));
+        }
+        return names;
+    }
+
+    /**
+     * Returns the values of a list of values whose names are contained in the given set. Other values are not decoded
+     * if possible.
+     */
+    public static Set<Value<?>> valuesOf(final List<Value<?>> values, final Set<String> names) {
+        final Set<Value<?>> selected = new HashSet<>();
+        for (int i = 0; i < values.size(); i++) {
+            if (names.contains(nameOf(values, i))) {
+                selected.add(values.get(i));
+            }
+        }
+        return selected;
+    }
+}
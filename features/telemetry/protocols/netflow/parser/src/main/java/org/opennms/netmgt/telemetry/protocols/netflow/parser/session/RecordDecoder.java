@@ -0,0 +1,153 @@
+/*
+ * Licensed to The OpenNMS Group, Inc (TOG) under one or more
+ * contributor license agreements.  See the LICENSE.md file
+ * distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * TOG licenses this file to You under the GNU Affero General
+ * Public License Version 3 (the "License") or (at your option)
+ * any later version.  You may not use this file except in
+ * compliance with the License.  You may obtain a copy of the
+ * License at:
+ *
+ *      https://www.gnu.org/licenses/agpl-3.0.txt
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied.  See the License for the specific
+ * language governing permissions and limitations under the
+ * License.
+ */
+package org.opennms.netmgt.telemetry.protocols.netflow.parser.session;
+
+import static org.opennms.netmgt.telemetry.listeners.utils.BufferUtils.uint16;
+import static org.opennms.netmgt.telemetry.listeners.utils.BufferUtils.uint8;
+
+import java.nio.BufferUnderflowException;
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.Stream;
+
+import org.opennms.netmgt.telemetry.protocols.netflow.parser.InvalidPacketException;
+import org.opennms.netmgt.telemetry.protocols.netflow.parser.MissingTemplateException;
+
+import io.netty.buffer.ByteBuf;
+
+/**
+ * The decoder for the records of a template, compiled once when the template is built.
+ *
+ * If all fields of the template have a fixed size, the offsets of the fields are computed here and a record is
+ * located in the buffer without reading any of it. Otherwise only the length prefixes of the variable sized fields
+ * are read per record. In both cases the values are not decoded until they are accessed, see {@link FieldValues}.
+ *
+ * Fields that cannot be decoded lazily, see {@link Field#isLazy()}, and all fields of options templates are decoded
+ * with the record.
+ */
+public final class RecordDecoder {
+
+    /**
+     * The length announcing that the length of a variable sized field is encoded in the following two bytes.
+     */
+    public static final int VARIABLE_SIZED_EXTENDED = 0xFF;
+
+    final Field[] fields;
+    final String[] names;
+    final int scopeCount;
+
+    private final boolean[] lazy;
+
+    // The layout of the record if all fields have a fixed size, null otherwise
+    private final int[] offsets;
+    private final int[] lengths;
+    private final int recordLength;
+
+    RecordDecoder(final Template.Type type,
+                  final List<? extends Field> scopes,
+                  final List<? extends Field> fields) {
+        this.fields = Stream.concat(scopes.stream(), fields.stream()).toArray(Field[]::new);
+        this.scopeCount = scopes.size();
+
+        this.names = new String[this.fields.length];
+        this.lazy = new boolean[this.fields.length];
+
+        final int[] offsets = new int[this.fields.length];
+        final int[] lengths = new int[this.fields.length];
+        int offset = 0;
+        boolean fixed = true;
+        for (int i = 0; i < this.fields.length; i++) {
+            final Field field = this.fields[i];
+            this.names[i] = field.getName();
+            this.lazy[i] = type != Template.Type.OPTIONS_TEMPLATE && field.isLazy();
+
+            if (field.length() == Template.VARIABLE_SIZED) {
+                fixed = false;
+            }
+            offsets[i] = offset;
+            lengths[i] = field.length();
+            offset += field.length();
+        }
+
+        this.offsets = fixed ? offsets : null;
+        this.lengths = fixed ? lengths : null;
+        this.recordLength = fixed ? offset : -1;
+    }
+
+    /**
+     * Returns the number of bytes of each record, or -1 if the template has variable sized fields.
+     */
+    public int getRecordLength() {
+        return this.recordLength;
+    }
+
+    /**
+     * Decodes the record at the reader index of the buffer, and advances the reader index to the end of the record.
+     *
+     * The returned values keep referring to the buffer, which must not be released or modified afterwards.
+     */
+    public FieldValues decode(final Session.Resolver resolver,
+                              final ByteBuf buffer) throws InvalidPacketException, MissingTemplateException {
+        Objects.requireNonNull(resolver);
+
+        final int base = buffer.readerIndex();
+
+        final FieldValues values;
+        if (this.recordLength >= 0) {
+            skip(buffer, this.recordLength);
+            values = new FieldValues(this, resolver, buffer, base, this.offsets, this.lengths);
+
+        } else {
+            final int[] offsets = new int[this.fields.length];
+            final int[] lengths = new int[this.fields.length];
+            for (int i = 0; i < this.fields.length; i++) {
+                int length = this.fields[i].length();
+                if (length == Template.VARIABLE_SIZED) {
+                    length = uint8(buffer);
+                    if (length == VARIABLE_SIZED_EXTENDED) {
+                        length = uint16(buffer);
+                    }
+                }
+
+                offsets[i] = buffer.readerIndex() - base;
+                lengths[i] = length;
+                skip(buffer, length);
+            }
+            values = new FieldValues(this, resolver, buffer, base, offsets, lengths);
+        }
+
+        for (int i = 0; i < this.fields.length; i++) {
+            if (!this.lazy[i]) {
+                values.decode(i);
+            }
+        }
+
+        return values;
+    }
+
+    private static void skip(final ByteBuf buffer, final int size) {
+        if (size > buffer.readableBytes()) {
+            throw new BufferUnderflowException();
+        }
+        buffer.skipBytes(size);
+    }
+}
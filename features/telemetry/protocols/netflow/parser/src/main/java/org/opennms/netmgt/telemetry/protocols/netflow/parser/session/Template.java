@@ -21,8 +21,8 @@
  */
 package org.opennms.netmgt.telemetry.protocols.netflow.parser.session;
 
+import java.util.ArrayList;
 import java.util.Iterator;
-import java.util.LinkedList;
 import java.util.List;
 import java.util.Objects;
 import java.util.Set;
@@ -34,6 +34,12 @@ import com.google.common.base.Preconditions;
 
 public final class Template implements Iterable<Field> {
 
+    /**
+     * The field length announcing a variable sized field in IPFIX. The length of the field is encoded in front of
+     * each value.
+     */
+    public static final int VARIABLE_SIZED = 0xFFFF;
+
     public enum Type {
         TEMPLATE,
         OPTIONS_TEMPLATE,
@@ -46,6 +52,17 @@ public final class Template implements Iterable<Field> {
     public final List<Field> fields;
     public final Set<String> scopeNames;
 
+    /**
+     * The minimum number of bytes a record of this template occupies. Variable sized fields are accounted for with the
+     * single byte encoding their length.
+     */
+    public final int minimumRecordLength;
+
+    /**
+     * The decoder for the records of this template.
+     */
+    public final RecordDecoder decoder;
+
     private Template(final int id,
                      final Type type,
                      final List<Scope> scopes,
@@ -57,6 +74,11 @@ public final class Template implements Iterable<Field> {
         // The set of scope names are used when processing packets - so we build it here once
         // instead of having to re-compute this everytime
         this.scopeNames = scopes.stream().map(Scope::getName).collect(Collectors.toSet());
+        // Same for the record length which is checked for every record of a data set
+        this.minimumRecordLength = Stream.concat(scopes.stream(), fields.stream())
+                .mapToInt(f -> f.length() != VARIABLE_SIZED ? f.length() : 1)
+                .sum();
+        this.decoder = new RecordDecoder(type, scopes, fields);
     }
 
     public int count() {
@@ -76,8 +98,8 @@ public final class Template implements Iterable<Field> {
         private final int id;
         private final Type type;
 
-        private List<Scope> scopes = new LinkedList();
-        private List<Field> fields = new LinkedList();
+        private List<Scope> scopes = new ArrayList<>();
+        private List<Field> fields = new ArrayList<>();
 
         private Builder(final int id,
                         final Type type) {
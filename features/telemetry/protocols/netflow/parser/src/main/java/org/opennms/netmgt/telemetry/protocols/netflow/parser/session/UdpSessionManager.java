@@ -26,6 +26,7 @@ import java.time.Duration;
 import java.time.Instant;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashSet;
 import java.util.LinkedHashMap;
 import java.util.List;
@@ -44,12 +45,15 @@ import org.opennms.netmgt.telemetry.protocols.netflow.parser.state.OptionState;
 import org.opennms.netmgt.telemetry.protocols.netflow.parser.state.ParserState;
 import org.opennms.netmgt.telemetry.protocols.netflow.parser.state.TemplateState;
 
-import com.google.common.collect.Iterables;
 import com.google.common.collect.Maps;
 
 public class UdpSessionManager {
     final ConcurrentMap<TemplateKey, TimeWrapper<TemplateOptions>> templates = Maps.newConcurrentMap();
     private final Map<DomainKey, SequenceNumberTracker> sequenceNumbers = Maps.newConcurrentMap();
+
+    // Option templates by observation domain, derived from the templates on demand and dropped whenever the templates of
+    // the domain change. This spares each data record from scanning the templates of all exporters for options.
+    private final ConcurrentMap<DomainKey, List<TemplateOptions>> optionTemplates = Maps.newConcurrentMap();
     private final Duration timeout;
     private final Supplier<SequenceNumberTracker> sequenceNumberTracker;
 
@@ -64,7 +68,17 @@ public class UdpSessionManager {
     }
 
     private void removeTemplateIf(final Predicate<Map.Entry<TemplateKey, TimeWrapper<TemplateOptions>>> predicate) {
-        UdpSessionManager.this.templates.entrySet().removeIf(predicate);
+        if (UdpSessionManager.this.templates.entrySet().removeIf(predicate)) {
+            UdpSessionManager.this.optionTemplates.clear();
+        }
+    }
+
+    private List<TemplateOptions> optionTemplates(final DomainKey domainKey) {
+        return this.optionTemplates.computeIfAbsent(domainKey, k -> this.templates.entrySet().stream()
+                .filter(e -> Objects.equals(e.getKey().observationDomainId, k))
+                .map(e -> e.getValue().wrapped)
+                .filter(t -> t.template.type == Template.Type.OPTIONS_TEMPLATE)
+                .collect(Collectors.toList()));
     }
 
     public Session getSession(final SessionKey sessionKey) {
@@ -219,12 +233,14 @@ public class UdpSessionManager {
                 }
                 return new TimeWrapper<>(newTemplateOptions);
             });
+            UdpSessionManager.this.optionTemplates.remove(key.observationDomainId);
         }
 
         @Override
         public void removeTemplate(final long observationDomainId, final int templateId) {
             final TemplateKey key = new TemplateKey(this.sessionKey, observationDomainId, templateId);
             UdpSessionManager.this.templates.remove(key);
+            UdpSessionManager.this.optionTemplates.remove(key.observationDomainId);
         }
 
         @Override
@@ -282,23 +298,25 @@ public class UdpSessionManager {
 
             @Override
             public List<Value<?>> lookupOptions(final List<Value<?>> values) {
-                final LinkedHashMap<String, Value<?>> options = new LinkedHashMap<>();
+                final List<TemplateOptions> optionTemplates = UdpSessionManager.this.optionTemplates(new DomainKey(UdpSession.this.sessionKey, this.observationDomainId));
+                if (optionTemplates.isEmpty()) {
+                    // Most exporters do not send any options
+                    return Collections.emptyList();
+                }
 
-                final Set<String> scoped = values.stream().map(Value::getName).collect(Collectors.toSet());
+                final LinkedHashMap<String, Value<?>> options = new LinkedHashMap<>();
 
-                for (final var e : Iterables.filter(UdpSessionManager.this.templates.entrySet(),
-                        e -> Objects.equals(e.getKey().observationDomainId.sessionKey, UdpSession.this.sessionKey) &&
-                                Objects.equals(e.getKey().observationDomainId.observationDomainId, this.observationDomainId))) {
+                // Only the names of the values are required to match the scopes, and only the scoped values are decoded
+                final Set<String> scoped = FieldValues.namesOf(values);
 
-                    final Template template = e.getValue().wrapped.template;
+                for (final TemplateOptions templateOptions : optionTemplates) {
+                    final Template template = templateOptions.template;
 
-                    if (scoped.containsAll(template.scopeNames)) {
+                    if (!templateOptions.options.isEmpty() && scoped.containsAll(template.scopeNames)) {
                         // Found option template where scoped fields is subset of actual data fields
-                        final Set<Value<?>> scopeValues = values.stream()
-                                .filter(s -> template.scopeNames.contains(s.getName()))
-                                .collect(Collectors.toSet());
+                        final Set<Value<?>> scopeValues = FieldValues.valuesOf(values, template.scopeNames);
 
-                        final TimeWrapper<List<Value<?>>> optionValues = e.getValue().wrapped.options.get(scopeValues);
+                        final TimeWrapper<List<Value<?>>> optionValues = templateOptions.options.get(scopeValues);
                         if (optionValues != null) {
                             for (final Value<?> value : optionValues.wrapped) {
                                 options.put(value.getName(), value);
@@ -34,6 +34,7 @@ import static org.opennms.netmgt.telemetry.protocols.netflow.parser.transport.Me
 import java.net.InetAddress;
 import java.time.Instant;
 import java.util.Optional;
+import java.util.Set;
 
 import org.opennms.netmgt.telemetry.protocols.netflow.parser.RecordEnrichment;
 import org.opennms.netmgt.telemetry.protocols.netflow.parser.ie.Value;
@@ -42,11 +43,36 @@ import org.opennms.netmgt.telemetry.protocols.netflow.transport.FlowMessage;
 import org.opennms.netmgt.telemetry.protocols.netflow.transport.NetflowVersion;
 import org.opennms.netmgt.telemetry.protocols.netflow.transport.SamplingAlgorithm;
 
+import com.google.common.collect.ImmutableSet;
 import com.google.common.primitives.UnsignedLong;
 import com.google.protobuf.UInt32Value;
 
 public class IpFixMessageBuilder implements MessageBuilder {
 
+    /**
+     * The names of the values read by {@link #buildMessage(Iterable, RecordEnrichment)}, which must be kept in sync
+     * with it.
+     */
+    private static final Set<String> FIELDS = ImmutableSet.of(
+            "@exportTime", "octetDeltaCount", "postOctetDeltaCount", "layer2OctetDeltaCount",
+            "postLayer2OctetDeltaCount", "transportOctetDeltaCount", "flowDirection", "destinationIPv6Address",
+            "destinationIPv4Address", "bgpDestinationAsNumber", "destinationIPv6PrefixLength",
+            "destinationIPv4PrefixLength", "destinationTransportPort", "engineId", "engineType", "@recordCount",
+            "@sequenceNumber", "ingressInterface", "ipVersion", "egressInterface", "protocolIdentifier",
+            "tcpControlBits", "ipClassOfService", "@observationDomainId", "flowStartSeconds", "flowStartMilliseconds",
+            "flowStartMicroseconds", "flowStartNanoseconds", "flowStartDeltaMicroseconds", "flowStartSysUpTime",
+            "systemInitTimeMilliseconds", "flowEndSeconds", "flowEndMilliseconds", "flowEndMicroseconds",
+            "flowEndNanoseconds", "flowEndDeltaMicroseconds", "flowEndSysUpTime", "ipNextHopIPv6Address",
+            "ipNextHopIPv4Address", "bgpNextHopIPv6Address", "bgpNextHopIPv4Address", "packetDeltaCount",
+            "postPacketDeltaCount", "transportPacketDeltaCount", "samplingAlgorithm", "samplerMode",
+            "selectorAlgorithm", "samplingInterval", "samplerRandomInterval", "samplingFlowInterval",
+            "samplingFlowSpacing", "flowSamplingTimeInterval", "flowSamplingTimeSpacing", "samplingSize",
+            "samplingPopulation", "samplingProbability", "hashSelectedRangeMin", "hashSelectedRangeMax",
+            "hashOutputRangeMin", "hashOutputRangeMax", "sourceIPv6Address", "sourceIPv4Address",
+            "sourceIPv6PrefixLength", "sourceIPv4PrefixLength", "sourceTransportPort", "vlanId", "postVlanId",
+            "dot1qVlanId", "dot1qCustomerVlanId", "postDot1qVlanId", "postDot1qCustomerVlanId", "flowActiveTimeout",
+            "flowInactiveTimeout", "ingressPhysicalInterface", "egressPhysicalInterface");
+
     private Long flowActiveTimeoutFallback;
     private Long flowInactiveTimeoutFallback;
     private Long flowSamplingIntervalFallback;
@@ -54,6 +80,11 @@ public class IpFixMessageBuilder implements MessageBuilder {
     public IpFixMessageBuilder() {
     }
 
+    @Override
+    public boolean consumes(final String name) {
+        return FIELDS.contains(name);
+    }
+
     @Override
     public FlowMessage.Builder buildMessage(final Iterable<Value<?>> values, final RecordEnrichment enrichment) {
         final FlowMessage.Builder builder = FlowMessage.newBuilder();
@@ -27,4 +27,12 @@ import org.opennms.netmgt.telemetry.protocols.netflow.transport.FlowMessage;
 
 public interface MessageBuilder {
     FlowMessage.Builder buildMessage(final Iterable<Value<?>> values, final RecordEnrichment enrichment);
+
+    /**
+     * Whether the builder reads the values with the given name. Values it does not read are not decoded, and are
+     * neither enriched nor passed to {@link #buildMessage(Iterable, RecordEnrichment)}.
+     */
+    default boolean consumes(final String name) {
+        return true;
+    }
 }
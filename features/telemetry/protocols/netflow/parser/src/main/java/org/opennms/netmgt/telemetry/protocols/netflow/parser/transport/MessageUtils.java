@@ -35,7 +35,6 @@ import org.opennms.netmgt.telemetry.protocols.netflow.parser.ie.values.IPv6Addre
 import org.opennms.netmgt.telemetry.protocols.netflow.parser.ie.values.UnsignedValue;
 
 import com.google.common.base.Strings;
-import com.google.common.primitives.UnsignedLong;
 import com.google.protobuf.DoubleValue;
 import com.google.protobuf.UInt32Value;
 import com.google.protobuf.UInt64Value;
@@ -43,8 +42,7 @@ import com.google.protobuf.UInt64Value;
 public interface MessageUtils {
     static Long getLongValue(Value<?> value) {
         if (value instanceof UnsignedValue) {
-            UnsignedLong unsignedValue = ((UnsignedValue) value).getValue();
-            return unsignedValue.longValue();
+            return ((UnsignedValue) value).longValue();
         }
         return null;
     }
@@ -32,6 +32,7 @@ import static org.opennms.netmgt.telemetry.protocols.netflow.parser.transport.Me
 import static org.opennms.netmgt.telemetry.protocols.netflow.parser.transport.MessageUtils.setLongValue;
 
 import java.net.InetAddress;
+import java.util.Set;
 
 import org.opennms.netmgt.telemetry.protocols.netflow.parser.RecordEnrichment;
 import org.opennms.netmgt.telemetry.protocols.netflow.parser.ie.Value;
@@ -40,15 +41,35 @@ import org.opennms.netmgt.telemetry.protocols.netflow.transport.FlowMessage;
 import org.opennms.netmgt.telemetry.protocols.netflow.transport.NetflowVersion;
 import org.opennms.netmgt.telemetry.protocols.netflow.transport.SamplingAlgorithm;
 
+import com.google.common.collect.ImmutableSet;
 import com.google.protobuf.UInt32Value;
 
 @SuppressWarnings("java:S109")
 public class Netflow9MessageBuilder implements MessageBuilder {
 
+    /**
+     * The names of the values read by {@link #buildMessage(Iterable, RecordEnrichment)}, which must be kept in sync
+     * with it.
+     */
+    private static final Set<String> FIELDS = ImmutableSet.of(
+            "@recordCount", "@sequenceNumber", "@sourceId", "@sysUpTime", "@unixSecs", "IN_BYTES", "DIRECTION",
+            "IPV4_DST_ADDR", "IPV6_DST_ADDR", "DST_AS", "IPV6_DST_MASK", "DST_MASK", "L4_DST_PORT", "ENGINE_ID",
+            "ENGINE_TYPE", "FIRST_SWITCHED", "LAST_SWITCHED", "INPUT_SNMP", "IP_PROTOCOL_VERSION", "OUTPUT_SNMP",
+            "IPV6_NEXT_HOP", "IPV4_NEXT_HOP", "BPG_IPV6_NEXT_HOP", "BPG_IPV4_NEXT_HOP", "IN_PKTS", "PROTOCOL",
+            "SAMPLING_ALGORITHM", "SAMPLING_INTERVAL", "IPV6_SRC_ADDR", "IPV4_SRC_ADDR", "IPV6_SRC_MASK", "SRC_MASK",
+            "SRC_AS", "L4_SRC_PORT", "TCP_FLAGS", "TOS", "SRC_VLAN", "DST_VLAN", "FLOW_ACTIVE_TIMEOUT",
+            "FLOW_INACTIVE_TIMEOUT", "flowStartMilliseconds", "flowEndMilliseconds", "ingressPhysicalInterface",
+            "egressPhysicalInterface");
+
     private Long flowActiveTimeoutFallback;
     private Long flowInactiveTimeoutFallback;
     private Long flowSamplingIntervalFallback;
 
+    @Override
+    public boolean consumes(final String name) {
+        return FIELDS.contains(name);
+    }
+
     @Override
     public FlowMessage.Builder buildMessage(final Iterable<Value<?>> values, final RecordEnrichment enrichment) {
         final FlowMessage.Builder builder = FlowMessage.newBuilder();
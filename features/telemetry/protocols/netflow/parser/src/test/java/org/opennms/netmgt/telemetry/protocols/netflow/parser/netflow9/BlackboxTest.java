@@ -31,17 +31,23 @@ import java.nio.ByteBuffer;
 import java.nio.channels.FileChannel;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Optional;
 
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.junit.runners.Parameterized;
+import org.opennms.netmgt.telemetry.protocols.netflow.parser.RecordEnrichment;
+import org.opennms.netmgt.telemetry.protocols.netflow.parser.ie.Value;
 import org.opennms.netmgt.telemetry.protocols.netflow.parser.netflow9.proto.Header;
 import org.opennms.netmgt.telemetry.protocols.netflow.parser.netflow9.proto.Packet;
 import org.opennms.netmgt.telemetry.protocols.netflow.parser.session.SequenceNumberTracker;
 import org.opennms.netmgt.telemetry.protocols.netflow.parser.session.TcpSession;
 import org.opennms.netmgt.telemetry.protocols.netflow.parser.session.Session;
+import org.opennms.netmgt.telemetry.protocols.netflow.parser.transport.Netflow9MessageBuilder;
+import org.opennms.netmgt.telemetry.protocols.netflow.transport.FlowMessage;
 
 import io.netty.buffer.ByteBuf;
 import io.netty.buffer.Unpooled;
@@ -101,9 +107,30 @@ public class BlackboxTest {
                     final Packet packet = new Packet(session, header, buf);
 
                     assertThat(packet.header.versionNumber, is(0x0009));
+                    assertConsumedFields(packet);
 
                 } while (buf.isReadable());
             }
         }
     }
+
+    /**
+     * Verifies that skipping the values not consumed by the message builder does not change the built messages.
+     */
+    private static void assertConsumedFields(final Packet packet) throws Exception {
+        final Netflow9MessageBuilder builder = new Netflow9MessageBuilder();
+        final RecordEnrichment enrichment = address -> Optional.empty();
+
+        final List<FlowMessage> expected = new ArrayList<>();
+        for (final Iterable<Value<?>> record : (Iterable<Iterable<Value<?>>>) packet.getRecords()::iterator) {
+            expected.add(builder.buildMessage(record, enrichment).build());
+        }
+
+        final List<FlowMessage> actual = new ArrayList<>();
+        for (final Iterable<Value<?>> record : (Iterable<Iterable<Value<?>>>) packet.getRecords(builder::consumes)::iterator) {
+            actual.add(builder.buildMessage(record, enrichment).build());
+        }
+
+        assertThat(actual, is(expected));
+    }
 }
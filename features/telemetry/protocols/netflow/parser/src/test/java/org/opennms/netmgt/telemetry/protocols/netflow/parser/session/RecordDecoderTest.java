@@ -0,0 +1,239 @@
+/*
+ * Licensed to The OpenNMS Group, Inc (TOG) under one or more
+ * contributor license agreements.  See the LICENSE.md file
+ * distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * TOG licenses this file to You under the GNU Affero General
+ * Public License Version 3 (the "License") or (at your option)
+ * any later version.  You may not use this file except in
+ * compliance with the License.  You may obtain a copy of the
+ * License at:
+ *
+ *      https://www.gnu.org/licenses/agpl-3.0.txt
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied.  See the License for the specific
+ * language governing permissions and limitations under the
+ * License.
+ */
+package org.opennms.netmgt.telemetry.protocols.netflow.parser.session;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+import java.nio.BufferUnderflowException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.Test;
+import org.opennms.netmgt.telemetry.protocols.netflow.parser.ie.Value;
+import org.opennms.netmgt.telemetry.protocols.netflow.parser.ie.values.OctetArrayValue;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufUtil;
+import io.netty.buffer.Unpooled;
+
+public class RecordDecoderTest {
+
+    private static final Session.Resolver RESOLVER = new Session.Resolver() {
+        @Override
+        public Template lookupTemplate(final int templateId) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public List<Value<?>> lookupOptions(final List<Value<?>> values) {
+            return Collections.emptyList();
+        }
+    };
+
+    @Test
+    public void testFixedLayout() throws Exception {
+        final CountingField a = new CountingField("a", 1, true);
+        final CountingField b = new CountingField("b", 2, true);
+        final CountingField c = new CountingField("c", 4, true);
+        final Template template = template(Template.Type.TEMPLATE, a, b, c);
+
+        assertThat(template.decoder.getRecordLength(), is(7));
+
+        final ByteBuf buffer = Unpooled.wrappedBuffer(new byte[]{
+                0x01, 0x00, 0x02, 0x00, 0x00, 0x00, 0x03,
+                0x04, 0x00, 0x05, 0x00, 0x00, 0x00, 0x06,
+        });
+
+        final FieldValues first = template.decoder.decode(RESOLVER, buffer);
+        assertThat(buffer.readerIndex(), is(7));
+        final FieldValues second = template.decoder.decode(RESOLVER, buffer);
+        assertThat(buffer.isReadable(), is(false));
+
+        assertThat(unsigned(first), is(Arrays.asList(1L, 2L, 3L)));
+        assertThat(unsigned(second), is(Arrays.asList(4L, 5L, 6L)));
+    }
+
+    @Test
+    public void testVariableSizedFields() throws Exception {
+        final CountingField a = new CountingField("a", 1, true);
+        final CountingField b = new CountingField("b", Template.VARIABLE_SIZED, true);
+        final CountingField c = new CountingField("c", Template.VARIABLE_SIZED, true);
+        final Template template = template(Template.Type.TEMPLATE, a, b, c);
+
+        assertThat(template.decoder.getRecordLength(), is(-1));
+
+        final byte[] extended = new byte[300];
+        extended[299] = 0x2a;
+
+        final ByteBuf buffer = Unpooled.buffer();
+        buffer.writeByte(0x07);
+        buffer.writeByte(2).writeShort(0x0102);
+        buffer.writeByte(RecordDecoder.VARIABLE_SIZED_EXTENDED).writeShort(extended.length).writeBytes(extended);
+
+        final FieldValues values = template.decoder.decode(RESOLVER, buffer);
+        assertThat(buffer.isReadable(), is(false));
+
+        assertThat(((OctetArrayValue) values.get(0)).getValue(), is(new byte[]{0x07}));
+        assertThat(((OctetArrayValue) values.get(1)).getValue(), is(new byte[]{0x01, 0x02}));
+        assertThat(((OctetArrayValue) values.get(2)).getValue(), is(extended));
+    }
+
+    @Test(expected = BufferUnderflowException.class)
+    public void testTruncatedRecord() throws Exception {
+        final Template template = template(Template.Type.TEMPLATE,
+                new CountingField("a", 1, true),
+                new CountingField("b", Template.VARIABLE_SIZED, true));
+
+        template.decoder.decode(RESOLVER, Unpooled.wrappedBuffer(new byte[]{0x01, 0x05, 0x00}));
+    }
+
+    @Test
+    public void testValuesAreDecodedOnAccess() throws Exception {
+        final CountingField a = new CountingField("a", 1, true);
+        final CountingField b = new CountingField("b", 1, true);
+        final Template template = template(Template.Type.TEMPLATE, a, b);
+
+        final FieldValues values = template.decoder.decode(RESOLVER, Unpooled.wrappedBuffer(new byte[]{0x01, 0x02}));
+
+        assertThat(a.parsed, is(0));
+        assertThat(b.parsed, is(0));
+        assertThat(values.getName(1), is("b"));
+        assertThat(FieldValues.nameOf(values, 0), is("a"));
+        assertThat(b.parsed, is(0));
+
+        assertThat(values.get(1).getName(), is("b"));
+        assertThat(values.get(1).getName(), is("b"));
+        assertThat(a.parsed, is(0));
+        assertThat(b.parsed, is(1));
+    }
+
+    @Test
+    public void testSelectSkipsUnmatchedValues() throws Exception {
+        final CountingField a = new CountingField("a", 1, true);
+        final CountingField b = new CountingField("b", 1, true);
+        final CountingField c = new CountingField("c", 1, true);
+        final Template template = template(Template.Type.TEMPLATE, a, b, c);
+
+        final FieldValues values = template.decoder.decode(RESOLVER, Unpooled.wrappedBuffer(new byte[]{0x01, 0x02, 0x03}));
+
+        final List<String> names = new ArrayList<>();
+        for (final Value<?> value : values.select(name -> !name.equals("b"))) {
+            names.add(value.getName());
+        }
+
+        assertThat(names, is(Arrays.asList("a", "c")));
+        assertThat(a.parsed, is(1));
+        assertThat(b.parsed, is(0));
+        assertThat(c.parsed, is(1));
+    }
+
+    @Test
+    public void testEagerFields() throws Exception {
+        final CountingField a = new CountingField("a", 1, true);
+        final CountingField b = new CountingField("b", 1, false);
+        final Template template = template(Template.Type.TEMPLATE, a, b);
+
+        final FieldValues values = template.decoder.decode(RESOLVER, Unpooled.wrappedBuffer(new byte[]{0x01, 0x02}));
+
+        assertThat(a.parsed, is(0));
+        assertThat(b.parsed, is(1));
+
+        values.get(1);
+        assertThat(b.parsed, is(1));
+    }
+
+    @Test
+    public void testOptionsTemplateIsDecodedEagerly() throws Exception {
+        final CountingField scope = new CountingField("scope", 1, true);
+        final CountingField field = new CountingField("field", 1, true);
+        final Template template = Template.builder(256, Template.Type.OPTIONS_TEMPLATE)
+                .withScopes(Collections.singletonList(scope))
+                .withFields(Collections.singletonList(field))
+                .build();
+
+        final FieldValues values = template.decoder.decode(RESOLVER, Unpooled.wrappedBuffer(new byte[]{0x01, 0x02}));
+
+        assertThat(scope.parsed, is(1));
+        assertThat(field.parsed, is(1));
+
+        assertThat(values.scopes().size(), is(1));
+        assertThat(values.scopes().get(0).getName(), is("scope"));
+        assertThat(values.fields().size(), is(1));
+        assertThat(values.fields().get(0).getName(), is("field"));
+    }
+
+    private static Template template(final Template.Type type, final Field... fields) {
+        return Template.builder(256, type)
+                .withFields(Arrays.asList(fields))
+                .build();
+    }
+
+    private static List<Long> unsigned(final List<Value<?>> values) {
+        final List<Long> result = new ArrayList<>();
+        for (final Value<?> value : values) {
+            long number = 0;
+            for (final byte b : ((OctetArrayValue) value).getValue()) {
+                number = (number << 8) | (b & 0xFF);
+            }
+            result.add(number);
+        }
+        return result;
+    }
+
+    private static class CountingField implements Scope {
+        private final String name;
+        private final int length;
+        private final boolean lazy;
+
+        private int parsed;
+
+        private CountingField(final String name, final int length, final boolean lazy) {
+            this.name = name;
+            this.length = length;
+            this.lazy = lazy;
+        }
+
+        @Override
+        public String getName() {
+            return this.name;
+        }
+
+        @Override
+        public int length() {
+            return this.length;
+        }
+
+        @Override
+        public boolean isLazy() {
+            return this.lazy;
+        }
+
+        @Override
+        public Value<?> parse(final Session.Resolver resolver, final ByteBuf buffer) {
+            this.parsed++;
+            return new OctetArrayValue(this.name, ByteBufUtil.getBytes(buffer));
+        }
+    }
+}
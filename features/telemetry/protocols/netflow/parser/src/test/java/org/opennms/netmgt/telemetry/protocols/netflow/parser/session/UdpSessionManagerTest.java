@@ -81,6 +81,11 @@ public class UdpSessionManagerTest {
 
     private Field field(String name, String value) {
         return new Field() {
+            @Override
+            public String getName() {
+                return name;
+            }
+
             @Override
             public int length() {
                 return 0;
@@ -219,4 +224,42 @@ public class UdpSessionManagerTest {
         testIpFixSessionKeys(remoteAddress1, localAddress1, remoteAddress4, localAddress1, false);
         testIpFixSessionKeys(remoteAddress1, localAddress1, remoteAddress4, localAddress2, false);
     }
+
+    @Test
+    public void optionsFollowTemplateChanges() {
+        final UdpSessionManager.SessionKey sessionKey = new IpfixUdpParser.SessionKey(remoteAddress1, localAddress1);
+
+        final UdpSessionManager udpSessionManager = new UdpSessionManager(Duration.ofMinutes(30), () -> new SequenceNumberTracker(32));
+        final Session session = udpSessionManager.getSession(sessionKey);
+
+        final List<Value<?>> matchingValues = new ArrayList<>();
+        matchingValues.add(value("scope1", "scopeValue1"));
+
+        // No option template yet
+        Assert.assertEquals(0, session.getResolver(observationId1).lookupOptions(matchingValues).size());
+
+        final List<Scope> scopes = new ArrayList<>();
+        scopes.add(scope("scope1", null));
+
+        final List<Field> fields = new ArrayList<>();
+        fields.add(field("field1", null));
+
+        session.addTemplate(observationId1, Template.builder(templateId1, Template.Type.OPTIONS_TEMPLATE).withFields(fields).withScopes(scopes).build());
+
+        final List<Value<?>> scopesValue = new ArrayList<>();
+        scopesValue.add(value("scope1", "scopeValue1"));
+
+        final List<Value<?>> fieldsValue = new ArrayList<>();
+        fieldsValue.add(value("additionalField1", "additionalValue1"));
+
+        session.addOptions(observationId1, templateId1, scopesValue, fieldsValue);
+
+        // The template added after the first lookup must be considered
+        Assert.assertEquals(1, session.getResolver(observationId1).lookupOptions(matchingValues).size());
+        Assert.assertEquals(0, session.getResolver(observationId2).lookupOptions(matchingValues).size());
+
+        session.removeTemplate(observationId1, templateId1);
+
+        Assert.assertEquals(0, session.getResolver(observationId1).lookupOptions(matchingValues).size());
+    }
 }
@@ -45,7 +45,6 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
 import java.util.UUID;
-import java.util.function.Function;
 
 public class OffheapTimeSeriesWriter implements TimeseriesWriter {
     private static final Logger LOG = LoggerFactory.getLogger(OffheapTimeSeriesWriter.class);
@@ -56,13 +55,16 @@ public class OffheapTimeSeriesWriter implements TimeseriesWriter {
     public static final String OFFHEAP_NAME = "offheap";
     public static final int RETRY_TIME = 500;
 
+    /**
+     * Only used to read the lists of samples that were queued by previous versions.
+     */
     private static FSTConfiguration fstConf = FSTConfiguration.createDefaultConfiguration();
 
     static {
         fstConf.registerClass(ArrayList.class, ImmutableSample.class);
     }
 
-    private final DispatchQueue<List<Sample>> queue;
+    private final DispatchQueue<SampleBatch> queue;
     private final TimeseriesStorageManager storage;
     private final List<Thread> workerPool = new ArrayList<>();
     private final TimeseriesWriterConfig timeseriesWriterConfig;
@@ -111,9 +113,9 @@ public class OffheapTimeSeriesWriter implements TimeseriesWriter {
         }
     }
 
-    private DataBlocksOffHeapQueue<List<Sample>> createQueue(
+    private DataBlocksOffHeapQueue<SampleBatch> createQueue(
             TimeseriesWriterConfig timeseriesWriterConfig) throws QueueCreateFailedException {
-        return new DataBlocksOffHeapQueue<>(createSerializer(), createDeSerializer(),
+        return new DataBlocksOffHeapQueue<>(SampleBatch::toBytes, OffheapTimeSeriesWriter::deserialize,
                 "org.opennms.features.timeseries",
                 Paths.get(timeseriesWriterConfig.getPath()),
                 timeseriesWriterConfig.getBufferSize(),
@@ -121,21 +123,22 @@ public class OffheapTimeSeriesWriter implements TimeseriesWriter {
                 timeseriesWriterConfig.getMaxFileSize());
     }
 
-    private <T> Function<byte[], T> createDeSerializer() {
-        return t -> (T) fstConf.asObject(t);
-    }
-
-    private <T> Function<T, byte[]> createSerializer() {
-        return t -> fstConf.asByteArray(t);
+    @SuppressWarnings("unchecked")
+    private static SampleBatch deserialize(final byte[] bytes) {
+        if (SampleBatch.isSampleBatch(bytes)) {
+            return SampleBatch.fromBytes(bytes);
+        }
+        // Entries written to disk before upgrading contain FST serialized lists of samples
+        return SampleBatch.of((List<Sample>) fstConf.asObject(bytes));
     }
 
     @Override
-    public void insert(List<Sample> samples) {
+    public void insert(SampleBatch batch) {
         try {
-            queue.enqueue(samples, UUID.randomUUID().toString());
+            queue.enqueue(batch, UUID.randomUUID().toString());
         } catch (WriteFailedException e) {
-            RATE_LIMITED_LOGGER.warn("Could not insert list of samples.", e);
-            droppedSamples.mark(samples.size());
+            RATE_LIMITED_LOGGER.warn("Could not insert batch of samples.", e);
+            droppedSamples.mark(batch.size());
         }
     }
 
@@ -149,9 +152,9 @@ public class OffheapTimeSeriesWriter implements TimeseriesWriter {
     private void work() {
         while (isActive) {
             try (Timer.Context context = this.sampleWriteTsTimer.time()) {
-                var samples = queue.dequeue().getValue();
-                sentToPlugin(samples);
-                RATE_LIMITED_LOGGER.debug("Storing {} samples", samples.size());
+                var batch = queue.dequeue().getValue();
+                sentToPlugin(batch.getSamples());
+                RATE_LIMITED_LOGGER.debug("Storing {} samples", batch.size());
             } catch (InterruptedException e) {
                 return; // we are done.
             }
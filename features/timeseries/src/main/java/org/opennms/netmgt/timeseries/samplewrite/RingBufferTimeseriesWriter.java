@@ -21,6 +21,9 @@
  */
 package org.opennms.netmgt.timeseries.samplewrite;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Paths;
 import java.time.Duration;
 import java.time.Instant;
 import java.util.List;
@@ -63,6 +66,12 @@ import com.swrve.ratelimitedlogger.RateLimitedLog;
  * Calls to  publish the samples to a ring buffer so
  * that they don't block while the data is being persisted.
  *
+ * When a spill log is configured and the ring buffer fills up past its high-water mark,
+ * the batches are appended to the log instead of being dropped. They are replayed, in
+ * order, once the ring buffer drained below its low-water mark. Until then, all of the
+ * new batches are spilled as well, and {@link #getBackpressure()} reports a value that
+ * collectors can use to slow down.
+ *
  * @author jwhite
  */
 public class RingBufferTimeseriesWriter implements TimeseriesWriter, WorkHandler<SampleBatchEvent>, DisposableBean {
@@ -77,6 +86,8 @@ public class RingBufferTimeseriesWriter implements TimeseriesWriter, WorkHandler
 
     private static final Duration DESTROY_GRACE_PERIOD = Duration.ofSeconds(30);
 
+    private static final long REPLAY_POLL_INTERVAL_MS = 50;
+
     private WorkerPool<SampleBatchEvent> workerPool;
 
     private ExecutorService executor;
@@ -91,6 +102,29 @@ public class RingBufferTimeseriesWriter implements TimeseriesWriter, WorkHandler
 
     private final Timer sampleWriteTsTimer;
 
+    private final long highWaterMark;
+
+    private final long lowWaterMark;
+
+    /**
+     * Where batches go when the ring buffer is above its high-water mark, null if disabled.
+     */
+    private final SpillLog spillLog;
+
+    private final Object spillLock = new Object();
+
+    /**
+     * Set while there are batches in the spill log. New batches are spilled as well
+     * in the meantime so that they are replayed after the older ones.
+     */
+    private volatile boolean spilling = false;
+
+    private Thread replayThread;
+
+    private final Meter spilledSamples;
+
+    private final Meter replayedSamples;
+
     private TimeseriesStorageManager storage;
 
     private StatisticsCollector stats;
@@ -109,15 +143,39 @@ public class RingBufferTimeseriesWriter implements TimeseriesWriter, WorkHandler
                                       @Named("timeseries.ring_buffer_size") Integer ringBufferSize,
                                       @Named("timeseries.writer_threads") Integer numWriterThreads,
                                       @Named("timeseriesMetricRegistry") MetricRegistry registry) {
+        this(storage, stats, ringBufferSize, numWriterThreads, registry, 0.9, 0.5, null);
+    }
+
+    public RingBufferTimeseriesWriter(final TimeseriesStorageManager storage,
+                                      final StatisticsCollector stats,
+                                      final TimeseriesWriterConfig config,
+                                      final MetricRegistry registry) {
+        this(storage, stats, config.getBufferSize(), config.getNumWriterThreads(), registry,
+                config.getHighWaterMark(), config.getLowWaterMark(), openSpillLog(config));
+    }
+
+    private RingBufferTimeseriesWriter(final TimeseriesStorageManager storage,
+                                       final StatisticsCollector stats,
+                                       final Integer ringBufferSize,
+                                       final Integer numWriterThreads,
+                                       final MetricRegistry registry,
+                                       final double highWaterMark,
+                                       final double lowWaterMark,
+                                       final SpillLog spillLog) {
         Preconditions.checkArgument(ringBufferSize > 0, "ringBufferSize must be positive");
         Preconditions.checkArgument(DoubleMath.isMathematicalInteger(Math.log(ringBufferSize) / Math.log(2)), "ringBufferSize must be a power of two");
         Preconditions.checkArgument(numWriterThreads > 0, "numWriterThreads must be positive");
         Preconditions.checkNotNull(registry, "metric registry");
+        Preconditions.checkArgument(lowWaterMark >= 0 && lowWaterMark <= highWaterMark && highWaterMark <= 1.0,
+                "water marks must satisfy 0 <= lowWaterMark <= highWaterMark <= 1");
 
         this.storage = Objects.requireNonNull(storage);
         this.stats = Objects.requireNonNull(stats);
         this.ringBufferSize = ringBufferSize;
         this.numWriterThreads = numWriterThreads;
+        this.highWaterMark = Math.max(1L, (long) (ringBufferSize * highWaterMark));
+        this.lowWaterMark = (long) (ringBufferSize * lowWaterMark);
+        this.spillLog = spillLog;
         numEntriesOnRingBuffer.set(0L);
 
         registry.register(MetricRegistry.name("ring-buffer", "size"),
@@ -128,6 +186,22 @@ public class RingBufferTimeseriesWriter implements TimeseriesWriter, WorkHandler
         droppedSamples = registry.meter(MetricRegistry.name("ring-buffer", "dropped-samples"));
         sampleWriteTsTimer = registry.timer("samples.write.ts");
 
+        spilledSamples = registry.meter(MetricRegistry.name("spill-log", "spilled-samples"));
+        replayedSamples = registry.meter(MetricRegistry.name("spill-log", "replayed-samples"));
+        if (spillLog != null) {
+            registry.register(MetricRegistry.name("spill-log", "depth"),
+                    (Gauge<Integer>) spillLog::getCount);
+            registry.register(MetricRegistry.name("spill-log", "size"),
+                    (Gauge<Long>) spillLog::getSize);
+            registry.register(MetricRegistry.name("spill-log", "age"),
+                    (Gauge<Long>) () -> {
+                        final long oldest = spillLog.getOldestTimestamp();
+                        return oldest == 0 ? 0L : System.currentTimeMillis() - oldest;
+                    });
+        }
+        registry.register(MetricRegistry.name("ring-buffer", "backpressure"),
+                (Gauge<Double>) this::getBackpressure);
+
         LOG.debug("Using ring_buffer_size: {}", this.ringBufferSize);
         setUpWorkerPool();
 
@@ -155,12 +229,42 @@ public class RingBufferTimeseriesWriter implements TimeseriesWriter, WorkHandler
 
         workerPool.start(executor);
 
+        if (spillLog != null) {
+            // Replay whatever was left over from a previous run
+            spilling = !spillLog.isEmpty();
+            replayThread = new Thread(this::replay, "TimeseriesWriter-Spill-Replay");
+            replayThread.setDaemon(true);
+            replayThread.start();
+        }
+
         readyToRockAndRoll.set(true);
     }
 
+    private static SpillLog openSpillLog(final TimeseriesWriterConfig config) {
+        if (config.getSpillPath() == null) {
+            return null;
+        }
+        try {
+            return new SpillLog(Paths.get(config.getSpillPath(), "org.opennms.features.timeseries.spill"),
+                    config.getSpillSegmentSize(), config.getSpillMaxSize());
+        } catch (IOException e) {
+            LOG.error("Failed to open the spill log in {}. Samples will be dropped when the ring buffer is full.", config.getSpillPath(), e);
+            return null;
+        }
+    }
+
     @Override
     public void destroy() {
         readyToRockAndRoll.set(false);
+        if (replayThread != null) {
+            // Whatever is left in the spill log is replayed on the next start
+            replayThread.interrupt();
+            try {
+                replayThread.join(DESTROY_GRACE_PERIOD.toMillis());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
         if (workerPool != null) {
             var start = Instant.now();
             LOG.info("destroy(): Draining and halting the time series worker pool. Entries in ring buffer: {}",
@@ -194,35 +298,124 @@ public class RingBufferTimeseriesWriter implements TimeseriesWriter, WorkHandler
     }
 
     @Override
-    public void insert(List<Sample> samples) {
+    public void insert(SampleBatch batch) {
         if (!readyToRockAndRoll.get()) {
-            insertDrop(samples, "We are not ready to rock and roll");
+            insertDrop(batch, "We are not ready to rock and roll");
+            return;
+        }
+
+        if (spillLog != null && (spilling || numEntriesOnRingBuffer.get() >= highWaterMark)) {
+            if (!spill(batch)) {
+                insertDrop(batch, "The ring buffer and the spill log are full");
+            }
             return;
         }
 
         // Add the samples to the ring buffer
-        if (!ringBuffer.tryPublishEvent(TRANSLATOR, samples)) {
-            insertDrop(samples, "The ring buffer is full");
+        if (!ringBuffer.tryPublishEvent(TRANSLATOR, batch)) {
+            if (spillLog == null || !spill(batch)) {
+                insertDrop(batch, "The ring buffer is full");
+            }
             return;
         }
         // Increase our entry counter
         numEntriesOnRingBuffer.incrementAndGet();
     }
 
-    private void insertDrop(List<Sample> samples, String message) {
+    /**
+     * Returns how far behind the storage is: 0 while the ring buffer is below its high-water
+     * mark, and a value that grows towards 1 as the ring buffer and then the spill log fill up.
+     */
+    @Override
+    public double getBackpressure() {
+        if (spilling && spillLog != null) {
+            return 0.5 + 0.5 * Math.min(1.0, (double) spillLog.getSize() / spillLog.getMaxSize());
+        }
+        final long entries = numEntriesOnRingBuffer.get();
+        return entries < highWaterMark ? 0.0 : Math.min(1.0, (double) entries / ringBufferSize);
+    }
+
+    private boolean spill(SampleBatch batch) {
+        final byte[] bytes = batch.toBytes();
+        synchronized (spillLock) {
+            try {
+                if (!spillLog.append(bytes)) {
+                    return false;
+                }
+            } catch (UncheckedIOException e) {
+                RATE_LIMITED_LOGGER.error("Failed to append to the spill log: {}", e.getMessage(), e);
+                return false;
+            }
+            if (!spilling) {
+                LOG.info("The ring buffer reached its high-water mark of {} entries, spilling to disk.", highWaterMark);
+                spilling = true;
+            }
+            spillLock.notifyAll();
+        }
+        spilledSamples.mark(batch.size());
+        return true;
+    }
+
+    /**
+     * Moves the batches from the spill log back to the ring buffer, oldest first, whenever
+     * the ring buffer has drained below its low-water mark.
+     */
+    private void replay() {
+        try {
+            while (!thePartyIsOver.get()) {
+                synchronized (spillLock) {
+                    while (!spilling) {
+                        spillLock.wait();
+                    }
+                }
+                if (numEntriesOnRingBuffer.get() > lowWaterMark) {
+                    Thread.sleep(REPLAY_POLL_INTERVAL_MS);
+                    continue;
+                }
+                while (numEntriesOnRingBuffer.get() < highWaterMark) {
+                    final byte[] record;
+                    synchronized (spillLock) {
+                        record = spillLog.poll();
+                        if (record == null) {
+                            LOG.info("Replayed all of the spilled samples.");
+                            spilling = false;
+                            break;
+                        }
+                    }
+                    final SampleBatch batch;
+                    try {
+                        batch = SampleBatch.fromBytes(record);
+                    } catch (IllegalArgumentException e) {
+                        RATE_LIMITED_LOGGER.error("Skipping corrupted entry in the spill log: {}", e.getMessage());
+                        continue;
+                    }
+                    // We are below the high-water mark, so this will not block for long
+                    ringBuffer.publishEvent(TRANSLATOR, batch);
+                    numEntriesOnRingBuffer.incrementAndGet();
+                    replayedSamples.mark(batch.size());
+                }
+            }
+        } catch (InterruptedException e) {
+            LOG.debug("Spill log replay interrupted.");
+        } finally {
+            spillLog.close();
+        }
+    }
+
+    private void insertDrop(SampleBatch batch, String message) {
         RATE_LIMITED_LOGGER.error(message + ". {} samples associated with resource ids {} will be dropped.",
-                samples.size(), new Object() {
+                batch.size(), new Object() {
                     @Override
                     public String toString() {
                         // We wrap this in a toString() method to avoid build the string
                         // unless the log message is actually printed
-                        return samples.stream()
-                                .map(s -> s.getMetric().getFirstTagByKey(IntrinsicTagNames.resourceId).getValue())
+                        return batch.getMetrics().stream()
+                                .map(m -> m.getFirstTagByKey(IntrinsicTagNames.resourceId).getValue())
                                 .distinct()
                                 .collect(Collectors.joining(", "));
                     }
                 });
-        droppedSamples.mark(samples.size());
+        droppedSamples.mark(batch.size());
     }
 
     @Override
@@ -240,22 +433,24 @@ public class RingBufferTimeseriesWriter implements TimeseriesWriter, WorkHandler
             }
 
             if (timeSeriesStorage == null) {
-                RATE_LIMITED_LOGGER.error("There is no available TimeSeriesStorage implementation. {} samples will be lost.", event.getSamples().size());
+                RATE_LIMITED_LOGGER.error("There is no available TimeSeriesStorage implementation. {} samples will be lost.", event.getBatch().size());
             } else {
-                timeSeriesStorage.store(event.getSamples());
-                this.stats.record(event.getSamples());
+                // The storage API works with samples, expand the batch only now that it is off the ring buffer
+                final List<Sample> samples = event.getBatch().getSamples();
+                timeSeriesStorage.store(samples);
+                this.stats.record(samples);
             }
         } catch (Throwable t) {
-            RATE_LIMITED_LOGGER.error("An error occurred while inserting samples. Up to {} samples may be lost: {}: {}", event.getSamples().size(), t.getClass().getSimpleName(), t.getMessage(), t);
+            RATE_LIMITED_LOGGER.error("An error occurred while inserting samples. Up to {} samples may be lost: {}: {}", event.getBatch().size(), t.getClass().getSimpleName(), t.getMessage(), t);
         } finally {
-            event.setSamples(null); // free sample reference for garbage collection
+            event.setBatch(null); // free batch reference for garbage collection
         }
 
         // Decrement our entry counter
         numEntriesOnRingBuffer.decrementAndGet();
     }
 
-    private static final EventTranslatorOneArg<SampleBatchEvent, List<Sample>> TRANSLATOR = (event, sequence, samples) -> event.setSamples(samples);
+    private static final EventTranslatorOneArg<SampleBatchEvent, SampleBatch> TRANSLATOR = (event, sequence, batch) -> event.setBatch(batch);
 
     public void setTimeSeriesStorage(final TimeseriesStorageManager timeseriesStorage) {
         this.storage = timeseriesStorage;
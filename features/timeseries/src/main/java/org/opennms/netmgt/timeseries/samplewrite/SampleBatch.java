@@ -0,0 +1,552 @@
+/*
+ * Licensed to The OpenNMS Group, Inc (TOG) under one or more
+ * contributor license agreements.  See the LICENSE.md file
+ * distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * TOG licenses this file to You under the GNU Affero General
+ * Public License Version 3 (the "License") or (at your option)
+ * any later version.  You may not use this file except in
+ * compliance with the License.  You may obtain a copy of the
+ * License at:
+ *
+ *      https://www.gnu.org/licenses/agpl-3.0.txt
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied.  See the License for the specific
+ * language governing permissions and limitations under the
+ * License.
+ */
+package org.opennms.netmgt.timeseries.samplewrite;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+import org.opennms.integration.api.v1.timeseries.Metric;
+import org.opennms.integration.api.v1.timeseries.Sample;
+import org.opennms.integration.api.v1.timeseries.Tag;
+import org.opennms.integration.api.v1.timeseries.immutables.ImmutableMetric;
+import org.opennms.integration.api.v1.timeseries.immutables.ImmutableSample;
+
+/**
+ * A columnar, compressed batch of samples.
+ *
+ * Each distinct {@link Metric} is only stored once per batch and referenced by
+ * index from the samples. Timestamps and values are encoded in a bit stream,
+ * using delta-of-delta encoding for the timestamps and XOR encoding for the
+ * values, as described in "Gorilla: A Fast, Scalable, In-Memory Time Series Database".
+ * Samples collected in the same cycle share their timestamp, and cost a single
+ * bit for their timestamp.
+ *
+ * The batch is immutable and can be serialized to a compact binary form with
+ * {@link #toBytes()}. {@link Sample} objects are only created when
+ * {@link #getSamples()} is called.
+ */
+public final class SampleBatch {
+
+    /**
+     * Marks the serialized form, "SB" followed by the format version.
+     */
+    private static final int MAGIC = 0x53420001;
+
+    private static final int NANOS_PER_MILLI = 1_000_000;
+
+    private static final int SUB_MILLI_NANOS_BITS = 20;
+
+    private final Metric[] metrics;
+
+    private final int[] metricIds;
+
+    private final long[] points;
+
+    private final int pointBits;
+
+    private volatile List<Sample> samples;
+
+    private SampleBatch(final Metric[] metrics, final int[] metricIds, final long[] points, final int pointBits) {
+        this.metrics = metrics;
+        this.metricIds = metricIds;
+        this.points = points;
+        this.pointBits = pointBits;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public static SampleBatch of(final Collection<Sample> samples) {
+        final Builder builder = new Builder();
+        for (final Sample sample : samples) {
+            builder.add(sample.getMetric(), sample.getTime(), sample.getValue());
+        }
+        return builder.build();
+    }
+
+    public int size() {
+        return metricIds.length;
+    }
+
+    public boolean isEmpty() {
+        return metricIds.length == 0;
+    }
+
+    /**
+     * Returns the distinct metrics referenced by the samples of this batch.
+     */
+    public List<Metric> getMetrics() {
+        return Collections.unmodifiableList(Arrays.asList(metrics));
+    }
+
+    /**
+     * Expands the batch into {@link Sample} objects, in insertion order.
+     *
+     * The samples are decoded on the first call, and the same list is returned afterwards.
+     */
+    public List<Sample> getSamples() {
+        List<Sample> expanded = samples;
+        if (expanded == null) {
+            final List<Sample> decoded = new ArrayList<>(metricIds.length);
+            forEach((metric, time, value) -> decoded.add(ImmutableSample.builder()
+                    .metric(metric)
+                    .time(time)
+                    .value(value)
+                    .build()));
+            expanded = Collections.unmodifiableList(decoded);
+            samples = expanded;
+        }
+        return expanded;
+    }
+
+    /**
+     * Visits the samples in insertion order, without creating any {@link Sample} objects.
+     */
+    public void forEach(final SampleVisitor visitor) {
+        final PointDecoder decoder = new PointDecoder(points);
+        for (final int metricId : metricIds) {
+            decoder.next();
+            visitor.visit(metrics[metricId], decoder.getTime(), decoder.getValue());
+        }
+    }
+
+    @FunctionalInterface
+    public interface SampleVisitor {
+        void visit(Metric metric, Instant time, double value);
+    }
+
+    /**
+     * Serializes the batch. Tag keys and values are only written once.
+     */
+    public byte[] toBytes() {
+        final Map<String, Integer> stringIds = new HashMap<>();
+        final List<String> strings = new ArrayList<>();
+        final int[][][] tagIds = new int[metrics.length][][];
+        for (int i = 0; i < metrics.length; i++) {
+            final Metric metric = metrics[i];
+            tagIds[i] = new int[][] {
+                toStringIds(metric.getIntrinsicTags(), stringIds, strings),
+                toStringIds(metric.getMetaTags(), stringIds, strings),
+                toStringIds(metric.getExternalTags(), stringIds, strings)
+            };
+        }
+
+        try {
+            final ByteArrayOutputStream bytes = new ByteArrayOutputStream(64 + strings.size() * 16 + metricIds.length + pointBits / 8);
+            final DataOutputStream out = new DataOutputStream(bytes);
+            out.writeInt(MAGIC);
+            writeVarInt(out, strings.size());
+            for (final String string : strings) {
+                final byte[] utf8 = string.getBytes(StandardCharsets.UTF_8);
+                writeVarInt(out, utf8.length);
+                out.write(utf8);
+            }
+            writeVarInt(out, metrics.length);
+            for (final int[][] metricTagIds : tagIds) {
+                for (final int[] ids : metricTagIds) {
+                    writeVarInt(out, ids.length / 2);
+                    for (final int id : ids) {
+                        writeVarInt(out, id);
+                    }
+                }
+            }
+            writeVarInt(out, metricIds.length);
+            for (final int metricId : metricIds) {
+                writeVarInt(out, metricId);
+            }
+            writeVarInt(out, pointBits);
+            for (int i = 0; i < wordsFor(pointBits); i++) {
+                out.writeLong(points[i]);
+            }
+            out.flush();
+            return bytes.toByteArray();
+        } catch (IOException e) {
+            // Not expected when writing to memory
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Returns true if the given bytes were produced by {@link #toBytes()}.
+     */
+    public static boolean isSampleBatch(final byte[] bytes) {
+        return bytes != null && bytes.length >= 4
+                && ((bytes[0] & 0xff) << 24 | (bytes[1] & 0xff) << 16 | (bytes[2] & 0xff) << 8 | (bytes[3] & 0xff)) == MAGIC;
+    }
+
+    /**
+     * Deserializes a batch serialized with {@link #toBytes()}.
+     */
+    public static SampleBatch fromBytes(final byte[] bytes) {
+        if (!isSampleBatch(bytes)) {
+            throw new IllegalArgumentException("Not a serialized sample batch");
+        }
+        try {
+            final DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes));
+            in.readInt();
+            final String[] strings = new String[readVarInt(in)];
+            for (int i = 0; i < strings.length; i++) {
+                final byte[] utf8 = new byte[readVarInt(in)];
+                in.readFully(utf8);
+                strings[i] = new String(utf8, StandardCharsets.UTF_8);
+            }
+            final Metric[] metrics = new Metric[readVarInt(in)];
+            for (int i = 0; i < metrics.length; i++) {
+                final ImmutableMetric.MetricBuilder builder = ImmutableMetric.builder();
+                for (int tagCount = readVarInt(in); tagCount > 0; tagCount--) {
+                    builder.intrinsicTag(readString(in, strings), readString(in, strings));
+                }
+                for (int tagCount = readVarInt(in); tagCount > 0; tagCount--) {
+                    builder.metaTag(readString(in, strings), readString(in, strings));
+                }
+                for (int tagCount = readVarInt(in); tagCount > 0; tagCount--) {
+                    builder.externalTag(readString(in, strings), readString(in, strings));
+                }
+                metrics[i] = builder.build();
+            }
+            final int[] metricIds = new int[readVarInt(in)];
+            for (int i = 0; i < metricIds.length; i++) {
+                metricIds[i] = readVarInt(in);
+            }
+            final int pointBits = readVarInt(in);
+            final long[] points = new long[wordsFor(pointBits)];
+            for (int i = 0; i < points.length; i++) {
+                points[i] = in.readLong();
+            }
+            return new SampleBatch(metrics, metricIds, points, pointBits);
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Truncated sample batch", e);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "SampleBatch[size=" + metricIds.length + ", metrics=" + metrics.length + ", pointBits=" + pointBits + "]";
+    }
+
+    public static class Builder {
+        private final Map<Metric, Integer> metricIds = new HashMap<>();
+        private final List<Metric> metrics = new ArrayList<>();
+        private final PointEncoder encoder = new PointEncoder();
+        private int[] ids = new int[16];
+        private int size = 0;
+
+        private Builder() {
+        }
+
+        public Builder add(final Metric metric, final Instant time, final double value) {
+            Objects.requireNonNull(metric, "metric");
+            Objects.requireNonNull(time, "time");
+            final int metricId = metricIds.computeIfAbsent(metric, m -> {
+                metrics.add(m);
+                return metrics.size() - 1;
+            });
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size * 2);
+            }
+            ids[size++] = metricId;
+            encoder.add(time, value);
+            return this;
+        }
+
+        public int size() {
+            return size;
+        }
+
+        public SampleBatch build() {
+            return new SampleBatch(metrics.toArray(new Metric[0]), Arrays.copyOf(ids, size), encoder.toWords(), encoder.getBits());
+        }
+    }
+
+    /**
+     * Writes timestamps and values to a bit stream.
+     */
+    private static class PointEncoder {
+        private final BitWriter out = new BitWriter();
+        private boolean first = true;
+        private long prevMillis;
+        private long prevDelta;
+        private long prevValueBits;
+        private int prevLeading = -1;
+        private int prevTrailing;
+
+        private void add(final Instant time, final double value) {
+            final long millis = time.toEpochMilli();
+            final int subMilliNanos = time.getNano() % NANOS_PER_MILLI;
+            final long valueBits = Double.doubleToRawLongBits(value);
+            if (first) {
+                out.write(millis, 64);
+                out.write(valueBits, 64);
+                first = false;
+            } else {
+                final long delta = millis - prevMillis;
+                writeDeltaOfDelta(delta - prevDelta);
+                prevDelta = delta;
+                writeXor(valueBits ^ prevValueBits);
+            }
+            if (subMilliNanos == 0) {
+                out.write(0, 1);
+            } else {
+                out.write(1, 1);
+                out.write(subMilliNanos, SUB_MILLI_NANOS_BITS);
+            }
+            prevMillis = millis;
+            prevValueBits = valueBits;
+        }
+
+        private void writeDeltaOfDelta(final long dod) {
+            if (dod == 0) {
+                out.write(0b0, 1);
+            } else if (dod >= -63 && dod <= 64) {
+                out.write(0b10, 2);
+                out.write(dod + 63, 7);
+            } else if (dod >= -255 && dod <= 256) {
+                out.write(0b110, 3);
+                out.write(dod + 255, 9);
+            } else if (dod >= -2047 && dod <= 2048) {
+                out.write(0b1110, 4);
+                out.write(dod + 2047, 12);
+            } else {
+                out.write(0b1111, 4);
+                out.write(dod, 64);
+            }
+        }
+
+        private void writeXor(final long xor) {
+            if (xor == 0) {
+                out.write(0, 1);
+                return;
+            }
+            out.write(1, 1);
+            final int leading = Math.min(Long.numberOfLeadingZeros(xor), 31);
+            final int trailing = Long.numberOfTrailingZeros(xor);
+            if (prevLeading >= 0 && leading >= prevLeading && trailing >= prevTrailing) {
+                // The meaningful bits fit in the previous window
+                out.write(0, 1);
+                out.write(xor >>> prevTrailing, 64 - prevLeading - prevTrailing);
+            } else {
+                final int meaningful = 64 - leading - trailing;
+                out.write(1, 1);
+                out.write(leading, 5);
+                out.write(meaningful - 1, 6);
+                out.write(xor >>> trailing, meaningful);
+                prevLeading = leading;
+                prevTrailing = trailing;
+            }
+        }
+
+        private long[] toWords() {
+            return out.toWords();
+        }
+
+        private int getBits() {
+            return out.bits;
+        }
+    }
+
+    /**
+     * Reads the timestamps and values written by the {@link PointEncoder}.
+     */
+    private static class PointDecoder {
+        private final BitReader in;
+        private boolean first = true;
+        private long millis;
+        private long delta;
+        private long valueBits;
+        private int subMilliNanos;
+        private int prevLeading;
+        private int prevTrailing;
+
+        private PointDecoder(final long[] words) {
+            in = new BitReader(words);
+        }
+
+        private void next() {
+            if (first) {
+                millis = in.read(64);
+                valueBits = in.read(64);
+                first = false;
+            } else {
+                delta += readDeltaOfDelta();
+                millis += delta;
+                valueBits ^= readXor();
+            }
+            subMilliNanos = in.read(1) == 0 ? 0 : (int) in.read(SUB_MILLI_NANOS_BITS);
+        }
+
+        private long readDeltaOfDelta() {
+            if (in.read(1) == 0) {
+                return 0;
+            } else if (in.read(1) == 0) {
+                return in.read(7) - 63;
+            } else if (in.read(1) == 0) {
+                return in.read(9) - 255;
+            } else if (in.read(1) == 0) {
+                return in.read(12) - 2047;
+            }
+            return in.read(64);
+        }
+
+        private long readXor() {
+            if (in.read(1) == 0) {
+                return 0;
+            }
+            if (in.read(1) != 0) {
+                prevLeading = (int) in.read(5);
+                final int meaningful = (int) in.read(6) + 1;
+                prevTrailing = 64 - prevLeading - meaningful;
+            }
+            return in.read(64 - prevLeading - prevTrailing) << prevTrailing;
+        }
+
+        private Instant getTime() {
+            return Instant.ofEpochMilli(millis).plusNanos(subMilliNanos);
+        }
+
+        private double getValue() {
+            return Double.longBitsToDouble(valueBits);
+        }
+    }
+
+    private static class BitWriter {
+        private long[] words = new long[8];
+        private int bits = 0;
+
+        /**
+         * Appends the n (1 to 64) lowest bits of the given value.
+         */
+        private void write(long value, final int n) {
+            if (n < 64) {
+                value &= (1L << n) - 1;
+            }
+            final int index = bits >>> 6;
+            if (index + 2 > words.length) {
+                words = Arrays.copyOf(words, words.length * 2);
+            }
+            final int free = 64 - (bits & 63);
+            if (n <= free) {
+                words[index] |= value << (free - n);
+            } else {
+                words[index] |= value >>> (n - free);
+                words[index + 1] |= value << (64 - (n - free));
+            }
+            bits += n;
+        }
+
+        private long[] toWords() {
+            return Arrays.copyOf(words, wordsFor(bits));
+        }
+    }
+
+    private static class BitReader {
+        private final long[] words;
+        private int position = 0;
+
+        private BitReader(final long[] words) {
+            this.words = words;
+        }
+
+        /**
+         * Reads the next n (1 to 64) bits.
+         */
+        private long read(final int n) {
+            final int index = position >>> 6;
+            final int free = 64 - (position & 63);
+            final long value;
+            if (n <= free) {
+                value = words[index] >>> (free - n);
+            } else {
+                value = (words[index] << (n - free)) | (words[index + 1] >>> (64 - (n - free)));
+            }
+            position += n;
+            return n == 64 ? value : value & ((1L << n) - 1);
+        }
+    }
+
+    private static int wordsFor(final int bits) {
+        return (bits + 63) >>> 6;
+    }
+
+    private static int[] toStringIds(final Set<Tag> tags, final Map<String, Integer> stringIds, final List<String> strings) {
+        final int[] ids = new int[tags.size() * 2];
+        int i = 0;
+        for (final Tag tag : tags) {
+            ids[i++] = toStringId(tag.getKey(), stringIds, strings);
+            ids[i++] = toStringId(tag.getValue(), stringIds, strings);
+        }
+        return ids;
+    }
+
+    /**
+     * Returns the index of the string in the table plus one, or 0 for null.
+     */
+    private static int toStringId(final String string, final Map<String, Integer> stringIds, final List<String> strings) {
+        if (string == null) {
+            return 0;
+        }
+        return stringIds.computeIfAbsent(string, s -> {
+            strings.add(s);
+            return strings.size();
+        });
+    }
+
+    private static String readString(final DataInputStream in, final String[] strings) throws IOException {
+        final int id = readVarInt(in);
+        return id == 0 ? null : strings[id - 1];
+    }
+
+    private static void writeVarInt(final DataOutputStream out, int value) throws IOException {
+        while ((value & ~0x7F) != 0) {
+            out.writeByte((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out.writeByte(value);
+    }
+
+    private static int readVarInt(final DataInputStream in) throws IOException {
+        int value = 0;
+        for (int shift = 0; shift < 32; shift += 7) {
+            final byte b = in.readByte();
+            value |= (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IOException("Malformed varint");
+    }
+}
@@ -21,25 +21,21 @@
  */
 package org.opennms.netmgt.timeseries.samplewrite;
 
-import java.util.List;
-
-import org.opennms.integration.api.v1.timeseries.Sample;
-
 /**
- * Wrapper class for a {@link java.util.List} of {@link Sample} objects.
+ * Wrapper class for a {@link SampleBatch}.
  *
  * Instances of this class are preallocated by the {@link com.lmax.disruptor.dsl.Disruptor}.
  *
  * @author jwhite
  */
 public class SampleBatchEvent {
-    private List<Sample> samples;
+    private SampleBatch batch;
 
-    public void setSamples(List<Sample> samples) {
-        this.samples = samples;
+    public void setBatch(SampleBatch batch) {
+        this.batch = batch;
     }
 
-    public List<Sample> getSamples() {
-        return samples;
+    public SampleBatch getBatch() {
+        return batch;
     }
 }
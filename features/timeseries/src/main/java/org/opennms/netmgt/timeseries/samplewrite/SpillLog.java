@@ -0,0 +1,357 @@
+/*
+ * Licensed to The OpenNMS Group, Inc (TOG) under one or more
+ * contributor license agreements.  See the LICENSE.md file
+ * distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * TOG licenses this file to You under the GNU Affero General
+ * Public License Version 3 (the "License") or (at your option)
+ * any later version.  You may not use this file except in
+ * compliance with the License.  You may obtain a copy of the
+ * License at:
+ *
+ *      https://www.gnu.org/licenses/agpl-3.0.txt
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied.  See the License for the specific
+ * language governing permissions and limitations under the
+ * License.
+ */
+package org.opennms.netmgt.timeseries.samplewrite;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A FIFO log of byte records, stored in memory-mapped segment files.
+ *
+ * Records are appended to the last segment, and a new segment is created
+ * when it is full. Segments are deleted as soon as all of their records were
+ * read. Each record is written as a length, the time at which it was
+ * appended and its payload. The length is written last so that a record
+ * that was only partially written is ignored when the segments are
+ * recovered at startup, and it is negated once the record was read so that
+ * it is not replayed twice.
+ *
+ * Like the off-heap blocks of {@link org.opennms.core.ipc.sink.offheap.DataBlocksOffHeapQueue},
+ * the log is bounded by its total size on disk. The segments are unmapped as soon as they are
+ * deleted, so that only the mappings of the live segments are held.
+ */
+class SpillLog implements AutoCloseable {
+
+    private static final Logger LOG = LoggerFactory.getLogger(SpillLog.class);
+
+    private static final String SEGMENT_PREFIX = "segment-";
+
+    private static final String SEGMENT_SUFFIX = ".log";
+
+    /**
+     * Length and timestamp.
+     */
+    private static final int RECORD_HEADER_SIZE = Integer.BYTES + Long.BYTES;
+
+    /**
+     * Unsafe.invokeCleaner(ByteBuffer) and its receiver, used to release a mapping right away,
+     * or null if not available in which case the mappings are released once garbage collected.
+     */
+    private static final Method INVOKE_CLEANER;
+
+    private static final Object UNSAFE;
+
+    static {
+        Method invokeCleaner = null;
+        Object unsafe = null;
+        try {
+            final Class<?> unsafeClass = Class.forName("sun.misc.Unsafe");
+            final Field theUnsafe = unsafeClass.getDeclaredField("theUnsafe");
+            theUnsafe.setAccessible(true);
+            unsafe = theUnsafe.get(null);
+            invokeCleaner = unsafeClass.getMethod("invokeCleaner", ByteBuffer.class);
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            LOG.info("Mapped segments can not be released explicitly, they will be released once garbage collected: {}", e.getMessage());
+        }
+        INVOKE_CLEANER = invokeCleaner;
+        UNSAFE = unsafe;
+    }
+
+    private final Path directory;
+
+    private final int segmentSize;
+
+    private final long maxSize;
+
+    private final Deque<Segment> segments = new ArrayDeque<>();
+
+    private long nextSegmentId = 0;
+
+    private long size = 0;
+
+    private int count = 0;
+
+    private boolean closed = false;
+
+    private static class Segment {
+        private final Path file;
+        private final MappedByteBuffer buffer;
+        private int readPosition = 0;
+        private int writePosition = 0;
+
+        private Segment(final Path file, final MappedByteBuffer buffer) {
+            this.file = file;
+            this.buffer = buffer;
+        }
+
+        private boolean hasRoomFor(final int recordSize) {
+            return buffer.capacity() - writePosition >= recordSize;
+        }
+
+        private boolean isFullyRead() {
+            return readPosition >= writePosition;
+        }
+    }
+
+    /**
+     * Opens the log, and recovers the records left in the segments of the given directory.
+     *
+     * @param directory where the segments are stored
+     * @param segmentSize size of the segment files in bytes
+     * @param maxSize maximum size of all of the segments in bytes
+     */
+    SpillLog(final Path directory, final int segmentSize, final long maxSize) throws IOException {
+        if (segmentSize <= RECORD_HEADER_SIZE) {
+            throw new IllegalArgumentException("segmentSize must be greater than " + RECORD_HEADER_SIZE);
+        }
+        this.directory = directory;
+        this.segmentSize = segmentSize;
+        this.maxSize = maxSize;
+
+        Files.createDirectories(directory);
+        recover();
+    }
+
+    private void recover() throws IOException {
+        final List<Path> files;
+        try (Stream<Path> list = Files.list(directory)) {
+            files = list.filter(p -> p.getFileName().toString().startsWith(SEGMENT_PREFIX) && p.getFileName().toString().endsWith(SEGMENT_SUFFIX))
+                    .sorted()
+                    .collect(Collectors.toList());
+        }
+        for (final Path file : files) {
+            final Segment segment = new Segment(file, map(file, Files.size(file)));
+            // Walk the records until we reach one that was not committed
+            while (segment.buffer.capacity() - segment.writePosition >= RECORD_HEADER_SIZE) {
+                final int length = segment.buffer.getInt(segment.writePosition);
+                if (length == 0 || length == Integer.MIN_VALUE
+                        || segment.buffer.capacity() - segment.writePosition - RECORD_HEADER_SIZE < Math.abs(length)) {
+                    break;
+                }
+                segment.writePosition += RECORD_HEADER_SIZE + Math.abs(length);
+                if (length < 0) {
+                    // Already read
+                    segment.readPosition = segment.writePosition;
+                } else {
+                    count++;
+                }
+            }
+            if (segment.isFullyRead()) {
+                unmap(segment.buffer);
+                Files.delete(file);
+                continue;
+            }
+            size += segment.buffer.capacity();
+            segments.addLast(segment);
+            nextSegmentId = Math.max(nextSegmentId, parseSegmentId(file) + 1);
+        }
+        if (count > 0) {
+            LOG.info("Recovered {} spilled records in {} segments from {}.", count, segments.size(), directory);
+        }
+    }
+
+    /**
+     * Appends the given record.
+     *
+     * @return false if the log is full or closed
+     */
+    synchronized boolean append(final byte[] record) {
+        if (record.length == 0) {
+            throw new IllegalArgumentException("Records must not be empty");
+        }
+        if (closed) {
+            return false;
+        }
+        final int recordSize = RECORD_HEADER_SIZE + record.length;
+        Segment tail = segments.peekLast();
+        if (tail == null || !tail.hasRoomFor(recordSize)) {
+            // Records larger than a segment get a segment of their own
+            final int newSegmentSize = Math.max(segmentSize, recordSize);
+            if (size + newSegmentSize > maxSize) {
+                return false;
+            }
+            try {
+                tail = createSegment(newSegmentSize);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Failed to create a new segment in " + directory, e);
+            }
+            segments.addLast(tail);
+            size += newSegmentSize;
+        }
+
+        final int position = tail.writePosition;
+        tail.buffer.putLong(position + Integer.BYTES, System.currentTimeMillis());
+        final ByteBuffer payload = tail.buffer.duplicate();
+        payload.position(position + RECORD_HEADER_SIZE);
+        payload.put(record);
+        // Commit the record
+        tail.buffer.putInt(position, record.length);
+        tail.writePosition += recordSize;
+        count++;
+        return true;
+    }
+
+    /**
+     * Removes the oldest record.
+     *
+     * @return the record, or null if the log is empty or closed
+     */
+    synchronized byte[] poll() {
+        if (closed) {
+            return null;
+        }
+        Segment head = segments.peekFirst();
+        while (head != null && head.isFullyRead() && segments.size() > 1) {
+            // Drop the fully read segments that were kept to receive more records
+            deleteSegment(segments.pollFirst());
+            head = segments.peekFirst();
+        }
+        if (head == null || head.isFullyRead()) {
+            return null;
+        }
+        final int length = head.buffer.getInt(head.readPosition);
+        final byte[] record = new byte[length];
+        final ByteBuffer payload = head.buffer.duplicate();
+        payload.position(head.readPosition + RECORD_HEADER_SIZE);
+        payload.get(record);
+        // Mark the record as read
+        head.buffer.putInt(head.readPosition, -length);
+        head.readPosition += RECORD_HEADER_SIZE + length;
+        count--;
+
+        if (head.isFullyRead() && (segments.size() > 1 || !head.hasRoomFor(RECORD_HEADER_SIZE + 1))) {
+            deleteSegment(segments.pollFirst());
+        }
+        return record;
+    }
+
+    /**
+     * Returns the time at which the oldest record was appended, or 0 if the log is empty.
+     */
+    synchronized long getOldestTimestamp() {
+        for (final Segment segment : segments) {
+            if (!segment.isFullyRead()) {
+                return segment.buffer.getLong(segment.readPosition + Integer.BYTES);
+            }
+        }
+        return 0;
+    }
+
+    synchronized int getCount() {
+        return count;
+    }
+
+    synchronized boolean isEmpty() {
+        return count == 0;
+    }
+
+    /**
+     * Returns the size of the segments on disk, in bytes.
+     */
+    synchronized long getSize() {
+        return size;
+    }
+
+    long getMaxSize() {
+        return maxSize;
+    }
+
+    /**
+     * Flushes the segments to disk and unmaps them. The records that were not read yet are
+     * recovered the next time the log is opened.
+     */
+    @Override
+    public synchronized void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        for (final Segment segment : segments) {
+            segment.buffer.force();
+            unmap(segment.buffer);
+        }
+        segments.clear();
+        size = 0;
+        count = 0;
+    }
+
+    private Segment createSegment(final int capacity) throws IOException {
+        final Path file = directory.resolve(String.format("%s%020d%s", SEGMENT_PREFIX, nextSegmentId++, SEGMENT_SUFFIX));
+        return new Segment(file, map(file, capacity));
+    }
+
+    private void deleteSegment(final Segment segment) {
+        size -= segment.buffer.capacity();
+        unmap(segment.buffer);
+        try {
+            Files.deleteIfExists(segment.file);
+        } catch (IOException e) {
+            LOG.warn("Failed to delete segment {}.", segment.file, e);
+        }
+    }
+
+    private static MappedByteBuffer map(final Path file, final long capacity) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            return channel.map(FileChannel.MapMode.READ_WRITE, 0, capacity);
+        }
+    }
+
+    /**
+     * Releases the mapping of the given buffer right away. The buffer, and any of its duplicates,
+     * must not be accessed anymore.
+     */
+    private static void unmap(final MappedByteBuffer buffer) {
+        if (INVOKE_CLEANER == null) {
+            return;
+        }
+        try {
+            INVOKE_CLEANER.invoke(UNSAFE, buffer);
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            LOG.warn("Failed to unmap a segment, it will be released once garbage collected.", e);
+        }
+    }
+
+    private static long parseSegmentId(final Path file) {
+        final String name = file.getFileName().toString();
+        try {
+            return Long.parseLong(name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length()));
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+}
@@ -35,7 +35,6 @@ import org.opennms.integration.api.v1.timeseries.Metric;
 import org.opennms.integration.api.v1.timeseries.Sample;
 import org.opennms.integration.api.v1.timeseries.Tag;
 import org.opennms.integration.api.v1.timeseries.immutables.ImmutableMetric;
-import org.opennms.integration.api.v1.timeseries.immutables.ImmutableSample;
 import org.opennms.integration.api.v1.timeseries.immutables.ImmutableTag;
 import org.opennms.netmgt.collection.api.AttributeType;
 import org.opennms.netmgt.collection.api.CollectionAttributeType;
@@ -53,7 +52,6 @@ import org.slf4j.LoggerFactory;
 
 import com.codahale.metrics.MetricRegistry;
 import com.codahale.metrics.Timer;
-import com.google.common.collect.Lists;
 import com.google.common.collect.Maps;
 import com.google.common.collect.Sets;
 
@@ -131,13 +129,17 @@ public class TimeseriesPersistOperationBuilder implements PersistOperationBuilde
     @Override
     public void commit() throws PersistException {
         try(final Timer.Context context = commitTimer.time()) {
-            writer.insert(getSamplesToInsert());
+            writer.insert(getSampleBatchToInsert());
         }
     }
 
     public List<Sample> getSamplesToInsert() {
+        return getSampleBatchToInsert().getSamples();
+    }
+
+    public SampleBatch getSampleBatchToInsert() {
         final Set<Tag> resourceIdLevelExternalData = Sets.newHashSet();
-        final List<Sample> samples = Lists.newLinkedList();
+        final SampleBatch.Builder samples = SampleBatch.builder();
         ResourcePath path = ResourceTypeUtils.getResourcePathWithRepository(rrepository, ResourcePath.get(resource.getPath(), groupName));
 
         // Collect resource and group level attributes
@@ -190,10 +192,9 @@ public class TimeseriesPersistOperationBuilder implements PersistOperationBuilde
                 }
             }
             final ImmutableMetric metric = builder.build();
-            final Double sampleValue = value.doubleValue();
-            samples.add(ImmutableSample.builder().metric(metric).time(time).value(sampleValue).build());
+            samples.add(metric, time, value.doubleValue());
         }
-        return samples;
+        return samples.build();
     }
 
     /**
@@ -66,8 +66,7 @@ public class TimeseriesPersisterFactory implements PersisterFactory {
         if (timeseriesWriterConfig.getBufferType() == TimeseriesWriterConfig.BufferType.OFFHEAP) {
             this.timeseriesWriter = new OffheapTimeSeriesWriter(timeseriesStorageManager,timeseriesWriterConfig, registry);
         } else {
-            this.timeseriesWriter = new RingBufferTimeseriesWriter(timeseriesStorageManager, stats, timeseriesWriterConfig.getBufferSize(),
-                    timeseriesWriterConfig.getNumWriterThreads(), registry);
+            this.timeseriesWriter = new RingBufferTimeseriesWriter(timeseriesStorageManager, stats, timeseriesWriterConfig, registry);
         }
         LOG.info("Writer: {}", this.timeseriesWriter);
 
@@ -94,6 +93,11 @@ public class TimeseriesPersisterFactory implements PersisterFactory {
         return persister;
     }
 
+    @Override
+    public double getBackpressure() {
+        return timeseriesWriter.getBackpressure();
+    }
+
     public void destroy() {
         if (timeseriesWriter != null) {
             timeseriesWriter.destroy();
@@ -26,6 +26,16 @@ import java.util.List;
 import org.opennms.integration.api.v1.timeseries.Sample;
 
 public interface TimeseriesWriter {
-    void insert(List<Sample> samples);
+    default void insert(List<Sample> samples) {
+        insert(SampleBatch.of(samples));
+    }
+    void insert(SampleBatch batch);
     void destroy();
+
+    /**
+     * Returns a value between 0 (no backpressure) and 1 (the buffers are full).
+     */
+    default double getBackpressure() {
+        return 0.0;
+    }
 }
@@ -45,6 +45,18 @@ public class TimeseriesWriterConfig {
 
     private long maxFileSize = -1;
 
+    // for the ring buffer: ratios of the buffer size at which we start and stop spilling to disk
+    private double highWaterMark = 0.9;
+
+    private double lowWaterMark = 0.5;
+
+    // spill log, disabled when no path is set
+    private String spillPath;
+
+    private long spillMaxSize = 1024L * 1024L * 1024L;
+
+    private int spillSegmentSize = 64 * 1024 * 1024;
+
     public int getBufferSize() {
         return bufferSize == -1 ? ringBufferSize : bufferSize;
     }
@@ -96,4 +108,44 @@ public class TimeseriesWriterConfig {
     public void setMaxFileSize(Long maxFileSize) {
         this.maxFileSize = maxFileSize;
     }
+
+    public double getHighWaterMark() {
+        return highWaterMark;
+    }
+
+    public void setHighWaterMark(double highWaterMark) {
+        this.highWaterMark = highWaterMark;
+    }
+
+    public double getLowWaterMark() {
+        return lowWaterMark;
+    }
+
+    public void setLowWaterMark(double lowWaterMark) {
+        this.lowWaterMark = lowWaterMark;
+    }
+
+    public String getSpillPath() {
+        return spillPath == null || spillPath.isBlank() ? null : spillPath;
+    }
+
+    public void setSpillPath(String spillPath) {
+        this.spillPath = spillPath;
+    }
+
+    public long getSpillMaxSize() {
+        return spillMaxSize;
+    }
+
+    public void setSpillMaxSize(long spillMaxSize) {
+        this.spillMaxSize = spillMaxSize;
+    }
+
+    public int getSpillSegmentSize() {
+        return spillSegmentSize;
+    }
+
+    public void setSpillSegmentSize(int spillSegmentSize) {
+        this.spillSegmentSize = spillSegmentSize;
+    }
 }
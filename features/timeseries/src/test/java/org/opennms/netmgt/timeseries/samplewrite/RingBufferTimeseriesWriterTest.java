@@ -22,18 +22,25 @@
 package org.opennms.netmgt.timeseries.samplewrite;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
 import static org.mockito.Mockito.when;
 
 import java.time.Instant;
 import java.util.Collection;
 import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.BooleanSupplier;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 import org.junit.Before;
+import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
 import org.mockito.Mockito;
 import org.opennms.integration.api.v1.timeseries.IntrinsicTagNames;
 import org.opennms.integration.api.v1.timeseries.MetaTagNames;
@@ -58,6 +65,13 @@ import org.springframework.beans.factory.annotation.Autowired;
 
 public class RingBufferTimeseriesWriterTest {
 
+    private static final int SPILL_SEGMENT_SIZE = 4096;
+
+    private static final long SPILL_MAX_SIZE = 2 * SPILL_SEGMENT_SIZE;
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
     private TimeseriesStorageManager storageManager;
 
     @Before
@@ -139,6 +153,151 @@ public class RingBufferTimeseriesWriterTest {
         assertEquals(ringBufferSize, timeseriesStorage.getNumSamplesInserted());
     }
 
+    /**
+     * Fills the ring buffer while the writer threads are locked, so that the following
+     * batches are spilled until the spill log is full, and verifies that all of the
+     * spilled samples are written in order once the storage catches up.
+     */
+    @Test
+    public void spillsAndReplaysInOrderWhenRingBufferIsFull() throws Exception {
+        CountDownLatch gate = new CountDownLatch(1);
+        OrderedTimeseriesStorage timeseriesStorage = new OrderedTimeseriesStorage(gate);
+        MetricRegistry registry = new MetricRegistry();
+        when(storageManager.get()).thenReturn(timeseriesStorage);
+        RingBufferTimeseriesWriter writer = new RingBufferTimeseriesWriter(storageManager, new StatisticsCollectorImpl(1), spillConfig(), registry);
+
+        Metric metric = createMetric().build();
+        int inserted = 0;
+        while (registry.meter("ring-buffer.dropped-samples").getCount() == 0) {
+            writer.insert(Lists.newArrayList(sample(metric, inserted)));
+            inserted++;
+            assertTrue("The spill log should fill up", inserted < 10000);
+        }
+        // The last batch was dropped
+        inserted--;
+
+        // The ring buffer is past its high-water mark and the spill log is full
+        assertTrue(spillLogDepth(registry) > 0);
+        assertEquals(SPILL_MAX_SIZE, (long) registry.getGauges().get("spill-log.size").getValue());
+        assertEquals(1.0, writer.getBackpressure(), 0.0);
+
+        gate.countDown();
+        final int expected = inserted;
+        await(() -> timeseriesStorage.getValues().size() == expected);
+
+        assertEquals(range(0, inserted), timeseriesStorage.getValues());
+        assertEquals(0, spillLogDepth(registry));
+        assertEquals(0.0, writer.getBackpressure(), 0.0);
+        writer.destroy();
+    }
+
+    /**
+     * Stops the writer while batches are spilled, and verifies that they are replayed in
+     * order by the next writer.
+     */
+    @Test
+    public void replaysSpilledSamplesAfterRestart() throws Exception {
+        CountDownLatch gate = new CountDownLatch(1);
+        OrderedTimeseriesStorage timeseriesStorage = new OrderedTimeseriesStorage(gate);
+        MetricRegistry registry = new MetricRegistry();
+        when(storageManager.get()).thenReturn(timeseriesStorage);
+        RingBufferTimeseriesWriter writer = new RingBufferTimeseriesWriter(storageManager, new StatisticsCollectorImpl(1), spillConfig(), registry);
+
+        Metric metric = createMetric().build();
+        for (int i = 0; i < 30; i++) {
+            writer.insert(Lists.newArrayList(sample(metric, i)));
+        }
+        final int spilled = spillLogDepth(registry);
+        assertTrue(spilled > 0);
+        final int buffered = 30 - spilled;
+
+        // Let the writer threads drain the ring buffer only once the replay has stopped, so
+        // that the spilled batches are left for the next writer
+        final Thread unlocker = new Thread(() -> {
+            await(() -> Thread.getAllStackTraces().keySet().stream()
+                    .noneMatch(t -> t.getName().equals("TimeseriesWriter-Spill-Replay")));
+            gate.countDown();
+        });
+        unlocker.start();
+        writer.destroy();
+        unlocker.join();
+        assertEquals(range(0, buffered), timeseriesStorage.getValues());
+
+        OrderedTimeseriesStorage restartedStorage = new OrderedTimeseriesStorage(new CountDownLatch(0));
+        when(storageManager.get()).thenReturn(restartedStorage);
+        MetricRegistry restartedRegistry = new MetricRegistry();
+        writer = new RingBufferTimeseriesWriter(storageManager, new StatisticsCollectorImpl(1), spillConfig(), restartedRegistry);
+
+        await(() -> restartedStorage.getValues().size() == spilled);
+        assertEquals(range(buffered, 30), restartedStorage.getValues());
+        assertEquals(0, spillLogDepth(restartedRegistry));
+        writer.destroy();
+    }
+
+    private TimeseriesWriterConfig spillConfig() {
+        TimeseriesWriterConfig config = new TimeseriesWriterConfig();
+        config.setBufferSize(16);
+        config.setNumWriterThreads(1);
+        config.setHighWaterMark(0.5);
+        config.setLowWaterMark(0.25);
+        config.setSpillPath(folder.getRoot().getAbsolutePath());
+        config.setSpillSegmentSize(SPILL_SEGMENT_SIZE);
+        config.setSpillMaxSize(SPILL_MAX_SIZE);
+        return config;
+    }
+
+    private static int spillLogDepth(MetricRegistry registry) {
+        return (Integer) registry.getGauges().get("spill-log.depth").getValue();
+    }
+
+    private static Sample sample(Metric metric, int value) {
+        return ImmutableSample.builder()
+                .metric(metric)
+                .time(Instant.now())
+                .value((double) value).build();
+    }
+
+    private static List<Double> range(int from, int to) {
+        return IntStream.range(from, to).mapToObj(i -> (double) i).collect(Collectors.toList());
+    }
+
+    private static void await(BooleanSupplier condition) {
+        final long deadline = System.currentTimeMillis() + 30000;
+        while (!condition.getAsBoolean()) {
+            if (System.currentTimeMillis() > deadline) {
+                throw new AssertionError("Timed out waiting for the condition");
+            }
+            try {
+                Thread.sleep(10);
+            } catch (InterruptedException e) {
+                throw new AssertionError(e);
+            }
+        }
+    }
+
+    private static class OrderedTimeseriesStorage extends MockTimeSeriesStorage {
+        private final CountDownLatch gate;
+        private final List<Double> values = new CopyOnWriteArrayList<>();
+
+        public OrderedTimeseriesStorage(CountDownLatch gate) {
+            this.gate = gate;
+        }
+
+        public List<Double> getValues() {
+            return values;
+        }
+
+        @Override
+        public void store(List<Sample> samples) throws StorageException {
+            try {
+                gate.await();
+            } catch (InterruptedException e) {
+                throw Throwables.propagate(e);
+            }
+            samples.forEach(s -> values.add(s.getValue()));
+        }
+    }
+
     private static class LatchedTimeseriesStorage extends MockTimeSeriesStorage {
         private final CountDownLatch latch;
 
@@ -0,0 +1,148 @@
+/*
+ * Licensed to The OpenNMS Group, Inc (TOG) under one or more
+ * contributor license agreements.  See the LICENSE.md file
+ * distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * TOG licenses this file to You under the GNU Affero General
+ * Public License Version 3 (the "License") or (at your option)
+ * any later version.  You may not use this file except in
+ * compliance with the License.  You may obtain a copy of the
+ * License at:
+ *
+ *      https://www.gnu.org/licenses/agpl-3.0.txt
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied.  See the License for the specific
+ * language governing permissions and limitations under the
+ * License.
+ */
+package org.opennms.netmgt.timeseries.samplewrite;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Test;
+import org.nustaq.serialization.FSTConfiguration;
+import org.opennms.integration.api.v1.timeseries.IntrinsicTagNames;
+import org.opennms.integration.api.v1.timeseries.MetaTagNames;
+import org.opennms.integration.api.v1.timeseries.Metric;
+import org.opennms.integration.api.v1.timeseries.Sample;
+import org.opennms.integration.api.v1.timeseries.immutables.ImmutableMetric;
+import org.opennms.integration.api.v1.timeseries.immutables.ImmutableSample;
+
+public class SampleBatchTest {
+
+    @Test
+    public void canRoundtripSamples() {
+        final Random random = new Random(42);
+        final List<Sample> samples = new ArrayList<>();
+        final long now = System.currentTimeMillis();
+        for (int i = 0; i < 1000; i++) {
+            final Instant time;
+            switch (random.nextInt(3)) {
+            case 0:
+                time = Instant.ofEpochMilli(now);
+                break;
+            case 1:
+                time = Instant.ofEpochMilli(now - random.nextInt(300000));
+                break;
+            default:
+                // Sub-millisecond precision must be preserved as well
+                time = Instant.ofEpochSecond(now / 1000, random.nextInt(1000000000));
+                break;
+            }
+            final double value;
+            switch (random.nextInt(4)) {
+            case 0:
+                value = random.nextInt(1000);
+                break;
+            case 1:
+                value = Double.NaN;
+                break;
+            case 2:
+                value = Double.longBitsToDouble(random.nextLong());
+                break;
+            default:
+                value = random.nextGaussian() * 1e12;
+                break;
+            }
+            samples.add(ImmutableSample.builder()
+                    .metric(createMetric("node[1].interfaceSnmp[eth" + random.nextInt(10) + "]", "ifHCInOctets"))
+                    .time(time)
+                    .value(value)
+                    .build());
+        }
+
+        final SampleBatch batch = SampleBatch.of(samples);
+        assertEquals(samples.size(), batch.size());
+        assertEquals(10, batch.getMetrics().size());
+        assertSamplesEqual(samples, batch.getSamples());
+        assertSame(batch.getSamples(), batch.getSamples());
+
+        final byte[] bytes = batch.toBytes();
+        assertTrue(SampleBatch.isSampleBatch(bytes));
+        final SampleBatch copy = SampleBatch.fromBytes(bytes);
+        assertEquals(10, copy.getMetrics().size());
+        assertSamplesEqual(samples, copy.getSamples());
+    }
+
+    @Test
+    public void canHandleEmptyBatches() {
+        final SampleBatch batch = SampleBatch.builder().build();
+        assertTrue(batch.isEmpty());
+        assertTrue(batch.getSamples().isEmpty());
+        assertTrue(SampleBatch.fromBytes(batch.toBytes()).isEmpty());
+    }
+
+    @Test
+    public void isSmallerThanListOfSamples() {
+        // A typical collection cycle: many metrics sharing the same resource and timestamp
+        final Instant now = Instant.now();
+        final List<Sample> samples = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            samples.add(ImmutableSample.builder()
+                    .metric(createMetric("snmp/1/eth" + (i / 20) + "/mib2-X-interfaces", "ifHC" + (i % 20)))
+                    .time(now)
+                    .value((double) (1000000L + i * 37L))
+                    .build());
+        }
+
+        final FSTConfiguration fstConf = FSTConfiguration.createDefaultConfiguration();
+        final int fstSize = fstConf.asByteArray(new ArrayList<>(samples)).length;
+        final int batchSize = SampleBatch.of(samples).toBytes().length;
+        assertTrue("batch (" + batchSize + " bytes) should be smaller than FST (" + fstSize + " bytes)", batchSize < fstSize);
+    }
+
+    @Test
+    public void doesNotMistakeOtherPayloadsForBatches() {
+        assertFalse(SampleBatch.isSampleBatch(new byte[0]));
+        assertFalse(SampleBatch.isSampleBatch(new byte[] { 0, 1, 2, 3, 4 }));
+    }
+
+    private static void assertSamplesEqual(final List<Sample> expected, final List<Sample> actual) {
+        assertEquals(expected.size(), actual.size());
+        for (int i = 0; i < expected.size(); i++) {
+            assertEquals(expected.get(i).getMetric(), actual.get(i).getMetric());
+            assertEquals(expected.get(i).getTime(), actual.get(i).getTime());
+            assertEquals(Double.doubleToRawLongBits(expected.get(i).getValue()), Double.doubleToRawLongBits(actual.get(i).getValue()));
+        }
+    }
+
+    private static Metric createMetric(final String resourceId, final String name) {
+        return ImmutableMetric.builder()
+                .intrinsicTag(IntrinsicTagNames.resourceId, resourceId)
+                .intrinsicTag(IntrinsicTagNames.name, name)
+                .metaTag(MetaTagNames.mtype, Metric.Mtype.counter.name())
+                .build();
+    }
+}
@@ -0,0 +1,169 @@
+/*
+ * Licensed to The OpenNMS Group, Inc (TOG) under one or more
+ * contributor license agreements.  See the LICENSE.md file
+ * distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * TOG licenses this file to You under the GNU Affero General
+ * Public License Version 3 (the "License") or (at your option)
+ * any later version.  You may not use this file except in
+ * compliance with the License.  You may obtain a copy of the
+ * License at:
+ *
+ *      https://www.gnu.org/licenses/agpl-3.0.txt
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied.  See the License for the specific
+ * language governing permissions and limitations under the
+ * License.
+ */
+package org.opennms.netmgt.timeseries.samplewrite;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+import org.junit.Assume;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class SpillLogTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void canAppendAndPollInOrder() throws Exception {
+        final SpillLog log = new SpillLog(folder.getRoot().toPath(), 128, 1024 * 1024);
+        assertTrue(log.isEmpty());
+        assertNull(log.poll());
+        assertEquals(0, log.getOldestTimestamp());
+
+        // Enough records to roll over several segments
+        for (int i = 0; i < 100; i++) {
+            assertTrue(log.append(record(i)));
+        }
+        assertEquals(100, log.getCount());
+        assertTrue(log.getOldestTimestamp() > 0);
+        assertTrue(segmentFiles().length > 1);
+
+        for (int i = 0; i < 100; i++) {
+            assertArrayEquals(record(i), log.poll());
+        }
+        assertTrue(log.isEmpty());
+        assertNull(log.poll());
+        assertTrue(segmentFiles().length <= 1);
+    }
+
+    @Test
+    public void canRecoverRecordsThatWereNotRead() throws Exception {
+        SpillLog log = new SpillLog(folder.getRoot().toPath(), 128, 1024 * 1024);
+        for (int i = 0; i < 50; i++) {
+            assertTrue(log.append(record(i)));
+        }
+        for (int i = 0; i < 20; i++) {
+            assertArrayEquals(record(i), log.poll());
+        }
+        log.close();
+
+        // The records that were read must not be replayed
+        log = new SpillLog(folder.getRoot().toPath(), 128, 1024 * 1024);
+        assertEquals(30, log.getCount());
+        for (int i = 20; i < 50; i++) {
+            assertArrayEquals(record(i), log.poll());
+        }
+        assertNull(log.poll());
+
+        // New records go to new segments
+        assertTrue(log.append(record(50)));
+        assertArrayEquals(record(50), log.poll());
+    }
+
+    @Test
+    public void rejectsRecordsWhenFull() throws Exception {
+        final SpillLog log = new SpillLog(folder.getRoot().toPath(), 128, 256);
+        int appended = 0;
+        while (log.append(record(appended))) {
+            appended++;
+        }
+        assertTrue(appended > 0);
+        assertFalse(log.append(record(0)));
+        assertEquals(256, log.getSize());
+
+        // Space is reclaimed once a segment was read
+        for (int i = 0; i < appended; i++) {
+            assertArrayEquals(record(i), log.poll());
+        }
+        assertTrue(log.append(record(0)));
+    }
+
+    @Test
+    public void canAppendRecordsLargerThanASegment() throws Exception {
+        final SpillLog log = new SpillLog(folder.getRoot().toPath(), 128, 1024 * 1024);
+        final byte[] large = new byte[1000];
+        large[999] = 42;
+        assertTrue(log.append(record(0)));
+        assertTrue(log.append(large));
+        assertTrue(log.append(record(1)));
+        assertArrayEquals(record(0), log.poll());
+        assertArrayEquals(large, log.poll());
+        assertArrayEquals(record(1), log.poll());
+    }
+
+    @Test
+    public void unmapsDeletedSegments() throws Exception {
+        final Path maps = Paths.get("/proc/self/maps");
+        Assume.assumeTrue("The mappings of the process are only listed on Linux", Files.isReadable(maps));
+
+        final SpillLog log = new SpillLog(folder.getRoot().toPath(), 128, 1024 * 1024);
+        // Roll over many more segments than are live at any time
+        for (int i = 0; i < 1000; i++) {
+            assertTrue(log.append(record(i)));
+            assertArrayEquals(record(i), log.poll());
+        }
+        assertTrue(mappedSegments(maps) <= segmentFiles().length);
+
+        log.close();
+        assertEquals(0, mappedSegments(maps));
+    }
+
+    @Test
+    public void rejectsRecordsOnceClosed() throws Exception {
+        SpillLog log = new SpillLog(folder.getRoot().toPath(), 128, 1024 * 1024);
+        assertTrue(log.append(record(0)));
+        log.close();
+
+        assertFalse(log.append(record(1)));
+        assertNull(log.poll());
+
+        log = new SpillLog(folder.getRoot().toPath(), 128, 1024 * 1024);
+        assertArrayEquals(record(0), log.poll());
+        assertNull(log.poll());
+    }
+
+    private long mappedSegments(final Path maps) throws Exception {
+        final String directory = folder.getRoot().getCanonicalPath();
+        return Files.readAllLines(maps).stream()
+                .filter(line -> line.contains(directory))
+                .count();
+    }
+
+    private File[] segmentFiles() {
+        return folder.getRoot().listFiles((dir, name) -> name.endsWith(".log"));
+    }
+
+    private static byte[] record(final int i) {
+        return ("record-" + i).getBytes(StandardCharsets.UTF_8);
+    }
+}
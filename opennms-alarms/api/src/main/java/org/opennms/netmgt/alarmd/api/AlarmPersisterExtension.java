@@ -53,6 +53,9 @@ public interface AlarmPersisterExtension {
      * Invoked by the AlarmPersister after the alarm has been updated, but *before*
      * the call the save the object via the DAO is made.
      *
+     * This is invoked for every event reduced to the alarm, also when several of
+     * them are reduced in a batch and the alarm is only saved after the last one.
+     *
      * @param alarm the alarm that was update
      * @param event the event that triggered the update to the alarm
      * @param dbEvent the database entity associated with the given event
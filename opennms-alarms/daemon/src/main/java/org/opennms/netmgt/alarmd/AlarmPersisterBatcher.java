@@ -0,0 +1,227 @@
+/*
+ * Licensed to The OpenNMS Group, Inc (TOG) under one or more
+ * contributor license agreements.  See the LICENSE.md file
+ * distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * TOG licenses this file to You under the GNU Affero General
+ * Public License Version 3 (the "License") or (at your option)
+ * any later version.  You may not use this file except in
+ * compliance with the License.  You may obtain a copy of the
+ * License at:
+ *
+ *      https://www.gnu.org/licenses/agpl-3.0.txt
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied.  See the License for the specific
+ * language governing permissions and limitations under the
+ * License.
+ */
+package org.opennms.netmgt.alarmd;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Groups the events handed to the {@link AlarmPersister} into batches.
+ *
+ * Events are dispatched to a fixed number of lanes using the key of the alarm they
+ * target, so that all of the events for a given alarm are handled by the same lane,
+ * in the order in which they were submitted. Each lane waits for up to the given
+ * window after the first event arrived and hands everything it gathered, up to the
+ * maximum batch size, to the consumer.
+ *
+ * The queues are bounded: {@link #submit(Object)} blocks when a lane falls behind,
+ * which pushes back on the event listener threads. Once {@link #stop()} was called,
+ * {@link #submit(Object)} rejects the elements, and every element it accepted before
+ * is processed before the lanes exit.
+ *
+ * @param <T> type of the submitted elements
+ */
+class AlarmPersisterBatcher<T> {
+    private static final Logger LOG = LoggerFactory.getLogger(AlarmPersisterBatcher.class);
+
+    private static final long POLL_INTERVAL_MS = 100;
+
+    private final Function<T, String> keyFunction;
+    private final Consumer<List<T>> consumer;
+    private final int maxBatchSize;
+    private final long windowMs;
+    private final Lane[] lanes;
+
+    // Submissions hold the read lock, so that none is in progress once the lanes are told to stop
+    private final ReadWriteLock stateLock = new ReentrantReadWriteLock();
+
+    private volatile boolean running = false;
+
+    @SuppressWarnings("unchecked")
+    AlarmPersisterBatcher(int numLanes, int queueSize, int maxBatchSize, long windowMs, Function<T, String> keyFunction, Consumer<List<T>> consumer) {
+        if (numLanes < 1 || queueSize < 1 || maxBatchSize < 1) {
+            throw new IllegalArgumentException("The number of lanes, queue size and batch size must be positive.");
+        }
+        this.keyFunction = Objects.requireNonNull(keyFunction);
+        this.consumer = Objects.requireNonNull(consumer);
+        this.maxBatchSize = maxBatchSize;
+        this.windowMs = Math.max(0, windowMs);
+        this.lanes = new AlarmPersisterBatcher.Lane[numLanes];
+        for (int i = 0; i < numLanes; i++) {
+            lanes[i] = new Lane(i, queueSize);
+        }
+    }
+
+    synchronized void start() {
+        if (running) {
+            return;
+        }
+        setRunning(true);
+        for (Lane lane : lanes) {
+            lane.start();
+        }
+    }
+
+    /**
+     * Stops the lanes once they processed all of the elements that were already submitted.
+     */
+    synchronized void stop() {
+        if (!running) {
+            return;
+        }
+        setRunning(false);
+        try {
+            awaitTermination();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Waits for the lanes to process the elements that were already submitted
+     * and exit, once the batcher was stopped.
+     */
+    void awaitTermination() throws InterruptedException {
+        for (Lane lane : lanes) {
+            lane.thread.join();
+        }
+    }
+
+    private void setRunning(boolean running) {
+        stateLock.writeLock().lock();
+        try {
+            this.running = running;
+        } finally {
+            stateLock.writeLock().unlock();
+        }
+    }
+
+    boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * Queues the given element on the lane of its key, waiting for space to become available.
+     *
+     * @throws RejectedExecutionException if the batcher is not running
+     */
+    void submit(T element) throws InterruptedException {
+        stateLock.readLock().lockInterruptibly();
+        try {
+            if (!running) {
+                throw new RejectedExecutionException("The batcher is not running.");
+            }
+            // The lanes keep draining the queues while we wait, since they can't be stopped before we're done
+            getLane(keyFunction.apply(element)).queue.put(element);
+        } finally {
+            stateLock.readLock().unlock();
+        }
+    }
+
+    /**
+     * @return the number of elements waiting to be processed on all of the lanes
+     */
+    int getQueueSize() {
+        int size = 0;
+        for (Lane lane : lanes) {
+            size += lane.queue.size();
+        }
+        return size;
+    }
+
+    private Lane getLane(String key) {
+        final int hash = key != null ? key.hashCode() : 0;
+        // Spread the bits, as is done for the buckets of a HashMap
+        return lanes[Math.floorMod(hash ^ (hash >>> 16), lanes.length)];
+    }
+
+    private class Lane implements Runnable {
+        private final BlockingQueue<T> queue;
+        private final Thread thread;
+
+        private Lane(int index, int queueSize) {
+            queue = new LinkedBlockingQueue<>(queueSize);
+            thread = new Thread(this, "alarmd-batch-" + index);
+            thread.setDaemon(true);
+        }
+
+        private void start() {
+            thread.start();
+        }
+
+        @Override
+        public void run() {
+            final List<T> batch = new ArrayList<>(maxBatchSize);
+            boolean interrupted = false;
+            while (!interrupted && (running || !queue.isEmpty())) {
+                try {
+                    // Poll rather than block, so that we notice when we're stopped
+                    final T first = queue.poll(POLL_INTERVAL_MS, TimeUnit.MILLISECONDS);
+                    if (first == null) {
+                        continue;
+                    }
+                    batch.add(first);
+                    final long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(windowMs);
+                    while (batch.size() < maxBatchSize) {
+                        // Grab whatever is already queued before waiting for more
+                        if (queue.drainTo(batch, maxBatchSize - batch.size()) > 0) {
+                            continue;
+                        }
+                        final long remaining = deadline - System.nanoTime();
+                        if (remaining <= 0 || !running) {
+                            break;
+                        }
+                        final T next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+                        if (next == null) {
+                            break;
+                        }
+                        batch.add(next);
+                    }
+                } catch (InterruptedException e) {
+                    LOG.warn("Interrupted while waiting for elements. Processing the {} we have and stopping.", batch.size());
+                    Thread.currentThread().interrupt();
+                    interrupted = true;
+                }
+                if (!batch.isEmpty()) {
+                    try {
+                        consumer.accept(batch);
+                    } catch (Exception e) {
+                        LOG.error("Failed to process a batch of {} elements.", batch.size(), e);
+                    }
+                    batch.clear();
+                }
+            }
+        }
+    }
+}
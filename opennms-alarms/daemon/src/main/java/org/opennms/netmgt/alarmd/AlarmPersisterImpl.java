@@ -22,15 +22,20 @@
 package org.opennms.netmgt.alarmd;
 
 import java.math.BigInteger;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Calendar;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.locks.Lock;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 import org.opennms.core.sysprops.SystemProperties;
@@ -50,7 +55,14 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.transaction.support.TransactionOperations;
-
+import org.springframework.transaction.support.TransactionSynchronizationAdapter;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.codahale.metrics.Gauge;
+import com.codahale.metrics.Histogram;
+import com.codahale.metrics.Meter;
+import com.codahale.metrics.MetricRegistry;
+import com.codahale.metrics.jmx.JmxReporter;
 import com.google.common.collect.ImmutableSet;
 import com.google.common.collect.Sets;
 import com.google.common.util.concurrent.Striped;
@@ -58,6 +70,14 @@ import com.google.common.util.concurrent.Striped;
 /**
  * Singleton to persist OnmsAlarms.
  *
+ * When batching is enabled, the events are queued and persisted in batches by a
+ * fixed number of lanes, each batch in a single transaction. Consecutive events
+ * that only bump the counter of the same alarm are coalesced into a single update
+ * of the alarm, and a single notification to the {@link AlarmEntityNotifier}. The
+ * {@link AlarmPersisterExtension}s are still invoked for each of these events.
+ * All of the events targeting the same alarm are handled by the same lane, in the
+ * order in which they were received.
+ *
  * @author <a href="mailto:david@opennms.org">David Hustace</a>
  * @version $Id: $
  */
@@ -69,6 +89,12 @@ public class AlarmPersisterImpl implements AlarmPersister {
     protected static final Integer NUM_STRIPE_LOCKS = SystemProperties.getInteger("org.opennms.alarmd.stripe.locks", Alarmd.THREADS * 4);
     protected static boolean NEW_IF_CLEARED = Boolean.getBoolean("org.opennms.alarmd.newIfClearedAlarmExists");
     protected static boolean LEGACY_ALARM_STATE = Boolean.getBoolean("org.opennms.alarmd.legacyAlarmState");
+    protected static boolean BATCH_ENABLED = Boolean.getBoolean("org.opennms.alarmd.batch.enabled");
+    protected static final Integer BATCH_SIZE = SystemProperties.getInteger("org.opennms.alarmd.batch.size", 500);
+    protected static final Long BATCH_WINDOW_MS = SystemProperties.getLong("org.opennms.alarmd.batch.windowMs", 25);
+    protected static final Integer BATCH_QUEUE_SIZE = SystemProperties.getInteger("org.opennms.alarmd.batch.queueSize", 10000);
+
+    private static final String JMX_DOMAIN = "org.opennms.netmgt.alarmd";
 
     @Autowired
     private AlarmDao m_alarmDao;
@@ -93,6 +119,66 @@ public class AlarmPersisterImpl implements AlarmPersister {
     
     private boolean m_legacyAlarmState = LEGACY_ALARM_STATE;
 
+    private boolean m_batchEnabled = BATCH_ENABLED;
+
+    private AlarmPersisterBatcher<Event> m_batcher;
+
+    private final MetricRegistry m_metrics = new MetricRegistry();
+
+    private final Meter m_eventsReduced = m_metrics.meter("eventsReduced");
+
+    private final Meter m_alarmWrites = m_metrics.meter("alarmWrites");
+
+    private final Histogram m_batchSizes = m_metrics.histogram("batchSize");
+
+    // Notifications of the batch being processed by the current thread, fired after the commit
+    private final ThreadLocal<List<Runnable>> m_deferredNotifications = new ThreadLocal<>();
+
+    private JmxReporter m_metricsReporter;
+
+    public AlarmPersisterImpl() {
+        // Number of events reduced per write to the alarms, 1 when nothing is coalesced
+        m_metrics.register("coalescingRatio", (Gauge<Double>) () -> m_alarmWrites.getCount() == 0 ? 1d
+                : (double) m_eventsReduced.getCount() / m_alarmWrites.getCount());
+        m_metrics.register("batchQueueSize", (Gauge<Integer>) () -> m_batcher != null ? m_batcher.getQueueSize() : 0);
+    }
+
+    public synchronized void init() {
+        if (m_batchEnabled && m_batcher == null) {
+            LOG.info("Persisting alarms in batches of up to {} events, using {} lanes and a window of {}ms.", BATCH_SIZE, Alarmd.THREADS, BATCH_WINDOW_MS);
+            m_batcher = new AlarmPersisterBatcher<>(Alarmd.THREADS, BATCH_QUEUE_SIZE, BATCH_SIZE, BATCH_WINDOW_MS,
+                    this::getAlarmKey, this::persistBatch);
+            m_batcher.start();
+        }
+        if (m_metricsReporter == null) {
+            m_metricsReporter = JmxReporter.forRegistry(m_metrics)
+                    .inDomain(JMX_DOMAIN)
+                    .build();
+            try {
+                m_metricsReporter.start();
+            } catch (IllegalArgumentException e) {
+                LOG.warn("Failed to start metrics reporter. JMX metrics may not be available or accurate for the alarm persister.");
+            }
+        }
+    }
+
+    public synchronized void destroy() {
+        if (m_batcher != null) {
+            // Persist whatever is still queued
+            m_batcher.stop();
+            m_batcher = null;
+        }
+        if (m_metricsReporter != null) {
+            m_metricsReporter.close();
+            m_metricsReporter = null;
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * When batching is enabled the event is queued, and null is returned.
+     */
     @Override
     public OnmsAlarm persist(Event event) {
         Objects.requireNonNull(event, "Cannot create alarm from null event.");
@@ -104,6 +190,28 @@ public class AlarmPersisterImpl implements AlarmPersister {
             LOG.debug("process: {}; nodeid: {}; ipaddr: {}; serviceid: {}", event.getUei(), event.getNodeid(), event.getInterface(), event.getService());
         }
 
+        final AlarmPersisterBatcher<Event> batcher = m_batcher;
+        if (batcher != null && batcher.isRunning()) {
+            try {
+                batcher.submit(event);
+                return null;
+            } catch (RejectedExecutionException e) {
+                // Stopped in the meantime: let the lanes persist what they have, so this event comes after it
+                LOG.debug("Batching was stopped, persisting event {} right away.", event.getDbid());
+                try {
+                    batcher.awaitTermination();
+                } catch (InterruptedException ex) {
+                    LOG.warn("Interrupted while waiting for the batches to be persisted, dropping event {}", event, ex);
+                    Thread.currentThread().interrupt();
+                    return null;
+                }
+            } catch (InterruptedException e) {
+                LOG.warn("Interrupted while queuing event {}", event, e);
+                Thread.currentThread().interrupt();
+                return null;
+            }
+        }
+
         // Lock both the reduction and clear keys (if set) using a fair striped lock
         // We do this to ensure that clears and triggers are processed in the same order
         // as the calls are made
@@ -123,24 +231,184 @@ public class AlarmPersisterImpl implements AlarmPersister {
         return alarm;
     }
 
-    private OnmsAlarm addOrReduceEventAsAlarm(Event event) throws IllegalStateException {
-        
+    /**
+     * Persists a batch of events queued by the {@link AlarmPersisterBatcher}.
+     *
+     * The locks for all of the keys in the batch are held while the batch is processed,
+     * in a single transaction. If the transaction fails, the events are processed again
+     * one at a time, so that a single bad event doesn't take the rest of the batch with it.
+     * The listeners are only notified once the batch is committed, so that they never hear
+     * of the changes that were rolled back.
+     */
+    protected void persistBatch(List<Event> events) {
+        final Set<String> lockKeys = new LinkedHashSet<>();
+        for (Event event : events) {
+            lockKeys.addAll(getLockKeys(event));
+        }
+        m_batchSizes.update(events.size());
+
+        final Iterable<Lock> locks = lockStripes.bulkGet(lockKeys);
+        try {
+            locks.forEach(Lock::lock);
+            final List<Runnable> notifications = new ArrayList<>();
+            try {
+                m_transactionOperations.execute((action) -> {
+                    m_deferredNotifications.set(notifications);
+                    try {
+                        reduceBatch(events);
+                    } finally {
+                        m_deferredNotifications.remove();
+                    }
+                    if (TransactionSynchronizationManager.isSynchronizationActive()) {
+                        // Notify while the session is still open, the listeners may load the alarms' associations
+                        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronizationAdapter() {
+                            @Override
+                            public void afterCommit() {
+                                fireNotifications(notifications);
+                            }
+                        });
+                    }
+                    return null;
+                });
+            } catch (Exception e) {
+                notifications.clear();
+                LOG.warn("Exception while reducing a batch of {} events to alarms. Processing them one at a time.", events.size(), e);
+                for (Event event : events) {
+                    try {
+                        m_transactionOperations.execute((action) -> addOrReduceEventAsAlarm(event));
+                    } catch (Exception ex) {
+                        LOG.warn("Exception while reducing event {} to alarm", event, ex);
+                    }
+                }
+                return;
+            }
+            // Without synchronization the transaction is committed once execute() returns
+            fireNotifications(notifications);
+        } finally {
+            locks.forEach(Lock::unlock);
+        }
+    }
+
+    private static void fireNotifications(List<Runnable> notifications) {
+        final List<Runnable> pending = new ArrayList<>(notifications);
+        notifications.clear();
+        for (Runnable notification : pending) {
+            try {
+                notification.run();
+            } catch (Exception e) {
+                LOG.error("An error occurred while notifying the alarm listeners.", e);
+            }
+        }
+    }
+
+    /**
+     * Notifies the listeners right away, or once the batch being processed is committed.
+     */
+    private void notifyListeners(Consumer<AlarmEntityNotifier> notification) {
+        final List<Runnable> deferred = m_deferredNotifications.get();
+        if (deferred != null) {
+            deferred.add(() -> notification.accept(m_alarmEntityNotifier));
+        } else {
+            notification.accept(m_alarmEntityNotifier);
+        }
+    }
+
+    private void reduceBatch(List<Event> events) {
+        // Events which can be coalesced, grouped by reduction key in the order they were first seen
+        final Map<String, List<Event>> pending = new LinkedHashMap<>();
+        for (Event event : events) {
+            if (isCoalescable(event)) {
+                pending.computeIfAbsent(event.getAlarmData().getReductionKey(), k -> new ArrayList<>()).add(event);
+            } else {
+                // Other events may clear or reference the pending alarms, so these must be processed first
+                pending.values().forEach(this::addOrReduceEventsAsAlarm);
+                pending.clear();
+                addOrReduceEventAsAlarm(event);
+            }
+        }
+        pending.values().forEach(this::addOrReduceEventsAsAlarm);
+    }
+
+    /**
+     * Events can be coalesced when reducing them only bumps the counter, and
+     * replaces the last event of the alarm.
+     */
+    private boolean isCoalescable(Event event) {
+        return !isResolutionEvent(event)
+                && !event.getAlarmData().hasUpdateFields()
+                && (event.getParmCollection() == null || event.getParmCollection().stream().noneMatch(AlarmPersisterImpl::isRelatedReductionKeyWithContent));
+    }
+
+    /**
+     * Processes the first event as usual, and then reduces all of the others to the resulting
+     * alarm one after the other. The extensions are invoked for every event, but the alarm is
+     * only written, and the listeners notified, once.
+     */
+    private void addOrReduceEventsAsAlarm(List<Event> events) {
+        final OnmsAlarm alarm = addOrReduceEventAsAlarm(events.get(0));
+        if (events.size() < 2) {
+            return;
+        }
+
+        final List<Event> coalesced = events.subList(1, events.size());
+        LOG.debug("addOrReduceEventsAsAlarm: reducing {} events to existing alarm: {}", coalesced.size(), alarm.getId());
+
+        // Reduce the events one after the other, as usual, but only write the alarm once
+        OnmsEvent persistedEvent = null;
+        for (Event next : coalesced) {
+            final OnmsEvent nextPersistedEvent = getPersistedEvent(next);
+            reduceEvent(nextPersistedEvent, alarm, next);
+
+            // Trigger extensions, allowing them to mangle the alarm
+            try {
+                extensions.forEach(ext -> ext.afterAlarmUpdated(alarm, next, nextPersistedEvent));
+            } catch (Exception ex) {
+                LOG.error("An error occurred while invoking the extension callbacks.", ex);
+            }
+
+            m_eventDao.update(nextPersistedEvent);
+            persistedEvent = nextPersistedEvent;
+        }
+
+        m_alarmDao.update(alarm);
+
+        if (coalesced.get(coalesced.size() - 1).getAlarmData().isAutoClean()) {
+            m_eventDao.deletePreviousEventsForAlarm(alarm.getId(), persistedEvent);
+        }
+
+        notifyListeners(n -> n.didUpdateAlarmWithReducedEvent(alarm));
+        m_eventsReduced.mark(coalesced.size());
+        m_alarmWrites.mark();
+    }
+
+    private OnmsEvent getPersistedEvent(Event event) throws IllegalStateException {
         final OnmsEvent persistedEvent = m_eventDao.get(event.getDbid());
         if (persistedEvent == null) {
             throw new IllegalStateException("Event with id " + event.getDbid() + " was deleted before we could retrieve it and create an alarm.");
         }
+        return persistedEvent;
+    }
+
+    /**
+     * @return the key used to look up the alarm the event will be reduced to first
+     */
+    private String getAlarmKey(Event event) {
+        final String clearKey = event.getAlarmData().getClearKey();
+        if (!m_legacyAlarmState && clearKey != null && isResolutionEvent(event)) {
+            return clearKey;
+        }
+        return event.getAlarmData().getReductionKey();
+    }
+
+    private OnmsAlarm addOrReduceEventAsAlarm(Event event) throws IllegalStateException {
+        
+        final OnmsEvent persistedEvent = getPersistedEvent(event);
 
         final String reductionKey = event.getAlarmData().getReductionKey();
         LOG.debug("addOrReduceEventAsAlarm: looking for existing reduction key: {}", reductionKey);
         
-        String key = reductionKey;
-        String clearKey = event.getAlarmData().getClearKey();
-        
-        boolean didSwapReductionKeyWithClearKey = false;
-        if (!m_legacyAlarmState && clearKey != null && isResolutionEvent(event)) {
-            key = clearKey;
-            didSwapReductionKeyWithClearKey = true;
-        }
+        final String key = getAlarmKey(event);
+        final boolean didSwapReductionKeyWithClearKey = !Objects.equals(key, reductionKey);
 
         OnmsAlarm alarm = m_alarmDao.findByReductionKey(key);
 
@@ -161,14 +429,15 @@ public class AlarmPersisterImpl implements AlarmPersister {
                 m_alarmDao.save(alarm);
                 m_alarmDao.flush();
 
-                m_alarmEntityNotifier.didArchiveAlarm(alarm, reductionKey);
+                final OnmsAlarm alarmArchived = alarm;
+                notifyListeners(n -> n.didArchiveAlarm(alarmArchived, reductionKey));
             }
 
             alarm = createNewAlarm(persistedEvent, event);
 
             // Trigger extensions, allowing them to mangle the alarm
+            final OnmsAlarm alarmCreated = alarm;
             try {
-                final OnmsAlarm alarmCreated = alarm;
                 extensions.forEach(ext -> ext.afterAlarmCreated(alarmCreated, event, persistedEvent));
             } catch (Exception ex) {
                 LOG.error("An error occurred while invoking the extension callbacks.", ex);
@@ -177,14 +446,14 @@ public class AlarmPersisterImpl implements AlarmPersister {
             m_alarmDao.save(alarm);
             m_eventDao.saveOrUpdate(persistedEvent);
 
-            m_alarmEntityNotifier.didCreateAlarm(alarm);
+            notifyListeners(n -> n.didCreateAlarm(alarmCreated));
         } else {
             LOG.debug("addOrReduceEventAsAlarm: reductionKey:{} found, reducing event to existing alarm: {}", reductionKey, alarm.getId());
             reduceEvent(persistedEvent, alarm, event);
 
             // Trigger extensions, allowing them to mangle the alarm
+            final OnmsAlarm alarmUpdated = alarm;
             try {
-                final OnmsAlarm alarmUpdated = alarm;
                 extensions.forEach(ext -> ext.afterAlarmUpdated(alarmUpdated, event, persistedEvent));
             } catch (Exception ex) {
                 LOG.error("An error occurred while invoking the extension callbacks.", ex);
@@ -197,8 +466,10 @@ public class AlarmPersisterImpl implements AlarmPersister {
                 m_eventDao.deletePreviousEventsForAlarm(alarm.getId(), persistedEvent);
             }
 
-            m_alarmEntityNotifier.didUpdateAlarmWithReducedEvent(alarm);
+            notifyListeners(n -> n.didUpdateAlarmWithReducedEvent(alarmUpdated));
         }
+        m_eventsReduced.mark();
+        m_alarmWrites.mark();
         return alarm;
     }
 
@@ -523,4 +794,16 @@ public class AlarmPersisterImpl implements AlarmPersister {
     public void setLegacyAlarmState(boolean legacyAlarmState) {
         m_legacyAlarmState = legacyAlarmState;
     }
+
+    public boolean isBatchEnabled() {
+        return m_batchEnabled;
+    }
+
+    public void setBatchEnabled(boolean batchEnabled) {
+        m_batchEnabled = batchEnabled;
+    }
+
+    public MetricRegistry getMetrics() {
+        return m_metrics;
+    }
 }
@@ -0,0 +1,339 @@
+/*
+ * Licensed to The OpenNMS Group, Inc (TOG) under one or more
+ * contributor license agreements.  See the LICENSE.md file
+ * distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * TOG licenses this file to You under the GNU Affero General
+ * Public License Version 3 (the "License") or (at your option)
+ * any later version.  You may not use this file except in
+ * compliance with the License.  You may obtain a copy of the
+ * License at:
+ *
+ *      https://www.gnu.org/licenses/agpl-3.0.txt
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied.  See the License for the specific
+ * language governing permissions and limitations under the
+ * License.
+ */
+package org.opennms.netmgt.alarmd;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+import org.opennms.netmgt.alarmd.api.AlarmPersisterExtension;
+import org.opennms.netmgt.dao.api.AlarmDao;
+import org.opennms.netmgt.dao.api.AlarmEntityNotifier;
+import org.opennms.netmgt.dao.api.EventDao;
+import org.opennms.netmgt.eventd.EventUtil;
+import org.opennms.netmgt.model.OnmsAlarm;
+import org.opennms.netmgt.model.OnmsEvent;
+import org.opennms.netmgt.model.OnmsSeverity;
+import org.opennms.netmgt.xml.event.AlarmData;
+import org.opennms.netmgt.xml.event.Event;
+import org.springframework.transaction.support.TransactionOperations;
+
+public class AlarmPersisterBatchTest {
+
+    @Test
+    public void canCoalesceReductions() {
+        final Store store = new Store();
+        final List<Event> batch = new ArrayList<>();
+        for (int i = 1; i <= 8; i++) {
+            batch.add(store.event(i, i % 2 == 0 ? "a" : "b", OnmsAlarm.PROBLEM_TYPE, null));
+        }
+        store.persister.persistBatch(batch);
+
+        final OnmsAlarm a = store.alarms.get("a");
+        assertEquals(4, a.getCounter().intValue());
+        assertEquals(8, a.getLastEvent().getId().intValue());
+        final OnmsAlarm b = store.alarms.get("b");
+        assertEquals(4, b.getCounter().intValue());
+        assertEquals(7, b.getLastEvent().getId().intValue());
+        // Every event references its alarm
+        for (int i = 1; i <= 8; i++) {
+            assertEquals(i % 2 == 0 ? a : b, store.events.get(i).getAlarm());
+        }
+
+        // One creation, and a single update for the 3 other events of each alarm
+        verify(store.notifier, times(2)).didCreateAlarm(any(OnmsAlarm.class));
+        verify(store.notifier, times(2)).didUpdateAlarmWithReducedEvent(any(OnmsAlarm.class));
+        assertEquals(2.0d, (Double) store.persister.getMetrics().getGauges().get("coalescingRatio").getValue(), 0.0001d);
+    }
+
+    @Test
+    public void invokesExtensionsForCoalescedEvents() {
+        final Store store = new Store();
+        final List<Integer> counters = new ArrayList<>();
+        final List<Integer> eventIds = new ArrayList<>();
+        store.persister.onExtensionRegistered(new AlarmPersisterExtension() {
+            @Override
+            public void afterAlarmCreated(OnmsAlarm alarm, Event event, OnmsEvent dbEvent) {
+                counters.add(alarm.getCounter());
+                eventIds.add(dbEvent.getId());
+            }
+
+            @Override
+            public void afterAlarmUpdated(OnmsAlarm alarm, Event event, OnmsEvent dbEvent) {
+                counters.add(alarm.getCounter());
+                eventIds.add(dbEvent.getId());
+                assertEquals(event.getDbid(), dbEvent.getId());
+                assertEquals(dbEvent, alarm.getLastEvent());
+            }
+        }, Collections.emptyMap());
+
+        final List<Event> batch = new ArrayList<>();
+        for (int i = 1; i <= 4; i++) {
+            batch.add(store.event(i, "a", OnmsAlarm.PROBLEM_TYPE, null));
+        }
+        store.persister.persistBatch(batch);
+
+        // Every event is seen by the extensions, with the alarm as it was reduced so far
+        assertEquals(Arrays.asList(1, 2, 3, 4), eventIds);
+        assertEquals(Arrays.asList(1, 2, 3, 4), counters);
+        verify(store.notifier, times(1)).didUpdateAlarmWithReducedEvent(any(OnmsAlarm.class));
+    }
+
+    @Test
+    public void notifiesOnlyOnceTheBatchIsCommitted() {
+        final Store store = new Store();
+        final List<Event> batch = new ArrayList<>();
+        batch.add(store.event(1, "a", OnmsAlarm.PROBLEM_TYPE, null));
+        batch.add(store.event(2, "b", OnmsAlarm.PROBLEM_TYPE, null));
+        // An event that was deleted fails the batch, which is then processed one event at a time
+        batch.add(store.event(3, "c", OnmsAlarm.PROBLEM_TYPE, null));
+        store.events.remove(3);
+        store.persister.persistBatch(batch);
+
+        assertEquals(2, store.alarms.size());
+        // Nothing is heard of the alarms created by the batch that was rolled back
+        verify(store.notifier, times(2)).didCreateAlarm(any(OnmsAlarm.class));
+        verify(store.notifier, never()).didUpdateAlarmWithReducedEvent(any(OnmsAlarm.class));
+    }
+
+    /**
+     * Feeds random triggers and clears through the batches and one at a time,
+     * and verifies that both end up with the same alarms.
+     */
+    @Test
+    public void batchesMatchSequentialProcessing() {
+        final Random random = new Random(42);
+        final Store batched = new Store();
+        final Store sequential = new Store();
+        int id = 1;
+        for (int round = 0; round < 50; round++) {
+            final List<Event> batch = new ArrayList<>();
+            final int size = 1 + random.nextInt(40);
+            for (int i = 0; i < size; i++, id++) {
+                final String key = "key" + random.nextInt(5);
+                final boolean clear = random.nextInt(5) == 0;
+                final int type = clear ? OnmsAlarm.RESOLUTION_TYPE : OnmsAlarm.PROBLEM_TYPE;
+                final String reductionKey = clear ? "clear-" + key : key;
+                final String clearKey = clear ? key : null;
+                batch.add(batched.event(id, reductionKey, type, clearKey));
+                sequential.persister.persist(sequential.event(id, reductionKey, type, clearKey));
+            }
+            batched.persister.persistBatch(batch);
+        }
+
+        assertEquals(sequential.alarms.keySet(), batched.alarms.keySet());
+        for (Map.Entry<String, OnmsAlarm> entry : sequential.alarms.entrySet()) {
+            final OnmsAlarm expected = entry.getValue();
+            final OnmsAlarm actual = batched.alarms.get(entry.getKey());
+            assertEquals(entry.getKey(), expected.getCounter(), actual.getCounter());
+            assertEquals(entry.getKey(), expected.getSeverity(), actual.getSeverity());
+            assertEquals(entry.getKey(), expected.getAlarmType(), actual.getAlarmType());
+            assertEquals(entry.getKey(), expected.getLastEvent().getId(), actual.getLastEvent().getId());
+            assertEquals(entry.getKey(), expected.getLastEventTime(), actual.getLastEventTime());
+        }
+        for (int i = 1; i < id; i++) {
+            assertEquals(sequential.events.get(i).getAlarm().getReductionKey(), batched.events.get(i).getAlarm().getReductionKey());
+        }
+    }
+
+    @Test
+    public void batcherPreservesOrderPerKey() throws InterruptedException {
+        final Map<String, List<Integer>> received = new ConcurrentHashMap<>();
+        final AtomicInteger numBatches = new AtomicInteger();
+        final AtomicInteger numReceived = new AtomicInteger();
+        final AlarmPersisterBatcher<int[]> batcher = new AlarmPersisterBatcher<>(4, 100, 50, 10,
+                e -> "key" + e[0], batch -> {
+                    numBatches.incrementAndGet();
+                    for (int[] e : batch) {
+                        // All of the elements of a key are handled by the same lane
+                        received.computeIfAbsent("key" + e[0], k -> Collections.synchronizedList(new ArrayList<>())).add(e[1]);
+                    }
+                    numReceived.addAndGet(batch.size());
+                });
+        batcher.start();
+        final int numElements = 10000;
+        for (int i = 0; i < numElements; i++) {
+            batcher.submit(new int[] { i % 17, i });
+        }
+        batcher.stop();
+
+        assertEquals(numElements, numReceived.get());
+        assertTrue("elements should have been batched", numBatches.get() < numElements / 2);
+        for (List<Integer> values : received.values()) {
+            for (int i = 1; i < values.size(); i++) {
+                assertTrue(values.get(i - 1) < values.get(i));
+            }
+        }
+        assertEquals(0, batcher.getQueueSize());
+    }
+
+    @Test
+    public void batcherRejectsOnceStopped() throws InterruptedException {
+        final AlarmPersisterBatcher<Integer> batcher = new AlarmPersisterBatcher<>(1, 10, 10, 0, e -> "key", batch -> {});
+        batcher.start();
+        batcher.stop();
+        try {
+            batcher.submit(1);
+            fail("submit() should have been rejected");
+        } catch (RejectedExecutionException e) {
+            // expected
+        }
+    }
+
+    /**
+     * Stops the batcher while elements are being submitted, and verifies that
+     * every element is either processed or rejected.
+     */
+    @Test
+    public void batcherProcessesOrRejectsElementsSubmittedWhileStopping() throws Exception {
+        final AtomicInteger numProcessed = new AtomicInteger();
+        final AtomicInteger numRejected = new AtomicInteger();
+        final AtomicInteger numSubmitted = new AtomicInteger();
+        // A small queue, so that the submitters block on full lanes while stopping
+        final AlarmPersisterBatcher<Integer> batcher = new AlarmPersisterBatcher<>(2, 4, 3, 1, e -> "key" + e,
+                batch -> numProcessed.addAndGet(batch.size()));
+        batcher.start();
+
+        final ExecutorService submitters = Executors.newFixedThreadPool(4);
+        final CountDownLatch started = new CountDownLatch(4);
+        for (int t = 0; t < 4; t++) {
+            submitters.execute(() -> {
+                started.countDown();
+                for (int i = 0; i < 10000; i++) {
+                    try {
+                        batcher.submit(i);
+                        numSubmitted.incrementAndGet();
+                    } catch (RejectedExecutionException e) {
+                        numRejected.incrementAndGet();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        return;
+                    }
+                }
+            });
+        }
+        started.await();
+        Thread.sleep(10);
+        batcher.stop();
+        submitters.shutdown();
+        assertTrue(submitters.awaitTermination(1, TimeUnit.MINUTES));
+
+        assertEquals(4 * 10000, numSubmitted.get() + numRejected.get());
+        assertEquals(numSubmitted.get(), numProcessed.get());
+        assertEquals(0, batcher.getQueueSize());
+    }
+
+    /**
+     * Minimal in-memory stand-in for the DAOs.
+     */
+    private static class Store {
+        private final Map<String, OnmsAlarm> alarms = new HashMap<>();
+        private final Map<Integer, OnmsEvent> events = new HashMap<>();
+        private final AlarmEntityNotifier notifier = mock(AlarmEntityNotifier.class);
+        private final AlarmPersisterImpl persister = new AlarmPersisterImpl();
+        private final AtomicInteger alarmIds = new AtomicInteger();
+
+        private Store() {
+            final AlarmDao alarmDao = mock(AlarmDao.class);
+            doAnswer(invocation -> alarms.get(invocation.<String>getArgument(0))).when(alarmDao).findByReductionKey(anyString());
+            doAnswer(invocation -> {
+                final OnmsAlarm alarm = invocation.getArgument(0);
+                if (alarm.getId() == null) {
+                    alarm.setId(alarmIds.incrementAndGet());
+                }
+                alarms.put(alarm.getReductionKey(), alarm);
+                return alarm.getId();
+            }).when(alarmDao).save(any(OnmsAlarm.class));
+
+            final EventDao eventDao = mock(EventDao.class);
+            doAnswer(invocation -> events.get(invocation.<Integer>getArgument(0))).when(eventDao).get(anyInt());
+
+            final TransactionOperations transactionOperations = mock(TransactionOperations.class);
+            doAnswer(invocation -> {
+                // Roll back the alarms that were added when the callback fails
+                final Map<String, OnmsAlarm> saved = new HashMap<>(alarms);
+                try {
+                    return invocation.<org.springframework.transaction.support.TransactionCallback<?>>getArgument(0).doInTransaction(null);
+                } catch (RuntimeException e) {
+                    alarms.clear();
+                    alarms.putAll(saved);
+                    throw e;
+                }
+            }).when(transactionOperations).execute(any());
+
+            persister.setAlarmDao(alarmDao);
+            persister.setEventDao(eventDao);
+            persister.setEventUtil(mock(EventUtil.class));
+            persister.setAlarmChangeListener(notifier);
+            persister.setTransactionOperations(transactionOperations);
+            persister.setCreateNewAlarmIfClearedAlarmExists(false);
+            persister.setLegacyAlarmState(false);
+        }
+
+        private Event event(int id, String reductionKey, int alarmType, String clearKey) {
+            final Date time = new Date(TimeUnit.MINUTES.toMillis(id));
+            final OnmsEvent persistedEvent = new OnmsEvent();
+            persistedEvent.setId(id);
+            persistedEvent.setEventUei("uei.opennms.org/test/" + alarmType);
+            persistedEvent.setEventTime(time);
+            persistedEvent.setEventSeverity(alarmType == OnmsAlarm.RESOLUTION_TYPE ? OnmsSeverity.NORMAL.getId() : OnmsSeverity.MAJOR.getId());
+            persistedEvent.setEventLogMsg("event " + id);
+            events.put(id, persistedEvent);
+
+            final AlarmData alarmData = new AlarmData();
+            alarmData.setReductionKey(reductionKey);
+            alarmData.setAlarmType(alarmType);
+            alarmData.setClearKey(clearKey);
+            final Event event = new Event();
+            event.setDbid(id);
+            event.setUei(persistedEvent.getEventUei());
+            event.setTime(time);
+            event.setAlarmData(alarmData);
+            return event;
+        }
+    }
+}
@@ -0,0 +1,366 @@
+/*
+ * Licensed to The OpenNMS Group, Inc (TOG) under one or more
+ * contributor license agreements.  See the LICENSE.md file
+ * distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * TOG licenses this file to You under the GNU Affero General
+ * Public License Version 3 (the "License") or (at your option)
+ * any later version.  You may not use this file except in
+ * compliance with the License.  You may obtain a copy of the
+ * License at:
+ *
+ *      https://www.gnu.org/licenses/agpl-3.0.txt
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied.  See the License for the specific
+ * language governing permissions and limitations under the
+ * License.
+ */
+package org.opennms.netmgt.xml.eventconf;
+
+import static org.opennms.netmgt.xml.eventconf.Maskelement.TAG_SNMP_EID;
+import static org.opennms.netmgt.xml.eventconf.Maskelement.TAG_SNMP_GENERIC;
+import static org.opennms.netmgt.xml.eventconf.Maskelement.TAG_SNMP_SPECIFIC;
+import static org.opennms.netmgt.xml.eventconf.Maskelement.TAG_SNMP_TRAPOID;
+import static org.opennms.netmgt.xml.eventconf.Maskelement.TAG_UEI;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * An immutable index used to narrow down the event definitions that need to
+ * be evaluated when looking for the first definition matching an event.
+ *
+ * The index is compiled from the same partitions that are used by
+ * {@link Events#findFirstMatchingEvent(org.opennms.netmgt.xml.event.Event)}:
+ * all of the candidate definitions are laid out in priority order, and every
+ * definition of the null partition is filed under one of its mask elements
+ * (or varbinds) that is a necessary condition for it to match. Exact values
+ * are looked up in a hash table, while values ending with '%' and regular
+ * expressions that start with a literal are looked up by prefix. Definitions
+ * for which no such condition can be derived are always evaluated.
+ *
+ * A lookup collects the positions of the candidate definitions in a bit set
+ * and evaluates their matchers in priority order, so the first match is the
+ * same as the one found by walking the partitions.
+ */
+class EventMatchIndex {
+
+    /**
+     * Fields tried, in this order, when choosing the condition used to file
+     * a definition. The ones that are the most selective come first.
+     */
+    private static final List<String> PREFERRED_FIELDS = Arrays.asList(TAG_UEI, TAG_SNMP_TRAPOID, TAG_SNMP_EID, TAG_SNMP_SPECIFIC);
+
+    private static final String VARBIND_PREFIX = "varbind#";
+
+    private static final int[] NO_POSITIONS = new int[0];
+
+    /**
+     * Values of a single field mapped to the positions of the definitions that require them.
+     */
+    private static class FieldIndex {
+        private final Field m_field;
+        private final Map<String, int[]> m_exact = new HashMap<>();
+        private final Map<String, int[]> m_prefixes = new HashMap<>();
+        private int[] m_prefixLengths = NO_POSITIONS;
+
+        private FieldIndex(final Field field) {
+            m_field = field;
+        }
+
+        private void addExact(final String value, final int position) {
+            m_exact.merge(value, new int[] { position }, EventMatchIndex::append);
+        }
+
+        private void addPrefix(final String prefix, final int position) {
+            m_prefixes.merge(prefix, new int[] { position }, EventMatchIndex::append);
+        }
+
+        private void seal() {
+            m_prefixLengths = m_prefixes.keySet().stream().mapToInt(String::length).distinct().sorted().toArray();
+        }
+
+        private void collect(final org.opennms.netmgt.xml.event.Event matchingEvent, final BitSet candidates) {
+            final String value = m_field.get(matchingEvent);
+            if (value == null) {
+                // None of the value matchers match a missing value
+                return;
+            }
+            set(candidates, m_exact.get(value));
+            for (final int length : m_prefixLengths) {
+                if (length > value.length()) {
+                    break;
+                }
+                set(candidates, m_prefixes.get(value.substring(0, length)));
+            }
+        }
+    }
+
+    private final Event[] m_events;
+
+    private final Partition m_partition;
+
+    private final Map<String, int[]> m_partitions;
+
+    private final FieldIndex[] m_fields;
+
+    private final BitSet m_alwaysEvaluated;
+
+    private EventMatchIndex(final Event[] events, final Partition partition, final Map<String, int[]> partitions, final FieldIndex[] fields, final BitSet alwaysEvaluated) {
+        m_events = events;
+        m_partition = partition;
+        m_partitions = partitions;
+        m_fields = fields;
+        m_alwaysEvaluated = alwaysEvaluated;
+    }
+
+    /**
+     * Compiles the index for the given partitions.
+     *
+     * @param partition the partition used to group the event definitions
+     * @param partitionedEvents the event definitions grouped by partition key, in priority order
+     * @param nullPartitionedEvents the event definitions that are evaluated for every event, in priority order
+     */
+    static EventMatchIndex compile(final Partition partition, final Map<String, List<Event>> partitionedEvents, final List<Event> nullPartitionedEvents) {
+        // Lay out all of the definitions in priority order, the same order used when
+        // merging the null partition with a keyed partition
+        final Set<Event> ordered = Collections.newSetFromMap(new IdentityHashMap<>());
+        final List<Event> events = new ArrayList<>();
+        for (final Event event : nullPartitionedEvents) {
+            if (ordered.add(event)) {
+                events.add(event);
+            }
+        }
+        for (final List<Event> keyedEvents : partitionedEvents.values()) {
+            for (final Event event : keyedEvents) {
+                if (ordered.add(event)) {
+                    events.add(event);
+                }
+            }
+        }
+        // List.sort() is stable, so definitions that compare equal keep their relative order
+        events.sort(null);
+
+        final Map<Event, Integer> positions = new IdentityHashMap<>();
+        for (int i = 0; i < events.size(); i++) {
+            positions.put(events.get(i), i);
+        }
+
+        final Map<String, int[]> partitions = new HashMap<>();
+        for (final Map.Entry<String, List<Event>> entry : partitionedEvents.entrySet()) {
+            final int[] keyed = entry.getValue().stream().mapToInt(positions::get).sorted().distinct().toArray();
+            partitions.put(entry.getKey(), keyed);
+        }
+
+        final Map<String, FieldIndex> fields = new LinkedHashMap<>();
+        final BitSet alwaysEvaluated = new BitSet(events.size());
+        final Set<Event> nullPartitioned = Collections.newSetFromMap(new IdentityHashMap<>());
+        nullPartitioned.addAll(nullPartitionedEvents);
+        for (final Event event : nullPartitioned) {
+            final int position = positions.get(event);
+            if (!fileUnderCondition(event, position, fields)) {
+                alwaysEvaluated.set(position);
+            }
+        }
+        fields.values().forEach(FieldIndex::seal);
+
+        return new EventMatchIndex(events.toArray(new Event[0]), partition, partitions, fields.values().toArray(new FieldIndex[0]), alwaysEvaluated);
+    }
+
+    /**
+     * Returns the first event definition matching the given event, or null.
+     */
+    Event findFirstMatchingEvent(final org.opennms.netmgt.xml.event.Event matchingEvent) {
+        final BitSet candidates = (BitSet) m_alwaysEvaluated.clone();
+
+        final String key = m_partition.group(matchingEvent);
+        if (key != null) {
+            set(candidates, m_partitions.get(key));
+        }
+
+        for (final FieldIndex field : m_fields) {
+            field.collect(matchingEvent, candidates);
+        }
+
+        for (int i = candidates.nextSetBit(0); i >= 0; i = candidates.nextSetBit(i + 1)) {
+            final Event event = m_events[i];
+            if (event.matches(matchingEvent).matched()) {
+                return event;
+            }
+        }
+        return null;
+    }
+
+    int size() {
+        return m_events.length;
+    }
+
+    int getAlwaysEvaluatedCount() {
+        return m_alwaysEvaluated.cardinality();
+    }
+
+    /**
+     * Files the definition under one of the conditions that must hold for it to match.
+     *
+     * @return false if no such condition could be derived
+     */
+    private static boolean fileUnderCondition(final Event event, final int position, final Map<String, FieldIndex> fields) {
+        final Mask mask = event.getMask();
+        if (mask == null || mask.getMaskelements().isEmpty()) {
+            // Definitions without mask elements only match on their UEI, see Event#constructMatcher()
+            final String uei = event.getUei();
+            if (uei != null) {
+                fields.computeIfAbsent(TAG_UEI, name -> new FieldIndex(EventMatchers.field(name))).addExact(uei, position);
+            }
+            // Definitions without a UEI never match, no need to evaluate them
+            return true;
+        }
+
+        final Map<String, Collection<String>> conditions = new LinkedHashMap<>();
+        for (final Maskelement element : mask.getMaskelements()) {
+            conditions.put(element.getMename(), element.getMevalues());
+        }
+        for (final Varbind varbind : mask.getVarbinds()) {
+            if (varbind.getVbnumber() != null && varbind.getVbnumber() > 0) {
+                conditions.putIfAbsent(VARBIND_PREFIX + varbind.getVbnumber(), varbind.getVbvalues());
+            }
+        }
+
+        // Try the preferred fields first, followed by the remaining ones in order
+        final Set<String> names = new TreeSet<>((a, b) -> Integer.compare(rank(a), rank(b)) != 0 ? Integer.compare(rank(a), rank(b)) : a.compareTo(b));
+        names.addAll(conditions.keySet());
+        for (final String name : names) {
+            final Collection<String> values = conditions.get(name);
+            if (!isIndexable(values)) {
+                continue;
+            }
+            final FieldIndex index = fields.computeIfAbsent(name, EventMatchIndex::createFieldIndex);
+            for (final String value : values) {
+                if (value == null) {
+                    continue;
+                }
+                if (value.startsWith("~")) {
+                    // The regex matcher also matches the raw value
+                    index.addExact(value, position);
+                    index.addPrefix(getLiteralPrefix(value.substring(1)), position);
+                } else if (value.endsWith("%")) {
+                    index.addPrefix(value.substring(0, value.length() - 1), position);
+                } else {
+                    index.addExact(value, position);
+                }
+            }
+            return true;
+        }
+        return false;
+    }
+
+    private static int rank(final String name) {
+        final int rank = PREFERRED_FIELDS.indexOf(name);
+        if (rank >= 0) {
+            return rank;
+        } else if (TAG_SNMP_GENERIC.equals(name)) {
+            // Only a handful of distinct values, so it is not very selective
+            return PREFERRED_FIELDS.size() + 2;
+        } else if (name.startsWith(VARBIND_PREFIX)) {
+            return PREFERRED_FIELDS.size() + 1;
+        }
+        return PREFERRED_FIELDS.size();
+    }
+
+    private static FieldIndex createFieldIndex(final String name) {
+        if (name.startsWith(VARBIND_PREFIX)) {
+            return new FieldIndex(EventMatchers.varbind(Integer.parseInt(name.substring(VARBIND_PREFIX.length()))));
+        }
+        return new FieldIndex(EventMatchers.field(name));
+    }
+
+    private static boolean isIndexable(final Collection<String> values) {
+        if (values == null) {
+            return false;
+        }
+        for (final String value : values) {
+            if (value == null) {
+                continue;
+            }
+            if (value.startsWith("~") && getLiteralPrefix(value.substring(1)).isEmpty()) {
+                // The regex could match any value
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Returns the literal that any value fully matching the given regular
+     * expression must start with, or an empty string if there is none.
+     */
+    static String getLiteralPrefix(final String regex) {
+        if (regex.indexOf('|') >= 0) {
+            // Be conservative with alternations
+            return "";
+        }
+        final StringBuilder prefix = new StringBuilder();
+        int i = regex.startsWith("^") ? 1 : 0;
+        while (i < regex.length()) {
+            final char c = regex.charAt(i);
+            final char literal;
+            final int next;
+            if (c == '\\') {
+                if (i + 1 >= regex.length() || Character.isLetterOrDigit(regex.charAt(i + 1))) {
+                    // Character classes, back references, quoting, ...
+                    break;
+                }
+                literal = regex.charAt(i + 1);
+                next = i + 2;
+            } else if (".[]{}()*+?^$".indexOf(c) >= 0) {
+                break;
+            } else {
+                literal = c;
+                next = i + 1;
+            }
+
+            if (next < regex.length()) {
+                final char quantifier = regex.charAt(next);
+                if (quantifier == '+') {
+                    // At least once
+                    prefix.append(literal);
+                    break;
+                } else if (quantifier == '*' || quantifier == '?' || quantifier == '{') {
+                    // Possibly absent
+                    break;
+                }
+            }
+            prefix.append(literal);
+            i = next;
+        }
+        return prefix.toString();
+    }
+
+    private static void set(final BitSet candidates, final int[] positions) {
+        if (positions != null) {
+            for (final int position : positions) {
+                candidates.set(position);
+            }
+        }
+    }
+
+    private static int[] append(final int[] a, final int[] b) {
+        final int[] merged = Arrays.copyOf(a, a.length + b.length);
+        System.arraycopy(b, 0, merged, a.length, b.length);
+        return merged;
+    }
+}
@@ -107,6 +107,9 @@ public class Events implements Serializable {
     @XmlTransient
     private Map<String, Event> m_eventsByUei = new ConcurrentSkipListMap<>();
 
+    @XmlTransient
+    private transient EventMatchIndex m_matchIndex;
+
     @XmlTransient
     private List<Event> m_wildcardEvents;
 
@@ -278,6 +281,37 @@ public class Events implements Serializable {
         }
 
         // If the UEI match failed, fallback to searching with the matchers through the partitions
+        final Event event = findFirstMatchingEventInPartitions(matchingEvent);
+        if (event != null) {
+            return event;
+        }
+
+        for (Events subEvents : m_loadedEventFiles.values()) {
+            final Event subEvent = subEvents.findFirstMatchingEvent(matchingEvent);
+            if (subEvent != null) {
+                return subEvent;
+            }
+        }
+
+        return null;
+    }
+
+    Event findFirstMatchingEventInPartitions(final org.opennms.netmgt.xml.event.Event matchingEvent) {
+        final EventMatchIndex matchIndex = m_matchIndex;
+        if (matchIndex != null) {
+            // Only evaluate the definitions that can possibly match
+            return matchIndex.findFirstMatchingEvent(matchingEvent);
+        }
+        return scanPartitions(matchingEvent);
+    }
+
+    /**
+     * Walks the partitions and evaluates every candidate definition in priority order.
+     *
+     * This is used when the match index is not available, i.e. after deserialization, and
+     * serves as the reference for the results of the index.
+     */
+    Event scanPartitions(final org.opennms.netmgt.xml.event.Event matchingEvent) {
         final String key = m_partition.group(matchingEvent);
         Collection<Event> potentialMatches = m_nullPartitionedEvents;
         if (key != null) {
@@ -293,14 +327,6 @@ public class Events implements Serializable {
                 return event;
             }
         }
-
-        for (Events subEvents : m_loadedEventFiles.values()) {
-            final Event event = subEvents.findFirstMatchingEvent(matchingEvent);
-            if (event != null) {
-                return event;
-            }
-        }
-
         return null;
     }
 
@@ -381,6 +407,8 @@ public class Events implements Serializable {
         m_nullPartitionedEvents.addAll(prioritizedEvents);
         m_nullPartitionedEvents.sort(Comparator.naturalOrder());
 
+        m_matchIndex = EventMatchIndex.compile(m_partition, m_partitionedEvents, m_nullPartitionedEvents);
+
         indexEventsByUei();
     }
 
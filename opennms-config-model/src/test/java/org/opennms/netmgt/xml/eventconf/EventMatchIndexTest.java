@@ -0,0 +1,232 @@
+/*
+ * Licensed to The OpenNMS Group, Inc (TOG) under one or more
+ * contributor license agreements.  See the LICENSE.md file
+ * distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * TOG licenses this file to You under the GNU Affero General
+ * Public License Version 3 (the "License") or (at your option)
+ * any later version.  You may not use this file except in
+ * compliance with the License.  You may obtain a copy of the
+ * License at:
+ *
+ *      https://www.gnu.org/licenses/agpl-3.0.txt
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied.  See the License for the specific
+ * language governing permissions and limitations under the
+ * License.
+ */
+package org.opennms.netmgt.xml.eventconf;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Random;
+
+import org.junit.Test;
+import org.opennms.netmgt.xml.event.Parm;
+import org.opennms.netmgt.xml.event.Snmp;
+
+public class EventMatchIndexTest {
+
+    private static final String[] ENTERPRISE_IDS = new String[] {
+            ".1.3.6.1.4.1.9.9.43.2",
+            ".1.3.6.1.4.1.9.9.41.2",
+            ".1.3.6.1.4.1.2636.4.1",
+            ".1.3.6.1.4.1.2636.4.5",
+            ".1.3.6.1.6.3.1.1.5",
+            ".1.3.6.1.4.1.5813.1",
+    };
+
+    private static final String[] VARBIND_VALUES = new String[] {
+            "up", "down", "testing", "1", "2", "3", "eth0", "eth1", "ge-0/0/1",
+    };
+
+    @Test
+    public void testLiteralPrefix() {
+        assertEquals(".1.3.6.1.4.1.9.", EventMatchIndex.getLiteralPrefix("^\\.1\\.3\\.6\\.1\\.4\\.1\\.9\\..*"));
+        assertEquals("abc", EventMatchIndex.getLiteralPrefix("abc"));
+        assertEquals("ab", EventMatchIndex.getLiteralPrefix("abc?"));
+        assertEquals("ab", EventMatchIndex.getLiteralPrefix("abc*d"));
+        assertEquals("abc", EventMatchIndex.getLiteralPrefix("abc+d"));
+        assertEquals("ab", EventMatchIndex.getLiteralPrefix("abc{2}"));
+        assertEquals("link", EventMatchIndex.getLiteralPrefix("link(?<state>up|down)"));
+        assertEquals("", EventMatchIndex.getLiteralPrefix("link(up|down)"));
+        assertEquals("", EventMatchIndex.getLiteralPrefix(".*"));
+        assertEquals("", EventMatchIndex.getLiteralPrefix("(?i)abc"));
+        assertEquals("", EventMatchIndex.getLiteralPrefix("\\d+"));
+        assertEquals("", EventMatchIndex.getLiteralPrefix("[abc]"));
+    }
+
+    @Test
+    public void testPriorityIsPreserved() {
+        final Events events = new Events();
+        final Event generic = event("uei.opennms.org/generic", 0, mask("id", ".1.3.6.1.4.1.9%"));
+        final Event specific = event("uei.opennms.org/specific", 0, mask("id", ".1.3.6.1.4.1.9.9.43.2"));
+        final Event prioritized = event("uei.opennms.org/prioritized", 10, mask("specific", "1"));
+        events.addEvent(generic);
+        events.addEvent(specific);
+        events.addEvent(prioritized);
+        events.initialize(new EnterpriseIdPartition(), new EventOrdering());
+
+        // Both the generic and specific definitions match, the first one wins
+        assertSame(generic, events.findFirstMatchingEvent(trap(".1.3.6.1.4.1.9.9.43.2", 6, 2)));
+        // The prioritized definition lives in the null partition and beats both
+        assertSame(prioritized, events.findFirstMatchingEvent(trap(".1.3.6.1.4.1.9.9.43.2", 6, 1)));
+        assertNull(events.findFirstMatchingEvent(trap(".1.3.6.1.4.1.2636", 6, 2)));
+    }
+
+    @Test
+    public void testDefinitionsThatCannotBeIndexedAreAlwaysEvaluated() {
+        final Events events = new Events();
+        final Event anyEnterprise = event("uei.opennms.org/any", 0, mask("id", "~.*"));
+        events.addEvent(anyEnterprise);
+        events.initialize(new EnterpriseIdPartition(), new EventOrdering());
+
+        assertSame(anyEnterprise, events.findFirstMatchingEvent(trap(".1.3.6.1.4.1.2636", 6, 2)));
+    }
+
+    /**
+     * Generates random definitions and events, and verifies that the index
+     * always returns the same definition as a scan through the partitions.
+     */
+    @Test
+    public void testMatchesScan() {
+        final Random random = new Random(42);
+        for (int round = 0; round < 20; round++) {
+            final Events events = new Events();
+            final int numDefinitions = 50 + random.nextInt(200);
+            for (int i = 0; i < numDefinitions; i++) {
+                events.addEvent(randomDefinition(random, i));
+            }
+            events.initialize(new EnterpriseIdPartition(), new EventOrdering());
+
+            int matched = 0;
+            for (int i = 0; i < 2000; i++) {
+                final org.opennms.netmgt.xml.event.Event event = randomEvent(random);
+                final Event expected = events.scanPartitions(event);
+                assertSame("Mismatch for " + event, expected, events.findFirstMatchingEventInPartitions(event));
+                if (expected != null) {
+                    matched++;
+                }
+            }
+            assertTrue("too few events matched a definition", matched > 100);
+        }
+    }
+
+    private static Event randomDefinition(final Random random, final int n) {
+        final String uei = "uei.opennms.org/test/" + n;
+        final int priority = random.nextInt(10) == 0 ? random.nextInt(3) + 1 : 0;
+        if (random.nextInt(10) == 0) {
+            // Matches on the UEI only
+            return event(uei, priority, null);
+        }
+
+        final Mask mask = new Mask();
+        switch (random.nextInt(4)) {
+        case 0:
+            mask.addMaskelement(maskelement("id", ENTERPRISE_IDS[random.nextInt(ENTERPRISE_IDS.length)]));
+            break;
+        case 1:
+            mask.addMaskelement(maskelement("id", ENTERPRISE_IDS[random.nextInt(ENTERPRISE_IDS.length)].substring(0, 14) + "%"));
+            break;
+        case 2:
+            mask.addMaskelement(maskelement("id", "~^" + ENTERPRISE_IDS[random.nextInt(ENTERPRISE_IDS.length)].substring(0, 12).replace(".", "\\.") + ".*"));
+            break;
+        default:
+            // No enterprise id, lands in the null partition
+            break;
+        }
+        if (random.nextBoolean()) {
+            mask.addMaskelement(maskelement("generic", Integer.toString(random.nextInt(7))));
+        }
+        if (random.nextBoolean()) {
+            mask.addMaskelement(maskelement("specific", Integer.toString(random.nextInt(5)), Integer.toString(random.nextInt(5))));
+        }
+        if (random.nextInt(4) == 0) {
+            mask.addMaskelement(maskelement("uei", random.nextBoolean() ? "uei.opennms.org/traps/%" : "~uei\\.opennms\\.org/traps/(a|b)"));
+        }
+        if (mask.getMaskelements().isEmpty()) {
+            mask.addMaskelement(maskelement("source", random.nextBoolean() ? "trapd" : "~.*"));
+        }
+        if (random.nextInt(3) == 0) {
+            final Varbind varbind = new Varbind();
+            varbind.setVbnumber(1 + random.nextInt(2));
+            final String value = VARBIND_VALUES[random.nextInt(VARBIND_VALUES.length)];
+            switch (random.nextInt(3)) {
+            case 0:
+                varbind.addVbvalue(value);
+                break;
+            case 1:
+                varbind.addVbvalue(value.substring(0, 1) + "%");
+                break;
+            default:
+                varbind.addVbvalue("~" + value.substring(0, 1) + "[a-z0-9/-]*");
+                break;
+            }
+            mask.addVarbind(varbind);
+        }
+        return event(uei, priority, mask);
+    }
+
+    private static org.opennms.netmgt.xml.event.Event randomEvent(final Random random) {
+        final String id = ENTERPRISE_IDS[random.nextInt(ENTERPRISE_IDS.length)];
+        final org.opennms.netmgt.xml.event.Event event = trap(random.nextInt(5) == 0 ? id.substring(0, 12) : id, random.nextInt(7), random.nextInt(5));
+        switch (random.nextInt(4)) {
+        case 0:
+            event.setUei("uei.opennms.org/traps/a");
+            break;
+        case 1:
+            event.setUei("uei.opennms.org/test/" + random.nextInt(250));
+            break;
+        default:
+            break;
+        }
+        if (random.nextBoolean()) {
+            event.setSource("trapd");
+        }
+        final int numParms = random.nextInt(3);
+        for (int i = 0; i < numParms; i++) {
+            event.addParm(new Parm("parm" + i, VARBIND_VALUES[random.nextInt(VARBIND_VALUES.length)]));
+        }
+        return event;
+    }
+
+    private static org.opennms.netmgt.xml.event.Event trap(final String id, final int generic, final int specific) {
+        final Snmp snmp = new Snmp();
+        snmp.setId(id);
+        snmp.setGeneric(generic);
+        snmp.setSpecific(specific);
+        final org.opennms.netmgt.xml.event.Event event = new org.opennms.netmgt.xml.event.Event();
+        event.setSnmp(snmp);
+        return event;
+    }
+
+    private static Event event(final String uei, final int priority, final Mask mask) {
+        final Event event = new Event();
+        event.setUei(uei);
+        event.setPriority(priority);
+        event.setMask(mask);
+        return event;
+    }
+
+    private static Mask mask(final String name, final String... values) {
+        final Mask mask = new Mask();
+        mask.addMaskelement(maskelement(name, values));
+        return mask;
+    }
+
+    private static Maskelement maskelement(final String name, final String... values) {
+        final Maskelement element = new Maskelement();
+        element.setMename(name);
+        for (final String value : values) {
+            element.addMevalue(value);
+        }
+        return element;
+    }
+}
@@ -136,6 +136,16 @@ public interface SyslogdConfig {
      */
     int getBatchIntervalMs();
 
+    /**
+     * Encoding of the messages sent to the sink, either <code>xml</code>
+     * or <code>binary</code>.
+     *
+     * Only has an effect where the messages are marshalled, i.e. on Minions.
+     *
+     * @return the encoding, or null for the default (<code>xml</code>)
+     */
+    String getSinkFormat();
+
     /**
      * Optional:
      * - if not null it will be used as default time zone if no time zone is given
@@ -216,6 +216,12 @@ public final class SyslogdConfigFactory implements SyslogdConfig {
         return m_config.getConfiguration().getBatchInterval();
     }
 
+    @Override
+    public String getSinkFormat() {
+        // Messages received by OpenNMS itself are dispatched locally and never marshalled
+        return null;
+    }
+
     @Override
     public TimeZone getTimeZone() {
         return m_config.getConfiguration().getTimeZone().orElse(null);
@@ -74,6 +74,16 @@ public interface TrapdConfig {
      */
     int getBatchIntervalMs();
 
+    /**
+     * Encoding of the messages sent to the sink, either <code>xml</code>
+     * or <code>binary</code>.
+     *
+     * Only has an effect where the messages are marshalled, i.e. on Minions.
+     *
+     * @return the encoding, or null for the default (<code>xml</code>)
+     */
+    String getSinkFormat();
+
     void update(TrapdConfig config);
 
     boolean shouldUseAddressFromVarbind();
@@ -216,6 +216,12 @@ public final class TrapdConfigFactory implements TrapdConfig {
         return m_config.getBatchInterval();
     }
 
+    @Override
+    public String getSinkFormat() {
+        // Traps received by OpenNMS itself are dispatched locally and never marshalled
+        return null;
+    }
+
     @Override
     public boolean shouldUseAddressFromVarbind() {
         return m_config.shouldUseAddressFromVarbind();
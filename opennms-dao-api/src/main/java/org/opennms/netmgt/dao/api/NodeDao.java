@@ -105,6 +105,13 @@ public interface NodeDao extends LegacyOnmsDao<OnmsNode, Integer> {
      * @return a {@link java.util.Map} object.
      */
     Map<String, Integer> getForeignIdToNodeIdMap(String foreignSource);
+
+    /**
+     * Returns the value of a meta-data entry of all the nodes of a foreign source that have it.
+     *
+     * @return a map of foreign IDs to values
+     */
+    Map<String, String> getForeignIdToMetaDataMap(String foreignSource, String context, String key);
     
     /**
      * <p>getForeignIdsPerForeignSourceMap</p>
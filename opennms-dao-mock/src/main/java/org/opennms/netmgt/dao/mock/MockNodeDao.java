@@ -203,6 +203,17 @@ public class MockNodeDao extends AbstractMockDao<OnmsNode, Integer> implements N
         return nodes;
     }
 
+    @Override
+    public Map<String, String> getForeignIdToMetaDataMap(final String foreignSource, final String context, final String key) {
+        final Map<String, String> metaData = new HashMap<String, String>();
+        for (final OnmsNode node : findAll()) {
+            if (foreignSource.equals(node.getForeignSource())) {
+                node.findMetaDataForContextAndKey(context, key).ifPresent(m -> metaData.put(node.getForeignId(), m.getValue()));
+            }
+        }
+        return metaData;
+    }
+
     @Override
     public List<OnmsNode> findAllByVarCharAssetColumn(final String columnName, final String columnValue) {
         final CriteriaBuilder builder = new CriteriaBuilder(OnmsNode.class);
@@ -24,10 +24,13 @@ package org.opennms.netmgt.dao.hibernate;
 import static org.opennms.core.utils.InetAddressUtils.str;
 
 import java.net.InetAddress;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.SortedSet;
 import java.util.Timer;
 import java.util.TimerTask;
 import java.util.TreeSet;
@@ -36,8 +39,8 @@ import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ThreadFactory;
-import java.util.concurrent.locks.ReadWriteLock;
-import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
 import javax.annotation.PostConstruct;
@@ -59,6 +62,8 @@ import org.springframework.transaction.annotation.Transactional;
 import org.springframework.transaction.support.TransactionOperations;
 import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import com.codahale.metrics.Gauge;
+import com.codahale.metrics.MetricRegistry;
 import com.google.common.collect.ComparisonChain;
 import com.google.common.collect.Maps;
 import com.google.common.collect.Multimaps;
@@ -69,6 +74,11 @@ import com.google.common.util.concurrent.ThreadFactoryBuilder;
  * This class represents a singular instance that is used to map IP
  * addresses to known nodes.
  *
+ * Lookups are served from an immutable {@link InterfaceToNodeIndex} that is swapped
+ * atomically, so they never wait for a synchronization with the database. Single
+ * interface updates are collected in a small index that is layered on top of the
+ * full one, which is only rebuilt once enough updates accumulated.
+ *
  * @author Seth
  * @author <a href="mailto:joed@opennms.org">Johan Edstrom</a>
  * @author <a href="mailto:weave@oculan.com">Brian Weaver </a>
@@ -84,6 +94,46 @@ public class InterfaceToNodeCacheDaoImpl extends AbstractInterfaceToNodeCache im
     private final ExecutorService executorService = Executors.newSingleThreadExecutor(threadFactory);
     private final CountDownLatch initialNodeSyncDone = new CountDownLatch(1);
 
+    /**
+     * Number of pending updates after which the full index is rebuilt.
+     */
+    private static final int MAX_PENDING_UPDATES = 1024;
+
+    /**
+     * Only one in this many lookups is timed, timing every lookup would cost more than the lookup itself.
+     */
+    private static final int LOOKUP_TIMER_SAMPLE_RATE = 128;
+
+    /**
+     * What the lookups see: the full index, and the updates made since it was built.
+     */
+    private static class Snapshot {
+        private final InterfaceToNodeIndex index;
+        private final InterfaceToNodeIndex updates;
+        private final Map<Key, Optional<Entry>> pendingUpdates;
+        private final int size;
+
+        private Snapshot(final InterfaceToNodeIndex index,
+                         final Map<Key, Optional<Entry>> pendingUpdates,
+                         final int size) {
+            this.index = index;
+            this.pendingUpdates = pendingUpdates;
+            this.size = size;
+
+            final InterfaceToNodeIndex.Builder builder = InterfaceToNodeIndex.builder();
+            pendingUpdates.forEach((key, entry) -> builder.put(key.getLocation(), key.getIpAddress(), entry));
+            this.updates = builder.build();
+        }
+
+        private Optional<Entry> lookup(final String location, final InetAddress ipAddr) {
+            Optional<Entry> entry = updates.isEmpty() ? null : updates.lookup(location, ipAddr);
+            if (entry == null) {
+                entry = index.lookup(location, ipAddr);
+            }
+            return entry == null ? Optional.empty() : entry;
+        }
+    }
+
     private static class Key {
         private final String location;
         private final InetAddress ipAddress;
@@ -201,9 +251,19 @@ public class InterfaceToNodeCacheDaoImpl extends AbstractInterfaceToNodeCache im
     @Autowired
     private TransactionOperations transactionOperations;
 
-    private final ReadWriteLock m_lock = new ReentrantReadWriteLock();
+    /**
+     * Guards the managed addresses, which are only used to build the snapshots.
+     */
+    private final Object m_writeLock = new Object();
     private SortedSetMultimap<Key, Value> m_managedAddresses = Multimaps.newSortedSetMultimap(Maps.newHashMap(), TreeSet::new);
 
+    private volatile Snapshot m_snapshot = new Snapshot(InterfaceToNodeIndex.EMPTY, Map.of(), 0);
+
+    private final MetricRegistry m_metricRegistry = new MetricRegistry();
+    private final com.codahale.metrics.Timer m_lookupTimer = m_metricRegistry.timer("lookup");
+    private final com.codahale.metrics.Timer m_syncTimer = m_metricRegistry.timer("sync");
+    private final com.codahale.metrics.Timer m_indexTimer = m_metricRegistry.timer("index");
+
     private final Timer refreshTimer = new Timer(getClass().getSimpleName());
 
     // in ms
@@ -215,6 +275,8 @@ public class InterfaceToNodeCacheDaoImpl extends AbstractInterfaceToNodeCache im
 
     public InterfaceToNodeCacheDaoImpl(long refreshRate) {
         this.refreshRate = refreshRate;
+        m_metricRegistry.register("size", (Gauge<Integer>) () -> m_snapshot.size);
+        m_metricRegistry.register("pendingUpdates", (Gauge<Integer>) () -> m_snapshot.pendingUpdates.size());
     }
 
     @PostConstruct
@@ -251,6 +313,13 @@ public class InterfaceToNodeCacheDaoImpl extends AbstractInterfaceToNodeCache im
         m_nodeDao = nodeDao;
     }
 
+    /**
+     * Exposes the lookup and synchronization latencies, and the size of the cache.
+     */
+    public MetricRegistry getMetricRegistry() {
+        return m_metricRegistry;
+    }
+
     public IpInterfaceDao getIpInterfaceDao() {
         return m_ipInterfaceDao;
     }
@@ -294,6 +363,7 @@ public class InterfaceToNodeCacheDaoImpl extends AbstractInterfaceToNodeCache im
          * in there
          */
         final SortedSetMultimap<Key, Value> newAlreadyDiscovered = Multimaps.newSortedSetMultimap(Maps.newHashMap(), TreeSet::new);
+        final com.codahale.metrics.Timer.Context ctx = m_syncTimer.time();
 
         // Fetch all non-deleted nodes
         final CriteriaBuilder builder = new CriteriaBuilder(OnmsNode.class);
@@ -311,14 +381,48 @@ public class InterfaceToNodeCacheDaoImpl extends AbstractInterfaceToNodeCache im
             }
         }
 
-        try {
-            m_lock.writeLock().lock();
+        final int size;
+        synchronized (m_writeLock) {
             m_managedAddresses = newAlreadyDiscovered;
-        } finally {
-            m_lock.writeLock().unlock();
+            rebuildIndex();
+            size = m_managedAddresses.size();
+        }
+        ctx.stop();
+
+        LOG.info("dataSourceSync: initialized list of managed IP addresses with {} members", size);
+    }
+
+    /**
+     * Replaces the snapshot with one built from all of the managed addresses.
+     */
+    private void rebuildIndex() {
+        try (com.codahale.metrics.Timer.Context ctx = m_indexTimer.time()) {
+            final InterfaceToNodeIndex.Builder builder = InterfaceToNodeIndex.builder();
+            for (final Map.Entry<Key, Collection<Value>> entry : m_managedAddresses.asMap().entrySet()) {
+                builder.put(entry.getKey().getLocation(), entry.getKey().getIpAddress(), toEntry((SortedSet<Value>) entry.getValue()));
+            }
+            m_snapshot = new Snapshot(builder.build(), Map.of(), m_managedAddresses.size());
+        }
+    }
+
+    /**
+     * Publishes the current values of the given keys in a new snapshot.
+     */
+    private void updateIndex(final Collection<Key> keys) {
+        final Snapshot snapshot = m_snapshot;
+        if (snapshot.pendingUpdates.size() + keys.size() > MAX_PENDING_UPDATES) {
+            rebuildIndex();
+            return;
+        }
+        final Map<Key, Optional<Entry>> pendingUpdates = new HashMap<>(snapshot.pendingUpdates);
+        for (final Key key : keys) {
+            pendingUpdates.put(key, toEntry(m_managedAddresses.get(key)));
         }
+        m_snapshot = new Snapshot(snapshot.index, pendingUpdates, m_managedAddresses.size());
+    }
 
-        LOG.info("dataSourceSync: initialized list of managed IP addresses with {} members", m_managedAddresses.size());
+    private static Optional<Entry> toEntry(final SortedSet<Value> values) {
+        return values.isEmpty() ? Optional.empty() : Optional.of(new Entry(values.first().nodeId, values.first().interfaceId));
     }
 
     @Override
@@ -327,12 +431,14 @@ public class InterfaceToNodeCacheDaoImpl extends AbstractInterfaceToNodeCache im
             return Optional.empty();
         }
         waitForInitialNodeSync();
-        m_lock.readLock().lock();
+        if (ThreadLocalRandom.current().nextInt(LOOKUP_TIMER_SAMPLE_RATE) != 0) {
+            return m_snapshot.lookup(location, ipAddr);
+        }
+        final long start = System.nanoTime();
         try {
-            var values = m_managedAddresses.get(new Key(location, ipAddr));
-            return values.isEmpty() ? Optional.empty() : Optional.of(new Entry(values.first().nodeId, values.first().interfaceId));
+            return m_snapshot.lookup(location, ipAddr);
         } finally {
-            m_lock.readLock().unlock();
+            m_lookupTimer.update(System.nanoTime() - start, TimeUnit.NANOSECONDS);
         }
     }
 
@@ -365,11 +471,13 @@ public class InterfaceToNodeCacheDaoImpl extends AbstractInterfaceToNodeCache im
 
         LOG.debug("setNodeId: adding IP address to cache: {}:{} -> {}", location, str(addr), nodeid);
 
-        m_lock.writeLock().lock();
-        try {
-            return m_managedAddresses.put(new Key(location, addr), new Value(nodeid, iface.getId(), iface.getIsSnmpPrimary()));
-        } finally {
-            m_lock.writeLock().unlock();
+        synchronized (m_writeLock) {
+            final Key key = new Key(location, addr);
+            final boolean added = m_managedAddresses.put(key, new Value(nodeid, iface.getId(), iface.getIsSnmpPrimary()));
+            if (added) {
+                updateIndex(List.of(key));
+            }
+            return added;
         }
     }
 
@@ -388,40 +496,33 @@ public class InterfaceToNodeCacheDaoImpl extends AbstractInterfaceToNodeCache im
 
         LOG.debug("removeNodeId: removing IP address from cache: {}:{}", location, str(address));
 
-        m_lock.writeLock().lock();
-        try {
+        synchronized (m_writeLock) {
             final Key key = new Key(location, address);
-            return m_managedAddresses.get(key).removeIf(e -> e.nodeId == nodeId);
-        } finally {
-            m_lock.writeLock().unlock();
+            final boolean removed = m_managedAddresses.get(key).removeIf(e -> e.nodeId == nodeId);
+            if (removed) {
+                updateIndex(List.of(key));
+            }
+            return removed;
         }
     }
 
     @Override
     public int size() {
         waitForInitialNodeSync();
-        m_lock.readLock().lock();
-        try {
-            return m_managedAddresses.size();
-        } finally {
-            m_lock.readLock().unlock();
-        }
+        return m_snapshot.size;
     }
 
     @Override
     public void clear() {
-        m_lock.writeLock().lock();
-        try {
+        synchronized (m_writeLock) {
             m_managedAddresses.clear();
-        } finally {
-            m_lock.writeLock().unlock();
+            rebuildIndex();
         }
     }
 
     @Override
     public void removeInterfacesForNode(int nodeId) {
-        m_lock.writeLock().lock();
-        try {
+        synchronized (m_writeLock) {
             List<Map.Entry<Key, Value>> keyValues = m_managedAddresses.entries().stream()
                     .filter(keyValueEntry -> keyValueEntry.getValue().getNodeId() == nodeId)
                     .collect(Collectors.toList());
@@ -431,8 +532,9 @@ public class InterfaceToNodeCacheDaoImpl extends AbstractInterfaceToNodeCache im
                     LOG.debug("removeInterfacesForNode: removed IP address from cache: {}", str(keyValue.getKey().getIpAddress()));
                 }
             });
-        } finally {
-            m_lock.writeLock().unlock();
+            if (!keyValues.isEmpty()) {
+                updateIndex(keyValues.stream().map(Map.Entry::getKey).distinct().collect(Collectors.toList()));
+            }
         }
     }
 }
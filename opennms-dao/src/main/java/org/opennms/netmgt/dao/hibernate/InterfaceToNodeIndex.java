@@ -0,0 +1,233 @@
+/*
+ * Licensed to The OpenNMS Group, Inc (TOG) under one or more
+ * contributor license agreements.  See the LICENSE.md file
+ * distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * TOG licenses this file to You under the GNU Affero General
+ * Public License Version 3 (the "License") or (at your option)
+ * any later version.  You may not use this file except in
+ * compliance with the License.  You may obtain a copy of the
+ * License at:
+ *
+ *      https://www.gnu.org/licenses/agpl-3.0.txt
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied.  See the License for the specific
+ * language governing permissions and limitations under the
+ * License.
+ */
+package org.opennms.netmgt.dao.hibernate;
+
+import java.net.Inet4Address;
+import java.net.InetAddress;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import org.opennms.core.utils.LocationUtils;
+import org.opennms.netmgt.dao.api.InterfaceToNodeCache.Entry;
+
+/**
+ * An immutable index from (location, IP address) to the first matching entry.
+ *
+ * IPv4 addresses are stored as ints and IPv6 addresses as pairs of longs, in
+ * open-addressing tables per location. The entries are stored as pre-built
+ * {@link Optional}s, so that looking up an IPv4 address does not allocate.
+ *
+ * An empty {@link Optional} is stored for addresses that were removed, which lets an
+ * index be layered on top of another one.
+ */
+final class InterfaceToNodeIndex {
+
+    static final InterfaceToNodeIndex EMPTY = new Builder().build();
+
+    private final Map<String, LocationIndex> locations;
+
+    private final int size;
+
+    private InterfaceToNodeIndex(final Map<String, LocationIndex> locations, final int size) {
+        this.locations = locations;
+        this.size = size;
+    }
+
+    /**
+     * Returns the entry for the given address, an empty {@link Optional} if the address
+     * was removed, or null if this index does not know about the address at all.
+     */
+    Optional<Entry> lookup(final String location, final InetAddress address) {
+        final LocationIndex index = locations.get(LocationUtils.getEffectiveLocationName(location));
+        if (index == null) {
+            return null;
+        }
+        if (address instanceof Inet4Address) {
+            // The hash code of an IPv4 address is the address itself
+            return index.lookup(address.hashCode());
+        }
+        final byte[] bytes = address.getAddress();
+        return index.lookup(toLong(bytes, 0), toLong(bytes, 8));
+    }
+
+    /**
+     * Returns the number of addresses in this index, including the removed ones.
+     */
+    int size() {
+        return size;
+    }
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    static Builder builder() {
+        return new Builder();
+    }
+
+    static final class Builder {
+        private final Map<String, List<Item>> items = new HashMap<>();
+        private int size = 0;
+
+        private Builder() {
+        }
+
+        /**
+         * Adds the given address, use an empty entry to mark the address as removed.
+         */
+        Builder put(final String location, final InetAddress address, final Optional<Entry> entry) {
+            items.computeIfAbsent(LocationUtils.getEffectiveLocationName(location), l -> new ArrayList<>())
+                    .add(new Item(address, entry));
+            size++;
+            return this;
+        }
+
+        InterfaceToNodeIndex build() {
+            final Map<String, LocationIndex> locations = new HashMap<>();
+            for (final Map.Entry<String, List<Item>> location : items.entrySet()) {
+                locations.put(location.getKey(), new LocationIndex(location.getValue()));
+            }
+            return new InterfaceToNodeIndex(locations, size);
+        }
+    }
+
+    private static final class Item {
+        private final InetAddress address;
+        private final Optional<Entry> entry;
+
+        private Item(final InetAddress address, final Optional<Entry> entry) {
+            this.address = address;
+            this.entry = entry;
+        }
+    }
+
+    private static final class LocationIndex {
+        private final int[] keys4;
+        private final Optional<?>[] values4;
+        private final int mask4;
+
+        private final long[] keys6High;
+        private final long[] keys6Low;
+        private final Optional<?>[] values6;
+        private final int mask6;
+
+        private LocationIndex(final List<Item> items) {
+            int count4 = 0;
+            for (final Item item : items) {
+                if (item.address instanceof Inet4Address) {
+                    count4++;
+                }
+            }
+            final int count6 = items.size() - count4;
+
+            final int capacity4 = capacityFor(count4);
+            keys4 = new int[capacity4];
+            values4 = new Optional<?>[capacity4];
+            mask4 = capacity4 - 1;
+
+            final int capacity6 = capacityFor(count6);
+            keys6High = new long[capacity6];
+            keys6Low = new long[capacity6];
+            values6 = new Optional<?>[capacity6];
+            mask6 = capacity6 - 1;
+
+            for (final Item item : items) {
+                final InetAddress address = item.address;
+                final Optional<Entry> value = item.entry;
+                if (address instanceof Inet4Address) {
+                    final int key = address.hashCode();
+                    int slot = hash(key) & mask4;
+                    while (values4[slot] != null && keys4[slot] != key) {
+                        slot = (slot + 1) & mask4;
+                    }
+                    keys4[slot] = key;
+                    values4[slot] = value;
+                } else {
+                    final byte[] bytes = address.getAddress();
+                    final long high = toLong(bytes, 0);
+                    final long low = toLong(bytes, 8);
+                    int slot = hash(high, low) & mask6;
+                    while (values6[slot] != null && (keys6High[slot] != high || keys6Low[slot] != low)) {
+                        slot = (slot + 1) & mask6;
+                    }
+                    keys6High[slot] = high;
+                    keys6Low[slot] = low;
+                    values6[slot] = value;
+                }
+            }
+        }
+
+        @SuppressWarnings("unchecked")
+        private Optional<Entry> lookup(final int key) {
+            int slot = hash(key) & mask4;
+            Optional<?> value;
+            while ((value = values4[slot]) != null) {
+                if (keys4[slot] == key) {
+                    return (Optional<Entry>) value;
+                }
+                slot = (slot + 1) & mask4;
+            }
+            return null;
+        }
+
+        @SuppressWarnings("unchecked")
+        private Optional<Entry> lookup(final long high, final long low) {
+            int slot = hash(high, low) & mask6;
+            Optional<?> value;
+            while ((value = values6[slot]) != null) {
+                if (keys6High[slot] == high && keys6Low[slot] == low) {
+                    return (Optional<Entry>) value;
+                }
+                slot = (slot + 1) & mask6;
+            }
+            return null;
+        }
+
+        /**
+         * Keeps the load factor at or below 0.5 so that probe sequences stay short.
+         */
+        private static int capacityFor(final int count) {
+            return Integer.highestOneBit(Math.max(1, count) * 2 - 1) << 1;
+        }
+    }
+
+    private static int hash(final int key) {
+        final int h = key * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+
+    private static int hash(final long high, final long low) {
+        final long h = (high * 0x9E3779B97F4A7C15L) ^ low;
+        return hash((int) (h ^ (h >>> 32)));
+    }
+
+    private static long toLong(final byte[] bytes, final int offset) {
+        long value = 0;
+        for (int i = offset; i < offset + 8; i++) {
+            value = (value << 8) | (bytes[i] & 0xFF);
+        }
+        return value;
+    }
+}
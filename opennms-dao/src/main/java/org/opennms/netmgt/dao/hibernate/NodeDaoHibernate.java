@@ -385,6 +385,21 @@ public class NodeDaoHibernate extends AbstractDaoHibernate<OnmsNode, Integer> im
         return Collections.unmodifiableMap(foreignIdMap);
     }
 
+    /** {@inheritDoc} */
+    @Override
+    public Map<String, String> getForeignIdToMetaDataMap(final String foreignSource, final String context, final String key) {
+        final List<Object[]> pairs = getHibernateTemplate().execute(session -> (List<Object[]>) session.createSQLQuery("SELECT n.foreignid, m.value FROM node n, node_metadata m WHERE m.id = n.nodeid AND n.foreignsource = :foreignSource AND m.context = :context AND m.key = :key")
+                .setString("foreignSource", foreignSource)
+                .setString("context", context)
+                .setString("key", key)
+                .list());
+        final Map<String, String> metaDataMap = new HashMap<String, String>();
+        for (Object[] pair : pairs) {
+            metaDataMap.put((String)pair[0], (String)pair[1]);
+        }
+        return Collections.unmodifiableMap(metaDataMap);
+    }
+
     /** {@inheritDoc} */
     @Override
     public List<OnmsNode> findByForeignSource(String foreignSource) {
@@ -27,6 +27,7 @@ import org.opennms.netmgt.events.api.EventConstants;
 import org.opennms.netmgt.events.api.annotations.EventHandler;
 import org.opennms.netmgt.events.api.annotations.EventListener;
 import org.opennms.netmgt.events.api.model.IEvent;
+import org.opennms.netmgt.model.OnmsIpInterface;
 import org.opennms.netmgt.model.OnmsNode;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -56,6 +57,53 @@ public class InterfaceToNodeCacheEventProcessor implements InitializingBean {
         // The same is true for refreshing the cache
     }
 
+    @EventHandler(uei=EventConstants.NODE_ADDED_EVENT_UEI)
+    @Transactional
+    public void handleNodeAdded(IEvent event) {
+        LOG.debug("Received event: {}", event.getUei());
+        Long nodeId = event.getNodeid();
+        if (nodeId == null) {
+            LOG.error(EventConstants.NODE_ADDED_EVENT_UEI + ": Event with no node ID: " + event.toString());
+            return;
+        }
+        OnmsNode node = m_nodeDao.get(nodeId.intValue());
+        if (node == null) {
+            LOG.warn(EventConstants.NODE_ADDED_EVENT_UEI + ": Cannot find node in DB: " + nodeId);
+            return;
+        }
+        // add the interfaces the node was created with
+        addInterfacesForNode(node);
+    }
+
+    @EventHandler(uei=EventConstants.NODE_LOCATION_CHANGED_EVENT_UEI)
+    @Transactional
+    public void handleNodeLocationChanged(IEvent event) {
+        LOG.debug("Received event: {}", event.getUei());
+        Long nodeId = event.getNodeid();
+        if (nodeId == null) {
+            LOG.error(EventConstants.NODE_LOCATION_CHANGED_EVENT_UEI + ": Event with no node ID: " + event.toString());
+            return;
+        }
+        OnmsNode node = m_nodeDao.get(nodeId.intValue());
+        if (node == null) {
+            LOG.warn(EventConstants.NODE_LOCATION_CHANGED_EVENT_UEI + ": Cannot find node in DB: " + nodeId);
+            return;
+        }
+        // re-add the interfaces under the new location
+        m_cache.removeInterfacesForNode(node.getId());
+        addInterfacesForNode(node);
+    }
+
+    private void addInterfacesForNode(OnmsNode node) {
+        for (final OnmsIpInterface iface : node.getIpInterfaces()) {
+            // Skip deleted interfaces
+            if ("D".equals(iface.getIsManaged())) {
+                continue;
+            }
+            m_cache.setNodeId(node.getLocation().getLocationName(), iface.getIpAddress(), node.getId());
+        }
+    }
+
     @EventHandler(uei=EventConstants.NODE_GAINED_INTERFACE_EVENT_UEI)
     @Transactional
     public void handleNodeGainedInterface(IEvent event) {
@@ -0,0 +1,98 @@
+/*
+ * Licensed to The OpenNMS Group, Inc (TOG) under one or more
+ * contributor license agreements.  See the LICENSE.md file
+ * distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * TOG licenses this file to You under the GNU Affero General
+ * Public License Version 3 (the "License") or (at your option)
+ * any later version.  You may not use this file except in
+ * compliance with the License.  You may obtain a copy of the
+ * License at:
+ *
+ *      https://www.gnu.org/licenses/agpl-3.0.txt
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied.  See the License for the specific
+ * language governing permissions and limitations under the
+ * License.
+ */
+package org.opennms.netmgt.dao.hibernate;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+import java.net.InetAddress;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Random;
+
+import org.junit.Test;
+import org.opennms.core.utils.InetAddressUtils;
+import org.opennms.netmgt.dao.api.InterfaceToNodeCache.Entry;
+
+public class InterfaceToNodeIndexTest {
+
+    @Test
+    public void canLookupAddresses() {
+        final Optional<Entry> v4 = Optional.of(new Entry(1, 10));
+        final Optional<Entry> v6 = Optional.of(new Entry(2, 20));
+        final Optional<Entry> other = Optional.of(new Entry(3, 30));
+        final InterfaceToNodeIndex index = InterfaceToNodeIndex.builder()
+                .put(null, InetAddressUtils.addr("10.0.0.1"), v4)
+                .put("Default", InetAddressUtils.addr("fe80::1"), v6)
+                .put("Remote", InetAddressUtils.addr("10.0.0.1"), other)
+                .put("Remote", InetAddressUtils.addr("10.0.0.2"), Optional.empty())
+                .build();
+
+        assertEquals(4, index.size());
+        // A missing location is the default location
+        assertSame(v4, index.lookup("Default", InetAddressUtils.addr("10.0.0.1")));
+        assertSame(v6, index.lookup(null, InetAddressUtils.addr("fe80::1")));
+        assertSame(other, index.lookup("Remote", InetAddressUtils.addr("10.0.0.1")));
+        // Removed addresses are known to the index, but have no entry
+        assertFalse(index.lookup("Remote", InetAddressUtils.addr("10.0.0.2")).isPresent());
+        assertNull(index.lookup("Default", InetAddressUtils.addr("10.0.0.2")));
+        assertNull(index.lookup("Default", InetAddressUtils.addr("fe80::2")));
+        assertNull(index.lookup("Unknown", InetAddressUtils.addr("10.0.0.1")));
+    }
+
+    @Test
+    public void canLookupManyAddresses() throws Exception {
+        final Random random = new Random(42);
+        final Map<InetAddress, Optional<Entry>> expected = new HashMap<>();
+        final InterfaceToNodeIndex.Builder builder = InterfaceToNodeIndex.builder();
+        for (int i = 0; i < 50000; i++) {
+            final byte[] bytes = new byte[random.nextInt(4) == 0 ? 16 : 4];
+            random.nextBytes(bytes);
+            final InetAddress address = InetAddress.getByAddress(bytes);
+            if (expected.containsKey(address)) {
+                continue;
+            }
+            final Optional<Entry> entry = Optional.of(new Entry(i, i));
+            expected.put(address, entry);
+            builder.put("Default", address, entry);
+        }
+        final InterfaceToNodeIndex index = builder.build();
+
+        for (final Map.Entry<InetAddress, Optional<Entry>> entry : expected.entrySet()) {
+            assertSame(entry.getValue(), index.lookup("Default", entry.getKey()));
+        }
+        int misses = 0;
+        for (int i = 0; i < 10000; i++) {
+            final byte[] bytes = new byte[4];
+            random.nextBytes(bytes);
+            final InetAddress address = InetAddress.getByAddress(bytes);
+            if (!expected.containsKey(address)) {
+                assertNull(index.lookup("Default", address));
+                misses++;
+            }
+        }
+        assertEquals(true, misses > 0);
+    }
+}
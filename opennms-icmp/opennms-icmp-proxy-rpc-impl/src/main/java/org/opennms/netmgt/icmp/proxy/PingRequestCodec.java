@@ -0,0 +1,74 @@
+/*
+ * Licensed to The OpenNMS Group, Inc (TOG) under one or more
+ * contributor license agreements.  See the LICENSE.md file
+ * distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * TOG licenses this file to You under the GNU Affero General
+ * Public License Version 3 (the "License") or (at your option)
+ * any later version.  You may not use this file except in
+ * compliance with the License.  You may obtain a copy of the
+ * License at:
+ *
+ *      https://www.gnu.org/licenses/agpl-3.0.txt
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied.  See the License for the specific
+ * language governing permissions and limitations under the
+ * License.
+ */
+package org.opennms.netmgt.icmp.proxy;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+
+import org.opennms.core.xml.BinaryCodec;
+import org.opennms.netmgt.icmp.proxy.model.PingRpcProtos;
+
+import com.google.protobuf.ByteString;
+
+/**
+ * Encodes {@link PingRequestDTO}s with the protobuf messages generated from <code>ping-rpc.proto</code>.
+ */
+class PingRequestCodec implements BinaryCodec<PingRequestDTO> {
+
+    @Override
+    public void encode(PingRequestDTO request, OutputStream out) throws IOException {
+        final PingRpcProtos.PingRequest.Builder builder = PingRpcProtos.PingRequest.newBuilder()
+                .setRetries(request.getRetries())
+                .setTimeout(request.getTimeout())
+                .setPacketSize(request.getPacketSize());
+        if (request.getInetAddress() != null) {
+            builder.setAddress(ByteString.copyFrom(request.getInetAddress().getAddress()));
+        }
+        if (request.getLocation() != null) {
+            builder.setLocation(request.getLocation());
+        }
+        if (request.getSystemId() != null) {
+            builder.setSystemId(request.getSystemId());
+        }
+        builder.build().writeTo(out);
+    }
+
+    @Override
+    public PingRequestDTO decode(byte[] bytes, int offset, int length) throws IOException {
+        final PingRpcProtos.PingRequest message = PingRpcProtos.PingRequest.parser().parseFrom(bytes, offset, length);
+        final PingRequestDTO request = new PingRequestDTO();
+        if (message.hasAddress()) {
+            request.setInetAddress(InetAddress.getByAddress(message.getAddress().toByteArray()));
+        }
+        if (message.hasLocation()) {
+            request.setLocation(message.getLocation());
+        }
+        if (message.hasSystemId()) {
+            request.setSystemId(message.getSystemId());
+        }
+        request.setRetries(message.getRetries());
+        request.setTimeout(message.getTimeout());
+        request.setPacketSize(message.getPacketSize());
+        return request;
+    }
+}
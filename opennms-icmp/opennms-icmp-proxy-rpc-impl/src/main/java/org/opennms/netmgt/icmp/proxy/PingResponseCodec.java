@@ -0,0 +1,55 @@
+/*
+ * Licensed to The OpenNMS Group, Inc (TOG) under one or more
+ * contributor license agreements.  See the LICENSE.md file
+ * distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * TOG licenses this file to You under the GNU Affero General
+ * Public License Version 3 (the "License") or (at your option)
+ * any later version.  You may not use this file except in
+ * compliance with the License.  You may obtain a copy of the
+ * License at:
+ *
+ *      https://www.gnu.org/licenses/agpl-3.0.txt
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied.  See the License for the specific
+ * language governing permissions and limitations under the
+ * License.
+ */
+package org.opennms.netmgt.icmp.proxy;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+import org.opennms.core.xml.BinaryCodec;
+import org.opennms.netmgt.icmp.proxy.model.PingRpcProtos;
+
+/**
+ * Encodes {@link PingResponseDTO}s with the protobuf messages generated from <code>ping-rpc.proto</code>.
+ */
+class PingResponseCodec implements BinaryCodec<PingResponseDTO> {
+
+    @Override
+    public void encode(PingResponseDTO response, OutputStream out) throws IOException {
+        final PingRpcProtos.PingResponse.Builder builder = PingRpcProtos.PingResponse.newBuilder()
+                .setRtt(response.getRtt());
+        if (response.getErrorMessage() != null) {
+            builder.setError(response.getErrorMessage());
+        }
+        builder.build().writeTo(out);
+    }
+
+    @Override
+    public PingResponseDTO decode(byte[] bytes, int offset, int length) throws IOException {
+        final PingRpcProtos.PingResponse message = PingRpcProtos.PingResponse.parser().parseFrom(bytes, offset, length);
+        final PingResponseDTO response = new PingResponseDTO();
+        if (message.hasError()) {
+            response.setErrorMessage(message.getError());
+        }
+        response.setRtt(message.getRtt());
+        return response;
+    }
+}
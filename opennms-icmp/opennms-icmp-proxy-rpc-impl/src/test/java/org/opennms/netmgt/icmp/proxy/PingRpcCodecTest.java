@@ -0,0 +1,86 @@
+/*
+ * Licensed to The OpenNMS Group, Inc (TOG) under one or more
+ * contributor license agreements.  See the LICENSE.md file
+ * distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * TOG licenses this file to You under the GNU Affero General
+ * Public License Version 3 (the "License") or (at your option)
+ * any later version.  You may not use this file except in
+ * compliance with the License.  You may obtain a copy of the
+ * License at:
+ *
+ *      https://www.gnu.org/licenses/agpl-3.0.txt
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied.  See the License for the specific
+ * language governing permissions and limitations under the
+ * License.
+ */
+package org.opennms.netmgt.icmp.proxy;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.net.InetAddress;
+
+import org.junit.Test;
+import org.opennms.core.rpc.xml.AbstractXmlRpcModule;
+
+public class PingRpcCodecTest {
+
+    private final PingProxyRpcModule module = new PingProxyRpcModule();
+
+    @Test
+    public void canMarshalAndUnmarshalRequests() throws Exception {
+        final PingRequestDTO request = new PingRequestDTO();
+        request.setLocation("MINION");
+        request.setSystemId("minion-1");
+        request.setInetAddress(InetAddress.getByName("10.0.0.1"));
+        request.setRetries(2);
+        request.setTimeout(800);
+        request.setPacketSize(64);
+
+        final String property = AbstractXmlRpcModule.FORMAT_SYS_PROP_PREFIX + PingProxyRpcModule.RPC_MODULE_ID + AbstractXmlRpcModule.FORMAT_SYS_PROP_SUFFIX;
+        System.setProperty(property, AbstractXmlRpcModule.FORMAT_BINARY);
+        try {
+            final String binary = new PingProxyRpcModule().marshalRequest(request);
+            assertTrue(binary.startsWith(AbstractXmlRpcModule.BINARY_PREFIX));
+            assertEquals(request, module.unmarshalRequest(binary));
+        } finally {
+            System.clearProperty(property);
+        }
+
+        // Requests are sent as XML unless told otherwise
+        final String xml = new PingProxyRpcModule().marshalRequest(request);
+        assertTrue(xml.startsWith("<?xml"));
+        assertEquals(request, module.unmarshalRequest(xml));
+    }
+
+    @Test
+    public void canMarshalAndUnmarshalResponses() throws Exception {
+        final PingResponseDTO response = new PingResponseDTO();
+        response.setRtt(10.253);
+
+        final String property = AbstractXmlRpcModule.FORMAT_SYS_PROP_PREFIX + PingProxyRpcModule.RPC_MODULE_ID + AbstractXmlRpcModule.FORMAT_SYS_PROP_SUFFIX;
+        System.setProperty(property, AbstractXmlRpcModule.FORMAT_BINARY);
+        try {
+            final PingProxyRpcModule binaryModule = new PingProxyRpcModule();
+            final String binary = binaryModule.marshalResponse(response);
+            assertTrue(binary.startsWith(AbstractXmlRpcModule.BINARY_PREFIX));
+            assertEquals(response, module.unmarshalResponse(binary));
+
+            final PingResponseDTO error = new PingResponseDTO(new IllegalStateException("failed"));
+            assertEquals(error, module.unmarshalResponse(binaryModule.marshalResponse(error)));
+        } finally {
+            System.clearProperty(property);
+        }
+
+        // Responses are sent as XML unless told otherwise, since older versions only understand XML
+        final String xml = new PingProxyRpcModule().marshalResponse(response);
+        assertTrue(xml.startsWith("<?xml"));
+        assertEquals(response, module.unmarshalResponse(xml));
+    }
+}
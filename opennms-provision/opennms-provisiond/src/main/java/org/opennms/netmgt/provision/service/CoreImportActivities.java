@@ -55,6 +55,11 @@ import static org.opennms.netmgt.provision.service.ImportJob.MONITOR;
 @ActivityProvider
 public class CoreImportActivities {
     private static final Logger LOG = LoggerFactory.getLogger(CoreImportActivities.class);
+
+    /**
+     * Skip the nodes whose requisition did not change since they were last imported.
+     */
+    public static final String DIFFERENTIAL_IMPORT_PROPERTY = "org.opennms.provisiond.differentialImport";
     
     private final ProvisionService m_provisionService;
     
@@ -99,8 +104,13 @@ public class CoreImportActivities {
         final ImportOperationsManager opsMgr = new ImportOperationsManager(foreignIdsToNodes, m_provisionService, rescanExisting);
         
         opsMgr.setForeignSource(foreignSource);
+        if (Boolean.getBoolean(DIFFERENTIAL_IMPORT_PROPERTY)) {
+            opsMgr.setRequisitionHashes(m_provisionService.getForeignIdToRequisitionHashMap(foreignSource));
+        }
         opsMgr.auditNodes(specFile, monitor.getName());
 
+        info("Audited nodes for requisition {}: {} to insert, {} to update, {} to delete, {} unchanged.", specFile, opsMgr.getInsertCount(), opsMgr.getUpdateCount(), opsMgr.getDeleteCount(), opsMgr.getUnchangedCount());
+        monitor.auditedNodes(opsMgr.getInsertCount() + opsMgr.getUpdateCount(), opsMgr.getUnchangedCount());
         monitor.finishAuditNodes();
         debug("Finished auditing nodes.");
         return opsMgr;
@@ -102,7 +102,9 @@ import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.core.io.Resource;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.util.Assert;
 
 import com.google.common.base.Strings;
@@ -522,6 +524,34 @@ public class DefaultProvisionService implements ProvisionService, InitializingBe
         }.execute();
     }
 
+    /** {@inheritDoc} */
+    @Override
+    public List<OnmsIpInterface> updateInterfaceAttributes(final Integer nodeId, final List<OnmsSnmpInterface> snmpInterfaces, final List<OnmsIpInterface> ipInterfaces, final String monitorKey) {
+        // every interface gets its own transaction, so a failing interface neither rolls back the others
+        // nor keeps the table locks of the upserts until all the interfaces of the node are written
+        final TransactionTemplate template = new TransactionTemplate(m_transactionManager);
+        template.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+
+        for (final OnmsSnmpInterface snmpInterface : snmpInterfaces) {
+            try {
+                template.execute(status -> updateSnmpInterfaceAttributes(nodeId, snmpInterface));
+            } catch (final RuntimeException e) {
+                LOG.warn("Failed to update SnmpInterface with ifIndex {} on node {}", snmpInterface.getIfIndex(), nodeId, e);
+            }
+        }
+
+        final List<OnmsIpInterface> updated = new ArrayList<>(ipInterfaces.size());
+        for (final OnmsIpInterface ipInterface : ipInterfaces) {
+            try {
+                template.execute(status -> updateIpInterfaceAttributes(nodeId, ipInterface, monitorKey));
+                updated.add(ipInterface);
+            } catch (final RuntimeException e) {
+                LOG.warn("Failed to update IpInterface {} on node {}", str(ipInterface.getIpAddress()), nodeId, e);
+            }
+        }
+        return updated;
+    }
+
     private OnmsMonitoredService addMonitoredService(final OnmsIpInterface iface, final String svcName, final String monitorKey, List<OnmsMetaData> metaData) {
         final OnmsServiceType svcType = createServiceTypeIfNecessary(svcName);
 
@@ -725,6 +755,13 @@ public class DefaultProvisionService implements ProvisionService, InitializingBe
         return m_nodeDao.getForeignIdToNodeIdMap(foreignSource);
     }
 
+    /** {@inheritDoc} */
+    @Transactional(readOnly=true)
+    @Override
+    public Map<String, String> getForeignIdToRequisitionHashMap(final String foreignSource) {
+        return m_nodeDao.getForeignIdToMetaDataMap(foreignSource, RequisitionNodeHash.META_DATA_CONTEXT, RequisitionNodeHash.META_DATA_KEY);
+    }
+
     /** {@inheritDoc} */
     @Override
     @Transactional
@@ -29,19 +29,25 @@ import static org.opennms.netmgt.provision.service.ProvisionService.LOCATION;
 import static org.opennms.netmgt.provision.service.ProvisionService.NODE_ID;
 
 import java.net.InetAddress;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
 
 import org.apache.commons.lang.builder.ToStringBuilder;
 import org.opennms.core.tasks.BatchTask;
@@ -293,6 +299,40 @@ public class NodeScan implements Scan {
         return getTaskCoordinator().createBatch().add(NodeScan.this).get();
     }
 
+    /**
+     * Waits for all the given walks of an agent to complete. As soon as one of them fails, the other walks are
+     * cancelled and the scan is aborted with the given callback, rather than waiting for the remaining walks.
+     *
+     * @param walks the walks, by the tables they are walking
+     * @param abort called with the reason when the scan must be aborted
+     * @return true if all the walks completed successfully
+     */
+    static boolean awaitWalks(final Map<String, CompletableFuture<?>> walks, final Consumer<String> abort) {
+        final CompletableFuture<Void> done = new CompletableFuture<>();
+        walks.forEach((tables, walk) -> walk.whenComplete((result, t) -> {
+            if (t == null || t instanceof CancellationException) {
+                return;
+            }
+            final Throwable cause = t instanceof CompletionException && t.getCause() != null ? t.getCause() : t;
+            if (done.completeExceptionally(new IllegalStateException("Agent failed while scanning the " + tables + " : " + cause.getMessage(), cause))) {
+                walks.values().forEach(w -> w.cancel(true));
+            }
+        }));
+        CompletableFuture.allOf(walks.values().toArray(new CompletableFuture<?>[0])).thenRun(() -> done.complete(null));
+
+        try {
+            done.get();
+            return true;
+        } catch (final ExecutionException e) {
+            abort.accept("Aborting node scan : " + e.getCause().getMessage());
+        } catch (final InterruptedException e) {
+            walks.values().forEach(w -> w.cancel(true));
+            abort.accept("Aborting node scan : Scan thread interrupted while waiting for the " + String.join(", ", walks.keySet()));
+            Thread.currentThread().interrupt();
+        }
+        return false;
+    }
+
     /** {@inheritDoc} */
     @Override
     public void run(final BatchTask parent) {
@@ -318,41 +358,41 @@ public class NodeScan implements Scan {
                 new RunInBatch() {
                     @Override
                     public void run(final BatchTask phase) {
-                        Span span = getProvisionService().buildAndStartSpan("LoadNode", m_span.context());
+                        Span span = beginPhase("LoadNode", m_span);
                         loadNode(phase);
-                        span.finish();
+                        finishPhase("LoadNode", span);
                     }
                 },
                 new RunInBatch() {
                     @Override
                     public void run(final BatchTask phase) {
-                        Span span = getProvisionService().buildAndStartSpan("DetectAgents", m_span.context());
+                        Span span = beginPhase("DetectAgents", m_span);
                         detectAgents(phase);
-                        span.finish();
+                        finishPhase("DetectAgents", span);
                     }
                 },
                 new RunInBatch() {
                     @Override
                     public void run(final BatchTask phase) {
-                        Span span = getProvisionService().buildAndStartSpan("HandleAgentUndetected", m_span.context());
+                        Span span = beginPhase("HandleAgentUndetected", m_span);
                         handleAgentUndetected(phase);
-                        span.finish();
+                        finishPhase("HandleAgentUndetected", span);
                     }
                 },
                 new RunInBatch() {
                     @Override
                     public void run(final BatchTask phase) {
-                        Span span = getProvisionService().buildAndStartSpan("ApplyNodePolicies", m_span.context());
+                        Span span = beginPhase("ApplyNodePolicies", m_span);
                         applyNodePolicies(phase);
-                        span.finish();
+                        finishPhase("ApplyNodePolicies", span);
                     }
                 },
                 new RunInBatch() {
                     @Override
                     public void run(final BatchTask phase) {
-                        Span span = getProvisionService().buildAndStartSpan("ScanCompletedEvent", m_span.context());
+                        Span span = beginPhase("ScanCompletedEvent", m_span);
                         scanCompleted(phase);
-                        span.finish();
+                        finishPhase("ScanCompletedEvent", span);
                         m_span.finish();
                     }
                 });
@@ -515,7 +555,49 @@ public class NodeScan implements Scan {
             return m_agentConfigFactory;
         }
 
-        public void detectIpAddressTable(final BatchTask currentPhase) {
+        /**
+         * Walks the ifTable/ifXTable, the ipAddressTable and the ipAddrTable of the agent at the same time, and
+         * persists the interfaces found in all of them in a single write once the walks are complete.
+         *
+         * @param currentPhase a {@link org.opennms.core.tasks.BatchTask} object.
+         */
+        public void detectInterfaces(final BatchTask currentPhase) {
+            final OnmsNode node = getNode();
+            if (isAborted()) {
+                LOG.debug("'{}' is marked as aborted; skipping scan of the interface tables", currentPhase);
+                return;
+            }
+            Assert.notNull(getAgentConfigFactory(), "agentConfigFactory was not injected");
+
+            LOG.info("detecting interfaces for node {}/{}/{}", node.getId(), node.getForeignSource(), node.getForeignId());
+
+            final String locationName = node.getLocation() == null ? null : node.getLocation().getLocationName();
+            final SnmpAgentConfig agentConfig = getAgentConfigFactory().getAgentConfig(getAgentAddress(), locationName);
+
+            // start all the walks before waiting for any of them
+            final List<OnmsSnmpInterface> snmpInterfaces = new ArrayList<>();
+            final List<OnmsIpInterface> ipAddressTableInterfaces = new ArrayList<>();
+            final List<OnmsIpInterface> ipInterfaceTableInterfaces = new ArrayList<>();
+            final CompletableFuture<?> physIfWalk = walkPhysicalInterfaces(agentConfig, snmpInterfaces);
+            final CompletableFuture<?> ipAddressWalk = walkIpAddressTable(agentConfig, ipAddressTableInterfaces);
+            final CompletableFuture<?> ipInterfaceWalk = walkIpInterfaceTable(agentConfig, ipInterfaceTableInterfaces);
+
+            final Map<String, CompletableFuture<?>> walks = new LinkedHashMap<>();
+            walks.put("interfaces table", physIfWalk);
+            walks.put("IP address table", ipAddressWalk);
+            walks.put("IP interface table", ipInterfaceWalk);
+            if (!awaitWalks(walks, this::abort)) {
+                return;
+            }
+            LOG.debug("Finished phase {}", currentPhase);
+
+            // keep the order in which the tables used to be persisted, the IP interfaces refer to the SNMP interfaces
+            final List<OnmsIpInterface> ipInterfaces = new ArrayList<>(ipAddressTableInterfaces);
+            ipInterfaces.addAll(ipInterfaceTableInterfaces);
+            currentPhase.add(interfaceUpdater(currentPhase, snmpInterfaces, ipInterfaces), "write");
+        }
+
+        private CompletableFuture<?> walkIpAddressTable(final SnmpAgentConfig agentConfig, final List<OnmsIpInterface> ipInterfaces) {
             final OnmsNode node = getNode();
 
             LOG.debug("Attempting to scan the IPAddress table for node {}", node);
@@ -576,16 +658,16 @@ public class NodeScan implements Scan {
                         }
 
                         if (iface != null) {
-                            currentPhase.add(ipUpdater(currentPhase, iface), "write");
+                            ipInterfaces.add(iface);
                         }
                     }
                 }
             };
 
-            walkTable(currentPhase, provisionedIps, ipAddressTracker);
+            return walkTable(agentConfig, provisionedIps, ipAddressTracker, ipInterfaces);
         }
 
-        public void detectIpInterfaceTable(final BatchTask currentPhase) {
+        private CompletableFuture<?> walkIpInterfaceTable(final SnmpAgentConfig agentConfig, final List<OnmsIpInterface> ipInterfaces) {
             final OnmsNode node = getNode();
 
             LOG.debug("Attempting to scan the IPInterface table for node {}", node);
@@ -650,66 +732,42 @@ public class NodeScan implements Scan {
                         }
 
                         if (iface != null) {
-                            currentPhase.add(ipUpdater(currentPhase, iface), "write");
+                            ipInterfaces.add(iface);
                         }
                     }
                 }
             };
 
-            walkTable(currentPhase, provisionedIps, ipIfTracker);
+            return walkTable(agentConfig, provisionedIps, ipIfTracker, ipInterfaces);
         }
 
-        private void walkTable(final BatchTask currentPhase, final Set<InetAddress> provisionedIps,
-                final TableTracker tracker) {
+        private CompletableFuture<?> walkTable(final SnmpAgentConfig agentConfig, final Set<InetAddress> provisionedIps,
+                final TableTracker tracker, final List<OnmsIpInterface> ipInterfaces) {
             final OnmsNode node = getNode();
             LOG.info("detecting IP interfaces for node {}/{}/{} using table tracker {}", node.getId(),
                     node.getForeignSource(), node.getForeignId(), tracker);
 
-            if (isAborted()) {
-                LOG.debug("'{}' is marked as aborted; skipping scan of table {}", currentPhase, tracker);
-            } else {
-                Assert.notNull(getAgentConfigFactory(), "agentConfigFactory was not injected");
-
-                try {
-                    String locationName = node.getLocation() == null ? null : node.getLocation().getLocationName();
-                    final SnmpAgentConfig agentConfig = getAgentConfigFactory().getAgentConfig(getAgentAddress(),
-                            locationName);
-                    m_provisionService.getLocationAwareSnmpClient().walk(agentConfig, tracker)
-                            .withDescription("IP address tables")
-                            .withLocation(getLocationName())
-                            .execute()
-                            .get();
-
-                    // After processing the SNMP provided interfaces then we need to scan any that
-                    // were provisioned but missing from the ip table
-                    for (final InetAddress ipAddr : provisionedIps) {
-                        final OnmsIpInterface iface = node.getIpInterfaceByIpAddress(ipAddr);
+            return m_provisionService.getLocationAwareSnmpClient().walk(agentConfig, tracker)
+                    .withDescription("IP address tables")
+                    .withLocation(getLocationName())
+                    .execute()
+                    .thenRun(() -> {
+                        // After processing the SNMP provided interfaces then we need to scan any that
+                        // were provisioned but missing from the ip table
+                        for (final InetAddress ipAddr : provisionedIps) {
+                            final OnmsIpInterface iface = node.getIpInterfaceByIpAddress(ipAddr);
 
-                        if (iface != null) {
-                            iface.setIpLastCapsdPoll(getScanStamp());
-                            iface.setIsManaged("M");
+                            if (iface != null) {
+                                iface.setIpLastCapsdPoll(getScanStamp());
+                                iface.setIsManaged("M");
 
-                            currentPhase.add(ipUpdater(currentPhase, iface), "write");
+                                ipInterfaces.add(iface);
+                            }
                         }
-                    }
-
-                    LOG.debug("Finished phase {}", currentPhase);
-                } catch (ExecutionException e) {
-                    abort("Aborting node scan : Agent failed while scanning the IP address tables : " + e.getMessage());
-                } catch (final InterruptedException e) {
-                    abort("Aborting node scan : Scan thread failed while waiting for the IP address tables");
-                }
-            }
+                    });
         }
 
-        public void detectPhysicalInterfaces(final BatchTask currentPhase) {
-            if (isAborted()) {
-                return;
-            }
-            String locationName = getLocation() == null ? null : getLocation().getLocationName();
-            final SnmpAgentConfig agentConfig = getAgentConfigFactory().getAgentConfig(getAgentAddress(), locationName);
-            Assert.notNull(getAgentConfigFactory(), "agentConfigFactory was not injected");
-
+        private CompletableFuture<?> walkPhysicalInterfaces(final SnmpAgentConfig agentConfig, final List<OnmsSnmpInterface> snmpInterfaces) {
             final PhysInterfaceTableTracker physIfTracker = new PhysInterfaceTableTracker() {
                 @Override
                 public void processPhysicalInterfaceRow(PhysicalInterfaceRow row) {
@@ -728,34 +786,15 @@ public class NodeScan implements Scan {
                     }
 
                     if (snmpIface != null) {
-                        final OnmsSnmpInterface snmpIfaceResult = snmpIface;
-
-                        // add call to the SNMP interface collection enable policies
-
-                        final Runnable r = new Runnable() {
-                            @Override
-                            public void run() {
-                                getProvisionService().updateSnmpInterfaceAttributes(getNodeId(), snmpIfaceResult);
-                            }
-                        };
-                        currentPhase.add(r, "write");
+                        snmpInterfaces.add(snmpIface);
                     }
                 }
             };
 
-            try {
-                m_provisionService.getLocationAwareSnmpClient().walk(agentConfig, physIfTracker)
-                        .withDescription("ifTable/ifXTable")
-                        .withLocation(getLocationName())
-                        .execute()
-                        .get();
-                LOG.debug("Finished phase {}", currentPhase);
-            } catch (ExecutionException e) {
-                abort("Aborting node scan : Agent failed while scanning the interfaces table: " + e.getMessage());
-            } catch (final InterruptedException e) {
-                abort("Aborting node scan : Scan thread interrupted while waiting for interfaces table");
-                Thread.currentThread().interrupt();
-            }
+            return m_provisionService.getLocationAwareSnmpClient().walk(agentConfig, physIfTracker)
+                    .withDescription("ifTable/ifXTable")
+                    .withLocation(getLocationName())
+                    .execute();
         }
 
         @Override
@@ -769,46 +808,25 @@ public class NodeScan implements Scan {
                     new RunInBatch() {
                         @Override
                         public void run(final BatchTask phase) {
-                            Span span = m_provisionService.buildAndStartSpan("DetectPhysicalInterfaces",
-                                    agentScanSpan.context());
-                            detectPhysicalInterfaces(phase);
-                            span.finish();
-                        }
-                    },
-                    new RunInBatch() {
-                        @Override
-                        public void run(final BatchTask phase) {
-                            Span span = m_provisionService.buildAndStartSpan("DetectIpAddressTable",
-                                    agentScanSpan.context());
-                            detectIpAddressTable(phase);
-                            span.finish();
+                            Span span = beginPhase("DetectInterfaces", agentScanSpan);
+                            detectInterfaces(phase);
+                            finishPhase("DetectInterfaces", span);
                         }
                     },
                     new RunInBatch() {
                         @Override
                         public void run(final BatchTask phase) {
-                            Span span = m_provisionService.buildAndStartSpan("DetectIpInterfaceTable",
-                                    agentScanSpan.context());
-                            detectIpInterfaceTable(phase);
-                            span.finish();
-                        }
-                    },
-                    new RunInBatch() {
-                        @Override
-                        public void run(final BatchTask phase) {
-                            Span span = m_provisionService.buildAndStartSpan("DeleteObsoleteResources",
-                                    agentScanSpan.context());
+                            Span span = beginPhase("DeleteObsoleteResources", agentScanSpan);
                             deleteObsoleteResources();
-                            span.finish();
+                            finishPhase("DeleteObsoleteResources", span);
                         }
                     },
                     new RunInBatch() {
                         @Override
                         public void run(final BatchTask phase) {
-                            Span span = m_provisionService.buildAndStartSpan("AgentScan-completed-event",
-                                    agentScanSpan.context());
+                            Span span = beginPhase("AgentScan-completed-event", agentScanSpan);
                             completed();
-                            span.finish();
+                            finishPhase("AgentScan-completed-event", span);
                         }
                     });
             agentScanSpan.finish();
@@ -852,11 +870,12 @@ public class NodeScan implements Scan {
         void stampProvisionedInterfaces(final BatchTask phase) {
             if (!isAborted()) {
 
+                final List<OnmsIpInterface> ipInterfaces = new ArrayList<>();
                 for (final OnmsIpInterface iface : getNode().getIpInterfaces()) {
                     iface.setIpLastCapsdPoll(getScanStamp());
-                    phase.add(ipUpdater(phase, iface), "write");
-
+                    ipInterfaces.add(iface);
                 }
+                phase.add(interfaceUpdater(phase, Collections.emptyList(), ipInterfaces), "write");
 
             }
         }
@@ -884,37 +903,33 @@ public class NodeScan implements Scan {
                     new RunInBatch() {
                         @Override
                         public void run(final BatchTask phase) {
-                            Span span = m_provisionService.buildAndStartSpan("ApplyNodePolicies",
-                                    noAgentScanSpan.context());
+                            Span span = beginPhase("ApplyNodePolicies", noAgentScanSpan);
                             applyNodePolicies(phase);
-                            span.finish();
+                            finishPhase("ApplyNodePolicies", span);
                         }
                     },
                     new RunInBatch() {
                         @Override
                         public void run(final BatchTask phase) {
-                            Span span = m_provisionService.buildAndStartSpan("StampProvisionedInterfaces",
-                                    noAgentScanSpan.context());
+                            Span span = beginPhase("StampProvisionedInterfaces", noAgentScanSpan);
                             stampProvisionedInterfaces(phase);
-                            span.finish();
+                            finishPhase("StampProvisionedInterfaces", span);
                         }
                     },
                     new RunInBatch() {
                         @Override
                         public void run(final BatchTask phase) {
-                            Span span = m_provisionService.buildAndStartSpan("DeleteObsoleteResources",
-                                    noAgentScanSpan.context());
+                            Span span = beginPhase("DeleteObsoleteResources", noAgentScanSpan);
                             deleteObsoleteResources(phase);
-                            span.finish();
+                            finishPhase("DeleteObsoleteResources", span);
                         }
                     },
                     new RunInBatch() {
                         @Override
                         public void run(final BatchTask phase) {
-                            Span span = m_provisionService.buildAndStartSpan("DoPersistNodeInfo",
-                                    noAgentScanSpan.context());
+                            Span span = beginPhase("DoPersistNodeInfo", noAgentScanSpan);
                             doPersistNodeInfo(phase);
-                            span.finish();
+                            finishPhase("DoPersistNodeInfo", span);
                         }
                     });
             noAgentScanSpan.finish();
@@ -978,20 +993,27 @@ public class NodeScan implements Scan {
                     .toString();
         }
 
-        void updateIpInterface(final BatchTask currentPhase, final OnmsIpInterface iface) {
-            getProvisionService().updateIpInterfaceAttributes(getNodeId(), iface,
-                    monitor != null ? monitor.getName() : null);
-            if (iface.isManaged()) {
-                currentPhase.add(new IpInterfaceScan(getNodeId(), iface.getIpAddress(), getForeignSource(),
-                        getLocation(), getProvisionService(), m_baseAgentSpan));
+        void updateInterfaces(final BatchTask currentPhase, final List<OnmsSnmpInterface> snmpInterfaces,
+                final List<OnmsIpInterface> ipInterfaces) {
+            // every interface is written in its own transaction, only the ones that were written are scanned
+            final List<OnmsIpInterface> updated = getProvisionService().updateInterfaceAttributes(getNodeId(),
+                    snmpInterfaces, ipInterfaces, monitor != null ? monitor.getName() : null);
+            for (final OnmsIpInterface iface : updated) {
+                if (iface.isManaged()) {
+                    currentPhase.add(new IpInterfaceScan(getNodeId(), iface.getIpAddress(), getForeignSource(),
+                            getLocation(), getProvisionService(), m_baseAgentSpan));
+                }
             }
         }
 
-        protected Runnable ipUpdater(final BatchTask currentPhase, final OnmsIpInterface iface) {
+        protected Runnable interfaceUpdater(final BatchTask currentPhase, final List<OnmsSnmpInterface> snmpInterfaces,
+                final List<OnmsIpInterface> ipInterfaces) {
             Runnable r = new Runnable() {
                 @Override
                 public void run() {
-                    updateIpInterface(currentPhase, iface);
+                    Span span = beginPhase("PersistInterfaces", m_baseAgentSpan);
+                    updateInterfaces(currentPhase, snmpInterfaces, ipInterfaces);
+                    finishPhase("PersistInterfaces", span);
                 }
             };
             return r;
@@ -1003,6 +1025,20 @@ public class NodeScan implements Scan {
 
     }
 
+    private Span beginPhase(final String phase, final Span parentSpan) {
+        if (monitor != null) {
+            monitor.beginScanPhase(this, phase);
+        }
+        return getProvisionService().buildAndStartSpan(phase, parentSpan.context());
+    }
+
+    private void finishPhase(final String phase, final Span span) {
+        span.finish();
+        if (monitor != null) {
+            monitor.finishScanPhase(this, phase);
+        }
+    }
+
     /**
      * <p>
      * toString
@@ -127,6 +127,14 @@ public interface ProvisionService {
     @Transactional
     OnmsSnmpInterface updateSnmpInterfaceAttributes(Integer nodeId, OnmsSnmpInterface snmpInterface);
 
+    /**
+     * Updates the given SNMP interfaces of a node, and then its IP interfaces, each of them in its own transaction.
+     * Interfaces that fail to update are logged and skipped.
+     *
+     * @return the IP interfaces that were updated
+     */
+    List<OnmsIpInterface> updateInterfaceAttributes(Integer nodeId, List<OnmsSnmpInterface> snmpInterfaces, List<OnmsIpInterface> ipInterfaces, String monitorKey);
+
     @Transactional
     OnmsMonitoredService addMonitoredService(Integer nodeId, String ipAddress, String serviceName, String monitorKey, List<OnmsMetaData> metaData);
 
@@ -196,6 +204,13 @@ public interface ProvisionService {
     @Transactional(readOnly = true)
     Map<String, Integer> getForeignIdToNodeIdMap(String foreignSource);
 
+    /**
+     * Creates a map of foreignIds to the requisition hashes stored when the nodes of the indicated foreignSource
+     * were last imported.
+     */
+    @Transactional(readOnly = true)
+    Map<String, String> getForeignIdToRequisitionHashMap(String foreignSource);
+
     /**
      * Sets the parent of the node and adds the relationship to the path
      * element for the node. The foreignId is used to reference the node and
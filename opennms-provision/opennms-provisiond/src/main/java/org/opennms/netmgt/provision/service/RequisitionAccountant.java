@@ -63,7 +63,16 @@ public class RequisitionAccountant extends AbstractRequisitionVisitor {
     /** {@inheritDoc} */
     @Override
     public void visitNode(OnmsNodeRequisition nodeReq) {
+        final String requisitionHash = m_opsMgr.isDifferential() ? RequisitionNodeHash.hash(nodeReq.getNode()) : null;
+        if (requisitionHash != null && m_opsMgr.skipUnchangedNode(nodeReq.getForeignId(), requisitionHash)) {
+            LOG.debug("Skipping node {}, its requisition did not change since the last import", nodeReq.getForeignId());
+            m_currentOp = null;
+            return;
+        }
         m_currentOp = m_opsMgr.foundNode(nodeReq.getForeignId(), nodeReq.getNodeLabel(), nodeReq.getLocation(), nodeReq.getBuilding(), nodeReq.getCity(), monitorKey);
+        if (requisitionHash != null) {
+            m_currentOp.foundRequisitionHash(requisitionHash);
+        }
     }
 
     /** {@inheritDoc} */
@@ -75,6 +84,9 @@ public class RequisitionAccountant extends AbstractRequisitionVisitor {
     /** {@inheritDoc} */
     @Override
     public void visitInterface(OnmsIpInterfaceRequisition ifaceReq) {
+        if (m_currentOp == null) {
+            return;
+        }
         m_currentOp.foundInterface(ifaceReq.getIpAddr(), ifaceReq.getDescr(), ifaceReq.getSnmpPrimary(), ifaceReq.getManaged(), ifaceReq.getStatus(), m_dnsLookups);
         LOG.debug("{} DNS lookups scheduled, {} DNS lookups completed", dnsLookupsTotal(), dnsLookupsCompleted());
     }
@@ -82,33 +94,51 @@ public class RequisitionAccountant extends AbstractRequisitionVisitor {
     /** {@inheritDoc} */
     @Override
     public void visitMonitoredService(OnmsMonitoredServiceRequisition svcReq) {
+        if (m_currentOp == null) {
+            return;
+        }
         m_currentOp.foundMonitoredService(svcReq.getServiceName());
     }
 
     /** {@inheritDoc} */
     @Override
     public void visitNodeCategory(OnmsNodeCategoryRequisition catReq) {
+        if (m_currentOp == null) {
+            return;
+        }
         m_currentOp.foundCategory(catReq.getName());
     }
 
     /** {@inheritDoc} */
     @Override
     public void visitAsset(OnmsAssetRequisition assetReq) {
+        if (m_currentOp == null) {
+            return;
+        }
         m_currentOp.foundAsset(assetReq.getName(), assetReq.getValue());
     }
 
     @Override
     public void visitNodeMetaData(OnmsNodeMetaDataRequisition metaDataReq) {
+        if (m_currentOp == null) {
+            return;
+        }
         m_currentOp.foundNodeMetaData(metaDataReq.getContext(), metaDataReq.getKey(), metaDataReq.getValue());
     }
 
     @Override
     public void visitInterfaceMetaData(OnmsInterfaceMetaDataRequisition metaDataReq) {
+        if (m_currentOp == null) {
+            return;
+        }
         m_currentOp.foundInterfaceMetaData(metaDataReq.getContext(), metaDataReq.getKey(), metaDataReq.getValue());
     }
 
     @Override
     public void visitServiceMetaData(OnmsServiceMetaDataRequisition metaDataReq) {
+        if (m_currentOp == null) {
+            return;
+        }
         m_currentOp.foundServiceMetaData(metaDataReq.getContext(), metaDataReq.getKey(), metaDataReq.getValue());
     }
 
@@ -0,0 +1,143 @@
+/*
+ * Licensed to The OpenNMS Group, Inc (TOG) under one or more
+ * contributor license agreements.  See the LICENSE.md file
+ * distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * TOG licenses this file to You under the GNU Affero General
+ * Public License Version 3 (the "License") or (at your option)
+ * any later version.  You may not use this file except in
+ * compliance with the License.  You may obtain a copy of the
+ * License at:
+ *
+ *      https://www.gnu.org/licenses/agpl-3.0.txt
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied.  See the License for the specific
+ * language governing permissions and limitations under the
+ * License.
+ */
+package org.opennms.netmgt.provision.service;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.opennms.core.utils.InetAddressUtils.str;
+
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.opennms.netmgt.provision.persist.requisition.RequisitionAsset;
+import org.opennms.netmgt.provision.persist.requisition.RequisitionCategory;
+import org.opennms.netmgt.provision.persist.requisition.RequisitionInterface;
+import org.opennms.netmgt.provision.persist.requisition.RequisitionMetaData;
+import org.opennms.netmgt.provision.persist.requisition.RequisitionMonitoredService;
+import org.opennms.netmgt.provision.persist.requisition.RequisitionNode;
+
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
+
+/**
+ * Computes a hash of everything a requisition node defines: its attributes, categories, assets and meta-data, and
+ * those of its interfaces and services.
+ * <p>
+ * The hash does not depend on the order in which the elements are listed in the requisition, so that the same node
+ * always has the same hash. It is stored as meta-data of the node when it is imported, which lets a differential
+ * import skip the nodes whose requisition did not change since.
+ */
+public final class RequisitionNodeHash {
+
+    public static final String META_DATA_CONTEXT = "provisiond";
+
+    public static final String META_DATA_KEY = "requisitionHash";
+
+    private static final Comparator<RequisitionMetaData> META_DATA_ORDER = Comparator
+            .comparing(RequisitionMetaData::getContext)
+            .thenComparing(RequisitionMetaData::getKey)
+            .thenComparing(RequisitionMetaData::getValue, Comparator.nullsFirst(Comparator.naturalOrder()));
+
+    private RequisitionNodeHash() {
+    }
+
+    public static String hash(final RequisitionNode node) {
+        final Hasher hasher = Hashing.sha256().newHasher();
+        put(hasher, node.getNodeLabel());
+        put(hasher, node.getLocation());
+        put(hasher, node.getBuilding());
+        put(hasher, node.getCity());
+        put(hasher, node.getParentForeignSource());
+        put(hasher, node.getParentForeignId());
+        put(hasher, node.getParentNodeLabel());
+        putCategories(hasher, node.getCategories());
+        putMetaData(hasher, node.getMetaData());
+
+        final List<RequisitionAsset> assets = sorted(node.getAssets(), Comparator
+                .comparing(RequisitionAsset::getName)
+                .thenComparing(RequisitionAsset::getValue, Comparator.nullsFirst(Comparator.naturalOrder())));
+        hasher.putInt(assets.size());
+        for (final RequisitionAsset asset : assets) {
+            put(hasher, asset.getName());
+            put(hasher, asset.getValue());
+        }
+
+        final List<RequisitionInterface> ifaces = sorted(node.getInterfaces(), Comparator.comparing(iface -> str(iface.getIpAddr()), Comparator.nullsFirst(Comparator.naturalOrder())));
+        hasher.putInt(ifaces.size());
+        for (final RequisitionInterface iface : ifaces) {
+            put(hasher, str(iface.getIpAddr()));
+            put(hasher, iface.getDescr());
+            put(hasher, iface.getSnmpPrimary());
+            hasher.putBoolean(iface.isManaged());
+            put(hasher, iface.getStatus());
+            putCategories(hasher, iface.getCategories());
+            putMetaData(hasher, iface.getMetaData());
+
+            final List<RequisitionMonitoredService> services = sorted(iface.getMonitoredServices(), Comparator.comparing(RequisitionMonitoredService::getServiceName));
+            hasher.putInt(services.size());
+            for (final RequisitionMonitoredService service : services) {
+                put(hasher, service.getServiceName());
+                putCategories(hasher, service.getCategories());
+                putMetaData(hasher, service.getMetaData());
+            }
+        }
+
+        return hasher.hash().toString();
+    }
+
+    private static void putCategories(final Hasher hasher, final List<RequisitionCategory> categories) {
+        final List<RequisitionCategory> sorted = sorted(categories, Comparator.comparing(RequisitionCategory::getName));
+        hasher.putInt(sorted.size());
+        for (final RequisitionCategory category : sorted) {
+            put(hasher, category.getName());
+        }
+    }
+
+    private static void putMetaData(final Hasher hasher, final List<RequisitionMetaData> metaData) {
+        final List<RequisitionMetaData> sorted = sorted(metaData, META_DATA_ORDER);
+        hasher.putInt(sorted.size());
+        for (final RequisitionMetaData entry : sorted) {
+            put(hasher, entry.getContext());
+            put(hasher, entry.getKey());
+            put(hasher, entry.getValue());
+        }
+    }
+
+    private static void put(final Hasher hasher, final Object value) {
+        // prefix the values with their length so that the boundaries between them are part of the hash
+        if (value == null) {
+            hasher.putInt(-1);
+        } else {
+            final String s = value.toString();
+            hasher.putInt(s.length());
+            hasher.putString(s, UTF_8);
+        }
+    }
+
+    private static <T> List<T> sorted(final List<T> elements, final Comparator<? super T> order) {
+        if (elements == null) {
+            return Collections.emptyList();
+        }
+        return elements.stream().sorted(order).collect(Collectors.toList());
+    }
+}
@@ -32,6 +32,8 @@ import org.springframework.core.io.Resource;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * <p>TimeTrackingMonitor class. It will append all data into MetricRegistry.</p>
@@ -57,12 +59,19 @@ public class TimeTrackingMonitor implements ProvisionMonitor {
     private ObjectKeyTimer scanEventTimer;
     private ObjectKeyTimer scanningTimer;
 
+    // one timer for each phase of the node scans, by name of the phase
+    private final Map<String, ObjectKeyTimer> scanPhaseTimers = new ConcurrentHashMap<>();
+
     private ObjectKeyTimer persistingTimer;
     private ObjectKeyTimer eventTimer;
 
     // total node count in resources
     private int nodeCount;
 
+    // requisitioned nodes inserted or updated, and skipped by a differential import
+    private int changedNodeCount;
+    private int unchangedNodeCount;
+
     // name of the monitor
     private String name;
 
@@ -136,6 +145,12 @@ public class TimeTrackingMonitor implements ProvisionMonitor {
         return scanningTimer.getTimer();
     }
 
+    public Map<String, Timer> getScanPhaseTimers() {
+        final Map<String, Timer> timers = new TreeMap<>();
+        scanPhaseTimers.forEach((phase, timer) -> timers.put(phase, timer.getTimer()));
+        return timers;
+    }
+
     public Timer getPersistingTimer() {
         return persistingTimer.getTimer();
     }
@@ -149,6 +164,14 @@ public class TimeTrackingMonitor implements ProvisionMonitor {
         return nodeCount;
     }
 
+    public int getChangedNodeCount() {
+        return changedNodeCount;
+    }
+
+    public int getUnchangedNodeCount() {
+        return unchangedNodeCount;
+    }
+
     /**
      * <p>beginScheduling</p>
      */
@@ -201,6 +224,20 @@ public class TimeTrackingMonitor implements ProvisionMonitor {
         }
     }
 
+    @Override
+    public void beginScanPhase(NodeScan nodeScan, String phase) {
+        scanPhaseTimers.computeIfAbsent(phase, p -> new ObjectKeyTimer(metricRegistry.timer(MetricRegistry.name(name, "Scan Phase", p))))
+                .begin(nodeScan);
+    }
+
+    @Override
+    public void finishScanPhase(NodeScan nodeScan, String phase) {
+        final ObjectKeyTimer timer = scanPhaseTimers.get(phase);
+        if (timer != null) {
+            timer.end(nodeScan);
+        }
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -288,6 +325,12 @@ public class TimeTrackingMonitor implements ProvisionMonitor {
         }
     }
 
+    @Override
+    public void auditedNodes(int changedNodeCount, int unchangedNodeCount) {
+        this.changedNodeCount = changedNodeCount;
+        this.unchangedNodeCount = unchangedNodeCount;
+    }
+
     /**
      * <p>beginRelateNodes</p>
      */
@@ -316,6 +359,8 @@ public class TimeTrackingMonitor implements ProvisionMonitor {
     public String toString() {
         final StringBuilder stats = new StringBuilder();
         stats.append("NodeCount: ").append(nodeCount).append("\n");
+        stats.append("ChangedNodeCount: ").append(changedNodeCount).append(", ");
+        stats.append("UnchangedNodeCount: ").append(unchangedNodeCount).append("\n");
         stats.append(importDuration).append(", ");
         stats.append(loadingDuration).append(", ");
         stats.append(auditDuration).append('\n');
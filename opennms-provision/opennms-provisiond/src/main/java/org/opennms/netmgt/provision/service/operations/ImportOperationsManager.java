@@ -62,6 +62,8 @@ public class ImportOperationsManager {
     
     private final ProvisionService m_provisionService;
     private final Map<String, Integer> m_foreignIdToNodeMap;
+    private Map<String, String> m_foreignIdToRequisitionHashMap;
+    private int m_unchangedCount = 0;
     private String m_rescanExisting;
     
     private String m_foreignSource;
@@ -103,6 +105,37 @@ public class ImportOperationsManager {
     private boolean nodeExists(String foreignId) {
         return m_foreignIdToNodeMap.containsKey(foreignId);
     }
+
+    /**
+     * Enables the differential import: existing nodes whose requisition hash did not change are skipped.
+     *
+     * @param foreignIdToRequisitionHashMap the requisition hashes of the nodes, as of their last import
+     */
+    public void setRequisitionHashes(final Map<String, String> foreignIdToRequisitionHashMap) {
+        m_foreignIdToRequisitionHashMap = new HashMap<String, String>(foreignIdToRequisitionHashMap);
+    }
+
+    public boolean isDifferential() {
+        return m_foreignIdToRequisitionHashMap != null;
+    }
+
+    /**
+     * <p>skipUnchangedNode</p>
+     *
+     * @param foreignId a {@link java.lang.String} object.
+     * @param requisitionHash the {@link org.opennms.netmgt.provision.service.RequisitionNodeHash} of the requisitioned node
+     * @return true if the node exists and did not change since it was last imported, in which case no operation
+     *         is created for it
+     */
+    public boolean skipUnchangedNode(final String foreignId, final String requisitionHash) {
+        if (!isDifferential() || !nodeExists(foreignId) || !requisitionHash.equals(m_foreignIdToRequisitionHashMap.get(foreignId))) {
+            return false;
+        }
+        // keep the node from being deleted
+        processForeignId(foreignId);
+        m_unchangedCount++;
+        return true;
+    }
     
     private SaveOrUpdateOperation insertNode(final String foreignId, final String nodeLabel, final String location, final String building, final String city, final String monitorKey) {
         SaveOrUpdateOperation insertOperation = new InsertOperation(getForeignSource(), foreignId, nodeLabel, location, building, city, m_provisionService, monitorKey);
@@ -167,6 +200,15 @@ public class ImportOperationsManager {
     public int getDeleteCount() {
     	return m_foreignIdToNodeMap.size();
     }
+
+    /**
+     * <p>getUnchangedCount</p>
+     *
+     * @return the number of nodes skipped by a differential import
+     */
+    public int getUnchangedCount() {
+        return m_unchangedCount;
+    }
     
     private class DeleteIterator implements Iterator<ImportOperation> {
     	
@@ -76,6 +76,16 @@ public class NoOpProvisionMonitor implements ProvisionMonitor {
 
     }
 
+    @Override
+    public void beginScanPhase(NodeScan nodeScan, String phase) {
+
+    }
+
+    @Override
+    public void finishScanPhase(NodeScan nodeScan, String phase) {
+
+    }
+
 
     /**
      * {@inheritDoc}
@@ -145,6 +155,11 @@ public class NoOpProvisionMonitor implements ProvisionMonitor {
     public void finishAuditNodes() {
     }
 
+    @Override
+    public void auditedNodes(int changedNodeCount, int unchangedNodeCount) {
+
+    }
+
     /**
      * <p>beginRelateNodes</p>
      */
@@ -84,6 +84,22 @@ public interface ProvisionMonitor {
 	 */
 	void finishScanning(NodeScan nodeScan);
 
+	/**
+	 * <p>beginScanPhase</p>
+	 *
+	 * @param nodeScan a {@link org.opennms.netmgt.provision.service.NodeScan} object.
+	 * @param phase name of the phase of the node scan
+	 */
+	void beginScanPhase(NodeScan nodeScan, String phase);
+
+	/**
+	 * <p>finishScanPhase</p>
+	 *
+	 * @param nodeScan a {@link org.opennms.netmgt.provision.service.NodeScan} object.
+	 * @param phase name of the phase of the node scan
+	 */
+	void finishScanPhase(NodeScan nodeScan, String phase);
+
 	/**
 	 * <p>beginPersisting</p>
 	 *
@@ -146,6 +162,14 @@ public interface ProvisionMonitor {
 	 */
 	void finishAuditNodes();
 
+	/**
+	 * <p>auditedNodes</p>
+	 *
+	 * @param changedNodeCount number of requisitioned nodes to insert or to update
+	 * @param unchangedNodeCount number of requisitioned nodes skipped by a differential import
+	 */
+	void auditedNodes(int changedNodeCount, int unchangedNodeCount);
+
 	/**
 	 * <p>beginRelateNodes</p>
 	 */
@@ -36,6 +36,7 @@ import org.opennms.netmgt.model.OnmsServiceType;
 import org.opennms.netmgt.model.PrimaryType;
 import org.opennms.netmgt.model.monitoringLocations.OnmsMonitoringLocation;
 import org.opennms.netmgt.provision.service.ProvisionService;
+import org.opennms.netmgt.provision.service.RequisitionNodeHash;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.BeanWrapper;
@@ -196,6 +197,15 @@ public abstract class SaveOrUpdateOperation extends ImportOperation {
         }
     }
 
+    /**
+     * <p>foundRequisitionHash</p>
+     *
+     * @param requisitionHash the {@link org.opennms.netmgt.provision.service.RequisitionNodeHash} of the requisitioned node
+     */
+    public void foundRequisitionHash(final String requisitionHash) {
+        m_node.addMetaData(RequisitionNodeHash.META_DATA_CONTEXT, RequisitionNodeHash.META_DATA_KEY, requisitionHash);
+    }
+
     public void foundNodeMetaData(String context, String key, String value) {
         m_node.addMetaData(context, key, value);
     }
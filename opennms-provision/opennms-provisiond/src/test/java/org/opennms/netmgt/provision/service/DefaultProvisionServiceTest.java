@@ -22,11 +22,14 @@
 package org.opennms.netmgt.provision.service;
 
 import static org.junit.Assert.assertEquals;
+import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import java.util.Arrays;
+import java.util.List;
 import java.util.Set;
 import java.util.stream.Collectors;
 
@@ -48,12 +51,14 @@ import org.opennms.netmgt.model.OnmsIpInterface;
 import org.opennms.netmgt.model.OnmsMonitoredService;
 import org.opennms.netmgt.model.OnmsNode;
 import org.opennms.netmgt.model.OnmsServiceType;
+import org.opennms.netmgt.model.OnmsSnmpInterface;
 import org.opennms.netmgt.model.RequisitionedCategoryAssociation;
 import org.opennms.netmgt.provision.persist.ForeignSourceRepository;
 import org.opennms.netmgt.provision.persist.OnmsNodeRequisition;
 import org.opennms.netmgt.provision.persist.requisition.RequisitionCategory;
 import org.opennms.netmgt.provision.persist.requisition.RequisitionNode;
 import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
 
 import com.google.common.collect.Sets;
 
@@ -157,6 +162,41 @@ public class DefaultProvisionServiceTest {
         verify(m_nodeDao, times(1)).delete(node);
     }
 
+    @Test
+    public void testUpdateInterfaceAttributesSkipsFailingInterfaces() throws Exception {
+        final OnmsNode node = new OnmsNode();
+        node.setId(1);
+        node.setLabel("node1");
+
+        final OnmsSnmpInterface failingSnmp = new OnmsSnmpInterface(node, 2);
+        final OnmsSnmpInterface snmp = new OnmsSnmpInterface(node, 1);
+        final OnmsIpInterface first = new OnmsIpInterface(InetAddressUtils.addr("192.168.1.1"), node);
+        first.setIsManaged("M");
+        final OnmsIpInterface failing = new OnmsIpInterface(InetAddressUtils.addr("192.168.1.2"), node);
+        failing.setIsManaged("M");
+        final OnmsIpInterface third = new OnmsIpInterface(InetAddressUtils.addr("192.168.1.3"), node);
+        third.setIsManaged("M");
+
+        when(m_snmpInterfaceDao.findByNodeIdAndIfIndex(1, 1)).thenReturn(snmp);
+        when(m_snmpInterfaceDao.findByNodeIdAndIfIndex(1, 2)).thenThrow(new IllegalStateException("snmp interface failed"));
+        when(m_ipInterfaceDao.findByNodeIdAndIpAddress(1, "192.168.1.1")).thenReturn(first);
+        when(m_ipInterfaceDao.findByNodeIdAndIpAddress(1, "192.168.1.2")).thenThrow(new IllegalStateException("ip interface failed"));
+        when(m_ipInterfaceDao.findByNodeIdAndIpAddress(1, "192.168.1.3")).thenReturn(third);
+
+        final List<OnmsIpInterface> updated = m_provisionService.updateInterfaceAttributes(1,
+                Arrays.asList(failingSnmp, snmp), Arrays.asList(first, failing, third), null);
+
+        // the failures are skipped, and do not prevent the other interfaces from being written
+        assertEquals(Arrays.asList(first, third), updated);
+        verify(m_snmpInterfaceDao, times(1)).update(snmp);
+        verify(m_ipInterfaceDao, times(1)).update(first);
+        verify(m_ipInterfaceDao, times(1)).update(third);
+
+        // every interface is written in a transaction of its own
+        verify(m_transactionManager, times(5)).getTransaction(argThat(definition -> definition != null
+                && definition.getPropagationBehavior() == TransactionDefinition.PROPAGATION_REQUIRES_NEW));
+    }
+
     @Test
     public void testNMS16402() {
         assertEquals(Sets.newHashSet("A1", "A2", "A3", "A4"), checkSetsOfCategories(Sets.newHashSet("A1", "A2"), Sets.newHashSet("A3", "A4"), Sets.newHashSet("A1", "A3"), Sets.newHashSet("A1", "A2", "A3", "A4")));;
@@ -0,0 +1,115 @@
+/*
+ * Licensed to The OpenNMS Group, Inc (TOG) under one or more
+ * contributor license agreements.  See the LICENSE.md file
+ * distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * TOG licenses this file to You under the GNU Affero General
+ * Public License Version 3 (the "License") or (at your option)
+ * any later version.  You may not use this file except in
+ * compliance with the License.  You may obtain a copy of the
+ * License at:
+ *
+ *      https://www.gnu.org/licenses/agpl-3.0.txt
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied.  See the License for the specific
+ * language governing permissions and limitations under the
+ * License.
+ */
+package org.opennms.netmgt.provision.service;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.After;
+import org.junit.Test;
+
+public class NodeScanTest {
+
+    private final ExecutorService m_executor = Executors.newFixedThreadPool(3);
+
+    @After
+    public void tearDown() {
+        m_executor.shutdownNow();
+    }
+
+    @Test(timeout = 10000)
+    public void shouldWaitForAllTheWalks() {
+        final CountDownLatch started = new CountDownLatch(3);
+        final Map<String, CompletableFuture<?>> walks = new LinkedHashMap<>();
+        for (final String table : new String[] { "interfaces table", "IP address table", "IP interface table" }) {
+            walks.put(table, CompletableFuture.runAsync(() -> {
+                // the walks only complete once all of them are running
+                started.countDown();
+                try {
+                    started.await();
+                } catch (final InterruptedException e) {
+                    throw new IllegalStateException(e);
+                }
+            }, m_executor));
+        }
+
+        final List<String> aborts = new ArrayList<>();
+        assertTrue(NodeScan.awaitWalks(walks, aborts::add));
+        assertTrue(aborts.isEmpty());
+        walks.values().forEach(walk -> assertTrue(walk.isDone()));
+    }
+
+    @Test(timeout = 10000)
+    public void shouldCancelTheOtherWalksOnFailure() {
+        final CompletableFuture<?> physIfWalk = new CompletableFuture<>();
+        final CompletableFuture<?> ipInterfaceWalk = new CompletableFuture<>();
+        final CompletableFuture<?> ipAddressWalk = CompletableFuture.runAsync(() -> {
+            throw new IllegalStateException("agent timed out");
+        }, m_executor);
+
+        final Map<String, CompletableFuture<?>> walks = new LinkedHashMap<>();
+        walks.put("interfaces table", physIfWalk);
+        walks.put("IP address table", ipAddressWalk);
+        walks.put("IP interface table", ipInterfaceWalk);
+
+        // the walks that never complete must not keep the scan waiting
+        final List<String> aborts = new ArrayList<>();
+        assertFalse(NodeScan.awaitWalks(walks, aborts::add));
+
+        assertEquals(1, aborts.size());
+        assertEquals("Aborting node scan : Agent failed while scanning the IP address table : agent timed out", aborts.get(0));
+        assertTrue(physIfWalk.isCancelled());
+        assertTrue(ipInterfaceWalk.isCancelled());
+    }
+
+    @Test(timeout = 10000)
+    public void shouldAbortOnlyOnceWhenSeveralWalksFail() throws Exception {
+        final CountDownLatch failing = new CountDownLatch(1);
+        final Map<String, CompletableFuture<?>> walks = new LinkedHashMap<>();
+        for (final String table : new String[] { "interfaces table", "IP address table", "IP interface table" }) {
+            walks.put(table, CompletableFuture.runAsync(() -> {
+                try {
+                    failing.await(5, TimeUnit.SECONDS);
+                } catch (final InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                throw new IllegalStateException("agent timed out");
+            }, m_executor));
+        }
+        failing.countDown();
+
+        final List<String> aborts = new ArrayList<>();
+        assertFalse(NodeScan.awaitWalks(walks, aborts::add));
+        assertEquals(1, aborts.size());
+    }
+}
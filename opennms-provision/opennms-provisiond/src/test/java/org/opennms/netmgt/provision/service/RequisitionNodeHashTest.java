@@ -0,0 +1,93 @@
+/*
+ * Licensed to The OpenNMS Group, Inc (TOG) under one or more
+ * contributor license agreements.  See the LICENSE.md file
+ * distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * TOG licenses this file to You under the GNU Affero General
+ * Public License Version 3 (the "License") or (at your option)
+ * any later version.  You may not use this file except in
+ * compliance with the License.  You may obtain a copy of the
+ * License at:
+ *
+ *      https://www.gnu.org/licenses/agpl-3.0.txt
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied.  See the License for the specific
+ * language governing permissions and limitations under the
+ * License.
+ */
+package org.opennms.netmgt.provision.service;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+
+import org.junit.Test;
+import org.opennms.netmgt.provision.persist.requisition.RequisitionAsset;
+import org.opennms.netmgt.provision.persist.requisition.RequisitionCategory;
+import org.opennms.netmgt.provision.persist.requisition.RequisitionInterface;
+import org.opennms.netmgt.provision.persist.requisition.RequisitionMetaData;
+import org.opennms.netmgt.provision.persist.requisition.RequisitionMonitoredService;
+import org.opennms.netmgt.provision.persist.requisition.RequisitionNode;
+
+public class RequisitionNodeHashTest {
+
+    private static RequisitionNode createNode(final boolean reversed) {
+        final RequisitionNode node = new RequisitionNode();
+        node.setForeignId("node1");
+        node.setNodeLabel("node1");
+        node.setLocation("Default");
+
+        final RequisitionInterface iface1 = new RequisitionInterface();
+        iface1.setIpAddr("10.0.0.1");
+        iface1.putMonitoredService(new RequisitionMonitoredService("ICMP"));
+        iface1.putMonitoredService(new RequisitionMonitoredService("SNMP"));
+        final RequisitionInterface iface2 = new RequisitionInterface();
+        iface2.setIpAddr("10.0.0.2");
+
+        if (reversed) {
+            node.putInterface(iface2);
+            node.putInterface(iface1);
+            node.putCategory(new RequisitionCategory("Servers"));
+            node.putCategory(new RequisitionCategory("Production"));
+            node.putAsset(new RequisitionAsset("city", "Ottawa"));
+            node.putAsset(new RequisitionAsset("building", "HQ"));
+        } else {
+            node.putInterface(iface1);
+            node.putInterface(iface2);
+            node.putCategory(new RequisitionCategory("Production"));
+            node.putCategory(new RequisitionCategory("Servers"));
+            node.putAsset(new RequisitionAsset("building", "HQ"));
+            node.putAsset(new RequisitionAsset("city", "Ottawa"));
+        }
+        return node;
+    }
+
+    @Test
+    public void shouldNotDependOnOrder() {
+        assertEquals(RequisitionNodeHash.hash(createNode(false)), RequisitionNodeHash.hash(createNode(true)));
+    }
+
+    @Test
+    public void shouldChangeWithNode() {
+        final String hash = RequisitionNodeHash.hash(createNode(false));
+
+        final RequisitionNode withAsset = createNode(false);
+        withAsset.putAsset(new RequisitionAsset("city", "Toronto"));
+        assertNotEquals(hash, RequisitionNodeHash.hash(withAsset));
+
+        final RequisitionNode withMetaData = createNode(false);
+        withMetaData.getMetaData().add(new RequisitionMetaData("requisition", "key", "value"));
+        assertNotEquals(hash, RequisitionNodeHash.hash(withMetaData));
+
+        final RequisitionNode withService = createNode(false);
+        withService.getInterface("10.0.0.2").putMonitoredService(new RequisitionMonitoredService("HTTP"));
+        assertNotEquals(hash, RequisitionNodeHash.hash(withService));
+
+        final RequisitionNode unmanaged = createNode(false);
+        unmanaged.getInterface("10.0.0.1").setManaged(false);
+        assertNotEquals(hash, RequisitionNodeHash.hash(unmanaged));
+    }
+}
@@ -66,6 +66,15 @@ public class TimeTrackingMonitorTest {
         Assert.assertEquals(1, monitor.getScanningTimer().getCount());
         Assert.assertEquals(0, monitor.getCurrentNodes().size());
 
+        monitor.beginScanPhase(dummyNodeScan, "DetectInterfaces");
+        monitor.finishScanPhase(dummyNodeScan, "DetectInterfaces");
+        monitor.beginScanPhase(dummyNodeScan, "PersistInterfaces");
+        monitor.finishScanPhase(dummyNodeScan, "PersistInterfaces");
+        monitor.beginScanPhase(dummyNodeScan, "PersistInterfaces");
+        monitor.finishScanPhase(dummyNodeScan, "PersistInterfaces");
+        Assert.assertEquals(1, monitor.getScanPhaseTimers().get("DetectInterfaces").getCount());
+        Assert.assertEquals(2, monitor.getScanPhaseTimers().get("PersistInterfaces").getCount());
+
         monitor.finish();
         Assert.assertTrue(monitor.getEndTime().after(monitor.getStartTime()));
     }
@@ -0,0 +1,237 @@
+/*
+ * Licensed to The OpenNMS Group, Inc (TOG) under one or more
+ * contributor license agreements.  See the LICENSE.md file
+ * distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * TOG licenses this file to You under the GNU Affero General
+ * Public License Version 3 (the "License") or (at your option)
+ * any later version.  You may not use this file except in
+ * compliance with the License.  You may obtain a copy of the
+ * License at:
+ *
+ *      https://www.gnu.org/licenses/agpl-3.0.txt
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied.  See the License for the specific
+ * language governing permissions and limitations under the
+ * License.
+ */
+package org.opennms.netmgt.provision.service.operations;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mockito;
+import org.opennms.netmgt.model.OnmsMetaData;
+import org.opennms.netmgt.model.PrimaryType;
+import org.opennms.netmgt.provision.persist.requisition.Requisition;
+import org.opennms.netmgt.provision.persist.requisition.RequisitionAsset;
+import org.opennms.netmgt.provision.persist.requisition.RequisitionCategory;
+import org.opennms.netmgt.provision.persist.requisition.RequisitionInterface;
+import org.opennms.netmgt.provision.persist.requisition.RequisitionMetaData;
+import org.opennms.netmgt.provision.persist.requisition.RequisitionMonitoredService;
+import org.opennms.netmgt.provision.persist.requisition.RequisitionNode;
+import org.opennms.netmgt.provision.service.ProvisionService;
+import org.opennms.netmgt.provision.service.RequisitionNodeHash;
+import org.opennms.netmgt.snmp.proxy.LocationAwareSnmpClient;
+
+public class ImportOperationsManagerTest {
+
+    private ProvisionService provisionService;
+
+    @Before
+    public void setUp() {
+        provisionService = Mockito.mock(ProvisionService.class);
+        Mockito.when(provisionService.getLocationAwareSnmpClient()).thenReturn(Mockito.mock(LocationAwareSnmpClient.class));
+        Mockito.when(provisionService.getHostnameResolver()).thenReturn((addr, location) -> CompletableFuture.completedFuture("host"));
+    }
+
+    private static RequisitionNode createNode(final String foreignId) {
+        final RequisitionNode node = new RequisitionNode();
+        node.setForeignId(foreignId);
+        node.setNodeLabel(foreignId);
+        node.setLocation("Default");
+        node.setBuilding("HQ");
+        node.setCity("Ottawa");
+        node.setParentForeignSource("parentSource");
+        node.setParentForeignId("parent");
+        node.putCategory(new RequisitionCategory("Servers"));
+        node.putAsset(new RequisitionAsset("description", "server"));
+        node.getMetaData().add(new RequisitionMetaData("requisition", "key", "value"));
+
+        final RequisitionInterface iface = new RequisitionInterface();
+        iface.setIpAddr("10.0.0.1");
+        iface.setDescr("eth0");
+        iface.setSnmpPrimary(PrimaryType.PRIMARY);
+        iface.setManaged(true);
+        iface.setStatus(1);
+        iface.getCategories().add(new RequisitionCategory("Uplinks"));
+        iface.getMetaData().add(new RequisitionMetaData("requisition", "key", "value"));
+
+        final RequisitionMonitoredService service = new RequisitionMonitoredService("ICMP");
+        service.insertCategory(new RequisitionCategory("Reachability"));
+        service.getMetaData().add(new RequisitionMetaData("requisition", "key", "value"));
+        iface.putMonitoredService(service);
+        node.putInterface(iface);
+
+        final RequisitionInterface other = new RequisitionInterface();
+        other.setIpAddr("10.0.0.2");
+        other.setSnmpPrimary(PrimaryType.NOT_ELIGIBLE);
+        other.setManaged(true);
+        other.setStatus(1);
+        node.putInterface(other);
+        return node;
+    }
+
+    private static Requisition createRequisition(final String... foreignIds) {
+        final Requisition requisition = new Requisition();
+        requisition.setForeignSource("foreignSource");
+        for (final String foreignId : foreignIds) {
+            requisition.putNode(createNode(foreignId));
+        }
+        return requisition;
+    }
+
+    private static Map<String, String> hashes(final Requisition requisition) {
+        final Map<String, String> hashes = new HashMap<>();
+        requisition.getNodes().forEach(node -> hashes.put(node.getForeignId(), RequisitionNodeHash.hash(node)));
+        return hashes;
+    }
+
+    private ImportOperationsManager audit(final Requisition requisition, final Map<String, String> requisitionHashes, final String... existingForeignIds) {
+        final Map<String, Integer> foreignIdToNodeMap = new HashMap<>();
+        for (final String foreignId : existingForeignIds) {
+            foreignIdToNodeMap.put(foreignId, foreignIdToNodeMap.size() + 1);
+        }
+        final ImportOperationsManager opsMgr = new ImportOperationsManager(foreignIdToNodeMap, provisionService, "false");
+        opsMgr.setForeignSource(requisition.getForeignSource());
+        if (requisitionHashes != null) {
+            opsMgr.setRequisitionHashes(requisitionHashes);
+        }
+        opsMgr.auditNodes(requisition, "monitorKey");
+        return opsMgr;
+    }
+
+    private static Optional<String> storedHash(final ImportOperation operation) {
+        return ((SaveOrUpdateOperation) operation).getNode()
+                .findMetaDataForContextAndKey(RequisitionNodeHash.META_DATA_CONTEXT, RequisitionNodeHash.META_DATA_KEY)
+                .map(OnmsMetaData::getValue);
+    }
+
+    @Test
+    public void shouldSkipUnchangedNodes() {
+        final Requisition requisition = createRequisition("node1", "node2", "node3");
+        final ImportOperationsManager opsMgr = audit(requisition, hashes(requisition), "node1", "node2", "node3");
+
+        assertTrue(opsMgr.isDifferential());
+        assertEquals(3, opsMgr.getUnchangedCount());
+        assertEquals(0, opsMgr.getInsertCount());
+        assertEquals(0, opsMgr.getUpdateCount());
+        // skipped nodes are not deleted either
+        assertEquals(0, opsMgr.getDeleteCount());
+        assertEquals(0, opsMgr.getOperationCount());
+    }
+
+    @Test
+    public void shouldUpdateNodesWhenAnyFieldChanged() {
+        final Map<String, Consumer<RequisitionNode>> changes = new LinkedHashMap<>();
+        changes.put("node label", node -> node.setNodeLabel("renamed"));
+        changes.put("location", node -> node.setLocation("Remote"));
+        changes.put("building", node -> node.setBuilding("Annex"));
+        changes.put("city", node -> node.setCity("Toronto"));
+        changes.put("parent foreign source", node -> node.setParentForeignSource("otherSource"));
+        changes.put("parent foreign id", node -> node.setParentForeignId("otherParent"));
+        changes.put("parent node label", node -> node.setParentNodeLabel("parent"));
+        changes.put("node category", node -> node.putCategory(new RequisitionCategory("Routers")));
+        changes.put("asset", node -> node.putAsset(new RequisitionAsset("description", "router")));
+        changes.put("node meta-data", node -> node.getMetaData().get(0).setValue("changed"));
+        changes.put("interface added", node -> {
+            final RequisitionInterface iface = new RequisitionInterface();
+            iface.setIpAddr("10.0.0.3");
+            node.putInterface(iface);
+        });
+        changes.put("interface removed", node -> node.deleteInterface("10.0.0.2"));
+        changes.put("interface address", node -> node.getInterface("10.0.0.2").setIpAddr("10.0.0.4"));
+        changes.put("interface description", node -> node.getInterface("10.0.0.1").setDescr("eth1"));
+        changes.put("snmp primary", node -> node.getInterface("10.0.0.1").setSnmpPrimary(PrimaryType.SECONDARY));
+        changes.put("managed", node -> node.getInterface("10.0.0.1").setManaged(false));
+        changes.put("status", node -> node.getInterface("10.0.0.1").setStatus(3));
+        changes.put("interface category", node -> node.getInterface("10.0.0.1").getCategories().add(new RequisitionCategory("Core")));
+        changes.put("interface meta-data", node -> node.getInterface("10.0.0.1").getMetaData().get(0).setValue("changed"));
+        changes.put("service added", node -> node.getInterface("10.0.0.2").putMonitoredService(new RequisitionMonitoredService("SNMP")));
+        changes.put("service removed", node -> node.getInterface("10.0.0.1").deleteMonitoredService("ICMP"));
+        changes.put("service name", node -> node.getInterface("10.0.0.1").getMonitoredService("ICMP").setServiceName("HTTP"));
+        changes.put("service category", node -> node.getInterface("10.0.0.1").getMonitoredService("ICMP").insertCategory(new RequisitionCategory("Web")));
+        changes.put("service meta-data", node -> node.getInterface("10.0.0.1").getMonitoredService("ICMP").getMetaData().get(0).setValue("changed"));
+
+        for (final Map.Entry<String, Consumer<RequisitionNode>> change : changes.entrySet()) {
+            final Requisition requisition = createRequisition("node1", "node2", "node3");
+            final Map<String, String> hashes = hashes(requisition);
+            final RequisitionNode changed = requisition.getNode("node2");
+            change.getValue().accept(changed);
+
+            final ImportOperationsManager opsMgr = audit(requisition, hashes, "node1", "node2", "node3");
+            assertEquals(change.getKey(), 2, opsMgr.getUnchangedCount());
+            assertEquals(change.getKey(), 1, opsMgr.getUpdateCount());
+            assertEquals(change.getKey(), 0, opsMgr.getInsertCount());
+            assertEquals(change.getKey(), 0, opsMgr.getDeleteCount());
+
+            final ImportOperation update = opsMgr.getOperations().iterator().next();
+            assertEquals(change.getKey(), "node2", ((SaveOrUpdateOperation) update).getNode().getForeignId());
+            assertEquals(change.getKey(), Optional.of(RequisitionNodeHash.hash(changed)), storedHash(update));
+        }
+    }
+
+    @Test
+    public void shouldInsertNewNodesAndDeleteRemovedNodes() {
+        final Requisition requisition = createRequisition("node1", "node2");
+        final Map<String, String> hashes = hashes(requisition);
+        hashes.put("node3", "removed");
+        requisition.putNode(createNode("node4"));
+
+        final ImportOperationsManager opsMgr = audit(requisition, hashes, "node1", "node2", "node3");
+        assertEquals(2, opsMgr.getUnchangedCount());
+        assertEquals(0, opsMgr.getUpdateCount());
+        assertEquals(1, opsMgr.getInsertCount());
+        assertEquals(1, opsMgr.getDeleteCount());
+
+        final ImportOperation insert = opsMgr.getOperations().stream()
+                .filter(operation -> operation instanceof InsertOperation)
+                .findFirst().get();
+        assertEquals(Optional.of(RequisitionNodeHash.hash(requisition.getNode("node4"))), storedHash(insert));
+    }
+
+    @Test
+    public void shouldUpdateNodesWithoutStoredHash() {
+        final Requisition requisition = createRequisition("node1", "node2");
+        final ImportOperationsManager opsMgr = audit(requisition, Collections.singletonMap("node1", RequisitionNodeHash.hash(requisition.getNode("node1"))), "node1", "node2");
+        assertEquals(1, opsMgr.getUnchangedCount());
+        assertEquals(1, opsMgr.getUpdateCount());
+    }
+
+    @Test
+    public void shouldUpdateEveryNodeUnlessDifferential() {
+        final Requisition requisition = createRequisition("node1", "node2", "node3");
+        final ImportOperationsManager opsMgr = audit(requisition, null, "node1", "node2", "node3");
+
+        assertFalse(opsMgr.isDifferential());
+        assertFalse(opsMgr.skipUnchangedNode("node1", RequisitionNodeHash.hash(requisition.getNode("node1"))));
+        assertEquals(0, opsMgr.getUnchangedCount());
+        assertEquals(3, opsMgr.getUpdateCount());
+        opsMgr.getOperations().forEach(operation -> assertEquals(Optional.empty(), storedHash(operation)));
+    }
+}
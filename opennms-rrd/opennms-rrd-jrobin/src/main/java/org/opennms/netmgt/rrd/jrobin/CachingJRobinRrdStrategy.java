@@ -0,0 +1,577 @@
+/*
+ * Licensed to The OpenNMS Group, Inc (TOG) under one or more
+ * contributor license agreements.  See the LICENSE.md file
+ * distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * TOG licenses this file to You under the GNU Affero General
+ * Public License Version 3 (the "License") or (at your option)
+ * any later version.  You may not use this file except in
+ * compliance with the License.  You may obtain a copy of the
+ * License at:
+ *
+ *      https://www.gnu.org/licenses/agpl-3.0.txt
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied.  See the License for the specific
+ * language governing permissions and limitations under the
+ * License.
+ */
+package org.opennms.netmgt.rrd.jrobin;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.InvalidPathException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+import org.jrobin.core.RrdDb;
+import org.opennms.netmgt.rrd.RrdException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+
+/**
+ * A {@link JRobinRrdStrategy} that keeps the most recently used RRD files open
+ * and writes their updates in groups.
+ * <p>
+ * {@link #openFile(String)} returns a handle from a bounded LRU cache instead of
+ * opening the file for every update, and {@link #closeFile(RrdDb)} only releases it.
+ * The rows passed to {@link #updateFile(RrdDb, String, String)} are kept per file and
+ * written together once a file has collected <code>maxPendingRows</code> rows, when
+ * the periodic flush runs, when its handle is evicted, or before its last value is
+ * fetched.
+ * <p>
+ * The files are read and written by JRobin itself, so they stay compatible with the
+ * ones written by {@link JRobinRrdStrategy}. Combined with the <code>NIO</code>
+ * backend factory, the cached handles are memory-mapped; the size of the cache
+ * bounds the number of mapped files.
+ * <p>
+ * {@link #flushFiles(Collection)} lets readers that open the files themselves, like
+ * the measurements API, write the pending rows of the files they are about to read.
+ */
+public class CachingJRobinRrdStrategy extends JRobinRrdStrategy implements DisposableBean {
+    private static final Logger LOG = LoggerFactory.getLogger(CachingJRobinRrdStrategy.class);
+
+    public static final String CACHE_SIZE_PROPERTY = "org.opennms.rrd.jrobin.cache.size";
+    public static final String MAX_PENDING_ROWS_PROPERTY = "org.opennms.rrd.jrobin.cache.maxPendingRows";
+    public static final String FLUSH_INTERVAL_PROPERTY = "org.opennms.rrd.jrobin.cache.flushInterval";
+    public static final String WARM_DIRECTORY_PROPERTY = "org.opennms.rrd.jrobin.cache.warmDirectory";
+
+    public static final int DEFAULT_CACHE_SIZE = 500;
+    public static final int DEFAULT_MAX_PENDING_ROWS = 12;
+    public static final long DEFAULT_FLUSH_INTERVAL = 60000;
+
+    /**
+     * An open RRD file and the rows that have not been written to it yet.
+     * The rows are guarded by the instance itself.
+     */
+    private static class CachedFile {
+        private final String m_path;
+        private final CountDownLatch m_closed = new CountDownLatch(1);
+        private final List<String> m_pendingRows = new ArrayList<>();
+        private RrdDb m_rrdDb;
+        private int m_references = 0;
+
+        private CachedFile(final String path) {
+            m_path = path;
+        }
+    }
+
+    /** The instances in use, which {@link #flushFiles(Collection)} visits */
+    private static final Set<CachingJRobinRrdStrategy> s_instances = ConcurrentHashMap.newKeySet();
+
+    private final Map<String, CachedFile> m_cache = new LinkedHashMap<>(16, 0.75f, true);
+    private final Map<String, CachedFile> m_evicting = new HashMap<>();
+    private final Set<CachedFile> m_dirty = ConcurrentHashMap.newKeySet();
+
+    private final AtomicLong m_hits = new AtomicLong();
+    private final AtomicLong m_misses = new AtomicLong();
+    private final AtomicLong m_evictions = new AtomicLong();
+    private final AtomicLong m_rowsWritten = new AtomicLong();
+    private final AtomicLong m_flushes = new AtomicLong();
+    private final AtomicLong m_flushMillisTotal = new AtomicLong();
+    private volatile long m_flushMillisLast = 0;
+    private volatile long m_flushMillisMax = 0;
+
+    private int m_cacheSize = DEFAULT_CACHE_SIZE;
+    private int m_maxPendingRows = DEFAULT_MAX_PENDING_ROWS;
+    private long m_flushInterval = DEFAULT_FLUSH_INTERVAL;
+
+    private ScheduledExecutorService m_executor;
+
+    /**
+     * <p>Constructor for CachingJRobinRrdStrategy.</p>
+     *
+     * @throws java.lang.Exception if any.
+     */
+    public CachingJRobinRrdStrategy() throws Exception {
+        super();
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public synchronized void setConfigurationProperties(final Properties configurationParameters) {
+        super.setConfigurationProperties(configurationParameters);
+
+        String warmDirectory = null;
+        if (configurationParameters != null) {
+            m_cacheSize = Integer.parseInt(configurationParameters.getProperty(CACHE_SIZE_PROPERTY, Integer.toString(DEFAULT_CACHE_SIZE)));
+            if (m_cacheSize < 1) {
+                LOG.warn("Invalid value {} for {}, using {}", m_cacheSize, CACHE_SIZE_PROPERTY, DEFAULT_CACHE_SIZE);
+                m_cacheSize = DEFAULT_CACHE_SIZE;
+            }
+            m_maxPendingRows = Integer.parseInt(configurationParameters.getProperty(MAX_PENDING_ROWS_PROPERTY, Integer.toString(DEFAULT_MAX_PENDING_ROWS)));
+            m_flushInterval = Long.parseLong(configurationParameters.getProperty(FLUSH_INTERVAL_PROPERTY, Long.toString(DEFAULT_FLUSH_INTERVAL)));
+            warmDirectory = configurationParameters.getProperty(WARM_DIRECTORY_PROPERTY);
+        }
+
+        if (m_executor == null) {
+            s_instances.add(this);
+            m_executor = Executors.newSingleThreadScheduledExecutor(r -> {
+                final Thread thread = new Thread(r, "JRobin-Flusher");
+                thread.setDaemon(true);
+                return thread;
+            });
+            if (m_flushInterval > 0) {
+                m_executor.scheduleWithFixedDelay(this::flushSafely, m_flushInterval, m_flushInterval, TimeUnit.MILLISECONDS);
+            }
+            if (warmDirectory != null && !warmDirectory.trim().isEmpty()) {
+                final Path directory = Paths.get(warmDirectory.trim());
+                m_executor.execute(() -> warm(directory));
+            }
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * Returns the cached handle of the file, opening it if it is not cached.
+     */
+    @Override
+    public RrdDb openFile(final String fileName) throws Exception {
+        final CachedFile file = acquire(fileName);
+        try {
+            synchronized (file) {
+                if (file.m_rrdDb == null) {
+                    file.m_rrdDb = new RrdDb(fileName);
+                }
+                return file.m_rrdDb;
+            }
+        } catch (final Exception e) {
+            discard(file);
+            throw e;
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * Adds the row to the rows pending for the file, and writes them once
+     * <code>maxPendingRows</code> rows have been collected.
+     */
+    @Override
+    public void updateFile(final RrdDb rrdFile, final String owner, final String data) throws Exception {
+        final CachedFile file;
+        synchronized (m_cache) {
+            file = m_cache.get(toPath(rrdFile.getPath()));
+        }
+        if (file == null || file.m_rrdDb != rrdFile) {
+            // Not one of ours, i.e. opened before the handle was evicted
+            super.updateFile(rrdFile, owner, data);
+            return;
+        }
+
+        synchronized (file) {
+            file.m_pendingRows.add(data);
+            if (file.m_pendingRows.size() < m_maxPendingRows) {
+                m_dirty.add(file);
+                return;
+            }
+            writePendingRows(file);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * Releases the handle, which stays open until it is evicted from the cache.
+     */
+    @Override
+    public void closeFile(final RrdDb rrdFile) throws Exception {
+        final boolean cached;
+        final List<CachedFile> evicted;
+        synchronized (m_cache) {
+            final CachedFile file = m_cache.get(toPath(rrdFile.getPath()));
+            cached = file != null && file.m_rrdDb == rrdFile;
+            if (cached) {
+                file.m_references--;
+                evicted = evict();
+            } else {
+                evicted = null;
+            }
+        }
+        if (cached) {
+            close(evicted);
+        } else {
+            super.closeFile(rrdFile);
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public Double fetchLastValue(final String fileName, final String ds, final String consolidationFunction, final int interval) throws RrdException {
+        flush(fileName);
+        return super.fetchLastValue(fileName, ds, consolidationFunction, interval);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public Double fetchLastValueInRange(final String fileName, final String ds, final int interval, final int range) throws NumberFormatException, RrdException {
+        flush(fileName);
+        return super.fetchLastValueInRange(fileName, ds, interval, range);
+    }
+
+    /**
+     * Writes the pending rows of all files, ordered by their path.
+     */
+    public void flush() {
+        final List<CachedFile> dirty = new ArrayList<>(m_dirty);
+        if (dirty.isEmpty()) {
+            return;
+        }
+        dirty.sort(Comparator.comparing(f -> f.m_path));
+
+        final long start = System.currentTimeMillis();
+        for (final CachedFile file : dirty) {
+            synchronized (file) {
+                try {
+                    writePendingRows(file);
+                } catch (final Exception e) {
+                    LOG.error("flush: failed to update RRD file {}", file.m_path, e);
+                }
+            }
+        }
+        final long elapsed = System.currentTimeMillis() - start;
+
+        m_flushes.incrementAndGet();
+        m_flushMillisTotal.addAndGet(elapsed);
+        m_flushMillisLast = elapsed;
+        m_flushMillisMax = Math.max(m_flushMillisMax, elapsed);
+        LOG.debug("flush: wrote {} files in {}ms", dirty.size(), elapsed);
+    }
+
+    private void flushSafely() {
+        try {
+            flush();
+        } catch (final Throwable t) {
+            LOG.error("flush: unexpected failure", t);
+        }
+    }
+
+    /**
+     * Writes the pending rows of the given files in all instances in use.
+     * Failures are logged, so the caller reads whatever has been written.
+     *
+     * @param fileNames the paths of the RRD files about to be read
+     */
+    public static void flushFiles(final Collection<String> fileNames) {
+        for (final CachingJRobinRrdStrategy instance : s_instances) {
+            for (final String fileName : fileNames) {
+                try {
+                    instance.flush(fileName);
+                } catch (final RrdException e) {
+                    LOG.warn("flushFiles: failed to write the pending rows of {}", fileName, e);
+                }
+            }
+        }
+    }
+
+    private void flush(final String fileName) throws RrdException {
+        final CachedFile file;
+        synchronized (m_cache) {
+            file = m_cache.get(toPath(fileName));
+        }
+        if (file == null) {
+            return;
+        }
+        synchronized (file) {
+            try {
+                writePendingRows(file);
+            } catch (final Exception e) {
+                throw new RrdException("Exception occurred updating " + fileName, e);
+            }
+        }
+    }
+
+    /**
+     * Writes the pending rows and closes all cached files.
+     */
+    @Override
+    public void destroy() {
+        s_instances.remove(this);
+        synchronized (this) {
+            if (m_executor != null) {
+                m_executor.shutdownNow();
+                m_executor = null;
+            }
+        }
+        final List<CachedFile> files;
+        synchronized (m_cache) {
+            files = new ArrayList<>(m_cache.values());
+            m_cache.clear();
+        }
+        close(files);
+    }
+
+    /**
+     * Opens the most recently modified files below the given directory, so the
+     * first collection after a restart finds them in the cache.
+     */
+    protected void warm(final Path directory) {
+        if (!Files.isDirectory(directory)) {
+            LOG.warn("warm: {} is not a directory", directory);
+            return;
+        }
+        final long start = System.currentTimeMillis();
+        final String extension = getDefaultFileExtension();
+        final PriorityQueue<Map.Entry<Long, Path>> newest = new PriorityQueue<>(Map.Entry.comparingByKey());
+        try (Stream<Path> paths = Files.walk(directory)) {
+            final Iterator<Path> it = paths.iterator();
+            while (it.hasNext()) {
+                final Path path = it.next();
+                if (!path.getFileName().toString().endsWith(extension)) {
+                    continue;
+                }
+                try {
+                    newest.add(new AbstractMap.SimpleImmutableEntry<>(Files.getLastModifiedTime(path).toMillis(), path));
+                } catch (final IOException e) {
+                    LOG.debug("warm: failed to stat {}", path, e);
+                    continue;
+                }
+                if (newest.size() > m_cacheSize) {
+                    newest.poll();
+                }
+            }
+        } catch (final IOException | RuntimeException e) {
+            LOG.warn("warm: failed to walk {}", directory, e);
+        }
+
+        // Open the oldest first, so the newest end up as the most recently used
+        int opened = 0;
+        while (!newest.isEmpty()) {
+            if (Thread.currentThread().isInterrupted()) {
+                return;
+            }
+            final String fileName = newest.poll().getValue().toString();
+            try {
+                closeFile(openFile(fileName));
+                opened++;
+            } catch (final Exception e) {
+                LOG.debug("warm: failed to open {}", fileName, e);
+            }
+        }
+        LOG.info("warm: opened {} files below {} in {}ms", opened, directory, System.currentTimeMillis() - start);
+    }
+
+    private CachedFile acquire(final String fileName) throws InterruptedException {
+        final String path = toPath(fileName);
+        final CachedFile file;
+        final CachedFile previous;
+        final List<CachedFile> evicted;
+        synchronized (m_cache) {
+            CachedFile cached = m_cache.get(path);
+            if (cached != null) {
+                m_hits.incrementAndGet();
+                previous = null;
+            } else {
+                m_misses.incrementAndGet();
+                cached = new CachedFile(path);
+                m_cache.put(path, cached);
+                previous = m_evicting.get(path);
+            }
+            cached.m_references++;
+            file = cached;
+            evicted = evict();
+        }
+        close(evicted);
+
+        if (previous != null) {
+            // Don't open the file again before the evicted handle wrote its rows
+            try {
+                previous.m_closed.await();
+            } catch (final InterruptedException e) {
+                discard(file);
+                throw e;
+            }
+        }
+        return file;
+    }
+
+    /**
+     * The files are cached by their normalized absolute path, so the same file
+     * is found whichever way its path has been built.
+     */
+    private static String toPath(final String fileName) {
+        try {
+            return Paths.get(fileName).toAbsolutePath().normalize().toString();
+        } catch (final InvalidPathException e) {
+            return fileName;
+        }
+    }
+
+    private void discard(final CachedFile file) {
+        synchronized (m_cache) {
+            file.m_references--;
+            if (file.m_rrdDb == null && m_cache.get(file.m_path) == file) {
+                m_cache.remove(file.m_path);
+            }
+        }
+    }
+
+    /**
+     * Removes the least recently used files that are not in use until the cache
+     * fits. Must be called while holding the lock on the cache.
+     */
+    private List<CachedFile> evict() {
+        List<CachedFile> evicted = null;
+        final Iterator<CachedFile> it = m_cache.values().iterator();
+        int excess = m_cache.size() - m_cacheSize;
+        while (excess > 0 && it.hasNext()) {
+            final CachedFile file = it.next();
+            if (file.m_references > 0) {
+                continue;
+            }
+            it.remove();
+            m_evicting.put(file.m_path, file);
+            if (evicted == null) {
+                evicted = new ArrayList<>();
+            }
+            evicted.add(file);
+            excess--;
+        }
+        return evicted;
+    }
+
+    private void close(final List<CachedFile> files) {
+        if (files == null) {
+            return;
+        }
+        for (final CachedFile file : files) {
+            synchronized (file) {
+                try {
+                    writePendingRows(file);
+                } catch (final Exception e) {
+                    LOG.error("close: failed to update RRD file {}", file.m_path, e);
+                }
+                if (file.m_rrdDb != null) {
+                    try {
+                        file.m_rrdDb.close();
+                    } catch (final IOException e) {
+                        LOG.error("close: failed to close RRD file {}", file.m_path, e);
+                    }
+                }
+            }
+            m_evictions.incrementAndGet();
+            synchronized (m_cache) {
+                m_evicting.remove(file.m_path, file);
+            }
+            file.m_closed.countDown();
+        }
+    }
+
+    /**
+     * Writes the pending rows of the file. Must be called while holding the lock
+     * on the file. All rows are attempted; the first failure is rethrown.
+     */
+    private void writePendingRows(final CachedFile file) throws Exception {
+        m_dirty.remove(file);
+        if (file.m_pendingRows.isEmpty()) {
+            return;
+        }
+        Exception failure = null;
+        for (final String row : file.m_pendingRows) {
+            try {
+                super.updateFile(file.m_rrdDb, null, row);
+                m_rowsWritten.incrementAndGet();
+            } catch (final Exception e) {
+                LOG.debug("writePendingRows: failed to write '{}' to {}", row, file.m_path, e);
+                if (failure == null) {
+                    failure = e;
+                }
+            }
+        }
+        file.m_pendingRows.clear();
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    /**
+     * @return the share of {@link #openFile(String)} calls answered from the cache
+     */
+    public double getHitRate() {
+        final long hits = m_hits.get();
+        final long total = hits + m_misses.get();
+        return total == 0 ? 0.0 : (double) hits / total;
+    }
+
+    /**
+     * @return the number of files with rows that have not been written yet
+     */
+    public int getDirtyFileCount() {
+        return m_dirty.size();
+    }
+
+    /**
+     * @return the number of files in the cache
+     */
+    public int getCachedFileCount() {
+        synchronized (m_cache) {
+            return m_cache.size();
+        }
+    }
+
+    /**
+     * @return the duration of the last periodic flush in milliseconds
+     */
+    public long getLastFlushMillis() {
+        return m_flushMillisLast;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public String getStats() {
+        final long flushes = m_flushes.get();
+        return "cached files: " + getCachedFileCount()
+                + ", hit rate: " + String.format("%.3f", getHitRate())
+                + ", evictions: " + m_evictions.get()
+                + ", dirty files: " + getDirtyFileCount()
+                + ", rows written: " + m_rowsWritten.get()
+                + ", flushes: " + flushes
+                + ", flush latency (last/avg/max ms): " + m_flushMillisLast
+                + "/" + (flushes == 0 ? 0 : m_flushMillisTotal.get() / flushes)
+                + "/" + m_flushMillisMax;
+    }
+}
@@ -0,0 +1,195 @@
+/*
+ * Licensed to The OpenNMS Group, Inc (TOG) under one or more
+ * contributor license agreements.  See the LICENSE.md file
+ * distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * TOG licenses this file to You under the GNU Affero General
+ * Public License Version 3 (the "License") or (at your option)
+ * any later version.  You may not use this file except in
+ * compliance with the License.  You may obtain a copy of the
+ * License at:
+ *
+ *      https://www.gnu.org/licenses/agpl-3.0.txt
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied.  See the License for the specific
+ * language governing permissions and limitations under the
+ * License.
+ */
+package org.opennms.netmgt.rrd.jrobin;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Properties;
+
+import org.jrobin.core.RrdDb;
+import org.jrobin.core.RrdDef;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.opennms.core.test.MockLogAppender;
+import org.opennms.netmgt.rrd.RrdAttributeType;
+import org.opennms.netmgt.rrd.RrdDataSource;
+
+public class CachingJRobinRrdStrategyTest {
+
+    @Rule
+    public TemporaryFolder m_folder = new TemporaryFolder();
+
+    private CachingJRobinRrdStrategy m_strategy;
+
+    @Before
+    public void setUp() throws Exception {
+        MockLogAppender.setupLogging(true, "DEBUG");
+
+        final Properties props = new Properties();
+        props.setProperty(CachingJRobinRrdStrategy.CACHE_SIZE_PROPERTY, "2");
+        props.setProperty(CachingJRobinRrdStrategy.MAX_PENDING_ROWS_PROPERTY, "3");
+        // Only flush when asked to
+        props.setProperty(CachingJRobinRrdStrategy.FLUSH_INTERVAL_PROPERTY, "0");
+
+        m_strategy = new CachingJRobinRrdStrategy();
+        m_strategy.setConfigurationProperties(props);
+    }
+
+    @After
+    public void tearDown() {
+        m_strategy.destroy();
+    }
+
+    @Test
+    public void reusesOpenFiles() throws Exception {
+        final String fileName = createRrdFile("foo");
+
+        final RrdDb first = m_strategy.openFile(fileName);
+        m_strategy.closeFile(first);
+        final RrdDb second = m_strategy.openFile(fileName);
+        m_strategy.closeFile(second);
+
+        assertSame(first, second);
+        assertEquals(0.5, m_strategy.getHitRate(), 0.0);
+        assertEquals(1, m_strategy.getCachedFileCount());
+    }
+
+    @Test
+    public void coalescesUpdates() throws Exception {
+        final String fileName = createRrdFile("foo");
+        final long start = 1000000200L;
+
+        RrdDb rrd = m_strategy.openFile(fileName);
+        m_strategy.updateFile(rrd, "test", start + ":1");
+        m_strategy.updateFile(rrd, "test", (start + 300) + ":2");
+        m_strategy.closeFile(rrd);
+
+        // The rows are pending until the flush
+        assertEquals(1, m_strategy.getDirtyFileCount());
+        assertEquals(1000L, getLastUpdateTime(fileName));
+
+        m_strategy.flush();
+        assertEquals(0, m_strategy.getDirtyFileCount());
+        assertEquals(start + 300, getLastUpdateTime(fileName));
+
+        // Reaching the maximum number of pending rows writes them right away
+        rrd = m_strategy.openFile(fileName);
+        for (int i = 2; i < 5; i++) {
+            m_strategy.updateFile(rrd, "test", (start + i * 300) + ":" + i);
+        }
+        m_strategy.closeFile(rrd);
+        assertEquals(0, m_strategy.getDirtyFileCount());
+        assertEquals(start + 4 * 300, getLastUpdateTime(fileName));
+    }
+
+    @Test
+    public void writesPendingRowsOnEviction() throws Exception {
+        final String foo = createRrdFile("foo");
+        final String bar = createRrdFile("bar");
+        final String baz = createRrdFile("baz");
+
+        final RrdDb rrd = m_strategy.openFile(foo);
+        m_strategy.updateFile(rrd, "test", "1000000200:1");
+        m_strategy.closeFile(rrd);
+
+        m_strategy.closeFile(m_strategy.openFile(bar));
+        m_strategy.closeFile(m_strategy.openFile(baz));
+
+        assertEquals(2, m_strategy.getCachedFileCount());
+        assertEquals(1000000200L, getLastUpdateTime(foo));
+    }
+
+    @Test
+    public void fetchesPendingRows() throws Exception {
+        final String fileName = createRrdFile("foo");
+        final long now = System.currentTimeMillis() / 1000L;
+        final long step = now - now % 300;
+
+        final RrdDb rrd = m_strategy.openFile(fileName);
+        m_strategy.updateFile(rrd, "test", (step - 600) + ":42");
+        m_strategy.updateFile(rrd, "test", (step - 300) + ":42");
+        m_strategy.closeFile(rrd);
+
+        assertEquals(42.0, m_strategy.fetchLastValueInRange(fileName, "bar", 300000, 3600000), 0.0);
+        assertEquals(0, m_strategy.getDirtyFileCount());
+    }
+
+    @Test
+    public void flushesFilesBeforeTheyAreRead() throws Exception {
+        final String fileName = createRrdFile("foo");
+
+        final RrdDb rrd = m_strategy.openFile(fileName);
+        m_strategy.updateFile(rrd, "test", "1000000200:1");
+        m_strategy.closeFile(rrd);
+
+        // Readers may build the path differently
+        final String otherPath = m_folder.getRoot().getAbsolutePath() + File.separator + "." + File.separator
+                + "foo" + m_strategy.getDefaultFileExtension();
+        CachingJRobinRrdStrategy.flushFiles(Collections.singletonList(otherPath));
+
+        assertEquals(0, m_strategy.getDirtyFileCount());
+        assertEquals(1000000200L, getLastUpdateTime(fileName));
+    }
+
+    @Test
+    public void ignoresInvalidCacheSize() throws Exception {
+        final Properties props = new Properties();
+        props.setProperty(CachingJRobinRrdStrategy.CACHE_SIZE_PROPERTY, "0");
+        props.setProperty(CachingJRobinRrdStrategy.FLUSH_INTERVAL_PROPERTY, "0");
+
+        final CachingJRobinRrdStrategy strategy = new CachingJRobinRrdStrategy();
+        try {
+            strategy.setConfigurationProperties(props);
+            strategy.closeFile(strategy.openFile(createRrdFile("foo")));
+            strategy.closeFile(strategy.openFile(createRrdFile("bar")));
+            assertEquals(2, strategy.getCachedFileCount());
+        } finally {
+            strategy.destroy();
+        }
+    }
+
+    private String createRrdFile(final String name) throws Exception {
+        final List<RrdDataSource> dataSources = new ArrayList<>();
+        dataSources.add(new RrdDataSource("bar", RrdAttributeType.GAUGE, 3000, "U", "U"));
+        final RrdDef def = m_strategy.createDefinition("test", m_folder.getRoot().getAbsolutePath(), name, 300,
+                dataSources, Collections.singletonList("RRA:AVERAGE:0.5:1:2016"));
+        m_strategy.createFile(def);
+        return m_folder.getRoot().getAbsolutePath() + File.separator + name + m_strategy.getDefaultFileExtension();
+    }
+
+    private static long getLastUpdateTime(final String fileName) throws Exception {
+        final RrdDb rrd = new RrdDb(fileName, true);
+        try {
+            return rrd.getLastUpdateTime();
+        } finally {
+            rrd.close();
+        }
+    }
+}
@@ -24,6 +24,9 @@ package org.opennms.netmgt.collectd;
 import java.io.File;
 import java.net.InetAddress;
 import java.util.Date;
+import java.util.Map;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.RejectedExecutionException;
 
 import org.opennms.core.logging.Logging;
 import org.opennms.core.utils.InetAddressUtils;
@@ -86,6 +89,15 @@ public class CollectableService implements ReadyRunnable {
 
     private final boolean m_usingStrictInterval = !System.getProperties().containsKey(STRICT_INTERVAL_SYS_PROP) || Boolean.getBoolean(STRICT_INTERVAL_SYS_PROP);
 
+    protected static final String BACKPRESSURE_MAX_STRETCH_SYS_PROP = "org.opennms.netmgt.collectd.backpressure.maxStretch";
+
+    /**
+     * By how much the interval is stretched, as a fraction of the interval, when the persisters
+     * report full backpressure. Disabled by default, set it to e.g. 1.0 to delay the next collection
+     * by up to one interval.
+     */
+    private final double m_backpressureMaxStretch = Double.parseDouble(System.getProperty(BACKPRESSURE_MAX_STRETCH_SYS_PROP, "0"));
+
     /**
      * Interface's parent node identifier
      */
@@ -127,6 +139,11 @@ public class CollectableService implements ReadyRunnable {
 
     private ThresholdingSession m_thresholdingSession;
 
+    /**
+     * The stages used to persist and threshold asynchronously, or null to collect synchronously
+     */
+    private final CollectionPipeline m_pipeline;
+
     /**
      * Constructs a new instance of a CollectableService object.
      *
@@ -141,6 +158,16 @@ public class CollectableService implements ReadyRunnable {
     protected CollectableService(OnmsIpInterface iface, IpInterfaceDao ifaceDao, CollectionSpecification spec,
             Scheduler scheduler, SchedulingCompletedFlag schedulingCompletedFlag, PlatformTransactionManager transMgr,
             PersisterFactory persisterFactory, ThresholdingService thresholdingService) throws CollectionInitializationException {
+        this(iface, ifaceDao, spec, scheduler, schedulingCompletedFlag, transMgr, persisterFactory, thresholdingService, null);
+    }
+
+    /**
+     * Constructs a new instance of a CollectableService object, which collects asynchronously
+     * if a pipeline is given.
+     */
+    protected CollectableService(OnmsIpInterface iface, IpInterfaceDao ifaceDao, CollectionSpecification spec,
+            Scheduler scheduler, SchedulingCompletedFlag schedulingCompletedFlag, PlatformTransactionManager transMgr,
+            PersisterFactory persisterFactory, ThresholdingService thresholdingService, CollectionPipeline pipeline) throws CollectionInitializationException {
 
         m_agent = DefaultSnmpCollectionAgent.create(iface.getId(), ifaceDao, transMgr);
         m_spec = spec;
@@ -149,6 +176,7 @@ public class CollectableService implements ReadyRunnable {
         m_ifaceDao = ifaceDao;
         m_transMgr = transMgr;
         m_persisterFactory = persisterFactory;
+        m_pipeline = pipeline;
 
         m_nodeId = iface.getNode().getId().intValue();
         m_status = CollectionStatus.SUCCEEDED;
@@ -336,27 +364,23 @@ public class CollectableService implements ReadyRunnable {
          * that the collection should be skipped.
          */
         if (!m_spec.scheduledOutage(m_agent)) {
+            if (m_pipeline != null) {
+                // The service is rescheduled once the collection has passed through the pipeline
+                doCollectionAsync();
+                return;
+            }
             try {
                 doCollection();
                 updateStatus(CollectionStatus.SUCCEEDED, null);
-            } catch (CollectionTimedOut e) {
-                LOG.info(e.getMessage());
-                updateStatus(CollectionStatus.FAILED, e);
-            } catch (CollectionWarning e) {
-                LOG.warn(e.getMessage(), e);
-                updateStatus(CollectionStatus.FAILED, e);
-            } catch (CollectionUnknown e) {
-                LOG.warn(e.getMessage(), e);
-                // Omit any status updates
-            } catch (CollectionException e) {
-                LOG.error(e.getMessage(), e);
-                updateStatus(CollectionStatus.FAILED, e);
             } catch (Throwable e) {
-                LOG.error(e.getMessage(), e);
-                updateStatus(CollectionStatus.FAILED, new CollectionException("Collection failed unexpectedly: " + e.getClass().getSimpleName() + ": " + e.getMessage(), e));
+                handleCollectionFailure(e);
             }
         }
 
+        reschedule();
+    }
+
+    private void reschedule() {
         // If we are doing strict interval, determine how long the collection
         // has taken, so we can cut that off of the service interval
         long diff = 0;
@@ -364,8 +388,47 @@ public class CollectableService implements ReadyRunnable {
             diff = System.currentTimeMillis() - m_lastScheduledCollectionTime;
             diff = Math.min(diff, m_spec.getInterval());
         }
+
+        // Give the persisters a chance to catch up if they are falling behind
+        final long stretch = getBackpressureStretch();
+        if (stretch > 0) {
+            LOG.debug("run: Delaying the next collection of {} by {}ms due to backpressure from the persisters.", this, stretch);
+            if (m_usingStrictInterval) {
+                m_lastScheduledCollectionTime += stretch;
+            }
+        }
     	// Reschedule the service
-        m_scheduler.schedule(m_spec.getInterval() - diff, getReadyRunnable());
+        m_scheduler.schedule(m_spec.getInterval() - diff + stretch, getReadyRunnable());
+    }
+
+    private void handleCollectionFailure(Throwable e) {
+        if (e instanceof CollectionTimedOut) {
+            LOG.info(e.getMessage());
+            updateStatus(CollectionStatus.FAILED, (CollectionException) e);
+        } else if (e instanceof CollectionWarning) {
+            LOG.warn(e.getMessage(), e);
+            updateStatus(CollectionStatus.FAILED, (CollectionException) e);
+        } else if (e instanceof CollectionUnknown) {
+            LOG.warn(e.getMessage(), e);
+            // Omit any status updates
+        } else if (e instanceof CollectionException) {
+            LOG.error(e.getMessage(), e);
+            updateStatus(CollectionStatus.FAILED, (CollectionException) e);
+        } else {
+            LOG.error(e.getMessage(), e);
+            updateStatus(CollectionStatus.FAILED, new CollectionException("Collection failed unexpectedly: " + e.getClass().getSimpleName() + ": " + e.getMessage(), e));
+        }
+    }
+
+    private long getBackpressureStretch() {
+        if (m_persisterFactory == null || m_backpressureMaxStretch <= 0) {
+            return 0;
+        }
+        final double backpressure = m_persisterFactory.getBackpressure();
+        if (backpressure <= 0) {
+            return 0;
+        }
+        return (long) (m_spec.getInterval() * Math.min(1.0, backpressure) * m_backpressureMaxStretch);
     }
 
     private void updateStatus(CollectionStatus status, CollectionException e) {
@@ -403,52 +466,138 @@ public class CollectableService implements ReadyRunnable {
      */
     private void doCollection() throws CollectionException {
         LOG.info("run: starting new collection for {}/{}/{}/{}", m_nodeId, getHostAddress(), m_spec.getServiceName(), m_spec.getPackageName());
-        CollectionSet result = null;
         try {
             final ServiceParameters serviceParameters = m_spec.getServiceParameters();
             final RrdRepository rrdRepository = m_spec.getRrdRepository(serviceParameters.getCollectionName());
-            result = m_spec.collect(m_agent);
+            final CollectionSet result = m_spec.collect(m_agent);
             if (result != null) {
-                Collectd.instrumentation().beginPersistingServiceData(m_spec.getPackageName(), m_nodeId, getHostAddress(), m_spec.getServiceName());
-                try {
-                    CollectionSetVisitor persister = m_persisterFactory.createPersister(serviceParameters, rrdRepository, result.ignorePersist(), false, false);
-                    if (Boolean.getBoolean(USE_COLLECTION_START_TIME_SYS_PROP)) {
-                        final ConstantTimeKeeper timeKeeper = new ConstantTimeKeeper(new Date(m_lastScheduledCollectionTime));
-                        // Wrap the persister visitor such that calls to CollectionResource.getTimeKeeper() return the given timeKeeper
-                        persister = wrapResourcesWithTimekeeper(persister, timeKeeper);
-                    }
-                    result.visit(persister);
-                } finally {
-                    Collectd.instrumentation().endPersistingServiceData(m_spec.getPackageName(), m_nodeId, getHostAddress(), m_spec.getServiceName());
-                }
+                persist(result, serviceParameters, rrdRepository);
+                threshold(result);
+                checkResultStatus(result);
+            }
+        } catch (Throwable t) {
+            LOG.warn("run: failed collection for {}/{}/{}/{}", m_nodeId, getHostAddress(), m_spec.getServiceName(), m_spec.getPackageName());
+            throw toCollectionException(t);
+        }
+        LOG.info("run: finished collection for {}/{}/{}/{}", m_nodeId, getHostAddress(), m_spec.getServiceName(), m_spec.getPackageName());
+    }
 
-                // Do thresholding
-                if (m_thresholdingSession != null) {
-                    try {
-                        m_thresholdingSession.accept(result);
-                    } catch (ThresholdInitializationException e) {
-                        LOG.warn("ThresholdInitializationException for {}. Thresholding skipped.", this, e);
+    /**
+     * Perform data collection without blocking the calling thread. The collection set is persisted
+     * and thresholded on the executors of the pipeline, after which the service is rescheduled.
+     */
+    private void doCollectionAsync() {
+        if (m_pipeline.isShutdown()) {
+            LOG.info("run: collectd is stopping, skipping collection for {}/{}/{}/{}", m_nodeId, getHostAddress(), m_spec.getServiceName(), m_spec.getPackageName());
+            return;
+        }
+        LOG.info("run: starting new asynchronous collection for {}/{}/{}/{}", m_nodeId, getHostAddress(), m_spec.getServiceName(), m_spec.getPackageName());
+        final Map<String, String> loggingContext = Logging.getCopyOfContextMap();
+        final ServiceParameters serviceParameters;
+        final RrdRepository rrdRepository;
+        try {
+            serviceParameters = m_spec.getServiceParameters();
+            rrdRepository = m_spec.getRrdRepository(serviceParameters.getCollectionName());
+        } catch (Throwable t) {
+            completeCollectionAsync(null, t);
+            return;
+        }
+
+        m_spec.collectAsync(m_agent)
+                .thenApplyAsync(result -> {
+                    try (Logging.MDCCloseable mdc = Logging.withContextMapCloseable(loggingContext)) {
+                        if (result != null) {
+                            persist(result, serviceParameters, rrdRepository);
+                        }
+                        return result;
                     }
-                } else {
-                    LOG.warn("No thresholding session for {}. Thresholding skipped.", this);
-                }
+                }, m_pipeline.getPersistExecutor())
+                .thenApplyAsync(result -> {
+                    try (Logging.MDCCloseable mdc = Logging.withContextMapCloseable(loggingContext)) {
+                        if (result != null) {
+                            threshold(result);
+                        }
+                        return result;
+                    }
+                }, m_pipeline.getThresholdExecutor())
+                .whenComplete((result, ex) -> {
+                    try (Logging.MDCCloseable mdc = Logging.withContextMapCloseable(loggingContext)) {
+                        completeCollectionAsync(result, ex);
+                    }
+                });
+    }
 
-                if (!CollectionStatus.SUCCEEDED.equals(result.getStatus())) {
-                    throw new CollectionFailed(result.getStatus());
-                }
+    private void completeCollectionAsync(CollectionSet result, Throwable ex) {
+        final Throwable cause = ex instanceof CompletionException && ex.getCause() != null ? ex.getCause() : ex;
+        if (cause instanceof RejectedExecutionException) {
+            if (m_pipeline.isShutdown()) {
+                // Not a failure of the service, and there is nothing to reschedule on
+                LOG.info("run: collectd is stopping, discarded collection for {}/{}/{}/{}", m_nodeId, getHostAddress(), m_spec.getServiceName(), m_spec.getPackageName());
+                return;
             }
-        } catch (IllegalArgumentException e) {
-            LOG.warn("run: failed collection for {}/{}/{}/{}", m_nodeId, getHostAddress(), m_spec.getServiceName(), m_spec.getPackageName());
-            throw new CollectionException("Illegal Argument Exception was caught during data collection for interface " + m_nodeId + "/" + getHostAddress() + "/" + m_spec.getServiceName()
-                    + " with message: " + e.getMessage(), e);
-        } catch (CollectionException e) {
-            LOG.warn("run: failed collection for {}/{}/{}/{}", m_nodeId, getHostAddress(), m_spec.getServiceName(), m_spec.getPackageName());
-            throw e;
+            // The pipeline is saturated, the collection set was dropped but the service itself is fine
+            LOG.warn("run: dropped collection for {}/{}/{}/{}: {}", m_nodeId, getHostAddress(), m_spec.getServiceName(), m_spec.getPackageName(), cause.getMessage());
+            reschedule();
+            return;
+        }
+        try {
+            if (cause != null) {
+                throw cause;
+            }
+            if (result != null) {
+                checkResultStatus(result);
+            }
+            LOG.info("run: finished collection for {}/{}/{}/{}", m_nodeId, getHostAddress(), m_spec.getServiceName(), m_spec.getPackageName());
+            updateStatus(CollectionStatus.SUCCEEDED, null);
         } catch (Throwable t) {
             LOG.warn("run: failed collection for {}/{}/{}/{}", m_nodeId, getHostAddress(), m_spec.getServiceName(), m_spec.getPackageName());
-            throw new CollectionException("An undeclared throwable was caught during data collection for interface " + m_nodeId + "/" + getHostAddress() + "/" + m_spec.getServiceName(), t);
+            handleCollectionFailure(toCollectionException(t));
+        } finally {
+            reschedule();
         }
-        LOG.info("run: finished collection for {}/{}/{}/{}", m_nodeId, getHostAddress(), m_spec.getServiceName(), m_spec.getPackageName());
+    }
+
+    private void persist(CollectionSet result, ServiceParameters serviceParameters, RrdRepository rrdRepository) {
+        Collectd.instrumentation().beginPersistingServiceData(m_spec.getPackageName(), m_nodeId, getHostAddress(), m_spec.getServiceName());
+        try {
+            CollectionSetVisitor persister = m_persisterFactory.createPersister(serviceParameters, rrdRepository, result.ignorePersist(), false, false);
+            if (Boolean.getBoolean(USE_COLLECTION_START_TIME_SYS_PROP)) {
+                final ConstantTimeKeeper timeKeeper = new ConstantTimeKeeper(new Date(m_lastScheduledCollectionTime));
+                // Wrap the persister visitor such that calls to CollectionResource.getTimeKeeper() return the given timeKeeper
+                persister = wrapResourcesWithTimekeeper(persister, timeKeeper);
+            }
+            result.visit(persister);
+        } finally {
+            Collectd.instrumentation().endPersistingServiceData(m_spec.getPackageName(), m_nodeId, getHostAddress(), m_spec.getServiceName());
+        }
+    }
+
+    private void threshold(CollectionSet result) {
+        if (m_thresholdingSession != null) {
+            try {
+                m_thresholdingSession.accept(result);
+            } catch (ThresholdInitializationException e) {
+                LOG.warn("ThresholdInitializationException for {}. Thresholding skipped.", this, e);
+            }
+        } else {
+            LOG.warn("No thresholding session for {}. Thresholding skipped.", this);
+        }
+    }
+
+    private static void checkResultStatus(CollectionSet result) throws CollectionFailed {
+        if (!CollectionStatus.SUCCEEDED.equals(result.getStatus())) {
+            throw new CollectionFailed(result.getStatus());
+        }
+    }
+
+    private CollectionException toCollectionException(Throwable t) {
+        if (t instanceof CollectionException) {
+            return (CollectionException) t;
+        } else if (t instanceof IllegalArgumentException) {
+            return new CollectionException("Illegal Argument Exception was caught during data collection for interface " + m_nodeId + "/" + getHostAddress() + "/" + m_spec.getServiceName()
+                    + " with message: " + t.getMessage(), t);
+        }
+        return new CollectionException("An undeclared throwable was caught during data collection for interface " + m_nodeId + "/" + getHostAddress() + "/" + m_spec.getServiceName(), t);
     }
 
 	/**
@@ -82,9 +82,9 @@ import org.opennms.netmgt.model.OnmsMonitoredService;
 import org.opennms.netmgt.model.OnmsNode;
 import org.opennms.netmgt.model.events.EventBuilder;
 import org.opennms.netmgt.model.events.EventUtils;
-import org.opennms.netmgt.scheduler.LegacyScheduler;
 import org.opennms.netmgt.scheduler.ReadyRunnable;
 import org.opennms.netmgt.scheduler.Scheduler;
+import org.opennms.netmgt.scheduler.Schedulers;
 import org.opennms.netmgt.snmp.InetAddrUtils;
 import org.opennms.netmgt.threshd.api.ThresholdingService;
 import org.slf4j.Logger;
@@ -205,6 +205,11 @@ public class Collectd extends AbstractServiceDaemon implements
 
     private AtomicInteger sessionID = new AtomicInteger();
 
+    /**
+     * Only set when collecting asynchronously
+     */
+    private volatile CollectionPipeline m_collectionPipeline;
+
     /**
      * Constructor.
      */
@@ -230,6 +235,10 @@ public class Collectd extends AbstractServiceDaemon implements
         
         // make sure the instrumentation gets initialized
         instrumentation();
+        if (CollectionPipeline.isEnabled()) {
+            LOG.info("init: Collecting asynchronously");
+            m_collectionPipeline = CollectionPipeline.fromSystemProperties();
+        }
         //initialize and schedule collectors
         instantiateCollectors();
         //listen to the events
@@ -317,7 +326,7 @@ public class Collectd extends AbstractServiceDaemon implements
             // Create a scheduler
             try {
                 LOG.debug("init: Creating collectd scheduler");
-                setScheduler(new LegacyScheduler("Collectd", m_collectdConfigFactory.getThreads()));
+                setScheduler(Schedulers.newScheduler("Collectd", m_collectdConfigFactory.getThreads()));
             } catch (final RuntimeException e) {
                 LOG.error("init: Failed to create collectd scheduler", e);
                 throw e;
@@ -346,6 +355,11 @@ public class Collectd extends AbstractServiceDaemon implements
         deinstallMessageSelectors();
 
         setScheduler(null);
+
+        if (m_collectionPipeline != null) {
+            m_collectionPipeline.shutdown();
+            m_collectionPipeline = null;
+        }
     }
 
     /** {@inheritDoc} */
@@ -474,7 +488,8 @@ public class Collectd extends AbstractServiceDaemon implements
                     m_schedulingCompletedFlag,
                     m_transTemplate.getTransactionManager(),
                     m_persisterFactory,
-                    m_thresholdingService
+                    m_thresholdingService,
+                    m_collectionPipeline
                 );
 
                 // Add new collectable service to the collectable service list.
@@ -1530,6 +1545,13 @@ public class Collectd extends AbstractServiceDaemon implements
         return m_collectableServices.size();
     }
 
+    /**
+     * Returns the stages used to collect asynchronously, or null if collecting synchronously.
+     */
+    public CollectionPipeline getCollectionPipeline() {
+        return m_collectionPipeline;
+    }
+
     @VisibleForTesting
     public void setPollOutagesDao(ReadablePollOutagesDao pollOutagesDao) {
         this.pollOutagesDao = Objects.requireNonNull(pollOutagesDao);
@@ -0,0 +1,202 @@
+/*
+ * Licensed to The OpenNMS Group, Inc (TOG) under one or more
+ * contributor license agreements.  See the LICENSE.md file
+ * distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * TOG licenses this file to You under the GNU Affero General
+ * Public License Version 3 (the "License") or (at your option)
+ * any later version.  You may not use this file except in
+ * compliance with the License.  You may obtain a copy of the
+ * License at:
+ *
+ *      https://www.gnu.org/licenses/agpl-3.0.txt
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied.  See the License for the specific
+ * language governing permissions and limitations under the
+ * License.
+ */
+package org.opennms.netmgt.collectd;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
+/**
+ * The stages a collection passes through when collectd collects asynchronously.
+ * <p>
+ * Collectors which are executed via RPC complete their collection on their own threads. The
+ * collection sets are then persisted and thresholded on the executors of this pipeline, so a
+ * slow agent or persistence backend no longer holds one of the collectd scheduler threads for
+ * the whole cycle.
+ * <p>
+ * Both stages are bounded. When the queue of a stage is full, the thread that completed the
+ * previous stage waits for room in the queue, which slows down the collections instead of
+ * dropping them. If there is still no room after the handoff timeout, the collection set is
+ * rejected: it is counted, logged, and the collection completes without it. Once the pipeline
+ * is shut down, new collection sets are rejected right away.
+ */
+public class CollectionPipeline {
+    private static final Logger LOG = LoggerFactory.getLogger(CollectionPipeline.class);
+
+    protected static final String ASYNC_SYS_PROP = "org.opennms.netmgt.collectd.async";
+
+    protected static final String PERSIST_THREADS_SYS_PROP = "org.opennms.netmgt.collectd.async.persistThreads";
+    protected static final String PERSIST_QUEUE_SIZE_SYS_PROP = "org.opennms.netmgt.collectd.async.persistQueueSize";
+    protected static final String THRESHOLD_THREADS_SYS_PROP = "org.opennms.netmgt.collectd.async.thresholdThreads";
+    protected static final String THRESHOLD_QUEUE_SIZE_SYS_PROP = "org.opennms.netmgt.collectd.async.thresholdQueueSize";
+    protected static final String HANDOFF_TIMEOUT_SYS_PROP = "org.opennms.netmgt.collectd.async.handoffTimeout";
+
+    private static final int DEFAULT_THREADS = Math.max(2, Runtime.getRuntime().availableProcessors());
+    private static final int DEFAULT_QUEUE_SIZE = 10000;
+    private static final long DEFAULT_HANDOFF_TIMEOUT = TimeUnit.SECONDS.toMillis(30);
+
+    private final BlockingHandoff m_persistHandoff;
+
+    private final ThreadPoolExecutor m_persistExecutor;
+
+    private final BlockingHandoff m_thresholdHandoff;
+
+    private final ThreadPoolExecutor m_thresholdExecutor;
+
+    public CollectionPipeline(int persistThreads, int persistQueueSize, int thresholdThreads, int thresholdQueueSize) {
+        this(persistThreads, persistQueueSize, thresholdThreads, thresholdQueueSize, DEFAULT_HANDOFF_TIMEOUT);
+    }
+
+    public CollectionPipeline(int persistThreads, int persistQueueSize, int thresholdThreads, int thresholdQueueSize, long handoffTimeoutMs) {
+        m_persistHandoff = new BlockingHandoff("persist", handoffTimeoutMs);
+        m_persistExecutor = createExecutor("collectd-persist-%d", persistThreads, persistQueueSize, m_persistHandoff);
+        m_thresholdHandoff = new BlockingHandoff("threshold", handoffTimeoutMs);
+        m_thresholdExecutor = createExecutor("collectd-threshold-%d", thresholdThreads, thresholdQueueSize, m_thresholdHandoff);
+    }
+
+    /**
+     * Returns <code>true</code> if collectd should collect asynchronously.
+     */
+    public static boolean isEnabled() {
+        return Boolean.getBoolean(ASYNC_SYS_PROP);
+    }
+
+    /**
+     * Creates a pipeline sized by the system properties.
+     */
+    public static CollectionPipeline fromSystemProperties() {
+        return new CollectionPipeline(
+                Integer.getInteger(PERSIST_THREADS_SYS_PROP, DEFAULT_THREADS),
+                Integer.getInteger(PERSIST_QUEUE_SIZE_SYS_PROP, DEFAULT_QUEUE_SIZE),
+                Integer.getInteger(THRESHOLD_THREADS_SYS_PROP, DEFAULT_THREADS),
+                Integer.getInteger(THRESHOLD_QUEUE_SIZE_SYS_PROP, DEFAULT_QUEUE_SIZE),
+                Long.getLong(HANDOFF_TIMEOUT_SYS_PROP, DEFAULT_HANDOFF_TIMEOUT));
+    }
+
+    private static ThreadPoolExecutor createExecutor(String nameFormat, int threads, int queueSize, RejectedExecutionHandler handler) {
+        return new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueSize),
+                new ThreadFactoryBuilder().setNameFormat(nameFormat).build(),
+                handler);
+    }
+
+    /**
+     * Waits for room in the queue of a full stage, for up to the handoff timeout.
+     */
+    private static class BlockingHandoff implements RejectedExecutionHandler {
+        private final String m_stage;
+        private final long m_timeoutMs;
+        private final AtomicLong m_rejected = new AtomicLong();
+
+        private BlockingHandoff(String stage, long timeoutMs) {
+            m_stage = stage;
+            m_timeoutMs = timeoutMs;
+        }
+
+        @Override
+        public void rejectedExecution(Runnable r, ThreadPoolExecutor executor) {
+            if (executor.isShutdown()) {
+                throw new RejectedExecutionException("The " + m_stage + " stage of the collection pipeline is shut down");
+            }
+            try {
+                if (executor.getQueue().offer(r, m_timeoutMs, TimeUnit.MILLISECONDS)) {
+                    // The workers may have exited if the pipeline was shut down while we were waiting
+                    if (executor.isShutdown() && executor.getQueue().remove(r)) {
+                        throw new RejectedExecutionException("The " + m_stage + " stage of the collection pipeline is shut down");
+                    }
+                    return;
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            final long rejected = m_rejected.incrementAndGet();
+            LOG.warn("The {} stage of the collection pipeline is full, a collection set was rejected after waiting {}ms. {} collection sets were rejected so far.",
+                    m_stage, m_timeoutMs, rejected);
+            throw new RejectedExecutionException("The " + m_stage + " stage of the collection pipeline is full");
+        }
+    }
+
+    public Executor getPersistExecutor() {
+        return m_persistExecutor;
+    }
+
+    public Executor getThresholdExecutor() {
+        return m_thresholdExecutor;
+    }
+
+    public long getPersistQueuePendingCount() {
+        return m_persistExecutor.getQueue().size();
+    }
+
+    public long getPersistActiveThreads() {
+        return m_persistExecutor.getActiveCount();
+    }
+
+    public long getPersistTasksCompleted() {
+        return m_persistExecutor.getCompletedTaskCount();
+    }
+
+    public long getPersistTasksRejected() {
+        return m_persistHandoff.m_rejected.get();
+    }
+
+    public long getThresholdQueuePendingCount() {
+        return m_thresholdExecutor.getQueue().size();
+    }
+
+    public long getThresholdActiveThreads() {
+        return m_thresholdExecutor.getActiveCount();
+    }
+
+    public long getThresholdTasksCompleted() {
+        return m_thresholdExecutor.getCompletedTaskCount();
+    }
+
+    public long getThresholdTasksRejected() {
+        return m_thresholdHandoff.m_rejected.get();
+    }
+
+    /**
+     * Returns <code>true</code> once the pipeline was shut down and rejects new collection sets.
+     */
+    public boolean isShutdown() {
+        return m_persistExecutor.isShutdown();
+    }
+
+    /**
+     * Stops accepting new collection sets. The collection sets that were already queued are
+     * still persisted and thresholded.
+     */
+    public void shutdown() {
+        m_persistExecutor.shutdown();
+        m_thresholdExecutor.shutdown();
+    }
+}
@@ -36,8 +36,9 @@ import javax.management.openmbean.TabularDataSupport;
 import javax.management.openmbean.TabularType;
 
 import org.opennms.netmgt.collectd.CollectableService;
+import org.opennms.netmgt.collectd.CollectionPipeline;
 import org.opennms.netmgt.daemon.AbstractSpringContextJmxServiceDaemon;
-import org.opennms.netmgt.scheduler.LegacyScheduler;
+import org.opennms.netmgt.scheduler.Schedulers;
 
 /**
  * <p>Collectd class.</p>
@@ -154,6 +155,54 @@ public class Collectd extends AbstractSpringContextJmxServiceDaemon<org.opennms.
         }
     }
 
+    @Override
+    public long getPersistQueuePendingCount() {
+        final CollectionPipeline pipeline = getDaemon().getCollectionPipeline();
+        return pipeline != null ? pipeline.getPersistQueuePendingCount() : 0L;
+    }
+
+    @Override
+    public long getPersistActiveThreads() {
+        final CollectionPipeline pipeline = getDaemon().getCollectionPipeline();
+        return pipeline != null ? pipeline.getPersistActiveThreads() : 0L;
+    }
+
+    @Override
+    public long getPersistTasksCompleted() {
+        final CollectionPipeline pipeline = getDaemon().getCollectionPipeline();
+        return pipeline != null ? pipeline.getPersistTasksCompleted() : 0L;
+    }
+
+    @Override
+    public long getPersistTasksRejected() {
+        final CollectionPipeline pipeline = getDaemon().getCollectionPipeline();
+        return pipeline != null ? pipeline.getPersistTasksRejected() : 0L;
+    }
+
+    @Override
+    public long getThresholdQueuePendingCount() {
+        final CollectionPipeline pipeline = getDaemon().getCollectionPipeline();
+        return pipeline != null ? pipeline.getThresholdQueuePendingCount() : 0L;
+    }
+
+    @Override
+    public long getThresholdActiveThreads() {
+        final CollectionPipeline pipeline = getDaemon().getCollectionPipeline();
+        return pipeline != null ? pipeline.getThresholdActiveThreads() : 0L;
+    }
+
+    @Override
+    public long getThresholdTasksCompleted() {
+        final CollectionPipeline pipeline = getDaemon().getCollectionPipeline();
+        return pipeline != null ? pipeline.getThresholdTasksCompleted() : 0L;
+    }
+
+    @Override
+    public long getThresholdTasksRejected() {
+        final CollectionPipeline pipeline = getDaemon().getCollectionPipeline();
+        return pipeline != null ? pipeline.getThresholdTasksRejected() : 0L;
+    }
+
     private static final String[] SCHEDULE_ITEMS = new String[]{"nodeId", "ipAddress", "package", "service", "intervalMs", "lastRunMs", "nextRunMs", "lastRunAbsoluteMs", "nextRunAbsoluteMs"};
     private static final String[] SCHEDULE_DESCS = new String[]{"nodeId", "ipAddress", "package", "service", "intervalMs", "lastRunMs", "nextRunMs", "lastRunAbsoluteMs", "nextRunAbsoluteMs"};
     private static final OpenType<?>[] SCHEDULE_TYPES = new OpenType<?>[]{SimpleType.INTEGER, SimpleType.STRING, SimpleType.STRING, SimpleType.STRING, SimpleType.LONG, SimpleType.LONG, SimpleType.LONG, SimpleType.LONG, SimpleType.LONG};
@@ -220,10 +269,10 @@ public class Collectd extends AbstractSpringContextJmxServiceDaemon<org.opennms.
     }
     
     private ThreadPoolExecutor getExecutor() {
-        return (ThreadPoolExecutor) ((LegacyScheduler) getDaemon().getScheduler()).getRunner();
+        return (ThreadPoolExecutor) Schedulers.getRunner(getDaemon().getScheduler());
     }
 
     private boolean getThreadPoolStatsStatus() {
-        return (getDaemon().getScheduler() instanceof LegacyScheduler);
+        return Schedulers.getRunner(getDaemon().getScheduler()) instanceof ThreadPoolExecutor;
     }
 }
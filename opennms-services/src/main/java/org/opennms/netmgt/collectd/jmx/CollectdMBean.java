@@ -88,5 +88,45 @@ public interface CollectdMBean extends BaseOnmsMBean {
      */
     public long getTaskQueueRemainingCapacity();
 
+    /**
+     * @return The number of collection sets waiting to be persisted when collecting asynchronously
+     */
+    public long getPersistQueuePendingCount();
+
+    /**
+     * @return The number of threads persisting collection sets when collecting asynchronously
+     */
+    public long getPersistActiveThreads();
+
+    /**
+     * @return The cumulative number of collection sets persisted when collecting asynchronously
+     */
+    public long getPersistTasksCompleted();
+
+    /**
+     * @return The cumulative number of collection sets rejected because the persist stage was full
+     */
+    public long getPersistTasksRejected();
+
+    /**
+     * @return The number of collection sets waiting to be thresholded when collecting asynchronously
+     */
+    public long getThresholdQueuePendingCount();
+
+    /**
+     * @return The number of threads thresholding collection sets when collecting asynchronously
+     */
+    public long getThresholdActiveThreads();
+
+    /**
+     * @return The cumulative number of collection sets thresholded when collecting asynchronously
+     */
+    public long getThresholdTasksCompleted();
+
+    /**
+     * @return The cumulative number of collection sets rejected because the threshold stage was full
+     */
+    public long getThresholdTasksRejected();
+
     TabularData getSchedule() throws OpenDataException;
 }
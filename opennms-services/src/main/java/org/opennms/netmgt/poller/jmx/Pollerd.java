@@ -22,10 +22,7 @@
 package org.opennms.netmgt.poller.jmx;
 
 import java.util.List;
-import java.util.Map;
-import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.ThreadPoolExecutor;
-import java.util.stream.Collectors;
 
 import javax.management.openmbean.CompositeDataSupport;
 import javax.management.openmbean.CompositeType;
@@ -39,8 +36,8 @@ import javax.management.openmbean.TabularType;
 import org.opennms.netmgt.daemon.AbstractSpringContextJmxServiceDaemon;
 import org.opennms.netmgt.poller.pollables.PollableService;
 import org.opennms.netmgt.scheduler.LegacyScheduler;
-import org.opennms.netmgt.scheduler.ReadyRunnable;
 import org.opennms.netmgt.scheduler.Schedule;
+import org.opennms.netmgt.scheduler.Schedulers;
 
 /**
  * <p>Pollerd class.</p>
@@ -196,37 +193,32 @@ public class Pollerd extends AbstractSpringContextJmxServiceDaemon<org.opennms.n
     public TabularData getSchedule() throws OpenDataException {
         final long currentTimeMs = System.currentTimeMillis();
         final TabularData tabularData = new TabularDataSupport(SCHEDULE_TABULAR_TYPE);
-        final Map<Long, BlockingQueue<ReadyRunnable>> queue = ((LegacyScheduler) getDaemon().getScheduler()).getQueue();
-        synchronized (queue) {
-            for (final Map.Entry<Long, BlockingQueue<ReadyRunnable>> entry : queue.entrySet()) {
-                final List<LegacyScheduler.TimeKeeper> pollableServiceList = entry.getValue().stream().map(r -> (LegacyScheduler.TimeKeeper) r).collect(Collectors.toList());
-                for (final LegacyScheduler.TimeKeeper timeKeeper : pollableServiceList) {
-                    final long readyTimeAbsoluteMs = timeKeeper.getTimeToRun();
-                    final long readyTimeMs = readyTimeAbsoluteMs - currentTimeMs;
-                    final PollableService pollableService = ((PollableService)((Schedule.ScheduleEntry)timeKeeper.getRunnable()).getSchedulable());
-                    final String ipAddress = pollableService.getIpAddr();
-                    final int nodeId= pollableService.getNodeId();
-                    final String nodeLabel = pollableService.getNodeLabel();
-                    final String nodeLocation = pollableService.getNodeLocation();
-                    final String service=pollableService.getSvcName();
-                    final String status = pollableService.getStatus().getStatusName();
-                    final long statusChangeTimeMs = pollableService.getStatusChangeTime();
-                    tabularData.put(new CompositeDataSupport(
-                            SCHEDULE_COMPOSITE_TYPE,
-                            SCHEDULE_ITEMS,
-                            new Object[]{nodeId, nodeLabel, nodeLocation, ipAddress, service, readyTimeMs, readyTimeAbsoluteMs, status, statusChangeTimeMs}
-                    ));
-                }
-            }
-            return tabularData;
+        final List<LegacyScheduler.TimeKeeper> pollableServiceList = Schedulers.getTimeKeepers(getDaemon().getScheduler());
+        for (final LegacyScheduler.TimeKeeper timeKeeper : pollableServiceList) {
+            final long readyTimeAbsoluteMs = timeKeeper.getTimeToRun();
+            final long readyTimeMs = readyTimeAbsoluteMs - currentTimeMs;
+            final PollableService pollableService = ((PollableService)((Schedule.ScheduleEntry)timeKeeper.getRunnable()).getSchedulable());
+            final String ipAddress = pollableService.getIpAddr();
+            final int nodeId= pollableService.getNodeId();
+            final String nodeLabel = pollableService.getNodeLabel();
+            final String nodeLocation = pollableService.getNodeLocation();
+            final String service=pollableService.getSvcName();
+            final String status = pollableService.getStatus().getStatusName();
+            final long statusChangeTimeMs = pollableService.getStatusChangeTime();
+            tabularData.put(new CompositeDataSupport(
+                    SCHEDULE_COMPOSITE_TYPE,
+                    SCHEDULE_ITEMS,
+                    new Object[]{nodeId, nodeLabel, nodeLocation, ipAddress, service, readyTimeMs, readyTimeAbsoluteMs, status, statusChangeTimeMs}
+            ));
         }
+        return tabularData;
     }
 
     private ThreadPoolExecutor getExecutor() {
-        return (ThreadPoolExecutor) ((LegacyScheduler) getDaemon().getScheduler()).getRunner();
+        return (ThreadPoolExecutor) Schedulers.getRunner(getDaemon().getScheduler());
     }
 
     private boolean getThreadPoolStatsStatus() {
-        return (getDaemon().getScheduler() instanceof LegacyScheduler);
+        return Schedulers.getRunner(getDaemon().getScheduler()) instanceof ThreadPoolExecutor;
     }
 }
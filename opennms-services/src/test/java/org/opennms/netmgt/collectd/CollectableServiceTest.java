@@ -24,8 +24,12 @@ package org.opennms.netmgt.collectd;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.Mockito.RETURNS_DEEP_STUBS;
+import static org.mockito.Mockito.after;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -35,6 +39,7 @@ import java.io.IOException;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 import org.jrobin.core.RrdDb;
 import org.jrobin.core.RrdException;
@@ -51,6 +56,7 @@ import org.opennms.netmgt.collection.api.CollectionAgent;
 import org.opennms.netmgt.collection.api.CollectionException;
 import org.opennms.netmgt.collection.api.CollectionInitializationException;
 import org.opennms.netmgt.collection.api.CollectionSet;
+import org.opennms.netmgt.collection.api.CollectionUnknown;
 import org.opennms.netmgt.collection.api.ServiceParameters;
 import org.opennms.netmgt.collection.core.CollectionSpecification;
 import org.opennms.netmgt.collection.persistence.rrd.RrdPersisterFactory;
@@ -78,6 +84,7 @@ public class CollectableServiceTest {
 
     private File snmpDirectory;
     private FileAnticipator fileAnticipator;
+    private CollectionPipeline pipeline;
     private RrdStrategy<?, ?> rrdStrategy;
 
     @Before
@@ -95,6 +102,9 @@ public class CollectableServiceTest {
     public void tearDown() {
         System.clearProperty(CollectableService.STRICT_INTERVAL_SYS_PROP);
         System.clearProperty(CollectableService.USE_COLLECTION_START_TIME_SYS_PROP);
+        if (pipeline != null) {
+            pipeline.shutdown();
+        }
 
         MockLogAppender.assertNoErrorOrGreater();
         fileAnticipator.deleteExpected();
@@ -217,6 +227,67 @@ public class CollectableServiceTest {
                 lastUpdateTimeInSecs < (afterInSecs - (collectionDelayInSecs / 2d)));
     }
 
+    /**
+     * Verifies that the scheduler thread is released while collecting asynchronously,
+     * and that the service is rescheduled once the collection completes.
+     */
+    @Test
+    public void collectAsynchronously() throws CollectionInitializationException, IOException {
+        pipeline = new CollectionPipeline(1, 10, 1, 10);
+        createCollectableService();
+
+        when(spec.getInterval()).thenReturn(300 * 1000L);
+        final CompletableFuture<CollectionSet> future = new CompletableFuture<>();
+        when(spec.collectAsync(any())).thenReturn(future);
+
+        service.run();
+        verify(scheduler, never()).schedule(anyLong(), any());
+
+        future.complete(null);
+        verify(scheduler, timeout(5000).times(1)).schedule(anyLong(), any());
+    }
+
+    /**
+     * Verifies that the service is rescheduled when an asynchronous collection fails.
+     */
+    @Test
+    public void rescheduleFailedAsynchronousCollections() throws CollectionInitializationException, IOException {
+        pipeline = new CollectionPipeline(1, 10, 1, 10);
+        createCollectableService();
+
+        when(spec.getInterval()).thenReturn(300 * 1000L);
+        final CompletableFuture<CollectionSet> future = new CompletableFuture<>();
+        future.completeExceptionally(new CollectionUnknown("Request timed out."));
+        when(spec.collectAsync(any())).thenReturn(future);
+
+        service.run();
+        verify(scheduler, timeout(5000).times(1)).schedule(anyLong(), any());
+    }
+
+    /**
+     * Verifies that a collection completing after the pipeline was shut down is discarded
+     * instead of being handled as a failure or rescheduled.
+     */
+    @Test
+    public void discardAsynchronousCollectionsAfterShutdown() throws CollectionInitializationException, IOException {
+        pipeline = new CollectionPipeline(1, 10, 1, 10);
+        createCollectableService();
+
+        when(spec.getInterval()).thenReturn(300 * 1000L);
+        final CompletableFuture<CollectionSet> future = new CompletableFuture<>();
+        when(spec.collectAsync(any())).thenReturn(future);
+
+        service.run();
+        pipeline.shutdown();
+        future.complete(null);
+
+        verify(scheduler, after(500).never()).schedule(anyLong(), any());
+
+        // No new collection is started either
+        service.run();
+        verify(spec, times(1)).collectAsync(any());
+    }
+
     private void createCollectableService() throws CollectionInitializationException, IOException {
         // Mock it all!
         OnmsIpInterface iface = mock(OnmsIpInterface.class, RETURNS_DEEP_STUBS);
@@ -242,7 +313,7 @@ public class CollectableServiceTest {
 
         ThresholdingService mockThresholdingService = mock(ThresholdingService.class, RETURNS_DEEP_STUBS);
 
-        service = new CollectableService(iface, ifaceDao, spec, scheduler, schedulingCompletedFlag, transMgr, persisterFactory, mockThresholdingService);
+        service = new CollectableService(iface, ifaceDao, spec, scheduler, schedulingCompletedFlag, transMgr, persisterFactory, mockThresholdingService, pipeline);
     }
 
     private RrdRepository createRrdRepository() throws IOException {
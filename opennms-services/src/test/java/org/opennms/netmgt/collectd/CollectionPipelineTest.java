@@ -0,0 +1,126 @@
+/*
+ * Licensed to The OpenNMS Group, Inc (TOG) under one or more
+ * contributor license agreements.  See the LICENSE.md file
+ * distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * TOG licenses this file to You under the GNU Affero General
+ * Public License Version 3 (the "License") or (at your option)
+ * any later version.  You may not use this file except in
+ * compliance with the License.  You may obtain a copy of the
+ * License at:
+ *
+ *      https://www.gnu.org/licenses/agpl-3.0.txt
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied.  See the License for the specific
+ * language governing permissions and limitations under the
+ * License.
+ */
+package org.opennms.netmgt.collectd;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ExecutorService;
+
+import org.junit.After;
+import org.junit.Test;
+
+public class CollectionPipelineTest {
+
+    private final CollectionPipeline pipeline = new CollectionPipeline(1, 1, 1, 1, 500);
+
+    private final ExecutorService submitter = Executors.newSingleThreadExecutor();
+
+    @After
+    public void tearDown() {
+        pipeline.shutdown();
+        submitter.shutdownNow();
+    }
+
+    /**
+     * Verifies that a collection set submitted to a full stage waits for room in the queue.
+     */
+    @Test
+    public void waitsForRoomWhenFull() throws Exception {
+        final CountDownLatch blocked = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        final CountDownLatch ran = new CountDownLatch(3);
+        fill(blocked, release, ran);
+
+        final Future<?> handoff = submitter.submit(() -> pipeline.getPersistExecutor().execute(ran::countDown));
+        Thread.sleep(100);
+        assertTrue("The submission should wait for room in the queue", !handoff.isDone());
+
+        release.countDown();
+        handoff.get(5, TimeUnit.SECONDS);
+        assertTrue(ran.await(5, TimeUnit.SECONDS));
+        assertEquals(0, pipeline.getPersistTasksRejected());
+    }
+
+    /**
+     * Verifies that a collection set is rejected and counted if there is still no room after the handoff timeout.
+     */
+    @Test
+    public void rejectsAfterHandoffTimeout() throws Exception {
+        final CountDownLatch blocked = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        fill(blocked, release, new CountDownLatch(2));
+
+        final long start = System.nanoTime();
+        try {
+            pipeline.getPersistExecutor().execute(() -> fail("Should have been rejected"));
+            fail("Should have been rejected");
+        } catch (RejectedExecutionException e) {
+            assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) >= 500);
+        }
+        assertEquals(1, pipeline.getPersistTasksRejected());
+        assertEquals(0, pipeline.getThresholdTasksRejected());
+        release.countDown();
+    }
+
+    /**
+     * Verifies that collection sets are rejected right away once the pipeline was shut down.
+     */
+    @Test
+    public void rejectsAfterShutdown() throws Exception {
+        pipeline.shutdown();
+        assertTrue(pipeline.isShutdown());
+
+        final long start = System.nanoTime();
+        try {
+            pipeline.getThresholdExecutor().execute(() -> fail("Should have been rejected"));
+            fail("Should have been rejected");
+        } catch (RejectedExecutionException e) {
+            assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) < 500);
+        }
+        // Not counted as the stage being full
+        assertEquals(0, pipeline.getThresholdTasksRejected());
+    }
+
+    /**
+     * Blocks the single persist thread and fills the queue of the persist stage.
+     */
+    private void fill(CountDownLatch blocked, CountDownLatch release, CountDownLatch ran) throws InterruptedException {
+        pipeline.getPersistExecutor().execute(() -> {
+            blocked.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            ran.countDown();
+        });
+        assertTrue(blocked.await(5, TimeUnit.SECONDS));
+        pipeline.getPersistExecutor().execute(ran::countDown);
+    }
+}